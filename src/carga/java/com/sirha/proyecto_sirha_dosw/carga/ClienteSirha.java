@@ -0,0 +1,126 @@
+package com.sirha.proyecto_sirha_dosw.carga;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cliente HTTP de los endpoints que ejerce la prueba de carga. Un solo cliente compartido por
+ * todos los hilos, con conexiones HTTP/1.1 reutilizadas.
+ */
+final class ClienteSirha {
+
+    private static final Duration TIEMPO_MAXIMO = Duration.ofSeconds(30);
+
+    /**
+     * Respuesta de un endpoint.
+     * @param codigo código HTTP
+     * @param cuerpo cuerpo de la respuesta
+     */
+    record Respuesta(int codigo, String cuerpo) {
+
+        boolean exitosa() {
+            return codigo >= 200 && codigo < 300;
+        }
+    }
+
+    private final String base;
+    private final HttpClient http;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * @param puerto puerto local de la aplicación
+     */
+    ClienteSirha(int puerto) {
+        this.base = "http://localhost:" + puerto;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIEMPO_MAXIMO)
+                .build();
+    }
+
+    Respuesta login(String email) throws IOException, InterruptedException {
+        return post("/api/auth/login", null, Map.of("email", email, "password", UniversidadSintetica.CONTRASENA));
+    }
+
+    Respuesta horario(String token, EstudianteSembrado estudiante) throws IOException, InterruptedException {
+        return enviar(peticion("/api/estudiante/horario/" + estudiante.getId() + "/" + estudiante.getSemestreActual(),
+                token).GET().build());
+    }
+
+    Respuesta crearSolicitud(String token, EstudianteSembrado estudiante, EstudianteSembrado.GrupoInscrito problema,
+                             EstudianteSembrado.GrupoInscrito destino) throws IOException, InterruptedException {
+        Map<String, Object> cuerpo = new LinkedHashMap<>();
+        cuerpo.put("estudianteId", estudiante.getId());
+        cuerpo.put("tipoSolicitud", TipoSolicitud.CAMBIO_GRUPO);
+        cuerpo.put("grupoProblemaId", problema.grupoId());
+        cuerpo.put("materiaProblemaAcronimo", problema.acronimoMateria());
+        cuerpo.put("grupoDestinoId", destino.grupoId());
+        cuerpo.put("materiaDestinoAcronimo", destino.acronimoMateria());
+        cuerpo.put("observaciones", "Solicitud de la prueba de carga");
+        return post("/api/estudiante/solicitudes", token, cuerpo);
+    }
+
+    Respuesta responder(String token, Facultad facultad, String solicitudId, SolicitudEstado nuevoEstado)
+            throws IOException, InterruptedException {
+        Map<String, Object> cuerpo = new LinkedHashMap<>();
+        cuerpo.put("nuevoEstado", nuevoEstado);
+        cuerpo.put("observacionesRespuesta", "Respuesta de la prueba de carga");
+        cuerpo.put("decanoId", "DEC-" + facultad.name());
+        return post("/api/decano/" + facultad.name() + "/solicitud/" + solicitudId + "/responder", token, cuerpo);
+    }
+
+    /**
+     * Lee un campo de texto de una respuesta JSON.
+     * @param respuesta respuesta exitosa
+     * @param campo nombre del campo
+     * @return valor del campo, o {@code null} si no está
+     */
+    String campo(Respuesta respuesta, String campo) {
+        try {
+            JsonNode valor = mapper.readTree(respuesta.cuerpo()).get(campo);
+            return valor == null ? null : valor.asText();
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private Respuesta post(String ruta, String token, Map<String, ?> cuerpo) throws IOException, InterruptedException {
+        String json;
+        try {
+            json = mapper.writeValueAsString(cuerpo);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        return enviar(peticion(ruta, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build());
+    }
+
+    private HttpRequest.Builder peticion(String ruta, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(base + ruta)).timeout(TIEMPO_MAXIMO);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Respuesta enviar(HttpRequest peticion) throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = http.send(peticion, HttpResponse.BodyHandlers.ofString());
+        return new Respuesta(respuesta.statusCode(), respuesta.body());
+    }
+}
@@ -0,0 +1,78 @@
+package com.sirha.proyecto_sirha_dosw.carga;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Parámetros de la prueba de carga, leídos de propiedades del sistema {@code carga.*}
+ * (el perfil {@code carga} del pom las pasa desde las propiedades de Maven).
+ *
+ * @param estudiantes estudiantes sembrados
+ * @param grupos grupos sembrados
+ * @param solicitudes solicitudes históricas sembradas
+ * @param materiasPorSemestre materias inscritas por semestre
+ * @param semestresMaximos máximo de semestres cursados por estudiante
+ * @param hilos clientes concurrentes
+ * @param calentamientoSegundos duración del calentamiento, cuyas peticiones no se miden
+ * @param duracionSegundos duración de la medición
+ * @param mezcla peso de cada operación en el tráfico
+ * @param proporcionAprobaciones fracción de respuestas de decano que aprueban
+ * @param semilla semilla de los generadores aleatorios
+ * @param resultado ruta del reporte JSON
+ */
+public record ConfiguracionCarga(int estudiantes, int grupos, int solicitudes, int materiasPorSemestre,
+                                 int semestresMaximos, int hilos, int calentamientoSegundos, int duracionSegundos,
+                                 Map<Operacion, Integer> mezcla, double proporcionAprobaciones, long semilla,
+                                 String resultado) {
+
+    static final String MEZCLA_POR_DEFECTO = "login=10,horario=55,solicitud=20,respuesta=15";
+
+    /**
+     * Lee la configuración de las propiedades del sistema, con los valores del pom como defecto.
+     * @return configuración de la prueba
+     */
+    public static ConfiguracionCarga desdePropiedades() {
+        return new ConfiguracionCarga(
+                entero("carga.estudiantes", 20_000),
+                entero("carga.grupos", 2_000),
+                entero("carga.solicitudes", 100_000),
+                entero("carga.materias-por-semestre", 5),
+                Math.min(10, Math.max(1, entero("carga.semestres-maximos", 10))),
+                entero("carga.hilos", 32),
+                entero("carga.calentamiento-s", 15),
+                entero("carga.duracion-s", 60),
+                mezcla(System.getProperty("carga.mezcla", MEZCLA_POR_DEFECTO)),
+                Double.parseDouble(System.getProperty("carga.aprobaciones", "0.5")),
+                Long.parseLong(System.getProperty("carga.semilla", "42")),
+                System.getProperty("carga.resultado", "carga-resultado.json"));
+    }
+
+    /**
+     * Interpreta una mezcla de la forma {@code login=10,horario=55}. Las operaciones ausentes
+     * tienen peso cero.
+     * @param texto mezcla separada por comas
+     * @return peso por operación
+     */
+    static Map<Operacion, Integer> mezcla(String texto) {
+        Map<Operacion, Integer> pesos = new EnumMap<>(Operacion.class);
+        for (String parte : texto.split(",")) {
+            String[] claveValor = parte.trim().split("=");
+            if (claveValor.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida en la mezcla: " + parte);
+            }
+            int peso = Integer.parseInt(claveValor[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("Peso negativo en la mezcla: " + parte);
+            }
+            pesos.put(Operacion.deClave(claveValor[0].trim()), peso);
+        }
+        if (pesos.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("La mezcla no tiene ninguna operación con peso: " + texto);
+        }
+        return pesos;
+    }
+
+    private static int entero(String propiedad, int porDefecto) {
+        return Integer.getInteger(propiedad, porDefecto);
+    }
+}
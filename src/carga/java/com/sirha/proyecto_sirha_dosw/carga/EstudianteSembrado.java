@@ -0,0 +1,75 @@
+package com.sirha.proyecto_sirha_dosw.carga;
+
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Lo que el generador de tráfico necesita saber de un estudiante sembrado: credenciales,
+ * semestre actual y grupos en los que está inscrito. Los grupos se actualizan cuando una
+ * aprobación lo cambia de grupo, para que sus siguientes solicitudes sigan siendo válidas.
+ */
+final class EstudianteSembrado {
+
+    /**
+     * Grupo en el que está inscrito el estudiante.
+     * @param grupoId identificador del grupo
+     * @param acronimoMateria acrónimo de la materia del grupo
+     */
+    record GrupoInscrito(String grupoId, String acronimoMateria) {
+    }
+
+    private final String id;
+    private final String email;
+    private final Facultad facultad;
+    private final int semestreActual;
+    private final List<GrupoInscrito> grupos = new ArrayList<>();
+
+    EstudianteSembrado(String id, String email, Facultad facultad, int semestreActual) {
+        this.id = id;
+        this.email = email;
+        this.facultad = facultad;
+        this.semestreActual = semestreActual;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    String getEmail() {
+        return email;
+    }
+
+    Facultad getFacultad() {
+        return facultad;
+    }
+
+    int getSemestreActual() {
+        return semestreActual;
+    }
+
+    synchronized void inscribir(GrupoInscrito grupo) {
+        grupos.add(grupo);
+    }
+
+    /**
+     * @param random generador de números aleatorios
+     * @return uno de los grupos actuales, o {@code null} si no tiene ninguno
+     */
+    synchronized GrupoInscrito grupoAleatorio(Random random) {
+        return grupos.isEmpty() ? null : grupos.get(random.nextInt(grupos.size()));
+    }
+
+    /**
+     * Refleja una aprobación de cambio de grupo.
+     * @param grupoAnteriorId grupo que deja
+     * @param nuevo grupo al que pasa
+     */
+    synchronized void cambiarGrupo(String grupoAnteriorId, GrupoInscrito nuevo) {
+        if (grupos.removeIf(grupo -> grupo.grupoId().equals(grupoAnteriorId))) {
+            grupos.add(nuevo);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.sirha.proyecto_sirha_dosw.carga;
+
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Genera tráfico mixto con un número fijo de hilos, cada uno en un ciclo cerrado: elige una
+ * operación según la mezcla, la ejecuta y pasa a la siguiente. Las peticiones del calentamiento
+ * no se miden.
+ *
+ * <p>Los estudiantes inician sesión la primera vez que la necesitan y reutilizan el token; esos
+ * inicios de sesión se miden como {@link Operacion#LOGIN}, igual que los de la mezcla. Si no
+ * quedan solicitudes pendientes para responder, la respuesta se reemplaza por una consulta de
+ * horario.</p>
+ */
+final class GeneradorTrafico {
+
+    private final ConfiguracionCarga configuracion;
+    private final UniversidadSintetica universidad;
+    private final ClienteSirha cliente;
+    private final Map<String, String> tokensEstudiantes = new ConcurrentHashMap<>();
+    private final Map<Facultad, String> tokensDecanos = new EnumMap<>(Facultad.class);
+    private final Operacion[] operaciones;
+    private final int[] pesosAcumulados;
+
+    GeneradorTrafico(ConfiguracionCarga configuracion, UniversidadSintetica universidad, ClienteSirha cliente) {
+        this.configuracion = configuracion;
+        this.universidad = universidad;
+        this.cliente = cliente;
+        this.operaciones = configuracion.mezcla().keySet().toArray(new Operacion[0]);
+        this.pesosAcumulados = new int[operaciones.length];
+        int acumulado = 0;
+        for (int i = 0; i < operaciones.length; i++) {
+            acumulado += configuracion.mezcla().get(operaciones[i]);
+            pesosAcumulados[i] = acumulado;
+        }
+    }
+
+    /**
+     * Inicia la sesión de los decanos, ejecuta el calentamiento y la medición, y espera a que
+     * terminen todos los hilos.
+     * @return mediciones combinadas de la ventana de medición
+     * @throws IOException si un decano no puede iniciar sesión
+     * @throws InterruptedException si se interrumpe la espera
+     */
+    Mediciones ejecutar() throws IOException, InterruptedException {
+        for (Map.Entry<Facultad, String> decano : universidad.getEmailsDecanos().entrySet()) {
+            ClienteSirha.Respuesta respuesta = cliente.login(decano.getValue());
+            if (!respuesta.exitosa()) {
+                throw new IOException("El decano " + decano.getValue() + " no pudo iniciar sesión: " + respuesta.codigo());
+            }
+            tokensDecanos.put(decano.getKey(), cliente.campo(respuesta, "token"));
+        }
+
+        long medirDesde = System.nanoTime() + TimeUnit.SECONDS.toNanos(configuracion.calentamientoSegundos());
+        long fin = medirDesde + TimeUnit.SECONDS.toNanos(configuracion.duracionSegundos());
+        ExecutorService hilos = Executors.newFixedThreadPool(configuracion.hilos());
+        try {
+            List<Callable<Mediciones>> tareas = new ArrayList<>();
+            for (int i = 0; i < configuracion.hilos(); i++) {
+                Random random = new Random(configuracion.semilla() + i);
+                tareas.add(() -> new Cliente(random, medirDesde, fin).ejecutar());
+            }
+            Mediciones combinadas = new Mediciones();
+            for (Future<Mediciones> resultado : hilos.invokeAll(tareas)) {
+                combinadas.combinar(resultado.get());
+            }
+            return combinadas;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Un hilo del generador de tráfico falló", e.getCause());
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    /**
+     * Un cliente concurrente con sus propias mediciones.
+     */
+    private final class Cliente {
+
+        private final Random random;
+        private final long medirDesde;
+        private final long fin;
+        private final Mediciones mediciones = new Mediciones();
+
+        private Cliente(Random random, long medirDesde, long fin) {
+            this.random = random;
+            this.medirDesde = medirDesde;
+            this.fin = fin;
+        }
+
+        private Mediciones ejecutar() throws InterruptedException {
+            while (System.nanoTime() < fin) {
+                switch (siguienteOperacion()) {
+                    case LOGIN -> iniciarSesion(estudianteAleatorio());
+                    case HORARIO -> consultarHorario();
+                    case SOLICITUD -> crearSolicitud();
+                    case RESPUESTA -> responderSolicitud();
+                }
+            }
+            return mediciones;
+        }
+
+        private Operacion siguienteOperacion() {
+            int valor = random.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+            for (int i = 0; i < pesosAcumulados.length; i++) {
+                if (valor < pesosAcumulados[i]) {
+                    return operaciones[i];
+                }
+            }
+            return operaciones[operaciones.length - 1];
+        }
+
+        private EstudianteSembrado estudianteAleatorio() {
+            List<EstudianteSembrado> estudiantes = universidad.getEstudiantes();
+            return estudiantes.get(random.nextInt(estudiantes.size()));
+        }
+
+        private String iniciarSesion(EstudianteSembrado estudiante) throws InterruptedException {
+            ClienteSirha.Respuesta respuesta = medir(Operacion.LOGIN, () -> cliente.login(estudiante.getEmail()));
+            if (respuesta == null || !respuesta.exitosa()) {
+                return null;
+            }
+            String token = cliente.campo(respuesta, "token");
+            tokensEstudiantes.put(estudiante.getEmail(), token);
+            return token;
+        }
+
+        private String token(EstudianteSembrado estudiante) throws InterruptedException {
+            String token = tokensEstudiantes.get(estudiante.getEmail());
+            return token != null ? token : iniciarSesion(estudiante);
+        }
+
+        private void consultarHorario() throws InterruptedException {
+            EstudianteSembrado estudiante = estudianteAleatorio();
+            String token = token(estudiante);
+            if (token != null) {
+                medir(Operacion.HORARIO, () -> cliente.horario(token, estudiante));
+            }
+        }
+
+        private void crearSolicitud() throws InterruptedException {
+            EstudianteSembrado estudiante = estudianteAleatorio();
+            EstudianteSembrado.GrupoInscrito problema = estudiante.grupoAleatorio(random);
+            List<EstudianteSembrado.GrupoInscrito> alternativas = problema == null ? List.of()
+                    : universidad.gruposDeMateria(problema.acronimoMateria());
+            if (alternativas.size() < 2) {
+                consultarHorario();
+                return;
+            }
+            EstudianteSembrado.GrupoInscrito destino;
+            do {
+                destino = alternativas.get(random.nextInt(alternativas.size()));
+            } while (destino.grupoId().equals(problema.grupoId()));
+
+            String token = token(estudiante);
+            if (token == null) {
+                return;
+            }
+            EstudianteSembrado.GrupoInscrito grupoDestino = destino;
+            ClienteSirha.Respuesta respuesta = medir(Operacion.SOLICITUD,
+                    () -> cliente.crearSolicitud(token, estudiante, problema, grupoDestino));
+            String id = respuesta != null && respuesta.exitosa() ? cliente.campo(respuesta, "id") : null;
+            if (id != null) {
+                universidad.agregarPendiente(new SolicitudPendiente(id, estudiante.getFacultad(), estudiante,
+                        problema.grupoId(), grupoDestino));
+            }
+        }
+
+        private void responderSolicitud() throws InterruptedException {
+            Facultad[] facultades = tokensDecanos.keySet().toArray(new Facultad[0]);
+            Facultad facultad = facultades[random.nextInt(facultades.length)];
+            SolicitudPendiente pendiente = universidad.siguientePendiente(facultad);
+            if (pendiente == null) {
+                consultarHorario();
+                return;
+            }
+            SolicitudEstado nuevoEstado = random.nextDouble() < configuracion.proporcionAprobaciones()
+                    ? SolicitudEstado.APROBADA : SolicitudEstado.RECHAZADA;
+            ClienteSirha.Respuesta respuesta = medir(Operacion.RESPUESTA,
+                    () -> cliente.responder(tokensDecanos.get(facultad), facultad, pendiente.id(), nuevoEstado));
+            if (respuesta != null && respuesta.exitosa() && nuevoEstado == SolicitudEstado.APROBADA
+                    && pendiente.grupoDestino() != null) {
+                pendiente.estudiante().cambiarGrupo(pendiente.grupoProblemaId(), pendiente.grupoDestino());
+            }
+        }
+
+        /**
+         * Ejecuta una petición y, si empezó dentro de la ventana de medición, registra su latencia.
+         * @return respuesta, o {@code null} si no hubo respuesta HTTP
+         */
+        private ClienteSirha.Respuesta medir(Operacion operacion, Peticion peticion) throws InterruptedException {
+            long inicio = System.nanoTime();
+            ClienteSirha.Respuesta respuesta;
+            try {
+                respuesta = peticion.enviar();
+            } catch (IOException e) {
+                respuesta = null;
+            }
+            if (inicio >= medirDesde && inicio < fin) {
+                mediciones.registrar(operacion, System.nanoTime() - inicio,
+                        respuesta == null ? Mediciones.SIN_RESPUESTA : respuesta.codigo());
+            }
+            return respuesta;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Peticion {
+        ClienteSirha.Respuesta enviar() throws IOException, InterruptedException;
+    }
+}
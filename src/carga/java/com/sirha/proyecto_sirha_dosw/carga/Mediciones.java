@@ -0,0 +1,126 @@
+package com.sirha.proyecto_sirha_dosw.carga;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latencias y códigos de respuesta por operación. Cada hilo del generador llena su propia
+ * instancia, sin sincronización, y al final se combinan.
+ */
+final class Mediciones {
+
+    /** Código usado cuando la petición falla sin respuesta HTTP (conexión, tiempo de espera). */
+    static final int SIN_RESPUESTA = 0;
+
+    private final Map<Operacion, PorOperacion> operaciones = new EnumMap<>(Operacion.class);
+
+    Mediciones() {
+        for (Operacion operacion : Operacion.values()) {
+            operaciones.put(operacion, new PorOperacion());
+        }
+    }
+
+    /**
+     * Registra una petición.
+     * @param operacion operación ejecutada
+     * @param nanos latencia en nanosegundos
+     * @param codigo código HTTP, o {@link #SIN_RESPUESTA}
+     */
+    void registrar(Operacion operacion, long nanos, int codigo) {
+        operaciones.get(operacion).registrar(nanos, codigo);
+    }
+
+    /**
+     * Suma a estas mediciones las de otro hilo.
+     * @param otras mediciones a combinar
+     * @return estas mediciones
+     */
+    Mediciones combinar(Mediciones otras) {
+        operaciones.forEach((operacion, propias) -> propias.combinar(otras.operaciones.get(operacion)));
+        return this;
+    }
+
+    PorOperacion de(Operacion operacion) {
+        return operaciones.get(operacion);
+    }
+
+    /**
+     * @return mediciones de todas las operaciones juntas
+     */
+    PorOperacion total() {
+        PorOperacion total = new PorOperacion();
+        operaciones.values().forEach(total::combinar);
+        return total;
+    }
+
+    /**
+     * Mediciones de una operación.
+     */
+    static final class PorOperacion {
+
+        private long[] latencias = new long[1024];
+        private int cantidad;
+        private long exitosas;
+        private long respuestas4xx;
+        private long respuestas5xx;
+        private long sinRespuesta;
+
+        private void registrar(long nanos, int codigo) {
+            if (cantidad == latencias.length) {
+                latencias = Arrays.copyOf(latencias, cantidad * 2);
+            }
+            latencias[cantidad++] = nanos;
+            if (codigo == SIN_RESPUESTA) {
+                sinRespuesta++;
+            } else if (codigo >= 500) {
+                respuestas5xx++;
+            } else if (codigo >= 400) {
+                respuestas4xx++;
+            } else {
+                exitosas++;
+            }
+        }
+
+        private void combinar(PorOperacion otra) {
+            if (cantidad + otra.cantidad > latencias.length) {
+                latencias = Arrays.copyOf(latencias, cantidad + otra.cantidad);
+            }
+            System.arraycopy(otra.latencias, 0, latencias, cantidad, otra.cantidad);
+            cantidad += otra.cantidad;
+            exitosas += otra.exitosas;
+            respuestas4xx += otra.respuestas4xx;
+            respuestas5xx += otra.respuestas5xx;
+            sinRespuesta += otra.sinRespuesta;
+        }
+
+        int getCantidad() {
+            return cantidad;
+        }
+
+        long getExitosas() {
+            return exitosas;
+        }
+
+        long getRespuestas4xx() {
+            return respuestas4xx;
+        }
+
+        long getRespuestas5xx() {
+            return respuestas5xx;
+        }
+
+        long getSinRespuesta() {
+            return sinRespuesta;
+        }
+
+        /**
+         * @return copia ordenada de las latencias en nanosegundos
+         */
+        long[] latenciasOrdenadas() {
+            long[] ordenadas = Arrays.copyOf(latencias, cantidad);
+            Arrays.sort(ordenadas);
+            return ordenadas;
+        }
+    }
+}
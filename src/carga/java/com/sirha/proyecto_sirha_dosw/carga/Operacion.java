@@ -0,0 +1,52 @@
+package com.sirha.proyecto_sirha_dosw.carga;
+
+/**
+ * Operaciones que componen el tráfico de la prueba de carga, cada una sobre un endpoint.
+ */
+public enum Operacion {
+    /** Inicio de sesión de un estudiante. */
+    LOGIN("login", "POST /api/auth/login"),
+    /** Consulta del horario del semestre actual de un estudiante. */
+    HORARIO("horario", "GET /api/estudiante/horario/{idEstudiante}/{semestre}"),
+    /** Creación de una solicitud de cambio de grupo. */
+    SOLICITUD("solicitud", "POST /api/estudiante/solicitudes"),
+    /** Respuesta de un decano (aprobación o rechazo) a una solicitud pendiente. */
+    RESPUESTA("respuesta", "POST /api/decano/{facultad}/solicitud/{solicitudId}/responder");
+
+    private final String clave;
+    private final String endpoint;
+
+    Operacion(String clave, String endpoint) {
+        this.clave = clave;
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * @return nombre corto usado en la mezcla de tráfico y en el reporte
+     */
+    public String getClave() {
+        return clave;
+    }
+
+    /**
+     * @return método y ruta del endpoint
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Busca una operación por su nombre corto.
+     * @param clave nombre corto
+     * @return operación correspondiente
+     * @throws IllegalArgumentException si no existe
+     */
+    public static Operacion deClave(String clave) {
+        for (Operacion operacion : values()) {
+            if (operacion.clave.equals(clave)) {
+                return operacion;
+            }
+        }
+        throw new IllegalArgumentException("Operación desconocida en la mezcla: " + clave);
+    }
+}
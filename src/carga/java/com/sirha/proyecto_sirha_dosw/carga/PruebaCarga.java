@@ -0,0 +1,108 @@
+package com.sirha.proyecto_sirha_dosw.carga;
+
+import com.sirha.proyecto_sirha_dosw.ProyectoSirhaApplication;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.support.RangoFechas;
+import com.sirha.proyecto_sirha_dosw.service.CacheCatalogo;
+import com.sirha.proyecto_sirha_dosw.service.CalendarioAcademicoService;
+import com.sirha.proyecto_sirha_dosw.service.ReconciliacionContadoresService;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga de extremo a extremo que corre sin red: levanta un MongoDB en memoria
+ * (mongo-java-server), arranca la aplicación completa contra él, siembra una universidad
+ * sintética, genera tráfico mixto sobre HTTP y reporta rendimiento, latencias p50/p90/p99 y
+ * tasa de error por endpoint.
+ *
+ * <p>Se ejecuta con {@code mvn -Pcarga -DskipTests verify}; los parámetros están en
+ * {@link ConfiguracionCarga}. El servidor en memoria no reproduce el rendimiento de Atlas, así
+ * que los números sirven para comparar commits en la misma máquina, no como capacidad absoluta.</p>
+ */
+public final class PruebaCarga {
+
+    private PruebaCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracionCarga configuracion = ConfiguracionCarga.desdePropiedades();
+        MongoServer servidor = new MongoServer(new MemoryBackend());
+        String uri = servidor.bindAndGetConnectionString();
+        ConfigurableApplicationContext contexto = null;
+        // DevTools reiniciaría la aplicación en otro hilo y cargador de clases
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        try {
+            contexto = new SpringApplicationBuilder(ProyectoSirhaApplication.class).run(
+                    "--spring.profiles.active=carga",
+                    "--spring.main.banner-mode=off",
+                    "--logging.level.root=WARN",
+                    "--logging.level.de.bwaldvogel.mongo=ERROR",
+                    "--logging.level.com.sirha.proyecto_sirha_dosw.service.ReconciliacionContadoresService=ERROR",
+                    "--spring.data.mongodb.uri=" + uri,
+                    "--spring.data.mongodb.database=sirha-carga",
+                    "--server.port=0",
+                    // mongo-java-server es standalone y no admite transacciones
+                    "--sirha.mongo.transacciones.habilitadas=false",
+                    // Los contadores se reconcilian una vez al terminar de sembrar
+                    "--sirha.contadores.reconciliacion.retraso-inicial-ms=" + TimeUnit.HOURS.toMillis(1));
+
+            long inicioSiembra = System.nanoTime();
+            System.out.printf("Sembrando %d estudiantes, %d grupos y %d solicitudes...%n",
+                    configuracion.estudiantes(), configuracion.grupos(), configuracion.solicitudes());
+            UniversidadSintetica universidad = sembrar(contexto, configuracion);
+            System.out.printf("Siembra terminada en %d s%n",
+                    TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicioSiembra));
+
+            int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            System.out.printf("Generando tráfico con %d hilos: %d s de calentamiento y %d s de medición...%n",
+                    configuracion.hilos(), configuracion.calentamientoSegundos(), configuracion.duracionSegundos());
+            Mediciones mediciones = new GeneradorTrafico(configuracion, universidad, new ClienteSirha(puerto)).ejecutar();
+
+            ReporteCarga reporte = ReporteCarga.de(configuracion, mediciones, configuracion.duracionSegundos());
+            reporte.imprimir(System.out);
+            Path resultado = Path.of(configuracion.resultado()).toAbsolutePath();
+            reporte.escribir(resultado);
+            System.out.println("Resultado en " + resultado);
+        } finally {
+            if (contexto != null) {
+                contexto.close();
+            }
+            servidor.shutdownNow();
+        }
+    }
+
+    /**
+     * Siembra la universidad y deja la aplicación lista: calendario y plazo de solicitudes
+     * vigentes hoy en todas las facultades, catálogo recargado y contadores al día.
+     */
+    private static UniversidadSintetica sembrar(ConfigurableApplicationContext contexto,
+                                                ConfiguracionCarga configuracion) {
+        String hash = contexto.getBean(PasswordEncoder.class).encode(UniversidadSintetica.CONTRASENA);
+        UniversidadSintetica universidad = UniversidadSintetica.sembrar(configuracion,
+                contexto.getBean(MongoTemplate.class), hash);
+
+        CalendarioAcademicoService calendario = contexto.getBean(CalendarioAcademicoService.class);
+        LocalDate hoy = LocalDate.now();
+        for (Facultad facultad : Facultad.values()) {
+            calendario.configurarCalendario(facultad, new RangoFechas(hoy.minusMonths(2), hoy.plusMonths(3)));
+            calendario.configurarPlazoSolicitudes(facultad, new RangoFechas(hoy.minusMonths(1), hoy.plusMonths(1)));
+        }
+        contexto.getBean(CacheCatalogo.class).invalidar();
+        // Las solicitudes se insertan sin pasar por los servicios, así que los contadores parten de cero.
+        // Sin tráfico, la segunda reconciliación confirma las diferencias de la primera y las corrige.
+        ReconciliacionContadoresService reconciliacion = contexto.getBean(ReconciliacionContadoresService.class);
+        reconciliacion.reconciliar();
+        int celdas = reconciliacion.reconciliar().size();
+        System.out.printf("Contadores de solicitudes inicializados (%d celdas)%n", celdas);
+        return universidad;
+    }
+}
@@ -0,0 +1,126 @@
+package com.sirha.proyecto_sirha_dosw.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de la prueba de carga: rendimiento, percentiles de latencia y tasa de error por
+ * endpoint y en total.
+ *
+ * @param configuracion parámetros de la prueba
+ * @param segundosMedidos duración real de la ventana de medición
+ * @param operaciones resumen por operación
+ * @param total resumen de todas las operaciones juntas
+ */
+public record ReporteCarga(ConfiguracionCarga configuracion, double segundosMedidos,
+                           List<ResumenOperacion> operaciones, ResumenOperacion total) {
+
+    /**
+     * Resumen de una operación. Las latencias están en milisegundos; la tasa de error cuenta
+     * toda respuesta que no sea 2xx, incluidas las reglas de negocio que responden 4xx.
+     *
+     * @param operacion nombre corto de la operación
+     * @param endpoint método y ruta
+     * @param peticiones peticiones medidas
+     * @param porSegundo peticiones por segundo
+     * @param p50Ms mediana de la latencia
+     * @param p90Ms percentil 90
+     * @param p99Ms percentil 99
+     * @param maximoMs latencia máxima
+     * @param promedioMs latencia promedio
+     * @param exitosas respuestas 2xx
+     * @param respuestas4xx respuestas 4xx
+     * @param respuestas5xx respuestas 5xx
+     * @param sinRespuesta peticiones sin respuesta HTTP
+     * @param tasaError fracción de peticiones que no fueron 2xx
+     */
+    public record ResumenOperacion(String operacion, String endpoint, long peticiones, double porSegundo,
+                                   double p50Ms, double p90Ms, double p99Ms, double maximoMs, double promedioMs,
+                                   long exitosas, long respuestas4xx, long respuestas5xx, long sinRespuesta,
+                                   double tasaError) {
+    }
+
+    /**
+     * Construye el reporte a partir de las mediciones combinadas de todos los hilos.
+     * @param configuracion parámetros de la prueba
+     * @param mediciones mediciones combinadas
+     * @param segundosMedidos duración de la ventana de medición
+     * @return reporte
+     */
+    static ReporteCarga de(ConfiguracionCarga configuracion, Mediciones mediciones, double segundosMedidos) {
+        List<ResumenOperacion> operaciones = new ArrayList<>();
+        for (Operacion operacion : Operacion.values()) {
+            operaciones.add(resumen(operacion.getClave(), operacion.getEndpoint(), mediciones.de(operacion),
+                    segundosMedidos));
+        }
+        return new ReporteCarga(configuracion, segundosMedidos, operaciones,
+                resumen("total", "*", mediciones.total(), segundosMedidos));
+    }
+
+    /**
+     * Imprime el reporte como tabla.
+     * @param salida flujo de salida
+     */
+    void imprimir(PrintStream salida) {
+        salida.printf("%nPrueba de carga: %d s medidos, %d hilos%n", Math.round(segundosMedidos), configuracion.hilos());
+        salida.printf("%-10s %10s %9s %9s %9s %9s %9s %8s %8s %8s %8s%n",
+                "operación", "peticiones", "req/s", "p50 ms", "p90 ms", "p99 ms", "máx ms", "2xx", "4xx", "5xx", "error %");
+        List<ResumenOperacion> filas = new ArrayList<>(operaciones);
+        filas.add(total);
+        for (ResumenOperacion fila : filas) {
+            salida.printf("%-10s %10d %9.1f %9.2f %9.2f %9.2f %9.2f %8d %8d %8d %8.2f%n",
+                    fila.operacion(), fila.peticiones(), fila.porSegundo(), fila.p50Ms(), fila.p90Ms(), fila.p99Ms(),
+                    fila.maximoMs(), fila.exitosas(), fila.respuestas4xx(), fila.respuestas5xx() + fila.sinRespuesta(),
+                    fila.tasaError() * 100);
+        }
+    }
+
+    /**
+     * Escribe el reporte en JSON.
+     * @param ruta archivo de destino
+     * @throws IOException si no se puede escribir
+     */
+    void escribir(Path ruta) throws IOException {
+        if (ruta.getParent() != null) {
+            Files.createDirectories(ruta.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(ruta.toFile(), this);
+    }
+
+    private static ResumenOperacion resumen(String nombre, String endpoint, Mediciones.PorOperacion medida,
+                                            double segundos) {
+        long[] latencias = medida.latenciasOrdenadas();
+        long peticiones = latencias.length;
+        double suma = 0;
+        for (long latencia : latencias) {
+            suma += latencia;
+        }
+        long errores = peticiones - medida.getExitosas();
+        return new ResumenOperacion(nombre, endpoint, peticiones, segundos > 0 ? peticiones / segundos : 0,
+                percentil(latencias, 0.50), percentil(latencias, 0.90), percentil(latencias, 0.99),
+                peticiones == 0 ? 0 : milisegundos(latencias[latencias.length - 1]),
+                peticiones == 0 ? 0 : milisegundos(suma / peticiones),
+                medida.getExitosas(), medida.getRespuestas4xx(), medida.getRespuestas5xx(), medida.getSinRespuesta(),
+                peticiones == 0 ? 0 : (double) errores / peticiones);
+    }
+
+    /** Percentil por rango más cercano sobre latencias ordenadas. */
+    private static double percentil(long[] ordenadas, double fraccion) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(fraccion * ordenadas.length) - 1;
+        return milisegundos(ordenadas[Math.max(0, indice)]);
+    }
+
+    private static double milisegundos(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.sirha.proyecto_sirha_dosw.carga;
+
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+
+/**
+ * Solicitud que espera la respuesta de un decano durante la prueba.
+ *
+ * @param id identificador de la solicitud
+ * @param facultad facultad que la responde
+ * @param estudiante estudiante que la creó
+ * @param grupoProblemaId grupo que el estudiante quiere dejar
+ * @param grupoDestino grupo al que pide pasar, o {@code null} si no es un cambio de grupo
+ */
+record SolicitudPendiente(String id, Facultad facultad, EstudianteSembrado estudiante, String grupoProblemaId,
+                          EstudianteSembrado.GrupoInscrito grupoDestino) {
+}
@@ -0,0 +1,320 @@
+package com.sirha.proyecto_sirha_dosw.carga;
+
+import com.sirha.proyecto_sirha_dosw.model.Carrera;
+import com.sirha.proyecto_sirha_dosw.model.Decano;
+import com.sirha.proyecto_sirha_dosw.model.Dia;
+import com.sirha.proyecto_sirha_dosw.model.Estudiante;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.Horario;
+import com.sirha.proyecto_sirha_dosw.model.Materia;
+import com.sirha.proyecto_sirha_dosw.model.RegistroMaterias;
+import com.sirha.proyecto_sirha_dosw.model.Rol;
+import com.sirha.proyecto_sirha_dosw.model.Semaforo;
+import com.sirha.proyecto_sirha_dosw.model.Semestre;
+import com.sirha.proyecto_sirha_dosw.model.Solicitud;
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
+import com.sirha.proyecto_sirha_dosw.model.Usuario;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Universidad sintética reproducible (semilla fija) sembrada directamente en MongoDB con el
+ * mapeo de la aplicación, y el índice en memoria que usa el generador de tráfico.
+ *
+ * <p>Cada estudiante cursa entre 1 y {@code semestresMaximos} semestres; en el actual está
+ * inscrito, sin cruces de horario, en grupos de materias de su facultad, y los grupos reflejan
+ * esas inscripciones. Las solicitudes históricas mezclan estados; las pendientes quedan en
+ * cola para que los decanos las respondan durante la prueba.</p>
+ */
+final class UniversidadSintetica {
+
+    /** Contraseña de todos los usuarios sembrados. */
+    static final String CONTRASENA = "carga123";
+
+    private static final Facultad[] FACULTADES = Facultad.values();
+    private static final Dia[] DIAS = {Dia.LUNES, Dia.MARTES, Dia.MIERCOLES, Dia.JUEVES, Dia.VIERNES};
+    private static final int GRUPOS_POR_MATERIA = 5;
+    private static final int BLOQUES_POR_DIA = 8;
+    private static final int TAMANO_LOTE = 1_000;
+
+    private final List<EstudianteSembrado> estudiantes = new ArrayList<>();
+    private final Map<String, List<EstudianteSembrado.GrupoInscrito>> gruposPorMateria = new HashMap<>();
+    private final Map<Facultad, String> emailsDecanos = new EnumMap<>(Facultad.class);
+    private final Map<Facultad, Queue<SolicitudPendiente>> pendientes = new EnumMap<>(Facultad.class);
+
+    private UniversidadSintetica() {
+        for (Facultad facultad : FACULTADES) {
+            pendientes.put(facultad, new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    /**
+     * Genera la universidad y la inserta por lotes.
+     * @param configuracion tamaños de la universidad
+     * @param mongoTemplate plantilla de la aplicación
+     * @param hashContrasena hash de {@link #CONTRASENA}, compartido por todos los usuarios
+     * @return índice de la universidad sembrada
+     */
+    static UniversidadSintetica sembrar(ConfiguracionCarga configuracion, MongoTemplate mongoTemplate,
+                                        String hashContrasena) {
+        UniversidadSintetica universidad = new UniversidadSintetica();
+        Random random = new Random(configuracion.semilla());
+
+        List<Materia> materias = materias(Math.max(FACULTADES.length, configuracion.grupos() / GRUPOS_POR_MATERIA));
+        Map<Facultad, List<Materia>> materiasPorFacultad = new EnumMap<>(Facultad.class);
+        for (Materia materia : materias) {
+            materiasPorFacultad.computeIfAbsent(materia.getFacultad(), f -> new ArrayList<>()).add(materia);
+        }
+
+        long cupos = (long) configuracion.estudiantes() * configuracion.materiasPorSemestre();
+        int capacidad = (int) Math.max(10, (cupos * 5 / 4 + configuracion.grupos() - 1) / Math.max(1, configuracion.grupos()));
+        List<Grupo> grupos = universidad.grupos(configuracion.grupos(), materias, capacidad, random);
+        Map<String, List<Grupo>> gruposDeMateria = new HashMap<>();
+        for (Grupo grupo : grupos) {
+            gruposDeMateria.computeIfAbsent(grupo.getMateria().getAcronimo(), a -> new ArrayList<>()).add(grupo);
+        }
+
+        List<Estudiante> documentos = new ArrayList<>(configuracion.estudiantes());
+        for (int i = 0; i < configuracion.estudiantes(); i++) {
+            documentos.add(universidad.estudiante(i, configuracion, materiasPorFacultad, gruposDeMateria,
+                    hashContrasena, random));
+        }
+
+        List<Decano> decanos = new ArrayList<>();
+        for (Facultad facultad : FACULTADES) {
+            String email = "decano." + facultad.name().toLowerCase(Locale.ROOT) + "@escuelaing.edu.co";
+            Decano decano = new Decano("Decano", facultad.name(), email, hashContrasena, Rol.DECANO, facultad);
+            decano.setId("DEC-" + facultad.name());
+            decanos.add(decano);
+            universidad.emailsDecanos.put(facultad, email);
+        }
+
+        List<Carrera> carreras = new ArrayList<>();
+        for (Facultad facultad : FACULTADES) {
+            List<Materia> propias = materiasPorFacultad.getOrDefault(facultad, List.of());
+            Carrera carrera = new Carrera(facultad, facultad.name(), 10,
+                    propias.stream().mapToInt(Materia::getCreditos).sum());
+            carrera.setMaterias(new ArrayList<>(propias));
+            carreras.add(carrera);
+        }
+
+        // Índice del inicio de sesión y del filtro JWT, que buscan el usuario por email
+        mongoTemplate.indexOps(Usuario.class).ensureIndex(new Index("email", Sort.Direction.ASC).unique());
+        insertar(mongoTemplate, materias, Materia.class);
+        insertar(mongoTemplate, carreras, Carrera.class);
+        insertar(mongoTemplate, grupos, Grupo.class);
+        insertar(mongoTemplate, documentos, Estudiante.class);
+        insertar(mongoTemplate, decanos, Decano.class);
+        documentos.clear();
+
+        universidad.solicitudes(configuracion.solicitudes(), gruposDeMateria, mongoTemplate, random);
+        return universidad;
+    }
+
+    List<EstudianteSembrado> getEstudiantes() {
+        return estudiantes;
+    }
+
+    Map<Facultad, String> getEmailsDecanos() {
+        return emailsDecanos;
+    }
+
+    /**
+     * @param facultad facultad del decano
+     * @return siguiente solicitud pendiente de la facultad, o {@code null} si no quedan
+     */
+    SolicitudPendiente siguientePendiente(Facultad facultad) {
+        return pendientes.get(facultad).poll();
+    }
+
+    void agregarPendiente(SolicitudPendiente solicitud) {
+        pendientes.get(solicitud.facultad()).add(solicitud);
+    }
+
+    /**
+     * @param acronimo acrónimo de la materia
+     * @return grupos de la materia
+     */
+    List<EstudianteSembrado.GrupoInscrito> gruposDeMateria(String acronimo) {
+        return gruposPorMateria.getOrDefault(acronimo, List.of());
+    }
+
+    private static List<Materia> materias(int cantidad) {
+        List<Materia> materias = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Materia materia = new Materia("Materia " + i, String.format("C%04d", i), 1 + i % 4,
+                    FACULTADES[i % FACULTADES.length]);
+            materia.setId(String.format("MAT-%04d", i));
+            materias.add(materia);
+        }
+        return materias;
+    }
+
+    private List<Grupo> grupos(int cantidad, List<Materia> materias, int capacidad, Random random) {
+        List<Grupo> grupos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Grupo grupo = new Grupo(materias.get(i % materias.size()), capacidad, horarios(random));
+            grupo.setId(String.format("GRP-%05d", i));
+            grupos.add(grupo);
+            gruposPorMateria.computeIfAbsent(grupo.getMateria().getAcronimo(), a -> new ArrayList<>())
+                    .add(new EstudianteSembrado.GrupoInscrito(grupo.getId(), grupo.getMateria().getAcronimo()));
+        }
+        return grupos;
+    }
+
+    /**
+     * Dos bloques de hora y media en días distintos, alineados para que dos grupos se crucen
+     * solo si comparten día y bloque.
+     */
+    private static List<Horario> horarios(Random random) {
+        int primerDia = random.nextInt(DIAS.length);
+        int segundoDia = (primerDia + 1 + random.nextInt(DIAS.length - 1)) % DIAS.length;
+        int bloque = random.nextInt(BLOQUES_POR_DIA);
+        return List.of(horario(DIAS[primerDia], bloque), horario(DIAS[segundoDia], bloque));
+    }
+
+    private static Horario horario(Dia dia, int bloque) {
+        LocalTime inicio = LocalTime.of(7, 0).plusMinutes(90L * bloque);
+        Horario horario = new Horario();
+        horario.setDia(dia);
+        horario.setHoraInicio(inicio);
+        horario.setHoraFin(inicio.plusMinutes(90));
+        return horario;
+    }
+
+    private Estudiante estudiante(int indice, ConfiguracionCarga configuracion,
+                                  Map<Facultad, List<Materia>> materiasPorFacultad,
+                                  Map<String, List<Grupo>> gruposDeMateria, String hashContrasena, Random random) {
+        Facultad facultad = FACULTADES[indice % FACULTADES.length];
+        String id = String.format("EST-%06d", indice);
+        String email = String.format("estudiante%06d@mail.escuelaing.edu.co", indice);
+        Estudiante estudiante = new Estudiante("Estudiante", String.valueOf(indice), email, hashContrasena,
+                Rol.ESTUDIANTE, facultad);
+        estudiante.setId(id);
+
+        int semestres = 1 + random.nextInt(configuracion.semestresMaximos());
+        EstudianteSembrado sembrado = new EstudianteSembrado(id, email, facultad, semestres);
+        List<Materia> propias = new ArrayList<>(materiasPorFacultad.get(facultad));
+        for (int numero = 1; numero <= semestres; numero++) {
+            Semestre semestre = new Semestre();
+            semestre.setNumero(numero);
+            estudiante.getSemestres().add(semestre);
+            Collections.shuffle(propias, random);
+            int materias = Math.min(configuracion.materiasPorSemestre(), propias.size());
+            if (numero < semestres) {
+                for (Materia materia : propias.subList(0, materias)) {
+                    List<Grupo> opciones = gruposDeMateria.get(materia.getAcronimo());
+                    RegistroMaterias registro = new RegistroMaterias(opciones.get(random.nextInt(opciones.size())));
+                    registro.setEstado(random.nextInt(5) == 0 ? Semaforo.ROJO : Semaforo.VERDE);
+                    semestre.addRegistro(registro);
+                }
+            } else {
+                inscribirSemestreActual(estudiante, sembrado, propias.subList(0, materias), gruposDeMateria, random);
+            }
+        }
+        estudiantes.add(sembrado);
+        return estudiante;
+    }
+
+    private static void inscribirSemestreActual(Estudiante estudiante, EstudianteSembrado sembrado,
+                                                List<Materia> materias, Map<String, List<Grupo>> gruposDeMateria,
+                                                Random random) {
+        List<Grupo> inscritos = new ArrayList<>();
+        for (Materia materia : materias) {
+            List<Grupo> opciones = new ArrayList<>(gruposDeMateria.get(materia.getAcronimo()));
+            Collections.shuffle(opciones, random);
+            for (Grupo grupo : opciones) {
+                if (!grupo.isEstaCompleto() && inscritos.stream().noneMatch(grupo::tieneCruceDeHorario)) {
+                    grupo.addEstudiante(estudiante.getId());
+                    estudiante.addGrupo(grupo);
+                    inscritos.add(grupo);
+                    sembrado.inscribir(new EstudianteSembrado.GrupoInscrito(grupo.getId(), materia.getAcronimo()));
+                    break;
+                }
+            }
+        }
+    }
+
+    private void solicitudes(int cantidad, Map<String, List<Grupo>> gruposDeMateria, MongoTemplate mongoTemplate,
+                             Random random) {
+        Map<String, Grupo> gruposPorId = new HashMap<>();
+        gruposDeMateria.values().forEach(lista -> lista.forEach(grupo -> gruposPorId.put(grupo.getId(), grupo)));
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Solicitud> lote = new ArrayList<>(TAMANO_LOTE);
+        for (int i = 0; i < cantidad; i++) {
+            EstudianteSembrado estudiante = estudiantes.get(random.nextInt(estudiantes.size()));
+            EstudianteSembrado.GrupoInscrito inscrito = estudiante.grupoAleatorio(random);
+            if (inscrito == null) {
+                continue;
+            }
+            Grupo problema = gruposPorId.get(inscrito.grupoId());
+            Grupo destino = null;
+            Solicitud solicitud = new Solicitud();
+            solicitud.setId(String.format("SOL-%06d", i));
+            solicitud.setEstudianteId(estudiante.getId());
+            solicitud.setGrupoProblema(problema);
+            solicitud.setMateriaProblema(problema.getMateria());
+            solicitud.setFacultad(problema.getMateria().getFacultad());
+            List<Grupo> alternativas = gruposDeMateria.get(inscrito.acronimoMateria());
+            if (random.nextInt(5) > 0 && alternativas.size() > 1) {
+                do {
+                    destino = alternativas.get(random.nextInt(alternativas.size()));
+                } while (destino == problema);
+                solicitud.setTipoSolicitud(TipoSolicitud.CAMBIO_GRUPO);
+                solicitud.setGrupoDestino(destino);
+                solicitud.setMateriaDestino(destino.getMateria());
+            } else {
+                solicitud.setTipoSolicitud(TipoSolicitud.CANCELACION_GRUPO);
+            }
+            solicitud.setNumeroRadicado(String.format("RAD-CARGA-%06d", i));
+            solicitud.setPrioridad(i + 1);
+
+            int estado = random.nextInt(20);
+            if (estado < 6) {
+                solicitud.setEstado(SolicitudEstado.PENDIENTE);
+                solicitud.setFechaCreacion(ahora.minusMinutes(random.nextInt(72 * 60)));
+                agregarPendiente(new SolicitudPendiente(solicitud.getId(), solicitud.getFacultad(), estudiante,
+                        problema.getId(), destino == null ? null
+                                : new EstudianteSembrado.GrupoInscrito(destino.getId(), inscrito.acronimoMateria())));
+            } else {
+                solicitud.setEstado(estado == 6 ? SolicitudEstado.EN_REVISION
+                        : estado < 14 ? SolicitudEstado.APROBADA : SolicitudEstado.RECHAZADA);
+                solicitud.setFechaCreacion(ahora.minusDays(5L + random.nextInt(60)));
+                if (solicitud.getEstado() != SolicitudEstado.EN_REVISION) {
+                    solicitud.setFechaResolucion(solicitud.getFechaCreacion().plusDays(1 + random.nextInt(4)));
+                    solicitud.setRespuesta("Respuesta histórica");
+                }
+            }
+            lote.add(solicitud);
+            if (lote.size() == TAMANO_LOTE) {
+                mongoTemplate.insert(lote, Solicitud.class);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            mongoTemplate.insert(lote, Solicitud.class);
+        }
+    }
+
+    private static <T> void insertar(MongoTemplate mongoTemplate, List<T> documentos, Class<T> tipo) {
+        for (int desde = 0; desde < documentos.size(); desde += TAMANO_LOTE) {
+            mongoTemplate.insert(documentos.subList(desde, Math.min(documentos.size(), desde + TAMANO_LOTE)), tipo);
+        }
+    }
+}
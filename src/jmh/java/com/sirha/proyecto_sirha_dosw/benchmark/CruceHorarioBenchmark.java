@@ -0,0 +1,93 @@
+package com.sirha.proyecto_sirha_dosw.benchmark;
+
+import com.sirha.proyecto_sirha_dosw.model.Estudiante;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.Horario;
+import com.sirha.proyecto_sirha_dosw.model.Materia;
+import com.sirha.proyecto_sirha_dosw.model.Rol;
+import com.sirha.proyecto_sirha_dosw.model.Semestre;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la validación de cruce de horarios de un grupo destino contra los grupos de un
+ * estudiante: el recorrido anterior sobre los objetos {@link Horario} contra las franjas de
+ * 15 minutos precalculadas por grupo y por estudiante.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class CruceHorarioBenchmark {
+
+    private static final int CANTIDAD_DESTINOS = 256;
+
+    @Param({"1", "4", "8", "12"})
+    public int cantidadGrupos;
+
+    private Estudiante estudiante;
+    private List<Grupo> destinos;
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random random = new Random(42);
+        List<Materia> materias = DatosSinteticos.materias(20);
+        estudiante = new Estudiante("Ana", "Lopez", "ana@mail.escuelaing.edu.co", "hash",
+                Rol.ESTUDIANTE, Facultad.INGENIERIA_SISTEMAS);
+        estudiante.setId("E1");
+        Semestre semestre = new Semestre();
+        semestre.setNumero(1);
+        estudiante.setSemestres(new ArrayList<>(List.of(semestre)));
+        for (Grupo grupo : DatosSinteticos.grupos(cantidadGrupos, materias, 30, random)) {
+            estudiante.addGrupo(grupo);
+        }
+        destinos = DatosSinteticos.grupos(CANTIDAD_DESTINOS, materias, 30, random);
+        for (Grupo destino : destinos) {
+            destino.getFranjasHorario();
+        }
+        estudiante.getFranjasOcupadas();
+    }
+
+    @Benchmark
+    public Grupo objetos() {
+        Grupo destino = siguienteDestino();
+        for (Grupo grupoActual : estudiante.getGruposExcluyendo(null)) {
+            for (Horario horario : destino.getHorarios()) {
+                for (Horario otro : grupoActual.getHorarios()) {
+                    if (horario.tieneCruceConHorario(otro)) {
+                        return grupoActual;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Grupo franjas() {
+        return estudiante.buscarCruceDeHorario(siguienteDestino(), null);
+    }
+
+    private Grupo siguienteDestino() {
+        return destinos.get(siguiente++ & (CANTIDAD_DESTINOS - 1));
+    }
+}
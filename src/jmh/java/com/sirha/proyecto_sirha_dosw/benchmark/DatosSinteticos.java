@@ -0,0 +1,215 @@
+package com.sirha.proyecto_sirha_dosw.benchmark;
+
+import com.sirha.proyecto_sirha_dosw.model.Carrera;
+import com.sirha.proyecto_sirha_dosw.model.Dia;
+import com.sirha.proyecto_sirha_dosw.model.Estudiante;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.Horario;
+import com.sirha.proyecto_sirha_dosw.model.Materia;
+import com.sirha.proyecto_sirha_dosw.model.RegistroMaterias;
+import com.sirha.proyecto_sirha_dosw.model.Rol;
+import com.sirha.proyecto_sirha_dosw.model.Semaforo;
+import com.sirha.proyecto_sirha_dosw.model.Semestre;
+import com.sirha.proyecto_sirha_dosw.model.Solicitud;
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generadores de datos sintéticos reproducibles (semilla fija) para los benchmarks.
+ */
+public final class DatosSinteticos {
+
+    private static final Facultad[] FACULTADES = Facultad.values();
+    private static final Dia[] DIAS = Dia.values();
+
+    private DatosSinteticos() {
+    }
+
+    /**
+     * Crea materias repartidas entre las facultades.
+     * @param cantidad número de materias
+     * @return materias con identificador, nombre y acrónimo únicos
+     */
+    public static List<Materia> materias(int cantidad) {
+        List<Materia> materias = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Materia materia = new Materia("Materia " + i, "MAT" + i, 1 + i % 4, FACULTADES[i % FACULTADES.length]);
+            materia.setId("M" + i);
+            materias.add(materia);
+        }
+        return materias;
+    }
+
+    /**
+     * Crea grupos con dos franjas semanales de hora y media y una ocupación aleatoria.
+     * @param cantidad número de grupos
+     * @param materias materias a las que se asignan los grupos
+     * @param maxInscritos máximo de estudiantes inscritos por grupo
+     * @param random generador de números aleatorios
+     * @return grupos con identificador único
+     */
+    public static List<Grupo> grupos(int cantidad, List<Materia> materias, int maxInscritos, Random random) {
+        List<Grupo> grupos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            int capacidad = Math.max(1, maxInscritos);
+            Grupo grupo = new Grupo(materias.get(i % materias.size()), capacidad, horarios(2, random));
+            grupo.setId("G" + i);
+            int inscritos = random.nextInt(capacidad + 1);
+            List<String> estudiantes = new ArrayList<>(inscritos);
+            for (int e = 0; e < inscritos; e++) {
+                estudiantes.add("E" + random.nextInt(Integer.MAX_VALUE));
+            }
+            grupo.setEstudiantesId(estudiantes);
+            grupo.setCantidadInscritos(estudiantes.size());
+            grupo.setEstaCompleto(estudiantes.size() >= capacidad);
+            grupos.add(grupo);
+        }
+        return grupos;
+    }
+
+    /**
+     * Crea franjas horarias en días distintos alineadas a bloques de media hora entre las 7:00 y las 19:00.
+     * @param cantidad número de franjas
+     * @param random generador de números aleatorios
+     * @return lista de horarios
+     */
+    public static List<Horario> horarios(int cantidad, Random random) {
+        List<Horario> horarios = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            LocalTime inicio = LocalTime.of(7, 0).plusMinutes(30L * random.nextInt(22));
+            Horario horario = new Horario();
+            horario.setDia(DIAS[(random.nextInt(DIAS.length) + i) % DIAS.length]);
+            horario.setHoraInicio(inicio);
+            horario.setHoraFin(inicio.plusMinutes(90));
+            horarios.add(horario);
+        }
+        return horarios;
+    }
+
+    /**
+     * Crea solicitudes con una popularidad sesgada: pocos grupos concentran la mayoría.
+     * @param cantidad número de solicitudes
+     * @param grupos grupos posibles de origen y destino
+     * @param random generador de números aleatorios
+     * @return solicitudes con tipo, estado y facultad aleatorios
+     */
+    public static List<Solicitud> solicitudes(int cantidad, List<Grupo> grupos, Random random) {
+        TipoSolicitud[] tipos = TipoSolicitud.values();
+        SolicitudEstado[] estados = SolicitudEstado.values();
+        List<Solicitud> solicitudes = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Grupo problema = grupos.get(random.nextInt(grupos.size()));
+            Grupo destino = grupos.get(sesgado(grupos.size(), random));
+            Solicitud solicitud = new Solicitud();
+            solicitud.setEstudianteId("E" + random.nextInt(Integer.MAX_VALUE));
+            solicitud.setTipoSolicitud(tipos[random.nextInt(tipos.length)]);
+            solicitud.setEstado(estados[random.nextInt(estados.length)]);
+            solicitud.setGrupoProblema(problema);
+            solicitud.setMateriaProblema(problema.getMateria());
+            if (solicitud.getTipoSolicitud() == TipoSolicitud.CAMBIO_GRUPO) {
+                solicitud.setGrupoDestino(destino);
+                solicitud.setMateriaDestino(destino.getMateria());
+            }
+            solicitud.setFacultad(problema.getMateria().getFacultad());
+            solicitud.setFechaCreacion(LocalDateTime.now().minusHours(random.nextInt(72)));
+            solicitud.setNumeroRadicado("RAD-" + i);
+            solicitud.setPrioridad(i + 1);
+            solicitudes.add(solicitud);
+        }
+        return solicitudes;
+    }
+
+    /**
+     * Crea estudiantes con entre uno y {@code maxSemestres} semestres cursados.
+     * @param cantidad número de estudiantes
+     * @param maxSemestres máximo de semestres por estudiante (de 1 a 10)
+     * @param materiasPorSemestre registros de materias por semestre
+     * @param grupos grupos entre los que se reparten los registros
+     * @param random generador de números aleatorios
+     * @return estudiantes con identificador único
+     */
+    public static List<Estudiante> estudiantes(int cantidad, int maxSemestres, int materiasPorSemestre,
+                                               List<Grupo> grupos, Random random) {
+        List<Estudiante> estudiantes = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            int semestres = 1 + random.nextInt(Math.max(1, maxSemestres));
+            estudiantes.add(estudiante("E" + i, semestres, materiasPorSemestre, grupos, random));
+        }
+        return estudiantes;
+    }
+
+    /**
+     * Crea un estudiante con su historial: en los semestres anteriores las materias quedan
+     * aprobadas, reprobadas o canceladas y en el último semestre quedan en curso, con alguna
+     * cancelación.
+     * @param id identificador del estudiante
+     * @param semestres número de semestres cursados
+     * @param materiasPorSemestre registros de materias por semestre
+     * @param grupos grupos entre los que se reparten los registros
+     * @param random generador de números aleatorios
+     * @return estudiante con sus semestres y registros
+     */
+    public static Estudiante estudiante(String id, int semestres, int materiasPorSemestre,
+                                        List<Grupo> grupos, Random random) {
+        Facultad facultad = FACULTADES[random.nextInt(FACULTADES.length)];
+        Estudiante estudiante = new Estudiante("Nombre" + id, "Apellido" + id,
+                id.toLowerCase() + "@mail.escuelaing.edu.co", "hash", Rol.ESTUDIANTE, facultad);
+        estudiante.setId(id);
+        for (int numero = 1; numero <= semestres; numero++) {
+            boolean actual = numero == semestres;
+            Semestre semestre = new Semestre();
+            semestre.setNumero(numero);
+            for (int m = 0; m < materiasPorSemestre; m++) {
+                RegistroMaterias registro = new RegistroMaterias(grupos.get(random.nextInt(grupos.size())));
+                registro.setEstado(actual ? estadoActual(random) : estadoCursado(random));
+                semestre.addRegistro(registro);
+            }
+            estudiante.getSemestres().add(semestre);
+        }
+        return estudiante;
+    }
+
+    /**
+     * Crea la carrera de una facultad con las materias de esa facultad.
+     * @param facultad facultad de la carrera
+     * @param materias materias disponibles; se toman las de la facultad
+     * @return carrera de diez semestres con sus materias y créditos totales
+     */
+    public static Carrera carrera(Facultad facultad, List<Materia> materias) {
+        List<Materia> propias = new ArrayList<>();
+        int creditos = 0;
+        for (Materia materia : materias) {
+            if (materia.getFacultad() == facultad) {
+                propias.add(materia);
+                creditos += materia.getCreditos();
+            }
+        }
+        Carrera carrera = new Carrera(facultad, facultad.name(), 10, creditos);
+        carrera.setMaterias(propias);
+        return carrera;
+    }
+
+    private static Semaforo estadoCursado(Random random) {
+        int valor = random.nextInt(20);
+        if (valor < 15) {
+            return Semaforo.VERDE;
+        }
+        return valor < 18 ? Semaforo.ROJO : Semaforo.CANCELADO;
+    }
+
+    private static Semaforo estadoActual(Random random) {
+        return random.nextInt(10) == 0 ? Semaforo.CANCELADO : Semaforo.AZUL;
+    }
+
+    private static int sesgado(int limite, Random random) {
+        double u = random.nextDouble();
+        return (int) Math.min(limite - 1L, (long) (limite * u * u * u));
+    }
+}
@@ -0,0 +1,99 @@
+package com.sirha.proyecto_sirha_dosw.benchmark;
+
+import com.sirha.proyecto_sirha_dosw.model.Estudiante;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.Semaforo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las operaciones del modelo que se ejecutan en cada validación de solicitudes y en cada
+ * consulta del semáforo: {@link Grupo#tieneCruceDeHorario(Grupo)},
+ * {@link Estudiante#getSemaforo()} y {@link Estudiante#getGruposExcluyendo(Grupo)}.
+ *
+ * <p>Los grupos tienen hasta {@value #MAX_INSCRITOS} inscritos y los estudiantes entre 1 y 10
+ * semestres; cada estado usa solo los parámetros que afectan a su operación.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class DominioBenchmark {
+
+    static final int MAX_INSCRITOS = 500;
+    private static final int CANTIDAD_GRUPOS = 256;
+    private static final int MATERIAS_POR_SEMESTRE = 6;
+
+    /**
+     * Grupos sintéticos que se comparan por pares en orden rotativo.
+     */
+    @State(Scope.Benchmark)
+    public static class Grupos {
+
+        private List<Grupo> grupos;
+        private int siguiente;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            grupos = DatosSinteticos.grupos(CANTIDAD_GRUPOS, DatosSinteticos.materias(60), MAX_INSCRITOS, new Random(42));
+        }
+
+        Grupo siguiente() {
+            siguiente = (siguiente + 1) % grupos.size();
+            return grupos.get(siguiente);
+        }
+    }
+
+    /**
+     * Estudiante sintético con el número de semestres indicado.
+     */
+    @State(Scope.Benchmark)
+    public static class Historial {
+
+        @Param({"1", "5", "10"})
+        public int semestres;
+
+        private Estudiante estudiante;
+        private Grupo excluido;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            Random random = new Random(42);
+            List<Grupo> grupos = DatosSinteticos.grupos(CANTIDAD_GRUPOS, DatosSinteticos.materias(60), MAX_INSCRITOS, random);
+            estudiante = DatosSinteticos.estudiante("E1", semestres, MATERIAS_POR_SEMESTRE, grupos, random);
+            List<Grupo> actuales = estudiante.getGruposExcluyendo(null);
+            excluido = actuales.get(actuales.size() / 2);
+        }
+    }
+
+    @Benchmark
+    public boolean tieneCruceDeHorario(Grupos grupos) {
+        return grupos.siguiente().tieneCruceDeHorario(grupos.siguiente());
+    }
+
+    @Benchmark
+    public Map<String, Semaforo> semaforo(Historial historial) {
+        return historial.estudiante.getSemaforo();
+    }
+
+    @Benchmark
+    public List<Grupo> gruposExcluyendo(Historial historial) {
+        return historial.estudiante.getGruposExcluyendo(historial.excluido);
+    }
+}
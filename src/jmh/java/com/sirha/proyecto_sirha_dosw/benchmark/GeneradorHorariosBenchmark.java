@@ -0,0 +1,112 @@
+package com.sirha.proyecto_sirha_dosw.benchmark;
+
+import com.sirha.proyecto_sirha_dosw.model.FranjasHorario;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.Horario;
+import com.sirha.proyecto_sirha_dosw.model.Materia;
+import com.sirha.proyecto_sirha_dosw.service.GeneradorHorariosService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la generación de las cinco mejores combinaciones de grupos: recorrer todas las
+ * combinaciones comparando objetos {@link Horario} contra la búsqueda con franjas, poda por
+ * permanencia en la universidad y reparto de ramas en el pool común.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class GeneradorHorariosBenchmark {
+
+    private static final int LIMITE = 5;
+
+    @Param({"4", "6"})
+    public int cantidadMaterias;
+
+    @Param({"12"})
+    public int gruposPorMateria;
+
+    private Map<String, List<Grupo>> candidatos;
+    private GeneradorHorariosService generador;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random random = new Random(42);
+        List<Materia> materias = DatosSinteticos.materias(cantidadMaterias);
+        candidatos = new LinkedHashMap<>();
+        for (Materia materia : materias) {
+            candidatos.put(materia.getAcronimo(), new ArrayList<>());
+        }
+        for (Grupo grupo : DatosSinteticos.grupos(cantidadMaterias * gruposPorMateria, materias, 30, random)) {
+            candidatos.get(grupo.getMateria().getAcronimo()).add(grupo);
+        }
+        generador = new GeneradorHorariosService(null, null, 60_000);
+    }
+
+    @Benchmark
+    public List<Integer> exhaustiva() {
+        PriorityQueue<Integer> mejores = new PriorityQueue<>((a, b) -> Integer.compare(b, a));
+        recorrer(new ArrayList<>(candidatos.values()), 0, new ArrayList<>(), mejores);
+        return new ArrayList<>(mejores);
+    }
+
+    @Benchmark
+    public GeneradorHorariosService.ResultadoBusqueda podaConFranjas() {
+        return generador.combinar(candidatos, List.of(), LIMITE);
+    }
+
+    private static void recorrer(List<List<Grupo>> niveles, int nivel, List<Grupo> elegidos, PriorityQueue<Integer> mejores) {
+        if (nivel == niveles.size()) {
+            List<Horario> horarios = new ArrayList<>();
+            for (Grupo grupo : elegidos) {
+                horarios.addAll(grupo.getHorarios());
+            }
+            mejores.add(FranjasHorario.de(horarios).franjasEnCampus());
+            if (mejores.size() > LIMITE) {
+                mejores.poll();
+            }
+            return;
+        }
+        for (Grupo grupo : niveles.get(nivel)) {
+            if (!seCruza(grupo, elegidos)) {
+                elegidos.add(grupo);
+                recorrer(niveles, nivel + 1, elegidos, mejores);
+                elegidos.remove(elegidos.size() - 1);
+            }
+        }
+    }
+
+    private static boolean seCruza(Grupo grupo, List<Grupo> elegidos) {
+        for (Grupo elegido : elegidos) {
+            for (Horario horario : grupo.getHorarios()) {
+                for (Horario otro : elegido.getHorarios()) {
+                    if (horario.tieneCruceConHorario(otro)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,96 @@
+package com.sirha.proyecto_sirha_dosw.benchmark;
+
+import com.sirha.proyecto_sirha_dosw.dto.EstadisticasGrupoDTO;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
+import com.sirha.proyecto_sirha_dosw.service.ReportesService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el reporte de grupos más solicitados resuelto con una agregación contra la
+ * versión anterior, que hacía un conteo por cada grupo (N+1 consultas).
+ * Se generan dos solicitudes por grupo en promedio, con popularidad sesgada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class GruposMasSolicitadosBenchmark {
+
+    private static final int LIMITE = 10;
+
+    @Param({"100", "1000", "10000"})
+    public int cantidadGrupos;
+
+    private MongoEnMemoria mongo;
+    private GrupoRepository grupoRepository;
+    private SolicitudRepository solicitudRepository;
+    private ReportesService reportesService;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random random = new Random(42);
+        mongo = new MongoEnMemoria();
+        List<Grupo> grupos = DatosSinteticos.grupos(cantidadGrupos, DatosSinteticos.materias(50), 30, random);
+        mongo.mongoTemplate().insertAll(grupos);
+        mongo.mongoTemplate().insertAll(DatosSinteticos.solicitudes(cantidadGrupos * 2, grupos, random));
+
+        grupoRepository = mongo.grupoRepository();
+        solicitudRepository = mongo.solicitudRepository();
+        reportesService = new ReportesService(solicitudRepository, grupoRepository,
+                mongo.usuarioRepository(), mongo.carreraRepository(), mongo.contadorSolicitudesRepository(),
+                mongo.cacheCatalogo());
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public List<EstadisticasGrupoDTO> agregacion() {
+        return reportesService.obtenerGruposMasSolicitados(null, LIMITE);
+    }
+
+    @Benchmark
+    public List<EstadisticasGrupoDTO> nMasUnoConsultas() {
+        List<EstadisticasGrupoDTO> estadisticas = new ArrayList<>();
+        for (Grupo grupo : grupoRepository.findAll()) {
+            long cantidad = solicitudRepository.countByGrupoDestino_IdAndTipoSolicitud(
+                    grupo.getId(), TipoSolicitud.CAMBIO_GRUPO);
+            if (grupo.getMateria() != null && cantidad > 0) {
+                EstadisticasGrupoDTO estadistica = new EstadisticasGrupoDTO(grupo.getId(),
+                        grupo.getMateria().getId(), grupo.getMateria().getNombre(),
+                        grupo.getMateria().getAcronimo(), grupo.getMateria().getFacultad().name());
+                estadistica.setCantidadSolicitudes(cantidad);
+                estadisticas.add(estadistica);
+            }
+        }
+        return estadisticas.stream()
+                .sorted(Comparator.comparing(EstadisticasGrupoDTO::getCantidadSolicitudes).reversed())
+                .limit(LIMITE)
+                .toList();
+    }
+}
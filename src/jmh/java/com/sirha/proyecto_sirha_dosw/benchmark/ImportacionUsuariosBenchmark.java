@@ -0,0 +1,113 @@
+package com.sirha.proyecto_sirha_dosw.benchmark;
+
+import com.sirha.proyecto_sirha_dosw.config.CachePrincipalesJwt;
+import com.sirha.proyecto_sirha_dosw.dto.ResultadoImportacionUsuariosDTO;
+import com.sirha.proyecto_sirha_dosw.dto.UsuarioDTO;
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+import com.sirha.proyecto_sirha_dosw.model.Carrera;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Usuario;
+import com.sirha.proyecto_sirha_dosw.service.ImportacionUsuariosService;
+import com.sirha.proyecto_sirha_dosw.service.UsuarioService;
+import com.sirha.proyecto_sirha_dosw.util.GeneradorIdUsuario;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara registrar estudiantes uno a uno con {@link UsuarioService#registrar} contra importarlos
+ * desde un CSV con {@link ImportacionUsuariosService}, ambos con BCrypt de la fuerza por defecto.
+ * Cada invocación registra {@code cantidadUsuarios} estudiantes nuevos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ImportacionUsuariosBenchmark {
+
+    private static final String CLAVE = "Password123!";
+
+    @Param({"500"})
+    public int cantidadUsuarios;
+
+    @Param({"4"})
+    public int hilosCifrado;
+
+    private MongoEnMemoria mongo;
+    private UsuarioService usuarioService;
+    private ImportacionUsuariosService importacionUsuariosService;
+    private byte[] csv;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        mongo = new MongoEnMemoria();
+        Carrera carrera = new Carrera();
+        carrera.setNombre(Facultad.INGENIERIA_SISTEMAS);
+        carrera.setCodigo("SIS");
+        mongo.mongoTemplate().insert(carrera);
+
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        GeneradorIdUsuario generador = new GeneradorIdUsuario(mongo.secuenciaRepository(), 100);
+        usuarioService = new UsuarioService(mongo.usuarioRepository(), mongo.cacheCatalogo(),
+                mongo.solicitudRepository(), encoder, new CachePrincipalesJwt(mongo.secuenciaRepository(), 10, 1000, 5000), generador);
+        importacionUsuariosService = new ImportacionUsuariosService(mongo.usuarioRepository(),
+                mongo.carreraRepository(), encoder, generador,
+                Validation.buildDefaultValidatorFactory().getValidator(), 1000, hilosCifrado);
+
+        StringBuilder contenido = new StringBuilder("nombre,apellido,password,rol,facultad\n");
+        for (int i = 0; i < cantidadUsuarios; i++) {
+            contenido.append("Nombre").append(i).append(",Benchmark,").append(CLAVE)
+                    .append(",ESTUDIANTE,INGENIERIA_SISTEMAS\n");
+        }
+        csv = contenido.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Invocation)
+    public void borrarUsuarios() {
+        mongo.mongoTemplate().remove(Query.query(Criteria.where("apellido").is("Benchmark")), Usuario.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public int registroIndividual() throws SirhaException {
+        for (int i = 0; i < cantidadUsuarios; i++) {
+            UsuarioDTO dto = new UsuarioDTO();
+            dto.setNombre("Nombre" + i);
+            dto.setApellido("Benchmark");
+            dto.setPassword(CLAVE);
+            dto.setRol("ESTUDIANTE");
+            dto.setFacultad("INGENIERIA_SISTEMAS");
+            usuarioService.registrar(dto);
+        }
+        return cantidadUsuarios;
+    }
+
+    @Benchmark
+    public ResultadoImportacionUsuariosDTO importacionCsv() throws SirhaException {
+        return importacionUsuariosService.importar(new ByteArrayInputStream(csv), "text/csv");
+    }
+}
@@ -0,0 +1,101 @@
+package com.sirha.proyecto_sirha_dosw.benchmark;
+
+import com.sirha.proyecto_sirha_dosw.config.CachePrincipalesJwt;
+import com.sirha.proyecto_sirha_dosw.config.CustomUserDetailsService;
+import com.sirha.proyecto_sirha_dosw.config.JwtAuthFilter;
+import com.sirha.proyecto_sirha_dosw.config.JwtService;
+import com.sirha.proyecto_sirha_dosw.model.Estudiante;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Rol;
+import com.sirha.proyecto_sirha_dosw.service.MetricasSirha;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el rendimiento del filtro JWT con la caché de usuarios autenticados contra el filtro
+ * sin caché (TTL cero), que valida el token y consulta el usuario en MongoDB en cada petición.
+ * Las peticiones rotan entre los tokens de varios usuarios.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private static final int CANTIDAD_USUARIOS = 64;
+
+    private MongoEnMemoria mongo;
+    private JwtAuthFilter filtroConCache;
+    private JwtAuthFilter filtroSinCache;
+    private final List<String> tokens = new ArrayList<>();
+    private int siguiente;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        mongo = new MongoEnMemoria();
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(mongo.usuarioRepository());
+        JwtService jwtService = new JwtService();
+        for (int i = 0; i < CANTIDAD_USUARIOS; i++) {
+            Estudiante estudiante = new Estudiante("Nombre" + i, "Apellido" + i, "usuario" + i + "@mail.escuelaing.edu.co",
+                    "hash", Rol.ESTUDIANTE, Facultad.INGENIERIA_SISTEMAS);
+            estudiante.setId(String.format("%010d", i));
+            mongo.mongoTemplate().insert(estudiante);
+            tokens.add(jwtService.generateToken(userDetailsService.loadUserByUsername(estudiante.getEmail())));
+        }
+        MetricasSirha metricasSirha = new MetricasSirha(new SimpleMeterRegistry());
+        filtroConCache = new JwtAuthFilter(jwtService, userDetailsService,
+                new CachePrincipalesJwt(mongo.secuenciaRepository(), 10_000, 300_000L, 5_000L), metricasSirha);
+        filtroSinCache = new JwtAuthFilter(jwtService, userDetailsService,
+                new CachePrincipalesJwt(mongo.secuenciaRepository(), 10_000, 0L, 5_000L), metricasSirha);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public Authentication conCache() throws Exception {
+        return filtrar(filtroConCache);
+    }
+
+    @Benchmark
+    public Authentication sinCache() throws Exception {
+        return filtrar(filtroSinCache);
+    }
+
+    private Authentication filtrar(JwtAuthFilter filtro) throws Exception {
+        String token = tokens.get(siguiente++ & (CANTIDAD_USUARIOS - 1));
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/usuarios/email/self");
+        request.addHeader("Authorization", "Bearer " + token);
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication autenticacion = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacion == null) {
+            throw new IllegalStateException("El filtro no autenticó la petición");
+        }
+        return autenticacion;
+    }
+}
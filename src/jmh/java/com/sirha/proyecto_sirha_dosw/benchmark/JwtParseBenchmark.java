@@ -0,0 +1,75 @@
+package com.sirha.proyecto_sirha_dosw.benchmark;
+
+import com.sirha.proyecto_sirha_dosw.config.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la validación de un token con el parser y la clave construidos una sola vez contra
+ * la forma anterior, que decodificaba la clave y construía un parser nuevo por token y además
+ * analizaba el token tres veces por petición (email, expiración y validación).
+ *
+ * <p>Para ver las asignaciones por petición ejecutar con el perfilador de GC:</p>
+ * <pre>mvn -Pbenchmark -DskipTests verify -Djmh.include=JwtParseBenchmark -Djmh.args="-prof gc"</pre>
+ * <p>y comparar la métrica {@code gc.alloc.rate.norm} (bytes por operación).</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class JwtParseBenchmark {
+
+    /** Misma clave que {@link JwtService}, para reproducir la construcción anterior. */
+    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        jwtService = new JwtService();
+        token = jwtService.generateToken(User.withUsername("usuario@mail.escuelaing.edu.co")
+                .password("hash")
+                .roles("ESTUDIANTE")
+                .build());
+    }
+
+    @Benchmark
+    public JwtService.TokenValidado parserCompartido() {
+        return jwtService.parse(token);
+    }
+
+    @Benchmark
+    public boolean parserPorLlamada() {
+        String email = parsearConParserNuevo(token).getSubject();
+        Claims claims = parsearConParserNuevo(token);
+        return email.equals(claims.getSubject())
+                && parsearConParserNuevo(token).getExpiration().getTime() > System.currentTimeMillis();
+    }
+
+    private static Claims parsearConParserNuevo(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET_KEY)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
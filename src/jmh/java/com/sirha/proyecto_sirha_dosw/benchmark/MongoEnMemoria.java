@@ -0,0 +1,88 @@
+package com.sirha.proyecto_sirha_dosw.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sirha.proyecto_sirha_dosw.repository.CarreraRepository;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepository;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepositoryCustomImpl;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepositoryCustomImpl;
+import com.sirha.proyecto_sirha_dosw.repository.MateriaRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepositoryCustomImpl;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepositoryCustomImpl;
+import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
+import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepositoryCustomImpl;
+import com.sirha.proyecto_sirha_dosw.service.CacheCatalogo;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+/**
+ * Servidor MongoDB en memoria con los repositorios del proyecto construidos sin contexto
+ * de Spring, para que los benchmarks ejerzan las mismas consultas que la aplicación.
+ */
+public final class MongoEnMemoria implements AutoCloseable {
+
+    private final MongoServer server;
+    private final MongoClient client;
+    private final MongoTemplate mongoTemplate;
+    private final MongoRepositoryFactory factory;
+
+    public MongoEnMemoria() {
+        server = new MongoServer(new MemoryBackend());
+        client = MongoClients.create(server.bindAndGetConnectionString());
+        mongoTemplate = new MongoTemplate(client, "sirha-benchmark");
+        factory = new MongoRepositoryFactory(mongoTemplate);
+    }
+
+    public MongoTemplate mongoTemplate() {
+        return mongoTemplate;
+    }
+
+    public GrupoRepository grupoRepository() {
+        return factory.getRepository(GrupoRepository.class,
+                RepositoryFragments.just(new GrupoRepositoryCustomImpl(mongoTemplate)));
+    }
+
+    public SolicitudRepository solicitudRepository() {
+        return factory.getRepository(SolicitudRepository.class,
+                RepositoryFragments.just(new SolicitudRepositoryCustomImpl(mongoTemplate)));
+    }
+
+    public ContadorSolicitudesRepository contadorSolicitudesRepository() {
+        return factory.getRepository(ContadorSolicitudesRepository.class,
+                RepositoryFragments.just(new ContadorSolicitudesRepositoryCustomImpl(mongoTemplate)));
+    }
+
+    public UsuarioRepository usuarioRepository() {
+        return factory.getRepository(UsuarioRepository.class,
+                RepositoryFragments.just(new UsuarioRepositoryCustomImpl(mongoTemplate)));
+    }
+
+    public SecuenciaRepository secuenciaRepository() {
+        return factory.getRepository(SecuenciaRepository.class,
+                RepositoryFragments.just(new SecuenciaRepositoryCustomImpl(mongoTemplate)));
+    }
+
+    public MateriaRepository materiaRepository() {
+        return factory.getRepository(MateriaRepository.class);
+    }
+
+    public CarreraRepository carreraRepository() {
+        return factory.getRepository(CarreraRepository.class);
+    }
+
+    public CacheCatalogo cacheCatalogo() {
+        return new CacheCatalogo(materiaRepository(), carreraRepository(), secuenciaRepository(), 5000, 5000);
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        server.shutdown();
+    }
+}
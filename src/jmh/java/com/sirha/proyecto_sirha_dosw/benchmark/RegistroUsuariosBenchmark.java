@@ -0,0 +1,118 @@
+package com.sirha.proyecto_sirha_dosw.benchmark;
+
+import com.sirha.proyecto_sirha_dosw.model.Estudiante;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Rol;
+import com.sirha.proyecto_sirha_dosw.model.Usuario;
+import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
+import com.sirha.proyecto_sirha_dosw.util.GeneradorIdUsuario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el registro masivo de usuarios con la asignación de ids anterior, que generaba un id
+ * aleatorio y consultaba {@code existsById} antes de cada inserción, contra los ids de la secuencia
+ * por bloques, que se insertan directamente. Cada invocación registra {@code cantidadUsuarios}
+ * usuarios sobre una colección que ya tiene {@code usuariosExistentes}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RegistroUsuariosBenchmark {
+
+    private static final int TAMANO_BLOQUE = 100;
+
+    @Param({"10000"})
+    public int cantidadUsuarios;
+
+    @Param({"0", "50000"})
+    public int usuariosExistentes;
+
+    private MongoEnMemoria mongo;
+    private UsuarioRepository usuarioRepository;
+    private GeneradorIdUsuario generadorIdUsuario;
+    private List<Usuario> nuevos;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        mongo = new MongoEnMemoria();
+        usuarioRepository = mongo.usuarioRepository();
+        generadorIdUsuario = new GeneradorIdUsuario(mongo.secuenciaRepository(), TAMANO_BLOQUE);
+        Random random = new Random(42);
+        List<Usuario> existentes = new ArrayList<>();
+        for (int i = 0; i < usuariosExistentes; i++) {
+            Usuario usuario = estudiante("existente" + i);
+            usuario.setId(String.format("%010d", random.nextLong(10_000_000_000L)));
+            existentes.add(usuario);
+        }
+        mongo.mongoTemplate().insertAll(existentes);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepararUsuarios() {
+        nuevos = new ArrayList<>(cantidadUsuarios);
+        for (int i = 0; i < cantidadUsuarios; i++) {
+            nuevos.add(estudiante("nuevo" + i));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void borrarUsuarios() {
+        mongo.mongoTemplate().remove(Query.query(Criteria.where("email").regex("^nuevo")), Usuario.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        mongo.close();
+    }
+
+    @Benchmark
+    public int aleatorioConExistsById() {
+        for (Usuario usuario : nuevos) {
+            SecureRandom secureRandom = new SecureRandom();
+            String id;
+            do {
+                id = String.format("%010d", secureRandom.nextLong(10_000_000_000L));
+            } while (usuarioRepository.existsById(id));
+            usuario.setId(id);
+            usuarioRepository.insert(usuario);
+        }
+        return nuevos.size();
+    }
+
+    @Benchmark
+    public int secuenciaPorBloques() {
+        for (Usuario usuario : nuevos) {
+            usuario.setId(generadorIdUsuario.siguiente());
+            usuarioRepository.insert(usuario);
+        }
+        return nuevos.size();
+    }
+
+    private static Usuario estudiante(String nombre) {
+        return new Estudiante(nombre, "Benchmark", nombre + "@mail.escuelaing.edu.co", "hash",
+                Rol.ESTUDIANTE, Facultad.INGENIERIA_SISTEMAS);
+    }
+}
@@ -0,0 +1,56 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide {@link UsuarioService#normalizarTexto(String)} y {@link UsuarioService#generarEmail(String, String)},
+ * que se ejecutan por cada usuario registrado o importado. Vive en el paquete del servicio porque
+ * ambos métodos son de paquete; los nombres rotan entre casos con y sin tildes ni espacios.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class GeneracionEmailBenchmark {
+
+    private static final String[][] NOMBRES = {
+            {"Juan", "Pérez"},
+            {"María José", "García Núñez"},
+            {"  Ángela ", "Muñoz Ibáñez"},
+            {"Carlos", "López Martínez"},
+            {"Ana", "Lopez"},
+            {"Jesús Andrés", "Güiza Peña"},
+            {"Sofía", "Rodríguez"},
+            {"Pedro", "Gomez"}
+    };
+
+    private int siguiente;
+
+    @Benchmark
+    public String normalizarTexto() {
+        return UsuarioService.normalizarTexto(siguienteNombre()[1]);
+    }
+
+    @Benchmark
+    public String generarEmail() {
+        String[] nombre = siguienteNombre();
+        return UsuarioService.generarEmail(nombre[0], nombre[1]);
+    }
+
+    private String[] siguienteNombre() {
+        siguiente = (siguiente + 1) % NOMBRES.length;
+        return NOMBRES[siguiente];
+    }
+}
@@ -0,0 +1,105 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.benchmark.DatosSinteticos;
+import com.sirha.proyecto_sirha_dosw.dto.IndicadoresAvanceDTO;
+import com.sirha.proyecto_sirha_dosw.model.Carrera;
+import com.sirha.proyecto_sirha_dosw.model.Estudiante;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.Materia;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el cálculo de {@link IndicadoresAvanceDTO}: los indicadores de un estudiante con
+ * {@code semestres} semestres cursados y la acumulación de los indicadores de
+ * {@value #ESTUDIANTES} estudiantes de 1 a 10 semestres, como en el reporte global.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class IndicadoresAvanceBenchmark {
+
+    static final int ESTUDIANTES = 1_000;
+    private static final int MATERIAS_POR_SEMESTRE = 6;
+
+    /**
+     * Un estudiante con el número de semestres indicado.
+     */
+    @State(Scope.Benchmark)
+    public static class Individual {
+
+        @Param({"1", "5", "10"})
+        public int semestres;
+
+        private Estudiante estudiante;
+        private Carrera carrera;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            Random random = new Random(42);
+            List<Materia> materias = DatosSinteticos.materias(120);
+            List<Grupo> grupos = DatosSinteticos.grupos(256, materias, 500, random);
+            estudiante = DatosSinteticos.estudiante("E1", semestres, MATERIAS_POR_SEMESTRE, grupos, random);
+            carrera = DatosSinteticos.carrera(estudiante.getCarrera(), materias);
+        }
+    }
+
+    /**
+     * Estudiantes de 1 a 10 semestres repartidos entre las facultades.
+     */
+    @State(Scope.Benchmark)
+    public static class Poblacion {
+
+        private List<Estudiante> estudiantes;
+        private Map<Facultad, Carrera> carreras;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            Random random = new Random(42);
+            List<Materia> materias = DatosSinteticos.materias(120);
+            List<Grupo> grupos = DatosSinteticos.grupos(256, materias, 500, random);
+            estudiantes = DatosSinteticos.estudiantes(ESTUDIANTES, 10, MATERIAS_POR_SEMESTRE, grupos, random);
+            carreras = new EnumMap<>(Facultad.class);
+            for (Facultad facultad : Facultad.values()) {
+                carreras.put(facultad, DatosSinteticos.carrera(facultad, materias));
+            }
+        }
+    }
+
+    @Benchmark
+    public IndicadoresAvanceDTO individual(Individual individual) {
+        return ReportesService.calcularIndicadores(individual.estudiante, individual.carrera);
+    }
+
+    @Benchmark
+    public IndicadoresAvanceDTO global(Poblacion poblacion) {
+        AcumuladorIndicadoresAvance acumulador = new AcumuladorIndicadoresAvance();
+        for (Estudiante estudiante : poblacion.estudiantes) {
+            acumulador.agregar(ReportesService.calcularIndicadores(estudiante,
+                    poblacion.carreras.get(estudiante.getCarrera())));
+        }
+        IndicadoresAvanceDTO global = new IndicadoresAvanceDTO();
+        acumulador.aplicarA(global);
+        global.calcularPorcentajes();
+        return global;
+    }
+}
@@ -3,9 +3,11 @@ package com.sirha.proyecto_sirha_dosw;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableMongoAuditing
+@EnableScheduling
 public class ProyectoSirhaApplication {
 
 	public static void main(String[] args) {
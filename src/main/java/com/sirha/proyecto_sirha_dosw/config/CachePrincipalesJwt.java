@@ -0,0 +1,188 @@
+package com.sirha.proyecto_sirha_dosw.config;
+
+import com.sirha.proyecto_sirha_dosw.model.Secuencia;
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caché acotada de los usuarios autenticados mediante JWT.
+ *
+ * <p>Evita consultar la base de datos en cada petición autenticada: la entrada se indexa por el
+ * hash SHA-256 del token y expira al cumplirse el TTL configurado o al expirar el propio token,
+ * lo que ocurra primero. Cuando se supera el tamaño máximo se descartan primero las entradas
+ * vencidas y, si no basta, entradas arbitrarias.</p>
+ *
+ * <p>Las entradas de un usuario se invalidan cuando sus datos cambian o se elimina, de modo que
+ * la siguiente petición vuelve a validarlo contra la base de datos. Como en {@code CacheCatalogo},
+ * cada invalidación aumenta además una versión guardada en la colección de secuencias; las demás
+ * instancias la comparan con la suya como mucho una vez por intervalo de verificación y, si cambió,
+ * vacían su caché. Un usuario modificado deja de autenticarse con sus datos anteriores en todas las
+ * instancias a más tardar tras ese intervalo.</p>
+ *
+ * <p>Cada invalidación aumenta también una generación local. Quien valida un token contra la base
+ * de datos lee la generación antes de consultar al usuario y la pasa a {@link #guardar}, que
+ * descarta el resultado si hubo una invalidación entretanto, porque pudo leer los datos anteriores.</p>
+ */
+@Component
+public class CachePrincipalesJwt {
+
+    static final String SECUENCIA_VERSION = "principales-jwt";
+
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+    private final AtomicLong generacion = new AtomicLong();
+    private final SecuenciaRepository secuenciaRepository;
+    private final int maxEntradas;
+    private final long ttlMillis;
+    private final long verificacionMillis;
+    private final LongSupplier reloj;
+    private volatile long version = -1;
+    private volatile long proximaVerificacion;
+
+    @Autowired
+    public CachePrincipalesJwt(SecuenciaRepository secuenciaRepository,
+                               @Value("${sirha.jwt.cache.max-entradas:10000}") int maxEntradas,
+                               @Value("${sirha.jwt.cache.ttl-ms:300000}") long ttlMillis,
+                               @Value("${sirha.jwt.cache.verificacion-ms:5000}") long verificacionMillis) {
+        this(secuenciaRepository, maxEntradas, ttlMillis, verificacionMillis, System::currentTimeMillis);
+    }
+
+    CachePrincipalesJwt(SecuenciaRepository secuenciaRepository, int maxEntradas, long ttlMillis,
+                        long verificacionMillis, LongSupplier reloj) {
+        this.secuenciaRepository = secuenciaRepository;
+        this.maxEntradas = maxEntradas;
+        this.ttlMillis = ttlMillis;
+        this.verificacionMillis = verificacionMillis;
+        this.reloj = reloj;
+    }
+
+    /**
+     * Obtiene el usuario asociado a un token si sigue vigente en la caché.
+     * @param token el token JWT
+     * @return el usuario autenticado o null si no está en caché o ya venció
+     */
+    public UserDetails obtener(String token) {
+        verificarVersion();
+        String clave = hash(token);
+        Entrada entrada = entradas.get(clave);
+        if (entrada == null) {
+            return null;
+        }
+        if (entrada.venceEn() <= reloj.getAsLong()) {
+            entradas.remove(clave, entrada);
+            return null;
+        }
+        return entrada.usuario();
+    }
+
+    /**
+     * Generación actual de la caché, tras comprobar la versión compartida si corresponde. Debe
+     * leerse antes de consultar al usuario en la base de datos y pasarse a {@link #guardar}.
+     * @return generación actual
+     */
+    public long generacion() {
+        verificarVersion();
+        return generacion.get();
+    }
+
+    /**
+     * Guarda el usuario autenticado con un token, salvo que haya habido una invalidación desde que
+     * se leyó la generación.
+     * @param token el token JWT ya validado
+     * @param usuario el usuario autenticado
+     * @param expiracionToken instante de expiración del token en milisegundos
+     * @param generacionLeida generación leída antes de consultar al usuario
+     */
+    public void guardar(String token, UserDetails usuario, long expiracionToken, long generacionLeida) {
+        if (generacion.get() != generacionLeida) {
+            return;
+        }
+        long venceEn = Math.min(reloj.getAsLong() + ttlMillis, expiracionToken);
+        if (entradas.size() >= maxEntradas) {
+            liberarEspacio();
+        }
+        String clave = hash(token);
+        Entrada entrada = new Entrada(usuario, venceEn);
+        entradas.put(clave, entrada);
+        // Una invalidación que aumentó la generación antes de este put pudo recorrer las entradas sin verla
+        if (generacion.get() != generacionLeida) {
+            entradas.remove(clave, entrada);
+        }
+    }
+
+    /**
+     * Elimina todas las entradas de un usuario y aumenta la versión compartida para que las demás
+     * instancias vacíen su caché. Debe llamarse después de guardar el cambio del usuario.
+     * @param email email (username) del usuario
+     */
+    public void invalidar(String email) {
+        if (email == null) {
+            return;
+        }
+        long anterior = version;
+        version = secuenciaRepository.reservarBloque(SECUENCIA_VERSION, 1);
+        generacion.incrementAndGet();
+        if (version == anterior + 1) {
+            entradas.values().removeIf(entrada -> email.equals(entrada.usuario().getUsername()));
+        } else {
+            // Otra instancia invalidó usuarios que esta aún no había descartado
+            entradas.clear();
+        }
+    }
+
+    /**
+     * Cantidad de entradas almacenadas, incluidas las vencidas que aún no se han descartado.
+     * @return tamaño actual de la caché
+     */
+    public int tamano() {
+        return entradas.size();
+    }
+
+    private void verificarVersion() {
+        long ahora = reloj.getAsLong();
+        if (ahora < proximaVerificacion) {
+            return;
+        }
+        proximaVerificacion = ahora + verificacionMillis;
+        long actual = secuenciaRepository.findById(SECUENCIA_VERSION).map(Secuencia::getValor).orElse(0L);
+        if (actual != version) {
+            version = actual;
+            generacion.incrementAndGet();
+            entradas.clear();
+        }
+    }
+
+    private void liberarEspacio() {
+        long ahora = reloj.getAsLong();
+        entradas.values().removeIf(entrada -> entrada.venceEn() <= ahora);
+        Iterator<String> claves = entradas.keySet().iterator();
+        while (entradas.size() >= maxEntradas && claves.hasNext()) {
+            claves.next();
+            claves.remove();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private record Entrada(UserDetails usuario, long venceEn) {
+    }
+}
@@ -4,6 +4,7 @@ package com.sirha.proyecto_sirha_dosw.config;
 import com.sirha.proyecto_sirha_dosw.model.*;
 // removed unused imports: UsuarioDTO, AuthService (we'll create admin directly)
 import com.sirha.proyecto_sirha_dosw.repository.*;
+import com.sirha.proyecto_sirha_dosw.service.CacheCatalogo;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
@@ -31,6 +32,7 @@ public class DataSeed implements CommandLineRunner {
     private final CarreraRepository carreraRepository;
     private final SolicitudRepository solicitudRepository;
     private final org.springframework.security.crypto.password.PasswordEncoder passwordEncoder;
+    private final CacheCatalogo cacheCatalogo;
     private static final String HORA_DIEZ = "10:00";
     private static final String HORA_CATORCE = "14:00";
     private static final String HORA_DIECISIES = "16:00";
@@ -40,13 +42,15 @@ public class DataSeed implements CommandLineRunner {
                     GrupoRepository grupoRepository,
                     CarreraRepository carreraRepository,
                     SolicitudRepository solicitudRepository,
-                    org.springframework.security.crypto.password.PasswordEncoder passwordEncoder) {
+                    org.springframework.security.crypto.password.PasswordEncoder passwordEncoder,
+                    CacheCatalogo cacheCatalogo) {
         this.materiaRepository = materiaRepository;
         this.usuarioRepository = usuarioRepository;
         this.grupoRepository = grupoRepository;
         this.carreraRepository = carreraRepository;
         this.solicitudRepository = solicitudRepository;
         this.passwordEncoder = passwordEncoder;
+        this.cacheCatalogo = cacheCatalogo;
     }
 
     @Override
@@ -56,6 +60,7 @@ public class DataSeed implements CommandLineRunner {
         
         // Crear datos de prueba
         crearDatosDePrueba();
+        cacheCatalogo.invalidar();
         
         logger.info("DataSeed ejecutado exitosamente - Datos de prueba creados");
     }
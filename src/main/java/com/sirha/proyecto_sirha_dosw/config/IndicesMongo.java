@@ -0,0 +1,51 @@
+package com.sirha.proyecto_sirha_dosw.config;
+
+import com.sirha.proyecto_sirha_dosw.model.Usuario;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+
+/**
+ * Crea al arrancar los índices de los que depende la aplicación para su consistencia.
+ *
+ * <p>La creación automática de índices de Spring Data está desactivada, así que las anotaciones
+ * {@code @Indexed} no crean nada por sí solas. El índice único de {@code usuarios.email} es el que
+ * hace fallar con llave duplicada el registro y la importación de un email ya existente, incluso
+ * cuando dos peticiones lo insertan a la vez. Se crea durante la inicialización de los beans, antes
+ * de que la aplicación atienda peticiones; si ya existe, la operación no hace nada.</p>
+ */
+@Component
+public class IndicesMongo implements InitializingBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndicesMongo.class);
+
+    /** Mismo nombre que usaría Spring Data para {@code @Indexed} en email, por si ya se creó así. */
+    static final String INDICE_EMAIL_USUARIOS = "email";
+
+    private final MongoTemplate mongoTemplate;
+
+    public IndicesMongo(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        crearIndices();
+    }
+
+    /**
+     * Crea los índices que aún no existen. Falla si los datos existentes los violan, por ejemplo
+     * si dos usuarios ya comparten el mismo email.
+     */
+    public void crearIndices() {
+        String indice = mongoTemplate.indexOps(Usuario.class).ensureIndex(new Index()
+                .on("email", Sort.Direction.ASC)
+                .unique()
+                .named(INDICE_EMAIL_USUARIOS));
+        logger.info("Índice único de email de usuarios verificado: {}", indice);
+    }
+}
@@ -1,5 +1,7 @@
 package com.sirha.proyecto_sirha_dosw.config;
 
+import com.sirha.proyecto_sirha_dosw.service.MetricasSirha;
+import com.sirha.proyecto_sirha_dosw.service.MetricasSirha.ResultadoValidacionJwt;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,7 +9,10 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -15,6 +20,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Filtro que intercepta cada petición HTTP para validar el token JWT.
@@ -22,9 +29,10 @@ import java.io.IOException;
  * <p>Este filtro:</p>
  * <ul>
  *   <li>Extrae el token JWT del header Authorization</li>
- *   <li>Valida el token y extrae el email del usuario</li>
- *   <li>Carga los detalles del usuario desde la base de datos</li>
+ *   <li>Reutiliza el usuario en caché si el token ya fue validado</li>
+ *   <li>Si no, valida el token y comprueba el usuario contra la base de datos</li>
  *   <li>Establece la autenticación en el contexto de seguridad de Spring</li>
+ *   <li>Registra el resultado de cada validación en {@link MetricasSirha}</li>
  * </ul>
  * 
  * <p>Se ejecuta una vez por cada petición HTTP.</p>
@@ -35,6 +43,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final CachePrincipalesJwt cachePrincipales;
+    private final MetricasSirha metricasSirha;
 
     /**
      * Filtra cada petición HTTP para validar el token JWT.
@@ -70,7 +80,6 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         // Obtener el header Authorization
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         // Si no hay header Authorization o no comienza con "Bearer ", continuar sin autenticar
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -82,21 +91,21 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            // Extraer el email del usuario del token
-            userEmail = jwtService.extractEmail(jwt);
-
-            // Si el email existe y el usuario no está autenticado aún
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Cargar los detalles del usuario desde la base de datos
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-
-                // Si el token es válido, establecer la autenticación
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    // Usar las autoridades que ya vienen en userDetails (cargadas desde la BD)
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Reutilizar el usuario ya validado con este token, o validarlo y guardarlo en caché
+                UserDetails usuario = cachePrincipales.obtener(jwt);
+                if (usuario != null) {
+                    metricasSirha.registrarValidacionJwt(ResultadoValidacionJwt.CACHE);
+                } else {
+                    usuario = autenticarToken(jwt);
+                    metricasSirha.registrarValidacionJwt(usuario != null
+                            ? ResultadoValidacionJwt.VALIDO : ResultadoValidacionJwt.RECHAZADO);
+                }
+                if (usuario != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
+                            usuario,
                             null,
-                            userDetails.getAuthorities() // Usar las autoridades del UserDetails
+                            usuario.getAuthorities()
                     );
                     authToken.setDetails(
                             new WebAuthenticationDetailsSource().buildDetails(request)
@@ -108,9 +117,46 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         } catch (Exception e) {
             // Si hay cualquier error (token inválido, expirado, etc.), simplemente no autenticar
             // y dejar que Spring Security maneje el acceso no autorizado
+            metricasSirha.registrarValidacionJwt(ResultadoValidacionJwt.INVALIDO);
         }
 
         // Continuar con la cadena de filtros
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Valida el token analizándolo una sola vez y comprueba contra la base de datos que el usuario
+     * sigue existiendo con el rol indicado en el token. Las autoridades se construyen con el rol
+     * del token y el resultado se guarda en caché hasta que expire o el usuario cambie.
+     *
+     * @param jwt el token JWT
+     * @return el usuario autenticado, o null si el token no corresponde al usuario actual
+     */
+    private UserDetails autenticarToken(String jwt) {
+        JwtService.TokenValidado token = jwtService.parse(jwt);
+        String email = token.email();
+        if (email == null) {
+            return null;
+        }
+        // Se lee antes de consultar la base de datos: si el usuario se invalida durante la consulta,
+        // el resultado no se guarda
+        long generacion = cachePrincipales.generacion();
+        UserDetails usuarioActual = userDetailsService.loadUserByUsername(email);
+        String rol = token.rol();
+        Collection<? extends GrantedAuthority> autoridades = usuarioActual.getAuthorities();
+        if (rol != null) {
+            SimpleGrantedAuthority autoridadToken = new SimpleGrantedAuthority("ROLE_" + rol);
+            if (!autoridades.contains(autoridadToken)) {
+                // El rol cambió después de emitir el token
+                return null;
+            }
+            autoridades = List.of(autoridadToken);
+        }
+        UserDetails usuario = User.withUsername(email)
+                .password("")
+                .authorities(autoridades)
+                .build();
+        cachePrincipales.guardar(jwt, usuario, token.expiracion().toEpochMilli(), generacion);
+        return usuario;
+    }
 }
@@ -1,6 +1,7 @@
 package com.sirha.proyecto_sirha_dosw.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -8,6 +9,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -38,6 +41,30 @@ public class JwtService {
      */
     private static final long JWT_EXPIRATION = 1000L * 60 * 60 * 24; // 24 horas
 
+    /**
+     * Clave de firma y parser construidos una sola vez. Ambos son inmutables y seguros para
+     * usarse desde varios hilos, así que se comparten entre todas las peticiones.
+     */
+    private final Key signInKey;
+    private final JwtParser parser;
+
+    /**
+     * Datos de un token cuya firma y expiración ya fueron validadas.
+     *
+     * @param email el email del usuario (subject del token)
+     * @param rol el rol incluido en el token, o null si no lo tiene
+     * @param expiracion instante de expiración del token
+     */
+    public record TokenValidado(String email, String rol, Instant expiracion) {
+    }
+
+    public JwtService() {
+        this.signInKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET_KEY));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+    }
+
     /**
      * Extrae el email (subject) del token JWT.
      * 
@@ -85,10 +112,8 @@ public class JwtService {
      * @return el rol del usuario (ADMINISTRADOR, DECANO, ESTUDIANTE, etc.) o null si no existe
      */
     public String extractRole(String token) {
-        Claims claims = extractAllClaims(token);
-        Object roleObj = claims.get("role");
-        return roleObj != null ? roleObj.toString() : null;
-  }
+        return rolDe(extractAllClaims(token));
+    }
 
     /**
      * Genera un token JWT con claims adicionales.
@@ -104,7 +129,7 @@ public class JwtService {
                 .setSubject(userDetails.getUsername()) // El email del usuario
                 .setIssuedAt(new Date(System.currentTimeMillis())) // Fecha de creación
                 .setExpiration(new Date(System.currentTimeMillis() + JWT_EXPIRATION)) // Fecha de expiración
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256) // Firma con HMAC-SHA256
+                .signWith(signInKey, SignatureAlgorithm.HS256) // Firma con HMAC-SHA256
                 .compact();
     }
 
@@ -117,28 +142,20 @@ public class JwtService {
      * @return true si el token es válido, false en caso contrario
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String email = extractEmail(token);
-        return (email.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    /**
-     * Verifica si el token ha expirado.
-     * 
-     * @param token el token JWT
-     * @return true si el token ha expirado, false en caso contrario
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
     }
 
     /**
-     * Extrae la fecha de expiración del token.
+     * Valida la firma y la expiración del token analizándolo una sola vez.
      * 
      * @param token el token JWT
-     * @return la fecha de expiración
+     * @return el email, el rol y la expiración del token validado
+     * @throws io.jsonwebtoken.JwtException si la firma no es válida o el token expiró
      */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public TokenValidado parse(String token) {
+        Claims claims = extractAllClaims(token);
+        return new TokenValidado(claims.getSubject(), rolDe(claims), claims.getExpiration().toInstant());
     }
 
     /**
@@ -148,21 +165,17 @@ public class JwtService {
      * @return las claims del token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     /**
-     * Obtiene la clave de firma para los tokens JWT.
+     * Obtiene el rol incluido en las claims del token.
      * 
-     * @return la clave de firma
+     * @param claims las claims del token
+     * @return el rol o null si no existe
      */
-    private Key getSignInKey() {
-        byte[] keyBytes = java.util.Base64.getDecoder().decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String rolDe(Claims claims) {
+        Object roleObj = claims.get("role");
+        return roleObj != null ? roleObj.toString() : null;
     }
 }
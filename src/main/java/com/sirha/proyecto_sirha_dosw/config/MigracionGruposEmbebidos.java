@@ -0,0 +1,72 @@
+package com.sirha.proyecto_sirha_dosw.config;
+
+import com.mongodb.client.result.UpdateResult;
+import com.sirha.proyecto_sirha_dosw.model.GrupoResumen;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Migración única que reduce los grupos embebidos en estudiantes y solicitudes a la
+ * proyección {@link GrupoResumen}. Elimina de los documentos existentes los campos que
+ * ahora solo viven en la colección de grupos (inscritos, capacidad, ocupación y profesor).
+ * Es idempotente y se activa con {@code sirha.migraciones.grupos-embebidos=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "sirha.migraciones.grupos-embebidos", havingValue = "true")
+public class MigracionGruposEmbebidos implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MigracionGruposEmbebidos.class);
+
+    /** Campos del grupo que dejan de embeberse. */
+    static final List<String> CAMPOS_ELIMINADOS = List.of(
+            "estudiantesId", "capacidad", "cantidadInscritos", "estaCompleto", "profesor");
+
+    private static final String COLECCION_USUARIOS = "usuarios";
+    private static final String COLECCION_SOLICITUDES = "solicitudes";
+    private static final String PREFIJO_REGISTROS = "semestres.$[].registros.$[].grupo.";
+
+    private final MongoTemplate mongoTemplate;
+
+    public MigracionGruposEmbebidos(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrar();
+    }
+
+    /**
+     * Ejecuta la migración sobre las colecciones de usuarios y solicitudes.
+     * @return número total de documentos modificados
+     */
+    public long migrar() {
+        long estudiantes = eliminarCampos(COLECCION_USUARIOS, "semestres.registros.grupo", PREFIJO_REGISTROS);
+        long problema = eliminarCampos(COLECCION_SOLICITUDES, "grupoProblema", "grupoProblema.");
+        long destino = eliminarCampos(COLECCION_SOLICITUDES, "grupoDestino", "grupoDestino.");
+        logger.info("Migración de grupos embebidos: {} estudiantes, {} grupos problema y {} grupos destino actualizados",
+                estudiantes, problema, destino);
+        return estudiantes + problema + destino;
+    }
+
+    private long eliminarCampos(String coleccion, String rutaFiltro, String prefijo) {
+        Criteria[] conCampos = CAMPOS_ELIMINADOS.stream()
+                .map(campo -> Criteria.where(rutaFiltro + "." + campo).exists(true))
+                .toArray(Criteria[]::new);
+        Query query = new Query(new Criteria().orOperator(conCampos));
+        Update update = new Update();
+        CAMPOS_ELIMINADOS.forEach(campo -> update.unset(prefijo + campo));
+        UpdateResult resultado = mongoTemplate.updateMulti(query, update, coleccion);
+        return resultado.getModifiedCount();
+    }
+}
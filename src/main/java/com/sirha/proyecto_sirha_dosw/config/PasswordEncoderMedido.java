@@ -0,0 +1,40 @@
+package com.sirha.proyecto_sirha_dosw.config;
+
+import com.sirha.proyecto_sirha_dosw.service.MetricasSirha;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Codificador de contraseñas que mide con {@link MetricasSirha} cada cifrado y cada verificación
+ * hechos por el codificador que envuelve.
+ */
+public class PasswordEncoderMedido implements PasswordEncoder {
+
+    private final PasswordEncoder delegado;
+    private final MetricasSirha metricasSirha;
+
+    /**
+     * @param delegado codificador que hace el trabajo
+     * @param metricasSirha métricas donde se registran los tiempos
+     */
+    public PasswordEncoderMedido(PasswordEncoder delegado, MetricasSirha metricasSirha) {
+        this.delegado = delegado;
+        this.metricasSirha = metricasSirha;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return metricasSirha.cifradoContrasenas().record(() -> delegado.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Boolean coincide = metricasSirha.verificacionContrasenas()
+                .record(() -> delegado.matches(rawPassword, encodedPassword));
+        return Boolean.TRUE.equals(coincide);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegado.upgradeEncoding(encodedPassword);
+    }
+}
@@ -1,5 +1,7 @@
 package com.sirha.proyecto_sirha_dosw.config;
 
+import com.sirha.proyecto_sirha_dosw.service.MetricasSirha;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,11 +35,13 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * <ul>
  *   <li>POST /api/auth/login - Login de usuarios</li>
  *   <li>POST /api/usuarios/crear - Registro de usuarios</li>
+ *   <li>GET /actuator/health - Salud para el health check del orquestador</li>
  * </ul>
  * 
  * <h3>Endpoints protegidos por rol:</h3>
  * <ul>
  *   <li>ADMIN: /api/admin/** - Solo administradores</li>
+ *   <li>ADMIN: /actuator/** (salvo health) - Métricas y scraping de Prometheus</li>
  *   <li>DECANO: /api/decano/** - Solo decanos</li>
  *   <li>ESTUDIANTE: /api/estudiante/** - Solo estudiantes</li>
  * </ul>
@@ -50,15 +54,16 @@ public class SecurityConfig {
 
     private final JwtAuthFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
+    private final MetricasSirha metricasSirha;
 
     /**
-     * Bean que proporciona el codificador de contraseñas BCrypt.
+     * Bean que proporciona el codificador de contraseñas BCrypt, medido con {@link MetricasSirha}.
      * 
-     * @return una instancia de {@link BCryptPasswordEncoder}
+     * @return una instancia de {@link BCryptPasswordEncoder} envuelta en {@link PasswordEncoderMedido}
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new PasswordEncoderMedido(new BCryptPasswordEncoder(), metricasSirha);
     }
 
     /**
@@ -95,6 +100,7 @@ public class SecurityConfig {
      *   <li>CSRF deshabilitado (no es necesario para APIs REST con JWT)</li>
      *   <li>Sesiones deshabilitadas (autenticación stateless con JWT)</li>
      *   <li>Filtro JWT antes del filtro de autenticación estándar</li>
+     *   <li>Despachos ASYNC y ERROR permitidos: continúan una petición ya autorizada</li>
      *   <li>Autorización basada en roles</li>
      * </ul>
      * 
@@ -110,6 +116,10 @@ public class SecurityConfig {
             
             // Configurar autorización de requests
             .authorizeHttpRequests(auth -> auth
+                // Los despachos ASYNC (cuerpos NDJSON) y ERROR continúan una petición que ya pasó
+                // la autorización; el filtro JWT no se repite en ellos y sin esto se rechazarían
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                 // Endpoints públicos (sin autenticación) - Login y Registro
                 .requestMatchers("/api/auth/login").permitAll()
                 .requestMatchers("/api/usuarios/login").permitAll()
@@ -125,6 +135,10 @@ public class SecurityConfig {
                     "/swagger-resources/**",
                     "/webjars/**"
                 ).permitAll()
+
+                // Salud pública para el health check del contenedor; métricas y Prometheus solo para administradores
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMINISTRADOR")
                 
                 // Endpoints solo para ADMINISTRADOR
                 .requestMatchers("/api/reportes/**").hasRole("ADMINISTRADOR")
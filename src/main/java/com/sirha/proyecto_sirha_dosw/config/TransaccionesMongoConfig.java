@@ -0,0 +1,27 @@
+package com.sirha.proyecto_sirha_dosw.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+/**
+ * Habilita las transacciones multi-documento de MongoDB. Requieren un replica set (Atlas lo es);
+ *          sobre un servidor standalone deben desactivarse con
+ *          {@code sirha.mongo.transacciones.habilitadas=false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sirha.mongo.transacciones.habilitadas", havingValue = "true", matchIfMissing = true)
+public class TransaccionesMongoConfig {
+
+    /**
+     * Gestor de transacciones sobre la base de datos de la aplicación.
+     * @param databaseFactory fábrica de la base de datos configurada por Spring Boot
+     * @return gestor de transacciones de MongoDB
+     */
+    @Bean
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+}
@@ -6,6 +6,7 @@ import com.sirha.proyecto_sirha_dosw.exception.Log;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.Carrera;
 import com.sirha.proyecto_sirha_dosw.model.Materia;
+import com.sirha.proyecto_sirha_dosw.service.CacheCatalogo;
 import com.sirha.proyecto_sirha_dosw.service.CarreraService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -296,4 +297,38 @@ public class CarreraController {
             return ResponseEntity.status(409).body(null);
         }
     }
+
+    /**
+     * Consulta los contadores de la caché del catálogo de materias y carreras.
+     * @return aciertos, fallos, entradas y versión del catálogo de esta instancia
+     */
+    @Operation(
+        summary = "Estadísticas de la caché del catálogo",
+        description = "Devuelve cuántas consultas de materias y carreras se resolvieron desde la caché de esta " +
+                     "instancia (aciertos) y cuántas fueron a la base de datos (fallos) desde el arranque.",
+        tags = {"Carreras"}
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Estadísticas obtenidas exitosamente",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = CacheCatalogo.Estadisticas.class),
+            examples = @ExampleObject(
+                name = "Estadísticas",
+                value = """
+                {
+                    "aciertos": 1520,
+                    "fallos": 12,
+                    "entradas": 30,
+                    "version": 4
+                }
+                """
+            )
+        )
+    )
+    @GetMapping("/catalogo/cache")
+    public ResponseEntity<CacheCatalogo.Estadisticas> estadisticasCacheCatalogo() {
+        return ResponseEntity.ok(carreraService.estadisticasCacheCatalogo());
+    }
 }
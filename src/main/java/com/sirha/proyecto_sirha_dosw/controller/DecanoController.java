@@ -6,9 +6,12 @@ import com.sirha.proyecto_sirha_dosw.dto.EstudianteBasicoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.MonitoreoGrupoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.PlazoSolicitudesDTO;
 import com.sirha.proyecto_sirha_dosw.dto.RespuestaSolicitudDTO;
+import com.sirha.proyecto_sirha_dosw.dto.ResultadoLoteSolicitudesDTO;
+import com.sirha.proyecto_sirha_dosw.dto.UsuarioResumenDTO;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.*;
 import com.sirha.proyecto_sirha_dosw.service.DecanoService;
+import com.sirha.proyecto_sirha_dosw.service.RespuestaLoteSolicitudesService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -40,9 +43,12 @@ public class DecanoController {
     private static final String CANTIDAD = "cantidad";
     private static final String PORCENTAJE = "porcentaje";
     private final DecanoService decanoService;
+    private final RespuestaLoteSolicitudesService respuestaLoteSolicitudesService;
 
-    public DecanoController(DecanoService decanoService) {
+    public DecanoController(DecanoService decanoService,
+                            RespuestaLoteSolicitudesService respuestaLoteSolicitudesService) {
         this.decanoService = decanoService;
+        this.respuestaLoteSolicitudesService = respuestaLoteSolicitudesService;
     }
 
     @Operation(
@@ -55,7 +61,7 @@ public class DecanoController {
         description = "Lista de estudiantes obtenida exitosamente",
         content = @Content(
             mediaType = MediaType.APPLICATION_JSON_VALUE,
-            schema = @Schema(implementation = Usuario.class),
+            schema = @Schema(implementation = UsuarioResumenDTO.class),
             examples = @ExampleObject(
                 name = "Lista de estudiantes",
                 description = "Ejemplo de respuesta exitosa con lista de estudiantes",
@@ -66,7 +72,8 @@ public class DecanoController {
                         "nombre": "Juan",
                         "apellido": "Pérez",
                         "email": "juan.perez@estudiantes.edu.co",
-                        "tipoUsuario": "ESTUDIANTE"
+                        "rol": "ESTUDIANTE",
+                        "facultad": "INGENIERIA_SISTEMAS"
                     }
                 ]
                 """
@@ -107,7 +114,7 @@ public class DecanoController {
             // Validar facultad
             decanoService.validarFacultad(facultad);
             
-            List<Usuario> estudiantes = decanoService.findEstudiantesByFacultad(facultad);
+            List<UsuarioResumenDTO> estudiantes = decanoService.findEstudiantesByFacultad(facultad);
             return new ResponseEntity<>(estudiantes, HttpStatus.OK);
         } catch (SirhaException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
@@ -273,11 +280,11 @@ public class DecanoController {
         description = "Lista de estudiantes encontrados",
         content = @Content(
             mediaType = MediaType.APPLICATION_JSON_VALUE,
-            schema = @Schema(implementation = Usuario.class)
+            schema = @Schema(implementation = UsuarioResumenDTO.class)
         )
     )
     @GetMapping("/{facultad}/nombre/{nombre}")
-    public ResponseEntity<List<Usuario>> obtenerPorNombre(
+    public ResponseEntity<List<UsuarioResumenDTO>> obtenerPorNombre(
             @Parameter(
                 name = "facultad",
                 description = "Nombre de la facultad",
@@ -292,7 +299,7 @@ public class DecanoController {
                 example = "Juan"
             )
             @PathVariable String nombre) {
-        List<Usuario> estudiantes = decanoService.findEstudiantesByNombreAndFacultad(nombre, facultad);
+        List<UsuarioResumenDTO> estudiantes = decanoService.findEstudiantesByNombreAndFacultad(nombre, facultad);
         return new ResponseEntity<>(estudiantes, HttpStatus.OK);
     }
 
@@ -306,11 +313,11 @@ public class DecanoController {
         description = "Lista de estudiantes encontrados",
         content = @Content(
             mediaType = MediaType.APPLICATION_JSON_VALUE,
-            schema = @Schema(implementation = Usuario.class)
+            schema = @Schema(implementation = UsuarioResumenDTO.class)
         )
     )
     @GetMapping("/{facultad}/apellido/{apellido}")
-    public ResponseEntity<List<Usuario>> obtenerPorApellido(
+    public ResponseEntity<List<UsuarioResumenDTO>> obtenerPorApellido(
             @Parameter(
                 name = "facultad",
                 description = "Nombre de la facultad",
@@ -325,7 +332,7 @@ public class DecanoController {
                 example = "Pérez"
             )
             @PathVariable String apellido) {
-        List<Usuario> estudiantes = decanoService.findEstudiantesByApellidoAndFacultad(apellido, facultad);
+        List<UsuarioResumenDTO> estudiantes = decanoService.findEstudiantesByApellidoAndFacultad(apellido, facultad);
         return new ResponseEntity<>(estudiantes, HttpStatus.OK);
     }
 
@@ -339,11 +346,11 @@ public class DecanoController {
         description = "Lista de estudiantes encontrados",
         content = @Content(
             mediaType = MediaType.APPLICATION_JSON_VALUE,
-            schema = @Schema(implementation = Usuario.class)
+            schema = @Schema(implementation = UsuarioResumenDTO.class)
         )
     )
     @GetMapping("/{facultad}/nombre/{nombre}/{apellido}")
-    public ResponseEntity<List<Usuario>> obtenerPorNombreYApellido(
+    public ResponseEntity<List<UsuarioResumenDTO>> obtenerPorNombreYApellido(
             @Parameter(
                 name = "facultad",
                 description = "Nombre de la facultad",
@@ -365,7 +372,7 @@ public class DecanoController {
                 example = "Pérez"
             )
             @PathVariable String apellido) {
-        List<Usuario> estudiantes = decanoService.findEstudiantesByNombreApellidoAndFacultad(nombre, apellido, facultad);
+        List<UsuarioResumenDTO> estudiantes = decanoService.findEstudiantesByNombreApellidoAndFacultad(nombre, apellido, facultad);
         return new ResponseEntity<>(estudiantes, HttpStatus.OK);
     }
 
@@ -989,6 +996,80 @@ public class DecanoController {
         }
     }
 
+    /**
+     * Responde en una sola llamada un lote de solicitudes de cambio de grupo.
+     * @param facultad nombre de la facultad del decano
+     * @param respuestas respuestas a aplicar, en orden
+     * @return resultado de cada respuesta del lote
+     */
+    @Operation(
+        summary = "Responder un lote de solicitudes de cambio de grupo",
+        description = "Aplica en orden varias respuestas (aprobar, rechazar, en_revision). Cada respuesta tiene " +
+                     "en cuenta los cupos y horarios que cambiaron las anteriores del lote; una respuesta " +
+                     "inválida se reporta sin impedir las demás.",
+        tags = {"Gestión de Solicitudes"}
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Lote procesado; el resultado indica qué respuestas se aplicaron",
+        content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = ResultadoLoteSolicitudesDTO.class),
+            examples = @ExampleObject(
+                name = "Lote procesado",
+                value = """
+                {
+                    "resultados": [
+                        {"solicitudId": "SOL-001", "nuevoEstado": "APROBADA", "aplicada": true, "error": null},
+                        {"solicitudId": "SOL-002", "nuevoEstado": "APROBADA", "aplicada": false,
+                         "error": "El grupo destino ya está lleno"}
+                    ],
+                    "aplicadas": 1,
+                    "fallidas": 1,
+                    "tiempoMs": 42
+                }
+                """
+            )
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Facultad inválida o lote vacío o demasiado grande",
+        content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            examples = @ExampleObject(
+                name = "Lote vacío",
+                value = "\"El lote no contiene respuestas\""
+            )
+        )
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Error interno del servidor"
+    )
+    @PostMapping("/{facultad}/solicitudes/responder")
+    public ResponseEntity<Object> responderSolicitudes(
+            @Parameter(
+                name = "facultad",
+                description = "Nombre de la facultad del decano",
+                required = true,
+                example = "INGENIERIA"
+            )
+            @PathVariable String facultad,
+            @Parameter(
+                description = "Respuestas del decano; cada una indica su solicitudId",
+                required = true
+            )
+            @RequestBody List<RespuestaSolicitudDTO> respuestas) {
+        try {
+            return ResponseEntity.ok(respuestaLoteSolicitudesService.responderSolicitudes(respuestas, facultad));
+        } catch (SirhaException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            return new ResponseEntity<>(ERROR_INTERNO, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Obtiene una solicitud específica con todos sus detalles.
      * Permite al decano revisar la información completa antes de responder.
@@ -1088,11 +1169,9 @@ public class DecanoController {
             // Validar facultad
             decanoService.validarFacultad(facultad);
             
-            // Obtener la solicitud y validar que pertenece a la facultad
-            List<Solicitud> solicitudes = decanoService.consultarSolicitudesPorFacultad(Facultad.valueOf(facultad.toUpperCase()));
-            Solicitud solicitud = solicitudes.stream()
-                    .filter(s -> s.getId().equals(solicitudId))
-                    .findFirst()
+            // Obtener la solicitud solo si pertenece a la facultad
+            Solicitud solicitud = decanoService
+                    .consultarSolicitudDeFacultad(solicitudId, Facultad.valueOf(facultad.toUpperCase()))
                     .orElse(null);
             
             if (solicitud == null) {
@@ -1170,27 +1249,17 @@ public class DecanoController {
             
             Facultad facultadEnum = Facultad.valueOf(facultad.toUpperCase());
             
-            // Obtener todas las solicitudes
-            List<Solicitud> todasLasSolicitudes = decanoService.consultarSolicitudesPorFacultad(facultadEnum);
-            
-            // Contar por estado
-            long pendientes = todasLasSolicitudes.stream()
-                    .filter(s -> s.getEstado() == SolicitudEstado.PENDIENTE)
-                    .count();
-            long aprobadas = todasLasSolicitudes.stream()
-                    .filter(s -> s.getEstado() == SolicitudEstado.APROBADA)
-                    .count();
-            long rechazadas = todasLasSolicitudes.stream()
-                    .filter(s -> s.getEstado() == SolicitudEstado.RECHAZADA)
-                    .count();
+            // Contar por estado en la base de datos
+            Map<SolicitudEstado, Long> conteos = decanoService.contarSolicitudesPorEstado(facultadEnum);
+            long totalSolicitudes = conteos.values().stream().mapToLong(Long::longValue).sum();
             
             Map<String, Object> response = new HashMap<>();
             response.put(FACULTDAD, facultad);
-            response.put("totalSolicitudes", todasLasSolicitudes.size());
+            response.put("totalSolicitudes", totalSolicitudes);
             response.put("resumen", Map.of(
-                    "pendientes", pendientes,
-                    "aprobadas", aprobadas,
-                    "rechazadas", rechazadas
+                    "pendientes", conteos.getOrDefault(SolicitudEstado.PENDIENTE, 0L),
+                    "aprobadas", conteos.getOrDefault(SolicitudEstado.APROBADA, 0L),
+                    "rechazadas", conteos.getOrDefault(SolicitudEstado.RECHAZADA, 0L)
             ));
             
             return ResponseEntity.ok(response);
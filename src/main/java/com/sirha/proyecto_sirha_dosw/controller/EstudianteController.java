@@ -1,10 +1,15 @@
 package com.sirha.proyecto_sirha_dosw.controller;
 
+import com.sirha.proyecto_sirha_dosw.dto.GeneracionHorarioDTO;
+import com.sirha.proyecto_sirha_dosw.dto.HorariosGeneradosDTO;
+import com.sirha.proyecto_sirha_dosw.dto.PaginaDTO;
 import com.sirha.proyecto_sirha_dosw.dto.SolicitudDTO;
 import com.sirha.proyecto_sirha_dosw.exception.Log;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.*;
 import com.sirha.proyecto_sirha_dosw.service.EstudianteService;
+import com.sirha.proyecto_sirha_dosw.service.GeneradorHorariosService;
+import com.sirha.proyecto_sirha_dosw.util.EscritorNdjson;
 import com.sirha.proyecto_sirha_dosw.util.HorarioResponseUtil;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -20,6 +25,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
 import java.util.List;
@@ -44,14 +50,21 @@ public class EstudianteController {
     private static final String MENSAJE_KEY = "mensaje";
     private static final String ERROR_KEY = "error";
     private final EstudianteService estudianteService;
+    private final GeneradorHorariosService generadorHorariosService;
+    private final EscritorNdjson escritorNdjson;
 
     /**
      * Constructor con inyección de dependencias de CarreraService.
      * @param estudianteService servicio que maneja la lógica de negocio para estudiante.
+     * @param generadorHorariosService servicio que arma horarios sin cruces.
+     * @param escritorNdjson escritor de respuestas NDJSON.
      */
     @Autowired
-    public EstudianteController(EstudianteService estudianteService) {
+    public EstudianteController(EstudianteService estudianteService, GeneradorHorariosService generadorHorariosService,
+                                EscritorNdjson escritorNdjson) {
         this.estudianteService = estudianteService;
+        this.generadorHorariosService = generadorHorariosService;
+        this.escritorNdjson = escritorNdjson;
     }
 
     /**
@@ -234,6 +247,89 @@ public class EstudianteController {
         }
     }
 
+    /**
+     * Genera las mejores combinaciones de grupos con cupo y sin cruces para las materias indicadas,
+     * conservando los grupos actuales del estudiante en las demás materias.
+     * @param idEstudiante ID único del estudiante.
+     * @param generacionHorarioDTO materias deseadas y cantidad de combinaciones a devolver.
+     * @return Combinaciones ordenadas de menor a mayor permanencia semanal en la universidad.
+     */
+    @Operation(
+        summary = "Generar horarios sin cruces",
+        description = "Busca combinaciones de un grupo con cupo por cada materia indicada, sin cruces entre sí " +
+                     "ni con los grupos que el estudiante conserva en otras materias. Las combinaciones se " +
+                     "ordenan por minutos semanales en la universidad (incluidos los huecos). Si la búsqueda " +
+                     "se corta por tiempo, busquedaCompleta es false.",
+        tags = {"Consultas Académicas"}
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Combinaciones generadas exitosamente",
+        content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = HorariosGeneradosDTO.class),
+            examples = @ExampleObject(
+                name = "Horarios generados",
+                value = """
+                {
+                    "combinaciones": [
+                        {
+                            "minutosEnCampus": 540,
+                            "diasConClase": 3,
+                            "grupos": [
+                                {
+                                    "grupoId": "GRP-001",
+                                    "acronimoMateria": "CALC1",
+                                    "nombreMateria": "Cálculo I",
+                                    "cuposDisponibles": 4,
+                                    "horarios": [
+                                        {
+                                            "dia": "LUNES",
+                                            "horaInicio": "07:00",
+                                            "horaFin": "08:30"
+                                        }
+                                    ]
+                                }
+                            ]
+                        }
+                    ],
+                    "materiasSinGrupos": [],
+                    "busquedaCompleta": true,
+                    "nodosExplorados": 42,
+                    "tiempoMs": 3
+                }
+                """
+            )
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "No se indicaron materias"
+    )
+    @ApiResponse(
+        responseCode = "404",
+        description = "Estudiante no encontrado"
+    )
+    @PostMapping("/horarios/{idEstudiante}/generar")
+    public ResponseEntity<Object> generarHorarios(
+            @Parameter(
+                name = "idEstudiante",
+                description = "Código único del estudiante",
+                required = true,
+                example = "2022001"
+            )
+            @PathVariable String idEstudiante,
+            @Valid @RequestBody GeneracionHorarioDTO generacionHorarioDTO) {
+        try {
+            return ResponseEntity.ok(generadorHorariosService.generarHorarios(idEstudiante, generacionHorarioDTO));
+        } catch (SirhaException e) {
+            Log.logException(e);
+            HttpStatus estado = e.getMessage().startsWith(SirhaException.ESTUDIANTE_NO_ENCONTRADO)
+                    ? HttpStatus.NOT_FOUND : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(estado).body(e.getMessage());
+        }
+    }
+
     /**
      * Crea una nueva solicitud de cambio para el estudiante.
      * Solo se pueden crear solicitudes dentro de las fechas habilitadas por la institucion.
@@ -313,26 +409,13 @@ public class EstudianteController {
             )
             @Valid @RequestBody SolicitudDTO solicitudDTO) {
         try {
-            // Determinar que fecha usar para la validación
-            java.time.LocalDate fechaValidacion = solicitudDTO.getFechaSolicitud() != null 
-                ? solicitudDTO.getFechaSolicitud() 
-                : java.time.LocalDate.now();
-            
-            // Validar que la fecha este dentro del plazo para crear solicitudes
-            if (!PlazoSolicitudes.INSTANCIA.estaEnPlazo(fechaValidacion)) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body("No se pueden crear solicitudes fuera del plazo establecido. " +
-                          "Plazo valido: " + PlazoSolicitudes.INSTANCIA.getFechaInicio() + 
-                          " al " + PlazoSolicitudes.INSTANCIA.getFechaFin() +
-                          ". Fecha de solicitud: " + fechaValidacion);
-            }
-            
             Solicitud solicitudCreada = estudianteService.crearSolicitud(solicitudDTO);
             return ResponseEntity.status(HttpStatus.CREATED).body(solicitudCreada);
         }catch (SirhaException e) {
             Log.logException(e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(e.getMessage());
+            HttpStatus estado = e.getMessage().startsWith(SirhaException.FUERA_DE_PLAZO_SOLICITUDES)
+                    ? HttpStatus.BAD_REQUEST : HttpStatus.INTERNAL_SERVER_ERROR;
+            return ResponseEntity.status(estado).body(e.getMessage());
         }
     }
 
@@ -763,6 +846,73 @@ public class EstudianteController {
         }
     }
 
+    /**
+     * Consulta una página de las solicitudes del sistema, ordenadas por id.
+     * @param cursor id de la última solicitud de la página anterior; se omite para la primera.
+     * @param tamano cantidad de solicitudes por página.
+     * @return Página de solicitudes con el cursor de la siguiente.
+     */
+    @Operation(
+        summary = "Consultar las solicitudes del sistema por páginas",
+        description = "Obtiene las solicitudes ordenadas por id. Para la página siguiente se envía como cursor el " +
+                     "campo siguienteCursor de la respuesta; si es nulo no hay más solicitudes.",
+        tags = {"Consultas Administrativas"}
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Página de solicitudes obtenida exitosamente",
+        content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = PaginaDTO.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Tamaño de página inválido",
+        content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            examples = @ExampleObject(
+                name = "Tamaño inválido",
+                value = "{\"error\": \"El tamaño de página debe estar entre 1 y 500\"}"
+            )
+        )
+    )
+    @GetMapping("/solicitudes/todas/pagina")
+    public ResponseEntity<Object> consultarPaginaSolicitudes(
+            @Parameter(description = "Id de la última solicitud de la página anterior", example = "68f1c2a4e5b7d90012ab34cd")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Cantidad de solicitudes por página (1 a 500, por defecto 50)", example = "50")
+            @RequestParam(required = false) Integer tamano) {
+        try {
+            return ResponseEntity.ok(estudianteService.consultarPaginaSolicitudes(cursor, tamano));
+        } catch (SirhaException e) {
+            Log.logException(e);
+            Map<String, Object> errorMap = new HashMap<>();
+            errorMap.put(ERROR_KEY, e.getMessage());
+            return new ResponseEntity<>(errorMap, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Transmite todas las solicitudes del sistema en formato NDJSON.
+     * @return Una solicitud JSON por línea.
+     */
+    @Operation(
+        summary = "Transmitir todas las solicitudes del sistema",
+        description = "Escribe una solicitud JSON por línea (application/x-ndjson) mientras se recorre la colección " +
+                     "con un cursor; la memoria usada no depende de la cantidad de solicitudes.",
+        tags = {"Consultas Administrativas"}
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Solicitudes transmitidas",
+        content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+    )
+    @GetMapping(value = "/solicitudes/todas/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSolicitudes() {
+        return escritorNdjson.responder(estudianteService::streamSolicitudes);
+    }
+
     /**
      * Consulta las solicitudes de un estudiante específico filtradas por estado.
      * @param idEstudiante ID del estudiante.
@@ -1,11 +1,15 @@
 package com.sirha.proyecto_sirha_dosw.controller;
 
 import com.sirha.proyecto_sirha_dosw.dto.CapacidadGrupoDTO;
+import com.sirha.proyecto_sirha_dosw.dto.DisponibilidadGrupoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.GrupoDTO;
+import com.sirha.proyecto_sirha_dosw.dto.PaginaDTO;
 import com.sirha.proyecto_sirha_dosw.exception.Log;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.Grupo;
 import com.sirha.proyecto_sirha_dosw.service.GrupoService;
+import com.sirha.proyecto_sirha_dosw.service.ListaEsperaService;
+import com.sirha.proyecto_sirha_dosw.util.EscritorNdjson;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,8 +20,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -33,10 +39,15 @@ import java.util.Optional;
 public class GrupoController {
 
     private final GrupoService grupoService;
+    private final ListaEsperaService listaEsperaService;
+    private final EscritorNdjson escritorNdjson;
 
     @Autowired
-    public GrupoController(GrupoService grupoService) {
+    public GrupoController(GrupoService grupoService, ListaEsperaService listaEsperaService,
+                           EscritorNdjson escritorNdjson) {
         this.grupoService = grupoService;
+        this.listaEsperaService = listaEsperaService;
+        this.escritorNdjson = escritorNdjson;
     }
 
     /**
@@ -62,6 +73,69 @@ public class GrupoController {
         return ResponseEntity.ok(grupoService.getAllGrupos());
     }
 
+    /**
+     * Obtiene una página de grupos ordenada por id.
+     * @param cursor id del último grupo de la página anterior; se omite para la primera.
+     * @param tamano cantidad de grupos por página.
+     * @return página de grupos con el cursor de la siguiente, o 400 si el tamaño no es válido.
+     */
+    @Operation(
+        summary = "Obtener grupos por páginas",
+        description = "Retorna los grupos ordenados por id. Para la página siguiente se envía como cursor " +
+                     "el campo siguienteCursor de la respuesta; si es nulo no hay más grupos."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de grupos obtenida exitosamente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = PaginaDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Tamaño de página inválido",
+            content = @Content(
+                mediaType = "text/plain",
+                schema = @Schema(type = "string")
+            )
+        )
+    })
+    @GetMapping("/pagina")
+    public ResponseEntity<Object> getPaginaGrupos(
+        @Parameter(description = "Id del último grupo de la página anterior")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Cantidad de grupos por página (1 a 500, por defecto 50)")
+        @RequestParam(required = false) Integer tamano
+    ) {
+        try {
+            return ResponseEntity.ok(grupoService.obtenerPaginaGrupos(cursor, tamano));
+        } catch (SirhaException e) {
+            Log.logException(e);
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Transmite todos los grupos en formato NDJSON a medida que se leen de la base de datos.
+     * @return un grupo JSON por línea.
+     */
+    @Operation(
+        summary = "Transmitir todos los grupos",
+        description = "Escribe un grupo JSON por línea (application/x-ndjson) mientras se recorre la colección, " +
+                     "sin cargarla completa en memoria"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Grupos transmitidos",
+        content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+    )
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamGrupos() {
+        return escritorNdjson.responder(grupoService::streamGrupos);
+    }
+
     /**
      * Consulta un grupo específico por su ID.
      * @param id identificador único del grupo.
@@ -451,6 +525,128 @@ public class GrupoController {
             }
     }
 
+    /**
+     * Agrega un estudiante a la lista de espera de un grupo lleno.
+     * @param grupoId identificador del grupo.
+     * @param estudianteId identificador del estudiante.
+     * @return disponibilidad del grupo con la posición del estudiante en la lista.
+     */
+    @Operation(
+        summary = "Unirse a la lista de espera",
+        description = "Agrega al estudiante a la lista de espera de un grupo lleno. Cuando se libera un cupo, " +
+                      "el primero de la lista (menor prioridad, luego orden de llegada) lo ocupa automáticamente"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Estudiante en lista de espera",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = DisponibilidadGrupoDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "409",
+            description = "El grupo tiene cupos, el estudiante ya está inscrito o hay cruce de horario",
+            content = @Content(
+                mediaType = "text/plain",
+                schema = @Schema(type = "string")
+            )
+        )
+    })
+    @PostMapping("/{grupoId}/lista-espera/{estudianteId}")
+    public ResponseEntity<Object> unirseAListaEspera(
+        @Parameter(description = "ID del grupo", required = true, example = "GRP001")
+        @PathVariable String grupoId,
+        @Parameter(description = "ID del estudiante", required = true, example = "EST001")
+        @PathVariable String estudianteId
+    ) {
+        try {
+            return ResponseEntity.ok(listaEsperaService.unirseAListaEspera(grupoId, estudianteId));
+        } catch (SirhaException e) {
+            Log.logException(e);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Consulta la posición de un estudiante en la lista de espera de un grupo.
+     * @param grupoId identificador del grupo.
+     * @param estudianteId identificador del estudiante.
+     * @return disponibilidad del grupo con la posición del estudiante en la lista.
+     */
+    @Operation(
+        summary = "Consultar posición en la lista de espera",
+        description = "Obtiene la posición del estudiante y el tamaño de la lista de espera del grupo"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Posición obtenida exitosamente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = DisponibilidadGrupoDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Grupo no encontrado o estudiante fuera de la lista",
+            content = @Content
+        )
+    })
+    @GetMapping("/{grupoId}/lista-espera/{estudianteId}")
+    public ResponseEntity<DisponibilidadGrupoDTO> consultarPosicionListaEspera(
+        @Parameter(description = "ID del grupo", required = true, example = "GRP001")
+        @PathVariable String grupoId,
+        @Parameter(description = "ID del estudiante", required = true, example = "EST001")
+        @PathVariable String estudianteId
+    ) {
+        try {
+            return ResponseEntity.ok(listaEsperaService.consultarPosicion(grupoId, estudianteId));
+        } catch (SirhaException e) {
+            Log.logException(e);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Retira a un estudiante de la lista de espera de un grupo.
+     * @param grupoId identificador del grupo.
+     * @param estudianteId identificador del estudiante.
+     * @return respuesta vacía.
+     */
+    @Operation(
+        summary = "Salir de la lista de espera",
+        description = "Retira al estudiante de la lista de espera del grupo"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "204",
+            description = "Estudiante retirado de la lista de espera",
+            content = @Content
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "El estudiante no está en la lista de espera",
+            content = @Content
+        )
+    })
+    @DeleteMapping("/{grupoId}/lista-espera/{estudianteId}")
+    public ResponseEntity<Void> salirDeListaEspera(
+        @Parameter(description = "ID del grupo", required = true, example = "GRP001")
+        @PathVariable String grupoId,
+        @Parameter(description = "ID del estudiante", required = true, example = "EST001")
+        @PathVariable String estudianteId
+    ) {
+        try {
+            listaEsperaService.salirDeListaEspera(grupoId, estudianteId);
+            return ResponseEntity.noContent().build();
+        } catch (SirhaException e) {
+            Log.logException(e);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Consulta la capacidad de un grupo específico.
      * @param id identificador del grupo.
@@ -516,6 +712,68 @@ public class GrupoController {
         return ResponseEntity.ok(capacidades);
     }
 
+    /**
+     * Consulta la capacidad de una página de grupos ordenada por id.
+     * @param cursor id del último grupo de la página anterior; se omite para la primera.
+     * @param tamano cantidad de grupos por página.
+     * @return página de capacidades con el cursor de la siguiente, o 400 si el tamaño no es válido.
+     */
+    @Operation(
+        summary = "Consultar capacidad de los grupos por páginas",
+        description = "Obtiene la capacidad y ocupación de los grupos ordenados por id, una página a la vez"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de capacidades obtenida exitosamente",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = PaginaDTO.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Tamaño de página inválido",
+            content = @Content(
+                mediaType = "text/plain",
+                schema = @Schema(type = "string")
+            )
+        )
+    })
+    @GetMapping("/capacidad/pagina")
+    public ResponseEntity<Object> consultarPaginaCapacidadGrupos(
+        @Parameter(description = "Id del último grupo de la página anterior")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Cantidad de grupos por página (1 a 500, por defecto 50)")
+        @RequestParam(required = false) Integer tamano
+    ) {
+        try {
+            return ResponseEntity.ok(grupoService.obtenerPaginaCapacidadGrupos(cursor, tamano));
+        } catch (SirhaException e) {
+            Log.logException(e);
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Transmite la capacidad de todos los grupos en formato NDJSON.
+     * @return una capacidad JSON por línea.
+     */
+    @Operation(
+        summary = "Transmitir la capacidad de todos los grupos",
+        description = "Escribe la capacidad de cada grupo como una línea JSON (application/x-ndjson) mientras " +
+                     "se recorre la colección"
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Capacidades transmitidas",
+        content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+    )
+    @GetMapping(value = "/capacidad/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCapacidadGrupos() {
+        return escritorNdjson.responder(grupoService::streamCapacidadGrupos);
+    }
+
     /**
      * Consulta la capacidad de grupos por materia.
      * @param materiaId identificador de la materia.
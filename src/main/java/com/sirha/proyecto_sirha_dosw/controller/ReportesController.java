@@ -5,6 +5,7 @@
  */
 package com.sirha.proyecto_sirha_dosw.controller;
 
+import com.sirha.proyecto_sirha_dosw.dto.CuboSolicitudesDTO;
 import com.sirha.proyecto_sirha_dosw.dto.EstadisticasGrupoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.IndicadoresAvanceDTO;
 import com.sirha.proyecto_sirha_dosw.dto.TasaAprobacionDTO;
@@ -524,6 +525,59 @@ public class ReportesController {
         }
     }
 
+    /**
+     * Obtiene el cubo de solicitudes por facultad, tipo de solicitud y estado.
+     * @return CuboSolicitudesDTO con los conteos de cada combinación
+     */
+    @Operation(
+        summary = "Obtener cubo de solicitudes",
+        description = "Obtiene en una sola consulta la cantidad de solicitudes por facultad, tipo de solicitud " +
+                     "y estado. Las tasas de aprobación por facultad y tipo son rebanadas de este cubo.",
+        tags = {"Tasas de Aprobación"}
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Cubo de solicitudes obtenido exitosamente",
+        content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = CuboSolicitudesDTO.class),
+            examples = @ExampleObject(
+                name = "Cubo de solicitudes",
+                value = """
+                {
+                    "celdas": [
+                        {
+                            "facultad": "INGENIERIA_SISTEMAS",
+                            "tipoSolicitud": "CAMBIO_GRUPO",
+                            "estado": "APROBADA",
+                            "cantidad": 40
+                        },
+                        {
+                            "facultad": "INGENIERIA_SISTEMAS",
+                            "tipoSolicitud": "CAMBIO_GRUPO",
+                            "estado": "PENDIENTE",
+                            "cantidad": 12
+                        }
+                    ],
+                    "totalSolicitudes": 52
+                }
+                """
+            )
+        )
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Error interno del servidor"
+    )
+    @GetMapping("/cubo-solicitudes")
+    public ResponseEntity<CuboSolicitudesDTO> obtenerCuboSolicitudes() {
+        try {
+            return ResponseEntity.ok(reportesService.obtenerCuboSolicitudes());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     /**
      * Obtiene todos los tipos de solicitud disponibles.
      * @return Lista de tipos de solicitud
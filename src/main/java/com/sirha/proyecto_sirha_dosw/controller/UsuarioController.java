@@ -1,11 +1,17 @@
 package com.sirha.proyecto_sirha_dosw.controller;
 
+import com.sirha.proyecto_sirha_dosw.dto.PaginaDTO;
+import com.sirha.proyecto_sirha_dosw.dto.ResultadoImportacionUsuariosDTO;
 import com.sirha.proyecto_sirha_dosw.dto.UsuarioDTO;
+import com.sirha.proyecto_sirha_dosw.dto.UsuarioResumenDTO;
 import com.sirha.proyecto_sirha_dosw.exception.Log;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.Rol;
 import com.sirha.proyecto_sirha_dosw.model.Usuario;
+import com.sirha.proyecto_sirha_dosw.service.ImportacionUsuariosService;
 import com.sirha.proyecto_sirha_dosw.service.UsuarioService;
+import com.sirha.proyecto_sirha_dosw.util.EscritorNdjson;
+import com.sirha.proyecto_sirha_dosw.util.LectorImportacionUsuarios;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,13 +21,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -33,6 +42,8 @@ import java.util.List;
  * <p>Endpoints disponibles bajo la ruta base {@code /api/usuarios}:</p>
  * <ul>
  *   <li>GET / - Listar todos los usuarios</li>
+ *   <li>GET /pagina - Listar usuarios por páginas, sin contraseñas</li>
+ *   <li>GET /stream - Transmitir todos los usuarios en NDJSON, sin contraseñas</li>
  *   <li>GET /{id} - Buscar usuario por ID</li>
  *   <li>GET /email/{email} - Buscar usuario por email</li>
  *   <li>GET /rol/{rol} - Buscar usuarios por rol</li>
@@ -41,6 +52,7 @@ import java.util.List;
  *   <li>GET /nombre/{nombre}/{apellido} - Buscar por nombre y apellido</li>
  *   <li>PUT /{usuarioId} - Actualizar usuario</li>
  *   <li>DELETE /{usuarioId} - Eliminar usuario</li>
+ *   <li>POST /importar - Importar usuarios en masa desde CSV o NDJSON</li>
  * </ul>
  * 
  * <p><b>Nota:</b> Para registro y login, usar {@code /api/auth/register} y {@code /api/auth/login}</p>
@@ -52,10 +64,15 @@ import java.util.List;
 public class UsuarioController {
 
     private final UsuarioService usuarioService;
+    private final ImportacionUsuariosService importacionUsuariosService;
+    private final EscritorNdjson escritorNdjson;
 
     @Autowired
-    public UsuarioController(UsuarioService usuarioService) {
+    public UsuarioController(UsuarioService usuarioService, ImportacionUsuariosService importacionUsuariosService,
+                             EscritorNdjson escritorNdjson) {
         this.usuarioService = usuarioService;
+        this.importacionUsuariosService = importacionUsuariosService;
+        this.escritorNdjson = escritorNdjson;
     }
 
     /**
@@ -198,6 +215,67 @@ public class UsuarioController {
         }
     }
 
+    /**
+     * Importa usuarios en masa desde un archivo CSV o NDJSON enviado como cuerpo de la petición.
+     * @param tipoContenido {@code text/csv} o {@code application/x-ndjson}.
+     * @param entrada contenido del archivo, leído como flujo.
+     * @return cantidad de filas importadas y el error de cada fila rechazada, o 400 si el archivo no se puede leer.
+     */
+    @Operation(
+        summary = "Importar usuarios en masa",
+        description = "Registra los usuarios de un archivo CSV (con encabezado nombre,apellido,password,rol,facultad) " +
+                     "o NDJSON (un objeto de registro por línea). Cada fila se valida con las reglas del registro " +
+                     "individual; las filas inválidas se reportan sin impedir que se importen las demás.",
+        tags = {"Gestión de Usuarios"}
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Archivo procesado; el resultado lista las filas rechazadas",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = ResultadoImportacionUsuariosDTO.class),
+                examples = @ExampleObject(
+                    name = "Importación con una fila rechazada",
+                    value = """
+                    {
+                        "errores": [
+                            {"linea": 3, "email": "juan.perez-p@mail.escuelaing.edu.co", "error": "El email ya está registrado."}
+                        ],
+                        "procesadas": 2,
+                        "importadas": 1,
+                        "fallidas": 1,
+                        "tiempoMs": 180
+                    }
+                    """
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Formato no soportado o encabezado del CSV incompleto",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                examples = @ExampleObject(
+                    name = "Encabezado incompleto",
+                    value = "\"El encabezado del CSV no incluye las columnas: password\""
+                )
+            )
+        )
+    })
+    @PostMapping(value = "/importar", consumes = {LectorImportacionUsuarios.TIPO_CSV, LectorImportacionUsuarios.TIPO_NDJSON})
+    public ResponseEntity<Object> importarUsuarios(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) String tipoContenido,
+        InputStream entrada
+    ) {
+        try {
+            return ResponseEntity.ok(importacionUsuariosService.importar(entrada, tipoContenido));
+        } catch (SirhaException e) {
+            Log.logException(e);
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     /**
      * Obtiene todos los usuarios registrados.
      * @return lista de {@link Usuario}
@@ -260,6 +338,92 @@ public class UsuarioController {
             }
     }
 
+    /**
+     * Obtiene una página de usuarios ordenada por id, sin el hash de la contraseña.
+     * @param cursor id del último usuario de la página anterior; se omite para la primera.
+     * @param tamano cantidad de usuarios por página.
+     * @return página de usuarios con el cursor de la siguiente, o 400 si el tamaño no es válido.
+     */
+    @Operation(
+        summary = "Listar usuarios por páginas",
+        description = "Obtiene los usuarios ordenados por id, sin la contraseña. Para la página siguiente se envía " +
+                     "como cursor el campo siguienteCursor de la respuesta; si es nulo no hay más usuarios.",
+        tags = {"Consulta de Usuarios"}
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Página de usuarios obtenida exitosamente",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                schema = @Schema(implementation = PaginaDTO.class),
+                examples = @ExampleObject(
+                    name = "Página de usuarios",
+                    value = """
+                    {
+                        "elementos": [
+                            {
+                                "id": "0000000018",
+                                "nombre": "Juan",
+                                "apellido": "Pérez",
+                                "email": "juan.perez-p@mail.escuelaing.edu.co",
+                                "rol": "ESTUDIANTE"
+                            }
+                        ],
+                        "siguienteCursor": "0000000018",
+                        "tamano": 1
+                    }
+                    """
+                )
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Tamaño de página inválido",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON_VALUE,
+                examples = @ExampleObject(
+                    name = "Tamaño inválido",
+                    value = "\"El tamaño de página debe estar entre 1 y 500\""
+                )
+            )
+        )
+    })
+    @GetMapping("/pagina")
+    public ResponseEntity<Object> listarPaginaUsuarios(
+        @Parameter(description = "Id del último usuario de la página anterior", example = "0000000018")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Cantidad de usuarios por página (1 a 500, por defecto 50)", example = "50")
+        @RequestParam(required = false) Integer tamano
+    ) {
+        try {
+            return ResponseEntity.ok(usuarioService.obtenerPaginaUsuarios(cursor, tamano));
+        } catch (SirhaException e) {
+            Log.logException(e);
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Transmite todos los usuarios en formato NDJSON, sin el hash de la contraseña.
+     * @return un usuario JSON por línea.
+     */
+    @Operation(
+        summary = "Transmitir todos los usuarios",
+        description = "Escribe un usuario JSON por línea (application/x-ndjson), sin la contraseña, mientras se " +
+                     "recorre la colección con un cursor; la memoria usada no depende de la cantidad de usuarios.",
+        tags = {"Consulta de Usuarios"}
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Usuarios transmitidos",
+        content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+    )
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsuarios() {
+        return escritorNdjson.responder(usuarioService::streamUsuarios);
+    }
+
     /**
      * Busca un usuario por su identificador único.
      * @param id identificador del usuario
@@ -450,7 +614,7 @@ public class UsuarioController {
             description = "Lista de usuarios con el rol especificado",
             content = @Content(
                 mediaType = MediaType.APPLICATION_JSON_VALUE,
-                schema = @Schema(implementation = Usuario.class),
+                schema = @Schema(implementation = UsuarioResumenDTO.class),
                 examples = @ExampleObject(
                     name = "Usuarios por rol",
                     value = """
@@ -494,7 +658,7 @@ public class UsuarioController {
         )
     })
     @GetMapping("/rol/{rol}")
-    public ResponseEntity<List<Usuario>> obtenerPorRol(
+    public ResponseEntity<List<UsuarioResumenDTO>> obtenerPorRol(
         @Parameter(
             description = "Nombre del rol a buscar. Valores válidos: ESTUDIANTE, PROFESOR, DECANO, ADMINISTRADOR",
             required = true,
@@ -504,7 +668,7 @@ public class UsuarioController {
     ) {
         try {
             Rol rolEnum = Rol.valueOf(rol.toUpperCase());
-            List<Usuario> usuarios = usuarioService.obtenerPorRol(rolEnum);
+            List<UsuarioResumenDTO> usuarios = usuarioService.obtenerPorRol(rolEnum);
 
             if (usuarios.isEmpty()) {
                 return ResponseEntity.noContent().build();
@@ -520,7 +684,7 @@ public class UsuarioController {
     /**
      * Busca usuarios por su nombre.
      * @param nombre nombre del usuario
-     * @return lista de {@link Usuario} si existen, lista vacía si no
+     * @return lista de {@link UsuarioResumenDTO} si existen, lista vacía si no
      */
     @Operation(
         summary = "Buscar usuarios por nombre",
@@ -534,7 +698,7 @@ public class UsuarioController {
             description = "Lista de usuarios encontrados",
             content = @Content(
                 mediaType = MediaType.APPLICATION_JSON_VALUE,
-                schema = @Schema(implementation = Usuario.class),
+                schema = @Schema(implementation = UsuarioResumenDTO.class),
                 examples = @ExampleObject(
                     name = "Usuarios por nombre",
                     value = """
@@ -567,7 +731,7 @@ public class UsuarioController {
         )
     })
     @GetMapping("/nombre/{nombre}")
-    public ResponseEntity<List<Usuario>> obtenerPorNombre(
+    public ResponseEntity<List<UsuarioResumenDTO>> obtenerPorNombre(
         @Parameter(
             description = "Nombre del usuario a buscar",
             required = true,
@@ -575,7 +739,7 @@ public class UsuarioController {
         )
         @PathVariable String nombre
     ) {
-        List<Usuario> usuarios = usuarioService.obtenerPorNombre(nombre);
+        List<UsuarioResumenDTO> usuarios = usuarioService.obtenerPorNombre(nombre);
         if (usuarios.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -585,7 +749,7 @@ public class UsuarioController {
     /**
      * Busca usuarios por su apellido.
      * @param apellido apellido del usuario
-     * @return lista de {@link Usuario} si existen, lista vacía si no
+     * @return lista de {@link UsuarioResumenDTO} si existen, lista vacía si no
      */
     @Operation(
         summary = "Buscar usuarios por apellido",
@@ -599,7 +763,7 @@ public class UsuarioController {
             description = "Lista de usuarios encontrados",
             content = @Content(
                 mediaType = MediaType.APPLICATION_JSON_VALUE,
-                schema = @Schema(implementation = Usuario.class),
+                schema = @Schema(implementation = UsuarioResumenDTO.class),
                 examples = @ExampleObject(
                     name = "Usuarios por apellido",
                     value = """
@@ -632,7 +796,7 @@ public class UsuarioController {
         )
     })
     @GetMapping("/apellido/{apellido}")
-    public ResponseEntity<List<Usuario>> obtenerPorApellido(
+    public ResponseEntity<List<UsuarioResumenDTO>> obtenerPorApellido(
         @Parameter(
             description = "Apellido del usuario a buscar",
             required = true,
@@ -640,7 +804,7 @@ public class UsuarioController {
         )
         @PathVariable String apellido
     ) {
-        List<Usuario> usuarios = usuarioService.obtenerPorApellido(apellido);
+        List<UsuarioResumenDTO> usuarios = usuarioService.obtenerPorApellido(apellido);
         if (usuarios.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -651,7 +815,7 @@ public class UsuarioController {
      * Busca usuarios por su nombre y apellido.
      * @param nombre   nombre del usuario
      * @param apellido apellido del usuario
-     * @return lista de {@link Usuario} si existen, lista vacía si no
+     * @return lista de {@link UsuarioResumenDTO} si existen, lista vacía si no
      */
     @Operation(
         summary = "Buscar usuarios por nombre y apellido",
@@ -665,7 +829,7 @@ public class UsuarioController {
             description = "Lista de usuarios encontrados",
             content = @Content(
                 mediaType = MediaType.APPLICATION_JSON_VALUE,
-                schema = @Schema(implementation = Usuario.class),
+                schema = @Schema(implementation = UsuarioResumenDTO.class),
                 examples = @ExampleObject(
                     name = "Usuarios por nombre y apellido",
                     value = """
@@ -691,7 +855,7 @@ public class UsuarioController {
         )
     })
     @GetMapping("/nombre/{nombre}/{apellido}")
-    public ResponseEntity<List<Usuario>> obtenerPorNombreYApellido(
+    public ResponseEntity<List<UsuarioResumenDTO>> obtenerPorNombreYApellido(
         @Parameter(
             description = "Nombre del usuario a buscar",
             required = true,
@@ -705,7 +869,7 @@ public class UsuarioController {
         )
         @PathVariable String apellido
     ) {
-        List<Usuario> usuarios = usuarioService.obtenerPorNombreYApellido(nombre, apellido);
+        List<UsuarioResumenDTO> usuarios = usuarioService.obtenerPorNombreYApellido(nombre, apellido);
         if (usuarios.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
@@ -0,0 +1,48 @@
+package com.sirha.proyecto_sirha_dosw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO con el conteo de solicitudes por facultad, tipo de solicitud y estado.
+ * Cada celda corresponde a una combinación con al menos una solicitud; las combinaciones
+ * sin solicitudes se omiten.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class CuboSolicitudesDTO {
+
+    private List<Celda> celdas = new ArrayList<>();
+    private long totalSolicitudes;
+    private LocalDateTime fechaConsulta = LocalDateTime.now();
+
+    /**
+     * Cantidad de solicitudes de una facultad, tipo y estado.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Celda {
+        private String facultad;
+        private String tipoSolicitud;
+        private String estado;
+        private long cantidad;
+    }
+
+    /**
+     * Agrega una celda al cubo y actualiza el total.
+     * @param celda Celda a agregar
+     */
+    public void agregarCelda(Celda celda) {
+        celdas.add(celda);
+        totalSolicitudes += celda.getCantidad();
+    }
+}
@@ -6,6 +6,8 @@ import java.util.List;
 /**
  * DTO para mostrar la disponibilidad de un grupo específico.
  * Incluye información sobre capacidad, cupos disponibles y lista de espera.
+ * La lista de espera viene en orden de atención; la posición solo se informa cuando la
+ * consulta la hace un estudiante en espera.
  */
 public class DisponibilidadGrupoDTO {
     
@@ -18,6 +20,8 @@ public class DisponibilidadGrupoDTO {
     private boolean estaCompleto;
     private List<Horario> horarios;
     private List<String> listaEspera; // IDs de estudiantes en lista de espera
+    private int tamanoListaEspera;
+    private Integer posicionListaEspera; // Posición del estudiante consultado, empezando en 1
     
     // Constructor por defecto
     public DisponibilidadGrupoDTO() {}
@@ -33,6 +37,7 @@ public class DisponibilidadGrupoDTO {
         this.estaCompleto = builder.estaCompleto;
         this.horarios = builder.horarios;
         this.listaEspera = builder.listaEspera;
+        this.tamanoListaEspera = builder.listaEspera != null ? builder.listaEspera.size() : 0;
     }
 
     public static class Builder {
@@ -152,4 +157,20 @@ public class DisponibilidadGrupoDTO {
     public void setListaEspera(List<String> listaEspera) {
         this.listaEspera = listaEspera;
     }
+
+    public int getTamanoListaEspera() {
+        return tamanoListaEspera;
+    }
+
+    public void setTamanoListaEspera(int tamanoListaEspera) {
+        this.tamanoListaEspera = tamanoListaEspera;
+    }
+
+    public Integer getPosicionListaEspera() {
+        return posicionListaEspera;
+    }
+
+    public void setPosicionListaEspera(Integer posicionListaEspera) {
+        this.posicionListaEspera = posicionListaEspera;
+    }
 }
\ No newline at end of file
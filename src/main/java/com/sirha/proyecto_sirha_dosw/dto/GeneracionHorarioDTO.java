@@ -0,0 +1,59 @@
+package com.sirha.proyecto_sirha_dosw.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO con las materias que un estudiante quiere cursar y la cantidad de horarios alternativos
+ * que desea recibir del generador de horarios.
+ */
+public class GeneracionHorarioDTO {
+
+    public static final int LIMITE_POR_DEFECTO = 5;
+    public static final int LIMITE_MAXIMO = 20;
+
+    @NotEmpty(message = "Debe indicar al menos una materia")
+    @Size(max = 12, message = "No se pueden combinar más de 12 materias")
+    private List<String> materiasAcronimos;
+
+    @Min(value = 1, message = "El límite debe ser al menos 1")
+    @Max(value = LIMITE_MAXIMO, message = "El límite no puede superar " + LIMITE_MAXIMO)
+    private Integer limite;
+
+    // Constructor por defecto
+    public GeneracionHorarioDTO() {}
+
+    // Constructor con parámetros
+    public GeneracionHorarioDTO(List<String> materiasAcronimos, Integer limite) {
+        this.materiasAcronimos = materiasAcronimos;
+        this.limite = limite;
+    }
+
+    // Getters y Setters
+    public List<String> getMateriasAcronimos() {
+        return materiasAcronimos;
+    }
+
+    public void setMateriasAcronimos(List<String> materiasAcronimos) {
+        this.materiasAcronimos = materiasAcronimos;
+    }
+
+    public Integer getLimite() {
+        return limite;
+    }
+
+    public void setLimite(Integer limite) {
+        this.limite = limite;
+    }
+
+    /**
+     * @return el límite solicitado, o {@value #LIMITE_POR_DEFECTO} si no se indicó
+     */
+    public int getLimiteEfectivo() {
+        return limite == null ? LIMITE_POR_DEFECTO : Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    }
+}
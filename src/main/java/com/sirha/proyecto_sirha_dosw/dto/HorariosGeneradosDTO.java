@@ -0,0 +1,57 @@
+package com.sirha.proyecto_sirha_dosw.dto;
+
+import com.sirha.proyecto_sirha_dosw.model.Horario;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO con las mejores combinaciones de grupos sin cruces de horario para las materias pedidas.
+ * Las combinaciones vienen ordenadas de menor a mayor permanencia semanal en la universidad.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class HorariosGeneradosDTO {
+
+    private List<Combinacion> combinaciones = new ArrayList<>();
+    /** Materias pedidas que no tienen ningún grupo con cupo compatible con el horario fijo del estudiante. */
+    private List<String> materiasSinGrupos = new ArrayList<>();
+    /** false si la búsqueda se detuvo por tiempo y las combinaciones pueden no ser las óptimas. */
+    private boolean busquedaCompleta;
+    private long nodosExplorados;
+    private long tiempoMs;
+
+    /**
+     * Una asignación de un grupo por materia.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Combinacion {
+        /** Minutos por semana entre la primera y la última clase de cada día, incluidos los huecos. */
+        private int minutosEnCampus;
+        private int diasConClase;
+        private List<GrupoAsignado> grupos;
+    }
+
+    /**
+     * Grupo elegido para una materia dentro de una combinación.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class GrupoAsignado {
+        private String grupoId;
+        private String acronimoMateria;
+        private String nombreMateria;
+        private int cuposDisponibles;
+        private List<Horario> horarios;
+    }
+}
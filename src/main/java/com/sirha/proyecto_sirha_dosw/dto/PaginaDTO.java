@@ -0,0 +1,38 @@
+package com.sirha.proyecto_sirha_dosw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DTO con una página de resultados paginados por llave.
+ * Para pedir la página siguiente se envía {@code siguienteCursor} como cursor; si es
+ * {@code null}, esta es la última página.
+ *
+ * @param <T> tipo de los elementos
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaDTO<T> {
+
+    private List<T> elementos = new ArrayList<>();
+    private String siguienteCursor;
+    private int tamano;
+
+    /**
+     * Convierte los elementos de la página conservando el cursor.
+     * @param conversion función aplicada a cada elemento
+     * @param <R> tipo de los elementos convertidos
+     * @return página con los elementos convertidos
+     */
+    public <R> PaginaDTO<R> convertir(Function<T, R> conversion) {
+        return new PaginaDTO<>(elementos.stream().map(conversion).toList(), siguienteCursor, tamano);
+    }
+}
@@ -0,0 +1,41 @@
+package com.sirha.proyecto_sirha_dosw.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO con el resultado de una importación masiva de usuarios.
+ * Solo se reportan las filas rechazadas, en el orden del archivo; las demás quedaron
+ * registradas.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ResultadoImportacionUsuariosDTO {
+
+    private List<ErrorFila> errores = new ArrayList<>();
+    private int procesadas;
+    private int importadas;
+    private int fallidas;
+    private long tiempoMs;
+
+    /**
+     * Fila del archivo que no se importó.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErrorFila {
+        /** Número de línea en el archivo, contando el encabezado del CSV. */
+        private int linea;
+        /** Email generado para la fila, o {@code null} si no se alcanzó a generar. */
+        private String email;
+        private String error;
+    }
+}
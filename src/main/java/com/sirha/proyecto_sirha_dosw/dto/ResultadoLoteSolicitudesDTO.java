@@ -0,0 +1,41 @@
+package com.sirha.proyecto_sirha_dosw.dto;
+
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO con el resultado de responder un lote de solicitudes.
+ * Los resultados vienen en el mismo orden de las respuestas enviadas; una respuesta
+ * fallida no impide aplicar las demás.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ResultadoLoteSolicitudesDTO {
+
+    private List<ResultadoRespuesta> resultados = new ArrayList<>();
+    private int aplicadas;
+    private int fallidas;
+    private long tiempoMs;
+
+    /**
+     * Resultado de una respuesta del lote.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ResultadoRespuesta {
+        private String solicitudId;
+        private SolicitudEstado nuevoEstado;
+        private boolean aplicada;
+        /** Motivo del rechazo de la respuesta, o {@code null} si se aplicó. */
+        private String error;
+    }
+}
@@ -0,0 +1,28 @@
+package com.sirha.proyecto_sirha_dosw.dto;
+
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Rol;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * DTO con los datos de un usuario que se muestran en los resultados de búsqueda.
+ * No incluye el historial académico ni la contraseña; el documento completo se consulta
+ * solo en las vistas de detalle.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsuarioResumenDTO {
+
+    private String id;
+    private String nombre;
+    private String apellido;
+    private String email;
+    private Rol rol;
+    /** Facultad del estudiante o del decano; {@code null} para los demás roles. */
+    private Facultad facultad;
+}
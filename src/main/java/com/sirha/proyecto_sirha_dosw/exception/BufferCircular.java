@@ -0,0 +1,89 @@
+package com.sirha.proyecto_sirha_dosw.exception;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer circular acotado y sin bloqueos para varios productores y consumidores.
+ *
+ * <p>Cada posición guarda un número de secuencia que indica si está libre para el productor
+ * de esa vuelta o lista para el consumidor; productores y consumidores reservan posiciones
+ * con CAS sobre sus contadores. Cuando el buffer está lleno {@link #ofrecer} devuelve false
+ * sin esperar.</p>
+ *
+ * @param <T> tipo de los elementos
+ */
+final class BufferCircular<T> {
+
+    private final AtomicReferenceArray<T> elementos;
+    private final AtomicLongArray secuencias;
+    private final int mascara;
+    private final AtomicLong siguienteEscritura = new AtomicLong();
+    private final AtomicLong siguienteLectura = new AtomicLong();
+
+    /**
+     * @param capacidad capacidad del buffer, debe ser potencia de dos
+     */
+    BufferCircular(int capacidad) {
+        if (capacidad < 2 || Integer.bitCount(capacidad) != 1) {
+            throw new IllegalArgumentException("La capacidad debe ser una potencia de dos: " + capacidad);
+        }
+        elementos = new AtomicReferenceArray<>(capacidad);
+        secuencias = new AtomicLongArray(capacidad);
+        mascara = capacidad - 1;
+        for (int i = 0; i < capacidad; i++) {
+            secuencias.set(i, i);
+        }
+    }
+
+    /**
+     * Agrega un elemento si hay espacio.
+     * @param elemento elemento a agregar
+     * @return false si el buffer está lleno
+     */
+    boolean ofrecer(T elemento) {
+        while (true) {
+            long posicion = siguienteEscritura.get();
+            int indice = (int) posicion & mascara;
+            long diferencia = secuencias.get(indice) - posicion;
+            if (diferencia == 0) {
+                if (siguienteEscritura.compareAndSet(posicion, posicion + 1)) {
+                    elementos.set(indice, elemento);
+                    secuencias.set(indice, posicion + 1);
+                    return true;
+                }
+            } else if (diferencia < 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Extrae el elemento más antiguo.
+     * @return el elemento, o null si el buffer está vacío
+     */
+    T extraer() {
+        while (true) {
+            long posicion = siguienteLectura.get();
+            int indice = (int) posicion & mascara;
+            long diferencia = secuencias.get(indice) - (posicion + 1);
+            if (diferencia == 0) {
+                if (siguienteLectura.compareAndSet(posicion, posicion + 1)) {
+                    T elemento = elementos.getAndSet(indice, null);
+                    secuencias.set(indice, posicion + mascara + 1);
+                    return elemento;
+                }
+            } else if (diferencia < 0) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * @return true si no hay elementos pendientes
+     */
+    boolean estaVacio() {
+        return siguienteLectura.get() >= siguienteEscritura.get();
+    }
+}
@@ -0,0 +1,130 @@
+package com.sirha.proyecto_sirha_dosw.exception;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Escritor de registros en segundo plano.
+ *
+ * <p>Los hilos de las peticiones solo encolan el registro en un {@link BufferCircular}; un hilo
+ * dedicado lo vacía sobre un único {@link Handler} de larga vida. Si el buffer está lleno el
+ * registro se descarta y se cuenta, y el escritor deja constancia de los descartes en el log.
+ * Los errores del handler se cuentan y nunca detienen la aplicación.</p>
+ */
+final class EscritorLogAsincrono {
+
+    private static final long ESPERA_MAXIMA_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final BufferCircular<LogRecord> buffer;
+    private final Handler handler;
+    private final Thread hilo;
+    private final AtomicBoolean esperando = new AtomicBoolean();
+    private final AtomicLong descartados = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private volatile boolean activo = true;
+    private long descartadosInformados;
+
+    /**
+     * @param handler destino de los registros; solo lo usa el hilo escritor
+     * @param capacidad capacidad del buffer, potencia de dos
+     * @param nombreHilo nombre del hilo escritor
+     */
+    EscritorLogAsincrono(Handler handler, int capacidad, String nombreHilo) {
+        this.buffer = new BufferCircular<>(capacidad);
+        this.handler = handler;
+        this.hilo = new Thread(this::ejecutar, nombreHilo);
+        this.hilo.setDaemon(true);
+        this.hilo.start();
+    }
+
+    /**
+     * Encola un registro sin bloquear al hilo que llama.
+     * @param registro registro a escribir
+     * @return false si el buffer estaba lleno y el registro se descartó
+     */
+    boolean registrar(LogRecord registro) {
+        if (!activo || !buffer.ofrecer(registro)) {
+            descartados.incrementAndGet();
+            return false;
+        }
+        if (esperando.get()) {
+            LockSupport.unpark(hilo);
+        }
+        return true;
+    }
+
+    /**
+     * @return cantidad de registros descartados por falta de espacio o tras el cierre
+     */
+    long descartados() {
+        return descartados.get();
+    }
+
+    /**
+     * @return cantidad de registros que el handler no pudo escribir
+     */
+    long fallos() {
+        return fallos.get();
+    }
+
+    /**
+     * Detiene el escritor tras escribir los registros pendientes y cierra el handler.
+     * @param espera tiempo máximo de espera
+     * @param unidad unidad del tiempo de espera
+     */
+    void cerrar(long espera, TimeUnit unidad) {
+        activo = false;
+        LockSupport.unpark(hilo);
+        try {
+            hilo.join(unidad.toMillis(espera));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void ejecutar() {
+        while (activo || !buffer.estaVacio()) {
+            if (!vaciar()) {
+                esperando.set(true);
+                if (buffer.estaVacio() && activo) {
+                    LockSupport.parkNanos(this, ESPERA_MAXIMA_NANOS);
+                }
+                esperando.set(false);
+            }
+        }
+        vaciar();
+        handler.close();
+    }
+
+    private boolean vaciar() {
+        boolean escribio = false;
+        LogRecord registro;
+        while ((registro = buffer.extraer()) != null) {
+            publicar(registro);
+            escribio = true;
+        }
+        long totalDescartados = descartados.get();
+        if (totalDescartados > descartadosInformados) {
+            publicar(new LogRecord(Level.WARNING, "Se descartaron " + (totalDescartados - descartadosInformados)
+                    + " registros por buffer lleno (total: " + totalDescartados + ")"));
+            descartadosInformados = totalDescartados;
+        }
+        if (escribio) {
+            handler.flush();
+        }
+        return escribio;
+    }
+
+    private void publicar(LogRecord registro) {
+        try {
+            handler.publish(registro);
+        } catch (RuntimeException e) {
+            fallos.incrementAndGet();
+        }
+    }
+}
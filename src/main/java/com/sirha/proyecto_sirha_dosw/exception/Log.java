@@ -1,31 +1,77 @@
 package com.sirha.proyecto_sirha_dosw.exception;
 
-import java.util.logging.Logger;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.ConsoleHandler;
 import java.util.logging.FileHandler;
-import java.util.logging.SimpleFormatter;
+import java.util.logging.Handler;
 import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
 
 /**
+ * Registro de excepciones en el archivo {@value #NOMBRE}.log.
  *
+ * <p>{@link #logException} solo encola el registro; un hilo en segundo plano lo escribe con un
+ * único {@link FileHandler} que rota por tamaño ({@value #LIMITE_BYTES} bytes por archivo,
+ * {@value #ARCHIVOS} archivos: {@code Plan15.log.0} es el actual). Los archivos se crean en el
+ * directorio de la propiedad de sistema {@value #PROPIEDAD_DIRECTORIO}, o en el directorio de
+ * trabajo si no está definida. Si el archivo no se puede abrir los registros se envían a la
+ * consola.</p>
  */
 public class Log{
 
     private Log(){}
     public static final String NOMBRE = "Plan15";
+    public static final String PROPIEDAD_DIRECTORIO = "sirha.log.directorio";
+
+    static final int CAPACIDAD_BUFFER = 4096;
+    static final int LIMITE_BYTES = 5 * 1024 * 1024;
+    static final int ARCHIVOS = 5;
 
+    /**
+     * Encola la excepción para escribirla en el log sin bloquear al hilo que llama.
+     * Si el buffer está lleno el registro se descarta y se contabiliza.
+     * @param e excepción a registrar
+     */
     public static void logException(Exception e){
-        try{
-            Logger logger=Logger.getLogger(NOMBRE);
-            logger.setUseParentHandlers(false);
-            FileHandler file=new FileHandler(NOMBRE+".log",true);
-            file.setFormatter(new SimpleFormatter());
-            logger.addHandler(file);
-            logger.log(Level.SEVERE,e.toString(),e);
-            file.close();
-        }catch (Exception oe){
-            System.exit(0);
-        }
+        LogRecord registro = new LogRecord(Level.SEVERE, e.toString());
+        registro.setThrown(e);
+        registro.setLoggerName(NOMBRE);
+        Escritor.INSTANCIA.registrar(registro);
     }
-}
 
+    /**
+     * @return cantidad de registros descartados porque el buffer estaba lleno
+     */
+    public static long registrosDescartados(){
+        return Escritor.INSTANCIA.descartados();
+    }
+
+    /**
+     * Inicializa el escritor en el primer uso.
+     */
+    private static final class Escritor {
+        private static final EscritorLogAsincrono INSTANCIA = crear();
+
+        private static EscritorLogAsincrono crear() {
+            EscritorLogAsincrono escritor = new EscritorLogAsincrono(crearHandler(), CAPACIDAD_BUFFER, NOMBRE + "-log");
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> escritor.cerrar(2, TimeUnit.SECONDS)));
+            return escritor;
+        }
 
+        private static Handler crearHandler() {
+            Handler handler;
+            try {
+                String directorio = System.getProperty(PROPIEDAD_DIRECTORIO, ".");
+                handler = new FileHandler(Path.of(directorio, NOMBRE + ".log").toString(), LIMITE_BYTES, ARCHIVOS, true);
+            } catch (IOException | RuntimeException e) {
+                handler = new ConsoleHandler();
+            }
+            handler.setFormatter(new SimpleFormatter());
+            handler.setLevel(Level.ALL);
+            return handler;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.sirha.proyecto_sirha_dosw.exception;
 public class SirhaException extends Exception{
     //Mensajes de error generales
     public static final String ERROR_FALTAN_DATOS = "Faltan datos obligatorios: ";
+    public static final String TAMANO_PAGINA_INVALIDO = "El tamaño de página debe estar entre 1 y ";
     //Carrera
     public static final String CARRERA_NO_ENCONTRADA = "Carrera no encontrada: ";
     public static final String CARRERA_YA_EXISTE = "Ya existe una carrera con el mismo código o nombre.";
@@ -33,6 +34,7 @@ public class SirhaException extends Exception{
     public static final String MATERIA_NO_ENCONTRADA = "Materia no encontrada: ";
     public static final String GRUPO_NO_ENCONTRADO = "Grupo no encontrado: ";
     public static final String ERROR_CREACION_SOLICITUD = "Error al crear la solicitud: ";
+    public static final String FUERA_DE_PLAZO_SOLICITUDES = "No se pueden crear solicitudes fuera del plazo establecido. ";
     public static final String SOLICITUD_NO_ENCONTRADA = "Solicitud no encontrada: ";
     //Adminstrador
 
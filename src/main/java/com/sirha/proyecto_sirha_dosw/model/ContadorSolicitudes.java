@@ -0,0 +1,62 @@
+/**
+ * Contadores de solicitudes de una facultad y un tipo de solicitud, por estado.
+ * Se mantienen de forma incremental al crear y responder solicitudes para que los
+ * reportes de tasas no tengan que recontar la colección de solicitudes.
+ */
+package com.sirha.proyecto_sirha_dosw.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Document(collection = "contadoresSolicitudes")
+public class ContadorSolicitudes {
+	// Campos
+	@Id
+	private String id;
+	private Facultad facultad;
+	private TipoSolicitud tipoSolicitud;
+	private Map<SolicitudEstado, Long> porEstado = new EnumMap<>(SolicitudEstado.class);
+
+	/**
+	 * Constructor por defecto.
+	 */
+	public ContadorSolicitudes() {
+		// Requerido por el mapeo de Spring Data
+	}
+
+	/**
+	 * Identificador del documento de contadores de una facultad y un tipo.
+	 * @param facultad Facultad de las solicitudes
+	 * @param tipoSolicitud Tipo de las solicitudes
+	 * @return identificador con el formato {@code FACULTAD:TIPO}
+	 */
+	public static String idDe(Facultad facultad, TipoSolicitud tipoSolicitud) {
+		return facultad.name() + ":" + tipoSolicitud.name();
+	}
+
+	/**
+	 * Cantidad de solicitudes en un estado.
+	 * @param estado Estado a consultar
+	 * @return cantidad registrada, 0 si no hay contador para el estado
+	 */
+	public long cantidad(SolicitudEstado estado) {
+		Long cantidad = porEstado.get(estado);
+		return cantidad == null ? 0 : cantidad;
+	}
+
+	// Getters y Setters
+	public String getId() { return id; }
+	public void setId(String id) { this.id = id; }
+
+	public Facultad getFacultad() { return facultad; }
+	public void setFacultad(Facultad facultad) { this.facultad = facultad; }
+
+	public TipoSolicitud getTipoSolicitud() { return tipoSolicitud; }
+	public void setTipoSolicitud(TipoSolicitud tipoSolicitud) { this.tipoSolicitud = tipoSolicitud; }
+
+	public Map<SolicitudEstado, Long> getPorEstado() { return porEstado; }
+	public void setPorEstado(Map<SolicitudEstado, Long> porEstado) { this.porEstado = porEstado; }
+}
@@ -0,0 +1,55 @@
+/**
+ * Clase que representa la posición de un estudiante en la lista de espera de un grupo.
+ * Las entradas se atienden por prioridad (menor número primero, la misma numeración de
+ * {@link Solicitud#getPrioridad()}) y, a igual prioridad, por orden de llegada.
+ */
+package com.sirha.proyecto_sirha_dosw.model;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+public class EntradaListaEspera {
+
+	/**
+	 * Orden de atención de la lista de espera.
+	 */
+	public static final Comparator<EntradaListaEspera> ORDEN = Comparator
+			.comparing(EntradaListaEspera::getPrioridad, Comparator.nullsLast(Comparator.naturalOrder()))
+			.thenComparing(EntradaListaEspera::getFechaIngreso, Comparator.nullsLast(Comparator.naturalOrder()));
+
+	// Campos
+	private String estudianteId;
+	private String solicitudId;
+	private Integer prioridad;
+	private LocalDateTime fechaIngreso;
+
+	/**
+	 * Constructor por defecto.
+	 */
+	public EntradaListaEspera() {
+	}
+
+	/**
+	 * Constructor con parámetros.
+	 * @param estudianteId ID del estudiante en espera
+	 * @param solicitudId ID de la solicitud de cambio asociada, puede ser nulo
+	 * @param prioridad Prioridad de atención (menor número = mayor prioridad)
+	 * @param fechaIngreso Fecha de ingreso a la lista
+	 */
+	public EntradaListaEspera(String estudianteId, String solicitudId, Integer prioridad, LocalDateTime fechaIngreso) {
+		this.estudianteId = estudianteId;
+		this.solicitudId = solicitudId;
+		this.prioridad = prioridad;
+		this.fechaIngreso = fechaIngreso;
+	}
+
+	// Getters y setters
+	public String getEstudianteId() { return estudianteId; }
+	public void setEstudianteId(String estudianteId) { this.estudianteId = estudianteId; }
+	public String getSolicitudId() { return solicitudId; }
+	public void setSolicitudId(String solicitudId) { this.solicitudId = solicitudId; }
+	public Integer getPrioridad() { return prioridad; }
+	public void setPrioridad(Integer prioridad) { this.prioridad = prioridad; }
+	public LocalDateTime getFechaIngreso() { return fechaIngreso; }
+	public void setFechaIngreso(LocalDateTime fechaIngreso) { this.fechaIngreso = fechaIngreso; }
+}
@@ -4,6 +4,8 @@
  */
 package com.sirha.proyecto_sirha_dosw.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.annotation.TypeAlias;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.util.*;
@@ -15,6 +17,9 @@ public class Estudiante extends Usuario {
 	private Facultad carrera;
 	private List<Semestre> semestres = new ArrayList<>();
 
+	@Transient
+	private FranjasHorario franjasOcupadas;
+
 	/**
 	 * Constructor por defecto.
 	 */
@@ -53,7 +58,10 @@ public class Estudiante extends Usuario {
 	public Facultad getCarrera() { return carrera; }
 	public void setCarrera(Facultad carrera) { this.carrera = carrera; }
 	public List<Semestre> getSemestres() { return semestres; }
-	public void setSemestres(List<Semestre> semestres) { this.semestres = semestres; }
+	public void setSemestres(List<Semestre> semestres) {
+		this.semestres = semestres;
+		this.franjasOcupadas = null;
+	}
 
 	/**
 	 * Obtiene los registros de materias para un semestre específico.
@@ -114,22 +122,39 @@ public class Estudiante extends Usuario {
 		Semestre semestreActual = semestres.get(semestres.size() - 1);
 		RegistroMaterias nuevoRegistro = new RegistroMaterias(grupo);
 		semestreActual.addRegistro(nuevoRegistro);
+		if (franjasOcupadas != null) {
+			franjasOcupadas = franjasOcupadas.unir(nuevoRegistro.getGrupo().getFranjasHorario());
+		}
 	}
 
+	/**
+	 * Elimina del semestre actual el registro asociado al grupo. Los registros se
+	 * comparan por identificador de grupo, ya que el grupo embebido es solo una proyección.
+	 * @param grupo Grupo a remover
+	 */
 	public void removeGrupo(Grupo grupo) {
 		Semestre semestreActual = semestres.get(semestres.size() - 1);
 		RegistroMaterias registroARemover = null;
 		for (RegistroMaterias registro : semestreActual.getRegistros()) {
-			if (registro.getGrupo().equals(grupo)) {
+			if (esMismoGrupo(registro, grupo)) {
 				registroARemover = registro;
 				break;
 			}
 		}
 		if (registroARemover != null) {
 			semestreActual.removeRegistro(registroARemover);
+			// Otro grupo podría compartir franjas con el removido, así que se recalculan
+			franjasOcupadas = null;
 		}
 	}
 
+	private static boolean esMismoGrupo(RegistroMaterias registro, Grupo grupo) {
+		if (registro.getGrupo() == grupo) {
+			return true;
+		}
+		return grupo != null && grupo.getId() != null && grupo.getId().equals(registro.getGrupoId());
+	}
+
 	/**
 	 * Obtiene todos los grupos en los que está inscrito el estudiante en el semestre actual.
 	 * @return Lista de grupos del semestre actual
@@ -145,6 +170,43 @@ public class Estudiante extends Usuario {
 		return grupos;
 	}
 
+	/**
+	 * Obtiene las franjas de 15 minutos ocupadas por los grupos del semestre actual.
+	 * Se calculan en el primer uso y se mantienen al inscribir o retirar grupos.
+	 * @return Unión de las franjas de los grupos del semestre actual
+	 */
+	@JsonIgnore
+	public FranjasHorario getFranjasOcupadas() {
+		if (franjasOcupadas == null) {
+			FranjasHorario union = FranjasHorario.VACIA;
+			for (Grupo grupo : getGrupos()) {
+				union = union.unir(grupo.getFranjasHorario());
+			}
+			franjasOcupadas = union;
+		}
+		return franjasOcupadas;
+	}
+
+	/**
+	 * Busca un grupo del semestre actual cuyo horario se cruce con el de otro grupo.
+	 * Primero compara contra las franjas ocupadas del estudiante y solo si hay coincidencia
+	 * revisa los grupos uno a uno.
+	 * @param grupo Grupo a validar
+	 * @param grupoAExcluir Grupo que no debe considerarse (por ejemplo, el que se cambia)
+	 * @return Grupo con el que se cruza, o null si no hay cruce
+	 */
+	public Grupo buscarCruceDeHorario(Grupo grupo, Grupo grupoAExcluir) {
+		if (grupo == null || !getFranjasOcupadas().seCruzaCon(grupo.getFranjasHorario())) {
+			return null;
+		}
+		for (Grupo grupoActual : getGruposExcluyendo(grupoAExcluir)) {
+			if (grupo.tieneCruceDeHorario(grupoActual)) {
+				return grupoActual;
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * Obtiene todos los grupos en los que está inscrito el estudiante en el semestre actual,
 	 * excluyendo un grupo específico para validaciones de cambio de grupo.
@@ -0,0 +1,204 @@
+/**
+ * Representación compacta de un horario semanal como mapa de bits de franjas de 15 minutos.
+ * Cada día de {@link Dia} ocupa 96 franjas consecutivas (24 horas), de modo que la semana
+ * completa cabe en 9 {@code long}; detectar un cruce entre dos horarios se reduce a un AND
+ * palabra por palabra.
+ */
+package com.sirha.proyecto_sirha_dosw.model;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+public final class FranjasHorario {
+
+	public static final int MINUTOS_POR_FRANJA = 15;
+	static final int FRANJAS_POR_DIA = 24 * 60 / MINUTOS_POR_FRANJA;
+	private static final int PALABRAS = (Dia.values().length * FRANJAS_POR_DIA + Long.SIZE - 1) / Long.SIZE;
+
+	public static final FranjasHorario VACIA = new FranjasHorario(new long[PALABRAS], true);
+
+	private final long[] bits;
+	private final boolean exacta;
+
+	private FranjasHorario(long[] bits, boolean exacta) {
+		this.bits = bits;
+		this.exacta = exacta;
+	}
+
+	/**
+	 * Construye el mapa de franjas de una lista de horarios.
+	 * Un horario cuyos límites no caen en múltiplos de 15 minutos se redondea hacia afuera
+	 * y el resultado se marca como no exacto: un cruce detectado en ese caso debe
+	 * confirmarse comparando los horarios.
+	 * @param horarios Horarios a representar, puede ser nulo
+	 * @return Franjas ocupadas por los horarios
+	 */
+	public static FranjasHorario de(List<Horario> horarios) {
+		if (horarios == null || horarios.isEmpty()) {
+			return VACIA;
+		}
+		long[] bits = new long[PALABRAS];
+		boolean exacta = true;
+		for (Horario horario : horarios) {
+			if (horario == null) {
+				continue;
+			}
+			if (horario.getDia() == null || horario.getHoraInicio() == null || horario.getHoraFin() == null) {
+				exacta = false;
+				continue;
+			}
+			if (!estaAlineada(horario.getHoraInicio()) || !estaAlineada(horario.getHoraFin())) {
+				exacta = false;
+			}
+			int base = horario.getDia().ordinal() * FRANJAS_POR_DIA;
+			int desde = base + minutoDelDia(horario.getHoraInicio()) / MINUTOS_POR_FRANJA;
+			int minutosFin = minutoDelDia(horario.getHoraFin())
+					+ (horario.getHoraFin().getSecond() != 0 || horario.getHoraFin().getNano() != 0 ? 1 : 0);
+			int hasta = base + (minutosFin + MINUTOS_POR_FRANJA - 1) / MINUTOS_POR_FRANJA;
+			marcar(bits, desde, Math.min(hasta, base + FRANJAS_POR_DIA));
+		}
+		return new FranjasHorario(bits, exacta);
+	}
+
+	/**
+	 * Indica si alguna franja está ocupada en ambos horarios.
+	 * @param otras Franjas a comparar
+	 * @return true si comparten al menos una franja
+	 */
+	public boolean seCruzaCon(FranjasHorario otras) {
+		for (int i = 0; i < PALABRAS; i++) {
+			if ((bits[i] & otras.bits[i]) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Une las franjas de dos horarios.
+	 * @param otras Franjas a agregar
+	 * @return Nuevas franjas con la unión de ambas
+	 */
+	public FranjasHorario unir(FranjasHorario otras) {
+		long[] union = new long[PALABRAS];
+		for (int i = 0; i < PALABRAS; i++) {
+			union[i] = bits[i] | otras.bits[i];
+		}
+		return new FranjasHorario(union, exacta && otras.exacta);
+	}
+
+	/**
+	 * Indica si las franjas representan exactamente los horarios de origen.
+	 * @return false si algún horario se redondeó o estaba incompleto
+	 */
+	public boolean esExacta() {
+		return exacta;
+	}
+
+	/**
+	 * Cantidad de franjas de 15 minutos ocupadas.
+	 * @return Número de franjas ocupadas
+	 */
+	public int cantidadFranjas() {
+		int total = 0;
+		for (long palabra : bits) {
+			total += Long.bitCount(palabra);
+		}
+		return total;
+	}
+
+	/**
+	 * Suma, por cada día con clase, las franjas desde la primera hasta la última ocupada,
+	 * incluidos los huecos intermedios. Nunca disminuye al unir más horarios.
+	 * @return Franjas de permanencia en la universidad durante la semana
+	 */
+	public int franjasEnCampus() {
+		int total = 0;
+		for (int dia = 0; dia < Dia.values().length; dia++) {
+			int base = dia * FRANJAS_POR_DIA;
+			int primera = primeraOcupada(base, base + FRANJAS_POR_DIA);
+			if (primera >= 0) {
+				total += ultimaOcupada(base, base + FRANJAS_POR_DIA) - primera + 1;
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Cantidad de días con al menos una franja ocupada.
+	 * @return Número de días con clase
+	 */
+	public int diasConClase() {
+		int dias = 0;
+		for (int dia = 0; dia < Dia.values().length; dia++) {
+			int base = dia * FRANJAS_POR_DIA;
+			if (primeraOcupada(base, base + FRANJAS_POR_DIA) >= 0) {
+				dias++;
+			}
+		}
+		return dias;
+	}
+
+	@Override
+	public boolean equals(Object otro) {
+		if (this == otro) {
+			return true;
+		}
+		if (!(otro instanceof FranjasHorario franjas)) {
+			return false;
+		}
+		return exacta == franjas.exacta && Arrays.equals(bits, franjas.bits);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(bits) + Boolean.hashCode(exacta);
+	}
+
+	private int primeraOcupada(int desde, int hasta) {
+		for (int franja = desde; franja < hasta; ) {
+			int palabra = franja / Long.SIZE;
+			long ocupadas = bits[palabra] & (-1L << (franja % Long.SIZE));
+			if (ocupadas != 0) {
+				int posicion = palabra * Long.SIZE + Long.numberOfTrailingZeros(ocupadas);
+				return posicion < hasta ? posicion : -1;
+			}
+			franja = (palabra + 1) * Long.SIZE;
+		}
+		return -1;
+	}
+
+	private int ultimaOcupada(int desde, int hasta) {
+		for (int franja = hasta - 1; franja >= desde; ) {
+			int palabra = franja / Long.SIZE;
+			long ocupadas = bits[palabra] & (-1L >>> (Long.SIZE - 1 - franja % Long.SIZE));
+			if (ocupadas != 0) {
+				int posicion = palabra * Long.SIZE + Long.SIZE - 1 - Long.numberOfLeadingZeros(ocupadas);
+				return posicion >= desde ? posicion : -1;
+			}
+			franja = palabra * Long.SIZE - 1;
+		}
+		return -1;
+	}
+
+	private static boolean estaAlineada(LocalTime hora) {
+		return hora.getMinute() % MINUTOS_POR_FRANJA == 0 && hora.getSecond() == 0 && hora.getNano() == 0;
+	}
+
+	private static int minutoDelDia(LocalTime hora) {
+		return hora.getHour() * 60 + hora.getMinute();
+	}
+
+	private static void marcar(long[] bits, int desde, int hasta) {
+		for (int franja = desde; franja < hasta; ) {
+			int palabra = franja / Long.SIZE;
+			int inicioEnPalabra = franja % Long.SIZE;
+			int finEnPalabra = Math.min(Long.SIZE, inicioEnPalabra + (hasta - franja));
+			long mascara = finEnPalabra == Long.SIZE ? -1L << inicioEnPalabra
+					: ((1L << finEnPalabra) - 1) & (-1L << inicioEnPalabra);
+			bits[palabra] |= mascara;
+			franja += finEnPalabra - inicioEnPalabra;
+		}
+	}
+}
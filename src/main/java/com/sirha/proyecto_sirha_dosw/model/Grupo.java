@@ -4,8 +4,10 @@
  */
 package com.sirha.proyecto_sirha_dosw.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.util.ArrayList;
 import java.util.List;
@@ -38,6 +40,13 @@ public class Grupo {
 	private List<String> estudiantesId = new ArrayList<>();
 	private Profesor profesor;
 
+	// Lista de espera y revisión que se incrementa en cada cambio de cupos o de la lista
+	private List<EntradaListaEspera> listaEspera = new ArrayList<>();
+	private long revisionCupos;
+
+	@Transient
+	private FranjasHorario franjasHorario;
+
 	/**
 	 * Constructor por defecto.
 	 */
@@ -65,7 +74,10 @@ public class Grupo {
 	public List<String> getEstudiantesId() { return estudiantesId; }
 	public void setEstudiantesId(List<String> estudiantesId) { this.estudiantesId = estudiantesId; }
 	public List<Horario> getHorarios() { return horarios; }
-	public void setHorarios(List<Horario> horarios) { this.horarios = horarios; }
+	public void setHorarios(List<Horario> horarios) {
+		this.horarios = horarios;
+		this.franjasHorario = null;
+	}
 	public boolean isEstaCompleto() { return estaCompleto; }
 	public void setEstaCompleto(boolean estaCompleto) { this.estaCompleto = estaCompleto; }
 	public int getCantidadInscritos() { return cantidadInscritos; }
@@ -76,6 +88,10 @@ public class Grupo {
 	public void setId(String id) { this.id = id; }
 	public Profesor getProfesor() { return profesor; }
 	public void setProfesor(Profesor profesor) { this.profesor = profesor; }
+	public List<EntradaListaEspera> getListaEspera() { return listaEspera; }
+	public void setListaEspera(List<EntradaListaEspera> listaEspera) { this.listaEspera = listaEspera; }
+	public long getRevisionCupos() { return revisionCupos; }
+	public void setRevisionCupos(long revisionCupos) { this.revisionCupos = revisionCupos; }
 
 	/**
 	 * Agrega un estudiante al grupo si no está ya inscrito.
@@ -94,20 +110,85 @@ public class Grupo {
 
 	/**
 	 * Remueve un estudiante del grupo.
-	 * Actualiza la cantidad de inscritos y verifica si el grupo deja de estar completo.
+	 * Si hay estudiantes en la lista de espera, el cupo liberado pasa al primero de la lista;
+	 * en caso contrario se actualiza la cantidad de inscritos y el grupo deja de estar completo.
 	 * @param estudianteId ID del estudiante a remover
+	 * @return Entrada de la lista de espera que ocupó el cupo, o null si nadie lo ocupó
 	 */
-	public void removeEstudiante(String estudianteId) {
-		this.estudiantesId.remove(estudianteId);
+	public EntradaListaEspera removeEstudiante(String estudianteId) {
+		if (!this.estudiantesId.remove(estudianteId)) {
+			return null;
+		}
+		EntradaListaEspera siguiente = getSiguienteEnListaEspera();
+		if (siguiente != null) {
+			this.listaEspera.remove(siguiente);
+			this.estudiantesId.add(siguiente.getEstudianteId());
+			return siguiente;
+		}
 		this.cantidadInscritos--;
 		if (this.cantidadInscritos < this.capacidad) {
 			this.estaCompleto = false;
 		}
+		return null;
+	}
+
+	/**
+	 * Obtiene la lista de espera en orden de atención.
+	 * @return Copia ordenada de la lista de espera
+	 */
+	@JsonIgnore
+	public List<EntradaListaEspera> getListaEsperaOrdenada() {
+		List<EntradaListaEspera> ordenada = new ArrayList<>(listaEspera);
+		ordenada.sort(EntradaListaEspera.ORDEN);
+		return ordenada;
+	}
+
+	/**
+	 * Obtiene la primera entrada de la lista de espera cuyo estudiante no está inscrito.
+	 * @return Siguiente entrada a atender, o null si no hay ninguna
+	 */
+	@JsonIgnore
+	public EntradaListaEspera getSiguienteEnListaEspera() {
+		for (EntradaListaEspera entrada : getListaEsperaOrdenada()) {
+			if (!estudiantesId.contains(entrada.getEstudianteId())) {
+				return entrada;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Calcula la posición de un estudiante en la lista de espera.
+	 * @param estudianteId ID del estudiante
+	 * @return Posición empezando en 1, o 0 si el estudiante no está en la lista
+	 */
+	public int posicionEnListaEspera(String estudianteId) {
+		List<EntradaListaEspera> ordenada = getListaEsperaOrdenada();
+		for (int i = 0; i < ordenada.size(); i++) {
+			if (ordenada.get(i).getEstudianteId().equals(estudianteId)) {
+				return i + 1;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Obtiene las franjas de 15 minutos que ocupan los horarios del grupo.
+	 * Se calculan en el primer uso y se recalculan al reemplazar los horarios.
+	 * @return Franjas ocupadas por el grupo
+	 */
+	@JsonIgnore
+	public FranjasHorario getFranjasHorario() {
+		if (franjasHorario == null) {
+			franjasHorario = FranjasHorario.de(horarios);
+		}
+		return franjasHorario;
 	}
 
 	/**
 	 * Verifica si este grupo tiene cruce de horarios con otro grupo.
-	 * Compara todos los horarios de ambos grupos para detectar superposiciones.
+	 * Compara las franjas de ambos grupos y solo recurre a los horarios cuando alguno
+	 * no está alineado a franjas de 15 minutos.
 	 * @param otroGrupo Grupo a comparar
 	 * @return true si hay cruce de horarios, false en caso contrario
 	 */
@@ -115,8 +196,20 @@ public class Grupo {
 		if (otroGrupo == null || this.horarios == null || otroGrupo.getHorarios() == null) {
 			return false;
 		}
+		FranjasHorario propias = getFranjasHorario();
+		FranjasHorario otras = otroGrupo.getFranjasHorario();
+		if (!propias.seCruzaCon(otras)) {
+			return false;
+		}
+		return (propias.esExacta() && otras.esExacta()) || compararHorarios(otroGrupo);
+	}
 
-		// Comparar cada horario de este grupo con cada horario del otro grupo
+	/**
+	 * Compara cada horario de este grupo con cada horario del otro grupo.
+	 * @param otroGrupo Grupo a comparar
+	 * @return true si algún par de horarios se superpone
+	 */
+	boolean compararHorarios(Grupo otroGrupo) {
 		for (Horario horario1 : this.horarios) {
 			for (Horario horario2 : otroGrupo.getHorarios()) {
 				if (horario1.tieneCruceConHorario(horario2)) {
@@ -0,0 +1,68 @@
+/**
+ * Proyección reducida de un {@link Grupo} que se embebe en los registros de materias
+ * de los estudiantes y en las solicitudes.
+ * Solo conserva los datos estables del grupo (identificador, materia y horarios); la
+ * ocupación, la lista de inscritos y el profesor se consultan siempre en la colección
+ * de grupos para no duplicarlos en cada documento.
+ */
+package com.sirha.proyecto_sirha_dosw.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GrupoResumen {
+	// Campos
+	private String id;
+	private Materia materia;
+	private List<Horario> horarios = new ArrayList<>();
+
+	/**
+	 * Constructor por defecto.
+	 */
+	public GrupoResumen() {
+		// Requerido por el mapeo de Spring Data y Jackson
+	}
+
+	/**
+	 * Constructor con todos los campos.
+	 * @param id Identificador del grupo
+	 * @param materia Materia del grupo
+	 * @param horarios Horarios del grupo
+	 */
+	public GrupoResumen(String id, Materia materia, List<Horario> horarios) {
+		this.id = id;
+		this.materia = materia;
+		this.horarios = horarios;
+	}
+
+	/**
+	 * Construye la proyección a partir de un grupo completo.
+	 * @param grupo Grupo de origen, puede ser nulo
+	 * @return Proyección del grupo o {@code null} si el grupo es nulo
+	 */
+	public static GrupoResumen de(Grupo grupo) {
+		if (grupo == null) {
+			return null;
+		}
+		return new GrupoResumen(grupo.getId(), grupo.getMateria(), grupo.getHorarios());
+	}
+
+	/**
+	 * Construye un {@link Grupo} con los datos de la proyección. Los datos de ocupación
+	 * del grupo resultante no son significativos; para ellos debe resolverse el grupo completo.
+	 * @return Grupo con identificador, materia y horarios
+	 */
+	public Grupo aGrupo() {
+		Grupo grupo = new Grupo(materia, 0, horarios);
+		grupo.setId(id);
+		return grupo;
+	}
+
+	// Getters y setters con documentación básica
+	public String getId() { return id; }
+	public void setId(String id) { this.id = id; }
+	public Materia getMateria() { return materia; }
+	public void setMateria(Materia materia) { this.materia = materia; }
+	public List<Horario> getHorarios() { return horarios; }
+	public void setHorarios(List<Horario> horarios) { this.horarios = horarios; }
+}
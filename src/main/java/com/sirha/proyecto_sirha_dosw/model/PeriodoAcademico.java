@@ -0,0 +1,57 @@
+/**
+ * Calendario académico y plazo de solicitudes configurados por el decano de una facultad.
+ * Un documento por facultad; los campos de un rango que no se ha configurado quedan en null.
+ */
+package com.sirha.proyecto_sirha_dosw.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+
+@Document(collection = "periodosAcademicos")
+public class PeriodoAcademico {
+	// Campos
+	@Id
+	private String id;
+	private Facultad facultad;
+	private LocalDate inicioCalendario;
+	private LocalDate finCalendario;
+	private LocalDate inicioPlazoSolicitudes;
+	private LocalDate finPlazoSolicitudes;
+
+	/**
+	 * Constructor por defecto.
+	 */
+	public PeriodoAcademico() {
+		// Requerido por el mapeo de Spring Data
+	}
+
+	/**
+	 * Identificador del documento de una facultad.
+	 * @param facultad Facultad del periodo
+	 * @return nombre de la facultad
+	 */
+	public static String idDe(Facultad facultad) {
+		return facultad.name();
+	}
+
+	// Getters y Setters
+	public String getId() { return id; }
+	public void setId(String id) { this.id = id; }
+
+	public Facultad getFacultad() { return facultad; }
+	public void setFacultad(Facultad facultad) { this.facultad = facultad; }
+
+	public LocalDate getInicioCalendario() { return inicioCalendario; }
+	public void setInicioCalendario(LocalDate inicioCalendario) { this.inicioCalendario = inicioCalendario; }
+
+	public LocalDate getFinCalendario() { return finCalendario; }
+	public void setFinCalendario(LocalDate finCalendario) { this.finCalendario = finCalendario; }
+
+	public LocalDate getInicioPlazoSolicitudes() { return inicioPlazoSolicitudes; }
+	public void setInicioPlazoSolicitudes(LocalDate inicioPlazoSolicitudes) { this.inicioPlazoSolicitudes = inicioPlazoSolicitudes; }
+
+	public LocalDate getFinPlazoSolicitudes() { return finPlazoSolicitudes; }
+	public void setFinPlazoSolicitudes(LocalDate finPlazoSolicitudes) { this.finPlazoSolicitudes = finPlazoSolicitudes; }
+}
@@ -1,20 +1,29 @@
 /**
  * Clase que representa el registro de una materia en un semestre específico.
  * Contiene información sobre el estado del registro y el grupo asociado.
+ * En la base de datos solo se guarda la proyección {@link GrupoResumen} del grupo;
+ * el grupo completo puede resolverse en lote con {@link #resolverGrupo(Grupo)}.
  */
 package com.sirha.proyecto_sirha_dosw.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.springframework.data.annotation.Transient;
+
 public class RegistroMaterias {
 	// Campos
 	private Semaforo estado;
-	private Grupo grupo;
+	private GrupoResumen grupo;
+
+	@Transient
+	private Grupo grupoResuelto;
 
 	/**
 	 * Constructor por defecto.
 	 */
 	public RegistroMaterias(Grupo grupo) {
 		this.estado = Semaforo.AZUL; // Estado inicial
-		this.grupo = grupo; // Grupo asignado
+		asignarGrupo(grupo); // Grupo asignado
 	}
 
 	public RegistroMaterias() {
@@ -38,11 +47,16 @@ public class RegistroMaterias {
 	}
 
 	/**
-	 * Obtiene el grupo asociado al registro.
+	 * Obtiene el grupo asociado al registro. Si el grupo no ha sido resuelto se
+	 * construye a partir de su proyección (identificador, materia y horarios).
 	 * @return Grupo de la materia
 	 */
+	@JsonIgnore
 	public Grupo getGrupo() {
-		return grupo;
+		if (grupoResuelto == null && grupo != null) {
+			grupoResuelto = grupo.aGrupo();
+		}
+		return grupoResuelto;
 	}
 
 	/**
@@ -50,7 +64,38 @@ public class RegistroMaterias {
 	 * @param grupo Grupo de la materia
 	 */
 	public void setGrupo(Grupo grupo) {
-		this.grupo = grupo;
+		asignarGrupo(grupo);
 		this.estado = Semaforo.AZUL;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Obtiene la proyección del grupo que se almacena en la base de datos.
+	 * @return Proyección del grupo
+	 */
+	@JsonProperty("grupo")
+	public GrupoResumen getGrupoResumen() {
+		return grupo;
+	}
+
+	/**
+	 * Obtiene el identificador del grupo asociado.
+	 * @return Identificador del grupo o {@code null} si no hay grupo
+	 */
+	@JsonIgnore
+	public String getGrupoId() {
+		return grupo != null ? grupo.getId() : null;
+	}
+
+	/**
+	 * Asocia el grupo completo obtenido de la colección de grupos sin modificar la proyección.
+	 * @param grupoCompleto Grupo completo con el mismo identificador
+	 */
+	public void resolverGrupo(Grupo grupoCompleto) {
+		this.grupoResuelto = grupoCompleto;
+	}
+
+	private void asignarGrupo(Grupo grupo) {
+		this.grupo = GrupoResumen.de(grupo);
+		this.grupoResuelto = grupo;
+	}
+}
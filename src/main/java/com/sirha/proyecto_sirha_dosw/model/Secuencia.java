@@ -0,0 +1,32 @@
+/**
+ * Secuencia numérica persistente, compartida por todas las instancias de la aplicación.
+ * Guarda el último número entregado; las instancias reservan bloques de números con un
+ * único {@code $inc} y los entregan desde memoria. Las concesiones de tareas periódicas
+ * usan la misma colección y guardan en {@code valor} el instante en que vencen.
+ */
+package com.sirha.proyecto_sirha_dosw.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "secuencias")
+public class Secuencia {
+	// Campos
+	@Id
+	private String id;
+	private long valor;
+
+	/**
+	 * Constructor por defecto.
+	 */
+	public Secuencia() {
+		// Requerido por el mapeo de Spring Data
+	}
+
+	// Getters y Setters
+	public String getId() { return id; }
+	public void setId(String id) { this.id = id; }
+
+	public long getValor() { return valor; }
+	public void setValor(long valor) { this.valor = valor; }
+}
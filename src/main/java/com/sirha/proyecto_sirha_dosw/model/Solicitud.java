@@ -1,11 +1,16 @@
 /**
  * Clase que representa una solicitud en el sistema.
  * Puede ser de diferentes tipos: inscripción, cambio o cancelación de grupo.
+ * Los grupos problema y destino se almacenan como {@link GrupoResumen}; los grupos
+ * completos pueden resolverse en lote con {@link #resolverGrupos(Grupo, Grupo)}.
  */
 package com.sirha.proyecto_sirha_dosw.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 
@@ -17,9 +22,9 @@ public class Solicitud {
 
 	private String estudianteId;
 	private TipoSolicitud tipoSolicitud;
-	private Grupo grupoProblema;
+	private GrupoResumen grupoProblema;
 	private Materia materiaProblema;
-	private Grupo grupoDestino;
+	private GrupoResumen grupoDestino;
 	private Materia materiaDestino;
 	private String observaciones;
 	private String respuesta;
@@ -36,6 +41,11 @@ public class Solicitud {
 
 	private Facultad facultad;
 
+	@Transient
+	private Grupo grupoProblemaResuelto;
+	@Transient
+	private Grupo grupoDestinoResuelto;
+
 	/**
 	 * Constructor por defecto. Inicializa el estado como PENDIENTE.
 	 */
@@ -50,12 +60,8 @@ public class Solicitud {
 	public void setEstudianteId(String estudianteId) { this.estudianteId = estudianteId; }
 	public TipoSolicitud getTipoSolicitud() { return tipoSolicitud; }
 	public void setTipoSolicitud(TipoSolicitud tipoSolicitud) { this.tipoSolicitud = tipoSolicitud; }
-	public Grupo getGrupoProblema() { return grupoProblema; }
-	public void setGrupoProblema(Grupo grupoProblema) { this.grupoProblema = grupoProblema; }
 	public Materia getMateriaProblema() { return materiaProblema; }
 	public void setMateriaProblema(Materia materiaProblema) { this.materiaProblema = materiaProblema; }
-	public Grupo getGrupoDestino() { return grupoDestino; }
-	public void setGrupoDestino(Grupo grupoDestino) { this.grupoDestino = grupoDestino; }
 	public Materia getMateriaDestino() { return materiaDestino; }
 	public void setMateriaDestino(Materia materiaDestino) { this.materiaDestino = materiaDestino; }
 	public String getObservaciones() { return observaciones; }
@@ -76,4 +82,80 @@ public class Solicitud {
 	public void setPrioridad(Integer prioridad) { this.prioridad = prioridad; }
 	public Facultad getFacultad() { return facultad; }
 	public void setFacultad(Facultad facultad) { this.facultad = facultad; }
+
+	/**
+	 * Obtiene el grupo problema. Si no ha sido resuelto se construye a partir de su proyección.
+	 * @return Grupo problema o {@code null}
+	 */
+	@JsonIgnore
+	public Grupo getGrupoProblema() {
+		if (grupoProblemaResuelto == null && grupoProblema != null) {
+			grupoProblemaResuelto = grupoProblema.aGrupo();
+		}
+		return grupoProblemaResuelto;
+	}
+
+	/**
+	 * Establece el grupo problema; solo su proyección se almacena en la base de datos.
+	 * @param grupoProblema Grupo problema
+	 */
+	public void setGrupoProblema(Grupo grupoProblema) {
+		this.grupoProblema = GrupoResumen.de(grupoProblema);
+		this.grupoProblemaResuelto = grupoProblema;
+	}
+
+	/**
+	 * Obtiene el grupo destino. Si no ha sido resuelto se construye a partir de su proyección.
+	 * @return Grupo destino o {@code null}
+	 */
+	@JsonIgnore
+	public Grupo getGrupoDestino() {
+		if (grupoDestinoResuelto == null && grupoDestino != null) {
+			grupoDestinoResuelto = grupoDestino.aGrupo();
+		}
+		return grupoDestinoResuelto;
+	}
+
+	/**
+	 * Establece el grupo destino; solo su proyección se almacena en la base de datos.
+	 * @param grupoDestino Grupo destino
+	 */
+	public void setGrupoDestino(Grupo grupoDestino) {
+		this.grupoDestino = GrupoResumen.de(grupoDestino);
+		this.grupoDestinoResuelto = grupoDestino;
+	}
+
+	@JsonProperty("grupoProblema")
+	public GrupoResumen getGrupoProblemaResumen() { return grupoProblema; }
+	@JsonProperty("grupoDestino")
+	public GrupoResumen getGrupoDestinoResumen() { return grupoDestino; }
+
+	/**
+	 * Obtiene el identificador del grupo problema.
+	 * @return Identificador o {@code null}
+	 */
+	@JsonIgnore
+	public String getGrupoProblemaId() { return grupoProblema != null ? grupoProblema.getId() : null; }
+
+	/**
+	 * Obtiene el identificador del grupo destino.
+	 * @return Identificador o {@code null}
+	 */
+	@JsonIgnore
+	public String getGrupoDestinoId() { return grupoDestino != null ? grupoDestino.getId() : null; }
+
+	/**
+	 * Asocia los grupos completos obtenidos de la colección de grupos sin modificar las proyecciones.
+	 * Un valor nulo conserva el grupo construido a partir de la proyección.
+	 * @param problema Grupo problema completo
+	 * @param destino Grupo destino completo
+	 */
+	public void resolverGrupos(Grupo problema, Grupo destino) {
+		if (problema != null) {
+			this.grupoProblemaResuelto = problema;
+		}
+		if (destino != null) {
+			this.grupoDestinoResuelto = destino;
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.sirha.proyecto_sirha_dosw.model.support;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Rango inmutable de fechas con ambos extremos incluidos.
+ * @param fechaInicio primer día del rango
+ * @param fechaFin último día del rango
+ */
+public record RangoFechas(LocalDate fechaInicio, LocalDate fechaFin) {
+
+    public RangoFechas {
+        Objects.requireNonNull(fechaInicio, "fechaInicio");
+        Objects.requireNonNull(fechaFin, "fechaFin");
+    }
+
+    /**
+     * Indica si una fecha cae dentro del rango.
+     * @param fecha fecha a evaluar
+     * @return true si {@code fechaInicio <= fecha <= fechaFin}
+     */
+    public boolean estaEnPlazo(LocalDate fecha) {
+        Objects.requireNonNull(fecha, "fecha");
+        return !fecha.isBefore(fechaInicio) && !fecha.isAfter(fechaFin);
+    }
+
+    /**
+     * Indica si este rango queda completamente dentro de otro.
+     * @param otro rango contenedor
+     * @return true si ambos extremos están dentro de {@code otro}
+     */
+    public boolean estaDentroDe(RangoFechas otro) {
+        return otro.estaEnPlazo(fechaInicio) && otro.estaEnPlazo(fechaFin);
+    }
+}
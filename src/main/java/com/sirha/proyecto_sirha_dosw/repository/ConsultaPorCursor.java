@@ -0,0 +1,54 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas que recorren una colección completa ordenada por {@code _id}, compartidas por los
+ *          repositorios personalizados.
+ * La paginación es por llave (keyset): cada página empieza después del último id de la anterior,
+ *          por lo que su costo no crece con el número de página y los documentos insertados o
+ *          borrados mientras se recorre no desplazan a los demás.
+ */
+final class ConsultaPorCursor {
+
+    static final int TAMANO_LOTE_CURSOR = 500;
+    private static final String ID = "id";
+
+    private ConsultaPorCursor() {
+    }
+
+    /**
+     * Consulta una página ordenada por id.
+     * @param mongoTemplate plantilla de acceso a MongoDB
+     * @param query filtros y proyección de la consulta; se modifica
+     * @param tipo clase de los documentos
+     * @param despuesDeId id del último documento de la página anterior, o {@code null} para la primera
+     * @param limite cantidad máxima de documentos
+     * @return documentos con id mayor que {@code despuesDeId}, en orden ascendente de id
+     */
+    static <T> List<T> pagina(MongoTemplate mongoTemplate, Query query, Class<T> tipo, String despuesDeId, int limite) {
+        if (despuesDeId != null) {
+            query.addCriteria(Criteria.where(ID).gt(despuesDeId));
+        }
+        query.with(Sort.by(Sort.Direction.ASC, ID)).limit(limite);
+        return mongoTemplate.find(query, tipo);
+    }
+
+    /**
+     * Abre un cursor sobre los documentos, ordenados por id. El flujo debe cerrarse para liberar el cursor.
+     * @param mongoTemplate plantilla de acceso a MongoDB
+     * @param query filtros y proyección de la consulta; se modifica
+     * @param tipo clase de los documentos
+     * @return flujo perezoso que trae los documentos en lotes de {@link #TAMANO_LOTE_CURSOR}
+     */
+    static <T> Stream<T> flujo(MongoTemplate mongoTemplate, Query query, Class<T> tipo) {
+        query.with(Sort.by(Sort.Direction.ASC, ID)).cursorBatchSize(TAMANO_LOTE_CURSOR);
+        return mongoTemplate.stream(query, tipo);
+    }
+}
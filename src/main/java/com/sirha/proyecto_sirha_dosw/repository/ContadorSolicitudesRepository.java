@@ -0,0 +1,14 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.sirha.proyecto_sirha_dosw.model.ContadorSolicitudes;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de los contadores incrementales de solicitudes.
+ * Las actualizaciones atómicas se definen en {@link ContadorSolicitudesRepositoryCustom}.
+ */
+@Repository
+public interface ContadorSolicitudesRepository extends MongoRepository<ContadorSolicitudes, String>,
+        ContadorSolicitudesRepositoryCustom {
+}
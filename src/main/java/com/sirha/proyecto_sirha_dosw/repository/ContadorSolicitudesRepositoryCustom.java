@@ -0,0 +1,64 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepositoryCustom.ConteoSolicitudes;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operaciones atómicas sobre los contadores de solicitudes. Cada par facultad y tipo vive
+ *          en un único documento, de modo que una transición de estado es un solo {@code $inc}.
+ */
+public interface ContadorSolicitudesRepositoryCustom {
+
+    /**
+     * Registra una solicitud nueva en el estado indicado.
+     * @param facultad facultad de la solicitud.
+     * @param tipoSolicitud tipo de la solicitud.
+     * @param estado estado inicial de la solicitud.
+     */
+    void registrarCreacion(Facultad facultad, TipoSolicitud tipoSolicitud, SolicitudEstado estado);
+
+    /**
+     * Mueve una solicitud de un estado a otro en una sola actualización del documento.
+     * @param facultad facultad de la solicitud.
+     * @param tipoSolicitud tipo de la solicitud.
+     * @param anterior estado anterior.
+     * @param nuevo estado nuevo.
+     */
+    void registrarTransicion(Facultad facultad, TipoSolicitud tipoSolicitud, SolicitudEstado anterior,
+                             SolicitudEstado nuevo);
+
+    /**
+     * Suma a los contadores de una facultad y un tipo las diferencias indicadas por estado.
+     * @param facultad facultad de los contadores.
+     * @param tipoSolicitud tipo de los contadores.
+     * @param diferencias cantidad a sumar (o restar, si es negativa) a cada estado.
+     */
+    void ajustar(Facultad facultad, TipoSolicitud tipoSolicitud, Map<SolicitudEstado, Long> diferencias);
+
+    /**
+     * Fija el contador de un estado en el valor esperado solo si conserva el valor leído, de modo
+     *          que una corrección repetida por otra instancia, o una solicitud registrada entretanto,
+     *          no se sume dos veces.
+     * @param facultad facultad del contador.
+     * @param tipoSolicitud tipo del contador.
+     * @param estado estado a corregir.
+     * @param registrado valor leído del contador.
+     * @param esperado valor que debe quedar.
+     * @return true si el contador se corrigió, false si ya no tenía el valor leído.
+     */
+    boolean corregir(Facultad facultad, TipoSolicitud tipoSolicitud, SolicitudEstado estado, long registrado,
+                     long esperado);
+
+    /**
+     * Lee los contadores como celdas del cubo facultad × tipo × estado.
+     * @param facultad facultad a consultar, o {@code null} para todas.
+     * @param tipoSolicitud tipo a consultar, o {@code null} para todos.
+     * @return celdas con cantidad distinta de cero.
+     */
+    List<ConteoSolicitudes> obtenerConteos(Facultad facultad, TipoSolicitud tipoSolicitud);
+}
@@ -0,0 +1,112 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.mongodb.client.result.UpdateResult;
+import com.sirha.proyecto_sirha_dosw.model.ContadorSolicitudes;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepositoryCustom.ConteoSolicitudes;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación de {@link ContadorSolicitudesRepositoryCustom} basada en {@link MongoTemplate}.
+ */
+public class ContadorSolicitudesRepositoryCustomImpl implements ContadorSolicitudesRepositoryCustom {
+
+    private static final String POR_ESTADO = "porEstado.";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param mongoTemplate plantilla de acceso a MongoDB.
+     */
+    public ContadorSolicitudesRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void registrarCreacion(Facultad facultad, TipoSolicitud tipoSolicitud, SolicitudEstado estado) {
+        Map<SolicitudEstado, Long> diferencias = new EnumMap<>(SolicitudEstado.class);
+        diferencias.put(estado, 1L);
+        ajustar(facultad, tipoSolicitud, diferencias);
+    }
+
+    @Override
+    public void registrarTransicion(Facultad facultad, TipoSolicitud tipoSolicitud, SolicitudEstado anterior,
+                                    SolicitudEstado nuevo) {
+        if (anterior == nuevo) {
+            return;
+        }
+        Map<SolicitudEstado, Long> diferencias = new EnumMap<>(SolicitudEstado.class);
+        diferencias.put(anterior, -1L);
+        diferencias.put(nuevo, 1L);
+        ajustar(facultad, tipoSolicitud, diferencias);
+    }
+
+    @Override
+    public void ajustar(Facultad facultad, TipoSolicitud tipoSolicitud, Map<SolicitudEstado, Long> diferencias) {
+        if (facultad == null || tipoSolicitud == null || diferencias.isEmpty()) {
+            return;
+        }
+        Update update = new Update()
+                .setOnInsert("facultad", facultad)
+                .setOnInsert("tipoSolicitud", tipoSolicitud);
+        diferencias.forEach((estado, diferencia) -> update.inc(POR_ESTADO + estado.name(), diferencia));
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(ContadorSolicitudes.idDe(facultad, tipoSolicitud))),
+                update, ContadorSolicitudes.class);
+    }
+
+    @Override
+    public boolean corregir(Facultad facultad, TipoSolicitud tipoSolicitud, SolicitudEstado estado, long registrado,
+                            long esperado) {
+        String campo = POR_ESTADO + estado.name();
+        Criteria criterio = Criteria.where("_id").is(ContadorSolicitudes.idDe(facultad, tipoSolicitud));
+        // Un contador en cero puede no tener el campo, o no existir el documento
+        criterio = registrado == 0 ? criterio.and(campo).in(0L, null) : criterio.and(campo).is(registrado);
+        Update update = new Update()
+                .set(campo, esperado)
+                .setOnInsert("facultad", facultad)
+                .setOnInsert("tipoSolicitud", tipoSolicitud);
+        try {
+            UpdateResult resultado = registrado == 0
+                    ? mongoTemplate.upsert(Query.query(criterio), update, ContadorSolicitudes.class)
+                    : mongoTemplate.updateFirst(Query.query(criterio), update, ContadorSolicitudes.class);
+            return resultado.getMatchedCount() > 0 || resultado.getUpsertedId() != null;
+        } catch (DuplicateKeyException e) {
+            // El documento existe con otro valor: el upsert intentó insertar el mismo _id
+            return false;
+        }
+    }
+
+    @Override
+    public List<ConteoSolicitudes> obtenerConteos(Facultad facultad, TipoSolicitud tipoSolicitud) {
+        Query query = new Query();
+        if (facultad != null) {
+            query.addCriteria(Criteria.where("facultad").is(facultad));
+        }
+        if (tipoSolicitud != null) {
+            query.addCriteria(Criteria.where("tipoSolicitud").is(tipoSolicitud));
+        }
+        List<ConteoSolicitudes> conteos = new ArrayList<>();
+        for (ContadorSolicitudes contador : mongoTemplate.find(query, ContadorSolicitudes.class)) {
+            for (SolicitudEstado estado : SolicitudEstado.values()) {
+                long cantidad = contador.cantidad(estado);
+                if (cantidad != 0) {
+                    conteos.add(new ConteoSolicitudes(contador.getFacultad(), contador.getTipoSolicitud(), estado,
+                            cantidad));
+                }
+            }
+        }
+        return conteos;
+    }
+}
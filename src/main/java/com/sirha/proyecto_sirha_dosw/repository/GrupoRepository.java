@@ -7,15 +7,17 @@ import com.sirha.proyecto_sirha_dosw.model.Profesor;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Repositorio para la entidad {@link Grupo}.
  * Extiende de {@link MongoRepository}, lo que permite realizar operaciones CRUD,
- *          sobre la colección de grupos en MongoDB.
+ *          sobre la colección de grupos en MongoDB, y de {@link GrupoRepositoryCustom}
+ *          para las reservas atómicas de cupos.
  */
 @Repository
-public interface GrupoRepository extends MongoRepository<Grupo, String> {
+public interface GrupoRepository extends MongoRepository<Grupo, String>, GrupoRepositoryCustom {
 
     /**
      * Busca todos los grupos asociados a una materia específica.
@@ -71,4 +73,11 @@ public interface GrupoRepository extends MongoRepository<Grupo, String> {
      */
     List<Grupo> findByMateria_Facultad(Facultad facultad);
 
+    /**
+     * Busca los grupos con cupos disponibles de las materias indicadas por acrónimo.
+     * @param acronimos acrónimos de las materias
+     * @return lista de grupos no completos de esas materias
+     */
+    List<Grupo> findByMateria_AcronimoInAndEstaCompletoFalse(Collection<String> acronimos);
+
 }
\ No newline at end of file
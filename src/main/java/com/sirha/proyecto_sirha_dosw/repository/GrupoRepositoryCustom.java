@@ -0,0 +1,149 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.sirha.proyecto_sirha_dosw.model.EntradaListaEspera;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.Horario;
+import com.sirha.proyecto_sirha_dosw.model.Materia;
+import com.sirha.proyecto_sirha_dosw.model.Profesor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Operaciones atómicas sobre la colección de grupos que no pueden expresarse
+ *          con los métodos derivados de {@link GrupoRepository}, y recorridos de la
+ *          colección completa por páginas o con un cursor.
+ */
+public interface GrupoRepositoryCustom {
+
+    /**
+     * Reserva un cupo en el grupo para el estudiante con una única operación
+     *          condicional (findAndModify), sin lectura previa del documento.
+     * La actualización solo se aplica si el estudiante no está inscrito y
+     *          {@code cantidadInscritos < capacidad}.
+     * @param grupoId identificador del grupo.
+     * @param estudianteId identificador del estudiante.
+     * @return el grupo con la ocupación resultante, o vacío si el grupo no existe,
+     *          está lleno o el estudiante ya estaba inscrito.
+     */
+    Optional<Grupo> reservarCupo(String grupoId, String estudianteId);
+
+    /**
+     * Reserva a la vez un cupo para cada estudiante con una única operación condicional.
+     * Se aplica todo o nada: solo si ninguno está inscrito y caben todos en el grupo.
+     * @param grupoId identificador del grupo.
+     * @param estudiantesId identificadores de los estudiantes, sin repetidos.
+     * @return el grupo con la ocupación resultante, o vacío si no se cumplió la condición.
+     */
+    Optional<Grupo> reservarCupos(String grupoId, Collection<String> estudiantesId);
+
+    /**
+     * Resultado de liberar un cupo.
+     * @param grupo grupo con la ocupación resultante.
+     * @param promovida entrada de la lista de espera que ocupó el cupo, o {@code null} si el cupo quedó libre.
+     */
+    record CupoLiberado(Grupo grupo, EntradaListaEspera promovida) {
+    }
+
+    /**
+     * Libera el cupo del estudiante en el grupo. Si hay estudiantes en la lista de espera,
+     *          el primero ocupa el cupo en la misma actualización, de modo que ninguna
+     *          reserva concurrente puede tomarlo antes.
+     * @param grupoId identificador del grupo.
+     * @param estudianteId identificador del estudiante.
+     * @return el grupo con la ocupación resultante y la entrada promovida, o vacío si el
+     *          grupo no existe o el estudiante no estaba inscrito.
+     */
+    Optional<CupoLiberado> liberarCupo(String grupoId, String estudianteId);
+
+    /**
+     * Libera a la vez los cupos de varios estudiantes con una única operación condicional.
+     * Solo se aplica si todos están inscritos y la lista de espera está vacía; si alguien
+     *          espera, cada cupo debe liberarse con {@link #liberarCupo} para promoverlo.
+     * @param grupoId identificador del grupo.
+     * @param estudiantesId identificadores de los estudiantes, sin repetidos.
+     * @return el grupo con la ocupación resultante, o vacío si no se cumplió la condición.
+     */
+    Optional<Grupo> liberarCuposSinListaEspera(String grupoId, Collection<String> estudiantesId);
+
+    /**
+     * Agrega al estudiante a la lista de espera con una única operación condicional.
+     * Solo se aplica si el grupo está lleno y el estudiante no está inscrito ni en espera.
+     * @param grupoId identificador del grupo.
+     * @param entrada entrada a agregar.
+     * @return el grupo con la lista de espera actualizada, o vacío si no se cumplió la condición.
+     */
+    Optional<Grupo> agregarAListaEspera(String grupoId, EntradaListaEspera entrada);
+
+    /**
+     * Retira al estudiante de la lista de espera del grupo.
+     * @param grupoId identificador del grupo.
+     * @param estudianteId identificador del estudiante.
+     * @return el grupo con la lista de espera actualizada, o vacío si el estudiante no estaba en espera.
+     */
+    Optional<Grupo> retirarDeListaEspera(String grupoId, String estudianteId);
+
+    /**
+     * Cambios a aplicar sobre los datos de un grupo; los campos en {@code null} no se modifican.
+     * @param materia nueva materia del grupo.
+     * @param profesor nuevo profesor del grupo.
+     * @param horarios nuevos horarios del grupo.
+     * @param capacidad nueva capacidad del grupo.
+     */
+    record CambiosGrupo(Materia materia, Profesor profesor, List<Horario> horarios, Integer capacidad) {
+    }
+
+    /**
+     * Aplica los cambios con {@code $set} sobre los campos indicados, sin reescribir el documento,
+     *          de modo que no se pierden inscripciones ni cambios concurrentes de otros campos.
+     * Si cambia la capacidad, la escritura se condiciona a la cantidad de inscritos que hay en el
+     *          servidor para calcular {@code estaCompleto} con ella, e incrementa {@code revisionCupos}.
+     * @param grupoId identificador del grupo.
+     * @param cambios campos a modificar.
+     * @return el grupo actualizado, o vacío si el grupo no existe.
+     */
+    Optional<Grupo> actualizarDatos(String grupoId, CambiosGrupo cambios);
+
+    /**
+     * Asigna o quita el profesor del grupo modificando solo ese campo.
+     * @param grupoId identificador del grupo.
+     * @param profesor profesor a asignar, o {@code null} para quitarlo.
+     * @return el grupo actualizado, o vacío si el grupo no existe.
+     */
+    Optional<Grupo> asignarProfesor(String grupoId, Profesor profesor);
+
+    /**
+     * Consulta una página de grupos ordenada por id (paginación por llave).
+     * @param despuesDeId id del último grupo de la página anterior, o {@code null} para la primera.
+     * @param limite cantidad máxima de grupos.
+     * @return grupos con id mayor que {@code despuesDeId}, en orden ascendente de id.
+     */
+    List<Grupo> buscarPagina(String despuesDeId, int limite);
+
+    /**
+     * Ocupación agregada de los grupos de una facultad.
+     * @param facultad facultad de la materia de los grupos.
+     * @param grupos cantidad de grupos.
+     * @param capacidad suma de las capacidades de los grupos.
+     * @param inscritos suma de los estudiantes inscritos en los grupos.
+     */
+    record OcupacionFacultad(Facultad facultad, long grupos, long capacidad, long inscritos) {
+    }
+
+    /**
+     * Suma la capacidad y los inscritos de los grupos por facultad de su materia con una única
+     *          agregación ({@code $group}), sin traer los documentos de los grupos.
+     * @return ocupación de cada facultad con al menos un grupo.
+     */
+    List<OcupacionFacultad> ocupacionPorFacultad();
+
+    /**
+     * Recorre con un cursor todos los grupos, ordenados por id. El flujo debe cerrarse para
+     *          liberar el cursor.
+     * @return flujo perezoso de grupos.
+     */
+    Stream<Grupo> streamGrupos();
+}
@@ -0,0 +1,284 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.sirha.proyecto_sirha_dosw.model.EntradaListaEspera;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.Profesor;
+import org.bson.Document;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de {@link GrupoRepositoryCustom} basada en {@link MongoTemplate}.
+ * Las reservas se resuelven en el servidor: la condición de capacidad y la
+ *          modificación viajan en la misma operación, por lo que no se requieren
+ *          bloqueos ni reintentos para evitar sobrecupos.
+ * Liberar un cupo con lista de espera requiere elegir al siguiente estudiante, así que
+ *          se lee el grupo y se escribe condicionado a {@code revisionCupos}; toda operación
+ *          que cambia los cupos o la lista incrementa esa revisión.
+ */
+public class GrupoRepositoryCustomImpl implements GrupoRepositoryCustom {
+
+    private static final String ID = "id";
+    private static final String ESTUDIANTES_ID = "estudiantesId";
+    private static final String CANTIDAD_INSCRITOS = "cantidadInscritos";
+    private static final String CAPACIDAD = "capacidad";
+    private static final String ESTA_COMPLETO = "estaCompleto";
+    private static final String MATERIA = "materia";
+    private static final String PROFESOR = "profesor";
+    private static final String HORARIOS = "horarios";
+    private static final String LISTA_ESPERA = "listaEspera";
+    private static final String LISTA_ESPERA_ESTUDIANTE = "listaEspera.estudianteId";
+    private static final String LISTA_ESPERA_PRIMERA = "listaEspera.0";
+    private static final String ESTUDIANTE_ID = "estudianteId";
+    private static final String REVISION_CUPOS = "revisionCupos";
+    private static final String MATERIA_FACULTAD = "materia.facultad";
+    private static final String GRUPOS = "grupos";
+    private static final int MAX_INTENTOS_LIBERACION = 32;
+    private static final int MAX_INTENTOS_CAPACIDAD = 32;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param mongoTemplate plantilla de acceso a MongoDB.
+     */
+    public GrupoRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<Grupo> reservarCupo(String grupoId, String estudianteId) {
+        Query query = new Query(Criteria.where(ID).is(grupoId).and(ESTUDIANTES_ID).ne(estudianteId))
+                .addCriteria(Criteria.expr(ComparisonOperators.valueOf(CANTIDAD_INSCRITOS).lessThan(CAPACIDAD)));
+        Update update = new Update()
+                .addToSet(ESTUDIANTES_ID, estudianteId)
+                .inc(CANTIDAD_INSCRITOS, 1)
+                .inc(REVISION_CUPOS, 1);
+        Grupo grupo = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Grupo.class);
+        if (grupo == null) {
+            return Optional.empty();
+        }
+        if (grupo.getCantidadInscritos() >= grupo.getCapacidad()) {
+            marcarCompletoSiCorresponde(grupoId);
+            grupo.setEstaCompleto(true);
+        }
+        return Optional.of(grupo);
+    }
+
+    @Override
+    public Optional<Grupo> reservarCupos(String grupoId, Collection<String> estudiantesId) {
+        if (estudiantesId.isEmpty()) {
+            return Optional.ofNullable(mongoTemplate.findById(grupoId, Grupo.class));
+        }
+        Query query = new Query(Criteria.where(ID).is(grupoId).and(ESTUDIANTES_ID).nin(estudiantesId))
+                .addCriteria(Criteria.expr(ComparisonOperators.valueOf(
+                        ArithmeticOperators.valueOf(CANTIDAD_INSCRITOS).add(estudiantesId.size()))
+                        .lessThanEqualTo(CAPACIDAD)));
+        Update update = new Update()
+                .addToSet(ESTUDIANTES_ID).each(estudiantesId.toArray())
+                .inc(CANTIDAD_INSCRITOS, estudiantesId.size())
+                .inc(REVISION_CUPOS, 1);
+        Grupo grupo = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Grupo.class);
+        if (grupo == null) {
+            return Optional.empty();
+        }
+        if (grupo.getCantidadInscritos() >= grupo.getCapacidad()) {
+            marcarCompletoSiCorresponde(grupoId);
+            grupo.setEstaCompleto(true);
+        }
+        return Optional.of(grupo);
+    }
+
+    @Override
+    public Optional<CupoLiberado> liberarCupo(String grupoId, String estudianteId) {
+        Query inscrito = new Query(Criteria.where(ID).is(grupoId).and(ESTUDIANTES_ID).is(estudianteId));
+        for (int intento = 0; intento < MAX_INTENTOS_LIBERACION; intento++) {
+            Grupo actual = mongoTemplate.findOne(inscrito, Grupo.class);
+            if (actual == null) {
+                return Optional.empty();
+            }
+            EntradaListaEspera promovida = actual.getSiguienteEnListaEspera();
+            Query sinCambios = new Query(Criteria.where(ID).is(grupoId).and(ESTUDIANTES_ID).is(estudianteId))
+                    .addCriteria(criterioRevision(actual.getRevisionCupos()));
+            Update update = new Update().inc(REVISION_CUPOS, 1);
+            if (promovida == null) {
+                update.pull(ESTUDIANTES_ID, estudianteId)
+                        .inc(CANTIDAD_INSCRITOS, -1)
+                        .set(ESTA_COMPLETO, false);
+            } else {
+                // El cupo cambia de dueño en la misma posición: la cantidad de inscritos no varía.
+                // La posición se indica explícitamente porque con dos arreglos en el filtro el
+                // operador posicional $ podría tomar el índice de la lista de espera.
+                String posicion = ESTUDIANTES_ID + "." + actual.getEstudiantesId().indexOf(estudianteId);
+                sinCambios.addCriteria(Criteria.where(posicion).is(estudianteId)
+                        .and(LISTA_ESPERA_ESTUDIANTE).is(promovida.getEstudianteId()));
+                update.set(posicion, promovida.getEstudianteId())
+                        .pull(LISTA_ESPERA, new Document(ESTUDIANTE_ID, promovida.getEstudianteId()));
+            }
+            Grupo resultado = mongoTemplate.findAndModify(sinCambios, update,
+                    FindAndModifyOptions.options().returnNew(true), Grupo.class);
+            if (resultado != null) {
+                return Optional.of(new CupoLiberado(resultado, promovida));
+            }
+        }
+        throw new OptimisticLockingFailureException(
+                "No se pudo liberar el cupo del grupo " + grupoId + " por modificaciones concurrentes");
+    }
+
+    @Override
+    public Optional<Grupo> liberarCuposSinListaEspera(String grupoId, Collection<String> estudiantesId) {
+        if (estudiantesId.isEmpty()) {
+            return Optional.ofNullable(mongoTemplate.findById(grupoId, Grupo.class));
+        }
+        Query query = new Query(Criteria.where(ID).is(grupoId)
+                .and(ESTUDIANTES_ID).all(estudiantesId)
+                .and(LISTA_ESPERA_PRIMERA).exists(false));
+        Update update = new Update()
+                .pullAll(ESTUDIANTES_ID, estudiantesId.toArray())
+                .inc(CANTIDAD_INSCRITOS, -estudiantesId.size())
+                .set(ESTA_COMPLETO, false)
+                .inc(REVISION_CUPOS, 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Grupo.class));
+    }
+
+    @Override
+    public Optional<Grupo> agregarAListaEspera(String grupoId, EntradaListaEspera entrada) {
+        Query query = new Query(Criteria.where(ID).is(grupoId)
+                .and(ESTUDIANTES_ID).ne(entrada.getEstudianteId())
+                .and(LISTA_ESPERA_ESTUDIANTE).ne(entrada.getEstudianteId()))
+                .addCriteria(Criteria.expr(ComparisonOperators.valueOf(CANTIDAD_INSCRITOS).greaterThanEqualTo(CAPACIDAD)));
+        Update update = new Update()
+                .push(LISTA_ESPERA, entrada)
+                .inc(REVISION_CUPOS, 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Grupo.class));
+    }
+
+    @Override
+    public Optional<Grupo> retirarDeListaEspera(String grupoId, String estudianteId) {
+        Query query = new Query(Criteria.where(ID).is(grupoId).and(LISTA_ESPERA_ESTUDIANTE).is(estudianteId));
+        Update update = new Update()
+                .pull(LISTA_ESPERA, new Document(ESTUDIANTE_ID, estudianteId))
+                .inc(REVISION_CUPOS, 1);
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), Grupo.class));
+    }
+
+    @Override
+    public Optional<Grupo> actualizarDatos(String grupoId, CambiosGrupo cambios) {
+        Update update = new Update();
+        if (cambios.materia() != null) {
+            update.set(MATERIA, cambios.materia());
+        }
+        if (cambios.profesor() != null) {
+            update.set(PROFESOR, cambios.profesor());
+        }
+        if (cambios.horarios() != null) {
+            update.set(HORARIOS, cambios.horarios());
+        }
+        if (cambios.capacidad() == null) {
+            if (update.getUpdateObject().isEmpty()) {
+                return Optional.ofNullable(mongoTemplate.findById(grupoId, Grupo.class));
+            }
+            return Optional.ofNullable(mongoTemplate.findAndModify(new Query(Criteria.where(ID).is(grupoId)),
+                    update, FindAndModifyOptions.options().returnNew(true), Grupo.class));
+        }
+        int capacidad = cambios.capacidad();
+        update.set(CAPACIDAD, capacidad).inc(REVISION_CUPOS, 1);
+        for (int intento = 0; intento < MAX_INTENTOS_CAPACIDAD; intento++) {
+            // estaCompleto se decide con la cantidad de inscritos del servidor: se escribe true solo
+            // si el documento sigue con inscritos >= capacidad al aplicar la actualización, y false
+            // en caso contrario. Si una reserva concurrente cambia la cantidad entre ambos intentos
+            // ninguno aplica y se repite.
+            Grupo lleno = mongoTemplate.findAndModify(
+                    new Query(Criteria.where(ID).is(grupoId).and(CANTIDAD_INSCRITOS).gte(capacidad)),
+                    update.set(ESTA_COMPLETO, true), FindAndModifyOptions.options().returnNew(true), Grupo.class);
+            if (lleno != null) {
+                return Optional.of(lleno);
+            }
+            Grupo conCupos = mongoTemplate.findAndModify(
+                    new Query(Criteria.where(ID).is(grupoId).and(CANTIDAD_INSCRITOS).lt(capacidad)),
+                    update.set(ESTA_COMPLETO, false), FindAndModifyOptions.options().returnNew(true), Grupo.class);
+            if (conCupos != null) {
+                return Optional.of(conCupos);
+            }
+            if (!mongoTemplate.exists(new Query(Criteria.where(ID).is(grupoId)), Grupo.class)) {
+                return Optional.empty();
+            }
+        }
+        throw new OptimisticLockingFailureException(
+                "No se pudo cambiar la capacidad del grupo " + grupoId + " por modificaciones concurrentes");
+    }
+
+    @Override
+    public Optional<Grupo> asignarProfesor(String grupoId, Profesor profesor) {
+        Update update = profesor == null ? new Update().unset(PROFESOR) : Update.update(PROFESOR, profesor);
+        return Optional.ofNullable(mongoTemplate.findAndModify(new Query(Criteria.where(ID).is(grupoId)),
+                update, FindAndModifyOptions.options().returnNew(true), Grupo.class));
+    }
+
+    /**
+     * Los grupos guardados antes de existir la revisión no tienen el campo; se tratan como revisión 0.
+     * @param revision revisión leída.
+     * @return criterio que exige que la revisión no haya cambiado.
+     */
+    private static Criteria criterioRevision(long revision) {
+        return revision == 0 ? Criteria.where(REVISION_CUPOS).in(0L, null) : Criteria.where(REVISION_CUPOS).is(revision);
+    }
+
+    /**
+     * Actualiza el indicador {@code estaCompleto} solo si el grupo sigue lleno;
+     *          si otro hilo liberó un cupo entretanto, la condición no se cumple y no se escribe nada.
+     * @param grupoId identificador del grupo.
+     */
+    private void marcarCompletoSiCorresponde(String grupoId) {
+        Query query = new Query(Criteria.where(ID).is(grupoId))
+                .addCriteria(Criteria.expr(ComparisonOperators.valueOf(CANTIDAD_INSCRITOS).greaterThanEqualTo(CAPACIDAD)));
+        mongoTemplate.updateFirst(query, Update.update(ESTA_COMPLETO, true), Grupo.class);
+    }
+
+    @Override
+    public List<Grupo> buscarPagina(String despuesDeId, int limite) {
+        return ConsultaPorCursor.pagina(mongoTemplate, new Query(), Grupo.class, despuesDeId, limite);
+    }
+
+    @Override
+    public List<OcupacionFacultad> ocupacionPorFacultad() {
+        Aggregation agregacion = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where(MATERIA_FACULTAD).exists(true)),
+                Aggregation.group(MATERIA_FACULTAD).count().as(GRUPOS)
+                        .sum(CAPACIDAD).as(CAPACIDAD)
+                        .sum(CANTIDAD_INSCRITOS).as(CANTIDAD_INSCRITOS));
+        return mongoTemplate.aggregate(agregacion, Grupo.class, Document.class).getMappedResults().stream()
+                .filter(doc -> doc.get("_id") != null)
+                .map(doc -> new OcupacionFacultad(Facultad.valueOf(String.valueOf(doc.get("_id"))),
+                        numero(doc, GRUPOS), numero(doc, CAPACIDAD), numero(doc, CANTIDAD_INSCRITOS)))
+                .toList();
+    }
+
+    private static long numero(Document doc, String campo) {
+        Object valor = doc.get(campo);
+        return valor instanceof Number numero ? numero.longValue() : 0L;
+    }
+
+    @Override
+    public Stream<Grupo> streamGrupos() {
+        return ConsultaPorCursor.flujo(mongoTemplate, new Query(), Grupo.class);
+    }
+}
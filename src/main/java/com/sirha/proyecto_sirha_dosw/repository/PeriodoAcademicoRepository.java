@@ -0,0 +1,14 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.sirha.proyecto_sirha_dosw.model.PeriodoAcademico;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de los calendarios académicos y plazos de solicitudes por facultad.
+ * Las actualizaciones parciales se definen en {@link PeriodoAcademicoRepositoryCustom}.
+ */
+@Repository
+public interface PeriodoAcademicoRepository extends MongoRepository<PeriodoAcademico, String>,
+        PeriodoAcademicoRepositoryCustom {
+}
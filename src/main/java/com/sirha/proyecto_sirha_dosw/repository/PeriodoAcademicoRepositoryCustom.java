@@ -0,0 +1,25 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.support.RangoFechas;
+
+/**
+ * Escrituras sobre el periodo académico de una facultad. Cada una actualiza solo su rango, con
+ *          un upsert, para que configurar el calendario no pise un plazo guardado al mismo tiempo.
+ */
+public interface PeriodoAcademicoRepositoryCustom {
+
+    /**
+     * Guarda el calendario académico de una facultad.
+     * @param facultad facultad del calendario.
+     * @param calendario fechas de inicio y fin del semestre.
+     */
+    void guardarCalendario(Facultad facultad, RangoFechas calendario);
+
+    /**
+     * Guarda el plazo de solicitudes de una facultad.
+     * @param facultad facultad del plazo.
+     * @param plazo fechas de inicio y fin para recibir solicitudes.
+     */
+    void guardarPlazoSolicitudes(Facultad facultad, RangoFechas plazo);
+}
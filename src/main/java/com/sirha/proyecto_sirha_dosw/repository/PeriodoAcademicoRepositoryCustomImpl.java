@@ -0,0 +1,45 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.PeriodoAcademico;
+import com.sirha.proyecto_sirha_dosw.model.support.RangoFechas;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Implementación de {@link PeriodoAcademicoRepositoryCustom} basada en {@link MongoTemplate}.
+ */
+public class PeriodoAcademicoRepositoryCustomImpl implements PeriodoAcademicoRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param mongoTemplate plantilla de acceso a MongoDB.
+     */
+    public PeriodoAcademicoRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void guardarCalendario(Facultad facultad, RangoFechas calendario) {
+        guardar(facultad, new Update()
+                .set("inicioCalendario", calendario.fechaInicio())
+                .set("finCalendario", calendario.fechaFin()));
+    }
+
+    @Override
+    public void guardarPlazoSolicitudes(Facultad facultad, RangoFechas plazo) {
+        guardar(facultad, new Update()
+                .set("inicioPlazoSolicitudes", plazo.fechaInicio())
+                .set("finPlazoSolicitudes", plazo.fechaFin()));
+    }
+
+    private void guardar(Facultad facultad, Update update) {
+        update.setOnInsert("facultad", facultad);
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(PeriodoAcademico.idDe(facultad))),
+                update, PeriodoAcademico.class);
+    }
+}
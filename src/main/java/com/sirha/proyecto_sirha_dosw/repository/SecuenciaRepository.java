@@ -0,0 +1,13 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.sirha.proyecto_sirha_dosw.model.Secuencia;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de las secuencias numéricas persistentes.
+ * La reserva atómica de bloques se define en {@link SecuenciaRepositoryCustom}.
+ */
+@Repository
+public interface SecuenciaRepository extends MongoRepository<Secuencia, String>, SecuenciaRepositoryCustom {
+}
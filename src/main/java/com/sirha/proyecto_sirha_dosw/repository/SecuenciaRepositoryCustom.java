@@ -0,0 +1,28 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+/**
+ * Reserva atómica de bloques de números de una secuencia persistente y concesiones que
+ *          permiten a una sola instancia ejecutar una tarea periódica.
+ */
+public interface SecuenciaRepositoryCustom {
+
+    /**
+     * Reserva los siguientes {@code tamano} números de la secuencia con un solo
+     *          {@code findAndModify}; la secuencia se crea en cero si no existe.
+     * @param nombre identificador de la secuencia.
+     * @param tamano cantidad de números a reservar, mayor que cero.
+     * @return último número del bloque reservado; el bloque es
+     *          {@code (resultado - tamano, resultado]} y ninguna otra reserva lo repite.
+     */
+    long reservarBloque(String nombre, int tamano);
+
+    /**
+     * Toma la concesión indicada si no existe o ya venció, con un solo {@code findAndModify}.
+     *          En el documento de una concesión, {@code valor} es el instante en que vence.
+     * @param nombre identificador de la concesión.
+     * @param ahora instante actual en milisegundos.
+     * @param duracionMillis tiempo durante el cual ninguna otra instancia puede tomarla.
+     * @return true si esta llamada tomó la concesión, false si otra la tiene vigente.
+     */
+    boolean tomarConcesion(String nombre, long ahora, long duracionMillis);
+}
@@ -0,0 +1,53 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.sirha.proyecto_sirha_dosw.model.Secuencia;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Implementación de {@link SecuenciaRepositoryCustom} basada en {@link MongoTemplate}.
+ */
+public class SecuenciaRepositoryCustomImpl implements SecuenciaRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param mongoTemplate plantilla de acceso a MongoDB.
+     */
+    public SecuenciaRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long reservarBloque(String nombre, int tamano) {
+        if (tamano <= 0) {
+            throw new IllegalArgumentException("El tamaño del bloque debe ser positivo: " + tamano);
+        }
+        Secuencia secuencia = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(nombre)),
+                new Update().inc("valor", tamano),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Secuencia.class);
+        return secuencia.getValor();
+    }
+
+    @Override
+    public boolean tomarConcesion(String nombre, long ahora, long duracionMillis) {
+        try {
+            Secuencia concesion = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(nombre).and("valor").lte(ahora)),
+                    Update.update("valor", ahora + duracionMillis),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    Secuencia.class);
+            return concesion != null;
+        } catch (DuplicateKeyException e) {
+            // La concesión existe y sigue vigente: el upsert intentó insertar el mismo _id
+            return false;
+        }
+    }
+}
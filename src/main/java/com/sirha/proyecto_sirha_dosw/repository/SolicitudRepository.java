@@ -8,12 +8,14 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio para la gestión de Solicitud en la base de datos MongoDB.
+ * Las agregaciones se definen en {@link SolicitudRepositoryCustom}.
  */
 @Repository
-public interface SolicitudRepository extends MongoRepository<Solicitud, String> {
+public interface SolicitudRepository extends MongoRepository<Solicitud, String>, SolicitudRepositoryCustom {
 
     /**
      * Busca todas las solicitudes asociadas a un estudiante específico.
@@ -36,6 +38,14 @@ public interface SolicitudRepository extends MongoRepository<Solicitud, String>
      */
     List<Solicitud> findByFacultad(Facultad facultad);
 
+    /**
+     * Busca una solicitud por su ID siempre que pertenezca a la facultad indicada.
+     * @param id identificador único de la solicitud.
+     * @param facultad facultad a la que debe pertenecer la solicitud.
+     * @return la {@link Solicitud} encontrada, o vacío si no existe en esa facultad.
+     */
+    Optional<Solicitud> findByIdAndFacultad(String id, Facultad facultad);
+
     /**
      * Busca todas las solicitudes asociadas a una facultad específica y un estado específico.
      * @param facultad facultad a la que pertenecen las solicitudes.
@@ -0,0 +1,91 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Solicitud;
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Consultas de agregación y escrituras en lote sobre la colección de solicitudes que se
+ *          resuelven completamente en el servidor de base de datos.
+ */
+public interface SolicitudRepositoryCustom {
+
+    /**
+     * Cantidad de solicitudes que apuntan a un mismo grupo destino.
+     * @param grupoId identificador del grupo destino.
+     * @param cantidad número de solicitudes.
+     */
+    record ConteoPorGrupo(String grupoId, long cantidad) {
+    }
+
+    /**
+     * Celda del cubo facultad × tipo × estado de las solicitudes.
+     * @param facultad facultad de la solicitud, o {@code null} si no la tiene.
+     * @param tipoSolicitud tipo de la solicitud, o {@code null} si no lo tiene.
+     * @param estado estado de la solicitud, o {@code null} si no lo tiene.
+     * @param cantidad número de solicitudes en la celda.
+     */
+    record ConteoSolicitudes(Facultad facultad, TipoSolicitud tipoSolicitud, SolicitudEstado estado, long cantidad) {
+    }
+
+    /**
+     * Cuenta las solicitudes de un tipo agrupadas por grupo destino con una única agregación
+     *          ({@code $match → $group → $sort → $limit}).
+     * @param tipoSolicitud tipo de solicitud a contar.
+     * @param facultad facultad de la materia del grupo destino, o {@code null} para todas.
+     * @param limite número máximo de grupos a retornar.
+     * @return conteos ordenados de mayor a menor; los empates se ordenan por identificador de grupo.
+     */
+    List<ConteoPorGrupo> contarPorGrupoDestino(TipoSolicitud tipoSolicitud, Facultad facultad, int limite);
+
+    /**
+     * Cuenta las solicitudes agrupadas por facultad, tipo y estado en un solo recorrido
+     *          ({@code $match → $group}). Las celdas vacías no se retornan.
+     * @param facultad facultad a la que se restringe el cubo, o {@code null} para todas.
+     * @param tipoSolicitud tipo al que se restringe el cubo, o {@code null} para todos.
+     * @return celdas no vacías del cubo.
+     */
+    List<ConteoSolicitudes> contarPorFacultadTipoYEstado(Facultad facultad, TipoSolicitud tipoSolicitud);
+
+    /**
+     * Guarda el estado, la respuesta y la fecha de resolución de varias solicitudes con una
+     *          única escritura en lote; el resto de cada documento no se modifica. Cada solicitud
+     *          se guarda solo si sigue en el estado esperado, como en {@link #registrarRespuesta}.
+     * @param solicitudes solicitudes respondidas.
+     * @param estadosEsperados estado en el que se leyó cada solicitud, por identificador.
+     * @return identificadores de las solicitudes que no se guardaron porque otra respuesta ya
+     *          cambió su estado; vacío si se guardaron todas.
+     */
+    Set<String> guardarRespuestas(Collection<Solicitud> solicitudes, Map<String, SolicitudEstado> estadosEsperados);
+
+    /**
+     * Guarda la respuesta de una solicitud solo si sigue en el estado esperado, de modo que
+     *          dos respuestas simultáneas a la misma solicitud no se apliquen ambas.
+     * @param solicitud solicitud con el nuevo estado, la respuesta y la fecha de resolución.
+     * @param estadoEsperado estado en el que se leyó la solicitud.
+     * @return {@code true} si se guardó; {@code false} si otra respuesta ya cambió su estado.
+     */
+    boolean registrarRespuesta(Solicitud solicitud, SolicitudEstado estadoEsperado);
+
+    /**
+     * Consulta una página de solicitudes ordenada por id (paginación por llave).
+     * @param despuesDeId id de la última solicitud de la página anterior, o {@code null} para la primera.
+     * @param limite cantidad máxima de solicitudes.
+     * @return solicitudes con id mayor que {@code despuesDeId}, en orden ascendente de id.
+     */
+    List<Solicitud> buscarPagina(String despuesDeId, int limite);
+
+    /**
+     * Recorre con un cursor todas las solicitudes, ordenadas por id. El flujo debe cerrarse para
+     *          liberar el cursor.
+     * @return flujo perezoso de solicitudes.
+     */
+    Stream<Solicitud> streamSolicitudes();
+}
@@ -0,0 +1,161 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Solicitud;
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de {@link SolicitudRepositoryCustom} basada en {@link MongoTemplate}.
+ */
+public class SolicitudRepositoryCustomImpl implements SolicitudRepositoryCustom {
+
+    private static final String COLECCION = "solicitudes";
+    private static final String GRUPO_DESTINO_ID = "grupoDestino._id";
+    private static final String CANTIDAD = "cantidad";
+    private static final String FACULTAD = "facultad";
+    private static final String TIPO_SOLICITUD = "tipoSolicitud";
+    private static final String ESTADO = "estado";
+    private static final String RESPUESTA = "respuesta";
+    private static final String FECHA_RESOLUCION = "fechaResolucion";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param mongoTemplate plantilla de acceso a MongoDB.
+     */
+    public SolicitudRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<ConteoPorGrupo> contarPorGrupoDestino(TipoSolicitud tipoSolicitud, Facultad facultad, int limite) {
+        if (limite <= 0) {
+            return List.of();
+        }
+        Criteria filtro = Criteria.where(TIPO_SOLICITUD).is(tipoSolicitud.name())
+                .and(GRUPO_DESTINO_ID).exists(true);
+        if (facultad != null) {
+            filtro = filtro.and("grupoDestino.materia.facultad").is(facultad.name());
+        }
+        Aggregation agregacion = Aggregation.newAggregation(
+                Aggregation.match(filtro),
+                Aggregation.group(GRUPO_DESTINO_ID).count().as(CANTIDAD),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, CANTIDAD).and(Sort.by(Sort.Direction.ASC, "_id"))),
+                Aggregation.limit(limite));
+        return mongoTemplate.aggregate(agregacion, COLECCION, Document.class).getMappedResults().stream()
+                .map(doc -> new ConteoPorGrupo(String.valueOf(doc.get("_id")),
+                        ((Number) doc.get(CANTIDAD)).longValue()))
+                .toList();
+    }
+
+    @Override
+    public List<ConteoSolicitudes> contarPorFacultadTipoYEstado(Facultad facultad, TipoSolicitud tipoSolicitud) {
+        Criteria filtro = new Criteria();
+        if (facultad != null) {
+            filtro = filtro.and(FACULTAD).is(facultad.name());
+        }
+        if (tipoSolicitud != null) {
+            filtro = filtro.and(TIPO_SOLICITUD).is(tipoSolicitud.name());
+        }
+        Aggregation agregacion = Aggregation.newAggregation(
+                Aggregation.match(filtro),
+                Aggregation.group(FACULTAD, TIPO_SOLICITUD, ESTADO).count().as(CANTIDAD));
+        return mongoTemplate.aggregate(agregacion, COLECCION, Document.class).getMappedResults().stream()
+                .map(doc -> {
+                    Document clave = (Document) doc.get("_id");
+                    return new ConteoSolicitudes(
+                            aEnum(Facultad.class, clave.getString(FACULTAD)),
+                            aEnum(TipoSolicitud.class, clave.getString(TIPO_SOLICITUD)),
+                            aEnum(SolicitudEstado.class, clave.getString(ESTADO)),
+                            ((Number) doc.get(CANTIDAD)).longValue());
+                })
+                .toList();
+    }
+
+    private static <E extends Enum<E>> E aEnum(Class<E> tipo, String valor) {
+        return valor == null ? null : Enum.valueOf(tipo, valor);
+    }
+
+    @Override
+    public Set<String> guardarRespuestas(Collection<Solicitud> solicitudes,
+                                         Map<String, SolicitudEstado> estadosEsperados) {
+        if (solicitudes.isEmpty()) {
+            return Set.of();
+        }
+        BulkOperations operaciones = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Solicitud.class);
+        Map<String, Solicitud> porId = new LinkedHashMap<>();
+        for (Solicitud solicitud : solicitudes) {
+            porId.put(solicitud.getId(), solicitud);
+            operaciones.updateOne(Query.query(Criteria.where("id").is(solicitud.getId())
+                    .and(ESTADO).is(estadosEsperados.get(solicitud.getId()))), respuesta(solicitud));
+        }
+        if (operaciones.execute().getMatchedCount() == porId.size()) {
+            return Set.of();
+        }
+
+        // El resultado del lote solo trae el total: se releen las solicitudes y se reconocen
+        // como propias las que tienen el estado y la fecha de resolución escritos
+        Set<String> noGuardadas = new LinkedHashSet<>(porId.keySet());
+        Query guardadas = Query.query(Criteria.where("id").in(porId.keySet()));
+        guardadas.fields().include(ESTADO, FECHA_RESOLUCION);
+        for (Solicitud guardada : mongoTemplate.find(guardadas, Solicitud.class)) {
+            Solicitud propia = porId.get(guardada.getId());
+            if (propia != null && guardada.getEstado() == propia.getEstado()
+                    && Objects.equals(guardada.getFechaResolucion(), aMilisegundos(propia.getFechaResolucion()))) {
+                noGuardadas.remove(guardada.getId());
+            }
+        }
+        return noGuardadas;
+    }
+
+    /**
+     * MongoDB guarda las fechas con precisión de milisegundos.
+     */
+    private static LocalDateTime aMilisegundos(LocalDateTime fecha) {
+        return fecha == null ? null : fecha.truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    @Override
+    public boolean registrarRespuesta(Solicitud solicitud, SolicitudEstado estadoEsperado) {
+        Query query = Query.query(Criteria.where("id").is(solicitud.getId()).and(ESTADO).is(estadoEsperado));
+        return mongoTemplate.updateFirst(query, respuesta(solicitud), Solicitud.class).getMatchedCount() > 0;
+    }
+
+    private static Update respuesta(Solicitud solicitud) {
+        return new Update()
+                .set(ESTADO, solicitud.getEstado())
+                .set(RESPUESTA, solicitud.getRespuesta())
+                .set(FECHA_RESOLUCION, solicitud.getFechaResolucion());
+    }
+
+    @Override
+    public List<Solicitud> buscarPagina(String despuesDeId, int limite) {
+        return ConsultaPorCursor.pagina(mongoTemplate, new Query(), Solicitud.class, despuesDeId, limite);
+    }
+
+    @Override
+    public Stream<Solicitud> streamSolicitudes() {
+        return ConsultaPorCursor.flujo(mongoTemplate, new Query(), Solicitud.class);
+    }
+}
@@ -14,7 +14,7 @@ import java.util.Optional;
  * Repositorio para la gestión de Usuario en la base de datos MongoDB.
  */
 @Repository
-public interface UsuarioRepository extends MongoRepository<Usuario, String> {
+public interface UsuarioRepository extends MongoRepository<Usuario, String>, UsuarioRepositoryCustom {
 
     /**
      * Busca un usuario por su correo electrónico.
@@ -23,28 +23,6 @@ public interface UsuarioRepository extends MongoRepository<Usuario, String> {
      */
     Optional<Usuario> findByEmail(String email);
 
-    /**
-     * Busca todos los usuarios que coincidan exactamente con el nombre indicado.
-     * @param nombre nombre del usuario.
-     * @return lista de {@link Usuario} con el nombre dado.
-     */
-    List<Usuario> findByNombre(String nombre);
-
-    /**
-     * Busca todos los usuarios que coincidan exactamente con el apellido indicado.
-     * @param apellido apellido del usuario.
-     * @return lista de {@link Usuario} con el apellido dado.
-     */
-    List<Usuario> findByApellido(String apellido);
-
-    /**
-     * Busca todos los usuarios que coincidan con un nombre y un apellido específico.
-     * @param nombre nombre del usuario.
-     * @param apellido apellido del usuario.
-     * @return lista de {@link Usuario} con el nombre y apellido dados.
-     */
-    List<Usuario> findByNombreAndApellido(String nombre, String apellido);
-
     /**
      * Busca todos los usuarios que tengan un rol específico.
      * @param rol rol del usuario (ej. 'ESTUDIANTE', 'DECANO', 'ADMINISTRADOR', 'PROFESOR')
@@ -57,16 +35,24 @@ public interface UsuarioRepository extends MongoRepository<Usuario, String> {
      * @return lista de todos los {@link Usuario}
      */
     List<Usuario> findAll();
-    @Query("{ 'facultad': ?0, 'rol': ?1 }")
-    List<Usuario> findByFacultadAndRol(Facultad facultad, Rol rol);
-    @Query("{ '_id': ?0, 'facultad': ?1, 'rol': ?2 }")
+
+    /**
+     * Busca el documento completo de un usuario por id, facultad y rol.
+     * @param id id del usuario.
+     * @param facultad facultad (campo {@code carrera}) del usuario.
+     * @param rol rol del usuario.
+     * @return el {@link Usuario}, o {@code null} si no existe.
+     */
+    @Query("{ '_id': ?0, 'carrera': ?1, 'rol': ?2 }")
     Usuario findByIdAndFacultadAndRol(String id, Facultad facultad, Rol rol);
-    @Query("{ 'email': ?0, 'facultad': ?1, 'rol': ?2 }")
+
+    /**
+     * Busca el documento completo de un usuario por email, facultad y rol.
+     * @param email email del usuario.
+     * @param facultad facultad (campo {@code carrera}) del usuario.
+     * @param rol rol del usuario.
+     * @return el {@link Usuario}, o {@code null} si no existe.
+     */
+    @Query("{ 'email': ?0, 'carrera': ?1, 'rol': ?2 }")
     Usuario findByEmailAndFacultadAndRol(String email, Facultad facultad, Rol rol);
-    @Query("{ 'nombre': ?0, 'facultad': ?1, 'rol': ?2 }")
-    List<Usuario> findByNombreAndFacultadAndRol(String nombre, Facultad facultad, Rol rol);
-    @Query("{ 'apellido': ?0, 'facultad': ?1, 'rol': ?2 }")
-    List<Usuario> findByApellidoAndFacultadAndRol(String apellido, Facultad facultad, Rol rol);
-    @Query("{ 'nombre': ?0, 'apellido': ?1, 'facultad': ?2, 'rol': ?3 }")
-    List<Usuario> findByNombreAndApellidoAndFacultadAndRol(String nombre, String apellido, Facultad facultad, Rol rol);
-}
\ No newline at end of file
+}
@@ -0,0 +1,78 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.sirha.proyecto_sirha_dosw.dto.UsuarioResumenDTO;
+import com.sirha.proyecto_sirha_dosw.model.Estudiante;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Rol;
+import com.sirha.proyecto_sirha_dosw.model.Usuario;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Consultas sobre la colección de usuarios que recorren los documentos con un cursor
+ *          en lugar de cargarlos todos en memoria, y escrituras en lote.
+ */
+public interface UsuarioRepositoryCustom {
+
+    /**
+     * Recorre con un cursor los estudiantes, trayendo solo los campos necesarios para calcular
+     *          los indicadores de avance (nombre, apellido, carrera y, por cada registro, el estado y
+     *          los créditos de la materia). El flujo debe cerrarse para liberar el cursor.
+     * @param carrera carrera de los estudiantes a recorrer, o {@code null} para todas.
+     * @return flujo perezoso de estudiantes parcialmente cargados.
+     */
+    Stream<Estudiante> streamEstudiantesParaAvance(Facultad carrera);
+
+    /**
+     * Reemplaza los documentos de varios estudiantes con una única escritura en lote.
+     * @param estudiantes estudiantes a guardar; todos deben existir previamente.
+     */
+    void guardarEstudiantes(Collection<Estudiante> estudiantes);
+
+    /**
+     * Consulta en una sola operación cuáles de los emails ya están registrados.
+     * @param emails emails a buscar.
+     * @return subconjunto de {@code emails} que ya pertenece a algún usuario.
+     */
+    Set<String> buscarEmailsExistentes(Collection<String> emails);
+
+    /**
+     * Inserta varios usuarios nuevos con una escritura en lote no ordenada: un documento
+     *          rechazado no impide insertar los demás.
+     * @param usuarios usuarios a insertar, con id asignado.
+     * @return por cada usuario rechazado, su posición en {@code usuarios} y el motivo; vacío si
+     *          se insertaron todos.
+     */
+    Map<Integer, String> insertarUsuarios(List<Usuario> usuarios);
+
+    /**
+     * Consulta una página de usuarios ordenada por id (paginación por llave), sin el hash
+     *          de la contraseña.
+     * @param despuesDeId id del último usuario de la página anterior, o {@code null} para la primera.
+     * @param limite cantidad máxima de usuarios.
+     * @return usuarios con id mayor que {@code despuesDeId}, en orden ascendente de id.
+     */
+    List<Usuario> buscarPagina(String despuesDeId, int limite);
+
+    /**
+     * Recorre con un cursor todos los usuarios, ordenados por id y sin el hash de la contraseña.
+     *          El flujo debe cerrarse para liberar el cursor.
+     * @return flujo perezoso de usuarios.
+     */
+    Stream<Usuario> streamUsuarios();
+
+    /**
+     * Busca usuarios trayendo solo los campos de {@link UsuarioResumenDTO}, sin decodificar
+     *          semestres, solicitudes ni contraseña. Los filtros en {@code null} no se aplican.
+     * @param nombre nombre exacto del usuario.
+     * @param apellido apellido exacto del usuario.
+     * @param rol rol del usuario.
+     * @param facultad facultad (campo {@code carrera}) del estudiante o decano.
+     * @return resúmenes de los usuarios que cumplen todos los filtros.
+     */
+    List<UsuarioResumenDTO> buscarResumenes(String nombre, String apellido, Rol rol, Facultad facultad);
+}
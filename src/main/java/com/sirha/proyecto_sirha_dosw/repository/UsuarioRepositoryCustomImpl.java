@@ -0,0 +1,156 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.sirha.proyecto_sirha_dosw.dto.UsuarioResumenDTO;
+import com.sirha.proyecto_sirha_dosw.model.Estudiante;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Rol;
+import com.sirha.proyecto_sirha_dosw.model.Usuario;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de {@link UsuarioRepositoryCustom} basada en {@link MongoTemplate}.
+ */
+public class UsuarioRepositoryCustomImpl implements UsuarioRepositoryCustom {
+
+    private static final String COLECCION = "usuarios";
+    private static final String PASSWORD = "password";
+    private static final String NOMBRE = "nombre";
+    private static final String APELLIDO = "apellido";
+    private static final String EMAIL = "email";
+    private static final String ROL = "rol";
+    private static final String CARRERA = "carrera";
+    private static final int TAMANO_LOTE_CURSOR = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param mongoTemplate plantilla de acceso a MongoDB.
+     */
+    public UsuarioRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Stream<Estudiante> streamEstudiantesParaAvance(Facultad carrera) {
+        Query query = new Query().restrict(Estudiante.class);
+        if (carrera != null) {
+            query.addCriteria(Criteria.where(CARRERA).is(carrera));
+        }
+        query.fields()
+                .include(NOMBRE, APELLIDO, CARRERA, "semestres.registros.estado",
+                        "semestres.registros.grupo.materia.creditos");
+        query.cursorBatchSize(TAMANO_LOTE_CURSOR);
+        return mongoTemplate.stream(query, Estudiante.class, COLECCION);
+    }
+
+    @Override
+    public void guardarEstudiantes(Collection<Estudiante> estudiantes) {
+        if (estudiantes.isEmpty()) {
+            return;
+        }
+        BulkOperations operaciones = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Estudiante.class, COLECCION);
+        for (Estudiante estudiante : estudiantes) {
+            operaciones.replaceOne(Query.query(Criteria.where("id").is(estudiante.getId())), estudiante);
+        }
+        operaciones.execute();
+    }
+
+    @Override
+    public Set<String> buscarEmailsExistentes(Collection<String> emails) {
+        Set<String> existentes = new HashSet<>();
+        if (emails.isEmpty()) {
+            return existentes;
+        }
+        Query query = Query.query(Criteria.where(EMAIL).in(emails));
+        query.fields().include(EMAIL);
+        for (Document documento : mongoTemplate.find(query, Document.class, COLECCION)) {
+            existentes.add(documento.getString(EMAIL));
+        }
+        return existentes;
+    }
+
+    @Override
+    public Map<Integer, String> insertarUsuarios(List<Usuario> usuarios) {
+        Map<Integer, String> rechazados = new LinkedHashMap<>();
+        if (usuarios.isEmpty()) {
+            return rechazados;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Usuario.class, COLECCION)
+                    .insert(usuarios)
+                    .execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                rechazados.put(error.getIndex(), error.getMessage());
+            }
+        }
+        return rechazados;
+    }
+
+    @Override
+    public List<Usuario> buscarPagina(String despuesDeId, int limite) {
+        return ConsultaPorCursor.pagina(mongoTemplate, sinPassword(), Usuario.class, despuesDeId, limite);
+    }
+
+    @Override
+    public Stream<Usuario> streamUsuarios() {
+        return ConsultaPorCursor.flujo(mongoTemplate, sinPassword(), Usuario.class);
+    }
+
+    @Override
+    public List<UsuarioResumenDTO> buscarResumenes(String nombre, String apellido, Rol rol, Facultad facultad) {
+        Query query = new Query();
+        if (nombre != null) {
+            query.addCriteria(Criteria.where(NOMBRE).is(nombre));
+        }
+        if (apellido != null) {
+            query.addCriteria(Criteria.where(APELLIDO).is(apellido));
+        }
+        if (rol != null) {
+            query.addCriteria(Criteria.where(ROL).is(rol.name()));
+        }
+        if (facultad != null) {
+            query.addCriteria(Criteria.where(CARRERA).is(facultad.name()));
+        }
+        query.fields().include(NOMBRE, APELLIDO, EMAIL, ROL, CARRERA);
+        List<UsuarioResumenDTO> resumenes = new ArrayList<>();
+        for (Document documento : mongoTemplate.find(query, Document.class, COLECCION)) {
+            resumenes.add(aResumen(documento));
+        }
+        return resumenes;
+    }
+
+    private static UsuarioResumenDTO aResumen(Document documento) {
+        String rol = documento.getString(ROL);
+        String carrera = documento.getString(CARRERA);
+        return new UsuarioResumenDTO(
+                documento.get("_id").toString(),
+                documento.getString(NOMBRE),
+                documento.getString(APELLIDO),
+                documento.getString(EMAIL),
+                rol == null ? null : Rol.valueOf(rol),
+                carrera == null ? null : Facultad.valueOf(carrera));
+    }
+
+    private static Query sinPassword() {
+        Query query = new Query();
+        query.fields().exclude(PASSWORD);
+        return query;
+    }
+}
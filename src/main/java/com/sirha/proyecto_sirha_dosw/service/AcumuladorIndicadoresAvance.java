@@ -0,0 +1,98 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.dto.IndicadoresAvanceDTO;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Semaforo;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Acumulador combinable de indicadores de avance individuales. Cada hilo llena su propio
+ * acumulador y luego se combinan, de modo que el resultado no depende del orden.
+ * El avance por facultad se guarda como suma y cantidad para obtener el promedio real.
+ */
+final class AcumuladorIndicadoresAvance {
+
+    private long estudiantes;
+    private long totalMaterias;
+    private long materiasAprobadas;
+    private long materiasEnProgreso;
+    private long materiasConProblemas;
+    private long materiasCanceladas;
+    private long creditosAprobados;
+    private long creditosTotales;
+    private double sumaPromedios;
+    private final Map<Facultad, Double> sumaAvancePorFacultad = new EnumMap<>(Facultad.class);
+    private final Map<Facultad, Long> estudiantesPorFacultad = new EnumMap<>(Facultad.class);
+
+    /**
+     * Agrega los indicadores de un estudiante.
+     * @param indicadores indicadores individuales del estudiante
+     */
+    void agregar(IndicadoresAvanceDTO indicadores) {
+        estudiantes++;
+        totalMaterias += indicadores.getTotalMaterias();
+        materiasAprobadas += indicadores.getMateriasAprobadas();
+        materiasEnProgreso += indicadores.getMateriasEnProgreso();
+        materiasConProblemas += indicadores.getMateriasConProblemas();
+        materiasCanceladas += indicadores.getMateriasCanceladas();
+        creditosAprobados += indicadores.getCreditosAprobados();
+        creditosTotales += indicadores.getCreditosTotales();
+        sumaPromedios += indicadores.getPromedioGeneral();
+        Facultad facultad = indicadores.getFacultad();
+        if (facultad != null) {
+            sumaAvancePorFacultad.merge(facultad, indicadores.getPorcentajeAvanceGeneral(), Double::sum);
+            estudiantesPorFacultad.merge(facultad, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Suma a este acumulador los valores de otro.
+     * @param otro acumulador a combinar
+     * @return este acumulador
+     */
+    AcumuladorIndicadoresAvance combinar(AcumuladorIndicadoresAvance otro) {
+        estudiantes += otro.estudiantes;
+        totalMaterias += otro.totalMaterias;
+        materiasAprobadas += otro.materiasAprobadas;
+        materiasEnProgreso += otro.materiasEnProgreso;
+        materiasConProblemas += otro.materiasConProblemas;
+        materiasCanceladas += otro.materiasCanceladas;
+        creditosAprobados += otro.creditosAprobados;
+        creditosTotales += otro.creditosTotales;
+        sumaPromedios += otro.sumaPromedios;
+        otro.sumaAvancePorFacultad.forEach((facultad, suma) -> sumaAvancePorFacultad.merge(facultad, suma, Double::sum));
+        otro.estudiantesPorFacultad.forEach((facultad, cantidad) -> estudiantesPorFacultad.merge(facultad, cantidad, Long::sum));
+        return this;
+    }
+
+    /**
+     * Escribe las estadísticas acumuladas en el DTO global.
+     * @param global DTO de estadísticas globales
+     */
+    void aplicarA(IndicadoresAvanceDTO global) {
+        global.setTotalMaterias((int) totalMaterias);
+        global.setMateriasAprobadas((int) materiasAprobadas);
+        global.setMateriasEnProgreso((int) materiasEnProgreso);
+        global.setMateriasConProblemas((int) materiasConProblemas);
+        global.setMateriasCanceladas((int) materiasCanceladas);
+        global.setCreditosAprobados((int) creditosAprobados);
+        global.setCreditosTotales((int) creditosTotales);
+        if (estudiantes > 0) {
+            global.setPromedioGeneral(sumaPromedios / estudiantes);
+        }
+
+        Map<Semaforo, Long> distribucionEstados = new EnumMap<>(Semaforo.class);
+        distribucionEstados.put(Semaforo.AZUL, materiasEnProgreso);
+        distribucionEstados.put(Semaforo.VERDE, materiasAprobadas);
+        distribucionEstados.put(Semaforo.ROJO, materiasConProblemas);
+        distribucionEstados.put(Semaforo.CANCELADO, materiasCanceladas);
+        global.setDistribucionEstados(distribucionEstados);
+
+        Map<Facultad, Double> avancePorFacultad = new EnumMap<>(Facultad.class);
+        sumaAvancePorFacultad.forEach((facultad, suma) ->
+                avancePorFacultad.put(facultad, suma / estudiantesPorFacultad.get(facultad)));
+        global.setAvancePorFacultad(avancePorFacultad);
+    }
+}
@@ -0,0 +1,210 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.model.Carrera;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Materia;
+import com.sirha.proyecto_sirha_dosw.model.Secuencia;
+import com.sirha.proyecto_sirha_dosw.repository.CarreraRepository;
+import com.sirha.proyecto_sirha_dosw.repository.MateriaRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Caché de lectura del catálogo académico ({@link Materia} y {@link Carrera}).
+ *
+ * <p>Las materias se indexan por id, acrónimo y nombre, y las carreras por código y facultad.
+ * Una consulta que no está en caché va a la base de datos y guarda el resultado bajo todas sus
+ * llaves; las búsquedas sin resultado no se guardan. Cuando se supera el tamaño máximo se
+ * descartan entradas arbitrarias.</p>
+ *
+ * <p>El catálogo cambia pocas veces por semestre, así que cada escritura llama a
+ * {@link #invalidar()}, que vacía la caché local y aumenta la versión del catálogo guardada en
+ * la colección de secuencias. Las demás instancias comparan esa versión con la suya como mucho
+ * una vez por intervalo de verificación y se vacían si cambió.</p>
+ *
+ * <p>Los objetos devueltos se comparten entre peticiones y no deben modificarse.</p>
+ */
+@Component
+public class CacheCatalogo {
+
+    static final String SECUENCIA_VERSION = "catalogo";
+
+    private static final String MATERIA_ID = "materia.id:";
+    private static final String MATERIA_ACRONIMO = "materia.acronimo:";
+    private static final String MATERIA_NOMBRE = "materia.nombre:";
+    private static final String CARRERA_CODIGO = "carrera.codigo:";
+    private static final String CARRERA_FACULTAD = "carrera.facultad:";
+
+    private final Map<String, Object> entradas = new ConcurrentHashMap<>();
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private final AtomicLong generacion = new AtomicLong();
+    private final MateriaRepository materiaRepository;
+    private final CarreraRepository carreraRepository;
+    private final SecuenciaRepository secuenciaRepository;
+    private final int maxEntradas;
+    private final long verificacionMillis;
+    private final LongSupplier reloj;
+    private volatile long version = -1;
+    private volatile long proximaVerificacion;
+
+    @Autowired
+    public CacheCatalogo(MateriaRepository materiaRepository, CarreraRepository carreraRepository,
+                         SecuenciaRepository secuenciaRepository,
+                         @Value("${sirha.catalogo.cache.max-entradas:5000}") int maxEntradas,
+                         @Value("${sirha.catalogo.cache.verificacion-ms:5000}") long verificacionMillis) {
+        this(materiaRepository, carreraRepository, secuenciaRepository, maxEntradas, verificacionMillis,
+                System::currentTimeMillis);
+    }
+
+    CacheCatalogo(MateriaRepository materiaRepository, CarreraRepository carreraRepository,
+                  SecuenciaRepository secuenciaRepository, int maxEntradas, long verificacionMillis,
+                  LongSupplier reloj) {
+        this.materiaRepository = materiaRepository;
+        this.carreraRepository = carreraRepository;
+        this.secuenciaRepository = secuenciaRepository;
+        this.maxEntradas = maxEntradas;
+        this.verificacionMillis = verificacionMillis;
+        this.reloj = reloj;
+    }
+
+    /**
+     * Busca una materia por su id.
+     * @param id identificador de la materia
+     * @return la materia, o vacío si no existe
+     */
+    public Optional<Materia> materiaPorId(String id) {
+        return buscar(MATERIA_ID + id, () -> materiaRepository.findById(id), this::guardarMateria);
+    }
+
+    /**
+     * Busca una materia por su acrónimo.
+     * @param acronimo acrónimo de la materia
+     * @return la materia, o vacío si no existe
+     */
+    public Optional<Materia> materiaPorAcronimo(String acronimo) {
+        return buscar(MATERIA_ACRONIMO + acronimo, () -> materiaRepository.findByAcronimo(acronimo), this::guardarMateria);
+    }
+
+    /**
+     * Busca una materia por su nombre completo.
+     * @param nombre nombre de la materia
+     * @return la materia, o vacío si no existe
+     */
+    public Optional<Materia> materiaPorNombre(String nombre) {
+        return buscar(MATERIA_NOMBRE + nombre, () -> materiaRepository.findByNombre(nombre), this::guardarMateria);
+    }
+
+    /**
+     * Busca una carrera por su código.
+     * @param codigo código único de la carrera
+     * @return la carrera, o vacío si no existe
+     */
+    public Optional<Carrera> carreraPorCodigo(String codigo) {
+        return buscar(CARRERA_CODIGO + codigo, () -> carreraRepository.findById(codigo), this::guardarCarrera);
+    }
+
+    /**
+     * Busca la carrera de una facultad.
+     * @param facultad facultad de la carrera
+     * @return la carrera, o vacío si no existe
+     */
+    public Optional<Carrera> carreraPorFacultad(Facultad facultad) {
+        return buscar(CARRERA_FACULTAD + facultad, () -> carreraRepository.findByNombre(facultad), this::guardarCarrera);
+    }
+
+    /**
+     * Vacía la caché de esta instancia y aumenta la versión del catálogo para que las demás
+     * instancias descarten la suya. Debe llamarse después de cada escritura sobre materias o carreras.
+     */
+    public void invalidar() {
+        version = secuenciaRepository.reservarBloque(SECUENCIA_VERSION, 1);
+        vaciar();
+    }
+
+    /**
+     * Contadores de uso de la caché desde el arranque.
+     * @return aciertos, fallos, entradas actuales y versión del catálogo conocida
+     */
+    public Estadisticas estadisticas() {
+        return new Estadisticas(aciertos.get(), fallos.get(), entradas.size(), version);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Optional<T> buscar(String clave, Supplier<Optional<T>> consulta, Consumer<T> guardar) {
+        verificarVersion();
+        Object valor = entradas.get(clave);
+        if (valor != null) {
+            aciertos.incrementAndGet();
+            return Optional.of((T) valor);
+        }
+        fallos.incrementAndGet();
+        long generacionConsulta = generacion.get();
+        Optional<T> encontrado = consulta.get();
+        // Una invalidación durante la consulta pudo dejar obsoleto el resultado
+        if (generacionConsulta == generacion.get()) {
+            encontrado.ifPresent(guardar);
+        }
+        return encontrado;
+    }
+
+    private void guardarMateria(Materia materia) {
+        liberarEspacio(3);
+        entradas.put(MATERIA_ID + materia.getId(), materia);
+        entradas.put(MATERIA_ACRONIMO + materia.getAcronimo(), materia);
+        entradas.put(MATERIA_NOMBRE + materia.getNombre(), materia);
+    }
+
+    private void guardarCarrera(Carrera carrera) {
+        liberarEspacio(2);
+        entradas.put(CARRERA_CODIGO + carrera.getCodigo(), carrera);
+        entradas.put(CARRERA_FACULTAD + carrera.getNombre(), carrera);
+    }
+
+    private void verificarVersion() {
+        long ahora = reloj.getAsLong();
+        if (ahora < proximaVerificacion) {
+            return;
+        }
+        proximaVerificacion = ahora + verificacionMillis;
+        long actual = secuenciaRepository.findById(SECUENCIA_VERSION).map(Secuencia::getValor).orElse(0L);
+        if (actual != version) {
+            version = actual;
+            vaciar();
+        }
+    }
+
+    private void vaciar() {
+        generacion.incrementAndGet();
+        entradas.clear();
+    }
+
+    private void liberarEspacio(int nuevas) {
+        Iterator<String> claves = entradas.keySet().iterator();
+        while (entradas.size() + nuevas > maxEntradas && claves.hasNext()) {
+            claves.next();
+            claves.remove();
+        }
+    }
+
+    /**
+     * Contadores de uso de la caché del catálogo.
+     * @param aciertos consultas resueltas desde memoria
+     * @param fallos consultas que fueron a la base de datos
+     * @param entradas llaves almacenadas actualmente
+     * @param version versión del catálogo con la que se llenó la caché
+     */
+    public record Estadisticas(long aciertos, long fallos, int entradas, long version) {
+    }
+}
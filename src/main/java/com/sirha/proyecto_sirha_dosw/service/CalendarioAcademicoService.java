@@ -0,0 +1,130 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.PeriodoAcademico;
+import com.sirha.proyecto_sirha_dosw.model.support.RangoFechas;
+import com.sirha.proyecto_sirha_dosw.repository.PeriodoAcademicoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Servicio que entrega el calendario académico y el plazo de solicitudes de cada facultad.
+ *
+ * <p>Los rangos se guardan en la colección {@code periodosAcademicos} y se sirven desde una
+ * instantánea inmutable con todas las facultades, que se reemplaza completa al recargar. Las
+ * consultas solo leen la referencia actual, sin bloqueos ni asignaciones de memoria. Cada
+ * instancia recarga la instantánea después de sus propias escrituras y de forma periódica, de
+ * modo que los cambios hechos en otra instancia se ven como mucho un intervalo de recarga después.</p>
+ *
+ * <p>Una facultad sin calendario guardado usa el calendario por defecto de la configuración, y
+ * una sin plazo guardado recibe solicitudes durante todo su calendario.</p>
+ */
+@Service
+public class CalendarioAcademicoService {
+
+    private record Periodo(RangoFechas calendario, RangoFechas plazoSolicitudes) {
+    }
+
+    private final PeriodoAcademicoRepository periodoAcademicoRepository;
+    private final RangoFechas calendarioPorDefecto;
+    private volatile Map<Facultad, Periodo> periodos;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param periodoAcademicoRepository repositorio de periodos académicos
+     * @param inicioPorDefecto inicio del calendario de las facultades sin configurar (ISO-8601)
+     * @param finPorDefecto fin del calendario de las facultades sin configurar (ISO-8601)
+     */
+    public CalendarioAcademicoService(PeriodoAcademicoRepository periodoAcademicoRepository,
+                                      @Value("${sirha.calendario.inicio-por-defecto:2025-07-11}") String inicioPorDefecto,
+                                      @Value("${sirha.calendario.fin-por-defecto:2025-12-17}") String finPorDefecto) {
+        this.periodoAcademicoRepository = periodoAcademicoRepository;
+        this.calendarioPorDefecto = new RangoFechas(LocalDate.parse(inicioPorDefecto), LocalDate.parse(finPorDefecto));
+    }
+
+    /**
+     * Calendario académico vigente de una facultad.
+     * @param facultad facultad a consultar
+     * @return fechas de inicio y fin del semestre
+     */
+    public RangoFechas calendario(Facultad facultad) {
+        return periodos().get(facultad).calendario();
+    }
+
+    /**
+     * Plazo vigente para crear solicitudes en una facultad.
+     * @param facultad facultad a consultar
+     * @return fechas de inicio y fin del plazo
+     */
+    public RangoFechas plazoSolicitudes(Facultad facultad) {
+        return periodos().get(facultad).plazoSolicitudes();
+    }
+
+    /**
+     * Guarda el calendario académico de una facultad y recarga la instantánea local.
+     * @param facultad facultad del calendario
+     * @param calendario nuevas fechas del semestre
+     */
+    public void configurarCalendario(Facultad facultad, RangoFechas calendario) {
+        periodoAcademicoRepository.guardarCalendario(facultad, calendario);
+        recargar();
+    }
+
+    /**
+     * Guarda el plazo de solicitudes de una facultad y recarga la instantánea local.
+     * @param facultad facultad del plazo
+     * @param plazo nuevas fechas para recibir solicitudes
+     */
+    public void configurarPlazoSolicitudes(Facultad facultad, RangoFechas plazo) {
+        periodoAcademicoRepository.guardarPlazoSolicitudes(facultad, plazo);
+        recargar();
+    }
+
+    /**
+     * Vuelve a leer los periodos de todas las facultades y reemplaza la instantánea.
+     */
+    @Scheduled(initialDelayString = "${sirha.calendario.recarga-ms:10000}",
+            fixedDelayString = "${sirha.calendario.recarga-ms:10000}")
+    public synchronized void recargar() {
+        Map<Facultad, PeriodoAcademico> guardados = new HashMap<>();
+        for (PeriodoAcademico periodo : periodoAcademicoRepository.findAll()) {
+            if (periodo.getFacultad() != null) {
+                guardados.put(periodo.getFacultad(), periodo);
+            }
+        }
+        Map<Facultad, Periodo> nuevos = new EnumMap<>(Facultad.class);
+        for (Facultad facultad : Facultad.values()) {
+            nuevos.put(facultad, aPeriodo(guardados.get(facultad)));
+        }
+        periodos = Collections.unmodifiableMap(nuevos);
+    }
+
+    private Map<Facultad, Periodo> periodos() {
+        Map<Facultad, Periodo> actuales = periodos;
+        if (actuales == null) {
+            recargar();
+            actuales = periodos;
+        }
+        return actuales;
+    }
+
+    private Periodo aPeriodo(PeriodoAcademico guardado) {
+        if (guardado == null) {
+            return new Periodo(calendarioPorDefecto, calendarioPorDefecto);
+        }
+        RangoFechas calendario = rango(guardado.getInicioCalendario(), guardado.getFinCalendario(), calendarioPorDefecto);
+        RangoFechas plazo = rango(guardado.getInicioPlazoSolicitudes(), guardado.getFinPlazoSolicitudes(), calendario);
+        return new Periodo(calendario, plazo);
+    }
+
+    private static RangoFechas rango(LocalDate inicio, LocalDate fin, RangoFechas porDefecto) {
+        return inicio == null || fin == null ? porDefecto : new RangoFechas(inicio, fin);
+    }
+}
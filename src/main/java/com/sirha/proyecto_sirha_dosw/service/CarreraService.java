@@ -24,16 +24,20 @@ public class CarreraService {
 
     private final CarreraRepository carreraRepository;
     private final MateriaRepository materiaRepository;
+    private final CacheCatalogo cacheCatalogo;
 
     /**
      * Constructor con inyección de dependencias para repositorios.
      * @param carreraRepository repositorio de {@link Carrera}
      * @param materiaRepository repositorio de {@link Materia}
+     * @param cacheCatalogo caché del catálogo, invalidada después de cada escritura
      */
     @Autowired
-    public CarreraService(CarreraRepository carreraRepository,MateriaRepository materiaRepository) {
+    public CarreraService(CarreraRepository carreraRepository,MateriaRepository materiaRepository,
+                          CacheCatalogo cacheCatalogo) {
         this.carreraRepository = carreraRepository;
         this.materiaRepository = materiaRepository;
+        this.cacheCatalogo = cacheCatalogo;
     }
 
     /**
@@ -59,7 +63,9 @@ public class CarreraService {
                 .duracionSemestres(dto.getDuracionSemestres())
                 .creditosTotales(dto.getCreditosTotales())
                 .build();
-        return carreraRepository.insert(carrera);
+        Carrera registrada = carreraRepository.insert(carrera);
+        cacheCatalogo.invalidar();
+        return registrada;
    }
 
     /**
@@ -102,6 +108,7 @@ public class CarreraService {
         Carrera carrera = carreraOpt.get();
         carrera.addMateria(savedMateria);
         carreraRepository.save(carrera);  // Save the updated carrera
+        cacheCatalogo.invalidar();
 
         return savedMateria;
     }
@@ -118,7 +125,16 @@ public class CarreraService {
         Carrera carrera = carreraOpt.get();
         carrera.addMateria(materiaOpt.get());
         carreraRepository.save(carrera);
+        cacheCatalogo.invalidar();
 
         return carrera;
     }
-}
\ No newline at end of file
+
+    /**
+     * Consulta los contadores de uso de la caché del catálogo.
+     * @return estadísticas de la caché de esta instancia
+     */
+    public CacheCatalogo.Estadisticas estadisticasCacheCatalogo() {
+        return cacheCatalogo.estadisticas();
+    }
+}
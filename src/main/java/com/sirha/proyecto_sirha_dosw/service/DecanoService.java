@@ -7,18 +7,24 @@ import com.sirha.proyecto_sirha_dosw.dto.EstudianteBasicoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.MonitoreoGrupoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.PlazoSolicitudesDTO;
 import com.sirha.proyecto_sirha_dosw.dto.RespuestaSolicitudDTO;
+import com.sirha.proyecto_sirha_dosw.dto.UsuarioResumenDTO;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.*;
+import com.sirha.proyecto_sirha_dosw.model.support.RangoFechas;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepository;
 import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
-import com.sirha.proyecto_sirha_dosw.repository.MateriaRepository;
 import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepositoryCustom;
 import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
+import com.sirha.proyecto_sirha_dosw.service.ListaEsperaService.Promociones;
 import com.sirha.proyecto_sirha_dosw.util.EstudianteValidationUtil;
+import com.sirha.proyecto_sirha_dosw.util.GrupoResolucionUtil;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -27,22 +33,47 @@ import java.util.stream.Collectors;
 @Service
 public class DecanoService {
 
+    static final String GRUPO_DESTINO_LLENO = "El grupo destino ya está lleno";
+    static final String ESTADO_RESPUESTA_INVALIDO = "Estado de respuesta inválido: ";
+    static final String RESPUESTA_APROBADA = "Solicitud aprobada y procesada con éxito.";
+    static final String SOLO_PENDIENTES = "Solo se pueden responder solicitudes pendientes";
+
     private final UsuarioRepository usuarioRepository;
     private final SolicitudRepository solicitudRepository;
     private final GrupoRepository grupoRepository;
-    private final MateriaRepository materiaRepository;
+    private final CacheCatalogo cacheCatalogo;
+    private final ContadorSolicitudesRepository contadorSolicitudesRepository;
+    private final ListaEsperaService listaEsperaService;
+    private final EjecutorTransaccional ejecutorTransaccional;
+    private final CalendarioAcademicoService calendarioAcademicoService;
+    private final MetricasSirha metricasSirha;
+
+    /**
+     * Respuesta ya guardada, con lo necesario para registrar sus métricas fuera de la transacción.
+     */
+    private record RespuestaAplicada(SolicitudEstado anterior, SolicitudEstado nuevo, boolean grupoDestinoReservado,
+                                     Promociones promociones) {
+    }
 
     public DecanoService(UsuarioRepository usuarioRepository, SolicitudRepository solicitudRepository, 
-                        GrupoRepository grupoRepository, MateriaRepository materiaRepository) {
+                        GrupoRepository grupoRepository, CacheCatalogo cacheCatalogo,
+                        ContadorSolicitudesRepository contadorSolicitudesRepository,
+                        ListaEsperaService listaEsperaService, EjecutorTransaccional ejecutorTransaccional,
+                        CalendarioAcademicoService calendarioAcademicoService, MetricasSirha metricasSirha) {
         this.usuarioRepository = usuarioRepository;
         this.solicitudRepository = solicitudRepository;
         this.grupoRepository = grupoRepository;
-        this.materiaRepository = materiaRepository;
+        this.cacheCatalogo = cacheCatalogo;
+        this.contadorSolicitudesRepository = contadorSolicitudesRepository;
+        this.listaEsperaService = listaEsperaService;
+        this.ejecutorTransaccional = ejecutorTransaccional;
+        this.calendarioAcademicoService = calendarioAcademicoService;
+        this.metricasSirha = metricasSirha;
     }
 
-    public List<Usuario> findEstudiantesByFacultad(String facultad) {
+    public List<UsuarioResumenDTO> findEstudiantesByFacultad(String facultad) {
         Facultad facultadEnum = Facultad.valueOf(facultad.toUpperCase());
-        return usuarioRepository.findByFacultadAndRol(facultadEnum, Rol.ESTUDIANTE);
+        return usuarioRepository.buscarResumenes(null, null, Rol.ESTUDIANTE, facultadEnum);
     }
 
     public Usuario findEstudianteByIdAndFacultad(String id, String facultad) {
@@ -55,19 +86,19 @@ public class DecanoService {
         return usuarioRepository.findByEmailAndFacultadAndRol(email, facultadEnum, Rol.ESTUDIANTE);
     }
 
-    public List<Usuario> findEstudiantesByNombreAndFacultad(String nombre, String facultad) {
+    public List<UsuarioResumenDTO> findEstudiantesByNombreAndFacultad(String nombre, String facultad) {
         Facultad facultadEnum = Facultad.valueOf(facultad.toUpperCase());
-        return usuarioRepository.findByNombreAndFacultadAndRol(nombre, facultadEnum, Rol.ESTUDIANTE);
+        return usuarioRepository.buscarResumenes(nombre, null, Rol.ESTUDIANTE, facultadEnum);
     }
 
-    public List<Usuario> findEstudiantesByApellidoAndFacultad(String apellido, String facultad) {
+    public List<UsuarioResumenDTO> findEstudiantesByApellidoAndFacultad(String apellido, String facultad) {
         Facultad facultadEnum = Facultad.valueOf(facultad.toUpperCase());
-        return usuarioRepository.findByApellidoAndFacultadAndRol(apellido, facultadEnum, Rol.ESTUDIANTE);
+        return usuarioRepository.buscarResumenes(null, apellido, Rol.ESTUDIANTE, facultadEnum);
     }
 
-    public List<Usuario> findEstudiantesByNombreApellidoAndFacultad(String nombre, String apellido, String facultad) {
+    public List<UsuarioResumenDTO> findEstudiantesByNombreApellidoAndFacultad(String nombre, String apellido, String facultad) {
         Facultad facultadEnum = Facultad.valueOf(facultad.toUpperCase());
-        return usuarioRepository.findByNombreAndApellidoAndFacultadAndRol(nombre, apellido, facultadEnum, Rol.ESTUDIANTE);
+        return usuarioRepository.buscarResumenes(nombre, apellido, Rol.ESTUDIANTE, facultadEnum);
     }
 
     /**
@@ -79,6 +110,36 @@ public class DecanoService {
         return solicitudRepository.findByFacultad(facultad);
     }
 
+    /**
+     * Busca una solicitud por su ID restringida a una facultad, sin cargar el resto de solicitudes.
+     * @param solicitudId ID de la solicitud
+     * @param facultad facultad a la que debe pertenecer la solicitud
+     * @return la solicitud si existe y pertenece a la facultad
+     */
+    public Optional<Solicitud> consultarSolicitudDeFacultad(String solicitudId, Facultad facultad) {
+        return solicitudRepository.findByIdAndFacultad(solicitudId, facultad);
+    }
+
+    /**
+     * Cuenta las solicitudes de una facultad por estado mediante una agregación en la base de datos.
+     * Los estados sin solicitudes se incluyen con cantidad cero.
+     * @param facultad facultad de la cual se cuentan las solicitudes
+     * @return cantidad de solicitudes por estado
+     */
+    public Map<SolicitudEstado, Long> contarSolicitudesPorEstado(Facultad facultad) {
+        Map<SolicitudEstado, Long> conteos = new EnumMap<>(SolicitudEstado.class);
+        for (SolicitudEstado estado : SolicitudEstado.values()) {
+            conteos.put(estado, 0L);
+        }
+        for (SolicitudRepositoryCustom.ConteoSolicitudes conteo
+                : solicitudRepository.contarPorFacultadTipoYEstado(facultad, null)) {
+            if (conteo.estado() != null) {
+                conteos.merge(conteo.estado(), conteo.cantidad(), Long::sum);
+            }
+        }
+        return conteos;
+    }
+
     /**
      * Consulta las solicitudes pendientes recibidas en el área de una facultad específica.
      * @param facultad la facultad de la cual se quieren consultar las solicitudes pendientes
@@ -210,7 +271,7 @@ public class DecanoService {
         validarFacultad(facultad);
         
         // Buscar todos los grupos de la materia
-        Optional<Materia> materiaOpt = materiaRepository.findByAcronimo(materiaAcronimo);
+        Optional<Materia> materiaOpt = cacheCatalogo.materiaPorAcronimo(materiaAcronimo);
         if (materiaOpt.isEmpty()) {
             throw new SirhaException("Materia no encontrada: " + materiaAcronimo);
         }
@@ -226,23 +287,16 @@ public class DecanoService {
             // Validar que la materia pertenece a la facultad del decano
             validarMateriaPerteneceFacultad(grupo.getMateria(), facultad);
             
-            DisponibilidadGrupoDTO disponibilidad = new DisponibilidadGrupoDTO();
-            disponibilidad.setGrupoId(grupo.getId());
-            disponibilidad.setNombreMateria(grupo.getMateria().getNombre());
-            disponibilidad.setAcronimoMateria(grupo.getMateria().getAcronimo());
-            disponibilidad.setCapacidadMaxima(grupo.getCapacidad());
-            disponibilidad.setCantidadInscritos(grupo.getCantidadInscritos());
-            disponibilidad.setEstaCompleto(grupo.isEstaCompleto());
-            disponibilidad.setHorarios(grupo.getHorarios());
-            disponibilidad.setListaEspera(new ArrayList<>()); // Por ahora lista vacía
-            disponibilidades.add(disponibilidad);
+            disponibilidades.add(ListaEsperaService.disponibilidad(grupo));
         }
         
         return disponibilidades;
     }
 
     /**
-     * Responde a una solicitud de cambio de grupo.
+     * Responde a una solicitud de cambio de grupo. La respuesta se aplica en una única
+     *          transacción: la solicitud, los cupos de ambos grupos, el estudiante y los
+     *          contadores quedan actualizados juntos o no se actualizan.
      * @param respuesta DTO con la respuesta (aprobar, rechazar, en_revision)
      * @param facultad facultad del decano
      * @throws SirhaException si ocurre algún error en la validación o procesamiento
@@ -250,7 +304,21 @@ public class DecanoService {
     public void responderSolicitud(RespuestaSolicitudDTO respuesta, String facultad) throws SirhaException {
         // Validar facultad
         validarFacultad(facultad);
-        
+        RespuestaAplicada aplicada = ejecutorTransaccional.ejecutar(() -> aplicarRespuestaSolicitud(respuesta, facultad));
+        // Las métricas se registran una sola vez, después de los posibles reintentos de la transacción
+        metricasSirha.registrarTransicionSolicitud(aplicada.anterior(), aplicada.nuevo());
+        if (aplicada.grupoDestinoReservado()) {
+            metricasSirha.registrarInscripcion(MetricasSirha.OrigenInscripcion.SOLICITUD);
+        }
+        listaEsperaService.registrarPromociones(aplicada.promociones());
+    }
+
+    /**
+     * Valida y aplica la respuesta a una solicitud. Relee la solicitud en cada invocación,
+     *          porque la transacción que la contiene puede reintentarse.
+     */
+    private RespuestaAplicada aplicarRespuestaSolicitud(RespuestaSolicitudDTO respuesta, String facultad)
+            throws SirhaException {
         // Buscar la solicitud
         Optional<Solicitud> solicitudOpt = solicitudRepository.findById(respuesta.getSolicitudId());
         if (solicitudOpt.isEmpty()) {
@@ -258,47 +326,44 @@ public class DecanoService {
         }
         
         Solicitud solicitud = solicitudOpt.get();
-        validarMateriaPerteneceFacultad(solicitud.getGrupoProblema().getMateria(), facultad);
-        
-        // Validar que la solicitud pertenece a la facultad del decano
-        if (!solicitud.getFacultad().name().equals(facultad.toUpperCase())) {
-            throw new SirhaException("La solicitud no pertenece a la facultad: " + facultad);
+        validarSolicitudRespondible(solicitud, facultad);
+        SolicitudEstado estadoAnterior = solicitud.getEstado();
+        SolicitudEstado nuevoEstado = respuesta.getNuevoEstado();
+        if (nuevoEstado != SolicitudEstado.APROBADA && nuevoEstado != SolicitudEstado.RECHAZADA
+                && nuevoEstado != SolicitudEstado.EN_REVISION) {
+            throw new SirhaException(ESTADO_RESPUESTA_INVALIDO + nuevoEstado);
         }
         
-        // Validar que la solicitud está pendiente
-        if (solicitud.getEstado() != SolicitudEstado.PENDIENTE) {
-            throw new SirhaException("Solo se pueden responder solicitudes pendientes");
-        }
-        
-        // Validar restricciones según el tipo de respuesta
-        if (respuesta.getNuevoEstado() == SolicitudEstado.APROBADA) {
+        // Validar las restricciones de la aprobación y reservar atómicamente el cupo destino
+        Grupo grupoDestinoReservado = null;
+        if (nuevoEstado == SolicitudEstado.APROBADA) {
             validarAprobacionSolicitud(solicitud);
+            grupoDestinoReservado = reservarCupoGrupoDestino(solicitud);
         }
-
-        else if (respuesta.getNuevoEstado() == SolicitudEstado.RECHAZADA) {
-            rechazoSolicitud(solicitud);
-        }
-
-        else if (respuesta.getNuevoEstado() == SolicitudEstado.EN_REVISION) {
-            solicitudEnRevision(solicitud);
-        }
-        else {
-            throw new SirhaException("Estado de respuesta inválido: " + respuesta.getNuevoEstado());
-        }
-        
         
-        // Actualizar la solicitud
-        solicitud.setEstado(respuesta.getNuevoEstado());
-        solicitud.setRespuesta(respuesta.getObservacionesRespuesta());
+        // Actualizar la solicitud solo si nadie la respondió mientras tanto
+        solicitud.setEstado(nuevoEstado);
+        solicitud.setRespuesta(nuevoEstado == SolicitudEstado.APROBADA
+                ? RESPUESTA_APROBADA : respuesta.getObservacionesRespuesta());
         solicitud.setFechaResolucion(LocalDateTime.now());
-        
-        // Guardar los cambios
-        solicitudRepository.save(solicitud);
+        if (!solicitudRepository.registrarRespuesta(solicitud, estadoAnterior)) {
+            // Sin transacciones el cupo ya reservado se devuelve explícitamente; con ellas la
+            // excepción deshace la devolución y sus promociones, que por eso no se registran
+            if (grupoDestinoReservado != null) {
+                listaEsperaService.liberarCupoEnTransaccion(grupoDestinoReservado.getId(), solicitud.getEstudianteId());
+            }
+            solicitud.setEstado(estadoAnterior);
+            throw new SirhaException(SOLO_PENDIENTES);
+        }
+        contadorSolicitudesRepository.registrarTransicion(solicitud.getFacultad(), solicitud.getTipoSolicitud(),
+                estadoAnterior, nuevoEstado);
         
         // Si se aprueba, actualizar los grupos
-        if (respuesta.getNuevoEstado() == SolicitudEstado.APROBADA) {
-            procesarAprobacionSolicitud(solicitud);
+        Promociones promociones = Promociones.NINGUNA;
+        if (nuevoEstado == SolicitudEstado.APROBADA) {
+            promociones = procesarAprobacionSolicitud(solicitud, grupoDestinoReservado);
         }
+        return new RespuestaAplicada(estadoAnterior, nuevoEstado, grupoDestinoReservado != null, promociones);
     }
 
     /**
@@ -307,54 +372,116 @@ public class DecanoService {
      * @throws SirhaException si la solicitud no puede ser aprobada
      */
     private void validarAprobacionSolicitud(Solicitud solicitud) throws SirhaException {
-        // Validar que estamos dentro del calendario académico
-        CalendarioAcademico calendario = CalendarioAcademico.INSTANCIA;
-        LocalDate fechaActual = LocalDate.now();
+        validarCalendarioAcademico(solicitud.getFacultad());
         
-        if (fechaActual.isBefore(calendario.getFechaInicio()) || fechaActual.isAfter(calendario.getFechaFin())) {
-            throw new SirhaException("No se pueden aprobar solicitudes fuera del calendario académico");
-        }
+        // Validar que el grupo destino tiene cupos disponibles (con el estado actual del grupo)
+        GrupoResolucionUtil.resolverSolicitudes(grupoRepository, List.of(solicitud));
+        validarCupoGrupoDestino(solicitud.getGrupoDestino());
         
-        // Validar que el grupo destino tiene cupos disponibles
+        validarPlazoRespuesta(solicitud);
+
+        // Validar que no haya cruce de horarios con el grupo destino
         if (solicitud.getGrupoDestino() != null) {
-            Grupo grupoDestino = solicitud.getGrupoDestino();
-            if (grupoDestino.isEstaCompleto()) {
-                throw new SirhaException("El grupo destino ya está lleno");
-            }
+            Estudiante estudiante = usuarioRepository.findById(solicitud.getEstudianteId())
+                        .filter(Estudiante.class::isInstance)
+                        .map(Estudiante.class::cast)
+                        .orElseThrow(() -> new SirhaException(SirhaException.ESTUDIANTE_NO_ENCONTRADO + solicitud.getEstudianteId()));
+            validarCruceGrupoDestino(estudiante, solicitud);
+        }
+    }
+
+    /**
+     * Valida que la solicitud pertenece a la facultad del decano y sigue pendiente.
+     * @param solicitud solicitud a responder
+     * @param facultad facultad del decano
+     * @throws SirhaException si la solicitud no puede responderse
+     */
+    static void validarSolicitudRespondible(Solicitud solicitud, String facultad) throws SirhaException {
+        validarMateriaPerteneceFacultad(solicitud.getGrupoProblema().getMateria(), facultad);
+        
+        // Validar que la solicitud pertenece a la facultad del decano
+        if (!solicitud.getFacultad().name().equals(facultad.toUpperCase())) {
+            throw new SirhaException("La solicitud no pertenece a la facultad: " + facultad);
         }
         
-        // Validar plazo de respuesta (5 dias habiles)
+        // Validar que la solicitud está pendiente
+        if (solicitud.getEstado() != SolicitudEstado.PENDIENTE) {
+            throw new SirhaException(SOLO_PENDIENTES);
+        }
+    }
+
+    /**
+     * Valida que la fecha actual esté dentro del calendario académico de la facultad.
+     * @param facultad facultad de la solicitud
+     * @throws SirhaException si se está fuera del calendario
+     */
+    void validarCalendarioAcademico(Facultad facultad) throws SirhaException {
+        if (!calendarioAcademicoService.calendario(facultad).estaEnPlazo(LocalDate.now())) {
+            throw new SirhaException("No se pueden aprobar solicitudes fuera del calendario académico");
+        }
+    }
+
+    /**
+     * Valida que el grupo destino, si existe, no esté lleno.
+     * @param grupoDestino grupo destino con su ocupación actual, o {@code null}
+     * @throws SirhaException si el grupo destino está lleno
+     */
+    static void validarCupoGrupoDestino(Grupo grupoDestino) throws SirhaException {
+        if (grupoDestino != null && grupoDestino.isEstaCompleto()) {
+            throw new SirhaException(GRUPO_DESTINO_LLENO);
+        }
+    }
+
+    /**
+     * Valida el plazo de respuesta (5 dias habiles) desde la creación de la solicitud.
+     * @param solicitud solicitud a validar
+     * @throws SirhaException si el plazo venció
+     */
+    static void validarPlazoRespuesta(Solicitud solicitud) throws SirhaException {
         LocalDateTime fechaLimite = solicitud.getFechaCreacion().plusDays(5);
         if (LocalDateTime.now().isAfter(fechaLimite)) {
             throw new SirhaException("El plazo para responder la solicitud ha vencido");
         }
+    }
 
-        // Validar que no haya cruce de horarios con el grupo destino
-        Grupo grupoDestino = solicitud.getGrupoDestino();
-        if (grupoDestino != null) {
-            Estudiante estudiante = usuarioRepository.findById(solicitud.getEstudianteId())
-                        .filter(Estudiante.class::isInstance)
-                        .map(Estudiante.class::cast)
-                        .orElseThrow(() -> new SirhaException(SirhaException.ESTUDIANTE_NO_ENCONTRADO + solicitud.getEstudianteId()));
-            
-            // Obtener los grupos del estudiante excluyendo el grupo problema
-            List<Grupo> gruposActuales = estudiante.getGruposExcluyendo(solicitud.getGrupoProblema());
-            
-            // Verificar cruces de horario con cada grupo actual
-            for (Grupo grupoActual : gruposActuales) {
-                if (grupoDestino.tieneCruceDeHorario(grupoActual)) {
-                    throw new SirhaException("El grupo destino tiene cruce de horarios con el grupo de la materia: " 
-                        + grupoActual.getMateria().getNombre());
-                }
-            }
+    /**
+     * Verifica cruces de horario del grupo destino con los grupos actuales del estudiante,
+     *          excluyendo el grupo problema.
+     * @param estudiante estudiante de la solicitud
+     * @param solicitud solicitud con grupo destino
+     * @throws SirhaException si hay cruce de horarios
+     */
+    static void validarCruceGrupoDestino(Estudiante estudiante, Solicitud solicitud) throws SirhaException {
+        Grupo grupoEnCruce = estudiante.buscarCruceDeHorario(solicitud.getGrupoDestino(), solicitud.getGrupoProblema());
+        if (grupoEnCruce != null) {
+            throw new SirhaException("El grupo destino tiene cruce de horarios con el grupo de la materia: " 
+                + grupoEnCruce.getMateria().getNombre());
+        }
+    }
+
+    /**
+     * Reserva atómicamente el cupo del estudiante en el grupo destino antes de
+     *          registrar la aprobación, de modo que dos aprobaciones simultáneas no
+     *          puedan ocupar el último cupo.
+     * @param solicitud solicitud a aprobar
+     * @return grupo destino con la ocupación actualizada, o {@code null} si la solicitud no tiene grupo destino
+     * @throws SirhaException si el grupo destino ya no tiene cupos
+     */
+    private Grupo reservarCupoGrupoDestino(Solicitud solicitud) throws SirhaException {
+        if (solicitud.getGrupoDestino() == null) {
+            return null;
         }
+        return grupoRepository.reservarCupo(solicitud.getGrupoDestino().getId(), solicitud.getEstudianteId())
+                .orElseThrow(() -> new SirhaException(GRUPO_DESTINO_LLENO));
     }
 
     /**
      * Procesa la aprobación de una solicitud actualizando los grupos correspondientes.
      * @param solicitud solicitud aprobada
+     * @param grupoDestinoReservado grupo destino en el que ya se reservó el cupo, o {@code null}
+     * @return promociones desde la lista de espera del grupo problema, para registrarlas tras la transacción
      */
-    private void procesarAprobacionSolicitud(Solicitud solicitud) {
+    private Promociones procesarAprobacionSolicitud(Solicitud solicitud, Grupo grupoDestinoReservado) {
         Optional<Estudiante> estudianteOpt = usuarioRepository.findById(solicitud.getEstudianteId())
             .filter(Estudiante.class::isInstance)
             .map(Estudiante.class::cast);
@@ -364,47 +491,20 @@ public class DecanoService {
         }
         Estudiante estudiante = estudianteOpt.get();
 
-        // Remover estudiante del grupo problema si existe
+        // Liberar el cupo del grupo problema si existe; lo ocupa el primero de su lista de espera
+        Promociones promociones = Promociones.NINGUNA;
         if (solicitud.getGrupoProblema() != null) {
             Grupo grupoProblema = solicitud.getGrupoProblema();
-            grupoProblema.removeEstudiante(solicitud.getEstudianteId());
-            grupoRepository.save(grupoProblema);    
+            promociones = listaEsperaService.liberarCupoEnTransaccion(grupoProblema.getId(), solicitud.getEstudianteId());
             estudiante.removeGrupo(grupoProblema);
         }
         
-        // Agregar estudiante al grupo destino si existe
-        if (solicitud.getGrupoDestino() != null) {
-            Grupo grupoDestino = solicitud.getGrupoDestino();
-            grupoDestino.addEstudiante(solicitud.getEstudianteId());
-            grupoRepository.save(grupoDestino);
-            estudiante.addGrupo(grupoDestino);
+        // Registrar el grupo destino, cuyo cupo ya fue reservado
+        if (grupoDestinoReservado != null) {
+            estudiante.addGrupo(grupoDestinoReservado);
         }
-
-
-        solicitud.setEstado(SolicitudEstado.APROBADA);
-        solicitud.setRespuesta("Solicitud aprobada y procesada con éxito.");
-        solicitudRepository.save(solicitud);
         usuarioRepository.save(estudiante);
-    }
-
-    /**
-     * Procesa el rechazo de una solicitud.
-     * @param solicitud solicitud rechazada
-     */ 
-    private void rechazoSolicitud(Solicitud solicitud) {
-        solicitud.setEstado(SolicitudEstado.RECHAZADA);
-        solicitud.setRespuesta("Solicitud rechazada.");
-        solicitudRepository.save(solicitud);
-    }
-
-    /**
-     * Procesa la puesta en revisión de una solicitud.
-     * @param solicitud solicitud en revisión
-     */
-    private void solicitudEnRevision(Solicitud solicitud) {
-        solicitud.setEstado(SolicitudEstado.EN_REVISION);
-        solicitud.setRespuesta("Solicitud en revisión, se necesita información adicional.");
-        solicitudRepository.save(solicitud);
+        return promociones;
     }
 
     /**
@@ -413,7 +513,7 @@ public class DecanoService {
      * @param facultad facultad esperada
      * @throws SirhaException si la materia no pertenece a la facultad
      */
-    private void validarMateriaPerteneceFacultad(Materia materia, String facultad) throws SirhaException {
+    private static void validarMateriaPerteneceFacultad(Materia materia, String facultad) throws SirhaException {
         if (!materia.getFacultad().name().equalsIgnoreCase(facultad)) {
             throw new SirhaException("La materia " + materia.getAcronimo() + " no pertenece a la facultad: " + facultad);
         }
@@ -436,9 +536,8 @@ public class DecanoService {
             throw new SirhaException("Las fechas del calendario académico no son válidas. La fecha de inicio debe ser anterior o igual a la fecha de fin.");
         }
         // Configurar el calendario académico
-        CalendarioAcademico calendario = CalendarioAcademico.INSTANCIA;
-        calendario.setFechaInicio(calendarioDTO.getFechaInicio());
-        calendario.setFechaFin(calendarioDTO.getFechaFin());
+        calendarioAcademicoService.configurarCalendario(Facultad.valueOf(facultad.toUpperCase()),
+                new RangoFechas(calendarioDTO.getFechaInicio(), calendarioDTO.getFechaFin()));
     }
 
     /**
@@ -458,17 +557,16 @@ public class DecanoService {
         }
         
         // Validar que el plazo esté dentro del calendario académico
-        CalendarioAcademico calendario = CalendarioAcademico.INSTANCIA;
-        if (plazoDTO.getFechaInicio().isBefore(calendario.getFechaInicio()) || 
-            plazoDTO.getFechaFin().isAfter(calendario.getFechaFin())) {
+        Facultad facultadEnum = Facultad.valueOf(facultad.toUpperCase());
+        RangoFechas calendario = calendarioAcademicoService.calendario(facultadEnum);
+        RangoFechas plazo = new RangoFechas(plazoDTO.getFechaInicio(), plazoDTO.getFechaFin());
+        if (!plazo.estaDentroDe(calendario)) {
             throw new SirhaException("El plazo de solicitudes debe estar dentro del calendario académico (" + 
-                                   calendario.getFechaInicio() + " - " + calendario.getFechaFin() + ").");
+                                   calendario.fechaInicio() + " - " + calendario.fechaFin() + ").");
         }
         
         // Configurar el plazo de solicitudes
-        PlazoSolicitudes plazo = PlazoSolicitudes.INSTANCIA;
-        plazo.setFechaInicio(plazoDTO.getFechaInicio());
-        plazo.setFechaFin(plazoDTO.getFechaFin());
+        calendarioAcademicoService.configurarPlazoSolicitudes(facultadEnum, plazo);
     }
 
     /**
@@ -481,8 +579,8 @@ public class DecanoService {
         // Validar facultad
         validarFacultad(facultad);
         
-        CalendarioAcademico calendario = CalendarioAcademico.INSTANCIA;
-        return new CalendarioAcademicoDTO(calendario.getFechaInicio(), calendario.getFechaFin());
+        RangoFechas calendario = calendarioAcademicoService.calendario(Facultad.valueOf(facultad.toUpperCase()));
+        return new CalendarioAcademicoDTO(calendario.fechaInicio(), calendario.fechaFin());
     }
 
     /**
@@ -495,8 +593,8 @@ public class DecanoService {
         // Validar facultad
         validarFacultad(facultad);
         
-        PlazoSolicitudes plazo = PlazoSolicitudes.INSTANCIA;
-        return new PlazoSolicitudesDTO(plazo.getFechaInicio(), plazo.getFechaFin());
+        RangoFechas plazo = calendarioAcademicoService.plazoSolicitudes(Facultad.valueOf(facultad.toUpperCase()));
+        return new PlazoSolicitudesDTO(plazo.fechaInicio(), plazo.fechaFin());
     }
 
     /**
@@ -509,9 +607,8 @@ public class DecanoService {
         // Validar facultad
         validarFacultad(facultad);
         
-        PlazoSolicitudes plazo = PlazoSolicitudes.INSTANCIA;
-        LocalDate fechaActual = LocalDate.now();
-        return plazo.estaEnPlazo(fechaActual);
+        return calendarioAcademicoService.plazoSolicitudes(Facultad.valueOf(facultad.toUpperCase()))
+                .estaEnPlazo(LocalDate.now());
     }
 
     /**
@@ -0,0 +1,138 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.mongodb.MongoException;
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ejecuta operaciones de varias escrituras dentro de una transacción multi-documento.
+ * Si la transacción aborta por un error transitorio (conflicto de escritura con otra
+ *          transacción, elección de primario) la operación completa se reintenta, hasta un
+ *          máximo de intentos; por eso la operación debe releer lo que valida en cada intento.
+ * Sin gestor de transacciones configurado la operación se ejecuta directamente, una sola vez.
+ */
+@Service
+public class EjecutorTransaccional {
+
+    private static final Logger logger = LoggerFactory.getLogger(EjecutorTransaccional.class);
+
+    /**
+     * Operación a ejecutar dentro de la transacción.
+     * @param <T> tipo del resultado
+     */
+    @FunctionalInterface
+    public interface Operacion<T> {
+        T ejecutar() throws SirhaException;
+    }
+
+    private final TransactionTemplate plantilla;
+    private final int maxIntentos;
+    private final long esperaMs;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param gestorTransacciones gestor de transacciones, ausente si están deshabilitadas
+     * @param maxIntentos cantidad máxima de intentos ante errores transitorios
+     * @param esperaMs espera base entre intentos; crece linealmente con cada intento
+     */
+    @Autowired
+    public EjecutorTransaccional(ObjectProvider<PlatformTransactionManager> gestorTransacciones,
+                                 @Value("${sirha.mongo.transacciones.max-intentos:3}") int maxIntentos,
+                                 @Value("${sirha.mongo.transacciones.espera-ms:20}") long esperaMs) {
+        this(gestorTransacciones.getIfAvailable(), maxIntentos, esperaMs);
+    }
+
+    EjecutorTransaccional(PlatformTransactionManager gestorTransacciones, int maxIntentos, long esperaMs) {
+        this.plantilla = gestorTransacciones == null ? null : new TransactionTemplate(gestorTransacciones);
+        this.maxIntentos = Math.max(1, maxIntentos);
+        this.esperaMs = esperaMs;
+    }
+
+    /**
+     * Ejecutor sin transacciones, para contextos sin replica set y para pruebas.
+     * @return ejecutor que invoca la operación directamente
+     */
+    public static EjecutorTransaccional sinTransacciones() {
+        return new EjecutorTransaccional((PlatformTransactionManager) null, 1, 0);
+    }
+
+    /**
+     * Ejecuta la operación en una transacción. Una {@link SirhaException} o cualquier otra
+     *          excepción deshace todas sus escrituras y se propaga sin reintentar, salvo los
+     *          errores marcados por MongoDB como transitorios.
+     * @param operacion operación a ejecutar
+     * @param <T> tipo del resultado
+     * @return resultado de la operación
+     * @throws SirhaException si la operación la lanza
+     */
+    public <T> T ejecutar(Operacion<T> operacion) throws SirhaException {
+        if (plantilla == null) {
+            return operacion.ejecutar();
+        }
+        for (int intento = 1; ; intento++) {
+            try {
+                return plantilla.execute(estado -> {
+                    try {
+                        return operacion.ejecutar();
+                    } catch (SirhaException e) {
+                        throw new RechazoDeNegocio(e);
+                    }
+                });
+            } catch (RechazoDeNegocio e) {
+                throw e.causa;
+            } catch (RuntimeException e) {
+                if (intento >= maxIntentos || !esTransitorio(e)) {
+                    throw e;
+                }
+                logger.debug("Transacción abortada por un error transitorio; intento {} de {}", intento, maxIntentos, e);
+                esperar(intento);
+            }
+        }
+    }
+
+    /**
+     * Indica si la excepción, o alguna de sus causas, es un error de MongoDB con la etiqueta
+     *          {@code TransientTransactionError}.
+     */
+    static boolean esTransitorio(Throwable error) {
+        for (Throwable actual = error; actual != null; actual = actual.getCause()) {
+            if (actual instanceof MongoException mongo
+                    && mongo.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void esperar(int intento) {
+        if (esperaMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(esperaMs * intento);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reintento de transacción interrumpido", e);
+        }
+    }
+
+    /**
+     * Transporta una {@link SirhaException} fuera del callback de la transacción, que solo
+     *          admite excepciones no verificadas, para que la transacción se deshaga.
+     */
+    private static final class RechazoDeNegocio extends RuntimeException {
+        private final SirhaException causa;
+
+        RechazoDeNegocio(SirhaException causa) {
+            super(causa);
+            this.causa = causa;
+        }
+    }
+}
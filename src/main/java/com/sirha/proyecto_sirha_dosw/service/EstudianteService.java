@@ -1,20 +1,25 @@
 package com.sirha.proyecto_sirha_dosw.service;
 
+import com.sirha.proyecto_sirha_dosw.dto.PaginaDTO;
 import com.sirha.proyecto_sirha_dosw.dto.SolicitudDTO;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.*;
+import com.sirha.proyecto_sirha_dosw.model.support.RangoFechas;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepository;
 import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
-import com.sirha.proyecto_sirha_dosw.repository.MateriaRepository;
 import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
 import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
 import com.sirha.proyecto_sirha_dosw.util.EstudianteValidationUtil;
+import com.sirha.proyecto_sirha_dosw.util.Paginacion;
 import com.sirha.proyecto_sirha_dosw.util.SolicitudUtil;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 /**
@@ -35,25 +40,42 @@ public class EstudianteService {
     private final SolicitudRepository solicitudRepository;
     private final UsuarioRepository usuarioRepository;
     private final GrupoRepository grupoRepository;
-    private final MateriaRepository materiaRepository;
+    private final CacheCatalogo cacheCatalogo;
     private final SolicitudUtil solicitudUtil;
+    private final ContadorSolicitudesRepository contadorSolicitudesRepository;
+    private final ListaEsperaService listaEsperaService;
+    private final EjecutorTransaccional ejecutorTransaccional;
+    private final CalendarioAcademicoService calendarioAcademicoService;
+    private final MetricasSirha metricasSirha;
 
     /**
      * Constructor con inyección de dependencias.
      * @param solicitudRepository repositorio de {@link Solicitud}
      * @param usuarioRepository repositorio de {@link Usuario}
      * @param grupoRepository repositorio de {@link Grupo}
-     * @param materiaRepository repositorio de {@link Materia}
+     * @param cacheCatalogo caché de lectura de materias
      * @param solicitudUtil utilidad para generar radicados y prioridades
+     * @param contadorSolicitudesRepository contadores incrementales de solicitudes
+     * @param listaEsperaService servicio de listas de espera, que asigna los cupos liberados
+     * @param ejecutorTransaccional ejecutor de las escrituras que deben quedar juntas
+     * @param calendarioAcademicoService plazos de solicitudes de cada facultad
+     * @param metricasSirha métricas de creación de solicitudes
      */
     public EstudianteService(SolicitudRepository solicitudRepository, UsuarioRepository usuarioRepository,
-                             GrupoRepository grupoRepository, MateriaRepository materiaRepository,
-                             SolicitudUtil solicitudUtil) {
+                             GrupoRepository grupoRepository, CacheCatalogo cacheCatalogo,
+                             SolicitudUtil solicitudUtil, ContadorSolicitudesRepository contadorSolicitudesRepository,
+                             ListaEsperaService listaEsperaService, EjecutorTransaccional ejecutorTransaccional,
+                             CalendarioAcademicoService calendarioAcademicoService, MetricasSirha metricasSirha) {
         this.solicitudRepository = solicitudRepository;
         this.usuarioRepository = usuarioRepository;
         this.grupoRepository = grupoRepository;
-        this.materiaRepository = materiaRepository;
+        this.cacheCatalogo = cacheCatalogo;
         this.solicitudUtil = solicitudUtil;
+        this.contadorSolicitudesRepository = contadorSolicitudesRepository;
+        this.listaEsperaService = listaEsperaService;
+        this.ejecutorTransaccional = ejecutorTransaccional;
+        this.calendarioAcademicoService = calendarioAcademicoService;
+        this.metricasSirha = metricasSirha;
     }
 
     // ========== MÉTODOS PRIVADOS DE VALIDACIÓN ==========
@@ -76,7 +98,7 @@ public class EstudianteService {
      * @throws SirhaException si la materia no existe
      */
     private Materia validarMateria(String materiaAcronimo) throws SirhaException {
-        return materiaRepository.findByAcronimo(materiaAcronimo)
+        return cacheCatalogo.materiaPorAcronimo(materiaAcronimo)
                 .orElseThrow(() -> new SirhaException(SirhaException.MATERIA_NO_ENCONTRADA));
     }
 
@@ -116,7 +138,8 @@ public class EstudianteService {
         validarGrupoMateriaCorrespondencia(grupoDestino, materiaDestino, 
             SirhaException.ERROR_CREACION_SOLICITUD + "La materia destino no corresponde al grupo destino");
         if (grupoDestino.isEstaCompleto()) {
-            throw new SirhaException(SirhaException.ERROR_CREACION_SOLICITUD + "El grupo destino está completo");
+            throw new SirhaException(SirhaException.ERROR_CREACION_SOLICITUD
+                    + "El grupo destino está completo; el estudiante puede unirse a su lista de espera");
         }
     }
 
@@ -179,6 +202,7 @@ public class EstudianteService {
 
     /**
      * Crea una nueva solicitud académica (ej. cambio de grupo) y realiza validaciones.
+     * La solicitud y su contador se guardan en una única transacción.
      * @param solicitudDTO objeto con los datos de la solicitud.
      * @return la {@link Solicitud} creada y almacenada.
      * @throws IllegalArgumentException si alguna validación falla.
@@ -193,6 +217,7 @@ public class EstudianteService {
 
         Grupo grupoProblema = validarGrupo(solicitudDTO.getGrupoProblemaId());
         Materia materiaProblema = validarMateria(solicitudDTO.getMateriaProblemaAcronimo());
+        validarPlazoSolicitudes(materiaProblema.getFacultad(), solicitudDTO.getFechaSolicitud());
         validarGrupoMateriaCorrespondencia(grupoProblema, materiaProblema, SirhaException.ERROR_CREACION_SOLICITUD + "La materia problema no corresponde al grupo problema");
         validarEstudianteEnGrupo(grupoProblema, solicitudDTO.getEstudianteId(), SirhaException.ERROR_CREACION_SOLICITUD + "El estudiante no está inscrito en el grupo problema");
 
@@ -213,7 +238,29 @@ public class EstudianteService {
             solicitud.setMateriaDestino(materiaDestino);
         }
         solicitud.setObservaciones(solicitudDTO.getObservaciones());
-        return solicitudRepository.save(solicitud);
+        Solicitud guardada = ejecutorTransaccional.ejecutar(() -> {
+            Solicitud insertada = solicitudRepository.save(solicitud);
+            contadorSolicitudesRepository.registrarCreacion(insertada.getFacultad(), insertada.getTipoSolicitud(),
+                    insertada.getEstado());
+            return insertada;
+        });
+        metricasSirha.registrarCreacionSolicitud(solicitud.getEstado());
+        return guardada;
+    }
+
+    /**
+     * Valida que la fecha de la solicitud esté dentro del plazo de solicitudes de la facultad.
+     * @param facultad facultad de la materia problema
+     * @param fechaSolicitud fecha indicada en la solicitud, o {@code null} para usar la fecha actual
+     * @throws SirhaException si la fecha está fuera del plazo
+     */
+    private void validarPlazoSolicitudes(Facultad facultad, LocalDate fechaSolicitud) throws SirhaException {
+        LocalDate fecha = fechaSolicitud != null ? fechaSolicitud : LocalDate.now();
+        RangoFechas plazo = calendarioAcademicoService.plazoSolicitudes(facultad);
+        if (!plazo.estaEnPlazo(fecha)) {
+            throw new SirhaException(SirhaException.FUERA_DE_PLAZO_SOLICITUDES + "Plazo valido: " + plazo.fechaInicio()
+                    + " al " + plazo.fechaFin() + ". Fecha de solicitud: " + fecha);
+        }
     }
 
     private Solicitud crearSolicitudBase(Estudiante estudiante, SolicitudDTO solicitudDTO, Grupo grupoProblema, Materia materiaProblema) {
@@ -263,6 +310,7 @@ public class EstudianteService {
 
     /**
      * Cancela una materia específica del estudiante en su semestre actual.
+     * El cupo del grupo se libera y pasa al primer estudiante de su lista de espera, si la hay.
      * @param idEstudiante ID del estudiante.
      * @param acronimoMateria Acrónimo de la materia a cancelar.
      * @return mensaje de confirmación de la cancelación.
@@ -287,6 +335,7 @@ public class EstudianteService {
 
         registroEncontrado.setEstado(Semaforo.CANCELADO);
         usuarioRepository.save(estudiante);
+        listaEsperaService.liberarCupo(registroEncontrado.getGrupoId(), idEstudiante);
 
         return String.format(MATERIA_CANCELADA_EXITOSAMENTE_MSG, acronimoMateria);
     }
@@ -317,6 +366,27 @@ public class EstudianteService {
         return solicitudRepository.findAll();
     }
 
+    /**
+     * Consulta una página de todas las solicitudes, ordenada por id.
+     * 
+     * @param cursor id de la última solicitud de la página anterior, o {@code null} para la primera
+     * @param tamano cantidad de solicitudes por página, o {@code null} para el tamaño por defecto
+     * @return página de {@link Solicitud} con el cursor de la siguiente
+     * @throws SirhaException si el tamaño de página no es válido
+     */
+    public PaginaDTO<Solicitud> consultarPaginaSolicitudes(String cursor, Integer tamano) throws SirhaException {
+        return Paginacion.pagina(solicitudRepository::buscarPagina, cursor, tamano, Solicitud::getId);
+    }
+
+    /**
+     * Recorre todas las solicitudes con un cursor de base de datos.
+     * 
+     * @return flujo perezoso de {@link Solicitud}; debe cerrarse al terminar
+     */
+    public Stream<Solicitud> streamSolicitudes() {
+        return solicitudRepository.streamSolicitudes();
+    }
+
     /**
      * Consulta las solicitudes de un estudiante específico filtradas por estado.
      * 
@@ -0,0 +1,345 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.dto.GeneracionHorarioDTO;
+import com.sirha.proyecto_sirha_dosw.dto.HorariosGeneradosDTO;
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+import com.sirha.proyecto_sirha_dosw.model.Estudiante;
+import com.sirha.proyecto_sirha_dosw.model.FranjasHorario;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
+import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
+import com.sirha.proyecto_sirha_dosw.util.EstudianteValidationUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio que arma horarios sin cruces para las materias que un estudiante quiere cursar.
+ *
+ * <p>La búsqueda elige un grupo con cupo por materia recorriendo en profundidad las materias de
+ * menos a más grupos candidatos. Los cruces se detectan con {@link FranjasHorario} y las ramas se
+ * podan con la permanencia semanal en la universidad ({@link FranjasHorario#franjasEnCampus()}),
+ * que nunca disminuye al agregar grupos: una rama que ya supera a la peor de las mejores
+ * {@code limite} combinaciones encontradas no puede mejorar. Los primeros niveles del árbol se
+ * reparten entre los hilos del pool común y la búsqueda se corta al agotar el tiempo máximo.</p>
+ */
+@Service
+public class GeneradorHorariosService {
+
+    private static final int NODOS_ENTRE_CONSULTAS_DE_TIEMPO = 256;
+    private static final int TAREAS_POR_HILO = 4;
+
+    /**
+     * Combinación de grupos sin cruces, uno por materia en el orden en que se pidieron.
+     * @param grupos grupos elegidos.
+     * @param franjas franjas ocupadas por los grupos elegidos y los grupos fijos del estudiante.
+     */
+    public record CombinacionGrupos(List<Grupo> grupos, FranjasHorario franjas) {
+    }
+
+    /**
+     * Resultado de una búsqueda.
+     * @param combinaciones mejores combinaciones, de menor a mayor permanencia en la universidad.
+     * @param materiasSinGrupos materias sin ningún grupo compatible con los grupos fijos.
+     * @param completa false si la búsqueda se detuvo por tiempo.
+     * @param nodosExplorados cantidad de nodos visitados.
+     */
+    public record ResultadoBusqueda(List<CombinacionGrupos> combinaciones, List<String> materiasSinGrupos,
+                                    boolean completa, long nodosExplorados) {
+    }
+
+    private final UsuarioRepository usuarioRepository;
+    private final GrupoRepository grupoRepository;
+    private final long tiempoMaximoNanos;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param usuarioRepository repositorio de usuarios
+     * @param grupoRepository repositorio de grupos
+     * @param tiempoMaximoMs tiempo máximo de búsqueda en milisegundos
+     */
+    public GeneradorHorariosService(UsuarioRepository usuarioRepository, GrupoRepository grupoRepository,
+                                    @Value("${sirha.horarios.generador.tiempo-maximo-ms:200}") long tiempoMaximoMs) {
+        this.usuarioRepository = usuarioRepository;
+        this.grupoRepository = grupoRepository;
+        this.tiempoMaximoNanos = TimeUnit.MILLISECONDS.toNanos(tiempoMaximoMs);
+    }
+
+    /**
+     * Genera las mejores combinaciones de grupos con cupo para las materias indicadas.
+     * Los grupos actuales del estudiante en otras materias se conservan y ningún grupo propuesto
+     * se cruza con ellos; los grupos actuales de las materias pedidas se reemplazan.
+     * @param idEstudiante ID del estudiante
+     * @param solicitud materias deseadas y cantidad de combinaciones a devolver
+     * @return combinaciones ordenadas de menor a mayor permanencia semanal en la universidad
+     * @throws SirhaException si el estudiante no existe o no se indicaron materias
+     */
+    public HorariosGeneradosDTO generarHorarios(String idEstudiante, GeneracionHorarioDTO solicitud) throws SirhaException {
+        long inicio = System.nanoTime();
+        Estudiante estudiante = EstudianteValidationUtil.obtenerEstudiante(usuarioRepository, idEstudiante);
+        List<String> acronimos = solicitud.getMateriasAcronimos() == null ? List.of()
+                : solicitud.getMateriasAcronimos().stream()
+                        .filter(Objects::nonNull)
+                        .map(String::trim)
+                        .filter(acronimo -> !acronimo.isEmpty())
+                        .distinct()
+                        .toList();
+        if (acronimos.isEmpty()) {
+            throw new SirhaException(SirhaException.ERROR_FALTAN_DATOS + "materiasAcronimos");
+        }
+
+        Set<String> pedidas = new HashSet<>(acronimos);
+        List<Grupo> gruposFijos = estudiante.getGruposExcluyendo(null).stream()
+                .filter(grupo -> grupo.getMateria() == null || !pedidas.contains(grupo.getMateria().getAcronimo()))
+                .toList();
+        Map<String, List<Grupo>> gruposPorMateria = new LinkedHashMap<>();
+        acronimos.forEach(acronimo -> gruposPorMateria.put(acronimo, new ArrayList<>()));
+        for (Grupo grupo : grupoRepository.findByMateria_AcronimoInAndEstaCompletoFalse(acronimos)) {
+            if (grupo.getMateria() != null && grupo.getCantidadInscritos() < grupo.getCapacidad()) {
+                List<Grupo> grupos = gruposPorMateria.get(grupo.getMateria().getAcronimo());
+                if (grupos != null) {
+                    grupos.add(grupo);
+                }
+            }
+        }
+
+        ResultadoBusqueda resultado = combinar(gruposPorMateria, gruposFijos, solicitud.getLimiteEfectivo());
+
+        HorariosGeneradosDTO respuesta = new HorariosGeneradosDTO();
+        for (CombinacionGrupos combinacion : resultado.combinaciones()) {
+            List<HorariosGeneradosDTO.GrupoAsignado> asignados = combinacion.grupos().stream()
+                    .map(grupo -> new HorariosGeneradosDTO.GrupoAsignado(grupo.getId(), grupo.getMateria().getAcronimo(),
+                            grupo.getMateria().getNombre(), grupo.getCapacidad() - grupo.getCantidadInscritos(),
+                            grupo.getHorarios()))
+                    .toList();
+            respuesta.getCombinaciones().add(new HorariosGeneradosDTO.Combinacion(
+                    combinacion.franjas().franjasEnCampus() * FranjasHorario.MINUTOS_POR_FRANJA,
+                    combinacion.franjas().diasConClase(), asignados));
+        }
+        respuesta.setMateriasSinGrupos(resultado.materiasSinGrupos());
+        respuesta.setBusquedaCompleta(resultado.completa());
+        respuesta.setNodosExplorados(resultado.nodosExplorados());
+        respuesta.setTiempoMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        return respuesta;
+    }
+
+    /**
+     * Busca las mejores combinaciones de un grupo por materia sin cruces entre sí ni con los
+     * grupos fijos, dentro del tiempo máximo configurado.
+     * @param gruposPorMateria grupos candidatos de cada materia, en el orden de la respuesta
+     * @param gruposFijos grupos que el estudiante conserva
+     * @param limite cantidad máxima de combinaciones a devolver
+     * @return resultado de la búsqueda
+     */
+    public ResultadoBusqueda combinar(Map<String, List<Grupo>> gruposPorMateria, List<Grupo> gruposFijos, int limite) {
+        return new Busqueda(gruposPorMateria, gruposFijos, limite, System.nanoTime() + tiempoMaximoNanos)
+                .ejecutar(ForkJoinPool.commonPool());
+    }
+
+    private record Candidato(Grupo grupo, FranjasHorario franjas, int indiceMateria) {
+    }
+
+    private record Encontrada(Candidato[] elegidos, FranjasHorario franjas, int costo, String clave) {
+    }
+
+    private record Prefijo(Candidato[] elegidos, FranjasHorario franjas) {
+    }
+
+    /**
+     * Estado compartido de una búsqueda: los candidatos por nivel y las mejores combinaciones.
+     */
+    private static final class Busqueda {
+
+        private static final Comparator<Encontrada> ORDEN = Comparator.comparingInt(Encontrada::costo)
+                .thenComparingInt(encontrada -> encontrada.franjas().diasConClase())
+                .thenComparing(Encontrada::clave);
+
+        private final Candidato[][] niveles;
+        private final List<String> materiasSinGrupos = new ArrayList<>();
+        private final List<Grupo> gruposFijos;
+        private final FranjasHorario franjasFijas;
+        private final int limite;
+        private final long fin;
+        private final PriorityQueue<Encontrada> mejores;
+        private final LongAdder nodos = new LongAdder();
+        private volatile int cota = Integer.MAX_VALUE;
+        private volatile boolean agotado;
+
+        Busqueda(Map<String, List<Grupo>> gruposPorMateria, List<Grupo> gruposFijos, int limite, long fin) {
+            this.gruposFijos = gruposFijos;
+            this.limite = limite;
+            this.fin = fin;
+            this.mejores = new PriorityQueue<>(limite + 1, ORDEN.reversed());
+            FranjasHorario fijas = FranjasHorario.VACIA;
+            for (Grupo grupo : gruposFijos) {
+                fijas = fijas.unir(grupo.getFranjasHorario());
+            }
+            this.franjasFijas = fijas;
+
+            List<Candidato[]> candidatos = new ArrayList<>();
+            int indice = 0;
+            for (Map.Entry<String, List<Grupo>> materia : gruposPorMateria.entrySet()) {
+                List<Candidato> compatibles = new ArrayList<>();
+                for (Grupo grupo : materia.getValue()) {
+                    Candidato candidato = new Candidato(grupo, grupo.getFranjasHorario(), indice);
+                    if (esCompatible(candidato, franjasFijas, new Candidato[0], 0)) {
+                        compatibles.add(candidato);
+                    }
+                }
+                if (compatibles.isEmpty()) {
+                    materiasSinGrupos.add(materia.getKey());
+                }
+                compatibles.sort(Comparator.comparingInt((Candidato c) -> c.franjas().unir(franjasFijas).franjasEnCampus())
+                        .thenComparing(c -> c.grupo().getId(), Comparator.nullsLast(Comparator.naturalOrder())));
+                candidatos.add(compatibles.toArray(new Candidato[0]));
+                indice++;
+            }
+            candidatos.sort(Comparator.comparingInt(nivel -> nivel.length));
+            this.niveles = candidatos.toArray(new Candidato[0][]);
+        }
+
+        ResultadoBusqueda ejecutar(ForkJoinPool pool) {
+            if (niveles.length == 0 || !materiasSinGrupos.isEmpty()) {
+                return new ResultadoBusqueda(List.of(), materiasSinGrupos, true, 0);
+            }
+            int profundidad = 0;
+            long ramas = 1;
+            long objetivo = (long) pool.getParallelism() * TAREAS_POR_HILO;
+            while (profundidad < niveles.length - 1 && ramas < objetivo) {
+                ramas *= niveles[profundidad++].length;
+            }
+            List<Prefijo> prefijos = new ArrayList<>();
+            generarPrefijos(0, profundidad, franjasFijas, new Candidato[niveles.length], prefijos);
+
+            int inicio = profundidad;
+            List<ForkJoinTask<?>> tareas = new ArrayList<>(prefijos.size());
+            for (Prefijo prefijo : prefijos) {
+                tareas.add(pool.submit(() -> {
+                    long[] visitados = new long[1];
+                    explorar(inicio, prefijo.franjas(), prefijo.elegidos(), visitados);
+                    nodos.add(visitados[0]);
+                }));
+            }
+            for (ForkJoinTask<?> tarea : tareas) {
+                tarea.join();
+            }
+
+            List<Encontrada> ordenadas;
+            synchronized (this) {
+                ordenadas = new ArrayList<>(mejores);
+            }
+            ordenadas.sort(ORDEN);
+            List<CombinacionGrupos> combinaciones = ordenadas.stream()
+                    .map(encontrada -> new CombinacionGrupos(enOrdenDeMaterias(encontrada.elegidos()), encontrada.franjas()))
+                    .toList();
+            return new ResultadoBusqueda(combinaciones, materiasSinGrupos, !agotado, nodos.sum());
+        }
+
+        private void generarPrefijos(int nivel, int profundidad, FranjasHorario acumuladas, Candidato[] elegidos,
+                                     List<Prefijo> prefijos) {
+            if (nivel == profundidad) {
+                prefijos.add(new Prefijo(elegidos.clone(), acumuladas));
+                return;
+            }
+            for (Candidato candidato : niveles[nivel]) {
+                if (esCompatible(candidato, acumuladas, elegidos, nivel)) {
+                    elegidos[nivel] = candidato;
+                    generarPrefijos(nivel + 1, profundidad, acumuladas.unir(candidato.franjas()), elegidos, prefijos);
+                }
+            }
+            elegidos[nivel] = null;
+        }
+
+        private void explorar(int nivel, FranjasHorario acumuladas, Candidato[] elegidos, long[] visitados) {
+            if (++visitados[0] % NODOS_ENTRE_CONSULTAS_DE_TIEMPO == 0 && System.nanoTime() - fin > 0) {
+                agotado = true;
+            }
+            if (agotado) {
+                return;
+            }
+            if (nivel == niveles.length) {
+                registrar(elegidos.clone(), acumuladas);
+                return;
+            }
+            for (Candidato candidato : niveles[nivel]) {
+                if (!esCompatible(candidato, acumuladas, elegidos, nivel)) {
+                    continue;
+                }
+                FranjasHorario siguientes = acumuladas.unir(candidato.franjas());
+                if (siguientes.franjasEnCampus() > cota) {
+                    continue;
+                }
+                elegidos[nivel] = candidato;
+                explorar(nivel + 1, siguientes, elegidos, visitados);
+                if (agotado) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Un cruce de franjas solo es definitivo si ambas son exactas; si alguna se redondeó se
+         * confirma comparando los horarios contra cada grupo ya elegido y cada grupo fijo.
+         */
+        private boolean esCompatible(Candidato candidato, FranjasHorario acumuladas, Candidato[] elegidos, int nivel) {
+            if (!candidato.franjas().seCruzaCon(acumuladas)) {
+                return true;
+            }
+            if (candidato.franjas().esExacta() && acumuladas.esExacta()) {
+                return false;
+            }
+            for (Grupo fijo : gruposFijos) {
+                if (candidato.grupo().tieneCruceDeHorario(fijo)) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < nivel; i++) {
+                if (candidato.grupo().tieneCruceDeHorario(elegidos[i].grupo())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private synchronized void registrar(Candidato[] elegidos, FranjasHorario franjas) {
+            Encontrada encontrada = new Encontrada(elegidos, franjas, franjas.franjasEnCampus(),
+                    Arrays.stream(elegidos)
+                            .sorted(Comparator.comparingInt(Candidato::indiceMateria))
+                            .map(candidato -> String.valueOf(candidato.grupo().getId()))
+                            .collect(Collectors.joining(",")));
+            if (mejores.size() < limite) {
+                mejores.add(encontrada);
+            } else if (ORDEN.compare(encontrada, mejores.peek()) < 0) {
+                mejores.poll();
+                mejores.add(encontrada);
+            } else {
+                return;
+            }
+            if (mejores.size() == limite) {
+                cota = mejores.peek().costo();
+            }
+        }
+
+        private static List<Grupo> enOrdenDeMaterias(Candidato[] elegidos) {
+            return Arrays.stream(elegidos)
+                    .sorted(Comparator.comparingInt(Candidato::indiceMateria))
+                    .map(Candidato::grupo)
+                    .toList();
+        }
+    }
+}
@@ -3,14 +3,17 @@ package com.sirha.proyecto_sirha_dosw.service;
 import com.sirha.proyecto_sirha_dosw.dto.AsignacionProfesorDTO;
 import com.sirha.proyecto_sirha_dosw.dto.CapacidadGrupoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.GrupoDTO;
+import com.sirha.proyecto_sirha_dosw.dto.PaginaDTO;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.Horario;
 import com.sirha.proyecto_sirha_dosw.model.Materia;
 import com.sirha.proyecto_sirha_dosw.model.Profesor;
 import com.sirha.proyecto_sirha_dosw.model.Usuario;
 import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
-import com.sirha.proyecto_sirha_dosw.repository.MateriaRepository;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepositoryCustom.CambiosGrupo;
 import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
+import com.sirha.proyecto_sirha_dosw.util.Paginacion;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -18,6 +21,7 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 /**
@@ -30,22 +34,29 @@ import java.util.stream.Collectors;
 public class GrupoService {
 
     private final GrupoRepository grupoRepository;
-    private final MateriaRepository materiaRepository;
+    private final CacheCatalogo cacheCatalogo;
     private final UsuarioRepository usuarioRepository;
+    private final ListaEsperaService listaEsperaService;
+    private final MetricasSirha metricasSirha;
 
 
     /**
      * Constructor con inyección de dependencias.
      * @param grupoRepository repositorio de {@link Grupo}
-     * @param materiaRepository repositorio de {@link Materia}
+     * @param cacheCatalogo caché de lectura de materias
      * @param usuarioRepository repositorio de {@link Usuario}
+     * @param listaEsperaService servicio de listas de espera, que asigna los cupos liberados
+     * @param metricasSirha métricas de inscripciones
      */
     @Autowired
-    public GrupoService(GrupoRepository grupoRepository, MateriaRepository materiaRepository,
-                        UsuarioRepository usuarioRepository) {
+    public GrupoService(GrupoRepository grupoRepository, CacheCatalogo cacheCatalogo,
+                        UsuarioRepository usuarioRepository, ListaEsperaService listaEsperaService,
+                        MetricasSirha metricasSirha) {
         this.grupoRepository = grupoRepository;
-        this.materiaRepository = materiaRepository;
+        this.cacheCatalogo = cacheCatalogo;
         this.usuarioRepository = usuarioRepository;
+        this.listaEsperaService = listaEsperaService;
+        this.metricasSirha = metricasSirha;
     }
 
     /**
@@ -56,6 +67,25 @@ public class GrupoService {
         return grupoRepository.findAll();
     }
 
+    /**
+     * Consulta una página de grupos ordenada por id.
+     * @param cursor id del último grupo de la página anterior, o {@code null} para la primera.
+     * @param tamano cantidad de grupos por página, o {@code null} para el tamaño por defecto.
+     * @return página de grupos con el cursor de la siguiente.
+     * @throws SirhaException si el tamaño de página no es válido.
+     */
+    public PaginaDTO<Grupo> obtenerPaginaGrupos(String cursor, Integer tamano) throws SirhaException {
+        return Paginacion.pagina(grupoRepository::buscarPagina, cursor, tamano, Grupo::getId);
+    }
+
+    /**
+     * Recorre todos los grupos con un cursor de base de datos.
+     * @return flujo perezoso de grupos; debe cerrarse al terminar.
+     */
+    public Stream<Grupo> streamGrupos() {
+        return grupoRepository.streamGrupos();
+    }
+
     /**
      * Busca un grupo por su ID.
      * @param id identificador del grupo.
@@ -74,7 +104,7 @@ public class GrupoService {
     public Grupo createGrupo(@Valid GrupoDTO grupoDTO) throws SirhaException {
         Materia materia = null;
         if (grupoDTO.getMateriaId() != null) {
-            Optional<Materia> materiaOpt = materiaRepository.findById(grupoDTO.getMateriaId());
+            Optional<Materia> materiaOpt = cacheCatalogo.materiaPorId(grupoDTO.getMateriaId());
             if (materiaOpt.isEmpty()) {
                 throw new SirhaException(SirhaException.MATERIA_NO_ENCONTRADA);
             }
@@ -96,39 +126,38 @@ public class GrupoService {
 
     /**
      * Actualiza los datos de un grupo existente y realiza validaciones.
+     * Solo se escriben los campos enviados, con una actualización dirigida que no reescribe
+     *          las inscripciones ni la lista de espera del grupo.
      * @param id ID del grupo a actualizar.
      * @param grupoDTO datos a modificar.
      * @return el grupo actualizado.
      * @throws IllegalArgumentException si el grupo, materia o profesor no existen.
      */
     public Grupo updateGrupo(String id, @Valid GrupoDTO grupoDTO) throws SirhaException {
-        Optional<Grupo> grupoOpt = grupoRepository.findById(id);
-        if (grupoOpt.isEmpty()) {
+        if (!grupoRepository.existsById(id)) {
             throw new SirhaException(SirhaException.GRUPO_NO_ENCONTRADO);
         }
-        Grupo grupo = grupoOpt.get();
+        Materia materia = null;
         if (grupoDTO.getMateriaId() != null) {
-            Optional<Materia> materiaOpt = materiaRepository.findById(grupoDTO.getMateriaId());
+            Optional<Materia> materiaOpt = cacheCatalogo.materiaPorId(grupoDTO.getMateriaId());
             if (materiaOpt.isEmpty()) {
                 throw new SirhaException(SirhaException.MATERIA_NO_ENCONTRADA);
             }
-            grupo.setMateria(materiaOpt.get());
+            materia = materiaOpt.get();
         }
+        Profesor profesor = null;
         if (grupoDTO.getProfesorId() != null) {
             Optional<Usuario> profesorOpt = usuarioRepository.findById(grupoDTO.getProfesorId());
             if (profesorOpt.isEmpty() || !(profesorOpt.get() instanceof Profesor)) {
                 throw new SirhaException(SirhaException.PROFESOR_NO_ENCONTRADO);
             }
-            grupo.setProfesor((Profesor) profesorOpt.get());
+            profesor = (Profesor) profesorOpt.get();
         }
-        if (grupoDTO.getCapacidad() > 0) {
-            grupo.setCapacidad(grupoDTO.getCapacidad());
-            grupo.setEstaCompleto(grupo.getCantidadInscritos() >= grupoDTO.getCapacidad());
-        }
-        if (grupoDTO.getHorarios() != null && !grupoDTO.getHorarios().isEmpty()) {
-            grupo.setHorarios(grupoDTO.getHorarios());
-        }
-        return grupoRepository.save(grupo);
+        Integer capacidad = grupoDTO.getCapacidad() > 0 ? grupoDTO.getCapacidad() : null;
+        List<Horario> horarios = grupoDTO.getHorarios() != null && !grupoDTO.getHorarios().isEmpty()
+                ? grupoDTO.getHorarios() : null;
+        return grupoRepository.actualizarDatos(id, new CambiosGrupo(materia, profesor, horarios, capacidad))
+                .orElseThrow(() -> new SirhaException(SirhaException.GRUPO_NO_ENCONTRADO));
     }
     /**
      * Elimina un grupo por su ID.
@@ -185,60 +214,63 @@ public class GrupoService {
 
     /**
      * Agrega un estudiante a un grupo y realiza algunas validaciones.
+     * La reserva del cupo es atómica: la verificación de capacidad y la inscripción
+     *          se ejecutan en una sola operación sobre la base de datos, por lo que
+     *          inscripciones concurrentes nunca superan la capacidad del grupo.
      * @param grupoId ID del grupo.
      * @param estudianteId ID del estudiante.
      * @return grupo actualizado con el estudiante agregado.
-     * @throws IllegalArgumentException si alguna validación falla.
+     * @throws SirhaException si alguna validación falla.
      */
     public Grupo addEstudianteToGrupo(String grupoId, String estudianteId) throws SirhaException {
-        Optional<Grupo> grupoOpt = grupoRepository.findById(grupoId);
-        if (grupoOpt.isEmpty()) {
-            throw new SirhaException(SirhaException.GRUPO_NO_ENCONTRADO);
-        }
-
-        Grupo grupo = grupoOpt.get();
-
-        // Check if the grupo is already full
-        if (grupo.isEstaCompleto()) {
-            throw new SirhaException(SirhaException.GRUPO_COMPLETO);
-        }
-
-        // Check if the student is already in the grupo
-        if (grupo.getEstudiantesId().contains(estudianteId)) {
-            throw new SirhaException(SirhaException.ESTUDIANTE_YA_INSCRITO);
-        }
-
         // Verify the student exists
         if (!usuarioRepository.existsById(estudianteId)) {
             throw new SirhaException(SirhaException.ESTUDIANTE_NO_ENCONTRADO);
         }
 
-        grupo.addEstudiante(estudianteId);
-        return grupoRepository.save(grupo);
+        Optional<Grupo> grupoOpt = grupoRepository.reservarCupo(grupoId, estudianteId);
+        if (grupoOpt.isPresent()) {
+            metricasSirha.registrarInscripcion(MetricasSirha.OrigenInscripcion.DIRECTA);
+            return grupoOpt.get();
+        }
+        throw new SirhaException(motivoReservaFallida(grupoId, estudianteId));
     }
 
     /**
-     * Elimina a un estudiante de un grupo.
+     * Elimina a un estudiante de un grupo liberando su cupo de forma atómica.
+     * Si el grupo tiene lista de espera, el cupo pasa al primer estudiante de la lista.
      * @param grupoId ID del grupo.
      * @param estudianteId ID del estudiante.
      * @return grupo actualizado sin el estudiante.
-     * @throws IllegalArgumentException si el grupo no existe o si el estudiante no está inscrito.
+     * @throws SirhaException si el grupo no existe o si el estudiante no está inscrito.
      */
     public Grupo removeEstudianteFromGrupo(String grupoId, String estudianteId) throws SirhaException{
-        Optional<Grupo> grupoOpt = grupoRepository.findById(grupoId);
-        if (grupoOpt.isEmpty()) {
+        Optional<Grupo> grupoOpt = listaEsperaService.liberarCupo(grupoId, estudianteId);
+        if (grupoOpt.isPresent()) {
+            return grupoOpt.get();
+        }
+        if (!grupoRepository.existsById(grupoId)) {
             throw new SirhaException(SirhaException.GRUPO_NO_ENCONTRADO);
         }
+        throw new SirhaException(SirhaException.ESTUDIANTE_NO_INSCRITO);
+    }
 
-        Grupo grupo = grupoOpt.get();
-
-        // Check if the student is in the grupo
-        if (!grupo.getEstudiantesId().contains(estudianteId)) {
-            throw new SirhaException(SirhaException.ESTUDIANTE_NO_INSCRITO);
+    /**
+     * Determina por qué no se pudo reservar un cupo. Solo se consulta el grupo
+     *          cuando la reserva atómica ya falló, para informar el error adecuado.
+     * @param grupoId ID del grupo.
+     * @param estudianteId ID del estudiante.
+     * @return mensaje de error correspondiente.
+     */
+    private String motivoReservaFallida(String grupoId, String estudianteId) {
+        Optional<Grupo> grupoOpt = grupoRepository.findById(grupoId);
+        if (grupoOpt.isEmpty()) {
+            return SirhaException.GRUPO_NO_ENCONTRADO;
         }
-
-        grupo.removeEstudiante(estudianteId);
-        return grupoRepository.save(grupo);
+        if (grupoOpt.get().getEstudiantesId().contains(estudianteId)) {
+            return SirhaException.ESTUDIANTE_YA_INSCRITO;
+        }
+        return SirhaException.GRUPO_COMPLETO;
     }
 
     /**
@@ -267,6 +299,25 @@ public class GrupoService {
                 .toList();
     }
 
+    /**
+     * Obtiene la capacidad de una página de grupos ordenada por id.
+     * @param cursor id del último grupo de la página anterior, o {@code null} para la primera
+     * @param tamano cantidad de grupos por página, o {@code null} para el tamaño por defecto
+     * @return página de DTOs de capacidad con el cursor de la siguiente
+     * @throws SirhaException si el tamaño de página no es válido
+     */
+    public PaginaDTO<CapacidadGrupoDTO> obtenerPaginaCapacidadGrupos(String cursor, Integer tamano) throws SirhaException {
+        return obtenerPaginaGrupos(cursor, tamano).convertir(this::convertirGrupoACapacidadDTO);
+    }
+
+    /**
+     * Recorre la capacidad de todos los grupos con un cursor de base de datos.
+     * @return flujo perezoso de DTOs de capacidad; debe cerrarse al terminar
+     */
+    public Stream<CapacidadGrupoDTO> streamCapacidadGrupos() {
+        return grupoRepository.streamGrupos().map(this::convertirGrupoACapacidadDTO);
+    }
+
     /**
      * Obtiene la información de capacidad de grupos por materia.
      * @param materiaId ID de la materia
@@ -313,8 +364,7 @@ public class GrupoService {
      */
     public Grupo asignarProfesorAGrupo(String grupoId, String profesorId) throws SirhaException {
         // Verificar que el grupo existe
-        Optional<Grupo> grupoOpt = grupoRepository.findById(grupoId);
-        if (grupoOpt.isEmpty()) {
+        if (!grupoRepository.existsById(grupoId)) {
             throw new SirhaException(SirhaException.GRUPO_NO_ENCONTRADO);
         }
 
@@ -329,10 +379,8 @@ public class GrupoService {
             throw new SirhaException("El usuario especificado no es un profesor");
         }
 
-        Grupo grupo = grupoOpt.get();
-        grupo.setProfesor((Profesor) usuario);
-        
-        return grupoRepository.save(grupo);
+        return grupoRepository.asignarProfesor(grupoId, (Profesor) usuario)
+                .orElseThrow(() -> new SirhaException(SirhaException.GRUPO_NO_ENCONTRADO));
     }
 
     /**
@@ -342,15 +390,8 @@ public class GrupoService {
      * @throws SirhaException si el grupo no existe
      */
     public Grupo removerProfesorDeGrupo(String grupoId) throws SirhaException {
-        Optional<Grupo> grupoOpt = grupoRepository.findById(grupoId);
-        if (grupoOpt.isEmpty()) {
-            throw new SirhaException(SirhaException.GRUPO_NO_ENCONTRADO);
-        }
-
-        Grupo grupo = grupoOpt.get();
-        grupo.setProfesor(null);
-        
-        return grupoRepository.save(grupo);
+        return grupoRepository.asignarProfesor(grupoId, null)
+                .orElseThrow(() -> new SirhaException(SirhaException.GRUPO_NO_ENCONTRADO));
     }
 
     /**
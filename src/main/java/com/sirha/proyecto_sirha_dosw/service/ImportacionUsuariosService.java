@@ -0,0 +1,260 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.dto.ResultadoImportacionUsuariosDTO;
+import com.sirha.proyecto_sirha_dosw.dto.ResultadoImportacionUsuariosDTO.ErrorFila;
+import com.sirha.proyecto_sirha_dosw.dto.UsuarioDTO;
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+import com.sirha.proyecto_sirha_dosw.model.Carrera;
+import com.sirha.proyecto_sirha_dosw.model.Decano;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Rol;
+import com.sirha.proyecto_sirha_dosw.model.Usuario;
+import com.sirha.proyecto_sirha_dosw.model.UsuarioFactory;
+import com.sirha.proyecto_sirha_dosw.repository.CarreraRepository;
+import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
+import com.sirha.proyecto_sirha_dosw.util.GeneradorIdUsuario;
+import com.sirha.proyecto_sirha_dosw.util.LectorImportacionUsuarios;
+import com.sirha.proyecto_sirha_dosw.util.LectorImportacionUsuarios.Fila;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servicio que importa usuarios en masa desde un archivo CSV o NDJSON.
+ * El archivo se lee como flujo y se procesa por lotes: cada fila se valida con las mismas reglas
+ *          de {@link UsuarioService#registrar}, pero las carreras y los decanos existentes se cargan
+ *          una sola vez y los emails de cada lote se verifican con una única consulta. Las contraseñas
+ *          se cifran en un pool de hilos acotado y los usuarios se insertan con escrituras en lote
+ *          no ordenadas, de modo que una fila rechazada no detiene a las demás.
+ */
+@Service
+public class ImportacionUsuariosService {
+
+    static final String FILA_VACIA = "La fila no contiene datos";
+    static final String EMAIL_REPETIDO_EN_ARCHIVO = "El email generado ya corresponde a otra fila del archivo";
+
+    private final UsuarioRepository usuarioRepository;
+    private final CarreraRepository carreraRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final GeneradorIdUsuario generadorIdUsuario;
+    private final Validator validator;
+    private final int tamanoLote;
+    private final ExecutorService poolCifrado;
+
+    /**
+     * Usuario validado de una fila, pendiente de insertar.
+     * @param linea línea del archivo
+     * @param usuario usuario con email generado y contraseña aún sin cifrar
+     */
+    private record Candidato(int linea, Usuario usuario) {
+    }
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param usuarioRepository repositorio de usuarios
+     * @param carreraRepository repositorio de carreras
+     * @param passwordEncoder codificador de contraseñas
+     * @param generadorIdUsuario generador de los ids de los usuarios nuevos
+     * @param validator validador de las restricciones de {@link UsuarioDTO}
+     * @param tamanoLote cantidad de filas validadas e insertadas juntas
+     * @param hilosCifrado cantidad de hilos que cifran contraseñas en paralelo
+     */
+    public ImportacionUsuariosService(UsuarioRepository usuarioRepository, CarreraRepository carreraRepository,
+                                      PasswordEncoder passwordEncoder, GeneradorIdUsuario generadorIdUsuario,
+                                      Validator validator,
+                                      @Value("${sirha.usuarios.importacion.tamano-lote:1000}") int tamanoLote,
+                                      @Value("${sirha.usuarios.importacion.hilos-cifrado:4}") int hilosCifrado) {
+        this.usuarioRepository = usuarioRepository;
+        this.carreraRepository = carreraRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.generadorIdUsuario = generadorIdUsuario;
+        this.validator = validator;
+        this.tamanoLote = tamanoLote;
+        AtomicInteger hilos = new AtomicInteger();
+        this.poolCifrado = Executors.newFixedThreadPool(hilosCifrado, tarea -> {
+            Thread hilo = new Thread(tarea, "cifrado-importacion-" + hilos.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    @PreDestroy
+    void cerrar() {
+        poolCifrado.shutdown();
+    }
+
+    /**
+     * Importa los usuarios del archivo. Los ids y emails se generan igual que en el registro
+     *          individual.
+     * @param entrada contenido del archivo; se cierra al terminar
+     * @param tipoContenido {@code text/csv} o {@code application/x-ndjson}
+     * @return cantidad de filas procesadas e importadas y el error de cada fila rechazada
+     * @throws SirhaException si el formato no es soportado o al encabezado del CSV le faltan columnas
+     */
+    public ResultadoImportacionUsuariosDTO importar(InputStream entrada, String tipoContenido) throws SirhaException {
+        long inicio = System.nanoTime();
+        ResultadoImportacionUsuariosDTO resultado = new ResultadoImportacionUsuariosDTO();
+        Set<Facultad> carreras = EnumSet.noneOf(Facultad.class);
+        for (Carrera carrera : carreraRepository.findAll()) {
+            carreras.add(carrera.getNombre());
+        }
+        Set<Facultad> facultadesConDecano = EnumSet.noneOf(Facultad.class);
+        for (Usuario usuario : usuarioRepository.findByRol(Rol.DECANO)) {
+            if (usuario instanceof Decano decano && decano.getFacultad() != null) {
+                facultadesConDecano.add(decano.getFacultad());
+            }
+        }
+        Set<String> emailsDelArchivo = new HashSet<>();
+
+        try (LectorImportacionUsuarios lector = LectorImportacionUsuarios.abrir(entrada, tipoContenido)) {
+            List<Fila> lote = new ArrayList<>(tamanoLote);
+            while (lector.hasNext()) {
+                lote.add(lector.next());
+                if (lote.size() == tamanoLote) {
+                    procesarLote(lote, carreras, facultadesConDecano, emailsDelArchivo, resultado);
+                    lote.clear();
+                }
+            }
+            procesarLote(lote, carreras, facultadesConDecano, emailsDelArchivo, resultado);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        resultado.getErrores().sort(Comparator.comparingInt(ErrorFila::getLinea));
+        resultado.setFallidas(resultado.getErrores().size());
+        resultado.setTiempoMs((System.nanoTime() - inicio) / 1_000_000);
+        return resultado;
+    }
+
+    private void procesarLote(List<Fila> lote, Set<Facultad> carreras, Set<Facultad> facultadesConDecano,
+                              Set<String> emailsDelArchivo, ResultadoImportacionUsuariosDTO resultado) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        resultado.setProcesadas(resultado.getProcesadas() + lote.size());
+
+        List<Candidato> candidatos = new ArrayList<>();
+        for (Fila fila : lote) {
+            if (fila.usuario() == null) {
+                rechazar(resultado, fila.linea(), null, fila.error() != null ? fila.error() : FILA_VACIA);
+                continue;
+            }
+            try {
+                Usuario usuario = validarFila(fila.usuario(), carreras, facultadesConDecano);
+                if (!emailsDelArchivo.add(usuario.getEmail())) {
+                    throw new SirhaException(EMAIL_REPETIDO_EN_ARCHIVO);
+                }
+                if (usuario.getRol() == Rol.DECANO) {
+                    facultadesConDecano.add(((Decano) usuario).getFacultad());
+                }
+                candidatos.add(new Candidato(fila.linea(), usuario));
+            } catch (SirhaException e) {
+                rechazar(resultado, fila.linea(), null, e.getMessage());
+            }
+        }
+
+        Set<String> existentes = usuarioRepository.buscarEmailsExistentes(
+                candidatos.stream().map(c -> c.usuario().getEmail()).toList());
+        candidatos.removeIf(candidato -> {
+            boolean existe = existentes.contains(candidato.usuario().getEmail());
+            if (existe) {
+                rechazar(resultado, candidato.linea(), candidato.usuario().getEmail(), SirhaException.EMAIL_YA_REGISTRADO);
+            }
+            return existe;
+        });
+
+        cifrarContrasenas(candidatos);
+        insertar(candidatos, resultado);
+    }
+
+    /**
+     * Aplica a una fila las validaciones del registro individual, sin consultar la base de datos.
+     * @return usuario listo para insertar, con la contraseña sin cifrar
+     */
+    private Usuario validarFila(UsuarioDTO dto, Set<Facultad> carreras, Set<Facultad> facultadesConDecano)
+            throws SirhaException {
+        Set<ConstraintViolation<UsuarioDTO>> violaciones = validator.validate(dto);
+        if (!violaciones.isEmpty()) {
+            throw new SirhaException(String.join("; ", violaciones.stream()
+                    .map(ConstraintViolation::getMessage).sorted().toList()));
+        }
+        Rol rol = UsuarioService.validarYObtenerRol(dto.getRol());
+        Facultad facultad = UsuarioService.validarYObtenerFacultad(dto.getFacultad());
+        UsuarioService.validarFacultadPorRol(rol, facultad);
+        if (facultad != null && !carreras.contains(facultad)) {
+            throw new SirhaException(SirhaException.CARRERA_NO_ENCONTRADA + facultad.name());
+        }
+        if (rol == Rol.DECANO && facultadesConDecano.contains(facultad)) {
+            throw new SirhaException(SirhaException.DECANO_YA_EXISTE + " para la facultad " + facultad.name());
+        }
+        String email = UsuarioService.generarEmail(dto.getNombre(), dto.getApellido());
+        return UsuarioFactory.crearUsuario(rol, dto.getNombre(), dto.getApellido(), email, dto.getPassword(), facultad);
+    }
+
+    private void cifrarContrasenas(List<Candidato> candidatos) {
+        CompletableFuture<?>[] cifrados = candidatos.stream()
+                .map(Candidato::usuario)
+                .map(usuario -> CompletableFuture.runAsync(
+                        () -> usuario.setPassword(passwordEncoder.encode(usuario.getPassword())), poolCifrado))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(cifrados).join();
+    }
+
+    /**
+     * Inserta los candidatos en lote. Los rechazados por llave duplicada cuyo email sigue libre
+     *          chocaron con un id antiguo y se reintentan con ids nuevos, como en el registro individual.
+     */
+    private void insertar(List<Candidato> candidatos, ResultadoImportacionUsuariosDTO resultado) {
+        List<Candidato> pendientes = candidatos;
+        for (int intento = 1; !pendientes.isEmpty(); intento++) {
+            List<Usuario> usuarios = new ArrayList<>(pendientes.size());
+            for (Candidato candidato : pendientes) {
+                candidato.usuario().setId(generadorIdUsuario.siguiente());
+                usuarios.add(candidato.usuario());
+            }
+            Map<Integer, String> rechazados = usuarioRepository.insertarUsuarios(usuarios);
+            resultado.setImportadas(resultado.getImportadas() + usuarios.size() - rechazados.size());
+            if (rechazados.isEmpty()) {
+                return;
+            }
+
+            Set<String> tomados = usuarioRepository.buscarEmailsExistentes(rechazados.keySet().stream()
+                    .map(indice -> usuarios.get(indice).getEmail()).toList());
+            List<Candidato> reintentos = new ArrayList<>();
+            for (Map.Entry<Integer, String> rechazo : rechazados.entrySet()) {
+                Candidato candidato = pendientes.get(rechazo.getKey());
+                String email = candidato.usuario().getEmail();
+                if (tomados.contains(email)) {
+                    rechazar(resultado, candidato.linea(), email, SirhaException.EMAIL_YA_REGISTRADO);
+                } else if (intento >= UsuarioService.MAX_INTENTOS_ID) {
+                    rechazar(resultado, candidato.linea(), email, rechazo.getValue());
+                } else {
+                    reintentos.add(candidato);
+                }
+            }
+            pendientes = reintentos;
+        }
+    }
+
+    private static void rechazar(ResultadoImportacionUsuariosDTO resultado, int linea, String email, String error) {
+        resultado.getErrores().add(new ErrorFila(linea, email, error));
+    }
+}
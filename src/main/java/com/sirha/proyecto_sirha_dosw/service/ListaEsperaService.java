@@ -0,0 +1,363 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.dto.DisponibilidadGrupoDTO;
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+import com.sirha.proyecto_sirha_dosw.model.EntradaListaEspera;
+import com.sirha.proyecto_sirha_dosw.model.Estudiante;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.Solicitud;
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepository;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepositoryCustom.CupoLiberado;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
+import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
+import com.sirha.proyecto_sirha_dosw.util.EstudianteValidationUtil;
+import com.sirha.proyecto_sirha_dosw.util.SolicitudUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Servicio que gestiona las listas de espera de los grupos llenos.
+ * La lista se guarda en el propio grupo; al liberarse un cupo, el primer estudiante de la
+ *          lista lo ocupa en la misma actualización atómica y luego se completa la promoción:
+ *          se retira al estudiante de su grupo anterior de la materia (lo que puede promover a
+ *          otro estudiante de ese grupo), se registra el nuevo grupo en su semestre actual y se
+ *          aprueba la solicitud de cambio asociada, si la hay. Si el horario del estudiante
+ *          cambió desde que entró a la lista y ahora se cruza con el grupo, el cupo pasa al
+ *          siguiente de la lista.
+ */
+@Service
+public class ListaEsperaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ListaEsperaService.class);
+
+    static final String GRUPO_CON_CUPOS = "El grupo tiene cupos disponibles, el estudiante puede inscribirse directamente.";
+    static final String NO_ESTA_EN_LISTA = "El estudiante no está en la lista de espera del grupo.";
+    static final String CRUCE_HORARIO = "El grupo tiene cruce de horarios con el grupo de la materia: ";
+    static final String RESPUESTA_PROMOCION = "Solicitud aprobada: cupo asignado desde la lista de espera.";
+
+    private final GrupoRepository grupoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final SolicitudRepository solicitudRepository;
+    private final ContadorSolicitudesRepository contadorSolicitudesRepository;
+    private final SolicitudUtil solicitudUtil;
+    private final MetricasSirha metricasSirha;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param grupoRepository repositorio de grupos
+     * @param usuarioRepository repositorio de usuarios
+     * @param solicitudRepository repositorio de solicitudes
+     * @param contadorSolicitudesRepository contadores incrementales de solicitudes
+     * @param solicitudUtil utilidad para generar prioridades
+     * @param metricasSirha métricas de inscripciones y transiciones de solicitudes
+     */
+    public ListaEsperaService(GrupoRepository grupoRepository, UsuarioRepository usuarioRepository,
+                              SolicitudRepository solicitudRepository,
+                              ContadorSolicitudesRepository contadorSolicitudesRepository,
+                              SolicitudUtil solicitudUtil, MetricasSirha metricasSirha) {
+        this.grupoRepository = grupoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.solicitudRepository = solicitudRepository;
+        this.contadorSolicitudesRepository = contadorSolicitudesRepository;
+        this.solicitudUtil = solicitudUtil;
+        this.metricasSirha = metricasSirha;
+    }
+
+    /**
+     * Agrega al estudiante a la lista de espera de un grupo lleno.
+     * Si el estudiante tiene una solicitud de cambio pendiente hacia ese grupo, conserva su
+     *          prioridad y la solicitud se aprueba al asignarle el cupo; si no, recibe la
+     *          siguiente prioridad disponible.
+     * @param grupoId ID del grupo
+     * @param estudianteId ID del estudiante
+     * @return disponibilidad del grupo con la posición del estudiante en la lista
+     * @throws SirhaException si el estudiante o el grupo no existen, el estudiante ya está
+     *          inscrito, el grupo tiene cupos o el grupo se cruza con su horario
+     */
+    public DisponibilidadGrupoDTO unirseAListaEspera(String grupoId, String estudianteId) throws SirhaException {
+        Estudiante estudiante = EstudianteValidationUtil.obtenerEstudiante(usuarioRepository, estudianteId);
+        Grupo grupo = grupoRepository.findById(grupoId)
+                .orElseThrow(() -> new SirhaException(SirhaException.GRUPO_NO_ENCONTRADO + grupoId));
+        if (grupo.getEstudiantesId().contains(estudianteId)) {
+            throw new SirhaException(SirhaException.ESTUDIANTE_YA_INSCRITO);
+        }
+        if (grupo.posicionEnListaEspera(estudianteId) > 0) {
+            return disponibilidadParaEstudiante(grupo, estudianteId);
+        }
+        Grupo grupoCruce = estudiante.buscarCruceDeHorario(grupo, grupoDeLaMateria(estudiante, grupo));
+        if (grupoCruce != null) {
+            throw new SirhaException(CRUCE_HORARIO + grupoCruce.getMateria().getNombre());
+        }
+
+        Optional<Solicitud> solicitud = solicitudPendienteHacia(estudianteId, grupoId);
+        EntradaListaEspera entrada = new EntradaListaEspera(estudianteId,
+                solicitud.map(Solicitud::getId).orElse(null),
+                solicitud.map(Solicitud::getPrioridad).orElseGet(solicitudUtil::generarNumeroPrioridad),
+                LocalDateTime.now());
+        Optional<Grupo> actualizado = grupoRepository.agregarAListaEspera(grupoId, entrada);
+        if (actualizado.isPresent()) {
+            return disponibilidadParaEstudiante(actualizado.get(), estudianteId);
+        }
+
+        // La condición atómica falló: el grupo tiene cupos o el estudiante entró entretanto
+        Grupo actual = grupoRepository.findById(grupoId)
+                .orElseThrow(() -> new SirhaException(SirhaException.GRUPO_NO_ENCONTRADO + grupoId));
+        if (actual.getEstudiantesId().contains(estudianteId)) {
+            throw new SirhaException(SirhaException.ESTUDIANTE_YA_INSCRITO);
+        }
+        if (actual.posicionEnListaEspera(estudianteId) > 0) {
+            return disponibilidadParaEstudiante(actual, estudianteId);
+        }
+        throw new SirhaException(GRUPO_CON_CUPOS);
+    }
+
+    /**
+     * Consulta la posición del estudiante en la lista de espera de un grupo.
+     * @param grupoId ID del grupo
+     * @param estudianteId ID del estudiante
+     * @return disponibilidad del grupo con la posición del estudiante en la lista
+     * @throws SirhaException si el grupo no existe o el estudiante no está en la lista
+     */
+    public DisponibilidadGrupoDTO consultarPosicion(String grupoId, String estudianteId) throws SirhaException {
+        Grupo grupo = grupoRepository.findById(grupoId)
+                .orElseThrow(() -> new SirhaException(SirhaException.GRUPO_NO_ENCONTRADO + grupoId));
+        if (grupo.posicionEnListaEspera(estudianteId) == 0) {
+            throw new SirhaException(NO_ESTA_EN_LISTA);
+        }
+        return disponibilidadParaEstudiante(grupo, estudianteId);
+    }
+
+    /**
+     * Retira al estudiante de la lista de espera de un grupo.
+     * @param grupoId ID del grupo
+     * @param estudianteId ID del estudiante
+     * @throws SirhaException si el estudiante no está en la lista
+     */
+    public void salirDeListaEspera(String grupoId, String estudianteId) throws SirhaException {
+        if (grupoRepository.retirarDeListaEspera(grupoId, estudianteId).isEmpty()) {
+            throw new SirhaException(NO_ESTA_EN_LISTA);
+        }
+    }
+
+    /**
+     * Promociones desde la lista de espera provocadas al liberar un cupo, incluidas las que se
+     *          encadenan cuando el estudiante promovido deja su grupo anterior.
+     * @param inscripciones estudiantes que ocuparon un cupo desde la lista de espera
+     * @param aprobadasDesde estado anterior de cada solicitud aprobada por una promoción
+     */
+    public record Promociones(int inscripciones, List<SolicitudEstado> aprobadasDesde) {
+
+        /** Ninguna promoción. */
+        public static final Promociones NINGUNA = new Promociones(0, List.of());
+
+        public Promociones {
+            aprobadasDesde = List.copyOf(aprobadasDesde);
+        }
+
+        /**
+         * Acumula las promociones de otra liberación.
+         * @param otras promociones a sumar
+         * @return promociones de ambas liberaciones
+         */
+        public Promociones sumar(Promociones otras) {
+            if (otras.inscripciones == 0 && otras.aprobadasDesde.isEmpty()) {
+                return this;
+            }
+            List<SolicitudEstado> aprobadas = new ArrayList<>(aprobadasDesde);
+            aprobadas.addAll(otras.aprobadasDesde);
+            return new Promociones(inscripciones + otras.inscripciones, aprobadas);
+        }
+    }
+
+    /**
+     * Resultado de liberar un cupo.
+     * @param grupo grupo con la ocupación resultante, o {@code null} si el grupo no existe o el
+     *          estudiante no estaba inscrito
+     * @param promociones promociones desde la lista de espera que provocó la liberación
+     */
+    private record Liberacion(Grupo grupo, Promociones promociones) {
+    }
+
+    /**
+     * Libera el cupo del estudiante y, si alguien esperaba, completa su promoción al grupo.
+     *          Las métricas de las promociones se registran de inmediato, así que solo debe
+     *          usarse fuera de una transacción; dentro de una se usa
+     *          {@link #liberarCupoEnTransaccion(String, String)}.
+     * @param grupoId ID del grupo
+     * @param estudianteId ID del estudiante que deja el grupo
+     * @return grupo con la ocupación resultante, o vacío si el grupo no existe o el
+     *          estudiante no estaba inscrito
+     */
+    public Optional<Grupo> liberarCupo(String grupoId, String estudianteId) {
+        Liberacion liberacion = liberar(grupoId, estudianteId);
+        registrarPromociones(liberacion.promociones());
+        return Optional.ofNullable(liberacion.grupo());
+    }
+
+    /**
+     * Libera el cupo del estudiante y completa la promoción de quien esperaba, sin registrar
+     *          métricas. La transacción que lo invoca puede deshacerse o reintentarse, por eso
+     *          quien la ejecuta registra las promociones devueltas con
+     *          {@link #registrarPromociones(Promociones)} después de confirmarla.
+     * @param grupoId ID del grupo
+     * @param estudianteId ID del estudiante que deja el grupo
+     * @return promociones desde la lista de espera que provocó la liberación
+     */
+    public Promociones liberarCupoEnTransaccion(String grupoId, String estudianteId) {
+        return liberar(grupoId, estudianteId).promociones();
+    }
+
+    /**
+     * Registra en las métricas las inscripciones desde la lista de espera y las solicitudes
+     *          aprobadas por las promociones.
+     * @param promociones promociones ya confirmadas
+     */
+    public void registrarPromociones(Promociones promociones) {
+        metricasSirha.registrarInscripciones(MetricasSirha.OrigenInscripcion.LISTA_ESPERA, promociones.inscripciones());
+        for (SolicitudEstado anterior : promociones.aprobadasDesde()) {
+            metricasSirha.registrarTransicionSolicitud(anterior, SolicitudEstado.APROBADA);
+        }
+    }
+
+    private Liberacion liberar(String grupoId, String estudianteId) {
+        Optional<CupoLiberado> liberado = grupoRepository.liberarCupo(grupoId, estudianteId);
+        if (liberado.isEmpty()) {
+            return new Liberacion(null, Promociones.NINGUNA);
+        }
+        CupoLiberado cupo = liberado.get();
+        Promociones promociones = cupo.promovida() == null
+                ? Promociones.NINGUNA : completarPromocion(cupo.grupo(), cupo.promovida());
+        return new Liberacion(cupo.grupo(), promociones);
+    }
+
+    /**
+     * Construye la disponibilidad de un grupo. La lista de estudiantes en espera se
+     *          devuelve en orden de atención.
+     * @param grupo grupo a describir
+     * @return disponibilidad del grupo
+     */
+    public static DisponibilidadGrupoDTO disponibilidad(Grupo grupo) {
+        DisponibilidadGrupoDTO disponibilidad = new DisponibilidadGrupoDTO();
+        disponibilidad.setGrupoId(grupo.getId());
+        if (grupo.getMateria() != null) {
+            disponibilidad.setNombreMateria(grupo.getMateria().getNombre());
+            disponibilidad.setAcronimoMateria(grupo.getMateria().getAcronimo());
+        }
+        disponibilidad.setCapacidadMaxima(grupo.getCapacidad());
+        disponibilidad.setCantidadInscritos(grupo.getCantidadInscritos());
+        disponibilidad.setEstaCompleto(grupo.isEstaCompleto());
+        disponibilidad.setHorarios(grupo.getHorarios());
+        disponibilidad.setListaEspera(grupo.getListaEsperaOrdenada().stream()
+                .map(EntradaListaEspera::getEstudianteId)
+                .toList());
+        disponibilidad.setTamanoListaEspera(grupo.getListaEspera().size());
+        return disponibilidad;
+    }
+
+    /**
+     * Disponibilidad vista por un estudiante: incluye su posición y el tamaño de la lista,
+     *          pero no los identificadores de los demás estudiantes en espera.
+     */
+    private static DisponibilidadGrupoDTO disponibilidadParaEstudiante(Grupo grupo, String estudianteId) {
+        DisponibilidadGrupoDTO disponibilidad = disponibilidad(grupo);
+        disponibilidad.setPosicionListaEspera(grupo.posicionEnListaEspera(estudianteId));
+        disponibilidad.setListaEspera(null);
+        return disponibilidad;
+    }
+
+    private Promociones completarPromocion(Grupo grupo, EntradaListaEspera promovida) {
+        Promociones inscrito = new Promociones(1, List.of());
+        Optional<Estudiante> estudianteOpt = usuarioRepository.findById(promovida.getEstudianteId())
+                .filter(Estudiante.class::isInstance)
+                .map(Estudiante.class::cast);
+        if (estudianteOpt.isEmpty() || estudianteOpt.get().getSemestreActual() == null) {
+            logger.warn("El estudiante {} recibió un cupo en el grupo {} desde la lista de espera, "
+                    + "pero no tiene semestre actual para registrarlo", promovida.getEstudianteId(), grupo.getId());
+            return inscrito;
+        }
+        Estudiante estudiante = estudianteOpt.get();
+
+        Grupo anterior = grupoDeLaMateria(estudiante, grupo);
+        Grupo grupoCruce = estudiante.buscarCruceDeHorario(grupo, anterior);
+        if (grupoCruce != null) {
+            logger.info("El estudiante {} ya no puede ocupar el cupo del grupo {}: se cruza con el grupo {}; "
+                    + "el cupo pasa al siguiente de la lista", estudiante.getId(), grupo.getId(), grupoCruce.getId());
+            return liberar(grupo.getId(), estudiante.getId()).promociones();
+        }
+        Promociones promociones = inscrito;
+        if (anterior != null) {
+            promociones = promociones.sumar(liberar(anterior.getId(), estudiante.getId()).promociones());
+            estudiante.removeGrupo(anterior);
+        }
+        estudiante.addGrupo(grupo);
+        usuarioRepository.save(estudiante);
+
+        if (promovida.getSolicitudId() != null) {
+            Optional<SolicitudEstado> aprobadaDesde = solicitudRepository.findById(promovida.getSolicitudId())
+                    .filter(solicitud -> solicitud.getEstado() == SolicitudEstado.PENDIENTE
+                            || solicitud.getEstado() == SolicitudEstado.EN_REVISION)
+                    .flatMap(this::aprobarPorPromocion);
+            if (aprobadaDesde.isPresent()) {
+                promociones = promociones.sumar(new Promociones(0, List.of(aprobadaDesde.get())));
+            }
+        }
+        return promociones;
+    }
+
+    /**
+     * Aprueba la solicitud asociada a una promoción.
+     * @return estado anterior de la solicitud, o vacío si cambió antes de aprobarse
+     */
+    private Optional<SolicitudEstado> aprobarPorPromocion(Solicitud solicitud) {
+        SolicitudEstado anterior = solicitud.getEstado();
+        solicitud.setEstado(SolicitudEstado.APROBADA);
+        solicitud.setRespuesta(RESPUESTA_PROMOCION);
+        solicitud.setFechaResolucion(LocalDateTime.now());
+        // Un decano pudo responder la solicitud después de leerla: solo se aprueba si sigue igual
+        if (!solicitudRepository.registrarRespuesta(solicitud, anterior)) {
+            logger.info("La solicitud {} cambió de estado antes de aprobarse por la lista de espera", solicitud.getId());
+            return Optional.empty();
+        }
+        contadorSolicitudesRepository.registrarTransicion(solicitud.getFacultad(), solicitud.getTipoSolicitud(),
+                anterior, SolicitudEstado.APROBADA);
+        return Optional.of(anterior);
+    }
+
+    private Optional<Solicitud> solicitudPendienteHacia(String estudianteId, String grupoId) {
+        List<Solicitud> solicitudes = solicitudRepository.findByEstudianteId(estudianteId);
+        return solicitudes.stream()
+                .filter(solicitud -> solicitud.getTipoSolicitud() == TipoSolicitud.CAMBIO_GRUPO)
+                .filter(solicitud -> solicitud.getEstado() == SolicitudEstado.PENDIENTE
+                        || solicitud.getEstado() == SolicitudEstado.EN_REVISION)
+                .filter(solicitud -> solicitud.getGrupoDestino() != null
+                        && grupoId.equals(solicitud.getGrupoDestino().getId()))
+                .findFirst();
+    }
+
+    /**
+     * Busca el grupo actual del estudiante en la misma materia del grupo indicado.
+     */
+    private static Grupo grupoDeLaMateria(Estudiante estudiante, Grupo grupo) {
+        if (grupo.getMateria() == null) {
+            return null;
+        }
+        for (Grupo actual : estudiante.getGrupos()) {
+            if (actual != null && actual.getMateria() != null
+                    && Objects.equals(actual.getMateria().getAcronimo(), grupo.getMateria().getAcronimo())
+                    && !Objects.equals(actual.getId(), grupo.getId())) {
+                return actual;
+            }
+        }
+        return null;
+    }
+}
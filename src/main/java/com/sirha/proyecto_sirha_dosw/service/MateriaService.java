@@ -12,10 +12,12 @@ import org.springframework.stereotype.Service;
 public class MateriaService {
 
     private final MateriaRepository materiaRepository;
+    private final CacheCatalogo cacheCatalogo;
 
     @Autowired
-    public MateriaService (MateriaRepository materiaRepository) {
+    public MateriaService (MateriaRepository materiaRepository, CacheCatalogo cacheCatalogo) {
         this.materiaRepository = materiaRepository;
+        this.cacheCatalogo = cacheCatalogo;
     }
     public Materia createMateria(@Valid MateriaDTO materiaDTO) throws SirhaException {
         if(materiaRepository.findByAcronimo(materiaDTO.getAcronimo()).isPresent()){
@@ -28,7 +30,9 @@ public class MateriaService {
         materia.setAcronimo(materiaDTO.getAcronimo());
         materia.setNombre(materiaDTO.getNombre());
         materia.setCreditos(materiaDTO.getCreditos());
-        return materiaRepository.save(materia);
+        Materia guardada = materiaRepository.save(materia);
+        cacheCatalogo.invalidar();
+        return guardada;
     }
 
     public void deleteMateria(String id) throws SirhaException{
@@ -36,5 +40,6 @@ public class MateriaService {
             throw new SirhaException(SirhaException.MATERIA_NO_ENCONTRADA);
         }
         materiaRepository.deleteById(id);
+        cacheCatalogo.invalidar();
     }
 }
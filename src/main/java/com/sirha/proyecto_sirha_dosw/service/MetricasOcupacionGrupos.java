@@ -0,0 +1,74 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepositoryCustom.OcupacionFacultad;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Medidores de la ocupación de los grupos por facultad.
+ *
+ * <p>Los valores salen de una agregación sobre la colección de grupos que se ejecuta cada
+ * intervalo de actualización y se guardan en una instantánea inmutable; leer los medidores,
+ * por ejemplo al servir {@code /actuator/prometheus}, no consulta la base de datos.</p>
+ */
+@Component
+public class MetricasOcupacionGrupos {
+
+    static final String OCUPACION = "sirha.grupos.ocupacion";
+    static final String INSCRITOS = "sirha.grupos.inscritos";
+    static final String CAPACIDAD = "sirha.grupos.capacidad";
+    static final String GRUPOS = "sirha.grupos";
+
+    private final GrupoRepository grupoRepository;
+    private volatile Map<Facultad, OcupacionFacultad> ocupaciones = Collections.emptyMap();
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param grupoRepository repositorio de grupos
+     * @param registry registro donde se publican los medidores
+     */
+    public MetricasOcupacionGrupos(GrupoRepository grupoRepository, MeterRegistry registry) {
+        this.grupoRepository = grupoRepository;
+        for (Facultad facultad : Facultad.values()) {
+            registrar(registry, OCUPACION, "Fracción de la capacidad de los grupos ocupada por inscritos", facultad,
+                    ocupacion -> ocupacion.capacidad() == 0 ? 0.0 : (double) ocupacion.inscritos() / ocupacion.capacidad());
+            registrar(registry, INSCRITOS, "Estudiantes inscritos en los grupos", facultad,
+                    OcupacionFacultad::inscritos);
+            registrar(registry, CAPACIDAD, "Cupos totales de los grupos", facultad, OcupacionFacultad::capacidad);
+            registrar(registry, GRUPOS, "Grupos registrados", facultad, OcupacionFacultad::grupos);
+        }
+    }
+
+    /**
+     * Vuelve a calcular la ocupación de todas las facultades y reemplaza la instantánea.
+     */
+    @Scheduled(fixedDelayString = "${sirha.metricas.ocupacion.intervalo-ms:30000}")
+    public void actualizar() {
+        Map<Facultad, OcupacionFacultad> nuevas = new EnumMap<>(Facultad.class);
+        for (OcupacionFacultad ocupacion : grupoRepository.ocupacionPorFacultad()) {
+            nuevas.put(ocupacion.facultad(), ocupacion);
+        }
+        ocupaciones = Collections.unmodifiableMap(nuevas);
+    }
+
+    private void registrar(MeterRegistry registry, String nombre, String descripcion, Facultad facultad,
+                           ToDoubleFunction<OcupacionFacultad> valor) {
+        Gauge.builder(nombre, this, metricas -> {
+                    OcupacionFacultad ocupacion = metricas.ocupaciones.get(facultad);
+                    return ocupacion == null ? 0.0 : valor.applyAsDouble(ocupacion);
+                })
+                .description(descripcion)
+                .tag("facultad", facultad.name().toLowerCase(Locale.ROOT))
+                .register(registry);
+    }
+}
@@ -0,0 +1,184 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Métricas de negocio de SIRHA publicadas con Micrometer.
+ *
+ * <p>Todos los contadores se registran al crear el componente, uno por cada combinación de
+ * etiquetas, de modo que registrar un evento es buscar el contador en un {@link EnumMap} e
+ * incrementarlo, sin asignar memoria ni consultar el registro en cada petición.</p>
+ */
+@Component
+public class MetricasSirha {
+
+    static final String INSCRIPCIONES = "sirha.inscripciones";
+    static final String TRANSICIONES_SOLICITUDES = "sirha.solicitudes.transiciones";
+    static final String VALIDACIONES_JWT = "sirha.jwt.validaciones";
+    static final String BCRYPT = "sirha.bcrypt";
+
+    /** Valor de la etiqueta {@code desde} para las solicitudes recién creadas. */
+    static final String SIN_ESTADO = "ninguno";
+
+    /**
+     * Camino por el que un estudiante ocupa un cupo en un grupo.
+     */
+    public enum OrigenInscripcion {
+        /** Inscripción directa en un grupo con cupos. */
+        DIRECTA,
+        /** Aprobación de una solicitud con grupo destino. */
+        SOLICITUD,
+        /** Promoción desde la lista de espera al liberarse un cupo. */
+        LISTA_ESPERA
+    }
+
+    /**
+     * Resultado de validar el token JWT de una petición.
+     */
+    public enum ResultadoValidacionJwt {
+        /** El usuario del token ya estaba en caché. */
+        CACHE,
+        /** Firma, expiración, usuario y rol válidos. */
+        VALIDO,
+        /** Token bien firmado cuyo usuario ya no existe o cambió de rol. */
+        RECHAZADO,
+        /** Token mal formado, con firma inválida o expirado. */
+        INVALIDO
+    }
+
+    private final Map<OrigenInscripcion, Counter> inscripciones = new EnumMap<>(OrigenInscripcion.class);
+    private final Map<SolicitudEstado, Counter> creaciones = new EnumMap<>(SolicitudEstado.class);
+    private final Map<SolicitudEstado, Map<SolicitudEstado, Counter>> transiciones = new EnumMap<>(SolicitudEstado.class);
+    private final Map<ResultadoValidacionJwt, Counter> validacionesJwt = new EnumMap<>(ResultadoValidacionJwt.class);
+    private final Timer cifradoContrasenas;
+    private final Timer verificacionContrasenas;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param registry registro donde se publican las métricas
+     */
+    public MetricasSirha(MeterRegistry registry) {
+        for (OrigenInscripcion origen : OrigenInscripcion.values()) {
+            inscripciones.put(origen, Counter.builder(INSCRIPCIONES)
+                    .description("Cupos ocupados por estudiantes en grupos")
+                    .tag("origen", etiqueta(origen))
+                    .register(registry));
+        }
+        for (SolicitudEstado hacia : SolicitudEstado.values()) {
+            creaciones.put(hacia, transicion(registry, SIN_ESTADO, hacia));
+        }
+        for (SolicitudEstado desde : SolicitudEstado.values()) {
+            Map<SolicitudEstado, Counter> porDestino = new EnumMap<>(SolicitudEstado.class);
+            for (SolicitudEstado hacia : SolicitudEstado.values()) {
+                if (desde != hacia) {
+                    porDestino.put(hacia, transicion(registry, etiqueta(desde), hacia));
+                }
+            }
+            transiciones.put(desde, porDestino);
+        }
+        for (ResultadoValidacionJwt resultado : ResultadoValidacionJwt.values()) {
+            validacionesJwt.put(resultado, Counter.builder(VALIDACIONES_JWT)
+                    .description("Tokens JWT validados por resultado")
+                    .tag("resultado", etiqueta(resultado))
+                    .register(registry));
+        }
+        cifradoContrasenas = bcrypt(registry, "hash");
+        verificacionContrasenas = bcrypt(registry, "verificacion");
+    }
+
+    /**
+     * Registra un cupo ocupado en un grupo.
+     * @param origen camino por el que se ocupó el cupo
+     */
+    public void registrarInscripcion(OrigenInscripcion origen) {
+        inscripciones.get(origen).increment();
+    }
+
+    /**
+     * Registra varios cupos ocupados en grupos por el mismo camino.
+     * @param origen camino por el que se ocuparon los cupos
+     * @param cantidad número de cupos
+     */
+    public void registrarInscripciones(OrigenInscripcion origen, int cantidad) {
+        if (cantidad > 0) {
+            inscripciones.get(origen).increment(cantidad);
+        }
+    }
+
+    /**
+     * Registra una solicitud nueva en su estado inicial.
+     * @param estado estado inicial de la solicitud
+     */
+    public void registrarCreacionSolicitud(SolicitudEstado estado) {
+        if (estado != null) {
+            creaciones.get(estado).increment();
+        }
+    }
+
+    /**
+     * Registra el cambio de estado de una solicitud. Las transiciones a un mismo estado se ignoran.
+     * @param anterior estado anterior, o {@code null} si la solicitud no lo tenía
+     * @param nuevo estado nuevo
+     */
+    public void registrarTransicionSolicitud(SolicitudEstado anterior, SolicitudEstado nuevo) {
+        if (nuevo == null || anterior == nuevo) {
+            return;
+        }
+        if (anterior == null) {
+            registrarCreacionSolicitud(nuevo);
+        } else {
+            transiciones.get(anterior).get(nuevo).increment();
+        }
+    }
+
+    /**
+     * Registra el resultado de validar el token JWT de una petición.
+     * @param resultado resultado de la validación
+     */
+    public void registrarValidacionJwt(ResultadoValidacionJwt resultado) {
+        validacionesJwt.get(resultado).increment();
+    }
+
+    /**
+     * Temporizador de los cifrados de contraseñas con BCrypt; su conteo es el número de hashes.
+     * @return temporizador de cifrados
+     */
+    public Timer cifradoContrasenas() {
+        return cifradoContrasenas;
+    }
+
+    /**
+     * Temporizador de las comparaciones de contraseñas contra su hash BCrypt.
+     * @return temporizador de verificaciones
+     */
+    public Timer verificacionContrasenas() {
+        return verificacionContrasenas;
+    }
+
+    private static Counter transicion(MeterRegistry registry, String desde, SolicitudEstado hacia) {
+        return Counter.builder(TRANSICIONES_SOLICITUDES)
+                .description("Cambios de estado de las solicitudes")
+                .tag("desde", desde)
+                .tag("hacia", etiqueta(hacia))
+                .register(registry);
+    }
+
+    private static Timer bcrypt(MeterRegistry registry, String operacion) {
+        return Timer.builder(BCRYPT)
+                .description("Operaciones BCrypt sobre contraseñas")
+                .tag("operacion", operacion)
+                .register(registry);
+    }
+
+    private static String etiqueta(Enum<?> valor) {
+        return valor.name().toLowerCase(Locale.ROOT);
+    }
+}
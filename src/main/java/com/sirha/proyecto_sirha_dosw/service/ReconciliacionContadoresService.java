@@ -0,0 +1,168 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepositoryCustom.ConteoSolicitudes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/**
+ * Servicio que reconstruye los contadores de solicitudes a partir de la colección de solicitudes
+ *          y reporta las diferencias encontradas. Corrige la desviación que pueda quedar si el
+ *          proceso se interrumpe entre el guardado de una solicitud y la actualización de su contador.
+ * El recuento y la lectura de los contadores ocurren en momentos distintos, así que una solicitud
+ *          creada o respondida entre ambos aparece como desviación sin serlo. Por eso una celda solo
+ *          se corrige cuando la misma diferencia aparece en dos ejecuciones consecutivas.
+ * Con varias instancias, la ejecución programada solo corre en la que toma la concesión del
+ *          intervalo en la colección de secuencias, y cada corrección fija el valor esperado
+ *          condicionada a que el contador conserve el valor leído, así que nunca se aplica dos veces.
+ */
+@Service
+public class ReconciliacionContadoresService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReconciliacionContadoresService.class);
+
+    /**
+     * Diferencia entre el conteo real de solicitudes y el contador registrado.
+     * @param facultad facultad de la celda.
+     * @param tipoSolicitud tipo de la celda.
+     * @param estado estado de la celda.
+     * @param esperado cantidad de solicitudes en la colección.
+     * @param registrado cantidad que tenía el contador.
+     * @param corregida si el contador se corrigió en esta ejecución, por repetir la diferencia de la anterior.
+     */
+    public record Desviacion(Facultad facultad, TipoSolicitud tipoSolicitud, SolicitudEstado estado,
+                             long esperado, long registrado, boolean corregida) {
+    }
+
+    private record Celda(Facultad facultad, TipoSolicitud tipoSolicitud, SolicitudEstado estado) {
+    }
+
+    static final String CONCESION = "reconciliacion-contadores";
+
+    private final SolicitudRepository solicitudRepository;
+    private final ContadorSolicitudesRepository contadorSolicitudesRepository;
+    private final SecuenciaRepository secuenciaRepository;
+    private final long concesionMillis;
+    private final LongSupplier reloj;
+    /** Diferencias sin corregir de la ejecución anterior, pendientes de confirmación. */
+    private Map<Celda, Long> diferenciasPendientes = Map.of();
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param solicitudRepository repositorio de solicitudes
+     * @param contadorSolicitudesRepository repositorio de contadores de solicitudes
+     * @param secuenciaRepository repositorio donde se toma la concesión de la ejecución programada
+     * @param concesionMillis duración de la concesión; algo menor que el intervalo para que haya
+     *          una sola ejecución por intervalo entre todas las instancias
+     */
+    @Autowired
+    public ReconciliacionContadoresService(SolicitudRepository solicitudRepository,
+                                           ContadorSolicitudesRepository contadorSolicitudesRepository,
+                                           SecuenciaRepository secuenciaRepository,
+                                           @Value("${sirha.contadores.reconciliacion.concesion-ms:3000000}") long concesionMillis) {
+        this(solicitudRepository, contadorSolicitudesRepository, secuenciaRepository, concesionMillis,
+                System::currentTimeMillis);
+    }
+
+    ReconciliacionContadoresService(SolicitudRepository solicitudRepository,
+                                    ContadorSolicitudesRepository contadorSolicitudesRepository,
+                                    SecuenciaRepository secuenciaRepository, long concesionMillis,
+                                    LongSupplier reloj) {
+        this.solicitudRepository = solicitudRepository;
+        this.contadorSolicitudesRepository = contadorSolicitudesRepository;
+        this.secuenciaRepository = secuenciaRepository;
+        this.concesionMillis = concesionMillis;
+        this.reloj = reloj;
+    }
+
+    /**
+     * Ejecuta la reconciliación de forma periódica en la instancia que toma la concesión del
+     * intervalo; las demás la omiten. Si la colección de contadores está vacía, la primera
+     * ejecución tras el arranque registra las diferencias y la segunda la inicializa.
+     */
+    @Scheduled(initialDelayString = "${sirha.contadores.reconciliacion.retraso-inicial-ms:60000}",
+            fixedDelayString = "${sirha.contadores.reconciliacion.intervalo-ms:3600000}")
+    public void reconciliarProgramado() {
+        if (!secuenciaRepository.tomarConcesion(CONCESION, reloj.getAsLong(), concesionMillis)) {
+            logger.debug("Reconciliación de contadores omitida: otra instancia la ejecutó en este intervalo");
+            return;
+        }
+        reconciliar();
+    }
+
+    /**
+     * Recuenta las solicitudes por facultad, tipo y estado y compara el resultado con los contadores.
+     * Corrige las celdas cuya diferencia coincide con la de la ejecución anterior, siempre que el
+     * contador conserve el valor leído; las demás quedan pendientes de confirmación para la siguiente.
+     * @return desviaciones encontradas (vacía si los contadores estaban al día)
+     */
+    public synchronized List<Desviacion> reconciliar() {
+        Map<Celda, Long> esperados = aMapa(solicitudRepository.contarPorFacultadTipoYEstado(null, null));
+        Map<Celda, Long> registrados = aMapa(contadorSolicitudesRepository.obtenerConteos(null, null));
+
+        Set<Celda> celdas = new HashSet<>(esperados.keySet());
+        celdas.addAll(registrados.keySet());
+
+        List<Desviacion> desviaciones = new ArrayList<>();
+        Map<Celda, Long> sinConfirmar = new HashMap<>();
+        for (Celda celda : celdas) {
+            long esperado = esperados.getOrDefault(celda, 0L);
+            long registrado = registrados.getOrDefault(celda, 0L);
+            long diferencia = esperado - registrado;
+            if (diferencia == 0) {
+                continue;
+            }
+            boolean confirmada = diferenciasPendientes.getOrDefault(celda, 0L) == diferencia;
+            boolean corregida = confirmada && contadorSolicitudesRepository.corregir(celda.facultad(),
+                    celda.tipoSolicitud(), celda.estado(), registrado, esperado);
+            desviaciones.add(new Desviacion(celda.facultad(), celda.tipoSolicitud(), celda.estado(),
+                    esperado, registrado, corregida));
+            if (!confirmada) {
+                sinConfirmar.put(celda, diferencia);
+            }
+        }
+        diferenciasPendientes = sinConfirmar;
+
+        if (desviaciones.isEmpty()) {
+            logger.info("Reconciliación de contadores de solicitudes: sin desviaciones");
+        } else {
+            desviaciones.forEach(desviacion -> logger.warn(
+                    "Contador de solicitudes desviado en {} / {} / {}: esperado {}, registrado {} ({})",
+                    desviacion.facultad(), desviacion.tipoSolicitud(), desviacion.estado(),
+                    desviacion.esperado(), desviacion.registrado(),
+                    desviacion.corregida() ? "corregido" : "sin corregir"));
+        }
+        return desviaciones;
+    }
+
+    /**
+     * Convierte las celdas del cubo en un mapa, descartando las que no tienen facultad, tipo o estado.
+     */
+    private Map<Celda, Long> aMapa(List<ConteoSolicitudes> conteos) {
+        Map<Celda, Long> mapa = new HashMap<>();
+        for (ConteoSolicitudes conteo : conteos) {
+            if (conteo.facultad() != null && conteo.tipoSolicitud() != null && conteo.estado() != null) {
+                mapa.merge(new Celda(conteo.facultad(), conteo.tipoSolicitud(), conteo.estado()),
+                        conteo.cantidad(), Long::sum);
+            }
+        }
+        return mapa;
+    }
+}
@@ -5,6 +5,7 @@
  * reportes de solicitudes y otras métricas del sistema.
  */
 package com.sirha.proyecto_sirha_dosw.service;
+import com.sirha.proyecto_sirha_dosw.dto.CuboSolicitudesDTO;
 import com.sirha.proyecto_sirha_dosw.dto.EstadisticasGrupoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.IndicadoresAvanceDTO;
 import com.sirha.proyecto_sirha_dosw.dto.TasaAprobacionDTO;
@@ -12,31 +13,40 @@ import com.sirha.proyecto_sirha_dosw.model.Carrera;
 import com.sirha.proyecto_sirha_dosw.model.Estudiante;
 import com.sirha.proyecto_sirha_dosw.model.Facultad;
 import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.GrupoResumen;
 import com.sirha.proyecto_sirha_dosw.model.RegistroMaterias;
 import com.sirha.proyecto_sirha_dosw.model.Semaforo;
 import com.sirha.proyecto_sirha_dosw.model.Semestre;
-import com.sirha.proyecto_sirha_dosw.model.Solicitud;
 import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
 import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
 import com.sirha.proyecto_sirha_dosw.repository.CarreraRepository;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepository;
 import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
 import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepositoryCustom.ConteoPorGrupo;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepositoryCustom.ConteoSolicitudes;
 import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
+import com.sirha.proyecto_sirha_dosw.util.PlegadoParaleloUtil;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 public class ReportesService {
+
+    private static final int TAMANO_LOTE_INDICADORES = 256;
     
     private final SolicitudRepository solicitudRepository;
     private final GrupoRepository grupoRepository;
     private final UsuarioRepository usuarioRepository;
     private final CarreraRepository carreraRepository;
+    private final ContadorSolicitudesRepository contadorSolicitudesRepository;
+    private final CacheCatalogo cacheCatalogo;
     
     /**
      * Constructor para inyección de dependencias.
@@ -44,13 +54,19 @@ public class ReportesService {
      * @param grupoRepository Repositorio de grupos
      * @param usuarioRepository Repositorio de usuarios (estudiantes)
      * @param carreraRepository Repositorio de carreras
+     * @param contadorSolicitudesRepository Contadores incrementales de solicitudes
+     * @param cacheCatalogo Caché de lectura de las carreras
      */
     public ReportesService(SolicitudRepository solicitudRepository, GrupoRepository grupoRepository,
-                          UsuarioRepository usuarioRepository, CarreraRepository carreraRepository) {
+                          UsuarioRepository usuarioRepository, CarreraRepository carreraRepository,
+                          ContadorSolicitudesRepository contadorSolicitudesRepository,
+                          CacheCatalogo cacheCatalogo) {
         this.solicitudRepository = solicitudRepository;
         this.grupoRepository = grupoRepository;
         this.usuarioRepository = usuarioRepository;
         this.carreraRepository = carreraRepository;
+        this.contadorSolicitudesRepository = contadorSolicitudesRepository;
+        this.cacheCatalogo = cacheCatalogo;
     }
     
     /**
@@ -63,53 +79,34 @@ public class ReportesService {
     
     /**
      * Obtiene las estadísticas de los grupos más solicitados para cambio con filtros.
+     * El conteo, el orden y el límite se resuelven en una sola agregación sobre las solicitudes;
+     *          después solo se consultan, en una única búsqueda, los grupos del resultado.
+     *          Los grupos que ya no existen o no tienen materia se omiten.
      * @param facultad Facultad específica (null para todas)
      * @param limite Número máximo de grupos a retornar
      * @return Lista de EstadisticasGrupoDTO ordenada por cantidad de solicitudes (descendente)
      */
     public List<EstadisticasGrupoDTO> obtenerGruposMasSolicitados(Facultad facultad, int limite) {
-        List<Grupo> grupos;
-        
-        // Obtener grupos según la facultad
-        if (facultad != null) {
-            grupos = grupoRepository.findByMateria_Facultad(facultad);
-        } else {
-            grupos = grupoRepository.findAll();
+        List<ConteoPorGrupo> conteos = solicitudRepository.contarPorGrupoDestino(
+            TipoSolicitud.CAMBIO_GRUPO, facultad, limite);
+        if (conteos.isEmpty()) {
+            return List.of();
         }
-        
+
+        // Unir solo los grupos del top-N
+        Map<String, Grupo> gruposPorId = new HashMap<>();
+        for (Grupo grupo : grupoRepository.findAllById(conteos.stream().map(ConteoPorGrupo::grupoId).toList())) {
+            gruposPorId.put(grupo.getId(), grupo);
+        }
+
         List<EstadisticasGrupoDTO> estadisticas = new ArrayList<>();
-        
-        // Para cada grupo, calcular las estadísticas
-        for (Grupo grupo : grupos) {
-            if (grupo.getMateria() != null) {
-                // Contar solicitudes de cambio hacia este grupo
-                long cantidadSolicitudes = solicitudRepository.countByGrupoDestino_IdAndTipoSolicitud(
-                    grupo.getId(), TipoSolicitud.CAMBIO_GRUPO);
-                
-                // Solo incluir grupos que tienen al menos una solicitud
-                if (cantidadSolicitudes > 0) {
-                    EstadisticasGrupoDTO estadistica = new EstadisticasGrupoDTO(
-                        grupo.getId(),
-                        grupo.getMateria().getId(),
-                        grupo.getMateria().getNombre(),
-                        grupo.getMateria().getAcronimo(),
-                        grupo.getMateria().getFacultad().name()
-                    );
-                    
-                    estadistica.setCapacidad(grupo.getCapacidad());
-                    estadistica.setCantidadInscritos(grupo.getCantidadInscritos());
-                    estadistica.setCantidadSolicitudes(cantidadSolicitudes);
-                    
-                    estadisticas.add(estadistica);
-                }
+        for (ConteoPorGrupo conteo : conteos) {
+            Grupo grupo = gruposPorId.get(conteo.grupoId());
+            if (grupo != null && grupo.getMateria() != null) {
+                estadisticas.add(crearEstadisticas(grupo, conteo.cantidad()));
             }
         }
-        
-        // Ordenar por cantidad de solicitudes (descendente) y aplicar límite
-        return estadisticas.stream()
-                .sorted(Comparator.comparing(EstadisticasGrupoDTO::getCantidadSolicitudes).reversed())
-                .limit(limite)
-                .toList();
+        return estadisticas;
     }
     
     /**
@@ -119,29 +116,33 @@ public class ReportesService {
      */
     public EstadisticasGrupoDTO obtenerEstadisticasGrupo(String grupoId) {
         return grupoRepository.findById(grupoId)
-                .map(grupo -> {
-                    if (grupo.getMateria() != null) {
-                        long cantidadSolicitudes = solicitudRepository.countByGrupoDestino_IdAndTipoSolicitud(
-                            grupo.getId(), TipoSolicitud.CAMBIO_GRUPO);
-                        
-                        EstadisticasGrupoDTO estadistica = new EstadisticasGrupoDTO(
-                            grupo.getId(),
-                            grupo.getMateria().getId(),
-                            grupo.getMateria().getNombre(),
-                            grupo.getMateria().getAcronimo(),
-                            grupo.getMateria().getFacultad().name()
-                        );
-                        
-                        estadistica.setCapacidad(grupo.getCapacidad());
-                        estadistica.setCantidadInscritos(grupo.getCantidadInscritos());
-                        estadistica.setCantidadSolicitudes(cantidadSolicitudes);
-                        
-                        return estadistica;
-                    }
-                    return null;
-                })
+                .filter(grupo -> grupo.getMateria() != null)
+                .map(grupo -> crearEstadisticas(grupo, solicitudRepository.countByGrupoDestino_IdAndTipoSolicitud(
+                    grupo.getId(), TipoSolicitud.CAMBIO_GRUPO)))
                 .orElse(null);
     }
+
+    /**
+     * Construye las estadísticas de un grupo con materia asignada.
+     * @param grupo Grupo con materia
+     * @param cantidadSolicitudes Cantidad de solicitudes de cambio hacia el grupo
+     * @return EstadisticasGrupoDTO del grupo
+     */
+    private EstadisticasGrupoDTO crearEstadisticas(Grupo grupo, long cantidadSolicitudes) {
+        EstadisticasGrupoDTO estadistica = new EstadisticasGrupoDTO(
+            grupo.getId(),
+            grupo.getMateria().getId(),
+            grupo.getMateria().getNombre(),
+            grupo.getMateria().getAcronimo(),
+            grupo.getMateria().getFacultad().name()
+        );
+        
+        estadistica.setCapacidad(grupo.getCapacidad());
+        estadistica.setCantidadInscritos(grupo.getCantidadInscritos());
+        estadistica.setCantidadSolicitudes(cantidadSolicitudes);
+        
+        return estadistica;
+    }
     
     /**
      * Obtiene el total de solicitudes de cambio de grupo en el sistema.
@@ -160,18 +161,26 @@ public class ReportesService {
         return obtenerGruposMasSolicitados(facultad, 5); // Top 5 por facultad
     }
 
+    /**
+     * Obtiene el cubo de solicitudes por facultad, tipo de solicitud y estado.
+     * Se lee de los contadores incrementales, sin recorrer la colección de solicitudes.
+     * @return CuboSolicitudesDTO con las celdas no vacías y el total de solicitudes
+     */
+    public CuboSolicitudesDTO obtenerCuboSolicitudes() {
+        CuboSolicitudesDTO cubo = new CuboSolicitudesDTO();
+        for (ConteoSolicitudes conteo : contadorSolicitudesRepository.obtenerConteos(null, null)) {
+            cubo.agregarCelda(new CuboSolicitudesDTO.Celda(
+                nombre(conteo.facultad()), nombre(conteo.tipoSolicitud()), nombre(conteo.estado()), conteo.cantidad()));
+        }
+        return cubo;
+    }
+
     /**
      * Obtiene las tasas de aprobación vs rechazo de todas las solicitudes del sistema.
      * @return TasaAprobacionDTO con las métricas globales
      */
     public TasaAprobacionDTO obtenerTasasAprobacionGlobal() {
-        long totalSolicitudes = solicitudRepository.count();
-        long aprobadas = solicitudRepository.countByEstado(SolicitudEstado.APROBADA);
-        long rechazadas = solicitudRepository.countByEstado(SolicitudEstado.RECHAZADA);
-        long pendientes = solicitudRepository.countByEstado(SolicitudEstado.PENDIENTE);
-        long enRevision = solicitudRepository.countByEstado(SolicitudEstado.EN_REVISION);
-
-        TasaAprobacionDTO tasas = new TasaAprobacionDTO(totalSolicitudes, aprobadas, rechazadas, pendientes, enRevision);
+        TasaAprobacionDTO tasas = calcularTasas(null, null);
         tasas.setTipoSolicitud("TODAS");
         
         return tasas;
@@ -183,13 +192,7 @@ public class ReportesService {
      * @return TasaAprobacionDTO con las métricas de la facultad
      */
     public TasaAprobacionDTO obtenerTasasAprobacionPorFacultad(Facultad facultad) {
-        long totalSolicitudes = solicitudRepository.countByFacultad(facultad);
-        long aprobadas = solicitudRepository.countByFacultadAndEstado(facultad, SolicitudEstado.APROBADA);
-        long rechazadas = solicitudRepository.countByFacultadAndEstado(facultad, SolicitudEstado.RECHAZADA);
-        long pendientes = solicitudRepository.countByFacultadAndEstado(facultad, SolicitudEstado.PENDIENTE);
-        long enRevision = solicitudRepository.countByFacultadAndEstado(facultad, SolicitudEstado.EN_REVISION);
-
-        TasaAprobacionDTO tasas = new TasaAprobacionDTO(totalSolicitudes, aprobadas, rechazadas, pendientes, enRevision);
+        TasaAprobacionDTO tasas = calcularTasas(facultad, null);
         tasas.setFacultad(facultad.name());
         tasas.setTipoSolicitud("TODAS");
         
@@ -202,26 +205,7 @@ public class ReportesService {
      * @return TasaAprobacionDTO con las métricas del tipo de solicitud
      */
     public TasaAprobacionDTO obtenerTasasAprobacionPorTipo(TipoSolicitud tipoSolicitud) {
-        // Contar total por tipo de solicitud
-        long totalSolicitudes = solicitudRepository.countByTipoSolicitud(tipoSolicitud);
-        
-        // Para obtener las cantidades por estado y tipo, necesitamos usar las solicitudes y filtrar
-        List<Solicitud> solicitudesTipo = solicitudRepository.findByTipoSolicitud(tipoSolicitud);
-        
-        long aprobadas = solicitudesTipo.stream()
-                .mapToLong(s -> s.getEstado() == SolicitudEstado.APROBADA ? 1 : 0)
-                .sum();
-        long rechazadas = solicitudesTipo.stream()
-                .mapToLong(s -> s.getEstado() == SolicitudEstado.RECHAZADA ? 1 : 0)
-                .sum();
-        long pendientes = solicitudesTipo.stream()
-                .mapToLong(s -> s.getEstado() == SolicitudEstado.PENDIENTE ? 1 : 0)
-                .sum();
-        long enRevision = solicitudesTipo.stream()
-                .mapToLong(s -> s.getEstado() == SolicitudEstado.EN_REVISION ? 1 : 0)
-                .sum();
-
-        TasaAprobacionDTO tasas = new TasaAprobacionDTO(totalSolicitudes, aprobadas, rechazadas, pendientes, enRevision);
+        TasaAprobacionDTO tasas = calcularTasas(null, tipoSolicitud);
         tasas.setTipoSolicitud(tipoSolicitud.name());
         
         return tasas;
@@ -234,20 +218,40 @@ public class ReportesService {
      * @return TasaAprobacionDTO con las métricas combinadas
      */
     public TasaAprobacionDTO obtenerTasasAprobacionPorFacultadYTipo(Facultad facultad, TipoSolicitud tipoSolicitud) {
-        long aprobadas = solicitudRepository.countByFacultadAndEstadoAndTipoSolicitud(facultad, SolicitudEstado.APROBADA, tipoSolicitud);
-        long rechazadas = solicitudRepository.countByFacultadAndEstadoAndTipoSolicitud(facultad, SolicitudEstado.RECHAZADA, tipoSolicitud);
-        long pendientes = solicitudRepository.countByFacultadAndEstadoAndTipoSolicitud(facultad, SolicitudEstado.PENDIENTE, tipoSolicitud);
-        long enRevision = solicitudRepository.countByFacultadAndEstadoAndTipoSolicitud(facultad, SolicitudEstado.EN_REVISION, tipoSolicitud);
-        
-        long totalSolicitudes = aprobadas + rechazadas + pendientes + enRevision;
-
-        TasaAprobacionDTO tasas = new TasaAprobacionDTO(totalSolicitudes, aprobadas, rechazadas, pendientes, enRevision);
+        TasaAprobacionDTO tasas = calcularTasas(facultad, tipoSolicitud);
         tasas.setFacultad(facultad.name());
         tasas.setTipoSolicitud(tipoSolicitud.name());
         
         return tasas;
     }
 
+    /**
+     * Calcula las tasas de una rebanada del cubo facultad × tipo × estado.
+     * Lee a lo sumo un documento de contadores por facultad y tipo, independiente del número de solicitudes.
+     * @param facultad Facultad de la rebanada (null para todas)
+     * @param tipoSolicitud Tipo de la rebanada (null para todos)
+     * @return TasaAprobacionDTO con los conteos de la rebanada
+     */
+    private TasaAprobacionDTO calcularTasas(Facultad facultad, TipoSolicitud tipoSolicitud) {
+        Map<SolicitudEstado, Long> porEstado = new EnumMap<>(SolicitudEstado.class);
+        long totalSolicitudes = 0;
+        for (ConteoSolicitudes conteo : contadorSolicitudesRepository.obtenerConteos(facultad, tipoSolicitud)) {
+            totalSolicitudes += conteo.cantidad();
+            if (conteo.estado() != null) {
+                porEstado.merge(conteo.estado(), conteo.cantidad(), Long::sum);
+            }
+        }
+        return new TasaAprobacionDTO(totalSolicitudes,
+            porEstado.getOrDefault(SolicitudEstado.APROBADA, 0L),
+            porEstado.getOrDefault(SolicitudEstado.RECHAZADA, 0L),
+            porEstado.getOrDefault(SolicitudEstado.PENDIENTE, 0L),
+            porEstado.getOrDefault(SolicitudEstado.EN_REVISION, 0L));
+    }
+
+    private static String nombre(Enum<?> valor) {
+        return valor == null ? null : valor.name();
+    }
+
     /**
      * Calcula los indicadores de avance académico para un estudiante específico.
      * @param estudianteId ID del estudiante
@@ -264,6 +268,19 @@ public class ReportesService {
             return null;
         }
 
+        // Obtener carrera para calcular total de materias y créditos
+        Carrera carrera = cacheCatalogo.carreraPorFacultad(estudiante.getCarrera()).orElse(null);
+        return calcularIndicadores(estudiante, carrera);
+    }
+
+    /**
+     * Calcula los indicadores de avance de un estudiante ya cargado. No usa el estado del
+     * servicio, por lo que se puede medir de forma aislada.
+     * @param estudiante Estudiante con sus semestres y registros
+     * @param carrera Carrera del estudiante (null si no existe)
+     * @return IndicadoresAvanceDTO con métricas individuales del estudiante
+     */
+    static IndicadoresAvanceDTO calcularIndicadores(Estudiante estudiante, Carrera carrera) {
         // Crear DTO base
         IndicadoresAvanceDTO indicadores = new IndicadoresAvanceDTO(
                 estudiante.getId(),
@@ -272,8 +289,6 @@ public class ReportesService {
                 estudiante.getCarrera()
         );
 
-        // Obtener carrera para calcular total de materias y créditos
-        Carrera carrera = carreraRepository.findByNombre(estudiante.getCarrera()).orElse(null);
         if (carrera != null) {
             indicadores.setCreditosTotales(carrera.getCreditosTotales());
             indicadores.setTotalMaterias(carrera.getTotalMaterias());
@@ -297,12 +312,11 @@ public class ReportesService {
             for (RegistroMaterias registro : semestre.getRegistros()) {
                 materiasTotales++;
                 Semaforo estado = registro.getEstado();
-                int creditos = registro.getGrupo().getMateria().getCreditos();
 
                 switch (estado) {
                     case VERDE:
                         materiasAprobadas++;
-                        creditosAprobados += creditos;
+                        creditosAprobados += creditosDe(registro);
                         // Asumimos una nota promedio para materias aprobadas (se puede mejorar)
                         sumaNotas += 4.0; // Nota promedio aprobatoria
                         break;
@@ -339,8 +353,21 @@ public class ReportesService {
         return indicadores;
     }
 
+    /**
+     * Créditos de la materia de un registro, leídos de la proyección del grupo.
+     * @param registro Registro de materia
+     * @return créditos de la materia, 0 si el registro no tiene materia
+     */
+    private static int creditosDe(RegistroMaterias registro) {
+        GrupoResumen grupo = registro.getGrupoResumen();
+        return grupo == null || grupo.getMateria() == null ? 0 : grupo.getMateria().getCreditos();
+    }
+
     /**
      * Calcula estadísticas globales de indicadores de avance académico.
+     * Los estudiantes se recorren con un cursor que trae solo los campos necesarios y se
+     *          acumulan en paralelo por lotes, por lo que la memoria usada no crece con la cantidad
+     *          de estudiantes. Las carreras se consultan una sola vez.
      * @param facultad Facultad específica (null para todas las facultades)
      * @return IndicadoresAvanceDTO con estadísticas globales
      */
@@ -350,81 +377,24 @@ public class ReportesService {
         estadisticasGlobales.setTipoReporte("ESTADISTICAS_GLOBALES");
         estadisticasGlobales.setFacultad(facultad);
 
-        // Obtener todos los estudiantes (filtrado por facultad si se especifica)
-        List<Estudiante> estudiantes = usuarioRepository.findAll().stream()
-                .filter(Estudiante.class::isInstance)
-                .map(Estudiante.class::cast)
-                .filter(estudiante -> facultad == null || estudiante.getCarrera().equals(facultad))
-                .toList();
-
-        // Contadores globales
-        Map<Semaforo, Long> distribucionEstados = new EnumMap<>(Semaforo.class);
-        Map<Facultad, Double> avancePorFacultad = new EnumMap<>(Facultad.class);
-        
-        int totalMateriasGlobal = 0;
-        int materiasAprobadasGlobal = 0;
-        int materiasEnProgresoGlobal = 0;
-        int materiasConProblemasGlobal = 0;
-        int materiasCanceladasGlobal = 0;
-        int creditosAprobadasGlobal = 0;
-        int creditosTotalesGlobal = 0;
-        double sumaPromediosGlobal = 0.0;
-
-        // Inicializar distribución de estados
-        distribucionEstados.put(Semaforo.AZUL, 0L);
-        distribucionEstados.put(Semaforo.VERDE, 0L);
-        distribucionEstados.put(Semaforo.ROJO, 0L);
-        distribucionEstados.put(Semaforo.CANCELADO, 0L);
-
-        // Procesar cada estudiante
-        for (Estudiante estudiante : estudiantes) {
-            IndicadoresAvanceDTO indicadoresEstudiante = calcularIndicadoresAvanceEstudiante(estudiante.getId());
-            
-            if (indicadoresEstudiante != null) {
-                totalMateriasGlobal += indicadoresEstudiante.getTotalMaterias();
-                materiasAprobadasGlobal += indicadoresEstudiante.getMateriasAprobadas();
-                materiasEnProgresoGlobal += indicadoresEstudiante.getMateriasEnProgreso();
-                materiasConProblemasGlobal += indicadoresEstudiante.getMateriasConProblemas();
-                materiasCanceladasGlobal += indicadoresEstudiante.getMateriasCanceladas();
-                creditosAprobadasGlobal += indicadoresEstudiante.getCreditosAprobados();
-                creditosTotalesGlobal += indicadoresEstudiante.getCreditosTotales();
-                sumaPromediosGlobal += indicadoresEstudiante.getPromedioGeneral();
-
-                // Actualizar distribución de estados
-                distribucionEstados.put(Semaforo.AZUL, 
-                    distribucionEstados.get(Semaforo.AZUL) + indicadoresEstudiante.getMateriasEnProgreso());
-                distribucionEstados.put(Semaforo.VERDE, 
-                    distribucionEstados.get(Semaforo.VERDE) + indicadoresEstudiante.getMateriasAprobadas());
-                distribucionEstados.put(Semaforo.ROJO, 
-                    distribucionEstados.get(Semaforo.ROJO) + indicadoresEstudiante.getMateriasConProblemas());
-                distribucionEstados.put(Semaforo.CANCELADO, 
-                    distribucionEstados.get(Semaforo.CANCELADO) + indicadoresEstudiante.getMateriasCanceladas());
-
-                // Actualizar avance por facultad
-                Facultad facultadEstudiante = indicadoresEstudiante.getFacultad();
-                double avanceEstudiante = indicadoresEstudiante.getPorcentajeAvanceGeneral();
-                avancePorFacultad.merge(facultadEstudiante, avanceEstudiante, 
-                    (existente, nuevo) -> (existente + nuevo) / 2);
+        Map<Facultad, Carrera> carreras = new EnumMap<>(Facultad.class);
+        for (Carrera carrera : carreraRepository.findAll()) {
+            if (carrera.getNombre() != null) {
+                carreras.put(carrera.getNombre(), carrera);
             }
         }
 
-        // Establecer estadísticas globales
-        estadisticasGlobales.setTotalMaterias(totalMateriasGlobal);
-        estadisticasGlobales.setMateriasAprobadas(materiasAprobadasGlobal);
-        estadisticasGlobales.setMateriasEnProgreso(materiasEnProgresoGlobal);
-        estadisticasGlobales.setMateriasConProblemas(materiasConProblemasGlobal);
-        estadisticasGlobales.setMateriasCanceladas(materiasCanceladasGlobal);
-        estadisticasGlobales.setCreditosAprobados(creditosAprobadasGlobal);
-        estadisticasGlobales.setCreditosTotales(creditosTotalesGlobal);
-        
-        // Calcular promedio global
-        if (!estudiantes.isEmpty()) {
-            estadisticasGlobales.setPromedioGeneral(sumaPromediosGlobal / estudiantes.size());
+        AcumuladorIndicadoresAvance acumulado;
+        try (Stream<Estudiante> estudiantes = usuarioRepository.streamEstudiantesParaAvance(facultad)) {
+            acumulado = PlegadoParaleloUtil.plegar(estudiantes, TAMANO_LOTE_INDICADORES,
+                AcumuladorIndicadoresAvance::new,
+                (acumulador, estudiante) -> acumulador.agregar(
+                    calcularIndicadores(estudiante, carreras.get(estudiante.getCarrera()))),
+                AcumuladorIndicadoresAvance::combinar);
         }
 
-        // Establecer distribuciones
-        estadisticasGlobales.setDistribucionEstados(distribucionEstados);
-        estadisticasGlobales.setAvancePorFacultad(avancePorFacultad);
+        // Establecer estadísticas globales y distribuciones
+        acumulado.aplicarA(estadisticasGlobales);
 
         // Calcular porcentajes y estado global
         estadisticasGlobales.calcularPorcentajes();
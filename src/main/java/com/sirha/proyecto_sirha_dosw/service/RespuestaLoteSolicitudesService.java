@@ -0,0 +1,444 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.dto.RespuestaSolicitudDTO;
+import com.sirha.proyecto_sirha_dosw.dto.ResultadoLoteSolicitudesDTO;
+import com.sirha.proyecto_sirha_dosw.dto.ResultadoLoteSolicitudesDTO.ResultadoRespuesta;
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+import com.sirha.proyecto_sirha_dosw.model.Estudiante;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.Solicitud;
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepository;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
+import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
+import com.sirha.proyecto_sirha_dosw.util.GrupoResolucionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Servicio que responde en lote las solicitudes de cambio de grupo de una facultad.
+ * Carga con una consulta {@code $in} por colección las solicitudes, sus grupos y los
+ *          estudiantes, valida cada respuesta en memoria teniendo en cuenta las anteriores
+ *          del mismo lote (cupos que ocupan o liberan y cambios de horario del estudiante)
+ *          y aplica el resultado con escrituras en lote.
+ * Los cupos se siguen reservando con operaciones condicionales, una por grupo destino;
+ *          si la base de datos rechaza una reserva por cambios concurrentes, se reintenta
+ *          después de liberar los cupos del lote y, si tampoco cabe, se reporta como fallida.
+ * Cada respuesta se guarda solo si la solicitud sigue en el estado en que se leyó. Las que
+ *          otra respuesta ganó entretanto (el endpoint individual u otro lote) se reportan como
+ *          fallidas, devuelven el cupo reservado y no escriben estudiante ni contadores.
+ */
+@Service
+public class RespuestaLoteSolicitudesService {
+
+    static final String LOTE_VACIO = "El lote no contiene respuestas";
+    static final String LOTE_EXCEDIDO = "El lote supera el máximo de respuestas permitidas: ";
+    static final String SOLICITUD_NO_ENCONTRADA = "Solicitud no encontrada: ";
+
+    private final DecanoService decanoService;
+    private final SolicitudRepository solicitudRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final GrupoRepository grupoRepository;
+    private final ContadorSolicitudesRepository contadorSolicitudesRepository;
+    private final ListaEsperaService listaEsperaService;
+    private final MetricasSirha metricasSirha;
+    private final int maximoRespuestas;
+
+    /**
+     * Aprobación validada en memoria, pendiente de aplicar.
+     * @param indice posición de la respuesta en el lote
+     * @param solicitud solicitud aprobada
+     * @param estudianteId estudiante de la solicitud
+     * @param grupoProblema grupo que deja el estudiante, o {@code null}
+     * @param grupoDestino grupo al que pasa el estudiante, o {@code null}
+     */
+    private record Aprobacion(int indice, Solicitud solicitud, String estudianteId, Grupo grupoProblema,
+                              Grupo grupoDestino) {
+    }
+
+    private record ClaveContador(Facultad facultad, TipoSolicitud tipoSolicitud) {
+    }
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param decanoService servicio con las validaciones de respuesta de solicitudes
+     * @param solicitudRepository repositorio de solicitudes
+     * @param usuarioRepository repositorio de usuarios
+     * @param grupoRepository repositorio de grupos
+     * @param contadorSolicitudesRepository contadores incrementales de solicitudes
+     * @param listaEsperaService servicio que libera cupos y promueve la lista de espera
+     * @param metricasSirha métricas de inscripciones y transiciones de solicitudes
+     * @param maximoRespuestas cantidad máxima de respuestas por lote
+     */
+    public RespuestaLoteSolicitudesService(DecanoService decanoService, SolicitudRepository solicitudRepository,
+                                           UsuarioRepository usuarioRepository, GrupoRepository grupoRepository,
+                                           ContadorSolicitudesRepository contadorSolicitudesRepository,
+                                           ListaEsperaService listaEsperaService, MetricasSirha metricasSirha,
+                                           @Value("${sirha.solicitudes.lote.maximo-respuestas:500}") int maximoRespuestas) {
+        this.decanoService = decanoService;
+        this.solicitudRepository = solicitudRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.grupoRepository = grupoRepository;
+        this.contadorSolicitudesRepository = contadorSolicitudesRepository;
+        this.listaEsperaService = listaEsperaService;
+        this.metricasSirha = metricasSirha;
+        this.maximoRespuestas = maximoRespuestas;
+    }
+
+    /**
+     * Responde un lote de solicitudes aplicando las mismas reglas que
+     *          {@link DecanoService#responderSolicitud}. Las respuestas se evalúan en orden y
+     *          cada una ve el efecto de las anteriores aprobadas del lote.
+     * @param respuestas respuestas a aplicar, en orden
+     * @param facultad facultad del decano
+     * @return resultado de cada respuesta, en el mismo orden
+     * @throws SirhaException si la facultad no es válida o el lote está vacío o excede el máximo
+     */
+    public ResultadoLoteSolicitudesDTO responderSolicitudes(List<RespuestaSolicitudDTO> respuestas, String facultad)
+            throws SirhaException {
+        decanoService.validarFacultad(facultad);
+        if (respuestas == null || respuestas.isEmpty()) {
+            throw new SirhaException(LOTE_VACIO);
+        }
+        if (respuestas.size() > maximoRespuestas) {
+            throw new SirhaException(LOTE_EXCEDIDO + maximoRespuestas);
+        }
+        long inicio = System.nanoTime();
+
+        Map<String, Solicitud> solicitudes = cargarSolicitudes(respuestas);
+        Map<String, Estudiante> estudiantes = cargarEstudiantes(respuestas, solicitudes);
+
+        ResultadoRespuesta[] resultados = new ResultadoRespuesta[respuestas.size()];
+        Map<String, SolicitudEstado> estadosAnteriores = new HashMap<>();
+        List<Solicitud> respondidas = new ArrayList<>();
+        List<Aprobacion> aprobaciones = new ArrayList<>();
+        LocalDateTime ahora = LocalDateTime.now();
+        for (int i = 0; i < respuestas.size(); i++) {
+            RespuestaSolicitudDTO respuesta = respuestas.get(i);
+            try {
+                Solicitud solicitud = solicitudes.get(respuesta.getSolicitudId());
+                if (solicitud == null) {
+                    throw new SirhaException(SOLICITUD_NO_ENCONTRADA + respuesta.getSolicitudId());
+                }
+                // Una solicitud repetida en el lote deja de estar pendiente tras su primera respuesta
+                DecanoService.validarSolicitudRespondible(solicitud, facultad);
+                SolicitudEstado nuevoEstado = respuesta.getNuevoEstado();
+                if (nuevoEstado == SolicitudEstado.APROBADA) {
+                    aprobaciones.add(validarAprobacion(i, solicitud, estudiantes));
+                } else if (nuevoEstado != SolicitudEstado.RECHAZADA && nuevoEstado != SolicitudEstado.EN_REVISION) {
+                    throw new SirhaException(DecanoService.ESTADO_RESPUESTA_INVALIDO + nuevoEstado);
+                }
+                estadosAnteriores.put(solicitud.getId(), solicitud.getEstado());
+                solicitud.setEstado(nuevoEstado);
+                solicitud.setRespuesta(nuevoEstado == SolicitudEstado.APROBADA
+                        ? DecanoService.RESPUESTA_APROBADA : respuesta.getObservacionesRespuesta());
+                solicitud.setFechaResolucion(ahora);
+                respondidas.add(solicitud);
+                resultados[i] = new ResultadoRespuesta(solicitud.getId(), nuevoEstado, true, null);
+            } catch (SirhaException e) {
+                resultados[i] = new ResultadoRespuesta(respuesta.getSolicitudId(), respuesta.getNuevoEstado(), false,
+                        e.getMessage());
+            }
+        }
+
+        List<Aprobacion> diferidas = reservarCupos(aprobaciones);
+        Set<Aprobacion> conjuntoDiferidas = new HashSet<>(diferidas);
+        Set<Solicitud> solicitudesDiferidas = new HashSet<>();
+        diferidas.forEach(aprobacion -> solicitudesDiferidas.add(aprobacion.solicitud()));
+
+        List<Solicitud> aGuardar = respondidas.stream().filter(s -> !solicitudesDiferidas.contains(s)).toList();
+        Set<String> respondidasEntretanto = solicitudRepository.guardarRespuestas(aGuardar, estadosAnteriores);
+        List<Aprobacion> perdidas = aprobaciones.stream()
+                .filter(a -> !conjuntoDiferidas.contains(a) && respondidasEntretanto.contains(a.solicitud().getId()))
+                .toList();
+        devolverCupos(perdidas);
+        Set<Aprobacion> noAplicadas = new HashSet<>(conjuntoDiferidas);
+        noAplicadas.addAll(perdidas);
+        List<Aprobacion> aplicadas = aprobaciones.stream().filter(a -> !noAplicadas.contains(a)).toList();
+        for (int i = 0; i < resultados.length; i++) {
+            if (resultados[i].isAplicada() && respondidasEntretanto.contains(resultados[i].getSolicitudId())) {
+                resultados[i] = new ResultadoRespuesta(resultados[i].getSolicitudId(), resultados[i].getNuevoEstado(),
+                        false, DecanoService.SOLO_PENDIENTES);
+            }
+        }
+
+        guardarEstudiantes(aplicadas, noAplicadas, estudiantes);
+        registrarTransiciones(aGuardar.stream().filter(s -> !respondidasEntretanto.contains(s.getId())).toList(),
+                estadosAnteriores);
+        metricasSirha.registrarInscripciones(MetricasSirha.OrigenInscripcion.SOLICITUD,
+                (int) aplicadas.stream().filter(aprobacion -> aprobacion.grupoDestino() != null).count());
+        liberarCupos(aplicadas);
+
+        for (Aprobacion diferida : diferidas) {
+            String error = aplicarDiferida(diferida, estadosAnteriores.get(diferida.solicitud().getId()));
+            if (error != null) {
+                resultados[diferida.indice()] = new ResultadoRespuesta(diferida.solicitud().getId(),
+                        SolicitudEstado.APROBADA, false, error);
+            }
+        }
+
+        ResultadoLoteSolicitudesDTO resultado = new ResultadoLoteSolicitudesDTO();
+        resultado.setResultados(List.of(resultados));
+        int aplicadasTotal = (int) resultado.getResultados().stream().filter(ResultadoRespuesta::isAplicada).count();
+        resultado.setAplicadas(aplicadasTotal);
+        resultado.setFallidas(resultados.length - aplicadasTotal);
+        resultado.setTiempoMs((System.nanoTime() - inicio) / 1_000_000);
+        return resultado;
+    }
+
+    /**
+     * Valida una aprobación contra el estado en memoria y, si procede, la refleja en los
+     *          grupos y en el estudiante para que la vean las siguientes respuestas del lote.
+     */
+    private Aprobacion validarAprobacion(int indice, Solicitud solicitud, Map<String, Estudiante> estudiantes)
+            throws SirhaException {
+        decanoService.validarCalendarioAcademico(solicitud.getFacultad());
+        Grupo grupoDestino = solicitud.getGrupoDestino();
+        DecanoService.validarCupoGrupoDestino(grupoDestino);
+        DecanoService.validarPlazoRespuesta(solicitud);
+        Estudiante estudiante = estudiantes.get(solicitud.getEstudianteId());
+        if (estudiante == null) {
+            throw new SirhaException(SirhaException.ESTUDIANTE_NO_ENCONTRADO + solicitud.getEstudianteId());
+        }
+        if (grupoDestino != null) {
+            DecanoService.validarCruceGrupoDestino(estudiante, solicitud);
+        }
+
+        Grupo grupoProblema = solicitud.getGrupoProblema();
+        if (grupoDestino != null) {
+            grupoDestino.addEstudiante(estudiante.getId());
+        }
+        if (grupoProblema != null) {
+            grupoProblema.removeEstudiante(estudiante.getId());
+            estudiante.removeGrupo(grupoProblema);
+        }
+        if (grupoDestino != null) {
+            estudiante.addGrupo(grupoDestino);
+        }
+        return new Aprobacion(indice, solicitud, estudiante.getId(), grupoProblema, grupoDestino);
+    }
+
+    private Map<String, Solicitud> cargarSolicitudes(List<RespuestaSolicitudDTO> respuestas) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (RespuestaSolicitudDTO respuesta : respuestas) {
+            if (respuesta.getSolicitudId() != null) {
+                ids.add(respuesta.getSolicitudId());
+            }
+        }
+        Map<String, Solicitud> solicitudes = new HashMap<>();
+        if (ids.isEmpty()) {
+            return solicitudes;
+        }
+        for (Solicitud solicitud : solicitudRepository.findAllById(ids)) {
+            solicitudes.put(solicitud.getId(), solicitud);
+        }
+        // Las solicitudes que comparten grupo reciben la misma instancia, que sirve de estado en memoria
+        GrupoResolucionUtil.resolverSolicitudes(grupoRepository, solicitudes.values());
+        return solicitudes;
+    }
+
+    private Map<String, Estudiante> cargarEstudiantes(List<RespuestaSolicitudDTO> respuestas,
+                                                      Map<String, Solicitud> solicitudes) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (RespuestaSolicitudDTO respuesta : respuestas) {
+            Solicitud solicitud = solicitudes.get(respuesta.getSolicitudId());
+            if (respuesta.getNuevoEstado() == SolicitudEstado.APROBADA && solicitud != null
+                    && solicitud.getEstudianteId() != null) {
+                ids.add(solicitud.getEstudianteId());
+            }
+        }
+        return buscarEstudiantes(ids);
+    }
+
+    private Map<String, Estudiante> buscarEstudiantes(Collection<String> ids) {
+        Map<String, Estudiante> estudiantes = new HashMap<>();
+        if (ids.isEmpty()) {
+            return estudiantes;
+        }
+        usuarioRepository.findAllById(ids).forEach(usuario -> {
+            if (usuario instanceof Estudiante estudiante) {
+                estudiantes.put(estudiante.getId(), estudiante);
+            }
+        });
+        return estudiantes;
+    }
+
+    /**
+     * Reserva los cupos de los grupos destino con una operación condicional por grupo. Si la
+     *          reserva conjunta falla, se intenta estudiante por estudiante.
+     * @return aprobaciones cuyo cupo no pudo reservarse todavía
+     */
+    private List<Aprobacion> reservarCupos(List<Aprobacion> aprobaciones) {
+        Map<String, List<Aprobacion>> porDestino = new LinkedHashMap<>();
+        for (Aprobacion aprobacion : aprobaciones) {
+            if (aprobacion.grupoDestino() != null) {
+                porDestino.computeIfAbsent(aprobacion.grupoDestino().getId(), id -> new ArrayList<>()).add(aprobacion);
+            }
+        }
+        List<Aprobacion> diferidas = new ArrayList<>();
+        porDestino.forEach((grupoId, grupo) -> {
+            Set<String> estudiantesId = new LinkedHashSet<>();
+            grupo.forEach(aprobacion -> estudiantesId.add(aprobacion.estudianteId()));
+            if (grupoRepository.reservarCupos(grupoId, estudiantesId).isPresent()) {
+                return;
+            }
+            for (Aprobacion aprobacion : grupo) {
+                if (grupoRepository.reservarCupo(grupoId, aprobacion.estudianteId()).isEmpty()) {
+                    diferidas.add(aprobacion);
+                }
+            }
+        });
+        return diferidas;
+    }
+
+    /**
+     * Devuelve los cupos destino reservados para aprobaciones cuya solicitud respondió otro
+     *          proceso mientras tanto.
+     */
+    private void devolverCupos(List<Aprobacion> perdidas) {
+        for (Aprobacion aprobacion : perdidas) {
+            if (aprobacion.grupoDestino() != null) {
+                listaEsperaService.liberarCupo(aprobacion.grupoDestino().getId(), aprobacion.estudianteId());
+            }
+        }
+    }
+
+    /**
+     * Guarda en una sola escritura a los estudiantes con aprobaciones aplicadas. Los que además
+     *          tienen aprobaciones sin aplicar (diferidas o ganadas por otra respuesta) se recargan
+     *          y se les repiten solo las aplicadas.
+     */
+    private void guardarEstudiantes(List<Aprobacion> aplicadas, Set<Aprobacion> noAplicadas,
+                                    Map<String, Estudiante> estudiantes) {
+        Set<String> conDiferidas = new HashSet<>();
+        noAplicadas.forEach(aprobacion -> conDiferidas.add(aprobacion.estudianteId()));
+        Map<String, Estudiante> recargados = buscarEstudiantes(conDiferidas);
+        for (Aprobacion aprobacion : aplicadas) {
+            Estudiante estudiante = recargados.get(aprobacion.estudianteId());
+            if (estudiante != null) {
+                registrarCambioDeGrupo(estudiante, aprobacion.grupoProblema(), aprobacion.grupoDestino());
+            }
+        }
+
+        Map<String, Estudiante> aGuardar = new LinkedHashMap<>();
+        for (Aprobacion aprobacion : aplicadas) {
+            String id = aprobacion.estudianteId();
+            Estudiante estudiante = conDiferidas.contains(id) ? recargados.get(id) : estudiantes.get(id);
+            if (estudiante != null) {
+                aGuardar.putIfAbsent(id, estudiante);
+            }
+        }
+        if (!aGuardar.isEmpty()) {
+            usuarioRepository.guardarEstudiantes(aGuardar.values());
+        }
+    }
+
+    /**
+     * Actualiza los contadores con una operación por facultad y tipo de solicitud y registra
+     *          cada transición en las métricas.
+     */
+    private void registrarTransiciones(List<Solicitud> solicitudes, Map<String, SolicitudEstado> estadosAnteriores) {
+        Map<ClaveContador, Map<SolicitudEstado, Long>> diferencias = new LinkedHashMap<>();
+        for (Solicitud solicitud : solicitudes) {
+            SolicitudEstado anterior = estadosAnteriores.get(solicitud.getId());
+            if (Objects.equals(anterior, solicitud.getEstado())) {
+                continue;
+            }
+            metricasSirha.registrarTransicionSolicitud(anterior, solicitud.getEstado());
+            Map<SolicitudEstado, Long> porEstado = diferencias.computeIfAbsent(
+                    new ClaveContador(solicitud.getFacultad(), solicitud.getTipoSolicitud()),
+                    clave -> new EnumMap<>(SolicitudEstado.class));
+            if (anterior != null) {
+                porEstado.merge(anterior, -1L, Long::sum);
+            }
+            porEstado.merge(solicitud.getEstado(), 1L, Long::sum);
+        }
+        diferencias.forEach((clave, porEstado) ->
+                contadorSolicitudesRepository.ajustar(clave.facultad(), clave.tipoSolicitud(), porEstado));
+    }
+
+    /**
+     * Libera los cupos de los grupos problema con una operación por grupo; los grupos con
+     *          lista de espera se liberan estudiante por estudiante para promover a quien espera.
+     */
+    private void liberarCupos(List<Aprobacion> aplicadas) {
+        Map<String, List<String>> porProblema = new LinkedHashMap<>();
+        for (Aprobacion aprobacion : aplicadas) {
+            if (aprobacion.grupoProblema() != null) {
+                porProblema.computeIfAbsent(aprobacion.grupoProblema().getId(), id -> new ArrayList<>())
+                        .add(aprobacion.estudianteId());
+            }
+        }
+        porProblema.forEach((grupoId, estudiantesId) -> {
+            List<String> distintos = estudiantesId.stream().distinct().toList();
+            if (grupoRepository.liberarCuposSinListaEspera(grupoId, distintos).isEmpty()) {
+                distintos.forEach(estudianteId -> listaEsperaService.liberarCupo(grupoId, estudianteId));
+            }
+        });
+    }
+
+    /**
+     * Reintenta una aprobación cuyo cupo no pudo reservarse en la primera pasada, ahora que
+     *          los cupos liberados por el lote están disponibles. Si otra respuesta ganó la
+     *          solicitud entretanto, devuelve el cupo y no se aplica.
+     * @return motivo por el que no se aplicó, o {@code null} si se aplicó
+     */
+    private String aplicarDiferida(Aprobacion aprobacion, SolicitudEstado estadoAnterior) {
+        Solicitud solicitud = aprobacion.solicitud();
+        Optional<Grupo> reservado = grupoRepository.reservarCupo(aprobacion.grupoDestino().getId(),
+                aprobacion.estudianteId());
+        if (reservado.isEmpty()) {
+            solicitud.setEstado(estadoAnterior);
+            return DecanoService.GRUPO_DESTINO_LLENO;
+        }
+        Optional<Estudiante> estudiante = usuarioRepository.findById(aprobacion.estudianteId())
+                .filter(Estudiante.class::isInstance)
+                .map(Estudiante.class::cast);
+        if (estudiante.isEmpty()) {
+            listaEsperaService.liberarCupo(aprobacion.grupoDestino().getId(), aprobacion.estudianteId());
+            solicitud.setEstado(estadoAnterior);
+            return SirhaException.ESTUDIANTE_NO_ENCONTRADO + aprobacion.estudianteId();
+        }
+        if (!solicitudRepository.registrarRespuesta(solicitud, estadoAnterior)) {
+            listaEsperaService.liberarCupo(aprobacion.grupoDestino().getId(), aprobacion.estudianteId());
+            solicitud.setEstado(estadoAnterior);
+            return DecanoService.SOLO_PENDIENTES;
+        }
+        registrarCambioDeGrupo(estudiante.get(), aprobacion.grupoProblema(), reservado.get());
+        usuarioRepository.save(estudiante.get());
+        contadorSolicitudesRepository.registrarTransicion(solicitud.getFacultad(), solicitud.getTipoSolicitud(),
+                estadoAnterior, solicitud.getEstado());
+        metricasSirha.registrarTransicionSolicitud(estadoAnterior, solicitud.getEstado());
+        metricasSirha.registrarInscripcion(MetricasSirha.OrigenInscripcion.SOLICITUD);
+        if (aprobacion.grupoProblema() != null) {
+            listaEsperaService.liberarCupo(aprobacion.grupoProblema().getId(), aprobacion.estudianteId());
+        }
+        return null;
+    }
+
+    private static void registrarCambioDeGrupo(Estudiante estudiante, Grupo grupoProblema, Grupo grupoDestino) {
+        if (grupoProblema != null) {
+            estudiante.removeGrupo(grupoProblema);
+        }
+        if (grupoDestino != null) {
+            estudiante.addGrupo(grupoDestino);
+        }
+    }
+}
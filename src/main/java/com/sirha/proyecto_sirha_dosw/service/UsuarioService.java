@@ -1,16 +1,21 @@
 package com.sirha.proyecto_sirha_dosw.service;
 
+import com.sirha.proyecto_sirha_dosw.config.CachePrincipalesJwt;
+import com.sirha.proyecto_sirha_dosw.dto.PaginaDTO;
 import com.sirha.proyecto_sirha_dosw.dto.UsuarioDTO;
+import com.sirha.proyecto_sirha_dosw.dto.UsuarioResumenDTO;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.*;
-import com.sirha.proyecto_sirha_dosw.repository.CarreraRepository;
 import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
+import com.sirha.proyecto_sirha_dosw.util.GeneradorIdUsuario;
+import com.sirha.proyecto_sirha_dosw.util.Paginacion;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import java.util.*;
 import java.util.Optional;
-import java.security.SecureRandom;
+import java.util.stream.Stream;
 
 /**
  * Servicio que gestiona las operaciones relacionadas con los usuarios.
@@ -24,6 +29,8 @@ import java.security.SecureRandom;
 
 @Service
 public class UsuarioService {
+    static final int MAX_INTENTOS_ID = 5;
+
     // Métodos privados para validaciones
     private void validarNombre(Usuario usuario, String nombre) {
         if (nombre != null && !nombre.trim().isEmpty()) {
@@ -64,27 +71,33 @@ public class UsuarioService {
     }
 
     private final UsuarioRepository usuarioRepository;
-    private final CarreraRepository carreraRepository;
+    private final CacheCatalogo cacheCatalogo;
     private final SolicitudRepository solicitudRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CachePrincipalesJwt cachePrincipalesJwt;
+    private final GeneradorIdUsuario generadorIdUsuario;
 
     /**
      * Constructor para inyectar los repositorios necesarios.
      *
      * @param usuarioRepository repositorio que gestiona la persistencia de
      *                          {@link Usuario}
-     * @param carreraRepository repositorio que gestiona la persistencia de
-     *                          {@link Carrera}
+     * @param cacheCatalogo caché de lectura de las carreras
      * @param solicitudRepository repositorio que gestiona la persistencia de
      *                          {@link Solicitud}
      * @param passwordEncoder codificador de contraseñas
+     * @param cachePrincipalesJwt caché de usuarios autenticados, invalidada al modificar un usuario
+     * @param generadorIdUsuario generador de los ids de los usuarios nuevos
      */
 
-    public UsuarioService(UsuarioRepository usuarioRepository, CarreraRepository carreraRepository, SolicitudRepository solicitudRepository, PasswordEncoder passwordEncoder) {
+    public UsuarioService(UsuarioRepository usuarioRepository, CacheCatalogo cacheCatalogo, SolicitudRepository solicitudRepository, PasswordEncoder passwordEncoder,
+                          CachePrincipalesJwt cachePrincipalesJwt, GeneradorIdUsuario generadorIdUsuario) {
         this.usuarioRepository = usuarioRepository;
-        this.carreraRepository = carreraRepository;
+        this.cacheCatalogo = cacheCatalogo;
         this.solicitudRepository = solicitudRepository;
         this.passwordEncoder = passwordEncoder;
+        this.cachePrincipalesJwt = cachePrincipalesJwt;
+        this.generadorIdUsuario = generadorIdUsuario;
     }
 
     /**
@@ -93,7 +106,7 @@ public class UsuarioService {
      * <p>
      * Este método genera automáticamente:
      * <ul>
-     *   <li>ID: Cadena de 10 dígitos numéricos entre 0000000000 y 9999999999</li>
+     *   <li>ID: Cadena de 10 dígitos numéricos entregada por {@link GeneradorIdUsuario}</li>
      *   <li>Email: Formato {nombre}.{apellido}-{primera letra del apellido}@mail.escuelaing.edu.co</li>
      * </ul>
      * </p>
@@ -115,7 +128,7 @@ public class UsuarioService {
         
         Usuario usuario = crearYConfigurarUsuario(dto, rol, facultad, emailGenerado);
         
-        return usuarioRepository.insert(usuario);
+        return insertarConIdNuevo(usuario);
     }
 
     /**
@@ -125,7 +138,7 @@ public class UsuarioService {
      * @return el enum {@link Rol} validado
      * @throws SirhaException si el rol no es válido
      */
-    private Rol validarYObtenerRol(String rolStr) throws SirhaException {
+    static Rol validarYObtenerRol(String rolStr) throws SirhaException {
         try {
             return Rol.valueOf(rolStr.toUpperCase());
         } catch (IllegalArgumentException e) {
@@ -140,7 +153,7 @@ public class UsuarioService {
      * @return el enum {@link Facultad} validado o null si no se proporciona
      * @throws SirhaException si la facultad no es válida
      */
-    private Facultad validarYObtenerFacultad(String facultadStr) throws SirhaException {
+    static Facultad validarYObtenerFacultad(String facultadStr) throws SirhaException {
         if (facultadStr == null || facultadStr.trim().isEmpty()) {
             return null;
         }
@@ -159,7 +172,7 @@ public class UsuarioService {
      * @param facultad la facultad asignada
      * @throws SirhaException si la validación falla
      */
-    private void validarFacultadPorRol(Rol rol, Facultad facultad) throws SirhaException {
+    static void validarFacultadPorRol(Rol rol, Facultad facultad) throws SirhaException {
         if (requiereFacultad(rol) && facultad == null) {
             throw new SirhaException("La facultad es obligatoria para el rol " + rol.name());
         }
@@ -175,7 +188,7 @@ public class UsuarioService {
      * @param rol el rol a verificar
      * @return true si el rol requiere facultad, false en caso contrario
      */
-    private boolean requiereFacultad(Rol rol) {
+    static boolean requiereFacultad(Rol rol) {
         return rol == Rol.ESTUDIANTE || rol == Rol.DECANO;
     }
 
@@ -186,7 +199,7 @@ public class UsuarioService {
      * @throws SirhaException si la facultad no existe en el sistema
      */
     private void validarCarreraExistente(Facultad facultad) throws SirhaException {
-        if (facultad != null && carreraRepository.findByNombre(facultad).isEmpty()) {
+        if (facultad != null && cacheCatalogo.carreraPorFacultad(facultad).isEmpty()) {
             throw new SirhaException(SirhaException.CARRERA_NO_ENCONTRADA + facultad.name());
         }
     }
@@ -245,32 +258,37 @@ public class UsuarioService {
                 dto.getPassword(),
                 facultad);
 
-        usuario.setId(generarIdUnico());
         usuario.setPassword(passwordEncoder.encode(usuario.getPassword()));
         
         return usuario;
     }
 
     /**
-     * Genera un ID único de 10 dígitos numéricos para un usuario.
-     * 
-     * <p>El ID se genera de forma criptográficamente segura usando {@link SecureRandom}
-     * en el rango de 0000000000 a 9999999999.
-     * Si el ID ya existe en la base de datos, se genera uno nuevo hasta encontrar uno único.</p>
+     * Inserta el usuario con un id nuevo sin consultar antes si el id existe.
      *
-     * @return ID único de 10 dígitos en formato String
+     * <p>Los ids del generador no se repiten entre sí, pero pueden coincidir con un id aleatorio
+     * asignado antes de existir la secuencia. Solo ante un error de llave duplicada se revisa si el
+     * conflicto fue el email (otra solicitud registró el mismo usuario a la vez) o el id, y en este
+     * último caso se reintenta con el siguiente id.</p>
+     *
+     * @param usuario el usuario configurado, sin id
+     * @return el usuario persistido
+     * @throws SirhaException si otro registro concurrente tomó el mismo email
      */
-    private String generarIdUnico() {
-        SecureRandom secureRandom = new SecureRandom();
-        String id;
-        do {
-            // Generar un número aleatorio de 10 dígitos de forma criptográficamente segura
-            long numeroAleatorio = secureRandom.nextLong(10000000000L);
-            // Formatear con ceros a la izquierda si es necesario
-            id = String.format("%010d", numeroAleatorio);
-        } while (usuarioRepository.existsById(id)); // Verificar que no exista
-        
-        return id;
+    private Usuario insertarConIdNuevo(Usuario usuario) throws SirhaException {
+        for (int intento = 1; ; intento++) {
+            usuario.setId(generadorIdUsuario.siguiente());
+            try {
+                return usuarioRepository.insert(usuario);
+            } catch (DuplicateKeyException e) {
+                if (usuarioRepository.findByEmail(usuario.getEmail()).isPresent()) {
+                    throw new SirhaException(SirhaException.EMAIL_YA_REGISTRADO);
+                }
+                if (intento >= MAX_INTENTOS_ID) {
+                    throw e;
+                }
+            }
+        }
     }
     
     /**
@@ -288,7 +306,7 @@ public class UsuarioService {
      * @param apellido el apellido del usuario
      * @return el correo electrónico generado
      */
-    private String generarEmail(String nombre, String apellido) {
+    static String generarEmail(String nombre, String apellido) {
         // Normalizar: remover espacios extras, convertir a minúsculas, remover acentos
         String nombreNormalizado = normalizarTexto(nombre);
         String apellidoNormalizado = normalizarTexto(apellido);
@@ -309,7 +327,7 @@ public class UsuarioService {
      * @param texto el texto a normalizar
      * @return el texto normalizado
      */
-    private String normalizarTexto(String texto) {
+    static String normalizarTexto(String texto) {
         return texto.trim()
                 .toLowerCase()
                 .replace(" ", "")  // Remover todos los espacios
@@ -348,12 +366,15 @@ public class UsuarioService {
             throw new SirhaException(SirhaException.USUARIO_NO_ENCONTRADO + usuarioId);
         }
         Usuario usuario = usuarioOpt.get();
+        String emailAnterior = usuario.getEmail();
         validarNombre(usuario, dto.getNombre());
         validarApellido(usuario, dto.getApellido());
         validarEmail(usuario, dto.getEmail(), usuarioId);
         validarPassword(usuario, dto.getPassword());
         validarRol(usuario, dto.getRol());
-        return usuarioRepository.save(usuario);
+        Usuario actualizado = usuarioRepository.save(usuario);
+        cachePrincipalesJwt.invalidar(emailAnterior);
+        return actualizado;
     }
 
     /**
@@ -361,10 +382,10 @@ public class UsuarioService {
      * @param usuarioId ID del usuario.
      */
     public void eliminarUsuario(String usuarioId) throws SirhaException{
-        if (!usuarioRepository.existsById(usuarioId)) {
-            throw new SirhaException(SirhaException.USUARIO_NO_ENCONTRADO + usuarioId);
-        }
+        Usuario usuario = usuarioRepository.findById(usuarioId)
+                .orElseThrow(() -> new SirhaException(SirhaException.USUARIO_NO_ENCONTRADO + usuarioId));
         usuarioRepository.deleteById(usuarioId);
+        cachePrincipalesJwt.invalidar(usuario.getEmail());
     }
 
     /**
@@ -403,6 +424,27 @@ public class UsuarioService {
         return usuarioRepository.findAll();
     }
 
+    /**
+     * Consulta una página de usuarios ordenada por id, sin el hash de la contraseña.
+     *
+     * @param cursor id del último usuario de la página anterior, o {@code null} para la primera
+     * @param tamano cantidad de usuarios por página, o {@code null} para el tamaño por defecto
+     * @return página de {@link Usuario} con el cursor de la siguiente
+     * @throws SirhaException si el tamaño de página no es válido
+     */
+    public PaginaDTO<Usuario> obtenerPaginaUsuarios(String cursor, Integer tamano) throws SirhaException {
+        return Paginacion.pagina(usuarioRepository::buscarPagina, cursor, tamano, Usuario::getId);
+    }
+
+    /**
+     * Recorre todos los usuarios con un cursor de base de datos, sin el hash de la contraseña.
+     *
+     * @return flujo perezoso de {@link Usuario}; debe cerrarse al terminar
+     */
+    public Stream<Usuario> streamUsuarios() {
+        return usuarioRepository.streamUsuarios();
+    }
+
     /**
      * Busca un usuario por su identificador único.
      *
@@ -431,35 +473,33 @@ public class UsuarioService {
      * Busca todos los usuarios que tengan el rol especificado.
      *
      * @param rol rol a filtrar
-     * @return lista de {@link Usuario} con el rol indicado
+     * @return resúmenes de los usuarios con el rol indicado
      */
 
-    public List<Usuario> obtenerPorRol(Rol rol) {
-        return usuarioRepository.findByRol(rol);
+    public List<UsuarioResumenDTO> obtenerPorRol(Rol rol) {
+        return usuarioRepository.buscarResumenes(null, null, rol, null);
     }
 
     /**
      * Busca un usuario por su nombre.
      *
      * @param nombre nombre del usuario
-     * @return un {@link Optional} que contiene el {@link Usuario} si existe, o
-     *         vacío si no
+     * @return resúmenes de los usuarios que coinciden, o lista vacía si no hay
      */
 
-    public List<Usuario> obtenerPorNombre(String nombre) {
-        return usuarioRepository.findByNombre(nombre);
+    public List<UsuarioResumenDTO> obtenerPorNombre(String nombre) {
+        return usuarioRepository.buscarResumenes(nombre, null, null, null);
     }
 
     /**
      * Busca un usuario por su apellido.
      *
      * @param apellido apellido del usuario
-     * @return un {@link Optional} que contiene el {@link Usuario} si existe, o
-     *         vacío si no
+     * @return resúmenes de los usuarios que coinciden, o lista vacía si no hay
      */
 
-    public List<Usuario> obtenerPorApellido(String apellido) {
-        return usuarioRepository.findByApellido(apellido);
+    public List<UsuarioResumenDTO> obtenerPorApellido(String apellido) {
+        return usuarioRepository.buscarResumenes(null, apellido, null, null);
     }
 
     /**
@@ -467,12 +507,11 @@ public class UsuarioService {
      *
      * @param nombre   nombre del usuario
      * @param apellido apellido del usuario
-     * @return un {@link Optional} que contiene el {@link Usuario} si existe, o
-     *         vacío si no
+     * @return resúmenes de los usuarios que coinciden, o lista vacía si no hay
      */
 
-    public List<Usuario> obtenerPorNombreYApellido(String nombre, String apellido) {
-        return usuarioRepository.findByNombreAndApellido(nombre, apellido);
+    public List<UsuarioResumenDTO> obtenerPorNombreYApellido(String nombre, String apellido) {
+        return usuarioRepository.buscarResumenes(nombre, apellido, null, null);
     }
 
     /**
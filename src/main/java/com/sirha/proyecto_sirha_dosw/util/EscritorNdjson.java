@@ -0,0 +1,53 @@
+package com.sirha.proyecto_sirha_dosw.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Escribe respuestas NDJSON (un documento JSON por línea) a medida que un cursor entrega los
+ *          documentos, de modo que la memoria usada no depende del tamaño de la colección.
+ * Usa el {@link ObjectMapper} de la aplicación para que cada línea se serialice igual que en
+ *          las respuestas JSON normales.
+ */
+@Component
+public class EscritorNdjson {
+
+    private static final int SALTO_DE_LINEA = '\n';
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param objectMapper serializador JSON de la aplicación
+     */
+    public EscritorNdjson(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Arma una respuesta que recorre el flujo al escribir el cuerpo. El flujo se abre y se cierra
+     *          dentro de la escritura, que ocurre después de que el controlador retorna.
+     * @param fuente abre el flujo de documentos, por ejemplo un cursor de MongoDB
+     * @param <T> tipo de los documentos
+     * @return respuesta 200 con tipo {@code application/x-ndjson}
+     */
+    public <T> ResponseEntity<StreamingResponseBody> responder(Supplier<Stream<T>> fuente) {
+        StreamingResponseBody cuerpo = salida -> {
+            try (Stream<T> documentos = fuente.get()) {
+                Iterator<T> iterador = documentos.iterator();
+                while (iterador.hasNext()) {
+                    salida.write(objectMapper.writeValueAsBytes(iterador.next()));
+                    salida.write(SALTO_DE_LINEA);
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
+    }
+}
@@ -0,0 +1,77 @@
+package com.sirha.proyecto_sirha_dosw.util;
+
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Genera los identificadores de 10 dígitos de los usuarios.
+ * Los primeros nueve dígitos salen de una secuencia persistente reservada por bloques y el último
+ *          es un dígito verificador de Luhn, de modo que dos instancias nunca entregan el mismo id
+ *          y no hace falta consultar la base de datos antes de insertar.
+ */
+@Component
+public class GeneradorIdUsuario {
+
+    static final String SECUENCIA_USUARIO = "usuario";
+    static final long MAXIMO_CONSECUTIVO = 999_999_999L;
+
+    private final SecuenciaPorBloques secuencia;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param secuenciaRepository repositorio de secuencias persistentes
+     * @param tamanoBloque cantidad de ids reservados por viaje a la base de datos
+     */
+    public GeneradorIdUsuario(SecuenciaRepository secuenciaRepository,
+                              @Value("${sirha.secuencias.tamano-bloque:100}") int tamanoBloque) {
+        this.secuencia = new SecuenciaPorBloques(secuenciaRepository, SECUENCIA_USUARIO, tamanoBloque);
+    }
+
+    /**
+     * Entrega el siguiente id de usuario.
+     * @return id de 10 dígitos: consecutivo de nueve dígitos seguido del dígito verificador
+     * @throws IllegalStateException si se agotaron los consecutivos de nueve dígitos
+     */
+    public String siguiente() {
+        long consecutivo = secuencia.siguiente();
+        if (consecutivo > MAXIMO_CONSECUTIVO) {
+            throw new IllegalStateException("Se agotaron los ids de usuario de 10 dígitos");
+        }
+        String base = String.format("%09d", consecutivo);
+        return base + digitoVerificador(base);
+    }
+
+    /**
+     * Indica si un id tiene el formato que entrega este generador.
+     * Los ids aleatorios asignados antes de existir la secuencia no siempre lo cumplen.
+     * @param id id a revisar
+     * @return {@code true} si tiene 10 dígitos y el último es el verificador de los anteriores
+     */
+    public static boolean esValido(String id) {
+        if (id == null || id.length() != 10 || !id.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+        return id.charAt(9) - '0' == digitoVerificador(id.substring(0, 9));
+    }
+
+    /**
+     * Calcula el dígito verificador de Luhn de una cadena de dígitos.
+     */
+    static int digitoVerificador(String digitos) {
+        int suma = 0;
+        boolean doblar = true;
+        for (int i = digitos.length() - 1; i >= 0; i--) {
+            int digito = digitos.charAt(i) - '0';
+            if (doblar) {
+                digito *= 2;
+                if (digito > 9) {
+                    digito -= 9;
+                }
+            }
+            suma += digito;
+            doblar = !doblar;
+        }
+        return (10 - suma % 10) % 10;
+    }
+}
@@ -0,0 +1,94 @@
+package com.sirha.proyecto_sirha_dosw.util;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import com.sirha.proyecto_sirha_dosw.model.Estudiante;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.RegistroMaterias;
+import com.sirha.proyecto_sirha_dosw.model.Semestre;
+import com.sirha.proyecto_sirha_dosw.model.Solicitud;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
+
+/**
+ * Resuelve en lote los grupos completos referenciados por solicitudes y registros de materias,
+ * que en la base de datos solo guardan la proyección del grupo. Cada llamada realiza una única
+ * consulta {@code findAllById} sin importar cuántos documentos se resuelvan.
+ */
+public final class GrupoResolucionUtil {
+
+    private GrupoResolucionUtil() {
+    }
+
+    public static void resolverSolicitudes(GrupoRepository grupoRepository, Collection<Solicitud> solicitudes) {
+        Set<String> ids = new HashSet<>();
+        for (Solicitud solicitud : solicitudes) {
+            agregarId(ids, solicitud.getGrupoProblemaId());
+            agregarId(ids, solicitud.getGrupoDestinoId());
+        }
+        Map<String, Grupo> grupos = buscarPorIds(grupoRepository, ids);
+        if (grupos.isEmpty()) {
+            return;
+        }
+        for (Solicitud solicitud : solicitudes) {
+            solicitud.resolverGrupos(obtener(grupos, solicitud.getGrupoProblemaId()),
+                    obtener(grupos, solicitud.getGrupoDestinoId()));
+        }
+    }
+
+    public static void resolverRegistros(GrupoRepository grupoRepository, Collection<RegistroMaterias> registros) {
+        Set<String> ids = new HashSet<>();
+        for (RegistroMaterias registro : registros) {
+            agregarId(ids, registro.getGrupoId());
+        }
+        Map<String, Grupo> grupos = buscarPorIds(grupoRepository, ids);
+        if (grupos.isEmpty()) {
+            return;
+        }
+        for (RegistroMaterias registro : registros) {
+            Grupo grupo = obtener(grupos, registro.getGrupoId());
+            if (grupo != null) {
+                registro.resolverGrupo(grupo);
+            }
+        }
+    }
+
+    public static void resolverEstudiante(GrupoRepository grupoRepository, Estudiante estudiante) {
+        List<RegistroMaterias> registros = estudiante.getSemestres().stream()
+                .map(Semestre::getRegistros)
+                .flatMap(List::stream)
+                .toList();
+        resolverRegistros(grupoRepository, registros);
+    }
+
+    private static void agregarId(Set<String> ids, String id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static Grupo obtener(Map<String, Grupo> grupos, String id) {
+        return id != null ? grupos.get(id) : null;
+    }
+
+    private static Map<String, Grupo> buscarPorIds(GrupoRepository grupoRepository, Set<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Iterable<Grupo> encontrados = grupoRepository.findAllById(ids);
+        if (encontrados == null) {
+            return Map.of();
+        }
+        return StreamSupport.stream(encontrados.spliterator(), false)
+                .filter(Objects::nonNull)
+                .filter(grupo -> grupo.getId() != null)
+                .collect(Collectors.toMap(Grupo::getId, Function.identity(), (a, b) -> a));
+    }
+}
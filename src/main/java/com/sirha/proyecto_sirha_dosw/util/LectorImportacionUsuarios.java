@@ -0,0 +1,200 @@
+package com.sirha.proyecto_sirha_dosw.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sirha.proyecto_sirha_dosw.dto.UsuarioDTO;
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lee línea por línea un archivo de importación de usuarios en CSV o NDJSON, sin cargarlo
+ *          completo en memoria. Una línea mal formada se entrega como fila con error en lugar
+ *          de interrumpir la lectura; las líneas en blanco se ignoran.
+ * El CSV debe empezar con un encabezado que incluya las columnas {@code nombre}, {@code apellido},
+ *          {@code password} y {@code rol}; {@code facultad} es opcional. Los campos pueden ir
+ *          entre comillas dobles, pero no pueden ocupar varias líneas.
+ */
+public final class LectorImportacionUsuarios implements Iterator<LectorImportacionUsuarios.Fila>, Closeable {
+
+    public static final String TIPO_CSV = "text/csv";
+    public static final String TIPO_NDJSON = "application/x-ndjson";
+    static final String FORMATO_NO_SOPORTADO = "Formato de importación no soportado. Use " + TIPO_CSV + " o " + TIPO_NDJSON;
+    static final String COLUMNAS_FALTANTES = "El encabezado del CSV no incluye las columnas: ";
+    private static final String BOM = "\uFEFF";
+    private static final List<String> COLUMNAS_OBLIGATORIAS = List.of("nombre", "apellido", "password", "rol");
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * Fila leída del archivo.
+     * @param linea número de línea en el archivo, empezando en 1
+     * @param usuario datos de la fila, o {@code null} si la línea no se pudo interpretar
+     * @param error motivo por el que la línea no se pudo interpretar, o {@code null}
+     */
+    public record Fila(int linea, UsuarioDTO usuario, String error) {
+    }
+
+    private final BufferedReader lector;
+    private final boolean csv;
+    private final Map<String, Integer> columnas = new HashMap<>();
+    private int linea;
+    private Fila siguiente;
+
+    private LectorImportacionUsuarios(InputStream entrada, boolean csv) {
+        this.lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        this.csv = csv;
+    }
+
+    /**
+     * Abre el archivo según su tipo de contenido. Para CSV se lee y valida el encabezado.
+     * @param entrada contenido del archivo; se cierra al cerrar el lector
+     * @param tipoContenido tipo MIME, admite parámetros como {@code charset}
+     * @return lector posicionado en la primera fila de datos
+     * @throws SirhaException si el formato no es soportado o al encabezado le faltan columnas
+     */
+    public static LectorImportacionUsuarios abrir(InputStream entrada, String tipoContenido) throws SirhaException {
+        String tipo = tipoContenido == null ? "" : tipoContenido.split(";")[0].trim().toLowerCase(Locale.ROOT);
+        if (!tipo.equals(TIPO_CSV) && !tipo.equals(TIPO_NDJSON)) {
+            throw new SirhaException(FORMATO_NO_SOPORTADO);
+        }
+        LectorImportacionUsuarios lector = new LectorImportacionUsuarios(entrada, tipo.equals(TIPO_CSV));
+        if (lector.csv) {
+            lector.leerEncabezado();
+        }
+        return lector;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (siguiente == null) {
+            siguiente = leerFila();
+        }
+        return siguiente != null;
+    }
+
+    @Override
+    public Fila next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Fila fila = siguiente;
+        siguiente = null;
+        return fila;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lector.close();
+    }
+
+    private void leerEncabezado() throws SirhaException {
+        String encabezado = leerLineaNoVacia();
+        List<String> nombres = encabezado == null ? List.of() : separarCsv(encabezado);
+        for (int i = 0; i < nombres.size(); i++) {
+            columnas.put(nombres.get(i).replace(BOM, "").trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> faltantes = COLUMNAS_OBLIGATORIAS.stream().filter(c -> !columnas.containsKey(c)).toList();
+        if (!faltantes.isEmpty()) {
+            throw new SirhaException(COLUMNAS_FALTANTES + String.join(", ", faltantes));
+        }
+    }
+
+    private Fila leerFila() {
+        String texto = leerLineaNoVacia();
+        if (texto == null) {
+            return null;
+        }
+        return csv ? filaCsv(texto) : filaJson(texto);
+    }
+
+    private Fila filaCsv(String texto) {
+        List<String> valores = separarCsv(texto);
+        if (valores.size() > columnas.size()) {
+            return new Fila(linea, null, "La fila tiene más columnas que el encabezado");
+        }
+        UsuarioDTO usuario = new UsuarioDTO();
+        usuario.setNombre(valor(valores, "nombre"));
+        usuario.setApellido(valor(valores, "apellido"));
+        usuario.setPassword(valor(valores, "password"));
+        usuario.setRol(valor(valores, "rol"));
+        usuario.setFacultad(valor(valores, "facultad"));
+        return new Fila(linea, usuario, null);
+    }
+
+    private Fila filaJson(String texto) {
+        try {
+            return new Fila(linea, JSON.readValue(texto, UsuarioDTO.class), null);
+        } catch (JsonProcessingException e) {
+            return new Fila(linea, null, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private String valor(List<String> valores, String columna) {
+        Integer indice = columnas.get(columna);
+        if (indice == null || indice >= valores.size()) {
+            return null;
+        }
+        String valor = valores.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private String leerLineaNoVacia() {
+        try {
+            String texto;
+            do {
+                texto = lector.readLine();
+                linea++;
+            } while (texto != null && texto.isBlank());
+            return texto;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Separa una línea CSV por comas respetando los campos entre comillas dobles,
+     *          donde {@code ""} representa una comilla.
+     */
+    static List<String> separarCsv(String texto) {
+        List<String> valores = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < texto.length() && texto.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                valores.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        valores.add(actual.toString());
+        return valores;
+    }
+}
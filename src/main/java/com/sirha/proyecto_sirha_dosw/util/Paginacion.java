@@ -0,0 +1,56 @@
+package com.sirha.proyecto_sirha_dosw.util;
+
+import com.sirha.proyecto_sirha_dosw.dto.PaginaDTO;
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Utilidad para armar páginas por llave a partir de una consulta ordenada por id.
+ * Se consulta un elemento más del tamaño pedido para saber si hay otra página sin contar
+ *          la colección completa.
+ */
+public final class Paginacion {
+
+    public static final int TAMANO_POR_DEFECTO = 50;
+    public static final int TAMANO_MAXIMO = 500;
+
+    private Paginacion() {
+    }
+
+    /**
+     * Consulta una página.
+     * @param consulta recibe el cursor y el límite, y devuelve los elementos siguientes al cursor en orden de id
+     * @param cursor id del último elemento de la página anterior, o {@code null} para la primera
+     * @param tamano tamaño de página pedido, o {@code null} para {@link #TAMANO_POR_DEFECTO}
+     * @param id obtiene el id de un elemento
+     * @param <T> tipo de los elementos
+     * @return página con hasta {@code tamano} elementos y el cursor de la siguiente
+     * @throws SirhaException si el tamaño no está entre 1 y {@link #TAMANO_MAXIMO}
+     */
+    public static <T> PaginaDTO<T> pagina(BiFunction<String, Integer, List<T>> consulta, String cursor,
+                                          Integer tamano, Function<T, String> id) throws SirhaException {
+        int limite = validarTamano(tamano);
+        String desde = cursor == null || cursor.isBlank() ? null : cursor;
+        List<T> elementos = consulta.apply(desde, limite + 1);
+        String siguienteCursor = null;
+        if (elementos.size() > limite) {
+            elementos = new ArrayList<>(elementos.subList(0, limite));
+            siguienteCursor = id.apply(elementos.get(limite - 1));
+        }
+        return new PaginaDTO<>(elementos, siguienteCursor, elementos.size());
+    }
+
+    static int validarTamano(Integer tamano) throws SirhaException {
+        if (tamano == null) {
+            return TAMANO_POR_DEFECTO;
+        }
+        if (tamano < 1 || tamano > TAMANO_MAXIMO) {
+            throw new SirhaException(SirhaException.TAMANO_PAGINA_INVALIDO + TAMANO_MAXIMO);
+        }
+        return tamano;
+    }
+}
@@ -0,0 +1,81 @@
+package com.sirha.proyecto_sirha_dosw.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Pliega en paralelo un flujo que solo puede leerse secuencialmente, como un cursor de base de datos.
+ * El flujo se lee en lotes de tamaño fijo y cada lote se acumula en un hilo del pool común; como
+ * nunca hay más de {@code paralelismo + 1} lotes en curso, la memoria usada no depende del tamaño
+ * del flujo.
+ */
+public final class PlegadoParaleloUtil {
+
+    private PlegadoParaleloUtil() {
+    }
+
+    /**
+     * Pliega todos los elementos del flujo. La función de combinación debe ser asociativa y
+     * conmutativa, porque los lotes terminan en cualquier orden.
+     * @param fuente flujo a recorrer; no se cierra aquí
+     * @param tamanoLote cantidad de elementos por lote
+     * @param nuevo crea un acumulador vacío
+     * @param agregar agrega un elemento a un acumulador
+     * @param combinar combina dos acumuladores parciales
+     * @param <T> tipo de los elementos
+     * @param <A> tipo del acumulador
+     * @return acumulador con todos los elementos del flujo
+     */
+    public static <T, A> A plegar(Stream<T> fuente, int tamanoLote, Supplier<A> nuevo,
+                                  BiConsumer<A, T> agregar, BinaryOperator<A> combinar) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int maxLotesEnCurso = pool.getParallelism() + 1;
+        Semaphore lotesDisponibles = new Semaphore(maxLotesEnCurso);
+        AtomicReference<A> resultado = new AtomicReference<>(nuevo.get());
+        AtomicReference<RuntimeException> error = new AtomicReference<>();
+        Object candado = new Object();
+
+        Iterator<T> elementos = fuente.iterator();
+        try {
+            while (elementos.hasNext() && error.get() == null) {
+                List<T> lote = new ArrayList<>(tamanoLote);
+                while (lote.size() < tamanoLote && elementos.hasNext()) {
+                    lote.add(elementos.next());
+                }
+                lotesDisponibles.acquireUninterruptibly();
+                pool.execute(() -> {
+                    try {
+                        A parcial = nuevo.get();
+                        for (T elemento : lote) {
+                            agregar.accept(parcial, elemento);
+                        }
+                        synchronized (candado) {
+                            resultado.set(combinar.apply(resultado.get(), parcial));
+                        }
+                    } catch (RuntimeException e) {
+                        error.compareAndSet(null, e);
+                    } finally {
+                        lotesDisponibles.release();
+                    }
+                });
+            }
+        } finally {
+            // Esperar a que terminen los lotes en curso
+            lotesDisponibles.acquireUninterruptibly(maxLotesEnCurso);
+        }
+        if (error.get() != null) {
+            throw error.get();
+        }
+        synchronized (candado) {
+            return resultado.get();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.sirha.proyecto_sirha_dosw.util;
+
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepository;
+
+/**
+ * Entrega números de una secuencia persistente reservando bloques en la base de datos.
+ * Solo uno de cada {@code tamanoBloque} números cuesta un viaje a la base de datos; el resto
+ *          se entrega desde memoria. Los números son únicos entre instancias y crecientes dentro
+ *          de cada instancia; los que queden sin usar al reiniciar se pierden.
+ */
+public final class SecuenciaPorBloques {
+
+    private final SecuenciaRepository secuenciaRepository;
+    private final String nombre;
+    private final int tamanoBloque;
+    private long siguiente = 1;
+    private long limite = 0;
+
+    /**
+     * @param secuenciaRepository repositorio de secuencias
+     * @param nombre identificador de la secuencia
+     * @param tamanoBloque cantidad de números reservados por viaje a la base de datos
+     */
+    public SecuenciaPorBloques(SecuenciaRepository secuenciaRepository, String nombre, int tamanoBloque) {
+        if (tamanoBloque <= 0) {
+            throw new IllegalArgumentException("El tamaño del bloque debe ser positivo: " + tamanoBloque);
+        }
+        this.secuenciaRepository = secuenciaRepository;
+        this.nombre = nombre;
+        this.tamanoBloque = tamanoBloque;
+    }
+
+    /**
+     * Entrega el siguiente número, reservando un bloque nuevo si el actual se agotó.
+     * @return número de la secuencia
+     */
+    public synchronized long siguiente() {
+        if (siguiente > limite) {
+            limite = secuenciaRepository.reservarBloque(nombre, tamanoBloque);
+            siguiente = limite - tamanoBloque + 1;
+        }
+        return siguiente++;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+}
@@ -1,41 +1,78 @@
 package com.sirha.proyecto_sirha_dosw.util;
 
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
+import java.time.Clock;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Utilidad para generar números de radicado y calcular prioridades automáticas para solicitudes.
+ * Ambos números salen de secuencias persistentes, de modo que no se repiten entre instancias
+ *          de la aplicación ni después de un reinicio.
  */
 @Component
 public class SolicitudUtil {
-    
-    // Contador atómico para generar números únicos de radicado
-    private static final AtomicLong contadorRadicado = new AtomicLong(1000);
-    
-    // Contador atómico para generar números secuenciales de prioridad
-    private static final AtomicLong contadorPrioridad = new AtomicLong(1);
-    
+
+    static final String SECUENCIA_RADICADO = "radicado-";
+    static final String SECUENCIA_PRIORIDAD = "prioridad";
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final SecuenciaRepository secuenciaRepository;
+    private final int tamanoBloque;
+    private final Clock reloj;
+    private final SecuenciaPorBloques prioridad;
+    private SecuenciaPorBloques radicadoDelDia;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * @param secuenciaRepository repositorio de secuencias persistentes
+     * @param tamanoBloque cantidad de números reservados por viaje a la base de datos
+     */
+    @Autowired
+    public SolicitudUtil(SecuenciaRepository secuenciaRepository,
+                         @Value("${sirha.secuencias.tamano-bloque:100}") int tamanoBloque) {
+        this(secuenciaRepository, tamanoBloque, Clock.systemDefaultZone());
+    }
+
+    SolicitudUtil(SecuenciaRepository secuenciaRepository, int tamanoBloque, Clock reloj) {
+        this.secuenciaRepository = secuenciaRepository;
+        this.tamanoBloque = tamanoBloque;
+        this.reloj = reloj;
+        this.prioridad = new SecuenciaPorBloques(secuenciaRepository, SECUENCIA_PRIORIDAD, tamanoBloque);
+    }
+
     /**
-     * Genera un número de radicado único basado en la fecha actual y un contador secuencial.
+     * Genera un número de radicado único basado en la fecha actual y una secuencia del día.
      * Formato: RAD-YYYYMMDD-XXXX
      * @return Número de radicado único
      */
     public String generarNumeroRadicado() {
-        LocalDateTime ahora = LocalDateTime.now();
-        String fecha = ahora.format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        long numero = contadorRadicado.getAndIncrement();
+        String fecha = LocalDate.now(reloj).format(FORMATO_FECHA);
+        long numero = secuenciaDelDia(fecha).siguiente();
         return String.format("RAD-%s-%04d", fecha, numero);
     }
-    
+
     /**
      * Genera el siguiente número de prioridad secuencial.
      * Las solicitudes se procesan en orden de llegada (menor número = mayor prioridad).
      * @return Número de prioridad secuencial
      */
     public Integer generarNumeroPrioridad() {
-        return (int) contadorPrioridad.getAndIncrement();
+        return Math.toIntExact(prioridad.siguiente());
+    }
+
+    /**
+     * Secuencia de radicados del día; al cambiar de día se empieza una secuencia nueva.
+     */
+    private synchronized SecuenciaPorBloques secuenciaDelDia(String fecha) {
+        String nombre = SECUENCIA_RADICADO + fecha;
+        if (radicadoDelDia == null || !radicadoDelDia.getNombre().equals(nombre)) {
+            radicadoDelDia = new SecuenciaPorBloques(secuenciaRepository, nombre, tamanoBloque);
+        }
+        return radicadoDelDia;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,210 @@
+package com.sirha.proyecto_sirha_dosw.config;
+
+import com.sirha.proyecto_sirha_dosw.model.Secuencia;
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepository;
+import com.sirha.proyecto_sirha_dosw.service.MetricasSirha;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas del filtro JWT con la caché de usuarios autenticados.
+ */
+class JwtAuthFilterTest {
+
+	private static final String EMAIL = "ana.lopez@mail.escuelaing.edu.co";
+
+	private final JwtService jwtService = new JwtService();
+	private final AtomicLong reloj = new AtomicLong(1_000L);
+	private static final long VERIFICACION_MS = 5_000L;
+
+	private UserDetailsService userDetailsService;
+	private SecuenciaRepository secuenciaRepository;
+	private CachePrincipalesJwt cache;
+	private SimpleMeterRegistry registry;
+	private JwtAuthFilter filtro;
+
+	@BeforeEach
+	void setUp() {
+		userDetailsService = mock(UserDetailsService.class);
+		secuenciaRepository = mock(SecuenciaRepository.class);
+		when(secuenciaRepository.findById(CachePrincipalesJwt.SECUENCIA_VERSION)).thenReturn(Optional.empty());
+		when(secuenciaRepository.reservarBloque(CachePrincipalesJwt.SECUENCIA_VERSION, 1)).thenReturn(1L, 2L, 3L);
+		cache = new CachePrincipalesJwt(secuenciaRepository, 100, 60_000L, VERIFICACION_MS, reloj::get);
+		registry = new SimpleMeterRegistry();
+		filtro = new JwtAuthFilter(jwtService, userDetailsService, cache, new MetricasSirha(registry));
+		when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(usuario("ESTUDIANTE"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void testSegundaPeticionUsaLaCacheSinConsultarLaBaseDeDatos() throws Exception {
+		String token = jwtService.generateToken(usuario("ESTUDIANTE"));
+
+		Authentication primera = filtrar(token);
+		Authentication segunda = filtrar(token);
+
+		assertEquals(EMAIL, primera.getName());
+		assertEquals(EMAIL, segunda.getName());
+		assertEquals("ROLE_ESTUDIANTE", segunda.getAuthorities().iterator().next().getAuthority());
+		verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+	}
+
+	@Test
+	void testInvalidarObligaAValidarNuevamente() throws Exception {
+		String token = jwtService.generateToken(usuario("ESTUDIANTE"));
+		filtrar(token);
+
+		cache.invalidar(EMAIL);
+		filtrar(token);
+
+		verify(userDetailsService, times(2)).loadUserByUsername(EMAIL);
+	}
+
+	@Test
+	void testTokenConRolDesactualizadoNoSeAutentica() throws Exception {
+		String token = jwtService.generateToken(usuario("ESTUDIANTE"));
+		when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(usuario("DECANO"));
+
+		assertNull(filtrar(token));
+		assertEquals(0, cache.tamano());
+	}
+
+	@Test
+	void testTokenInvalidoNoSeAutentica() throws Exception {
+		assertNull(filtrar("token.no.valido"));
+		verifyNoInteractions(userDetailsService);
+	}
+
+	@Test
+	void testCadaValidacionSeCuentaPorResultado() throws Exception {
+		String token = jwtService.generateToken(usuario("ESTUDIANTE"));
+		filtrar(token);
+		filtrar(token);
+		filtrar("token.no.valido");
+		cache.invalidar(EMAIL);
+		when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(usuario("DECANO"));
+		filtrar(token);
+
+		assertEquals(1.0, validaciones("valido"));
+		assertEquals(1.0, validaciones("cache"));
+		assertEquals(1.0, validaciones("invalido"));
+		assertEquals(1.0, validaciones("rechazado"));
+	}
+
+	@Test
+	void testEntradaVencidaSeDescarta() throws Exception {
+		String token = jwtService.generateToken(usuario("ESTUDIANTE"));
+		filtrar(token);
+
+		reloj.addAndGet(60_000L);
+		filtrar(token);
+
+		verify(userDetailsService, times(2)).loadUserByUsername(EMAIL);
+	}
+
+	@Test
+	void testCacheRespetaElTamanoMaximo() {
+		CachePrincipalesJwt pequena = new CachePrincipalesJwt(secuenciaRepository, 3, 60_000L, VERIFICACION_MS, reloj::get);
+		for (int i = 0; i < 10; i++) {
+			pequena.guardar("token-" + i, usuario("ESTUDIANTE"), Long.MAX_VALUE, pequena.generacion());
+		}
+		assertTrue(pequena.tamano() <= 3);
+		assertNotNull(pequena.obtener("token-9"));
+	}
+
+	@Test
+	void testInvalidacionDuranteLaConsultaNoDejaElUsuarioAnteriorEnCache() throws Exception {
+		String token = jwtService.generateToken(usuario("ESTUDIANTE"));
+		// El usuario se modifica mientras el filtro lo consulta: lo leído ya no es vigente
+		when(userDetailsService.loadUserByUsername(EMAIL)).thenAnswer(invocacion -> {
+			cache.invalidar(EMAIL);
+			return usuario("ESTUDIANTE");
+		});
+
+		assertNotNull(filtrar(token));
+		assertEquals(0, cache.tamano());
+	}
+
+	@Test
+	void testGuardarDescartaResultadosLeidosAntesDeUnaInvalidacion() {
+		long generacion = cache.generacion();
+		cache.invalidar("otro@mail.escuelaing.edu.co");
+
+		cache.guardar("token", usuario("ESTUDIANTE"), Long.MAX_VALUE, generacion);
+
+		assertNull(cache.obtener("token"));
+	}
+
+	@Test
+	void testInvalidacionEnOtraInstanciaVaciaLaCacheTrasElIntervalo() throws Exception {
+		String token = jwtService.generateToken(usuario("ESTUDIANTE"));
+		filtrar(token);
+		// Otra instancia invalidó un usuario y aumentó la versión compartida
+		when(secuenciaRepository.findById(CachePrincipalesJwt.SECUENCIA_VERSION)).thenReturn(Optional.of(version(1)));
+
+		reloj.addAndGet(VERIFICACION_MS - 1);
+		filtrar(token);
+		verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+
+		reloj.incrementAndGet();
+		filtrar(token);
+		verify(userDetailsService, times(2)).loadUserByUsername(EMAIL);
+	}
+
+	@Test
+	void testInvalidarConVersionesDeOtraInstanciaVaciaTodaLaCache() {
+		cache.guardar("token-otro", User.withUsername("otro@mail.escuelaing.edu.co").password("")
+				.roles("ESTUDIANTE").build(), Long.MAX_VALUE, cache.generacion());
+		cache.invalidar(EMAIL);
+		assertNotNull(cache.obtener("token-otro"));
+
+		// La versión saltó de 1 a 3: otra instancia invalidó un usuario que esta no conoce
+		when(secuenciaRepository.reservarBloque(CachePrincipalesJwt.SECUENCIA_VERSION, 1)).thenReturn(3L);
+		cache.invalidar(EMAIL);
+
+		assertNull(cache.obtener("token-otro"));
+	}
+
+	private Authentication filtrar(String token) throws Exception {
+		SecurityContextHolder.clearContext();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/usuarios/email/self");
+		request.addHeader("Authorization", "Bearer " + token);
+		filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		return SecurityContextHolder.getContext().getAuthentication();
+	}
+
+	private double validaciones(String resultado) {
+		return registry.get("sirha.jwt.validaciones").tag("resultado", resultado).counter().count();
+	}
+
+	private static Secuencia version(long valor) {
+		Secuencia secuencia = new Secuencia();
+		secuencia.setId(CachePrincipalesJwt.SECUENCIA_VERSION);
+		secuencia.setValor(valor);
+		return secuencia;
+	}
+
+	private static UserDetails usuario(String rol) {
+		return User.withUsername(EMAIL).password("hash").roles(rol).build();
+	}
+}
@@ -0,0 +1,71 @@
+package com.sirha.proyecto_sirha_dosw.config;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la generación y validación de tokens JWT.
+ */
+class JwtServiceTest {
+
+	private final JwtService jwtService = new JwtService();
+	private final UserDetails usuario = User.withUsername("ana@test.com").password("hash").roles("DECANO").build();
+
+	@Test
+	void testParseDevuelveEmailRolYExpiracion() {
+		String token = jwtService.generateToken(usuario);
+
+		JwtService.TokenValidado validado = jwtService.parse(token);
+
+		assertEquals("ana@test.com", validado.email());
+		assertEquals("DECANO", validado.rol());
+		Duration vigencia = Duration.between(Instant.now(), validado.expiracion());
+		assertTrue(vigencia.toHours() >= 23 && vigencia.toHours() <= 24);
+		assertTrue(jwtService.isTokenValid(token, usuario));
+	}
+
+	@Test
+	void testParseRechazaTokenAlterado() {
+		String token = jwtService.generateToken(usuario);
+		String alterado = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+		assertThrows(JwtException.class, () -> jwtService.parse(alterado));
+	}
+
+	@Test
+	void testTokensDeOtraInstanciaSonValidos() {
+		String token = new JwtService().generateToken(usuario);
+
+		assertEquals("ana@test.com", jwtService.parse(token).email());
+	}
+
+	@Test
+	void testParseConcurrenteCompartiendoElParser() throws Exception {
+		String token = jwtService.generateToken(usuario);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<String>> tareas = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				tareas.add(() -> jwtService.parse(token).email());
+			}
+			for (Future<String> resultado : executor.invokeAll(tareas)) {
+				assertEquals("ana@test.com", resultado.get());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package com.sirha.proyecto_sirha_dosw.config;
+
+import com.sirha.proyecto_sirha_dosw.service.MetricasSirha;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del codificador de contraseñas medido.
+ */
+class PasswordEncoderMedidoTest {
+
+	@Test
+	void testCuentaCifradosYVerificaciones() {
+		MetricasSirha metricas = new MetricasSirha(new SimpleMeterRegistry());
+		PasswordEncoderMedido encoder = new PasswordEncoderMedido(new BCryptPasswordEncoder(4), metricas);
+
+		String hash = encoder.encode("Clave123*");
+
+		assertTrue(encoder.matches("Clave123*", hash));
+		assertFalse(encoder.matches("otra", hash));
+		assertEquals(1, metricas.cifradoContrasenas().count());
+		assertEquals(2, metricas.verificacionContrasenas().count());
+	}
+}
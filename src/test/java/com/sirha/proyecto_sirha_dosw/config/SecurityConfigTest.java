@@ -0,0 +1,166 @@
+package com.sirha.proyecto_sirha_dosw.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepository;
+import com.sirha.proyecto_sirha_dosw.service.MetricasSirha;
+import com.sirha.proyecto_sirha_dosw.util.EscritorNdjson;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.mock;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de la cadena de filtros de seguridad con el filtro JWT real, sin levantar MongoDB.
+ */
+@SpringJUnitWebConfig(SecurityConfigTest.Configuracion.class)
+class SecurityConfigTest {
+
+	private static final String ADMINISTRADOR = "admin@mail.escuelaing.edu.co";
+	private static final String ESTUDIANTE = "ana.lopez@mail.escuelaing.edu.co";
+
+	@Autowired
+	private WebApplicationContext contexto;
+
+	@Autowired
+	private JwtService jwtService;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(contexto).apply(springSecurity()).build();
+	}
+
+	@Test
+	void testHealthEsPublico() throws Exception {
+		mockMvc.perform(get("/actuator/health"))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void testPrometheusRechazaPeticionesSinToken() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void testPrometheusRechazaRolesDistintosDeAdministrador() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus").header("Authorization", bearer(ESTUDIANTE)))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void testPrometheusPermiteAlAdministrador() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus").header("Authorization", bearer(ADMINISTRADOR)))
+				.andExpect(status().isOk())
+				.andExpect(content().string("sirha_inscripciones_total 0"));
+	}
+
+	@Test
+	void testStreamNdjsonCompletaElDespachoAsincrono() throws Exception {
+		MvcResult inicio = mockMvc.perform(get("/api/grupos/stream").header("Authorization", bearer(ADMINISTRADOR)))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		mockMvc.perform(asyncDispatch(inicio))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+				.andExpect(content().string("\"GRUPO-1\"\n\"GRUPO-2\"\n"));
+	}
+
+	@Test
+	void testStreamNdjsonRechazaPeticionesSinToken() throws Exception {
+		mockMvc.perform(get("/api/grupos/stream"))
+				.andExpect(request().asyncNotStarted())
+				.andExpect(status().isForbidden());
+	}
+
+	private String bearer(String email) {
+		return "Bearer " + jwtService.generateToken(usuario(email));
+	}
+
+	private static UserDetails usuario(String email) {
+		String rol = ADMINISTRADOR.equals(email) ? "ADMINISTRADOR" : "ESTUDIANTE";
+		return User.withUsername(email).password("hash").roles(rol).build();
+	}
+
+	@Configuration
+	@EnableWebMvc
+	@Import({SecurityConfig.class, JwtAuthFilter.class, JwtService.class, CachePrincipalesJwt.class,
+			ControladorPrueba.class})
+	static class Configuracion {
+
+		@Bean
+		UserDetailsService userDetailsService() {
+			return email -> {
+				if (!ADMINISTRADOR.equals(email) && !ESTUDIANTE.equals(email)) {
+					throw new UsernameNotFoundException(email);
+				}
+				return usuario(email);
+			};
+		}
+
+		@Bean
+		SecuenciaRepository secuenciaRepository() {
+			return mock(SecuenciaRepository.class);
+		}
+
+		@Bean
+		MetricasSirha metricasSirha() {
+			return new MetricasSirha(new SimpleMeterRegistry());
+		}
+	}
+
+	/**
+	 * Sustituye a los endpoints de actuator, que no se registran fuera de Spring Boot, y a un
+	 * endpoint NDJSON que escribe el cuerpo en un despacho asíncrono.
+	 */
+	@RestController
+	static class ControladorPrueba {
+
+		private final EscritorNdjson escritorNdjson = new EscritorNdjson(new ObjectMapper());
+
+		@GetMapping(value = "/api/grupos/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+		ResponseEntity<StreamingResponseBody> stream() {
+			return escritorNdjson.responder(() -> Stream.of("GRUPO-1", "GRUPO-2"));
+		}
+
+		@GetMapping("/actuator/health")
+		String health() {
+			return "UP";
+		}
+
+		@GetMapping("/actuator/prometheus")
+		String prometheus() {
+			return "sirha_inscripciones_total 0";
+		}
+	}
+}
@@ -23,6 +23,7 @@ import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -37,6 +38,7 @@ import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.Carrera;
 import com.sirha.proyecto_sirha_dosw.model.Facultad;
 import com.sirha.proyecto_sirha_dosw.model.Materia;
+import com.sirha.proyecto_sirha_dosw.service.CacheCatalogo;
 import com.sirha.proyecto_sirha_dosw.service.CarreraService;
 
 /**
@@ -395,6 +397,22 @@ class CarreraControllerTest {
         verify(carreraService).addMateriaById(codigoCarrera, codigoMateria);
     }
 
+    @Test
+    @DisplayName("Debe devolver las estadísticas de la caché del catálogo")
+    void testEstadisticasCacheCatalogo() throws Exception {
+        // Given
+        when(carreraService.estadisticasCacheCatalogo())
+            .thenReturn(new CacheCatalogo.Estadisticas(120, 30, 45, 4));
+
+        // When & Then
+        mockMvc.perform(get("/api/carreras/catalogo/cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.aciertos").value(120))
+                .andExpect(jsonPath("$.fallos").value(30))
+                .andExpect(jsonPath("$.entradas").value(45))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
     // ========== MÉTODOS AUXILIARES ==========
 
     private CarreraDTO createValidCarreraDTO() {
@@ -3,9 +3,11 @@ package com.sirha.proyecto_sirha_dosw.controller;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -13,9 +15,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
@@ -27,6 +32,8 @@ import com.sirha.proyecto_sirha_dosw.dto.EstudianteBasicoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.MonitoreoGrupoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.PlazoSolicitudesDTO;
 import com.sirha.proyecto_sirha_dosw.dto.RespuestaSolicitudDTO;
+import com.sirha.proyecto_sirha_dosw.dto.ResultadoLoteSolicitudesDTO;
+import com.sirha.proyecto_sirha_dosw.dto.UsuarioResumenDTO;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.Estudiante;
 import com.sirha.proyecto_sirha_dosw.model.Facultad;
@@ -39,12 +46,16 @@ import com.sirha.proyecto_sirha_dosw.model.Solicitud;
 import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
 import com.sirha.proyecto_sirha_dosw.model.Usuario;
 import com.sirha.proyecto_sirha_dosw.service.DecanoService;
+import com.sirha.proyecto_sirha_dosw.service.RespuestaLoteSolicitudesService;
 
 class DecanoControllerTest {
 
     @Mock
     private DecanoService decanoService;
 
+    @Mock
+    private RespuestaLoteSolicitudesService respuestaLoteSolicitudesService;
+
     @InjectMocks
     private DecanoController decanoController;
 
@@ -59,11 +70,11 @@ class DecanoControllerTest {
         String facutal = "ingenieria_sistemas";
         String nombre = "Kevin";
         String apellido = "Cuitiva";
-        Estudiante estudiante = new Estudiante();
+        UsuarioResumenDTO estudiante = new UsuarioResumenDTO();
         when(decanoService.findEstudiantesByNombreApellidoAndFacultad(nombre, apellido, facutal))
                 .thenReturn(Arrays.asList(estudiante));
 
-        ResponseEntity<List<Usuario>> response = decanoController.obtenerPorNombreYApellido(facutal, nombre, apellido);
+        ResponseEntity<List<UsuarioResumenDTO>> response = decanoController.obtenerPorNombreYApellido(facutal, nombre, apellido);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().contains(estudiante));
     }
@@ -356,11 +367,48 @@ class DecanoControllerTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
     }
 
+    // responderSolicitudes
+    @Test
+    void testResponderSolicitudes_OK() throws SirhaException {
+        String facultad = "ingenieria_sistemas";
+        List<RespuestaSolicitudDTO> respuestas = List.of(new RespuestaSolicitudDTO("sol1", SolicitudEstado.RECHAZADA, null, null));
+        ResultadoLoteSolicitudesDTO resultado = new ResultadoLoteSolicitudesDTO();
+        resultado.setAplicadas(1);
+        when(respuestaLoteSolicitudesService.responderSolicitudes(respuestas, facultad)).thenReturn(resultado);
+
+        ResponseEntity<Object> response = decanoController.responderSolicitudes(facultad, respuestas);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(resultado, response.getBody());
+    }
+
+    @Test
+    void testResponderSolicitudes_BadRequest() throws SirhaException {
+        String facultad = "ingenieria_sistemas";
+        List<RespuestaSolicitudDTO> respuestas = List.of();
+        when(respuestaLoteSolicitudesService.responderSolicitudes(respuestas, facultad))
+                .thenThrow(new SirhaException("El lote no contiene respuestas"));
+
+        ResponseEntity<Object> response = decanoController.responderSolicitudes(facultad, respuestas);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("El lote no contiene respuestas", response.getBody());
+    }
+
+    @Test
+    void testResponderSolicitudes_InternalServerError() throws SirhaException {
+        String facultad = "ingenieria_sistemas";
+        List<RespuestaSolicitudDTO> respuestas = List.of();
+        when(respuestaLoteSolicitudesService.responderSolicitudes(respuestas, facultad))
+                .thenThrow(new RuntimeException("Fallo"));
+
+        ResponseEntity<Object> response = decanoController.responderSolicitudes(facultad, respuestas);
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+
     // Tests para métodos con 0% cobertura
     @Test
     void testListarUsuarios_OK() {
         String facultad = "INGENIERIA_SISTEMAS";
-        Usuario usuario = new Estudiante();
+        UsuarioResumenDTO usuario = new UsuarioResumenDTO();
         when(decanoService.findEstudiantesByFacultad(facultad))
                 .thenReturn(Arrays.asList(usuario));
 
@@ -428,11 +476,11 @@ class DecanoControllerTest {
     void testObtenerPorNombre_OK() {
         String facultad = "ingenieria_sistemas";
         String nombre = "Juan";
-        Usuario usuario = new Estudiante();
+        UsuarioResumenDTO usuario = new UsuarioResumenDTO();
         when(decanoService.findEstudiantesByNombreAndFacultad(nombre, facultad))
                 .thenReturn(Arrays.asList(usuario));
 
-        ResponseEntity<List<Usuario>> response = decanoController.obtenerPorNombre(facultad, nombre);
+        ResponseEntity<List<UsuarioResumenDTO>> response = decanoController.obtenerPorNombre(facultad, nombre);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody() != null && response.getBody().contains(usuario));
     }
@@ -441,11 +489,11 @@ class DecanoControllerTest {
     void testObtenerPorApellido_OK() {
         String facultad = "ingenieria_sistemas";
         String apellido = "Pérez";
-        Usuario usuario = new Estudiante();
+        UsuarioResumenDTO usuario = new UsuarioResumenDTO();
         when(decanoService.findEstudiantesByApellidoAndFacultad(apellido, facultad))
                 .thenReturn(Arrays.asList(usuario));
 
-        ResponseEntity<List<Usuario>> response = decanoController.obtenerPorApellido(facultad, apellido);
+        ResponseEntity<List<UsuarioResumenDTO>> response = decanoController.obtenerPorApellido(facultad, apellido);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody() != null && response.getBody().contains(usuario));
     }
@@ -558,17 +606,17 @@ class DecanoControllerTest {
     @Test
     void testConsultarResumenSolicitudesPorFacultad_OK() throws SirhaException {
         String facultad = "INGENIERIA_SISTEMAS";
-        List<Solicitud> solicitudes = Arrays.asList(
-            new Solicitud(), new Solicitud(), new Solicitud()
-        );
+        Map<SolicitudEstado, Long> conteos = new EnumMap<>(SolicitudEstado.class);
+        conteos.put(SolicitudEstado.PENDIENTE, 3L);
         
         doNothing().when(decanoService).validarFacultad(facultad);
-        when(decanoService.consultarSolicitudesPorFacultad(Facultad.INGENIERIA_SISTEMAS))
-                .thenReturn(solicitudes);
+        when(decanoService.contarSolicitudesPorEstado(Facultad.INGENIERIA_SISTEMAS))
+                .thenReturn(conteos);
 
         ResponseEntity<Object> response = decanoController.consultarResumenSolicitudesPorFacultad(facultad);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody() instanceof Map);
+        verify(decanoService, never()).consultarSolicitudesPorFacultad(any());
     }
 
     @Test
@@ -645,12 +693,13 @@ class DecanoControllerTest {
         solicitud.setId(solicitudId);
         
         doNothing().when(decanoService).validarFacultad(facultad);
-        when(decanoService.consultarSolicitudesPorFacultad(Facultad.INGENIERIA_SISTEMAS))
-                .thenReturn(Arrays.asList(solicitud));
+        when(decanoService.consultarSolicitudDeFacultad(solicitudId, Facultad.INGENIERIA_SISTEMAS))
+                .thenReturn(Optional.of(solicitud));
 
         ResponseEntity<Object> response = decanoController.consultarDetalleSolicitud(facultad, solicitudId);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(solicitud, response.getBody());
+        verify(decanoService, never()).consultarSolicitudesPorFacultad(any());
     }
 
     @Test
@@ -659,8 +708,8 @@ class DecanoControllerTest {
         String solicitudId = "SOL999";
         
         doNothing().when(decanoService).validarFacultad(facultad);
-        when(decanoService.consultarSolicitudesPorFacultad(Facultad.INGENIERIA_SISTEMAS))
-                .thenReturn(Arrays.asList());
+        when(decanoService.consultarSolicitudDeFacultad(solicitudId, Facultad.INGENIERIA_SISTEMAS))
+                .thenReturn(Optional.empty());
 
         ResponseEntity<Object> response = decanoController.consultarDetalleSolicitud(facultad, solicitudId);
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -896,7 +945,7 @@ class DecanoControllerTest {
     void testConsultarResumenSolicitudesPorFacultad_InternalServerError() throws SirhaException {
         String facultad = "INGENIERIA_SISTEMAS";
         doNothing().when(decanoService).validarFacultad(facultad);
-        when(decanoService.consultarSolicitudesPorFacultad(Facultad.INGENIERIA_SISTEMAS))
+        when(decanoService.contarSolicitudesPorEstado(Facultad.INGENIERIA_SISTEMAS))
                 .thenThrow(new RuntimeException("Error interno"));
 
         ResponseEntity<Object> response = decanoController.consultarResumenSolicitudesPorFacultad(facultad);
@@ -918,7 +967,7 @@ class DecanoControllerTest {
         String facultad = "INGENIERIA_SISTEMAS";
         String solicitudId = "SOL123";
         doNothing().when(decanoService).validarFacultad(facultad);
-        when(decanoService.consultarSolicitudesPorFacultad(Facultad.INGENIERIA_SISTEMAS))
+        when(decanoService.consultarSolicitudDeFacultad(solicitudId, Facultad.INGENIERIA_SISTEMAS))
                 .thenThrow(new RuntimeException("Error interno"));
 
         ResponseEntity<Object> response = decanoController.consultarDetalleSolicitud(facultad, solicitudId);
@@ -929,38 +978,33 @@ class DecanoControllerTest {
     void testConsultarResumenSolicitudesPorFacultad_EmptyList() throws SirhaException {
         String facultad = "INGENIERIA_SISTEMAS";
         doNothing().when(decanoService).validarFacultad(facultad);
-        when(decanoService.consultarSolicitudesPorFacultad(Facultad.INGENIERIA_SISTEMAS))
-                .thenReturn(Collections.emptyList());
+        when(decanoService.contarSolicitudesPorEstado(Facultad.INGENIERIA_SISTEMAS))
+                .thenReturn(new EnumMap<>(SolicitudEstado.class));
 
         ResponseEntity<Object> response = decanoController.consultarResumenSolicitudesPorFacultad(facultad);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         Map<String, Object> body = (Map<String, Object>) response.getBody();
-        assertEquals(0, body.get("totalSolicitudes"));
+        assertEquals(0L, body.get("totalSolicitudes"));
     }
 
     @Test
     void testConsultarResumenSolicitudesPorFacultad_WithMixedStates() throws SirhaException {
         String facultad = "INGENIERIA_SISTEMAS";
         
-        Solicitud sol1 = new Solicitud();
-        sol1.setEstado(SolicitudEstado.PENDIENTE);
-        
-        Solicitud sol2 = new Solicitud();
-        sol2.setEstado(SolicitudEstado.APROBADA);
-        
-        Solicitud sol3 = new Solicitud();
-        sol3.setEstado(SolicitudEstado.RECHAZADA);
-        
-        List<Solicitud> solicitudes = Arrays.asList(sol1, sol2, sol3);
+        Map<SolicitudEstado, Long> conteos = new EnumMap<>(SolicitudEstado.class);
+        conteos.put(SolicitudEstado.PENDIENTE, 1L);
+        conteos.put(SolicitudEstado.APROBADA, 1L);
+        conteos.put(SolicitudEstado.RECHAZADA, 1L);
+        conteos.put(SolicitudEstado.EN_REVISION, 2L);
         
         doNothing().when(decanoService).validarFacultad(facultad);
-        when(decanoService.consultarSolicitudesPorFacultad(Facultad.INGENIERIA_SISTEMAS))
-                .thenReturn(solicitudes);
+        when(decanoService.contarSolicitudesPorEstado(Facultad.INGENIERIA_SISTEMAS))
+                .thenReturn(conteos);
 
         ResponseEntity<Object> response = decanoController.consultarResumenSolicitudesPorFacultad(facultad);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         Map<String, Object> body = (Map<String, Object>) response.getBody();
-        assertEquals(3, body.get("totalSolicitudes"));
+        assertEquals(5L, body.get("totalSolicitudes"));
         
         Map<String, Long> resumen = (Map<String, Long>) body.get("resumen");
         assertEquals(1L, resumen.get("pendientes"));
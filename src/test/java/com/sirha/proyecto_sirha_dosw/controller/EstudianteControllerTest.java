@@ -13,6 +13,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -33,6 +34,9 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sirha.proyecto_sirha_dosw.dto.GeneracionHorarioDTO;
+import com.sirha.proyecto_sirha_dosw.dto.HorariosGeneradosDTO;
+import com.sirha.proyecto_sirha_dosw.dto.PaginaDTO;
 import com.sirha.proyecto_sirha_dosw.dto.SolicitudDTO;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.Dia;
@@ -40,12 +44,13 @@ import com.sirha.proyecto_sirha_dosw.model.Grupo;
 import com.sirha.proyecto_sirha_dosw.model.Horario;
 import com.sirha.proyecto_sirha_dosw.model.Materia;
 import com.sirha.proyecto_sirha_dosw.model.RegistroMaterias;
-import com.sirha.proyecto_sirha_dosw.model.PlazoSolicitudes;
 import com.sirha.proyecto_sirha_dosw.model.Semaforo;
 import com.sirha.proyecto_sirha_dosw.model.Solicitud;
 import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
 import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
 import com.sirha.proyecto_sirha_dosw.service.EstudianteService;
+import com.sirha.proyecto_sirha_dosw.service.GeneradorHorariosService;
+import com.sirha.proyecto_sirha_dosw.util.EscritorNdjson;
 
 /**
  * Clase de pruebas unitarias para EstudianteController.
@@ -58,6 +63,12 @@ class EstudianteControllerTest {
     @Mock
     private EstudianteService estudianteService;
 
+    @Mock
+    private GeneradorHorariosService generadorHorariosService;
+
+    @Mock
+    private EscritorNdjson escritorNdjson;
+
     @InjectMocks
     private EstudianteController estudianteController;
 
@@ -181,6 +192,56 @@ class EstudianteControllerTest {
         verify(estudianteService).consultarSemaforoAcademico(idEstudiante);
     }
 
+    // ========== PRUEBAS PARA GENERACIÓN DE HORARIOS ==========
+
+    @Test
+    @DisplayName("Debe generar horarios sin cruces exitosamente")
+    void testGenerarHorarios_Success() throws Exception {
+        // Given
+        String idEstudiante = "EST001";
+        HorariosGeneradosDTO generados = new HorariosGeneradosDTO();
+        generados.getCombinaciones().add(new HorariosGeneradosDTO.Combinacion(180, 1, List.of(
+                new HorariosGeneradosDTO.GrupoAsignado("G1", "CALC1", "Cálculo I", 4, List.of()))));
+        generados.setBusquedaCompleta(true);
+
+        when(generadorHorariosService.generarHorarios(any(String.class), any(GeneracionHorarioDTO.class)))
+            .thenReturn(generados);
+
+        // When & Then
+        mockMvc.perform(post("/api/estudiante/horarios/{idEstudiante}/generar", idEstudiante)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new GeneracionHorarioDTO(List.of("CALC1"), 3))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.combinaciones[0].minutosEnCampus").value(180))
+                .andExpect(jsonPath("$.combinaciones[0].grupos[0].grupoId").value("G1"))
+                .andExpect(jsonPath("$.busquedaCompleta").value(true));
+    }
+
+    @Test
+    @DisplayName("Debe retornar NOT_FOUND si el estudiante no existe al generar horarios")
+    void testGenerarHorarios_EstudianteNoEncontrado() throws Exception {
+        // Given
+        when(generadorHorariosService.generarHorarios(any(String.class), any(GeneracionHorarioDTO.class)))
+            .thenThrow(new SirhaException(SirhaException.ESTUDIANTE_NO_ENCONTRADO));
+
+        // When & Then
+        mockMvc.perform(post("/api/estudiante/horarios/{idEstudiante}/generar", "EST404")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new GeneracionHorarioDTO(List.of("CALC1"), null))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar la generación de horarios sin materias")
+    void testGenerarHorarios_SinMaterias() throws Exception {
+        mockMvc.perform(post("/api/estudiante/horarios/{idEstudiante}/generar", "EST001")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new GeneracionHorarioDTO(List.of(), null))))
+                .andExpect(status().isBadRequest());
+
+        verify(generadorHorariosService, never()).generarHorarios(any(String.class), any(GeneracionHorarioDTO.class));
+    }
+
     // ========== PRUEBAS PARA CREACIÓN DE SOLICITUDES ==========
 
     @Test
@@ -190,9 +251,6 @@ class EstudianteControllerTest {
         SolicitudDTO solicitudDTO = createValidSolicitudDTO();
         Solicitud solicitudCreada = createMockSolicitud();
         
-        // Mock PlazoSolicitudes to be in valid range
-        mockValidTimeRange();
-        
         when(estudianteService.crearSolicitud(any(SolicitudDTO.class)))
             .thenReturn(solicitudCreada);
 
@@ -213,17 +271,17 @@ class EstudianteControllerTest {
         SolicitudDTO solicitudDTO = createValidSolicitudDTO();
         solicitudDTO.setFechaSolicitud(LocalDate.now().minusDays(100)); // Fecha muy antigua
 
-        // Configurar un plazo que NO incluya la fecha de la solicitud
-        PlazoSolicitudes.INSTANCIA.setFechaInicio(LocalDate.now().minusDays(10));
-        PlazoSolicitudes.INSTANCIA.setFechaFin(LocalDate.now().minusDays(1));
+        // El plazo de la facultad de la materia NO incluye la fecha de la solicitud
+        when(estudianteService.crearSolicitud(any(SolicitudDTO.class)))
+            .thenThrow(new SirhaException(SirhaException.FUERA_DE_PLAZO_SOLICITUDES + "Plazo valido: "
+                    + LocalDate.now().minusDays(10) + " al " + LocalDate.now().minusDays(1)));
         
         // When & Then
         mockMvc.perform(post("/api/estudiante/solicitudes")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(solicitudDTO)))
-                .andExpect(status().isBadRequest());
-
-        verify(estudianteService, never()).crearSolicitud(any(SolicitudDTO.class));
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("fuera del plazo establecido")));
     }
 
     @Test
@@ -232,8 +290,6 @@ class EstudianteControllerTest {
         // Given
         SolicitudDTO solicitudDTO = createValidSolicitudDTO();
         
-        mockValidTimeRange();
-        
         when(estudianteService.crearSolicitud(any(SolicitudDTO.class)))
             .thenThrow(new SirhaException("Error al crear solicitud"));
 
@@ -413,6 +469,35 @@ class EstudianteControllerTest {
         verify(estudianteService).consultarTodasLasSolicitudes();
     }
 
+    @Test
+    @DisplayName("Debe consultar una página de todas las solicitudes")
+    void testConsultarPaginaSolicitudes_Success() throws Exception {
+        // Given
+        PaginaDTO<Solicitud> pagina = new PaginaDTO<>(List.of(createMockSolicitud()), "SOL001", 1);
+        when(estudianteService.consultarPaginaSolicitudes(null, 1)).thenReturn(pagina);
+
+        // When & Then
+        mockMvc.perform(get("/api/estudiante/solicitudes/todas/pagina").param("tamano", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.elementos.length()").value(1))
+                .andExpect(jsonPath("$.siguienteCursor").value("SOL001"));
+
+        verify(estudianteService).consultarPaginaSolicitudes(null, 1);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un tamaño de página inválido al consultar todas las solicitudes")
+    void testConsultarPaginaSolicitudes_TamanoInvalido() throws Exception {
+        // Given
+        when(estudianteService.consultarPaginaSolicitudes(null, 501))
+            .thenThrow(new SirhaException(SirhaException.TAMANO_PAGINA_INVALIDO + 500));
+
+        // When & Then
+        mockMvc.perform(get("/api/estudiante/solicitudes/todas/pagina").param("tamano", "501"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(SirhaException.TAMANO_PAGINA_INVALIDO + 500));
+    }
+
     @Test
     @DisplayName("Debe consultar solicitudes de estudiante por estado")
     void testConsultarSolicitudesEstudiantePorEstado_Success() throws Exception {
@@ -582,8 +667,6 @@ class EstudianteControllerTest {
         solicitudDTO.setFechaSolicitud(null); // Sin fecha proporcionada
         Solicitud solicitudCreada = createMockSolicitud();
         
-        mockValidTimeRange();
-        
         when(estudianteService.crearSolicitud(any(SolicitudDTO.class)))
             .thenReturn(solicitudCreada);
 
@@ -676,9 +759,6 @@ class EstudianteControllerTest {
         solicitudDTO.setFechaSolicitud(fechaEnPlazo);
         Solicitud solicitudCreada = createMockSolicitud();
         
-        PlazoSolicitudes.INSTANCIA.setFechaInicio(LocalDate.now().minusDays(10));
-        PlazoSolicitudes.INSTANCIA.setFechaFin(LocalDate.now().plusDays(10));
-        
         when(estudianteService.crearSolicitud(any(SolicitudDTO.class)))
             .thenReturn(solicitudCreada);
 
@@ -778,10 +858,4 @@ class EstudianteControllerTest {
         solicitud.setObservaciones("Solicitud de prueba");
         return solicitud;
     }
-
-    private void mockValidTimeRange() {
-        // Asegurar que la fecha actual esté dentro del plazo permitido
-        PlazoSolicitudes.INSTANCIA.setFechaInicio(LocalDate.now().minusDays(365));
-        PlazoSolicitudes.INSTANCIA.setFechaFin(LocalDate.now().plusDays(365));
-    }
 }
@@ -6,7 +6,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
@@ -22,25 +25,32 @@ import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.sirha.proyecto_sirha_dosw.dto.CapacidadGrupoDTO;
+import com.sirha.proyecto_sirha_dosw.dto.DisponibilidadGrupoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.GrupoDTO;
+import com.sirha.proyecto_sirha_dosw.dto.PaginaDTO;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.Dia;
 import com.sirha.proyecto_sirha_dosw.model.Grupo;
 import com.sirha.proyecto_sirha_dosw.model.Horario;
 import com.sirha.proyecto_sirha_dosw.model.Materia;
 import com.sirha.proyecto_sirha_dosw.service.GrupoService;
+import com.sirha.proyecto_sirha_dosw.service.ListaEsperaService;
+import com.sirha.proyecto_sirha_dosw.util.EscritorNdjson;
 
 /**
  * Clase de pruebas unitarias para GrupoController.
@@ -53,6 +63,12 @@ class GrupoControllerTest {
     @Mock
     private GrupoService grupoService;
 
+    @Mock
+    private ListaEsperaService listaEsperaService;
+
+    @Spy
+    private EscritorNdjson escritorNdjson = new EscritorNdjson(new ObjectMapper());
+
     @InjectMocks
     private GrupoController grupoController;
 
@@ -439,6 +455,55 @@ class GrupoControllerTest {
         verify(grupoService).obtenerCapacidadTodosLosGrupos();
     }
 
+    @Test
+    @DisplayName("Debe consultar una página de capacidades con su cursor")
+    void testConsultarPaginaCapacidadGrupos_Success() throws Exception {
+        // Given
+        PaginaDTO<CapacidadGrupoDTO> pagina = new PaginaDTO<>(
+            List.of(createMockCapacidadGrupoDTO("GRP001"), createMockCapacidadGrupoDTO("GRP002")), "GRP002", 2);
+        when(grupoService.obtenerPaginaCapacidadGrupos("GRP000", 2)).thenReturn(pagina);
+
+        // When & Then
+        mockMvc.perform(get("/api/grupos/capacidad/pagina").param("cursor", "GRP000").param("tamano", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.elementos.length()").value(2))
+                .andExpect(jsonPath("$.siguienteCursor").value("GRP002"))
+                .andExpect(jsonPath("$.tamano").value(2));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un tamaño de página inválido")
+    void testConsultarPaginaGrupos_TamanoInvalido() throws Exception {
+        // Given
+        when(grupoService.obtenerPaginaGrupos(null, 0))
+            .thenThrow(new SirhaException(SirhaException.TAMANO_PAGINA_INVALIDO + 500));
+
+        // When & Then
+        mockMvc.perform(get("/api/grupos/pagina").param("tamano", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Debe transmitir la capacidad de los grupos en NDJSON")
+    void testStreamCapacidadGrupos_Success() throws Exception {
+        // Given
+        when(grupoService.streamCapacidadGrupos()).thenAnswer(inv -> Stream.of(
+            createMockCapacidadGrupoDTO("GRP001"), createMockCapacidadGrupoDTO("GRP002")));
+
+        // When & Then
+        MvcResult resultado = mockMvc.perform(get("/api/grupos/capacidad/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String cuerpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lineas = cuerpo.split("\n");
+        assertEquals(2, lineas.length);
+        assertEquals("GRP002", objectMapper.readTree(lineas[1]).get("grupoId").asText());
+    }
+
     @Test
     @DisplayName("Debe consultar capacidad de grupos por materia exitosamente")
     void testConsultarCapacidadGruposPorMateria_Success() throws Exception {
@@ -541,6 +606,63 @@ class GrupoControllerTest {
         verify(grupoService).obtenerGruposConCapacidadPorProfesor(profesorId);
     }
 
+    // ========== PRUEBAS PARA LISTA DE ESPERA ==========
+
+    @Test
+    @DisplayName("Debe agregar al estudiante a la lista de espera y devolver su posición")
+    void testUnirseAListaEspera_Success() throws Exception {
+        // Given
+        DisponibilidadGrupoDTO disponibilidad = new DisponibilidadGrupoDTO();
+        disponibilidad.setGrupoId("GRP001");
+        disponibilidad.setTamanoListaEspera(3);
+        disponibilidad.setPosicionListaEspera(3);
+        when(listaEsperaService.unirseAListaEspera("GRP001", "EST001")).thenReturn(disponibilidad);
+
+        // When & Then
+        mockMvc.perform(post("/api/grupos/GRP001/lista-espera/EST001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posicionListaEspera").value(3))
+                .andExpect(jsonPath("$.tamanoListaEspera").value(3));
+    }
+
+    @Test
+    @DisplayName("Debe retornar conflicto si el grupo tiene cupos disponibles")
+    void testUnirseAListaEspera_GrupoConCupos() throws Exception {
+        // Given
+        when(listaEsperaService.unirseAListaEspera("GRP001", "EST001"))
+                .thenThrow(new SirhaException("El grupo tiene cupos disponibles"));
+
+        // When & Then
+        mockMvc.perform(post("/api/grupos/GRP001/lista-espera/EST001"))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("El grupo tiene cupos disponibles"));
+    }
+
+    @Test
+    @DisplayName("Debe retornar 404 al consultar un estudiante fuera de la lista de espera")
+    void testConsultarPosicionListaEspera_NotFound() throws Exception {
+        // Given
+        when(listaEsperaService.consultarPosicion("GRP001", "EST001"))
+                .thenThrow(new SirhaException("El estudiante no está en la lista de espera del grupo."));
+
+        // When & Then
+        mockMvc.perform(get("/api/grupos/GRP001/lista-espera/EST001"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Debe retirar al estudiante de la lista de espera")
+    void testSalirDeListaEspera_Success() throws Exception {
+        // Given
+        doNothing().when(listaEsperaService).salirDeListaEspera("GRP001", "EST001");
+
+        // When & Then
+        mockMvc.perform(delete("/api/grupos/GRP001/lista-espera/EST001"))
+                .andExpect(status().isNoContent());
+
+        verify(listaEsperaService).salirDeListaEspera("GRP001", "EST001");
+    }
+
     // ========== MÉTODOS AUXILIARES ==========
 
     private Grupo createMockGrupo(String id) {
@@ -24,6 +24,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sirha.proyecto_sirha_dosw.dto.CuboSolicitudesDTO;
 import com.sirha.proyecto_sirha_dosw.dto.EstadisticasGrupoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.IndicadoresAvanceDTO;
 import com.sirha.proyecto_sirha_dosw.dto.TasaAprobacionDTO;
@@ -239,6 +240,35 @@ class ReportesControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
+    @Test
+    @DisplayName("Debe obtener el cubo de solicitudes exitosamente")
+    void testObtenerCuboSolicitudes_Success() throws Exception {
+        // Given
+        CuboSolicitudesDTO cubo = new CuboSolicitudesDTO();
+        cubo.agregarCelda(new CuboSolicitudesDTO.Celda("INGENIERIA_SISTEMAS", "CAMBIO_GRUPO", "APROBADA", 7L));
+        cubo.agregarCelda(new CuboSolicitudesDTO.Celda("INGENIERIA_CIVIL", "INSCRIPCION_GRUPO", "PENDIENTE", 3L));
+        when(reportesService.obtenerCuboSolicitudes()).thenReturn(cubo);
+
+        // When & Then
+        mockMvc.perform(get("/api/reportes/cubo-solicitudes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSolicitudes").value(10))
+                .andExpect(jsonPath("$.celdas.length()").value(2))
+                .andExpect(jsonPath("$.celdas[0].estado").value("APROBADA"))
+                .andExpect(jsonPath("$.celdas[0].cantidad").value(7));
+    }
+
+    @Test
+    @DisplayName("Debe manejar error al obtener el cubo de solicitudes")
+    void testObtenerCuboSolicitudes_Error() throws Exception {
+        // Given
+        when(reportesService.obtenerCuboSolicitudes()).thenThrow(new RuntimeException("Error interno"));
+
+        // When & Then
+        mockMvc.perform(get("/api/reportes/cubo-solicitudes"))
+                .andExpect(status().isInternalServerError());
+    }
+
     @Test
     @DisplayName("Debe obtener tasas de aprobación por facultad exitosamente")
     void testObtenerTasasAprobacionPorFacultad_Success() throws Exception {
@@ -1,10 +1,17 @@
 package com.sirha.proyecto_sirha_dosw.controller;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,20 +21,37 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sirha.proyecto_sirha_dosw.dto.PaginaDTO;
+
+import com.sirha.proyecto_sirha_dosw.dto.ResultadoImportacionUsuariosDTO;
 import com.sirha.proyecto_sirha_dosw.dto.UsuarioDTO;
+import com.sirha.proyecto_sirha_dosw.dto.UsuarioResumenDTO;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+import com.sirha.proyecto_sirha_dosw.model.Profesor;
 import com.sirha.proyecto_sirha_dosw.model.Rol;
 import com.sirha.proyecto_sirha_dosw.model.Usuario;
+import com.sirha.proyecto_sirha_dosw.service.ImportacionUsuariosService;
 import com.sirha.proyecto_sirha_dosw.service.UsuarioService;
+import com.sirha.proyecto_sirha_dosw.util.EscritorNdjson;
 
 class UsuarioControllerTest {
 
     @Mock
     private UsuarioService usuarioService;
 
+    @Mock
+    private ImportacionUsuariosService importacionUsuariosService;
+
+    @Spy
+    private EscritorNdjson escritorNdjson = new EscritorNdjson(new ObjectMapper());
+
     @InjectMocks
     private UsuarioController usuarioController;
 
@@ -36,6 +60,69 @@ class UsuarioControllerTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    @Test
+    void testImportarUsuariosDevuelveElResultado() throws SirhaException {
+        InputStream entrada = new ByteArrayInputStream(new byte[0]);
+        ResultadoImportacionUsuariosDTO resultado = new ResultadoImportacionUsuariosDTO();
+        when(importacionUsuariosService.importar(entrada, "text/csv")).thenReturn(resultado);
+
+        ResponseEntity<Object> response = usuarioController.importarUsuarios("text/csv", entrada);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(resultado, response.getBody());
+    }
+
+    @Test
+    void testImportarUsuariosFormatoInvalido() throws SirhaException {
+        InputStream entrada = new ByteArrayInputStream(new byte[0]);
+        when(importacionUsuariosService.importar(entrada, "text/csv")).thenThrow(new SirhaException("Encabezado incompleto"));
+
+        ResponseEntity<Object> response = usuarioController.importarUsuarios("text/csv", entrada);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Encabezado incompleto", response.getBody());
+    }
+
+    @Test
+    void testListarPaginaUsuarios() throws SirhaException {
+        PaginaDTO<Usuario> pagina = new PaginaDTO<>(List.of(), null, 0);
+        when(usuarioService.obtenerPaginaUsuarios("id1", 20)).thenReturn(pagina);
+
+        ResponseEntity<Object> response = usuarioController.listarPaginaUsuarios("id1", 20);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(pagina, response.getBody());
+    }
+
+    @Test
+    void testListarPaginaUsuariosTamanoInvalido() throws SirhaException {
+        when(usuarioService.obtenerPaginaUsuarios(null, 1000))
+            .thenThrow(new SirhaException(SirhaException.TAMANO_PAGINA_INVALIDO + 500));
+
+        ResponseEntity<Object> response = usuarioController.listarPaginaUsuarios(null, 1000);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(SirhaException.TAMANO_PAGINA_INVALIDO + 500, response.getBody());
+    }
+
+    @Test
+    void testStreamUsuariosEscribeUnaLineaPorUsuario() throws IOException {
+        Usuario ana = new Profesor("Ana", "Ruiz", "ana@test.com", null, Rol.PROFESOR);
+        ana.setId("U1");
+        Usuario luis = new Profesor("Luis", "Gómez", "luis@test.com", null, Rol.PROFESOR);
+        luis.setId("U2");
+        when(usuarioService.streamUsuarios()).thenReturn(Stream.of(ana, luis));
+
+        ResponseEntity<StreamingResponseBody> response = usuarioController.streamUsuarios();
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        response.getBody().writeTo(salida);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lineas.length);
+        assertTrue(lineas[0].contains("\"id\":\"U1\""));
+        assertTrue(lineas[1].contains("\"email\":\"luis@test.com\""));
+    }
 
     @Test
     void testUpdateUsuarioNotFound() throws SirhaException {
@@ -98,13 +185,13 @@ class UsuarioControllerTest {
     void testObtenerPorRolNoContent() {
         when(usuarioService.obtenerPorRol(Rol.ESTUDIANTE)).thenReturn(Collections.emptyList());
 
-        ResponseEntity<List<Usuario>> response = usuarioController.obtenerPorRol("estudiante");
+        ResponseEntity<List<UsuarioResumenDTO>> response = usuarioController.obtenerPorRol("estudiante");
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
     }
 
     @Test
     void testObtenerPorRolInvalido() {
-        ResponseEntity<List<Usuario>> response = usuarioController.obtenerPorRol("invalido");
+        ResponseEntity<List<UsuarioResumenDTO>> response = usuarioController.obtenerPorRol("invalido");
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
     }
 
@@ -113,7 +200,7 @@ class UsuarioControllerTest {
     void testObtenerPorNombreNotFound() {
         when(usuarioService.obtenerPorNombre("Juan")).thenReturn(Collections.emptyList());
 
-        ResponseEntity<List<Usuario>> response = usuarioController.obtenerPorNombre("Juan");
+        ResponseEntity<List<UsuarioResumenDTO>> response = usuarioController.obtenerPorNombre("Juan");
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 
@@ -123,7 +210,7 @@ class UsuarioControllerTest {
     void testObtenerPorApellidoNotFound() {
         when(usuarioService.obtenerPorApellido("Perez")).thenReturn(Collections.emptyList());
 
-        ResponseEntity<List<Usuario>> response = usuarioController.obtenerPorApellido("Perez");
+        ResponseEntity<List<UsuarioResumenDTO>> response = usuarioController.obtenerPorApellido("Perez");
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 
@@ -133,7 +220,7 @@ class UsuarioControllerTest {
     void testObtenerPorNombreYApellidoNotFound() {
         when(usuarioService.obtenerPorNombreYApellido("Juan", "Perez")).thenReturn(Collections.emptyList());
 
-        ResponseEntity<List<Usuario>> response = usuarioController.obtenerPorNombreYApellido("Juan", "Perez");
+        ResponseEntity<List<UsuarioResumenDTO>> response = usuarioController.obtenerPorNombreYApellido("Juan", "Perez");
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 }
\ No newline at end of file
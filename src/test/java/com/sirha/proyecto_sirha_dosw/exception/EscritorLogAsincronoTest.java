@@ -0,0 +1,158 @@
+package com.sirha.proyecto_sirha_dosw.exception;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.SimpleFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del buffer circular y del escritor de log en segundo plano.
+ */
+class EscritorLogAsincronoTest {
+
+	@Test
+	void testBufferCircularRespetaOrdenYCapacidad() {
+		BufferCircular<Integer> buffer = new BufferCircular<>(4);
+		for (int i = 0; i < 4; i++) {
+			assertTrue(buffer.ofrecer(i));
+		}
+		assertFalse(buffer.ofrecer(99));
+		assertEquals(0, buffer.extraer());
+		assertTrue(buffer.ofrecer(4));
+		for (int i = 1; i <= 4; i++) {
+			assertEquals(i, buffer.extraer());
+		}
+		assertNull(buffer.extraer());
+		assertTrue(buffer.estaVacio());
+	}
+
+	@Test
+	void testBufferCircularRechazaCapacidadInvalida() {
+		assertThrows(IllegalArgumentException.class, () -> new BufferCircular<>(3));
+	}
+
+	@Test
+	void testEscribeTodosLosRegistrosDeVariosHilos() throws Exception {
+		HandlerEnMemoria handler = new HandlerEnMemoria();
+		EscritorLogAsincrono escritor = new EscritorLogAsincrono(handler, 8192, "log-prueba");
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int hilo = 0; hilo < 4; hilo++) {
+			int base = hilo * 1000;
+			executor.submit(() -> {
+				for (int i = 0; i < 1000; i++) {
+					escritor.registrar(new LogRecord(Level.SEVERE, String.valueOf(base + i)));
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		escritor.cerrar(5, TimeUnit.SECONDS);
+
+		assertEquals(0, escritor.descartados());
+		assertEquals(4000, handler.mensajes.size());
+		assertEquals(4000, handler.mensajes.stream().distinct().count());
+		assertTrue(handler.cerrado);
+	}
+
+	@Test
+	void testDescartaYCuentaCuandoElBufferEstaLleno() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		HandlerEnMemoria handler = new HandlerEnMemoria() {
+			@Override
+			public void publish(LogRecord registro) {
+				try {
+					liberar.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.publish(registro);
+			}
+		};
+		EscritorLogAsincrono escritor = new EscritorLogAsincrono(handler, 4, "log-prueba");
+
+		int aceptados = 0;
+		for (int i = 0; i < 20; i++) {
+			if (escritor.registrar(new LogRecord(Level.SEVERE, "registro " + i))) {
+				aceptados++;
+			}
+		}
+		liberar.countDown();
+		escritor.cerrar(5, TimeUnit.SECONDS);
+
+		assertTrue(aceptados <= 5);
+		assertEquals(20 - aceptados, escritor.descartados());
+		assertTrue(handler.mensajes.stream().anyMatch(m -> m.startsWith("Se descartaron")));
+	}
+
+	@Test
+	void testErroresDelHandlerNoDetienenElEscritor() {
+		HandlerEnMemoria handler = new HandlerEnMemoria() {
+			@Override
+			public void publish(LogRecord registro) {
+				if (registro.getMessage().equals("falla")) {
+					throw new IllegalStateException("disco lleno");
+				}
+				super.publish(registro);
+			}
+		};
+		EscritorLogAsincrono escritor = new EscritorLogAsincrono(handler, 16, "log-prueba");
+
+		escritor.registrar(new LogRecord(Level.SEVERE, "falla"));
+		escritor.registrar(new LogRecord(Level.SEVERE, "ok"));
+		escritor.cerrar(5, TimeUnit.SECONDS);
+
+		assertEquals(1, escritor.fallos());
+		assertEquals(List.of("ok"), handler.mensajes);
+	}
+
+	@Test
+	void testRotaArchivosPorTamano(@TempDir Path directorio) throws Exception {
+		FileHandler archivo = new FileHandler(directorio.resolve("prueba.log").toString(), 2_000, 3, true);
+		archivo.setFormatter(new SimpleFormatter());
+		EscritorLogAsincrono escritor = new EscritorLogAsincrono(archivo, 256, "log-prueba");
+		for (int i = 0; i < 100; i++) {
+			escritor.registrar(new LogRecord(Level.SEVERE, "registro de prueba número " + i));
+		}
+		escritor.cerrar(5, TimeUnit.SECONDS);
+
+		File[] archivos = directorio.toFile().listFiles((dir, nombre) -> nombre.matches("prueba\\.log\\.\\d"));
+		assertNotNull(archivos);
+		assertEquals(3, archivos.length);
+	}
+
+	private static class HandlerEnMemoria extends Handler {
+		final List<String> mensajes = Collections.synchronizedList(new ArrayList<>());
+		volatile boolean cerrado;
+
+		@Override
+		public void publish(LogRecord registro) {
+			mensajes.add(registro.getMessage());
+		}
+
+		@Override
+		public void flush() {
+			// Nada que vaciar
+		}
+
+		@Override
+		public void close() {
+			cerrado = true;
+		}
+	}
+}
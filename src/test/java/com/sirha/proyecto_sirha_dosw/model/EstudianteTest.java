@@ -1,5 +1,6 @@
 package com.sirha.proyecto_sirha_dosw.model;
 
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -468,4 +469,43 @@ class EstudianteTest {
         assertEquals(registrosIniciales - 1, semestre2.getRegistros().size());
         assertEquals(2, semestre1.getRegistros().size()); // semestre1 no debe cambiar
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBuscarCruceDeHorarioConFranjasOcupadas() {
+        grupo1.setHorarios(List.of(horario(Dia.LUNES, "07:00", "08:30")));
+        grupo2.setHorarios(List.of(horario(Dia.MIERCOLES, "10:00", "11:30")));
+        estudiante.setSemestres(new ArrayList<>(List.of(semestre1)));
+        Grupo destino = new Grupo(materia3, 20, List.of(horario(Dia.MIERCOLES, "11:00", "12:30")));
+        destino.setId("destino");
+
+        assertEquals(grupo2, estudiante.buscarCruceDeHorario(destino, null));
+        assertNull(estudiante.buscarCruceDeHorario(destino, grupo2));
+        assertEquals(12, estudiante.getFranjasOcupadas().cantidadFranjas());
+    }
+
+    @Test
+    void testFranjasOcupadasSeMantienenAlInscribirYRetirar() {
+        grupo1.setHorarios(List.of(horario(Dia.LUNES, "07:00", "08:30")));
+        grupo3.setHorarios(List.of(horario(Dia.VIERNES, "14:00", "15:30")));
+        estudiante.setSemestres(new ArrayList<>(List.of(semestre2)));
+        assertEquals(6, estudiante.getFranjasOcupadas().cantidadFranjas());
+
+        estudiante.addGrupo(grupo3);
+        assertEquals(12, estudiante.getFranjasOcupadas().cantidadFranjas());
+        Grupo viernes = new Grupo(materia2, 10, List.of(horario(Dia.VIERNES, "15:00", "16:00")));
+        viernes.setId("viernes");
+        assertEquals(grupo3, estudiante.buscarCruceDeHorario(viernes, null));
+
+        estudiante.removeGrupo(grupo3);
+        assertEquals(6, estudiante.getFranjasOcupadas().cantidadFranjas());
+        assertNull(estudiante.buscarCruceDeHorario(viernes, null));
+    }
+
+    private static Horario horario(Dia dia, String inicio, String fin) {
+        Horario horario = new Horario();
+        horario.setDia(dia);
+        horario.setHoraInicio(LocalTime.parse(inicio));
+        horario.setHoraFin(LocalTime.parse(fin));
+        return horario;
+    }
+}
@@ -0,0 +1,116 @@
+package com.sirha.proyecto_sirha_dosw.model;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class FranjasHorarioTest {
+
+    @Test
+    void testCuentaFranjasDeQuinceMinutos() {
+        FranjasHorario franjas = FranjasHorario.de(List.of(horario(Dia.LUNES, "07:00", "08:30")));
+        assertEquals(6, franjas.cantidadFranjas());
+        assertTrue(franjas.esExacta());
+    }
+
+    @Test
+    void testHorariosContiguosNoSeCruzan() {
+        FranjasHorario primero = FranjasHorario.de(List.of(horario(Dia.MARTES, "07:00", "08:30")));
+        FranjasHorario segundo = FranjasHorario.de(List.of(horario(Dia.MARTES, "08:30", "10:00")));
+        assertFalse(primero.seCruzaCon(segundo));
+    }
+
+    @Test
+    void testMismoHorarioEnDistintoDiaNoSeCruza() {
+        FranjasHorario lunes = FranjasHorario.de(List.of(horario(Dia.LUNES, "10:00", "11:30")));
+        FranjasHorario sabado = FranjasHorario.de(List.of(horario(Dia.SABADO, "10:00", "11:30")));
+        assertFalse(lunes.seCruzaCon(sabado));
+        assertEquals(12, lunes.unir(sabado).cantidadFranjas());
+    }
+
+    @Test
+    void testFranjasQueCruzanLimiteDePalabra() {
+        // 16:00 del lunes es la franja 64, justo al inicio de la segunda palabra
+        FranjasHorario franjas = FranjasHorario.de(List.of(horario(Dia.LUNES, "15:30", "16:30")));
+        assertEquals(4, franjas.cantidadFranjas());
+        assertTrue(franjas.seCruzaCon(FranjasHorario.de(List.of(horario(Dia.LUNES, "15:45", "16:00")))));
+        assertTrue(franjas.seCruzaCon(FranjasHorario.de(List.of(horario(Dia.LUNES, "16:15", "17:00")))));
+    }
+
+    @Test
+    void testHorarioNoAlineadoSeRedondeaYNoEsExacto() {
+        FranjasHorario franjas = FranjasHorario.de(List.of(horario(Dia.JUEVES, "07:10", "08:20")));
+        assertFalse(franjas.esExacta());
+        assertEquals(6, franjas.cantidadFranjas());
+    }
+
+    @Test
+    void testHorariosVaciosONulos() {
+        assertEquals(FranjasHorario.VACIA, FranjasHorario.de(null));
+        assertEquals(FranjasHorario.VACIA, FranjasHorario.de(new ArrayList<>()));
+        List<Horario> incompletos = new ArrayList<>();
+        incompletos.add(null);
+        incompletos.add(new Horario());
+        assertFalse(FranjasHorario.de(incompletos).esExacta());
+        assertEquals(0, FranjasHorario.de(incompletos).cantidadFranjas());
+    }
+
+    @Test
+    void testFranjasEnCampusIncluyeHuecosPorDia() {
+        FranjasHorario franjas = FranjasHorario.de(List.of(
+                horario(Dia.LUNES, "07:00", "08:30"),
+                horario(Dia.LUNES, "11:30", "13:00"),
+                horario(Dia.MIERCOLES, "15:30", "16:30")));
+        // Lunes de 07:00 a 13:00 (24 franjas) y miércoles de 15:30 a 16:30, cruzando el límite de palabra
+        assertEquals(28, franjas.franjasEnCampus());
+        assertEquals(2, franjas.diasConClase());
+        assertEquals(0, FranjasHorario.VACIA.franjasEnCampus());
+        assertEquals(0, FranjasHorario.VACIA.diasConClase());
+    }
+
+    @Test
+    void testFranjasEnCampusEnLimitesDelDia() {
+        FranjasHorario franjas = FranjasHorario.de(List.of(
+                horario(Dia.SABADO, "00:00", "00:15"),
+                horario(Dia.SABADO, "23:45", "23:59")));
+        assertEquals(96, franjas.franjasEnCampus());
+        assertEquals(1, franjas.diasConClase());
+    }
+
+    @Test
+    void testCoincideConLaComparacionDeHorariosAleatorios() {
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            Horario a = horarioAleatorio(random);
+            Horario b = horarioAleatorio(random);
+            boolean esperado = a.tieneCruceConHorario(b);
+            assertEquals(esperado, FranjasHorario.de(List.of(a)).seCruzaCon(FranjasHorario.de(List.of(b))),
+                    a.getDia() + " " + a.getHoraInicio() + "-" + a.getHoraFin() + " / "
+                            + b.getDia() + " " + b.getHoraInicio() + "-" + b.getHoraFin());
+        }
+    }
+
+    private static Horario horarioAleatorio(Random random) {
+        int inicio = 6 * 4 + random.nextInt(14 * 4);
+        int fin = inicio + 2 + random.nextInt(8);
+        Horario horario = new Horario();
+        horario.setDia(Dia.values()[random.nextInt(2)]);
+        horario.setHoraInicio(LocalTime.of(inicio / 4, inicio % 4 * 15));
+        horario.setHoraFin(LocalTime.of(fin / 4, fin % 4 * 15));
+        return horario;
+    }
+
+    private static Horario horario(Dia dia, String inicio, String fin) {
+        Horario horario = new Horario();
+        horario.setDia(dia);
+        horario.setHoraInicio(LocalTime.parse(inicio));
+        horario.setHoraFin(LocalTime.parse(fin));
+        return horario;
+    }
+}
@@ -6,6 +6,7 @@ import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -76,6 +77,27 @@ class GrupoTest {
         assertEquals(29, grupo.getCantidadInscritos());
     }
 
+    @Test
+    void testRemoveEstudianteCedeElCupoAlPrimeroDeLaListaDeEspera() {
+        for (int i = 1; i <= 30; i++) {
+            grupo.addEstudiante("est" + i);
+        }
+        java.time.LocalDateTime ahora = java.time.LocalDateTime.now();
+        grupo.getListaEspera().add(new EntradaListaEspera("espera2", null, 5, ahora));
+        grupo.getListaEspera().add(new EntradaListaEspera("espera1", null, 5, ahora.minusMinutes(1)));
+        assertEquals(2, grupo.posicionEnListaEspera("espera2"));
+
+        EntradaListaEspera promovida = grupo.removeEstudiante("est1");
+
+        assertEquals("espera1", promovida.getEstudianteId());
+        assertEquals(30, grupo.getCantidadInscritos());
+        assertTrue(grupo.isEstaCompleto());
+        assertTrue(grupo.getEstudiantesId().contains("espera1"));
+        assertEquals(1, grupo.posicionEnListaEspera("espera2"));
+        assertEquals(0, grupo.posicionEnListaEspera("espera1"));
+        assertNull(grupo.removeEstudiante("noInscrito"));
+    }
+
     @Test
     void testSettersYGetters() {
         grupo.setCapacidad(40);
@@ -135,4 +157,35 @@ class GrupoTest {
         Grupo grupoConHorariosVacios = new Grupo(materia, 10, Collections.emptyList());
         assertFalse(grupo.tieneCruceDeHorario(grupoConHorariosVacios));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTieneCruceDeHorarioConHorariosNoAlineados() {
+        Horario antes = new Horario();
+        antes.setDia(Dia.LUNES);
+        antes.setHoraInicio(LocalTime.parse("10:00"));
+        antes.setHoraFin(LocalTime.parse("10:20"));
+        Horario despues = new Horario();
+        despues.setDia(Dia.LUNES);
+        despues.setHoraInicio(LocalTime.parse("10:20"));
+        despues.setHoraFin(LocalTime.parse("11:00"));
+
+        Grupo grupoAntes = new Grupo(materia, 20, Arrays.asList(antes));
+        Grupo grupoDespues = new Grupo(materia, 20, Arrays.asList(despues));
+        // Comparten la franja 10:15-10:30 pero los horarios no se superponen
+        assertTrue(grupoAntes.getFranjasHorario().seCruzaCon(grupoDespues.getFranjasHorario()));
+        assertFalse(grupoAntes.tieneCruceDeHorario(grupoDespues));
+    }
+
+    @Test
+    void testSetHorariosRecalculaLasFranjas() {
+        assertEquals(8, grupo.getFranjasHorario().cantidadFranjas());
+        Horario corto = new Horario();
+        corto.setDia(Dia.MARTES);
+        corto.setHoraInicio(LocalTime.parse("08:00"));
+        corto.setHoraFin(LocalTime.parse("08:30"));
+
+        grupo.setHorarios(Arrays.asList(corto));
+
+        assertEquals(2, grupo.getFranjasHorario().cantidadFranjas());
+    }
+}
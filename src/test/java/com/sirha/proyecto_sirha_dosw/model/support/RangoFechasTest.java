@@ -0,0 +1,38 @@
+package com.sirha.proyecto_sirha_dosw.model.support;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class RangoFechasTest {
+
+    private final RangoFechas rango = new RangoFechas(LocalDate.of(2025, 7, 11), LocalDate.of(2025, 12, 17));
+
+    @Test
+    void testEstaEnPlazoIncluyeAmbosExtremos() {
+        assertTrue(rango.estaEnPlazo(LocalDate.of(2025, 7, 11)));
+        assertTrue(rango.estaEnPlazo(LocalDate.of(2025, 10, 1)));
+        assertTrue(rango.estaEnPlazo(LocalDate.of(2025, 12, 17)));
+    }
+
+    @Test
+    void testEstaEnPlazoFueraDelRango() {
+        assertFalse(rango.estaEnPlazo(LocalDate.of(2025, 7, 10)));
+        assertFalse(rango.estaEnPlazo(LocalDate.of(2025, 12, 18)));
+    }
+
+    @Test
+    void testEstaDentroDe() {
+        assertTrue(new RangoFechas(LocalDate.of(2025, 7, 11), LocalDate.of(2025, 7, 20)).estaDentroDe(rango));
+        assertFalse(new RangoFechas(LocalDate.of(2025, 12, 1), LocalDate.of(2025, 12, 31)).estaDentroDe(rango));
+    }
+
+    @Test
+    void testRechazaFechasNulas() {
+        assertThrows(NullPointerException.class, () -> new RangoFechas(null, LocalDate.of(2025, 12, 17)));
+        assertThrows(NullPointerException.class, () -> rango.estaEnPlazo(null));
+    }
+}
@@ -0,0 +1,152 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sirha.proyecto_sirha_dosw.model.ContadorSolicitudes;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepositoryCustom.ConteoSolicitudes;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@link ContadorSolicitudesRepositoryCustomImpl} contra un servidor MongoDB en memoria.
+ */
+class ContadorSolicitudesRepositoryTest {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private ContadorSolicitudesRepositoryCustomImpl repository;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		client = MongoClients.create(server.bindAndGetConnectionString());
+		mongoTemplate = new MongoTemplate(client, "sirha-test");
+		repository = new ContadorSolicitudesRepositoryCustomImpl(mongoTemplate);
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void testCreacionYTransicionActualizanUnSoloDocumento() {
+		repository.registrarCreacion(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE);
+		repository.registrarCreacion(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE);
+		repository.registrarTransicion(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO,
+				SolicitudEstado.PENDIENTE, SolicitudEstado.APROBADA);
+
+		List<ContadorSolicitudes> contadores = mongoTemplate.findAll(ContadorSolicitudes.class);
+		assertEquals(1, contadores.size());
+		ContadorSolicitudes contador = contadores.get(0);
+		assertEquals("INGENIERIA_SISTEMAS:CAMBIO_GRUPO", contador.getId());
+		assertEquals(Facultad.INGENIERIA_SISTEMAS, contador.getFacultad());
+		assertEquals(TipoSolicitud.CAMBIO_GRUPO, contador.getTipoSolicitud());
+		assertEquals(1, contador.cantidad(SolicitudEstado.PENDIENTE));
+		assertEquals(1, contador.cantidad(SolicitudEstado.APROBADA));
+		assertEquals(0, contador.cantidad(SolicitudEstado.RECHAZADA));
+	}
+
+	@Test
+	void testObtenerConteosFiltraYOmiteCeros() {
+		repository.registrarCreacion(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE);
+		repository.registrarTransicion(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO,
+				SolicitudEstado.PENDIENTE, SolicitudEstado.RECHAZADA);
+		repository.registrarCreacion(Facultad.INGENIERIA_CIVIL, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE);
+		repository.registrarCreacion(Facultad.INGENIERIA_CIVIL, TipoSolicitud.INSCRIPCION_GRUPO, SolicitudEstado.PENDIENTE);
+
+		assertEquals(Set.of(
+				new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.RECHAZADA, 1),
+				new ConteoSolicitudes(Facultad.INGENIERIA_CIVIL, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 1)),
+				new HashSet<>(repository.obtenerConteos(null, TipoSolicitud.CAMBIO_GRUPO)));
+		assertEquals(2, repository.obtenerConteos(Facultad.INGENIERIA_CIVIL, null).size());
+		assertEquals(1, repository.obtenerConteos(Facultad.INGENIERIA_CIVIL, TipoSolicitud.INSCRIPCION_GRUPO).size());
+		assertEquals(4 - 1, repository.obtenerConteos(null, null).size());
+	}
+
+	@Test
+	void testAjustarAplicaDiferenciasPorEstado() {
+		Map<SolicitudEstado, Long> diferencias = new EnumMap<>(SolicitudEstado.class);
+		diferencias.put(SolicitudEstado.APROBADA, 5L);
+		diferencias.put(SolicitudEstado.PENDIENTE, -2L);
+		repository.ajustar(Facultad.ADMINISTRACION, TipoSolicitud.CANCELACION_GRUPO, diferencias);
+
+		ContadorSolicitudes contador = mongoTemplate.findById("ADMINISTRACION:CANCELACION_GRUPO", ContadorSolicitudes.class);
+		assertNotNull(contador);
+		assertEquals(5, contador.cantidad(SolicitudEstado.APROBADA));
+		assertEquals(-2, contador.cantidad(SolicitudEstado.PENDIENTE));
+	}
+
+	@Test
+	void testCorregirSoloAplicaSiElContadorConservaElValorLeido() {
+		for (int i = 0; i < 4; i++) {
+			repository.registrarCreacion(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE);
+		}
+
+		assertTrue(repository.corregir(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO,
+				SolicitudEstado.PENDIENTE, 4, 3));
+		// Una segunda instancia que leyó el mismo valor no vuelve a restar
+		assertFalse(repository.corregir(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO,
+				SolicitudEstado.PENDIENTE, 4, 3));
+
+		ContadorSolicitudes contador = mongoTemplate.findById("INGENIERIA_SISTEMAS:CAMBIO_GRUPO", ContadorSolicitudes.class);
+		assertEquals(3, contador.cantidad(SolicitudEstado.PENDIENTE));
+	}
+
+	@Test
+	void testCorregirContadorEnCeroCreaElDocumento() {
+		assertTrue(repository.corregir(Facultad.ADMINISTRACION, TipoSolicitud.INSCRIPCION_GRUPO,
+				SolicitudEstado.APROBADA, 0, 2));
+		assertFalse(repository.corregir(Facultad.ADMINISTRACION, TipoSolicitud.INSCRIPCION_GRUPO,
+				SolicitudEstado.APROBADA, 0, 2));
+		assertTrue(repository.corregir(Facultad.ADMINISTRACION, TipoSolicitud.INSCRIPCION_GRUPO,
+				SolicitudEstado.RECHAZADA, 0, 1));
+
+		ContadorSolicitudes contador = mongoTemplate.findById("ADMINISTRACION:INSCRIPCION_GRUPO", ContadorSolicitudes.class);
+		assertEquals(Facultad.ADMINISTRACION, contador.getFacultad());
+		assertEquals(2, contador.cantidad(SolicitudEstado.APROBADA));
+		assertEquals(1, contador.cantidad(SolicitudEstado.RECHAZADA));
+	}
+
+	@Test
+	void testCreacionesConcurrentesNoPierdenIncrementos() throws Exception {
+		repository.registrarCreacion(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE);
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		try {
+			List<Future<?>> tareas = new ArrayList<>();
+			for (int i = 0; i < 200; i++) {
+				tareas.add(executor.submit(() -> repository.registrarCreacion(Facultad.INGENIERIA_SISTEMAS,
+						TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE)));
+			}
+			for (Future<?> tarea : tareas) {
+				tarea.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		ContadorSolicitudes contador = mongoTemplate.findById("INGENIERIA_SISTEMAS:CAMBIO_GRUPO", ContadorSolicitudes.class);
+		assertEquals(201, contador.cantidad(SolicitudEstado.PENDIENTE));
+	}
+}
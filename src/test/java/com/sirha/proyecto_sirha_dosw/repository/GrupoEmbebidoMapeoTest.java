@@ -0,0 +1,164 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sirha.proyecto_sirha_dosw.config.MigracionGruposEmbebidos;
+import com.sirha.proyecto_sirha_dosw.model.*;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Verifica que los grupos embebidos en estudiantes y solicitudes se almacenan como
+ *          proyección y que la migración limpia los documentos con el formato anterior.
+ */
+class GrupoEmbebidoMapeoTest {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private Grupo grupo;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		client = MongoClients.create(server.bindAndGetConnectionString());
+		mongoTemplate = new MongoTemplate(client, "sirha-test");
+
+		Horario horario = new Horario();
+		horario.setDia(Dia.LUNES);
+		horario.setHoraInicio(LocalTime.of(7, 0));
+		horario.setHoraFin(LocalTime.of(8, 30));
+		grupo = new Grupo(new Materia("Arquitectura", "ARQ101", 3, Facultad.INGENIERIA_SISTEMAS),
+				30, new ArrayList<>(List.of(horario)));
+		grupo.setId("G1");
+		grupo.setEstudiantesId(new ArrayList<>(List.of("E1", "E2")));
+		grupo.setCantidadInscritos(2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void testEstudianteSoloAlmacenaProyeccionDelGrupo() {
+		Estudiante estudiante = estudianteCon(grupo);
+		mongoTemplate.save(estudiante);
+
+		Document grupoGuardado = primerGrupoEmbebido(mongoTemplate.getCollection("usuarios").find().first());
+		assertEquals("G1", grupoGuardado.get("_id"));
+		assertNotNull(grupoGuardado.get("materia"));
+		assertNotNull(grupoGuardado.get("horarios"));
+		for (String campo : List.of("estudiantesId", "capacidad", "cantidadInscritos", "estaCompleto", "profesor")) {
+			assertFalse(grupoGuardado.containsKey(campo), campo);
+		}
+
+		Estudiante leido = mongoTemplate.findById("E1", Estudiante.class);
+		Grupo grupoLeido = leido.getGrupos().get(0);
+		assertEquals("G1", grupoLeido.getId());
+		assertEquals("ARQ101", grupoLeido.getMateria().getAcronimo());
+		assertEquals(1, grupoLeido.getHorarios().size());
+	}
+
+	@Test
+	void testSolicitudSoloAlmacenaProyeccionYSeResuelveEnLote() {
+		mongoTemplate.save(grupo);
+		Solicitud solicitud = new Solicitud();
+		solicitud.setId("S1");
+		solicitud.setGrupoProblema(grupo);
+		solicitud.setGrupoDestino(grupo);
+		mongoTemplate.save(solicitud);
+
+		Document guardada = mongoTemplate.getCollection("solicitudes").find().first();
+		assertFalse(((Document) guardada.get("grupoDestino")).containsKey("estudiantesId"));
+
+		Solicitud leida = mongoTemplate.findById("S1", Solicitud.class);
+		assertEquals("G1", leida.getGrupoDestinoId());
+		assertEquals(0, leida.getGrupoDestino().getCantidadInscritos());
+
+		Grupo completo = mongoTemplate.findById("G1", Grupo.class);
+		leida.resolverGrupos(completo, completo);
+		assertEquals(2, leida.getGrupoDestino().getCantidadInscritos());
+		assertEquals(2, leida.getGrupoProblema().getEstudiantesId().size());
+	}
+
+	@Test
+	void testSerializacionJsonExponeLaProyeccion() throws Exception {
+		Solicitud solicitud = new Solicitud();
+		solicitud.setGrupoDestino(grupo);
+		ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+		JsonNode json = mapper.valueToTree(solicitud);
+		assertEquals("G1", json.get("grupoDestino").get("id").asText());
+		assertNull(json.get("grupoDestino").get("estudiantesId"));
+		assertNull(json.get("grupoDestinoResumen"));
+
+		JsonNode registro = mapper.valueToTree(new RegistroMaterias(grupo));
+		assertEquals("ARQ101", registro.get("grupo").get("materia").get("acronimo").asText());
+		assertNull(registro.get("grupoResumen"));
+	}
+
+	@Test
+	void testMigracionEliminaCamposDeDocumentosAnteriores() {
+		Document grupoAnterior = new Document("_id", "G1")
+				.append("materia", new Document("nombre", "Arquitectura"))
+				.append("horarios", List.of())
+				.append("capacidad", 30)
+				.append("cantidadInscritos", 2)
+				.append("estaCompleto", false)
+				.append("estudiantesId", List.of("E1", "E2"));
+		mongoTemplate.getCollection("usuarios").insertOne(new Document("_id", "E1")
+				.append("_class", "estudiante")
+				.append("semestres", List.of(new Document("numero", 1)
+						.append("registros", List.of(new Document("estado", "AZUL").append("grupo", grupoAnterior))))));
+		mongoTemplate.getCollection("solicitudes").insertOne(new Document("_id", "S1")
+				.append("grupoProblema", grupoAnterior)
+				.append("grupoDestino", grupoAnterior));
+
+		MigracionGruposEmbebidos migracion = new MigracionGruposEmbebidos(mongoTemplate);
+		assertEquals(3, migracion.migrar());
+		assertEquals(0, migracion.migrar());
+
+		Document grupoMigrado = primerGrupoEmbebido(mongoTemplate.getCollection("usuarios").find().first());
+		assertEquals(List.of("_id", "materia", "horarios"), new ArrayList<>(grupoMigrado.keySet()));
+		Document solicitud = mongoTemplate.getCollection("solicitudes").find().first();
+		assertFalse(((Document) solicitud.get("grupoProblema")).containsKey("capacidad"));
+		assertFalse(((Document) solicitud.get("grupoDestino")).containsKey("estudiantesId"));
+
+		Estudiante leido = mongoTemplate.findById("E1", Estudiante.class);
+		assertEquals("G1", leido.getGrupos().get(0).getId());
+	}
+
+	private Estudiante estudianteCon(Grupo grupoInscrito) {
+		Estudiante estudiante = new Estudiante("Carlos", "Lopez", "carlos@test.com", "pass", Rol.ESTUDIANTE,
+				Facultad.INGENIERIA_SISTEMAS);
+		estudiante.setId("E1");
+		Semestre semestre = new Semestre();
+		semestre.setNumero(1);
+		semestre.addRegistro(new RegistroMaterias(grupoInscrito));
+		estudiante.setSemestres(new ArrayList<>(List.of(semestre)));
+		return estudiante;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Document primerGrupoEmbebido(Document estudiante) {
+		Document semestre = ((List<Document>) estudiante.get("semestres")).get(0);
+		Document registro = ((List<Document>) semestre.get("registros")).get(0);
+		return (Document) registro.get("grupo");
+	}
+}
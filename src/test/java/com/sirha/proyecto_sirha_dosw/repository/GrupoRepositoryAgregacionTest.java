@@ -0,0 +1,81 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.Materia;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepositoryCustom.OcupacionFacultad;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de las agregaciones de {@link GrupoRepositoryCustomImpl} contra un servidor
+ *          MongoDB en memoria.
+ */
+class GrupoRepositoryAgregacionTest {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private GrupoRepositoryCustomImpl repository;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		client = MongoClients.create(server.bindAndGetConnectionString());
+		mongoTemplate = new MongoTemplate(client, "sirha-test");
+		repository = new GrupoRepositoryCustomImpl(mongoTemplate);
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void testOcupacionPorFacultadSumaCapacidadEInscritos() {
+		guardar("G1", Facultad.INGENIERIA_SISTEMAS, 30, 30);
+		guardar("G2", Facultad.INGENIERIA_SISTEMAS, 20, 5);
+		guardar("G3", Facultad.INGENIERIA_CIVIL, 25, 10);
+
+		assertEquals(Set.of(
+				new OcupacionFacultad(Facultad.INGENIERIA_SISTEMAS, 2, 50, 35),
+				new OcupacionFacultad(Facultad.INGENIERIA_CIVIL, 1, 25, 10)),
+				new HashSet<>(repository.ocupacionPorFacultad()));
+	}
+
+	@Test
+	void testOcupacionPorFacultadIgnoraGruposSinMateria() {
+		Grupo sinMateria = new Grupo();
+		sinMateria.setId("G0");
+		sinMateria.setCapacidad(40);
+		mongoTemplate.insert(sinMateria);
+
+		assertTrue(repository.ocupacionPorFacultad().isEmpty());
+	}
+
+	private void guardar(String id, Facultad facultad, int capacidad, int inscritos) {
+		Grupo grupo = new Grupo(new Materia("Materia " + id, "MAT" + id, 3, facultad), capacidad, new ArrayList<>());
+		grupo.setId(id);
+		List<String> estudiantes = new ArrayList<>();
+		for (int i = 0; i < inscritos; i++) {
+			estudiantes.add(id + "-E" + i);
+		}
+		grupo.setEstudiantesId(estudiantes);
+		grupo.setCantidadInscritos(inscritos);
+		mongoTemplate.insert(grupo);
+	}
+}
@@ -0,0 +1,421 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sirha.proyecto_sirha_dosw.model.EntradaListaEspera;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.Materia;
+import com.sirha.proyecto_sirha_dosw.model.Profesor;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepositoryCustom.CambiosGrupo;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de concurrencia de la reserva atómica de cupos y de la lista de espera
+ *          contra un servidor MongoDB en memoria.
+ */
+class GrupoRepositoryConcurrenciaTest {
+
+	private static final int CAPACIDAD = 50;
+	private static final int ESTUDIANTES = 400;
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private GrupoRepositoryCustomImpl repository;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		client = MongoClients.create(server.bindAndGetConnectionString());
+		mongoTemplate = new MongoTemplate(client, "sirha-test");
+		repository = new GrupoRepositoryCustomImpl(mongoTemplate);
+		Grupo grupo = new Grupo(new Materia("Arquitectura", "ARQ101", 3, Facultad.INGENIERIA_SISTEMAS),
+				CAPACIDAD, new ArrayList<>());
+		grupo.setId("G1");
+		mongoTemplate.insert(grupo);
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void testReservasConcurrentesNoSobrepasanCapacidad() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(64);
+		CountDownLatch salida = new CountDownLatch(1);
+		List<Future<Optional<Grupo>>> resultados = new ArrayList<>();
+		for (int i = 0; i < ESTUDIANTES; i++) {
+			String estudianteId = "E" + i;
+			resultados.add(executor.submit(() -> {
+				salida.await();
+				return repository.reservarCupo("G1", estudianteId);
+			}));
+		}
+		salida.countDown();
+
+		int exitosas = 0;
+		HashSet<Integer> ocupaciones = new HashSet<>();
+		for (Future<Optional<Grupo>> resultado : resultados) {
+			Optional<Grupo> grupo = resultado.get(30, TimeUnit.SECONDS);
+			if (grupo.isPresent()) {
+				exitosas++;
+				assertTrue(ocupaciones.add(grupo.get().getCantidadInscritos()));
+			}
+		}
+		executor.shutdown();
+
+		Grupo grupo = mongoTemplate.findById("G1", Grupo.class);
+		assertNotNull(grupo);
+		assertEquals(CAPACIDAD, exitosas);
+		assertEquals(CAPACIDAD, grupo.getCantidadInscritos());
+		assertEquals(CAPACIDAD, grupo.getEstudiantesId().size());
+		assertEquals(CAPACIDAD, new HashSet<>(grupo.getEstudiantesId()).size());
+		assertTrue(grupo.isEstaCompleto());
+	}
+
+	@Test
+	void testReservaRepetidaDelMismoEstudianteSoloOcupaUnCupo() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		CountDownLatch salida = new CountDownLatch(1);
+		List<Future<Optional<Grupo>>> resultados = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			resultados.add(executor.submit(() -> {
+				salida.await();
+				return repository.reservarCupo("G1", "E1");
+			}));
+		}
+		salida.countDown();
+
+		long exitosas = 0;
+		for (Future<Optional<Grupo>> resultado : resultados) {
+			if (resultado.get(30, TimeUnit.SECONDS).isPresent()) {
+				exitosas++;
+			}
+		}
+		executor.shutdown();
+
+		assertEquals(1, exitosas);
+		assertEquals(1, mongoTemplate.findById("G1", Grupo.class).getCantidadInscritos());
+	}
+
+	@Test
+	void testLiberarCupoPermiteNuevaReserva() {
+		for (int i = 0; i < CAPACIDAD; i++) {
+			assertTrue(repository.reservarCupo("G1", "E" + i).isPresent());
+		}
+		assertTrue(repository.reservarCupo("G1", "EXTRA").isEmpty());
+
+		Optional<GrupoRepositoryCustom.CupoLiberado> liberado = repository.liberarCupo("G1", "E0");
+		assertTrue(liberado.isPresent());
+		assertNull(liberado.get().promovida());
+		assertEquals(CAPACIDAD - 1, liberado.get().grupo().getCantidadInscritos());
+		assertFalse(liberado.get().grupo().isEstaCompleto());
+		assertTrue(repository.liberarCupo("G1", "E0").isEmpty());
+
+		assertTrue(repository.reservarCupo("G1", "EXTRA").isPresent());
+		assertTrue(repository.reservarCupo("NO_EXISTE", "E1").isEmpty());
+	}
+
+	@Test
+	void testLiberarCupoPromueveAlPrimeroDeLaListaDeEspera() {
+		llenarGrupo();
+		LocalDateTime ahora = LocalDateTime.now();
+		assertTrue(repository.agregarAListaEspera("G1", entrada("TARDE", 7, ahora)).isPresent());
+		assertTrue(repository.agregarAListaEspera("G1", entrada("PRIMERO", 3, ahora.plusSeconds(1))).isPresent());
+		assertTrue(repository.agregarAListaEspera("G1", entrada("SEGUNDO", 3, ahora.plusSeconds(2))).isPresent());
+
+		Optional<GrupoRepositoryCustom.CupoLiberado> liberado = repository.liberarCupo("G1", "E0");
+
+		assertTrue(liberado.isPresent());
+		assertEquals("PRIMERO", liberado.get().promovida().getEstudianteId());
+		Grupo grupo = liberado.get().grupo();
+		assertEquals(CAPACIDAD, grupo.getCantidadInscritos());
+		assertEquals(CAPACIDAD, grupo.getEstudiantesId().size());
+		assertTrue(grupo.getEstudiantesId().contains("PRIMERO"));
+		assertFalse(grupo.getEstudiantesId().contains("E0"));
+		assertTrue(grupo.isEstaCompleto());
+		assertEquals(1, grupo.posicionEnListaEspera("SEGUNDO"));
+		assertEquals(2, grupo.posicionEnListaEspera("TARDE"));
+		assertTrue(repository.reservarCupo("G1", "EXTRA").isEmpty());
+	}
+
+	@Test
+	void testLiberarCupoReemplazaLaPosicionDelEstudianteQueSale() {
+		llenarGrupo();
+		LocalDateTime ahora = LocalDateTime.now();
+		assertTrue(repository.agregarAListaEspera("G1", entrada("PRIMERO", 1, ahora)).isPresent());
+		assertTrue(repository.agregarAListaEspera("G1", entrada("SEGUNDO", 2, ahora.plusSeconds(1))).isPresent());
+		List<String> esperados = new ArrayList<>(mongoTemplate.findById("G1", Grupo.class).getEstudiantesId());
+		int posicion = esperados.indexOf("E7");
+		esperados.set(posicion, "PRIMERO");
+
+		// El que sale está en la posición 7 y el promovido en la posición 0 de la lista de espera
+		Optional<GrupoRepositoryCustom.CupoLiberado> liberado = repository.liberarCupo("G1", "E7");
+
+		assertTrue(liberado.isPresent());
+		assertEquals("PRIMERO", liberado.get().promovida().getEstudianteId());
+		assertEquals(esperados, liberado.get().grupo().getEstudiantesId());
+		assertEquals(esperados, mongoTemplate.findById("G1", Grupo.class).getEstudiantesId());
+		assertEquals(1, liberado.get().grupo().posicionEnListaEspera("SEGUNDO"));
+	}
+
+	@Test
+	void testListaDeEsperaSoloParaGruposLlenosYSinDuplicados() {
+		assertTrue(repository.agregarAListaEspera("G1", entrada("E1", 1, LocalDateTime.now())).isEmpty());
+		llenarGrupo();
+		assertTrue(repository.agregarAListaEspera("G1", entrada("E0", 1, LocalDateTime.now())).isEmpty());
+		assertTrue(repository.agregarAListaEspera("G1", entrada("X", 1, LocalDateTime.now())).isPresent());
+		assertTrue(repository.agregarAListaEspera("G1", entrada("X", 2, LocalDateTime.now())).isEmpty());
+
+		assertTrue(repository.retirarDeListaEspera("G1", "X").isPresent());
+		assertTrue(repository.retirarDeListaEspera("G1", "X").isEmpty());
+		Optional<GrupoRepositoryCustom.CupoLiberado> liberado = repository.liberarCupo("G1", "E0");
+		assertTrue(liberado.isPresent());
+		assertNull(liberado.get().promovida());
+		assertEquals(CAPACIDAD - 1, liberado.get().grupo().getCantidadInscritos());
+	}
+
+	@Test
+	void testLiberarCupoEnGrupoSinRevisionGuardada() {
+		llenarGrupo();
+		mongoTemplate.updateFirst(Query.query(Criteria.where("id").is("G1")), new Update().unset("revisionCupos"), Grupo.class);
+		assertNull(mongoTemplate.getCollection("grupos").find(new Document("_id", "G1")).first().get("revisionCupos"));
+
+		Optional<GrupoRepositoryCustom.CupoLiberado> liberado = repository.liberarCupo("G1", "E0");
+
+		assertTrue(liberado.isPresent());
+		assertEquals(1, liberado.get().grupo().getRevisionCupos());
+	}
+
+	@Test
+	void testLiberacionesEIngresosConcurrentesALaListaDeEspera() throws Exception {
+		llenarGrupo();
+		for (int i = 0; i < 40; i++) {
+			assertTrue(repository.agregarAListaEspera("G1", entrada("W" + i, i, LocalDateTime.now())).isPresent());
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(32);
+		CountDownLatch salida = new CountDownLatch(1);
+		List<Future<Optional<GrupoRepositoryCustom.CupoLiberado>>> liberaciones = new ArrayList<>();
+		List<Future<Boolean>> ingresos = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			String estudianteId = "E" + i;
+			liberaciones.add(executor.submit(() -> {
+				salida.await();
+				return repository.liberarCupo("G1", estudianteId);
+			}));
+		}
+		for (int i = 40; i < 80; i++) {
+			EntradaListaEspera entrada = entrada("W" + i, i, LocalDateTime.now());
+			ingresos.add(executor.submit(() -> {
+				salida.await();
+				return repository.agregarAListaEspera("G1", entrada).isPresent();
+			}));
+		}
+		salida.countDown();
+
+		List<String> promovidos = new ArrayList<>();
+		for (Future<Optional<GrupoRepositoryCustom.CupoLiberado>> liberacion : liberaciones) {
+			GrupoRepositoryCustom.CupoLiberado cupo = liberacion.get(30, TimeUnit.SECONDS).orElseThrow();
+			assertNotNull(cupo.promovida());
+			promovidos.add(cupo.promovida().getEstudianteId());
+		}
+		int ingresados = 0;
+		for (Future<Boolean> ingreso : ingresos) {
+			if (ingreso.get(30, TimeUnit.SECONDS)) {
+				ingresados++;
+			}
+		}
+		executor.shutdown();
+
+		Grupo grupo = mongoTemplate.findById("G1", Grupo.class);
+		assertNotNull(grupo);
+		assertEquals(40, ingresados);
+		assertEquals(30, new HashSet<>(promovidos).size());
+		assertEquals(CAPACIDAD, grupo.getCantidadInscritos());
+		assertEquals(CAPACIDAD, grupo.getEstudiantesId().size());
+		assertEquals(CAPACIDAD, new HashSet<>(grupo.getEstudiantesId()).size());
+		assertTrue(grupo.getEstudiantesId().containsAll(promovidos));
+		assertEquals(80 - 30, grupo.getListaEspera().size());
+		for (EntradaListaEspera entrada : grupo.getListaEspera()) {
+			assertFalse(grupo.getEstudiantesId().contains(entrada.getEstudianteId()));
+		}
+		// Las primeras 40 entradas tienen mejor prioridad que todas las que llegaron durante las liberaciones
+		List<String> esperados = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			esperados.add("W" + i);
+		}
+		List<String> ordenados = new ArrayList<>(promovidos);
+		Collections.sort(ordenados);
+		Collections.sort(esperados);
+		assertEquals(esperados, ordenados);
+	}
+
+	@Test
+	void testReservarCuposDeUnLoteEsTodoONada() {
+		for (int i = 0; i < CAPACIDAD - 2; i++) {
+			assertTrue(repository.reservarCupo("G1", "E" + i).isPresent());
+		}
+		assertTrue(repository.reservarCupos("G1", List.of("A", "B", "C")).isEmpty());
+		assertTrue(repository.reservarCupos("G1", List.of("A", "E0")).isEmpty());
+		assertEquals(CAPACIDAD - 2, mongoTemplate.findById("G1", Grupo.class).getCantidadInscritos());
+
+		Optional<Grupo> grupo = repository.reservarCupos("G1", List.of("A", "B"));
+
+		assertTrue(grupo.isPresent());
+		assertEquals(CAPACIDAD, grupo.get().getCantidadInscritos());
+		assertTrue(grupo.get().getEstudiantesId().containsAll(List.of("A", "B")));
+		assertTrue(grupo.get().isEstaCompleto());
+		assertEquals(CAPACIDAD - 1, grupo.get().getRevisionCupos());
+	}
+
+	@Test
+	void testLiberarCuposSinListaEsperaRequiereTodosLosInscritos() {
+		llenarGrupo();
+		assertTrue(repository.liberarCuposSinListaEspera("G1", List.of("E0", "X")).isEmpty());
+
+		Optional<Grupo> grupo = repository.liberarCuposSinListaEspera("G1", List.of("E0", "E1"));
+
+		assertTrue(grupo.isPresent());
+		assertEquals(CAPACIDAD - 2, grupo.get().getCantidadInscritos());
+		assertFalse(grupo.get().getEstudiantesId().contains("E0"));
+		assertFalse(grupo.get().isEstaCompleto());
+
+		llenarGrupoHasta("F");
+		assertTrue(repository.agregarAListaEspera("G1", entrada("W", 1, LocalDateTime.now())).isPresent());
+		assertTrue(repository.liberarCuposSinListaEspera("G1", List.of("E2")).isEmpty());
+		assertEquals(CAPACIDAD, mongoTemplate.findById("G1", Grupo.class).getCantidadInscritos());
+	}
+
+	@Test
+	void testCambiarCapacidadCalculaEstaCompletoConLosInscritosDelServidor() {
+		for (int i = 0; i < 3; i++) {
+			assertTrue(repository.reservarCupo("G1", "E" + i).isPresent());
+		}
+		long revision = mongoTemplate.findById("G1", Grupo.class).getRevisionCupos();
+
+		Grupo reducido = repository.actualizarDatos("G1", new CambiosGrupo(null, null, null, 3)).orElseThrow();
+
+		assertEquals(3, reducido.getCapacidad());
+		assertTrue(reducido.isEstaCompleto());
+		assertEquals(List.of("E0", "E1", "E2"), reducido.getEstudiantesId());
+		assertEquals(revision + 1, reducido.getRevisionCupos());
+		assertTrue(repository.reservarCupo("G1", "E3").isEmpty());
+
+		Grupo ampliado = repository.actualizarDatos("G1", new CambiosGrupo(null, null, null, 10)).orElseThrow();
+
+		assertFalse(ampliado.isEstaCompleto());
+		assertEquals(3, ampliado.getCantidadInscritos());
+		assertTrue(repository.reservarCupo("G1", "E3").isPresent());
+	}
+
+	@Test
+	void testActualizarDatosSoloModificaLosCamposIndicados() {
+		llenarGrupo();
+		assertTrue(repository.agregarAListaEspera("G1", entrada("W", 1, LocalDateTime.now())).isPresent());
+		Materia materia = new Materia("Redes", "RED101", 3, Facultad.INGENIERIA_SISTEMAS);
+
+		Grupo grupo = repository.actualizarDatos("G1", new CambiosGrupo(materia, null, null, null)).orElseThrow();
+
+		assertEquals("RED101", grupo.getMateria().getAcronimo());
+		assertEquals(CAPACIDAD, grupo.getCantidadInscritos());
+		assertEquals(CAPACIDAD, grupo.getEstudiantesId().size());
+		assertEquals(1, grupo.getListaEspera().size());
+		assertTrue(grupo.isEstaCompleto());
+		assertTrue(repository.actualizarDatos("NO-EXISTE", new CambiosGrupo(materia, null, null, 5)).isEmpty());
+	}
+
+	@Test
+	void testAsignarYQuitarProfesorConservaLasInscripciones() {
+		llenarGrupo();
+		Profesor profesor = new Profesor("Luis", "Pérez", "luis.perez@escuelaing.edu.co", "hash");
+		profesor.setId("PROF1");
+
+		Grupo asignado = repository.asignarProfesor("G1", profesor).orElseThrow();
+
+		assertEquals("PROF1", asignado.getProfesor().getId());
+		assertEquals(CAPACIDAD, asignado.getEstudiantesId().size());
+
+		Grupo sinProfesor = repository.asignarProfesor("G1", null).orElseThrow();
+
+		assertNull(sinProfesor.getProfesor());
+		assertEquals(CAPACIDAD, sinProfesor.getEstudiantesId().size());
+		assertTrue(repository.asignarProfesor("NO-EXISTE", profesor).isEmpty());
+	}
+
+	@Test
+	void testCambiosDeCapacidadConcurrentesConReservasNoPierdenInscripciones() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(32);
+		CountDownLatch salida = new CountDownLatch(1);
+		List<Future<?>> tareas = new ArrayList<>();
+		for (int i = 0; i < ESTUDIANTES; i++) {
+			String estudianteId = "E" + i;
+			tareas.add(executor.submit(() -> {
+				salida.await();
+				return repository.reservarCupo("G1", estudianteId);
+			}));
+		}
+		for (int i = 0; i < 20; i++) {
+			int capacidad = i % 2 == 0 ? CAPACIDAD / 2 : CAPACIDAD;
+			tareas.add(executor.submit(() -> {
+				salida.await();
+				return repository.actualizarDatos("G1", new CambiosGrupo(null, null, null, capacidad));
+			}));
+		}
+		salida.countDown();
+		for (Future<?> tarea : tareas) {
+			tarea.get(30, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+		repository.actualizarDatos("G1", new CambiosGrupo(null, null, null, CAPACIDAD));
+		llenarGrupoHasta("F");
+
+		Grupo grupo = mongoTemplate.findById("G1", Grupo.class);
+		assertEquals(CAPACIDAD, grupo.getCapacidad());
+		assertEquals(CAPACIDAD, grupo.getCantidadInscritos());
+		assertEquals(CAPACIDAD, new HashSet<>(grupo.getEstudiantesId()).size());
+		assertTrue(grupo.isEstaCompleto());
+	}
+
+	private void llenarGrupoHasta(String prefijo) {
+		int i = 0;
+		while (repository.reservarCupo("G1", prefijo + i).isPresent()) {
+			i++;
+		}
+	}
+
+	private void llenarGrupo() {
+		for (int i = 0; i < CAPACIDAD; i++) {
+			assertTrue(repository.reservarCupo("G1", "E" + i).isPresent());
+		}
+	}
+
+	private static EntradaListaEspera entrada(String estudianteId, int prioridad, LocalDateTime fecha) {
+		return new EntradaListaEspera(estudianteId, null, prioridad, fecha);
+	}
+}
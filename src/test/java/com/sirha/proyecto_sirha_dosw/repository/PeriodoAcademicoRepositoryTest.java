@@ -0,0 +1,73 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.PeriodoAcademico;
+import com.sirha.proyecto_sirha_dosw.model.support.RangoFechas;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de {@link PeriodoAcademicoRepositoryCustomImpl} contra un servidor MongoDB en memoria.
+ */
+class PeriodoAcademicoRepositoryTest {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private PeriodoAcademicoRepositoryCustomImpl repository;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		client = MongoClients.create(server.bindAndGetConnectionString());
+		mongoTemplate = new MongoTemplate(client, "sirha-test");
+		repository = new PeriodoAcademicoRepositoryCustomImpl(mongoTemplate);
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void testCalendarioYPlazoSeGuardanEnElMismoDocumentoSinPisarse() {
+		repository.guardarPlazoSolicitudes(Facultad.INGENIERIA_SISTEMAS,
+				new RangoFechas(LocalDate.of(2026, 1, 20), LocalDate.of(2026, 2, 3)));
+		repository.guardarCalendario(Facultad.INGENIERIA_SISTEMAS,
+				new RangoFechas(LocalDate.of(2026, 1, 20), LocalDate.of(2026, 5, 30)));
+
+		assertEquals(1, mongoTemplate.findAll(PeriodoAcademico.class).size());
+		PeriodoAcademico periodo = mongoTemplate.findById(PeriodoAcademico.idDe(Facultad.INGENIERIA_SISTEMAS),
+				PeriodoAcademico.class);
+		assertNotNull(periodo);
+		assertEquals(Facultad.INGENIERIA_SISTEMAS, periodo.getFacultad());
+		assertEquals(LocalDate.of(2026, 1, 20), periodo.getInicioCalendario());
+		assertEquals(LocalDate.of(2026, 5, 30), periodo.getFinCalendario());
+		assertEquals(LocalDate.of(2026, 1, 20), periodo.getInicioPlazoSolicitudes());
+		assertEquals(LocalDate.of(2026, 2, 3), periodo.getFinPlazoSolicitudes());
+	}
+
+	@Test
+	void testGuardarDeNuevoReemplazaElRango() {
+		repository.guardarCalendario(Facultad.ADMINISTRACION,
+				new RangoFechas(LocalDate.of(2026, 1, 20), LocalDate.of(2026, 5, 30)));
+		repository.guardarCalendario(Facultad.ADMINISTRACION,
+				new RangoFechas(LocalDate.of(2026, 7, 20), LocalDate.of(2026, 11, 30)));
+
+		PeriodoAcademico periodo = mongoTemplate.findById(PeriodoAcademico.idDe(Facultad.ADMINISTRACION),
+				PeriodoAcademico.class);
+		assertEquals(LocalDate.of(2026, 7, 20), periodo.getInicioCalendario());
+		assertNull(periodo.getInicioPlazoSolicitudes());
+	}
+}
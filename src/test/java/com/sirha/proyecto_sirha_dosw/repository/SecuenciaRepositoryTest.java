@@ -0,0 +1,109 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la reserva atómica de bloques de {@link SecuenciaRepositoryCustomImpl} contra un
+ *          servidor MongoDB en memoria.
+ */
+class SecuenciaRepositoryTest {
+
+	private MongoServer server;
+	private MongoClient client;
+	private SecuenciaRepositoryCustomImpl repository;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		client = MongoClients.create(server.bindAndGetConnectionString());
+		repository = new SecuenciaRepositoryCustomImpl(new MongoTemplate(client, "sirha-test"));
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void testReservarBloqueCreaLaSecuenciaYAvanza() {
+		assertEquals(100, repository.reservarBloque("prioridad", 100));
+		assertEquals(200, repository.reservarBloque("prioridad", 100));
+		assertEquals(5, repository.reservarBloque("radicado-20260302", 5));
+		assertThrows(IllegalArgumentException.class, () -> repository.reservarBloque("prioridad", 0));
+	}
+
+	@Test
+	void testConcesionSoloLaTomaUnaInstanciaHastaQueVence() {
+		assertTrue(repository.tomarConcesion("reconciliacion", 1_000L, 500L));
+		assertFalse(repository.tomarConcesion("reconciliacion", 1_200L, 500L));
+		assertFalse(repository.tomarConcesion("reconciliacion", 1_499L, 500L));
+		assertTrue(repository.tomarConcesion("reconciliacion", 1_500L, 500L));
+		assertFalse(repository.tomarConcesion("reconciliacion", 1_600L, 500L));
+	}
+
+	@Test
+	void testConcesionDisputadaLaTomaUnaSolaInstancia() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		CountDownLatch salida = new CountDownLatch(1);
+		List<Future<Boolean>> resultados = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			resultados.add(executor.submit(() -> {
+				salida.await();
+				return repository.tomarConcesion("reconciliacion", 1_000L, 60_000L);
+			}));
+		}
+		salida.countDown();
+
+		int tomadas = 0;
+		for (Future<Boolean> resultado : resultados) {
+			if (resultado.get(30, TimeUnit.SECONDS)) {
+				tomadas++;
+			}
+		}
+		executor.shutdown();
+		assertEquals(1, tomadas);
+	}
+
+	@Test
+	void testReservasConcurrentesNoSeSolapan() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(16);
+		CountDownLatch salida = new CountDownLatch(1);
+		List<Future<Long>> resultados = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			resultados.add(executor.submit(() -> {
+				salida.await();
+				return repository.reservarBloque("prioridad", 10);
+			}));
+		}
+		salida.countDown();
+
+		Set<Long> finales = new HashSet<>();
+		for (Future<Long> resultado : resultados) {
+			long fin = resultado.get(30, TimeUnit.SECONDS);
+			assertEquals(0, fin % 10);
+			assertTrue(finales.add(fin));
+		}
+		executor.shutdown();
+		assertEquals(2000, finales.stream().mapToLong(Long::longValue).max().orElseThrow());
+	}
+}
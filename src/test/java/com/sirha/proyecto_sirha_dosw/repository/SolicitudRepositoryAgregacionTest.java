@@ -0,0 +1,189 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.Materia;
+import com.sirha.proyecto_sirha_dosw.model.Solicitud;
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepositoryCustom.ConteoPorGrupo;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepositoryCustom.ConteoSolicitudes;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de las agregaciones de {@link SolicitudRepositoryCustomImpl} contra un servidor
+ *          MongoDB en memoria.
+ */
+class SolicitudRepositoryAgregacionTest {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private SolicitudRepositoryCustomImpl repository;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		client = MongoClients.create(server.bindAndGetConnectionString());
+		mongoTemplate = new MongoTemplate(client, "sirha-test");
+		repository = new SolicitudRepositoryCustomImpl(mongoTemplate);
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void testContarPorGrupoDestinoOrdenaYLimita() {
+		Grupo sistemas1 = grupo("G1", Facultad.INGENIERIA_SISTEMAS);
+		Grupo sistemas2 = grupo("G2", Facultad.INGENIERIA_SISTEMAS);
+		Grupo civil = grupo("G3", Facultad.INGENIERIA_CIVIL);
+		guardarSolicitudes(sistemas1, TipoSolicitud.CAMBIO_GRUPO, 2);
+		guardarSolicitudes(sistemas2, TipoSolicitud.CAMBIO_GRUPO, 5);
+		guardarSolicitudes(civil, TipoSolicitud.CAMBIO_GRUPO, 3);
+		guardarSolicitudes(sistemas1, TipoSolicitud.INSCRIPCION_GRUPO, 10);
+		guardarSolicitudes(null, TipoSolicitud.CAMBIO_GRUPO, 4);
+
+		assertEquals(List.of(new ConteoPorGrupo("G2", 5), new ConteoPorGrupo("G3", 3)),
+				repository.contarPorGrupoDestino(TipoSolicitud.CAMBIO_GRUPO, null, 2));
+		assertEquals(List.of(new ConteoPorGrupo("G2", 5), new ConteoPorGrupo("G1", 2)),
+				repository.contarPorGrupoDestino(TipoSolicitud.CAMBIO_GRUPO, Facultad.INGENIERIA_SISTEMAS, 10));
+		assertTrue(repository.contarPorGrupoDestino(TipoSolicitud.CAMBIO_GRUPO, null, 0).isEmpty());
+	}
+
+	@Test
+	void testContarPorFacultadTipoYEstadoRetornaElCubo() {
+		guardar(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.APROBADA, 3);
+		guardar(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 2);
+		guardar(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.INSCRIPCION_GRUPO, SolicitudEstado.APROBADA, 1);
+		guardar(Facultad.INGENIERIA_CIVIL, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.RECHAZADA, 4);
+
+		Set<ConteoSolicitudes> cubo = new HashSet<>(repository.contarPorFacultadTipoYEstado(null, null));
+		assertEquals(Set.of(
+				new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.APROBADA, 3),
+				new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 2),
+				new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.INSCRIPCION_GRUPO, SolicitudEstado.APROBADA, 1),
+				new ConteoSolicitudes(Facultad.INGENIERIA_CIVIL, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.RECHAZADA, 4)),
+				cubo);
+
+		assertEquals(Set.of(
+				new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.APROBADA, 3),
+				new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 2)),
+				new HashSet<>(repository.contarPorFacultadTipoYEstado(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO)));
+		assertEquals(2, repository.contarPorFacultadTipoYEstado(null, TipoSolicitud.CAMBIO_GRUPO).stream()
+				.filter(conteo -> conteo.facultad() == Facultad.INGENIERIA_SISTEMAS).count());
+	}
+
+	@Test
+	void testGuardarRespuestasSoloActualizaLaDecision() {
+		guardar(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 2);
+		List<Solicitud> solicitudes = mongoTemplate.findAll(Solicitud.class);
+		LocalDateTime resolucion = LocalDateTime.now().withNano(0);
+		for (Solicitud solicitud : solicitudes) {
+			solicitud.setEstado(SolicitudEstado.RECHAZADA);
+			solicitud.setRespuesta("Sin cupos");
+			solicitud.setFechaResolucion(resolucion);
+			solicitud.setFacultad(Facultad.INGENIERIA_CIVIL);
+		}
+
+		Map<String, SolicitudEstado> esperados = new HashMap<>();
+		solicitudes.forEach(solicitud -> esperados.put(solicitud.getId(), SolicitudEstado.PENDIENTE));
+
+		assertTrue(repository.guardarRespuestas(solicitudes, esperados).isEmpty());
+		assertTrue(repository.guardarRespuestas(List.of(), Map.of()).isEmpty());
+
+		for (Solicitud guardada : mongoTemplate.findAll(Solicitud.class)) {
+			assertEquals(SolicitudEstado.RECHAZADA, guardada.getEstado());
+			assertEquals("Sin cupos", guardada.getRespuesta());
+			assertEquals(resolucion, guardada.getFechaResolucion());
+			assertEquals(Facultad.INGENIERIA_SISTEMAS, guardada.getFacultad());
+		}
+	}
+
+	@Test
+	void testGuardarRespuestasNoSobrescribeLasRespondidasEntretanto() {
+		guardar(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 3);
+		List<Solicitud> solicitudes = mongoTemplate.findAll(Solicitud.class);
+		Solicitud ganada = solicitudes.get(1);
+		// Otra respuesta aprueba la segunda solicitud después de que el lote la leyera
+		ganada.setEstado(SolicitudEstado.APROBADA);
+		ganada.setRespuesta("Aprobada");
+		assertTrue(repository.registrarRespuesta(ganada, SolicitudEstado.PENDIENTE));
+		Map<String, SolicitudEstado> esperados = new HashMap<>();
+		LocalDateTime resolucion = LocalDateTime.now();
+		for (Solicitud solicitud : solicitudes) {
+			esperados.put(solicitud.getId(), SolicitudEstado.PENDIENTE);
+			solicitud.setEstado(SolicitudEstado.RECHAZADA);
+			solicitud.setRespuesta("Sin cupos");
+			solicitud.setFechaResolucion(resolucion);
+		}
+
+		assertEquals(Set.of(ganada.getId()), repository.guardarRespuestas(solicitudes, esperados));
+
+		assertEquals(SolicitudEstado.APROBADA, mongoTemplate.findById(ganada.getId(), Solicitud.class).getEstado());
+		assertEquals(2, mongoTemplate.find(Query.query(Criteria.where("estado").is(SolicitudEstado.RECHAZADA)),
+				Solicitud.class).size());
+	}
+
+	@Test
+	void testRegistrarRespuestaSoloSiSigueEnElEstadoEsperado() {
+		guardar(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 1);
+		Solicitud solicitud = mongoTemplate.findAll(Solicitud.class).get(0);
+		solicitud.setEstado(SolicitudEstado.APROBADA);
+		solicitud.setRespuesta("Aprobada");
+
+		assertTrue(repository.registrarRespuesta(solicitud, SolicitudEstado.PENDIENTE));
+		solicitud.setEstado(SolicitudEstado.RECHAZADA);
+		assertFalse(repository.registrarRespuesta(solicitud, SolicitudEstado.PENDIENTE));
+
+		Solicitud guardada = mongoTemplate.findById(solicitud.getId(), Solicitud.class);
+		assertEquals(SolicitudEstado.APROBADA, guardada.getEstado());
+		assertEquals("Aprobada", guardada.getRespuesta());
+	}
+
+	private Grupo grupo(String id, Facultad facultad) {
+		Grupo grupo = new Grupo(new Materia("Materia " + id, "M" + id, 3, facultad), 30, new ArrayList<>());
+		grupo.setId(id);
+		return grupo;
+	}
+
+	private void guardarSolicitudes(Grupo destino, TipoSolicitud tipo, int cantidad) {
+		for (int i = 0; i < cantidad; i++) {
+			Solicitud solicitud = new Solicitud();
+			solicitud.setTipoSolicitud(tipo);
+			solicitud.setGrupoDestino(destino);
+			mongoTemplate.insert(solicitud);
+		}
+	}
+
+	private void guardar(Facultad facultad, TipoSolicitud tipo, SolicitudEstado estado, int cantidad) {
+		for (int i = 0; i < cantidad; i++) {
+			Solicitud solicitud = new Solicitud();
+			solicitud.setFacultad(facultad);
+			solicitud.setTipoSolicitud(tipo);
+			solicitud.setEstado(estado);
+			mongoTemplate.insert(solicitud);
+		}
+	}
+}
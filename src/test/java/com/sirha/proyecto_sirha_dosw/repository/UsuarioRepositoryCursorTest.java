@@ -0,0 +1,222 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sirha.proyecto_sirha_dosw.dto.UsuarioResumenDTO;
+import com.sirha.proyecto_sirha_dosw.model.*;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del recorrido con cursor de {@link UsuarioRepositoryCustomImpl} contra un servidor
+ *          MongoDB en memoria.
+ */
+class UsuarioRepositoryCursorTest {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private UsuarioRepositoryCustomImpl repository;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		client = MongoClients.create(server.bindAndGetConnectionString());
+		mongoTemplate = new MongoTemplate(client, "sirha-test");
+		repository = new UsuarioRepositoryCustomImpl(mongoTemplate);
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void testStreamEstudiantesParaAvanceSoloTraeEstudiantesProyectados() {
+		mongoTemplate.save(estudiante("E1", Facultad.INGENIERIA_SISTEMAS));
+		mongoTemplate.save(estudiante("E2", Facultad.INGENIERIA_CIVIL));
+		Decano decano = new Decano("Laura", "Rojas", "laura@test.com", "pass", Rol.DECANO, Facultad.INGENIERIA_SISTEMAS);
+		decano.setId("D1");
+		mongoTemplate.save(decano);
+
+		List<Estudiante> todos;
+		try (Stream<Estudiante> estudiantes = repository.streamEstudiantesParaAvance(null)) {
+			todos = estudiantes.toList();
+		}
+		assertEquals(2, todos.size());
+
+		List<Estudiante> sistemas;
+		try (Stream<Estudiante> estudiantes = repository.streamEstudiantesParaAvance(Facultad.INGENIERIA_SISTEMAS)) {
+			sistemas = estudiantes.toList();
+		}
+		assertEquals(1, sistemas.size());
+		Estudiante leido = sistemas.get(0);
+		assertEquals("E1", leido.getId());
+		assertEquals("Nombre E1", leido.getNombre());
+		assertEquals(Facultad.INGENIERIA_SISTEMAS, leido.getCarrera());
+		assertNull(leido.getEmail());
+		assertNull(leido.getPassword());
+
+		RegistroMaterias registro = leido.getSemestres().get(0).getRegistros().get(0);
+		assertEquals(Semaforo.VERDE, registro.getEstado());
+		assertEquals(4, registro.getGrupoResumen().getMateria().getCreditos());
+		assertNull(registro.getGrupoResumen().getMateria().getNombre());
+	}
+
+	@Test
+	void testGuardarEstudiantesReemplazaCadaDocumento() {
+		mongoTemplate.save(estudiante("E1", Facultad.INGENIERIA_SISTEMAS));
+		mongoTemplate.save(estudiante("E2", Facultad.INGENIERIA_SISTEMAS));
+		Estudiante primero = mongoTemplate.findById("E1", Estudiante.class, "usuarios");
+		Estudiante segundo = mongoTemplate.findById("E2", Estudiante.class, "usuarios");
+		primero.getSemestres().get(0).getRegistros().clear();
+		segundo.setNombre("Renombrado");
+
+		repository.guardarEstudiantes(List.of(primero, segundo));
+		repository.guardarEstudiantes(List.of());
+
+		assertTrue(mongoTemplate.findById("E1", Estudiante.class, "usuarios")
+				.getSemestres().get(0).getRegistros().isEmpty());
+		assertEquals("Renombrado",
+				mongoTemplate.findById("E2", Estudiante.class, "usuarios").getNombre());
+		assertEquals(2, mongoTemplate.getCollection("usuarios").countDocuments());
+	}
+
+	@Test
+	void testBuscarEmailsExistentesSoloDevuelveLosRegistrados() {
+		mongoTemplate.save(estudiante("E1", Facultad.INGENIERIA_SISTEMAS));
+		mongoTemplate.save(estudiante("E2", Facultad.INGENIERIA_CIVIL));
+
+		assertEquals(Set.of("E1@test.com"),
+				repository.buscarEmailsExistentes(List.of("E1@test.com", "nuevo@test.com")));
+		assertTrue(repository.buscarEmailsExistentes(List.of()).isEmpty());
+	}
+
+	@Test
+	void testInsertarUsuariosInsertaLosDemasCuandoUnoSeRepite() {
+		mongoTemplate.save(estudiante("E2", Facultad.INGENIERIA_SISTEMAS));
+		Profesor profesor = new Profesor("Ana", "Ruiz", "ana@test.com", "pass", Rol.PROFESOR);
+		profesor.setId("P1");
+
+		Map<Integer, String> rechazados = repository.insertarUsuarios(List.of(
+				estudiante("E1", Facultad.INGENIERIA_SISTEMAS),
+				estudiante("E2", Facultad.INGENIERIA_SISTEMAS),
+				profesor));
+
+		assertEquals(Set.of(1), rechazados.keySet());
+		assertNotNull(rechazados.get(1));
+		assertEquals(3, mongoTemplate.getCollection("usuarios").countDocuments());
+		assertInstanceOf(Profesor.class, mongoTemplate.findById("P1", Usuario.class, "usuarios"));
+		assertTrue(repository.insertarUsuarios(List.of()).isEmpty());
+	}
+
+	@Test
+	void testBuscarPaginaAvanzaPorIdSinContrasenas() {
+		mongoTemplate.save(estudiante("E3", Facultad.INGENIERIA_SISTEMAS));
+		mongoTemplate.save(estudiante("E1", Facultad.INGENIERIA_SISTEMAS));
+		Profesor profesor = new Profesor("Ana", "Ruiz", "ana@test.com", "pass", Rol.PROFESOR);
+		profesor.setId("P1");
+		mongoTemplate.save(profesor);
+		mongoTemplate.save(estudiante("E2", Facultad.INGENIERIA_CIVIL));
+
+		List<Usuario> primera = repository.buscarPagina(null, 2);
+		assertEquals(List.of("E1", "E2"), primera.stream().map(Usuario::getId).toList());
+		assertTrue(primera.stream().allMatch(u -> u.getPassword() == null));
+		assertEquals("E1@test.com", primera.get(0).getEmail());
+
+		List<Usuario> segunda = repository.buscarPagina("E2", 2);
+		assertEquals(List.of("E3", "P1"), segunda.stream().map(Usuario::getId).toList());
+		assertInstanceOf(Profesor.class, segunda.get(1));
+		assertTrue(repository.buscarPagina("P1", 2).isEmpty());
+	}
+
+	@Test
+	void testStreamUsuariosRecorreTodosEnOrdenSinContrasenas() {
+		for (int i = 9; i >= 0; i--) {
+			mongoTemplate.save(estudiante("E" + i, Facultad.INGENIERIA_SISTEMAS));
+		}
+
+		List<Usuario> todos;
+		try (Stream<Usuario> usuarios = repository.streamUsuarios()) {
+			todos = usuarios.toList();
+		}
+		assertEquals(10, todos.size());
+		assertEquals("E0", todos.get(0).getId());
+		assertEquals("E9", todos.get(9).getId());
+		assertTrue(todos.stream().allMatch(u -> u.getPassword() == null));
+	}
+
+	@Test
+	void testBuscarResumenesFiltraYSoloTraeLosCamposDelResumen() {
+		mongoTemplate.save(estudiante("E1", Facultad.INGENIERIA_SISTEMAS));
+		mongoTemplate.save(estudiante("E2", Facultad.INGENIERIA_CIVIL));
+		Decano decano = new Decano("Nombre E1", "Rojas", "laura@test.com", "pass", Rol.DECANO, Facultad.INGENIERIA_SISTEMAS);
+		decano.setId("D1");
+		mongoTemplate.save(decano);
+		Profesor profesor = new Profesor("Nombre E1", "Ruiz", "ana@test.com", "pass", Rol.PROFESOR);
+		profesor.setId("P1");
+		mongoTemplate.save(profesor);
+
+		List<UsuarioResumenDTO> sistemas = repository.buscarResumenes(null, null, Rol.ESTUDIANTE, Facultad.INGENIERIA_SISTEMAS);
+		assertEquals(1, sistemas.size());
+		UsuarioResumenDTO resumen = sistemas.get(0);
+		assertEquals("E1", resumen.getId());
+		assertEquals("Nombre E1", resumen.getNombre());
+		assertEquals("Apellido E1", resumen.getApellido());
+		assertEquals("E1@test.com", resumen.getEmail());
+		assertEquals(Rol.ESTUDIANTE, resumen.getRol());
+		assertEquals(Facultad.INGENIERIA_SISTEMAS, resumen.getFacultad());
+
+		List<UsuarioResumenDTO> porNombre = repository.buscarResumenes("Nombre E1", null, null, null);
+		assertEquals(Set.of("E1", "D1", "P1"), porNombre.stream().map(UsuarioResumenDTO::getId).collect(Collectors.toSet()));
+		UsuarioResumenDTO delDecano = porNombre.stream().filter(u -> u.getId().equals("D1")).findFirst().orElseThrow();
+		assertEquals(Facultad.INGENIERIA_SISTEMAS, delDecano.getFacultad());
+		assertNull(porNombre.stream().filter(u -> u.getId().equals("P1")).findFirst().orElseThrow().getFacultad());
+
+		assertEquals(List.of("P1"), repository.buscarResumenes("Nombre E1", "Ruiz", null, null)
+				.stream().map(UsuarioResumenDTO::getId).toList());
+		assertTrue(repository.buscarResumenes(null, null, Rol.ADMINISTRADOR, null).isEmpty());
+	}
+
+	@Test
+	void testBusquedasDeDetalleDelDecanoFiltranPorCarrera() {
+		UsuarioRepository usuarios = new MongoRepositoryFactory(mongoTemplate).getRepository(UsuarioRepository.class,
+				RepositoryComposition.RepositoryFragments.just(repository));
+		mongoTemplate.save(estudiante("E1", Facultad.INGENIERIA_SISTEMAS));
+
+		assertNotNull(usuarios.findByIdAndFacultadAndRol("E1", Facultad.INGENIERIA_SISTEMAS, Rol.ESTUDIANTE));
+		assertNotNull(usuarios.findByEmailAndFacultadAndRol("E1@test.com", Facultad.INGENIERIA_SISTEMAS, Rol.ESTUDIANTE));
+		assertNull(usuarios.findByIdAndFacultadAndRol("E1", Facultad.INGENIERIA_CIVIL, Rol.ESTUDIANTE));
+	}
+
+	private Estudiante estudiante(String id, Facultad carrera) {
+		Estudiante estudiante = new Estudiante("Nombre " + id, "Apellido " + id, id + "@test.com", "pass",
+				Rol.ESTUDIANTE, carrera);
+		estudiante.setId(id);
+		Grupo grupo = new Grupo(new Materia("Cálculo", "CAL1", 4, carrera), 30, new ArrayList<>());
+		grupo.setId("G-" + id);
+		RegistroMaterias registro = new RegistroMaterias(grupo);
+		registro.setEstado(Semaforo.VERDE);
+		Semestre semestre = new Semestre();
+		semestre.setNumero(1);
+		semestre.addRegistro(registro);
+		estudiante.setSemestres(new ArrayList<>(List.of(semestre)));
+		return estudiante;
+	}
+}
@@ -0,0 +1,85 @@
+package com.sirha.proyecto_sirha_dosw.repository;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sirha.proyecto_sirha_dosw.config.IndicesMongo;
+import com.sirha.proyecto_sirha_dosw.model.Decano;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Rol;
+import com.sirha.proyecto_sirha_dosw.model.Usuario;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del índice único de email de los usuarios creado por {@link IndicesMongo} contra un
+ *          servidor MongoDB en memoria.
+ */
+class UsuarioRepositoryEmailUnicoTest {
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private UsuarioRepositoryCustomImpl repository;
+
+	@BeforeEach
+	void setUp() {
+		server = new MongoServer(new MemoryBackend());
+		client = MongoClients.create(server.bindAndGetConnectionString());
+		mongoTemplate = new MongoTemplate(client, "sirha-test");
+		repository = new UsuarioRepositoryCustomImpl(mongoTemplate);
+		new IndicesMongo(mongoTemplate).crearIndices();
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.close();
+		server.shutdown();
+	}
+
+	@Test
+	void testInsertarEmailDuplicadoSeRechaza() {
+		mongoTemplate.insert(decano("D1", "laura@test.com"));
+
+		assertThrows(DuplicateKeyException.class, () -> mongoTemplate.insert(decano("D2", "laura@test.com")));
+		assertEquals(1, mongoTemplate.findAll(Usuario.class).size());
+	}
+
+	@Test
+	void testInsercionMasivaRechazaSoloLosEmailsDuplicados() {
+		mongoTemplate.insert(decano("D1", "laura@test.com"));
+
+		Map<Integer, String> rechazados = repository.insertarUsuarios(List.of(
+				decano("D2", "laura@test.com"),
+				decano("D3", "pedro@test.com"),
+				decano("D4", "pedro@test.com")));
+
+		assertEquals(List.of(0, 2), List.copyOf(rechazados.keySet()));
+		assertEquals(2, mongoTemplate.findAll(Usuario.class).size());
+	}
+
+	@Test
+	void testCrearIndicesEsIdempotente() {
+		new IndicesMongo(mongoTemplate).crearIndices();
+
+		long indicesEmail = mongoTemplate.indexOps(Usuario.class).getIndexInfo().stream()
+				.filter(indice -> indice.isIndexForFields(List.of("email")))
+				.count();
+		assertEquals(1, indicesEmail);
+	}
+
+	private static Decano decano(String id, String email) {
+		Decano decano = new Decano("Laura", "Rojas", email, "pass", Rol.DECANO, Facultad.INGENIERIA_SISTEMAS);
+		decano.setId(id);
+		return decano;
+	}
+}
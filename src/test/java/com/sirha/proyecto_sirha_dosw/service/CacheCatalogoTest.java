@@ -0,0 +1,145 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.model.Carrera;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Materia;
+import com.sirha.proyecto_sirha_dosw.model.Secuencia;
+import com.sirha.proyecto_sirha_dosw.repository.CarreraRepository;
+import com.sirha.proyecto_sirha_dosw.repository.MateriaRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheCatalogoTest {
+
+	private static final long VERIFICACION_MS = 1000;
+
+	@Mock
+	private MateriaRepository materiaRepository;
+	@Mock
+	private CarreraRepository carreraRepository;
+	@Mock
+	private SecuenciaRepository secuenciaRepository;
+
+	private final AtomicLong reloj = new AtomicLong();
+	private CacheCatalogo cache;
+	private Materia dosw;
+
+	@BeforeEach
+	void setUp() {
+		cache = nuevaCache(100);
+		dosw = new Materia("Desarrollo y Operaciones de Software", "DOSW", 4, Facultad.INGENIERIA_SISTEMAS);
+		dosw.setId("MAT1");
+		lenient().when(secuenciaRepository.findById(CacheCatalogo.SECUENCIA_VERSION)).thenReturn(Optional.empty());
+	}
+
+	@Test
+	void testGuardaLaMateriaBajoTodasSusLlaves() {
+		when(materiaRepository.findByAcronimo("DOSW")).thenReturn(Optional.of(dosw));
+
+		assertSame(dosw, cache.materiaPorAcronimo("DOSW").orElseThrow());
+		assertSame(dosw, cache.materiaPorAcronimo("DOSW").orElseThrow());
+		assertSame(dosw, cache.materiaPorId("MAT1").orElseThrow());
+		assertSame(dosw, cache.materiaPorNombre("Desarrollo y Operaciones de Software").orElseThrow());
+
+		verify(materiaRepository, times(1)).findByAcronimo("DOSW");
+		verify(materiaRepository, never()).findById(anyString());
+		verify(materiaRepository, never()).findByNombre(anyString());
+		CacheCatalogo.Estadisticas estadisticas = cache.estadisticas();
+		assertEquals(3, estadisticas.aciertos());
+		assertEquals(1, estadisticas.fallos());
+		assertEquals(3, estadisticas.entradas());
+	}
+
+	@Test
+	void testIndexaCarrerasPorCodigoYFacultad() {
+		Carrera sistemas = new Carrera(Facultad.INGENIERIA_SISTEMAS, "SIS", 10, 160);
+		when(carreraRepository.findByNombre(Facultad.INGENIERIA_SISTEMAS)).thenReturn(Optional.of(sistemas));
+
+		assertSame(sistemas, cache.carreraPorFacultad(Facultad.INGENIERIA_SISTEMAS).orElseThrow());
+		assertSame(sistemas, cache.carreraPorCodigo("SIS").orElseThrow());
+
+		verify(carreraRepository, never()).findById(anyString());
+	}
+
+	@Test
+	void testNoGuardaLasBusquedasSinResultado() {
+		when(materiaRepository.findByAcronimo("NADA")).thenReturn(Optional.empty());
+
+		assertTrue(cache.materiaPorAcronimo("NADA").isEmpty());
+		assertTrue(cache.materiaPorAcronimo("NADA").isEmpty());
+
+		verify(materiaRepository, times(2)).findByAcronimo("NADA");
+		assertEquals(0, cache.estadisticas().entradas());
+	}
+
+	@Test
+	void testNoSuperaElMaximoDeEntradas() {
+		cache = nuevaCache(4);
+		when(materiaRepository.findByAcronimo(anyString())).thenAnswer(inv -> {
+			String acronimo = inv.getArgument(0);
+			Materia materia = new Materia("Materia " + acronimo, acronimo, 3, Facultad.INGENIERIA_SISTEMAS);
+			materia.setId("ID-" + acronimo);
+			return Optional.of(materia);
+		});
+
+		for (int i = 0; i < 10; i++) {
+			cache.materiaPorAcronimo("M" + i);
+			assertTrue(cache.estadisticas().entradas() <= 4);
+		}
+		assertSame(cache.materiaPorAcronimo("M9").orElseThrow(), cache.materiaPorId("ID-M9").orElseThrow());
+	}
+
+	@Test
+	void testInvalidarVaciaLaCacheYAumentaLaVersion() {
+		when(materiaRepository.findByAcronimo("DOSW")).thenReturn(Optional.of(dosw));
+		when(secuenciaRepository.reservarBloque(CacheCatalogo.SECUENCIA_VERSION, 1)).thenReturn(1L);
+		cache.materiaPorAcronimo("DOSW");
+
+		cache.invalidar();
+
+		assertEquals(0, cache.estadisticas().entradas());
+		assertEquals(1, cache.estadisticas().version());
+		cache.materiaPorAcronimo("DOSW");
+		verify(materiaRepository, times(2)).findByAcronimo("DOSW");
+	}
+
+	@Test
+	void testOtraInstanciaSeVaciaAlDetectarUnaVersionNueva() {
+		when(materiaRepository.findByAcronimo("DOSW")).thenReturn(Optional.of(dosw));
+		cache.materiaPorAcronimo("DOSW");
+		when(secuenciaRepository.findById(CacheCatalogo.SECUENCIA_VERSION)).thenReturn(Optional.of(secuencia(7)));
+
+		reloj.addAndGet(VERIFICACION_MS - 1);
+		cache.materiaPorAcronimo("DOSW");
+		verify(materiaRepository, times(1)).findByAcronimo("DOSW");
+
+		reloj.incrementAndGet();
+		cache.materiaPorAcronimo("DOSW");
+		verify(materiaRepository, times(2)).findByAcronimo("DOSW");
+		assertEquals(7, cache.estadisticas().version());
+		verify(secuenciaRepository, times(2)).findById(CacheCatalogo.SECUENCIA_VERSION);
+	}
+
+	private CacheCatalogo nuevaCache(int maxEntradas) {
+		return new CacheCatalogo(materiaRepository, carreraRepository, secuenciaRepository, maxEntradas,
+				VERIFICACION_MS, reloj::get);
+	}
+
+	private static Secuencia secuencia(long valor) {
+		Secuencia secuencia = new Secuencia();
+		secuencia.setId(CacheCatalogo.SECUENCIA_VERSION);
+		secuencia.setValor(valor);
+		return secuencia;
+	}
+}
@@ -0,0 +1,95 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.PeriodoAcademico;
+import com.sirha.proyecto_sirha_dosw.model.support.RangoFechas;
+import com.sirha.proyecto_sirha_dosw.repository.PeriodoAcademicoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarioAcademicoServiceTest {
+
+	private static final RangoFechas POR_DEFECTO = new RangoFechas(LocalDate.of(2025, 7, 11), LocalDate.of(2025, 12, 17));
+
+	@Mock
+	private PeriodoAcademicoRepository periodoAcademicoRepository;
+
+	private CalendarioAcademicoService service;
+
+	@BeforeEach
+	void setUp() {
+		service = new CalendarioAcademicoService(periodoAcademicoRepository, "2025-07-11", "2025-12-17");
+	}
+
+	@Test
+	void testFacultadSinConfigurarUsaElCalendarioPorDefectoComoPlazo() {
+		when(periodoAcademicoRepository.findAll()).thenReturn(List.of());
+
+		assertEquals(POR_DEFECTO, service.calendario(Facultad.INGENIERIA_CIVIL));
+		assertEquals(POR_DEFECTO, service.plazoSolicitudes(Facultad.INGENIERIA_CIVIL));
+	}
+
+	@Test
+	void testCadaFacultadTieneSusPropiosRangos() {
+		PeriodoAcademico sistemas = periodo(Facultad.INGENIERIA_SISTEMAS, LocalDate.of(2026, 1, 20), LocalDate.of(2026, 5, 30));
+		sistemas.setInicioPlazoSolicitudes(LocalDate.of(2026, 1, 20));
+		sistemas.setFinPlazoSolicitudes(LocalDate.of(2026, 2, 3));
+		PeriodoAcademico civil = periodo(Facultad.INGENIERIA_CIVIL, LocalDate.of(2026, 2, 1), LocalDate.of(2026, 6, 15));
+		when(periodoAcademicoRepository.findAll()).thenReturn(List.of(sistemas, civil));
+
+		assertEquals(new RangoFechas(LocalDate.of(2026, 1, 20), LocalDate.of(2026, 2, 3)),
+				service.plazoSolicitudes(Facultad.INGENIERIA_SISTEMAS));
+		assertEquals(new RangoFechas(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 6, 15)),
+				service.plazoSolicitudes(Facultad.INGENIERIA_CIVIL));
+		assertEquals(POR_DEFECTO, service.calendario(Facultad.ADMINISTRACION));
+	}
+
+	@Test
+	void testLasConsultasSeSirvenDeLaInstantaneaHastaLaSiguienteRecarga() {
+		when(periodoAcademicoRepository.findAll())
+				.thenReturn(List.of())
+				.thenReturn(List.of(periodo(Facultad.INGENIERIA_SISTEMAS, LocalDate.of(2026, 1, 20), LocalDate.of(2026, 5, 30))));
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(POR_DEFECTO, service.calendario(Facultad.INGENIERIA_SISTEMAS));
+		}
+		verify(periodoAcademicoRepository, times(1)).findAll();
+
+		service.recargar();
+
+		assertEquals(LocalDate.of(2026, 1, 20), service.calendario(Facultad.INGENIERIA_SISTEMAS).fechaInicio());
+		verify(periodoAcademicoRepository, times(2)).findAll();
+	}
+
+	@Test
+	void testConfigurarGuardaYRecarga() {
+		RangoFechas calendario = new RangoFechas(LocalDate.of(2026, 1, 20), LocalDate.of(2026, 5, 30));
+		when(periodoAcademicoRepository.findAll()).thenReturn(List.of(
+				periodo(Facultad.INGENIERIA_SISTEMAS, calendario.fechaInicio(), calendario.fechaFin())));
+
+		service.configurarCalendario(Facultad.INGENIERIA_SISTEMAS, calendario);
+
+		verify(periodoAcademicoRepository).guardarCalendario(Facultad.INGENIERIA_SISTEMAS, calendario);
+		assertEquals(calendario, service.calendario(Facultad.INGENIERIA_SISTEMAS));
+		verify(periodoAcademicoRepository, times(1)).findAll();
+	}
+
+	private static PeriodoAcademico periodo(Facultad facultad, LocalDate inicio, LocalDate fin) {
+		PeriodoAcademico periodo = new PeriodoAcademico();
+		periodo.setId(PeriodoAcademico.idDe(facultad));
+		periodo.setFacultad(facultad);
+		periodo.setInicioCalendario(inicio);
+		periodo.setFinCalendario(fin);
+		return periodo;
+	}
+}
@@ -26,6 +26,9 @@ class CarreraServiceTest {
 	@Mock
 	private MateriaRepository materiaRepository;
 
+	@Mock
+	private CacheCatalogo cacheCatalogo;
+
 	@InjectMocks
 	private CarreraService carreraService;
 
@@ -43,6 +46,7 @@ class CarreraServiceTest {
 		Carrera result = carreraService.registrar(dto);
 		assertNotNull(result);
 		verify(carreraRepository).insert(any(Carrera.class));
+		verify(cacheCatalogo).invalidar();
 	}
 
 	@Test
@@ -0,0 +1,295 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.sirha.proyecto_sirha_dosw.dto.RespuestaSolicitudDTO;
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+import com.sirha.proyecto_sirha_dosw.model.*;
+import com.sirha.proyecto_sirha_dosw.model.support.RangoFechas;
+import com.sirha.proyecto_sirha_dosw.repository.CarreraRepository;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepository;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepositoryCustomImpl;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepositoryCustomImpl;
+import com.sirha.proyecto_sirha_dosw.repository.MateriaRepository;
+import com.sirha.proyecto_sirha_dosw.repository.PeriodoAcademicoRepository;
+import com.sirha.proyecto_sirha_dosw.repository.PeriodoAcademicoRepositoryCustomImpl;
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepositoryCustomImpl;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepositoryCustomImpl;
+import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
+import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepositoryCustomImpl;
+import com.sirha.proyecto_sirha_dosw.util.SolicitudUtil;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Pruebas de integración de la aprobación de solicitudes con repositorios reales.
+ * Por defecto corren contra el servidor MongoDB en memoria, que no admite transacciones, y
+ *          verifican que la reserva atómica de cupos impide que dos aprobaciones ocupen el último
+ *          cupo. Con {@code -Dsirha.test.mongo.replica-uri=mongodb://localhost:27017/?replicaSet=rs0}
+ *          corren contra un replica set de un nodo usando transacciones, y además se verifica que
+ *          una aprobación fallida no deja escrituras parciales.
+ */
+class DecanoServiceAprobacionIntegracionTest {
+
+	private static final String PROPIEDAD_REPLICA = "sirha.test.mongo.replica-uri";
+	private static final Facultad FACULTAD_ENUM = Facultad.INGENIERIA_SISTEMAS;
+	private static final String FACULTAD = FACULTAD_ENUM.name();
+	private static final int ESTUDIANTES = 8;
+
+	private MongoServer server;
+	private MongoClient client;
+	private MongoTemplate mongoTemplate;
+	private String baseDatos;
+	private MongoRepositoryFactory factory;
+	private EjecutorTransaccional ejecutor;
+	private SimpleMeterRegistry registry;
+	private DecanoService decanoService;
+
+	@BeforeEach
+	void setUp() {
+		String replica = System.getProperty(PROPIEDAD_REPLICA);
+		baseDatos = "sirha-test-" + UUID.randomUUID();
+		if (replica == null || replica.isBlank()) {
+			server = new MongoServer(new MemoryBackend());
+			client = MongoClients.create(server.bindAndGetConnectionString());
+			mongoTemplate = new MongoTemplate(client, baseDatos);
+			ejecutor = EjecutorTransaccional.sinTransacciones();
+		} else {
+			client = MongoClients.create(replica);
+			MongoDatabaseFactory databaseFactory = new SimpleMongoClientDatabaseFactory(client, baseDatos);
+			mongoTemplate = new MongoTemplate(databaseFactory);
+			// Las colecciones no pueden crearse implícitamente en todas las versiones dentro de una transacción
+			for (String coleccion : List.of("grupos", "usuarios", "solicitudes", "contadoresSolicitudes")) {
+				mongoTemplate.createCollection(coleccion);
+			}
+			ejecutor = new EjecutorTransaccional(new MongoTransactionManager(databaseFactory), 5, 10);
+		}
+
+		factory = new MongoRepositoryFactory(mongoTemplate);
+		registry = new SimpleMeterRegistry();
+		periodoAcademicoRepository().guardarCalendario(FACULTAD_ENUM,
+				new RangoFechas(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1)));
+		decanoService = crearServicio(usuarioRepository());
+		prepararDatos();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (server == null) {
+			client.getDatabase(baseDatos).drop();
+		}
+		client.close();
+		if (server != null) {
+			server.shutdown();
+		}
+	}
+
+	@Test
+	void testAprobacionesConcurrentesNoOcupanDosVecesElUltimoCupo() throws Exception {
+		List<Future<Boolean>> resultados = responderEnParalelo(
+				IntStream.range(0, ESTUDIANTES).mapToObj(i -> "S" + i).toList());
+
+		int aprobadas = 0;
+		for (Future<Boolean> resultado : resultados) {
+			if (resultado.get(30, TimeUnit.SECONDS)) {
+				aprobadas++;
+			}
+		}
+
+		assertEquals(1, aprobadas);
+		verificarConsistencia(1);
+		assertEquals(1.0, registry.get("sirha.solicitudes.transiciones")
+				.tag("desde", "pendiente").tag("hacia", "aprobada").counter().count());
+		assertEquals(1.0, registry.get("sirha.inscripciones").tag("origen", "solicitud").counter().count());
+	}
+
+	@Test
+	void testDosDecanosAprobandoLaMismaSolicitudSoloAplicanUna() throws Exception {
+		mongoTemplate.updateFirst(Query.query(Criteria.where("id").is("G2")),
+				new Update().set("capacidad", ESTUDIANTES), Grupo.class);
+
+		List<Future<Boolean>> resultados = responderEnParalelo(List.of("S0", "S0", "S0", "S0"));
+
+		int aprobadas = 0;
+		for (Future<Boolean> resultado : resultados) {
+			if (resultado.get(30, TimeUnit.SECONDS)) {
+				aprobadas++;
+			}
+		}
+
+		assertEquals(1, aprobadas);
+		verificarConsistencia(1);
+	}
+
+	@Test
+	@EnabledIfSystemProperty(named = PROPIEDAD_REPLICA, matches = ".+")
+	void testAprobacionFallidaNoDejaEscriturasParciales() {
+		// La última escritura falla después de reservar el cupo, liberar el origen y registrar la respuesta
+		UsuarioRepository usuarioRepository = mock(UsuarioRepository.class, delegatesTo(usuarioRepository()));
+		doThrow(new IllegalStateException("Fallo simulado")).when(usuarioRepository).save(any());
+		DecanoService servicio = crearServicio(usuarioRepository);
+
+		assertThrows(IllegalStateException.class, () -> servicio.responderSolicitud(respuesta("S0"), FACULTAD));
+
+		assertEquals(0, mongoTemplate.findById("G2", Grupo.class).getCantidadInscritos());
+		assertEquals(ESTUDIANTES, mongoTemplate.findById("G1", Grupo.class).getCantidadInscritos());
+		assertEquals(SolicitudEstado.PENDIENTE, mongoTemplate.findById("S0", Solicitud.class).getEstado());
+	}
+
+	private DecanoService crearServicio(UsuarioRepository usuarioRepository) {
+		GrupoRepository grupoRepository = factory.getRepository(GrupoRepository.class,
+				RepositoryFragments.just(new GrupoRepositoryCustomImpl(mongoTemplate)));
+		SolicitudRepository solicitudRepository = factory.getRepository(SolicitudRepository.class,
+				RepositoryFragments.just(new SolicitudRepositoryCustomImpl(mongoTemplate)));
+		ContadorSolicitudesRepository contadorRepository = factory.getRepository(ContadorSolicitudesRepository.class,
+				RepositoryFragments.just(new ContadorSolicitudesRepositoryCustomImpl(mongoTemplate)));
+		SecuenciaRepository secuenciaRepository = factory.getRepository(SecuenciaRepository.class,
+				RepositoryFragments.just(new SecuenciaRepositoryCustomImpl(mongoTemplate)));
+		MetricasSirha metricasSirha = new MetricasSirha(registry);
+		ListaEsperaService listaEsperaService = new ListaEsperaService(grupoRepository, usuarioRepository,
+				solicitudRepository, contadorRepository, new SolicitudUtil(secuenciaRepository, 100), metricasSirha);
+		CacheCatalogo cacheCatalogo = new CacheCatalogo(factory.getRepository(MateriaRepository.class),
+				factory.getRepository(CarreraRepository.class), secuenciaRepository, 100, 0);
+		return new DecanoService(usuarioRepository, solicitudRepository, grupoRepository,
+				cacheCatalogo, contadorRepository, listaEsperaService, ejecutor,
+				new CalendarioAcademicoService(periodoAcademicoRepository(), "2025-07-11", "2025-12-17"), metricasSirha);
+	}
+
+	private PeriodoAcademicoRepository periodoAcademicoRepository() {
+		return factory.getRepository(PeriodoAcademicoRepository.class,
+				RepositoryFragments.just(new PeriodoAcademicoRepositoryCustomImpl(mongoTemplate)));
+	}
+
+	private UsuarioRepository usuarioRepository() {
+		return factory.getRepository(UsuarioRepository.class,
+				RepositoryFragments.just(new UsuarioRepositoryCustomImpl(mongoTemplate)));
+	}
+
+	private List<Future<Boolean>> responderEnParalelo(List<String> solicitudes) {
+		ExecutorService executor = Executors.newFixedThreadPool(solicitudes.size());
+		CountDownLatch salida = new CountDownLatch(1);
+		List<Future<Boolean>> resultados = new ArrayList<>();
+		for (String solicitudId : solicitudes) {
+			resultados.add(executor.submit(() -> {
+				salida.await();
+				try {
+					decanoService.responderSolicitud(respuesta(solicitudId), FACULTAD);
+					return true;
+				} catch (SirhaException e) {
+					return false;
+				}
+			}));
+		}
+		salida.countDown();
+		executor.shutdown();
+		return resultados;
+	}
+
+	/**
+	 * Verifica que los grupos, los estudiantes y las solicitudes cuentan la misma historia.
+	 */
+	private void verificarConsistencia(int aprobadasEsperadas) {
+		Grupo origen = mongoTemplate.findById("G1", Grupo.class);
+		Grupo destino = mongoTemplate.findById("G2", Grupo.class);
+		List<Solicitud> aprobadas = mongoTemplate.findAll(Solicitud.class).stream()
+				.filter(solicitud -> solicitud.getEstado() == SolicitudEstado.APROBADA)
+				.toList();
+		assertEquals(aprobadasEsperadas, aprobadas.size());
+		assertEquals(aprobadasEsperadas, destino.getCantidadInscritos());
+		assertEquals(aprobadasEsperadas, destino.getEstudiantesId().size());
+		assertEquals(ESTUDIANTES - aprobadasEsperadas, origen.getCantidadInscritos());
+		assertEquals(ESTUDIANTES - aprobadasEsperadas, origen.getEstudiantesId().size());
+		for (Solicitud aprobada : aprobadas) {
+			String estudianteId = aprobada.getEstudianteId();
+			assertTrue(destino.getEstudiantesId().contains(estudianteId));
+			assertFalse(origen.getEstudiantesId().contains(estudianteId));
+			Estudiante estudiante = mongoTemplate.findById(estudianteId, Estudiante.class, "usuarios");
+			assertEquals(List.of("G2"), estudiante.getGrupos().stream().map(Grupo::getId).toList());
+		}
+		ContadorSolicitudes contador = mongoTemplate.findById(
+				ContadorSolicitudes.idDe(FACULTAD_ENUM, TipoSolicitud.CAMBIO_GRUPO), ContadorSolicitudes.class);
+		assertEquals(aprobadasEsperadas, contador.cantidad(SolicitudEstado.APROBADA));
+	}
+
+	private void prepararDatos() {
+		Materia materia = new Materia("Arquitectura", "ARQ101", 3, FACULTAD_ENUM);
+		Grupo origen = grupo("G1", materia, 30, Dia.LUNES);
+		Grupo destino = grupo("G2", materia, 1, Dia.MARTES);
+		for (int i = 0; i < ESTUDIANTES; i++) {
+			origen.addEstudiante("E" + i);
+		}
+		mongoTemplate.insert(origen);
+		mongoTemplate.insert(destino);
+		for (int i = 0; i < ESTUDIANTES; i++) {
+			Estudiante estudiante = new Estudiante("Nombre" + i, "Apellido" + i, "e" + i + "@test.com", "pass",
+					Rol.ESTUDIANTE, FACULTAD_ENUM);
+			estudiante.setId("E" + i);
+			Semestre semestre = new Semestre();
+			semestre.setNumero(1);
+			semestre.addRegistro(new RegistroMaterias(origen));
+			estudiante.setSemestres(new ArrayList<>(List.of(semestre)));
+			mongoTemplate.insert(estudiante, "usuarios");
+
+			Solicitud solicitud = new Solicitud();
+			solicitud.setId("S" + i);
+			solicitud.setEstudianteId("E" + i);
+			solicitud.setFacultad(FACULTAD_ENUM);
+			solicitud.setTipoSolicitud(TipoSolicitud.CAMBIO_GRUPO);
+			solicitud.setEstado(SolicitudEstado.PENDIENTE);
+			solicitud.setGrupoProblema(origen);
+			solicitud.setGrupoDestino(destino);
+			solicitud.setFechaCreacion(LocalDateTime.now().minusDays(1));
+			mongoTemplate.insert(solicitud);
+		}
+	}
+
+	private static Grupo grupo(String id, Materia materia, int capacidad, Dia dia) {
+		Horario horario = new Horario();
+		horario.setDia(dia);
+		horario.setHoraInicio(LocalTime.of(7, 0));
+		horario.setHoraFin(LocalTime.of(8, 30));
+		Grupo grupo = new Grupo(materia, capacidad, new ArrayList<>(List.of(horario)));
+		grupo.setId(id);
+		return grupo;
+	}
+
+	private static RespuestaSolicitudDTO respuesta(String solicitudId) {
+		return new RespuestaSolicitudDTO(solicitudId, SolicitudEstado.APROBADA, "OK", "DEC1");
+	}
+}
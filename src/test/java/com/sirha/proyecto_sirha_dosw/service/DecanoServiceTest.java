@@ -6,13 +6,14 @@ import com.sirha.proyecto_sirha_dosw.dto.EstudianteBasicoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.MonitoreoGrupoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.PlazoSolicitudesDTO;
 import com.sirha.proyecto_sirha_dosw.dto.RespuestaSolicitudDTO;
+import com.sirha.proyecto_sirha_dosw.dto.UsuarioResumenDTO;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
-import com.sirha.proyecto_sirha_dosw.model.CalendarioAcademico;
 import com.sirha.proyecto_sirha_dosw.model.Estudiante;
+import com.sirha.proyecto_sirha_dosw.model.Dia;
 import com.sirha.proyecto_sirha_dosw.model.Facultad;
 import com.sirha.proyecto_sirha_dosw.model.Grupo;
+import com.sirha.proyecto_sirha_dosw.model.Horario;
 import com.sirha.proyecto_sirha_dosw.model.Materia;
-import com.sirha.proyecto_sirha_dosw.model.PlazoSolicitudes;
 import com.sirha.proyecto_sirha_dosw.model.Profesor;
 import com.sirha.proyecto_sirha_dosw.model.RegistroMaterias;
 import com.sirha.proyecto_sirha_dosw.model.Rol;
@@ -20,19 +21,25 @@ import com.sirha.proyecto_sirha_dosw.model.Semaforo;
 import com.sirha.proyecto_sirha_dosw.model.Semestre;
 import com.sirha.proyecto_sirha_dosw.model.Solicitud;
 import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
+import com.sirha.proyecto_sirha_dosw.model.support.RangoFechas;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepository;
 import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
-import com.sirha.proyecto_sirha_dosw.repository.MateriaRepository;
 import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepositoryCustom.ConteoSolicitudes;
 import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -56,7 +63,17 @@ class DecanoServiceTest {
 	@Mock
 	private GrupoRepository grupoRepository;
 	@Mock
-	private MateriaRepository materiaRepository;
+	private CacheCatalogo cacheCatalogo;
+	@Mock
+	private ContadorSolicitudesRepository contadorSolicitudesRepository;
+	@Mock
+	private ListaEsperaService listaEsperaService;
+	@Spy
+	private EjecutorTransaccional ejecutorTransaccional = EjecutorTransaccional.sinTransacciones();
+	@Mock
+	private CalendarioAcademicoService calendarioAcademicoService;
+	@Mock
+	private MetricasSirha metricasSirha;
 
 	@InjectMocks
 	private DecanoService decanoService;
@@ -73,9 +90,9 @@ class DecanoServiceTest {
 
 	@Test
 	void testFindEstudiantesByFacultad() {
-		List<com.sirha.proyecto_sirha_dosw.model.Usuario> estudiantes = List.of(mock(com.sirha.proyecto_sirha_dosw.model.Usuario.class));
-		when(usuarioRepository.findByFacultadAndRol(FACULTAD_ENUM, Rol.ESTUDIANTE)).thenReturn(estudiantes);
-		List<com.sirha.proyecto_sirha_dosw.model.Usuario> result = decanoService.findEstudiantesByFacultad(FACULTAD);
+		List<UsuarioResumenDTO> estudiantes = List.of(new UsuarioResumenDTO());
+		when(usuarioRepository.buscarResumenes(null, null, Rol.ESTUDIANTE, FACULTAD_ENUM)).thenReturn(estudiantes);
+		List<UsuarioResumenDTO> result = decanoService.findEstudiantesByFacultad(FACULTAD);
 		assertEquals(1, result.size());
 	}
 
@@ -95,22 +112,22 @@ class DecanoServiceTest {
 
 	@Test
 	void testFindEstudiantesByNombreAndFacultad() {
-		List<com.sirha.proyecto_sirha_dosw.model.Usuario> estudiantes = List.of(mock(com.sirha.proyecto_sirha_dosw.model.Usuario.class));
-		when(usuarioRepository.findByNombreAndFacultadAndRol("Juan", FACULTAD_ENUM, Rol.ESTUDIANTE)).thenReturn(estudiantes);
+		List<UsuarioResumenDTO> estudiantes = List.of(new UsuarioResumenDTO());
+		when(usuarioRepository.buscarResumenes("Juan", null, Rol.ESTUDIANTE, FACULTAD_ENUM)).thenReturn(estudiantes);
 		assertEquals(1, decanoService.findEstudiantesByNombreAndFacultad("Juan", FACULTAD).size());
 	}
 
 	@Test
 	void testFindEstudiantesByApellidoAndFacultad() {
-		List<com.sirha.proyecto_sirha_dosw.model.Usuario> estudiantes = List.of(mock(com.sirha.proyecto_sirha_dosw.model.Usuario.class));
-		when(usuarioRepository.findByApellidoAndFacultadAndRol("Perez", FACULTAD_ENUM, Rol.ESTUDIANTE)).thenReturn(estudiantes);
+		List<UsuarioResumenDTO> estudiantes = List.of(new UsuarioResumenDTO());
+		when(usuarioRepository.buscarResumenes(null, "Perez", Rol.ESTUDIANTE, FACULTAD_ENUM)).thenReturn(estudiantes);
 		assertEquals(1, decanoService.findEstudiantesByApellidoAndFacultad("Perez", FACULTAD).size());
 	}
 
 	@Test
 	void testFindEstudiantesByNombreApellidoAndFacultad() {
-		List<com.sirha.proyecto_sirha_dosw.model.Usuario> estudiantes = List.of(mock(com.sirha.proyecto_sirha_dosw.model.Usuario.class));
-		when(usuarioRepository.findByNombreAndApellidoAndFacultadAndRol("Ana", "Lopez", FACULTAD_ENUM, Rol.ESTUDIANTE)).thenReturn(estudiantes);
+		List<UsuarioResumenDTO> estudiantes = List.of(new UsuarioResumenDTO());
+		when(usuarioRepository.buscarResumenes("Ana", "Lopez", Rol.ESTUDIANTE, FACULTAD_ENUM)).thenReturn(estudiantes);
 		assertEquals(1, decanoService.findEstudiantesByNombreApellidoAndFacultad("Ana", "Lopez", FACULTAD).size());
 	}
 
@@ -121,6 +138,30 @@ class DecanoServiceTest {
 		assertEquals(1, decanoService.consultarSolicitudesPorFacultad(FACULTAD_ENUM).size());
 	}
 
+	@Test
+	void testConsultarSolicitudDeFacultad() {
+		Solicitud solicitud = new Solicitud();
+		when(solicitudRepository.findByIdAndFacultad("S1", FACULTAD_ENUM)).thenReturn(Optional.of(solicitud));
+		assertEquals(Optional.of(solicitud), decanoService.consultarSolicitudDeFacultad("S1", FACULTAD_ENUM));
+		verify(solicitudRepository, never()).findByFacultad(any());
+	}
+
+	@Test
+	void testContarSolicitudesPorEstadoAgrupaTiposYCompletaEstados() {
+		when(solicitudRepository.contarPorFacultadTipoYEstado(FACULTAD_ENUM, null)).thenReturn(List.of(
+				new ConteoSolicitudes(FACULTAD_ENUM, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 3),
+				new ConteoSolicitudes(FACULTAD_ENUM, TipoSolicitud.INSCRIPCION_GRUPO, SolicitudEstado.PENDIENTE, 2),
+				new ConteoSolicitudes(FACULTAD_ENUM, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.APROBADA, 4)));
+
+		Map<SolicitudEstado, Long> conteos = decanoService.contarSolicitudesPorEstado(FACULTAD_ENUM);
+
+		assertEquals(5L, conteos.get(SolicitudEstado.PENDIENTE));
+		assertEquals(4L, conteos.get(SolicitudEstado.APROBADA));
+		assertEquals(0L, conteos.get(SolicitudEstado.RECHAZADA));
+		assertEquals(0L, conteos.get(SolicitudEstado.EN_REVISION));
+		verify(solicitudRepository, never()).findByFacultad(any());
+	}
+
 	@Test
 	void testConsultarSolicitudesPendientesPorFacultad() {
 		List<Solicitud> solicitudes = List.of(new Solicitud());
@@ -237,7 +278,7 @@ class DecanoServiceTest {
 
 	@Test
 	void testConsultarDisponibilidadGruposExitoso() throws SirhaException {
-		when(materiaRepository.findByAcronimo("ARQ101")).thenReturn(Optional.of(materiaBase));
+		when(cacheCatalogo.materiaPorAcronimo("ARQ101")).thenReturn(Optional.of(materiaBase));
 		when(grupoRepository.findByMateria_Id("MAT1")).thenReturn(List.of(grupoBase));
 		List<DisponibilidadGrupoDTO> dtos = decanoService.consultarDisponibilidadGrupos("ARQ101", FACULTAD);
 		assertEquals(1, dtos.size());
@@ -246,14 +287,14 @@ class DecanoServiceTest {
 
 	@Test
 	void testConsultarDisponibilidadGruposMateriaNoEncontrada() {
-		when(materiaRepository.findByAcronimo("ARQ101")).thenReturn(Optional.empty());
+		when(cacheCatalogo.materiaPorAcronimo("ARQ101")).thenReturn(Optional.empty());
 		SirhaException ex = assertThrows(SirhaException.class, () -> decanoService.consultarDisponibilidadGrupos("ARQ101", FACULTAD));
 		assertTrue(ex.getMessage().contains("Materia no encontrada"));
 	}
 
 	@Test
 	void testConsultarDisponibilidadGruposSinGrupos() {
-		when(materiaRepository.findByAcronimo("ARQ101")).thenReturn(Optional.of(materiaBase));
+		when(cacheCatalogo.materiaPorAcronimo("ARQ101")).thenReturn(Optional.of(materiaBase));
 		when(grupoRepository.findByMateria_Id("MAT1")).thenReturn(List.of());
 		SirhaException ex = assertThrows(SirhaException.class, () -> decanoService.consultarDisponibilidadGrupos("ARQ101", FACULTAD));
 		assertTrue(ex.getMessage().contains("No se encontraron grupos"));
@@ -272,17 +313,71 @@ class DecanoServiceTest {
 		Grupo grupoDestino = buildGrupo("GRP2", materiaBase, 30, List.of());
 		Solicitud solicitud = buildSolicitud("SOL1", grupoBase, grupoDestino);
 		when(solicitudRepository.findById("SOL1")).thenReturn(Optional.of(solicitud));
-		when(solicitudRepository.save(any(Solicitud.class))).thenAnswer(inv -> inv.getArgument(0));
-		when(grupoRepository.save(any(Grupo.class))).thenAnswer(inv -> inv.getArgument(0));
-		try (AutoCloseable ignored = overrideCalendario(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1))) {
-			RespuestaSolicitudDTO respuesta = new RespuestaSolicitudDTO();
-			respuesta.setSolicitudId("SOL1");
-			respuesta.setNuevoEstado(SolicitudEstado.APROBADA);
-			respuesta.setObservacionesRespuesta("OK");
-			assertDoesNotThrow(() -> decanoService.responderSolicitud(respuesta, FACULTAD));
-		}
-		verify(grupoRepository, atLeastOnce()).save(any(Grupo.class));
+		when(solicitudRepository.registrarRespuesta(solicitud, SolicitudEstado.PENDIENTE)).thenReturn(true);
+		when(grupoRepository.reservarCupo("GRP2", "EST1")).thenReturn(Optional.of(grupoDestino));
+		ListaEsperaService.Promociones promociones = new ListaEsperaService.Promociones(1, List.of(SolicitudEstado.PENDIENTE));
+		when(listaEsperaService.liberarCupoEnTransaccion("GRP1", "EST1")).thenReturn(promociones);
+		stubCalendario(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1));
+		RespuestaSolicitudDTO respuesta = new RespuestaSolicitudDTO();
+		respuesta.setSolicitudId("SOL1");
+		respuesta.setNuevoEstado(SolicitudEstado.APROBADA);
+		respuesta.setObservacionesRespuesta("OK");
+		assertDoesNotThrow(() -> decanoService.responderSolicitud(respuesta, FACULTAD));
+		verify(grupoRepository).reservarCupo("GRP2", "EST1");
+		// Las promociones de la lista de espera se registran después de la transacción
+		InOrder orden = inOrder(ejecutorTransaccional, listaEsperaService);
+		orden.verify(ejecutorTransaccional).ejecutar(any());
+		orden.verify(listaEsperaService).registrarPromociones(promociones);
+		verify(listaEsperaService, never()).liberarCupo(anyString(), anyString());
+		verify(grupoRepository, never()).save(any(Grupo.class));
 		verify(usuarioRepository, atLeastOnce()).save(any(Estudiante.class));
+		verify(contadorSolicitudesRepository).registrarTransicion(FACULTAD_ENUM, solicitud.getTipoSolicitud(),
+				SolicitudEstado.PENDIENTE, SolicitudEstado.APROBADA);
+		verify(metricasSirha).registrarTransicionSolicitud(SolicitudEstado.PENDIENTE, SolicitudEstado.APROBADA);
+		verify(metricasSirha).registrarInscripcion(MetricasSirha.OrigenInscripcion.SOLICITUD);
+	}
+
+	@Test
+	void testResponderSolicitudAprobadaSinCupoAlReservar() throws Exception {
+		Estudiante estudiante = buildEstudiante("EST1", FACULTAD_ENUM, grupoBase);
+		when(usuarioRepository.findById("EST1")).thenReturn(Optional.of(estudiante));
+		Grupo grupoDestino = buildGrupo("GRP2", materiaBase, 30, List.of());
+		Solicitud solicitud = buildSolicitud("SOL1", grupoBase, grupoDestino);
+		when(solicitudRepository.findById("SOL1")).thenReturn(Optional.of(solicitud));
+		when(grupoRepository.reservarCupo("GRP2", "EST1")).thenReturn(Optional.empty());
+		stubCalendario(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1));
+		RespuestaSolicitudDTO respuesta = new RespuestaSolicitudDTO();
+		respuesta.setSolicitudId("SOL1");
+		respuesta.setNuevoEstado(SolicitudEstado.APROBADA);
+		SirhaException ex = assertThrows(SirhaException.class, () -> decanoService.responderSolicitud(respuesta, FACULTAD));
+		assertTrue(ex.getMessage().contains("ya está lleno"));
+		assertEquals(SolicitudEstado.PENDIENTE, solicitud.getEstado());
+		verify(listaEsperaService, never()).liberarCupoEnTransaccion(anyString(), anyString());
+		verify(solicitudRepository, never()).registrarRespuesta(any(), any());
+		verifyNoInteractions(contadorSolicitudesRepository);
+	}
+
+	@Test
+	void testResponderSolicitudRespondidaPorOtroDecanoDevuelveElCupo() throws Exception {
+		Estudiante estudiante = buildEstudiante("EST1", FACULTAD_ENUM, grupoBase);
+		when(usuarioRepository.findById("EST1")).thenReturn(Optional.of(estudiante));
+		Grupo grupoDestino = buildGrupo("GRP2", materiaBase, 30, List.of());
+		Solicitud solicitud = buildSolicitud("SOL1", grupoBase, grupoDestino);
+		when(solicitudRepository.findById("SOL1")).thenReturn(Optional.of(solicitud));
+		when(grupoRepository.reservarCupo("GRP2", "EST1")).thenReturn(Optional.of(grupoDestino));
+		when(solicitudRepository.registrarRespuesta(solicitud, SolicitudEstado.PENDIENTE)).thenReturn(false);
+		stubCalendario(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1));
+		RespuestaSolicitudDTO respuesta = new RespuestaSolicitudDTO();
+		respuesta.setSolicitudId("SOL1");
+		respuesta.setNuevoEstado(SolicitudEstado.APROBADA);
+		SirhaException ex = assertThrows(SirhaException.class, () -> decanoService.responderSolicitud(respuesta, FACULTAD));
+		assertEquals(DecanoService.SOLO_PENDIENTES, ex.getMessage());
+		assertEquals(SolicitudEstado.PENDIENTE, solicitud.getEstado());
+		verify(listaEsperaService).liberarCupoEnTransaccion("GRP2", "EST1");
+		verify(listaEsperaService, never()).liberarCupoEnTransaccion("GRP1", "EST1");
+		verify(listaEsperaService, never()).registrarPromociones(any());
+		verify(usuarioRepository, never()).save(any());
+		verifyNoInteractions(contadorSolicitudesRepository, metricasSirha);
 	}
 
 	@Test
@@ -323,19 +418,23 @@ class DecanoServiceTest {
 	void testResponderSolicitudRechazada() throws SirhaException {
 		Solicitud solicitud = buildSolicitud("SOL1", grupoBase, null);
 		when(solicitudRepository.findById("SOL1")).thenReturn(Optional.of(solicitud));
-		when(solicitudRepository.save(any(Solicitud.class))).thenAnswer(inv -> inv.getArgument(0));
+		when(solicitudRepository.registrarRespuesta(solicitud, SolicitudEstado.PENDIENTE)).thenReturn(true);
 		RespuestaSolicitudDTO respuesta = new RespuestaSolicitudDTO();
 		respuesta.setSolicitudId("SOL1");
 		respuesta.setNuevoEstado(SolicitudEstado.RECHAZADA);
 		decanoService.responderSolicitud(respuesta, FACULTAD);
 		assertEquals(SolicitudEstado.RECHAZADA, solicitud.getEstado());
+		verify(contadorSolicitudesRepository).registrarTransicion(FACULTAD_ENUM, solicitud.getTipoSolicitud(),
+				SolicitudEstado.PENDIENTE, SolicitudEstado.RECHAZADA);
+		verify(metricasSirha).registrarTransicionSolicitud(SolicitudEstado.PENDIENTE, SolicitudEstado.RECHAZADA);
+		verify(metricasSirha, never()).registrarInscripcion(any());
 	}
 
 	@Test
 	void testResponderSolicitudEnRevision() throws SirhaException {
 		Solicitud solicitud = buildSolicitud("SOL1", grupoBase, null);
 		when(solicitudRepository.findById("SOL1")).thenReturn(Optional.of(solicitud));
-		when(solicitudRepository.save(any(Solicitud.class))).thenAnswer(inv -> inv.getArgument(0));
+		when(solicitudRepository.registrarRespuesta(solicitud, SolicitudEstado.PENDIENTE)).thenReturn(true);
 		RespuestaSolicitudDTO respuesta = new RespuestaSolicitudDTO();
 		respuesta.setSolicitudId("SOL1");
 		respuesta.setNuevoEstado(SolicitudEstado.EN_REVISION);
@@ -361,12 +460,9 @@ class DecanoServiceTest {
 		RespuestaSolicitudDTO respuesta = new RespuestaSolicitudDTO();
 		respuesta.setSolicitudId("SOL1");
 		respuesta.setNuevoEstado(SolicitudEstado.APROBADA);
-		try (AutoCloseable ignored = overrideCalendario(LocalDate.now().plusDays(5), LocalDate.now().plusDays(10))) {
-			SirhaException ex = assertThrows(SirhaException.class, () -> decanoService.responderSolicitud(respuesta, FACULTAD));
-			assertTrue(ex.getMessage().contains("fuera del calendario"));
-		} catch (Exception e) {
-			fail(e);
-		}
+		stubCalendario(LocalDate.now().plusDays(5), LocalDate.now().plusDays(10));
+		SirhaException ex = assertThrows(SirhaException.class, () -> decanoService.responderSolicitud(respuesta, FACULTAD));
+		assertTrue(ex.getMessage().contains("fuera del calendario"));
 	}
 
 	@Test
@@ -378,12 +474,9 @@ class DecanoServiceTest {
 		RespuestaSolicitudDTO respuesta = new RespuestaSolicitudDTO();
 		respuesta.setSolicitudId("SOL1");
 		respuesta.setNuevoEstado(SolicitudEstado.APROBADA);
-		try (AutoCloseable ignored = overrideCalendario(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1))) {
-			SirhaException ex = assertThrows(SirhaException.class, () -> decanoService.responderSolicitud(respuesta, FACULTAD));
-			assertTrue(ex.getMessage().contains("ya está lleno"));
-		} catch (Exception e) {
-			fail(e);
-		}
+		stubCalendario(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1));
+		SirhaException ex = assertThrows(SirhaException.class, () -> decanoService.responderSolicitud(respuesta, FACULTAD));
+		assertTrue(ex.getMessage().contains("ya está lleno"));
 	}
 
 	@Test
@@ -394,42 +487,37 @@ class DecanoServiceTest {
 		RespuestaSolicitudDTO respuesta = new RespuestaSolicitudDTO();
 		respuesta.setSolicitudId("SOL1");
 		respuesta.setNuevoEstado(SolicitudEstado.APROBADA);
-		try (AutoCloseable ignored = overrideCalendario(LocalDate.now().minusDays(2), LocalDate.now().plusDays(2))) {
-			SirhaException ex = assertThrows(SirhaException.class, () -> decanoService.responderSolicitud(respuesta, FACULTAD));
-			assertTrue(ex.getMessage().contains("ha vencido"));
-		} catch (Exception e) {
-			fail(e);
-		}
+		stubCalendario(LocalDate.now().minusDays(2), LocalDate.now().plusDays(2));
+		SirhaException ex = assertThrows(SirhaException.class, () -> decanoService.responderSolicitud(respuesta, FACULTAD));
+		assertTrue(ex.getMessage().contains("ha vencido"));
 	}
 
 	@Test
 	void testResponderSolicitudAprobadaCruceHorarios() {
-		Grupo grupoDestino = spy(buildGrupo("GRP2", materiaBase, 30, List.of()));
-		when(grupoDestino.isEstaCompleto()).thenReturn(false);
-		when(grupoDestino.tieneCruceDeHorario(any())).thenReturn(true);
-		Estudiante estudiante = spy(buildEstudiante("EST1", FACULTAD_ENUM, grupoBase));
-		when(estudiante.getGruposExcluyendo(any())).thenReturn(List.of(grupoBase));
+		Grupo grupoDestino = buildGrupo("GRP2", materiaBase, 30, List.of());
+		grupoDestino.setHorarios(List.of(horario(Dia.LUNES, 8, 0, 9, 30)));
+		Grupo grupoOtraMateria = buildGrupo("GRP3", new Materia("Calculo", "CAL101", 4, FACULTAD_ENUM), 30, List.of("EST1"));
+		grupoOtraMateria.setHorarios(List.of(horario(Dia.LUNES, 7, 0, 8, 30)));
+		Estudiante estudiante = buildEstudiante("EST1", FACULTAD_ENUM, grupoBase);
+		estudiante.addGrupo(grupoOtraMateria);
 		when(usuarioRepository.findById("EST1")).thenReturn(Optional.of(estudiante));
 		Solicitud solicitud = buildSolicitud("SOL1", grupoBase, grupoDestino);
 		when(solicitudRepository.findById("SOL1")).thenReturn(Optional.of(solicitud));
 		RespuestaSolicitudDTO respuesta = new RespuestaSolicitudDTO();
 		respuesta.setSolicitudId("SOL1");
 		respuesta.setNuevoEstado(SolicitudEstado.APROBADA);
-		try (AutoCloseable ignored = overrideCalendario(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1))) {
-			SirhaException ex = assertThrows(SirhaException.class, () -> decanoService.responderSolicitud(respuesta, FACULTAD));
-			assertTrue(ex.getMessage().contains("cruce de horarios"));
-		} catch (Exception e) {
-			fail(e);
-		}
+		stubCalendario(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1));
+		SirhaException ex = assertThrows(SirhaException.class, () -> decanoService.responderSolicitud(respuesta, FACULTAD));
+		assertTrue(ex.getMessage().contains("cruce de horarios"));
+		assertTrue(ex.getMessage().contains("Calculo"));
 	}
 
 	@Test
 	void testConfigurarCalendarioAcademicoExitoso() throws Exception {
 		CalendarioAcademicoDTO dto = new CalendarioAcademicoDTO(LocalDate.now(), LocalDate.now().plusDays(5));
-		try (AutoCloseable ignored = overrideCalendario(LocalDate.now().minusDays(10), LocalDate.now().minusDays(5))) {
-			decanoService.configurarCalendarioAcademico(dto, FACULTAD);
-			assertEquals(dto.getFechaInicio(), CalendarioAcademico.INSTANCIA.getFechaInicio());
-		}
+		decanoService.configurarCalendarioAcademico(dto, FACULTAD);
+		verify(calendarioAcademicoService).configurarCalendario(FACULTAD_ENUM,
+				new RangoFechas(dto.getFechaInicio(), dto.getFechaFin()));
 	}
 
 	@Test
@@ -441,12 +529,11 @@ class DecanoServiceTest {
 
 	@Test
 	void testConfigurarPlazoSolicitudesExitoso() throws Exception {
-		try (AutoCloseable calendario = overrideCalendario(LocalDate.now().minusDays(5), LocalDate.now().plusDays(10));
-		     AutoCloseable plazo = overridePlazo(LocalDate.now(), LocalDate.now())) {
-			PlazoSolicitudesDTO dto = new PlazoSolicitudesDTO(LocalDate.now(), LocalDate.now().plusDays(3));
-			decanoService.configurarPlazoSolicitudes(dto, FACULTAD);
-			assertEquals(dto.getFechaFin(), PlazoSolicitudes.INSTANCIA.getFechaFin());
-		}
+		stubCalendario(LocalDate.now().minusDays(5), LocalDate.now().plusDays(10));
+		PlazoSolicitudesDTO dto = new PlazoSolicitudesDTO(LocalDate.now(), LocalDate.now().plusDays(3));
+		decanoService.configurarPlazoSolicitudes(dto, FACULTAD);
+		verify(calendarioAcademicoService).configurarPlazoSolicitudes(FACULTAD_ENUM,
+				new RangoFechas(dto.getFechaInicio(), dto.getFechaFin()));
 	}
 
 	@Test
@@ -458,37 +545,38 @@ class DecanoServiceTest {
 
 	@Test
 	void testConfigurarPlazoSolicitudesFueraCalendario() throws Exception {
-		try (AutoCloseable ignored = overrideCalendario(LocalDate.now().minusDays(10), LocalDate.now().minusDays(5))) {
-			PlazoSolicitudesDTO dto = new PlazoSolicitudesDTO(LocalDate.now(), LocalDate.now().plusDays(2));
-			SirhaException ex = assertThrows(SirhaException.class, () -> decanoService.configurarPlazoSolicitudes(dto, FACULTAD));
-			assertTrue(ex.getMessage().contains("dentro del calendario"));
-		}
+		stubCalendario(LocalDate.now().minusDays(10), LocalDate.now().minusDays(5));
+		PlazoSolicitudesDTO dto = new PlazoSolicitudesDTO(LocalDate.now(), LocalDate.now().plusDays(2));
+		SirhaException ex = assertThrows(SirhaException.class, () -> decanoService.configurarPlazoSolicitudes(dto, FACULTAD));
+		assertTrue(ex.getMessage().contains("dentro del calendario"));
+		verify(calendarioAcademicoService, never()).configurarPlazoSolicitudes(any(), any());
 	}
 
 	@Test
 	void testObtenerCalendarioAcademico() throws SirhaException {
+		stubCalendario(LocalDate.of(2026, 1, 20), LocalDate.of(2026, 5, 30));
 		CalendarioAcademicoDTO dto = decanoService.obtenerCalendarioAcademico(FACULTAD);
-		assertNotNull(dto.getFechaInicio());
+		assertEquals(LocalDate.of(2026, 1, 20), dto.getFechaInicio());
+		assertEquals(LocalDate.of(2026, 5, 30), dto.getFechaFin());
 	}
 
 	@Test
 	void testObtenerPlazoSolicitudes() throws SirhaException {
+		stubPlazo(LocalDate.of(2026, 1, 20), LocalDate.of(2026, 2, 5));
 		PlazoSolicitudesDTO dto = decanoService.obtenerPlazoSolicitudes(FACULTAD);
-		assertNotNull(dto.getFechaFin());
+		assertEquals(LocalDate.of(2026, 2, 5), dto.getFechaFin());
 	}
 
 	@Test
 	void testEsPlazoSolicitudesActivo() throws Exception {
-		try (AutoCloseable ignored = overridePlazo(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1))) {
-			assertTrue(decanoService.esPlazoSolicitudesActivo(FACULTAD));
-		}
+		stubPlazo(LocalDate.now().minusDays(1), LocalDate.now().plusDays(1));
+		assertTrue(decanoService.esPlazoSolicitudesActivo(FACULTAD));
 	}
 
 	@Test
 	void testEsPlazoSolicitudesNoActivo() throws Exception {
-		try (AutoCloseable ignored = overridePlazo(LocalDate.now().minusDays(5), LocalDate.now().minusDays(1))) {
-			assertFalse(decanoService.esPlazoSolicitudesActivo(FACULTAD));
-		}
+		stubPlazo(LocalDate.now().minusDays(5), LocalDate.now().minusDays(1));
+		assertFalse(decanoService.esPlazoSolicitudesActivo(FACULTAD));
 	}
 
 	@Test
@@ -553,6 +641,14 @@ class DecanoServiceTest {
 		return grupo;
 	}
 
+	private Horario horario(Dia dia, int horaInicio, int minutoInicio, int horaFin, int minutoFin) {
+		Horario horario = new Horario();
+		horario.setDia(dia);
+		horario.setHoraInicio(LocalTime.of(horaInicio, minutoInicio));
+		horario.setHoraFin(LocalTime.of(horaFin, minutoFin));
+		return horario;
+	}
+
 	private Estudiante buildEstudiante(String id, Facultad facultad, Grupo grupo) {
 		Estudiante estudiante = new Estudiante();
 		estudiante.setId(id);
@@ -579,27 +675,11 @@ class DecanoServiceTest {
 		return solicitud;
 	}
 
-	private AutoCloseable overrideCalendario(LocalDate inicio, LocalDate fin) {
-		CalendarioAcademico calendario = CalendarioAcademico.INSTANCIA;
-		LocalDate originalInicio = calendario.getFechaInicio();
-		LocalDate originalFin = calendario.getFechaFin();
-		calendario.setFechaInicio(inicio);
-		calendario.setFechaFin(fin);
-		return () -> {
-			calendario.setFechaInicio(originalInicio);
-			calendario.setFechaFin(originalFin);
-		};
-	}
-
-	private AutoCloseable overridePlazo(LocalDate inicio, LocalDate fin) {
-		PlazoSolicitudes plazo = PlazoSolicitudes.INSTANCIA;
-		LocalDate originalInicio = plazo.getFechaInicio();
-		LocalDate originalFin = plazo.getFechaFin();
-		plazo.setFechaInicio(inicio);
-		plazo.setFechaFin(fin);
-		return () -> {
-			plazo.setFechaInicio(originalInicio);
-			plazo.setFechaFin(originalFin);
-		};
+	private void stubCalendario(LocalDate inicio, LocalDate fin) {
+		when(calendarioAcademicoService.calendario(FACULTAD_ENUM)).thenReturn(new RangoFechas(inicio, fin));
+	}
+
+	private void stubPlazo(LocalDate inicio, LocalDate fin) {
+		when(calendarioAcademicoService.plazoSolicitudes(FACULTAD_ENUM)).thenReturn(new RangoFechas(inicio, fin));
 	}
 }
@@ -0,0 +1,108 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.mongodb.MongoException;
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EjecutorTransaccionalTest {
+
+	@Mock
+	private PlatformTransactionManager gestor;
+
+	private EjecutorTransaccional ejecutor;
+
+	@BeforeEach
+	void setUp() {
+		lenient().when(gestor.getTransaction(any())).thenAnswer(inv -> new SimpleTransactionStatus());
+		ejecutor = new EjecutorTransaccional(gestor, 3, 0);
+	}
+
+	@Test
+	void testReintentaLaTransaccionAnteErroresTransitorios() throws SirhaException {
+		AtomicInteger intentos = new AtomicInteger();
+
+		String resultado = ejecutor.ejecutar(() -> {
+			if (intentos.incrementAndGet() < 3) {
+				throw conflictoDeEscritura();
+			}
+			return "ok";
+		});
+
+		assertEquals("ok", resultado);
+		assertEquals(3, intentos.get());
+		verify(gestor, times(2)).rollback(any());
+		verify(gestor).commit(any());
+	}
+
+	@Test
+	void testAbandonaTrasElMaximoDeIntentos() {
+		AtomicInteger intentos = new AtomicInteger();
+
+		assertThrows(UncategorizedMongoDbException.class, () -> ejecutor.ejecutar(() -> {
+			intentos.incrementAndGet();
+			throw conflictoDeEscritura();
+		}));
+
+		assertEquals(3, intentos.get());
+		verify(gestor, never()).commit(any());
+	}
+
+	@Test
+	void testErrorDeNegocioDeshaceSinReintentar() {
+		SirhaException rechazo = new SirhaException("El grupo destino ya está lleno");
+		AtomicInteger intentos = new AtomicInteger();
+
+		SirhaException lanzada = assertThrows(SirhaException.class, () -> ejecutor.ejecutar(() -> {
+			intentos.incrementAndGet();
+			throw rechazo;
+		}));
+
+		assertSame(rechazo, lanzada);
+		assertEquals(1, intentos.get());
+		verify(gestor).rollback(any());
+	}
+
+	@Test
+	void testErrorNoTransitorioNoSeReintenta() {
+		AtomicInteger intentos = new AtomicInteger();
+
+		assertThrows(IllegalStateException.class, () -> ejecutor.ejecutar(() -> {
+			intentos.incrementAndGet();
+			throw new IllegalStateException("Fallo");
+		}));
+
+		assertEquals(1, intentos.get());
+		assertFalse(EjecutorTransaccional.esTransitorio(new MongoException(11000, "Duplicado")));
+	}
+
+	@Test
+	void testSinTransaccionesEjecutaDirectamente() throws SirhaException {
+		EjecutorTransaccional directo = EjecutorTransaccional.sinTransacciones();
+
+		assertEquals(1, directo.ejecutar(() -> 1));
+		assertThrows(UncategorizedMongoDbException.class, () -> directo.ejecutar(() -> {
+			throw conflictoDeEscritura();
+		}));
+		verifyNoInteractions(gestor);
+	}
+
+	private static UncategorizedMongoDbException conflictoDeEscritura() {
+		MongoException conflicto = new MongoException(112, "WriteConflict");
+		conflicto.addLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+		return new UncategorizedMongoDbException("WriteConflict", conflicto);
+	}
+}
@@ -3,8 +3,9 @@ package com.sirha.proyecto_sirha_dosw.service;
 import com.sirha.proyecto_sirha_dosw.dto.SolicitudDTO;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.*;
+import com.sirha.proyecto_sirha_dosw.model.support.RangoFechas;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepository;
 import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
-import com.sirha.proyecto_sirha_dosw.repository.MateriaRepository;
 import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
 import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
 import com.sirha.proyecto_sirha_dosw.util.SolicitudUtil;
@@ -13,7 +14,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.LocalDate;
 import java.util.Map;
 import java.util.Collections;
 import java.util.List;
@@ -39,11 +42,26 @@ class EstudianteServiceTest {
     private GrupoRepository grupoRepository;
 
     @Mock
-    private MateriaRepository materiaRepository;
+    private CacheCatalogo cacheCatalogo;
 
     @Mock
     private SolicitudUtil solicitudUtil;
 
+    @Mock
+    private ContadorSolicitudesRepository contadorSolicitudesRepository;
+
+    @Mock
+    private ListaEsperaService listaEsperaService;
+
+    @Spy
+    private EjecutorTransaccional ejecutorTransaccional = EjecutorTransaccional.sinTransacciones();
+
+    @Mock
+    private CalendarioAcademicoService calendarioAcademicoService;
+
+    @Mock
+    private MetricasSirha metricasSirha;
+
     @InjectMocks
     private EstudianteService estudianteService;
 
@@ -65,6 +83,7 @@ class EstudianteServiceTest {
         materiaProblema.setNombre("Desarrollo de Software");
         materiaProblema.setAcronimo("DOSW");
         materiaProblema.setCreditos(3);
+        materiaProblema.setFacultad(Facultad.INGENIERIA_SISTEMAS);
 
         // Configurar grupo de prueba
         grupoProblema = new Grupo();
@@ -79,6 +98,10 @@ class EstudianteServiceTest {
         solicitudDTO.setGrupoProblemaId("grupo123");
         solicitudDTO.setMateriaProblemaAcronimo("DOSW");
         solicitudDTO.setObservaciones("Solicitud de prueba");
+
+        // Plazo de solicitudes abierto salvo que la prueba indique otro
+        lenient().when(calendarioAcademicoService.plazoSolicitudes(any()))
+                .thenReturn(new RangoFechas(LocalDate.now().minusDays(10), LocalDate.now().plusDays(10)));
     }
 
     @Test
@@ -114,6 +137,7 @@ class EstudianteServiceTest {
         Materia materia = new Materia();
         materia.setAcronimo("MAT101");
         Grupo grupo = new Grupo();
+        grupo.setId("G1");
         grupo.setMateria(materia);
         registro.setGrupo(grupo);
         registro.setEstado(Semaforo.ROJO);
@@ -123,6 +147,7 @@ class EstudianteServiceTest {
         String result = estudianteService.cancelarMateria("est123", "MAT101");
         assertTrue(result.contains("ha sido cancelada exitosamente"));
         verify(usuarioRepository).save(estudianteMock);
+        verify(listaEsperaService).liberarCupo("G1", "est123");
         assertEquals(Semaforo.CANCELADO, registro.getEstado());
     }
 
@@ -327,7 +352,7 @@ class EstudianteServiceTest {
         
         when(usuarioRepository.findById("est123")).thenReturn(Optional.of(estudiante));
         when(grupoRepository.findById("grupo123")).thenReturn(Optional.of(grupoProblema));
-        when(materiaRepository.findByAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
+        when(cacheCatalogo.materiaPorAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
         when(solicitudUtil.generarNumeroRadicado()).thenReturn(radicadoEsperado);
         when(solicitudUtil.generarNumeroPrioridad()).thenReturn(prioridadEsperada);
         
@@ -355,6 +380,25 @@ class EstudianteServiceTest {
         verify(solicitudUtil, times(1)).generarNumeroRadicado();
         verify(solicitudUtil, times(1)).generarNumeroPrioridad();
         verify(solicitudRepository, times(1)).save(any(Solicitud.class));
+        verify(contadorSolicitudesRepository).registrarCreacion(materiaProblema.getFacultad(),
+                TipoSolicitud.CANCELACION_GRUPO, SolicitudEstado.PENDIENTE);
+        verify(ejecutorTransaccional).ejecutar(any());
+        verify(metricasSirha).registrarCreacionSolicitud(SolicitudEstado.PENDIENTE);
+    }
+
+    @Test
+    void testCrearSolicitud_FallaDelContadorPropagaYNoRegistraMetricas() throws SirhaException {
+        when(usuarioRepository.findById("est123")).thenReturn(Optional.of(estudiante));
+        when(grupoRepository.findById("grupo123")).thenReturn(Optional.of(grupoProblema));
+        when(cacheCatalogo.materiaPorAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
+        when(solicitudRepository.save(any(Solicitud.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new IllegalStateException("contador no disponible")).when(contadorSolicitudesRepository)
+                .registrarCreacion(any(), any(), any());
+
+        // Dentro de la transacción, la falla del contador deshace también la inserción
+        assertThrows(IllegalStateException.class, () -> estudianteService.crearSolicitud(solicitudDTO));
+        verify(ejecutorTransaccional).ejecutar(any());
+        verify(metricasSirha, never()).registrarCreacionSolicitud(any());
     }
 
     @Test
@@ -376,7 +420,7 @@ class EstudianteServiceTest {
         when(usuarioRepository.findById("est123")).thenReturn(Optional.of(estudiante));
         when(grupoRepository.findById("grupo123")).thenReturn(Optional.of(grupoProblema));
         when(grupoRepository.findById("grupoDestino123")).thenReturn(Optional.of(grupoDestino));
-        when(materiaRepository.findByAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
+        when(cacheCatalogo.materiaPorAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
         when(solicitudUtil.generarNumeroRadicado()).thenReturn(radicadoEsperado);
         when(solicitudUtil.generarNumeroPrioridad()).thenReturn(prioridadEsperada);
 
@@ -410,7 +454,7 @@ class EstudianteServiceTest {
 
         when(usuarioRepository.findById("est123")).thenReturn(Optional.of(estudiante));
         when(grupoRepository.findById("grupo123")).thenReturn(Optional.of(grupoProblema));
-        when(materiaRepository.findByAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
+        when(cacheCatalogo.materiaPorAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
         when(solicitudUtil.generarNumeroRadicado()).thenReturn(radicadoEsperado);
         when(solicitudUtil.generarNumeroPrioridad()).thenReturn(prioridadEsperada);
 
@@ -459,7 +503,7 @@ class EstudianteServiceTest {
         
         when(usuarioRepository.findById("est123")).thenReturn(Optional.of(estudiante));
         when(grupoRepository.findById("grupo123")).thenReturn(Optional.of(grupoProblema));
-        when(materiaRepository.findByAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
+        when(cacheCatalogo.materiaPorAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
         
         // Simular prioridades secuenciales
         when(solicitudUtil.generarNumeroRadicado()).thenReturn(radicado1, radicado2);
@@ -502,12 +546,25 @@ class EstudianteServiceTest {
     void testCrearSolicitud_MateriaProblemaNoEncontrada() {
         when(usuarioRepository.findById("est123")).thenReturn(Optional.of(estudiante));
         when(grupoRepository.findById("grupo123")).thenReturn(Optional.of(grupoProblema));
-        when(materiaRepository.findByAcronimo("DOSW")).thenReturn(Optional.empty());
+        when(cacheCatalogo.materiaPorAcronimo("DOSW")).thenReturn(Optional.empty());
 
         SirhaException ex = assertThrows(SirhaException.class, () -> estudianteService.crearSolicitud(solicitudDTO));
         assertEquals(SirhaException.MATERIA_NO_ENCONTRADA, ex.getMessage());
     }
 
+    @Test
+    void testCrearSolicitud_FueraDelPlazoDeLaFacultad() {
+        solicitudDTO.setFechaSolicitud(LocalDate.now().plusDays(20));
+        when(usuarioRepository.findById("est123")).thenReturn(Optional.of(estudiante));
+        when(grupoRepository.findById("grupo123")).thenReturn(Optional.of(grupoProblema));
+        when(cacheCatalogo.materiaPorAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
+
+        SirhaException ex = assertThrows(SirhaException.class, () -> estudianteService.crearSolicitud(solicitudDTO));
+        assertTrue(ex.getMessage().startsWith(SirhaException.FUERA_DE_PLAZO_SOLICITUDES));
+        verify(calendarioAcademicoService).plazoSolicitudes(Facultad.INGENIERIA_SISTEMAS);
+        verify(solicitudRepository, never()).save(any());
+    }
+
     @Test
     void testCrearSolicitud_GrupoMateriaNoCorresponden() {
         Materia otraMateria = new Materia();
@@ -516,7 +573,7 @@ class EstudianteServiceTest {
 
         when(usuarioRepository.findById("est123")).thenReturn(Optional.of(estudiante));
         when(grupoRepository.findById("grupo123")).thenReturn(Optional.of(grupoProblema));
-        when(materiaRepository.findByAcronimo("DOSW")).thenReturn(Optional.of(otraMateria));
+        when(cacheCatalogo.materiaPorAcronimo("DOSW")).thenReturn(Optional.of(otraMateria));
 
         SirhaException ex = assertThrows(SirhaException.class, () -> estudianteService.crearSolicitud(solicitudDTO));
         assertTrue(ex.getMessage().contains("La materia problema no corresponde al grupo problema"));
@@ -528,7 +585,7 @@ class EstudianteServiceTest {
 
         when(usuarioRepository.findById("est123")).thenReturn(Optional.of(estudiante));
         when(grupoRepository.findById("grupo123")).thenReturn(Optional.of(grupoProblema));
-        when(materiaRepository.findByAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
+        when(cacheCatalogo.materiaPorAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
 
         SirhaException ex = assertThrows(SirhaException.class, () -> estudianteService.crearSolicitud(solicitudDTO));
         assertTrue(ex.getMessage().contains("El estudiante no está inscrito en el grupo problema"));
@@ -543,7 +600,7 @@ class EstudianteServiceTest {
         when(usuarioRepository.findById("est123")).thenReturn(Optional.of(estudiante));
         when(grupoRepository.findById("grupo123")).thenReturn(Optional.of(grupoProblema));
         when(grupoRepository.findById("grupoDestino123")).thenReturn(Optional.empty());
-        when(materiaRepository.findByAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
+        when(cacheCatalogo.materiaPorAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
 
         SirhaException ex = assertThrows(SirhaException.class, () -> estudianteService.crearSolicitud(solicitudDTO));
         assertEquals(SirhaException.GRUPO_NO_ENCONTRADO, ex.getMessage());
@@ -562,7 +619,7 @@ class EstudianteServiceTest {
         when(usuarioRepository.findById("est123")).thenReturn(Optional.of(estudiante));
         when(grupoRepository.findById("grupo123")).thenReturn(Optional.of(grupoProblema));
         when(grupoRepository.findById("grupoDestino123")).thenReturn(Optional.of(grupoDestino));
-        when(materiaRepository.findByAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema)).thenReturn(Optional.empty());
+        when(cacheCatalogo.materiaPorAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema)).thenReturn(Optional.empty());
 
         SirhaException ex = assertThrows(SirhaException.class, () -> estudianteService.crearSolicitud(solicitudDTO));
         assertEquals(SirhaException.MATERIA_NO_ENCONTRADA, ex.getMessage());
@@ -584,7 +641,7 @@ class EstudianteServiceTest {
         when(usuarioRepository.findById("est123")).thenReturn(Optional.of(estudiante));
         when(grupoRepository.findById("grupo123")).thenReturn(Optional.of(grupoProblema));
         when(grupoRepository.findById("grupoDestino123")).thenReturn(Optional.of(grupoDestino));
-        when(materiaRepository.findByAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
+        when(cacheCatalogo.materiaPorAcronimo("DOSW")).thenReturn(Optional.of(materiaProblema));
 
         SirhaException ex = assertThrows(SirhaException.class, () -> estudianteService.crearSolicitud(solicitudDTO));
         assertTrue(ex.getMessage().contains("completo"));
@@ -0,0 +1,242 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.dto.GeneracionHorarioDTO;
+import com.sirha.proyecto_sirha_dosw.dto.HorariosGeneradosDTO;
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+import com.sirha.proyecto_sirha_dosw.model.*;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
+import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GeneradorHorariosServiceTest {
+
+	@Mock
+	private UsuarioRepository usuarioRepository;
+	@Mock
+	private GrupoRepository grupoRepository;
+
+	private GeneradorHorariosService generadorHorariosService;
+	private Estudiante estudiante;
+
+	@BeforeEach
+	void setUp() {
+		generadorHorariosService = new GeneradorHorariosService(usuarioRepository, grupoRepository, 5_000);
+		estudiante = new Estudiante("Ana", "Lopez", "ana@mail.escuelaing.edu.co", "hash",
+				Rol.ESTUDIANTE, Facultad.INGENIERIA_SISTEMAS);
+		estudiante.setId("E1");
+		Semestre semestre = new Semestre();
+		semestre.setNumero(1);
+		estudiante.setSemestres(new ArrayList<>(List.of(semestre)));
+	}
+
+	@Test
+	void testEligeCombinacionesSinCrucesOrdenadasPorPermanencia() throws SirhaException {
+		Materia calculo = materia("CALC");
+		Materia fisica = materia("FIS");
+		Grupo calculoTemprano = grupo("C1", calculo, horario(Dia.LUNES, "07:00", "08:30"));
+		Grupo calculoTarde = grupo("C2", calculo, horario(Dia.LUNES, "14:30", "16:00"));
+		Grupo fisicaTemprano = grupo("F1", fisica, horario(Dia.LUNES, "08:30", "10:00"));
+		Grupo fisicaCruzada = grupo("F2", fisica, horario(Dia.LUNES, "07:00", "08:30"));
+		when(usuarioRepository.findById("E1")).thenReturn(Optional.of(estudiante));
+		when(grupoRepository.findByMateria_AcronimoInAndEstaCompletoFalse(anyCollection()))
+				.thenReturn(List.of(calculoTarde, fisicaCruzada, calculoTemprano, fisicaTemprano));
+
+		HorariosGeneradosDTO resultado = generadorHorariosService.generarHorarios("E1",
+				new GeneracionHorarioDTO(List.of("CALC", "FIS"), 5));
+
+		assertTrue(resultado.isBusquedaCompleta());
+		assertTrue(resultado.getMateriasSinGrupos().isEmpty());
+		assertEquals(3, resultado.getCombinaciones().size());
+		HorariosGeneradosDTO.Combinacion mejor = resultado.getCombinaciones().get(0);
+		assertEquals(180, mejor.getMinutosEnCampus());
+		assertEquals(1, mejor.getDiasConClase());
+		assertEquals(List.of("C1", "F1"), mejor.getGrupos().stream().map(HorariosGeneradosDTO.GrupoAsignado::getGrupoId).toList());
+		assertEquals("CALC", mejor.getGrupos().get(0).getAcronimoMateria());
+		assertEquals(5, mejor.getGrupos().get(0).getCuposDisponibles());
+		for (int i = 1; i < resultado.getCombinaciones().size(); i++) {
+			assertTrue(resultado.getCombinaciones().get(i - 1).getMinutosEnCampus()
+					<= resultado.getCombinaciones().get(i).getMinutosEnCampus());
+		}
+		verify(grupoRepository).findByMateria_AcronimoInAndEstaCompletoFalse(List.of("CALC", "FIS"));
+	}
+
+	@Test
+	void testConservaGruposDeOtrasMateriasYReemplazaLosPedidos() throws SirhaException {
+		Materia calculo = materia("CALC");
+		Materia ingles = materia("ING");
+		Grupo inglesActual = grupo("I1", ingles, horario(Dia.MARTES, "10:00", "11:30"));
+		Grupo calculoActual = grupo("C0", calculo, horario(Dia.MARTES, "07:00", "08:30"));
+		estudiante.addGrupo(inglesActual);
+		estudiante.addGrupo(calculoActual);
+		Grupo calculoCruzaIngles = grupo("C1", calculo, horario(Dia.MARTES, "10:00", "11:30"));
+		Grupo calculoMismoHorarioActual = grupo("C2", calculo, horario(Dia.MARTES, "07:00", "08:30"));
+		when(usuarioRepository.findById("E1")).thenReturn(Optional.of(estudiante));
+		when(grupoRepository.findByMateria_AcronimoInAndEstaCompletoFalse(anyCollection()))
+				.thenReturn(List.of(calculoCruzaIngles, calculoMismoHorarioActual));
+
+		HorariosGeneradosDTO resultado = generadorHorariosService.generarHorarios("E1",
+				new GeneracionHorarioDTO(List.of("CALC"), null));
+
+		assertEquals(1, resultado.getCombinaciones().size());
+		assertEquals("C2", resultado.getCombinaciones().get(0).getGrupos().get(0).getGrupoId());
+		// La permanencia incluye el grupo fijo de inglés y el hueco entre ambas clases
+		assertEquals(270, resultado.getCombinaciones().get(0).getMinutosEnCampus());
+	}
+
+	@Test
+	void testIgnoraGruposSinCupoAunqueNoEstenMarcadosCompletos() throws SirhaException {
+		Materia calculo = materia("CALC");
+		Grupo lleno = grupo("C1", calculo, horario(Dia.LUNES, "07:00", "08:30"));
+		lleno.setCantidadInscritos(lleno.getCapacidad());
+		when(usuarioRepository.findById("E1")).thenReturn(Optional.of(estudiante));
+		when(grupoRepository.findByMateria_AcronimoInAndEstaCompletoFalse(anyCollection())).thenReturn(List.of(lleno));
+
+		HorariosGeneradosDTO resultado = generadorHorariosService.generarHorarios("E1",
+				new GeneracionHorarioDTO(List.of("CALC", "FIS"), 3));
+
+		assertTrue(resultado.getCombinaciones().isEmpty());
+		assertEquals(List.of("CALC", "FIS"), resultado.getMateriasSinGrupos());
+		assertTrue(resultado.isBusquedaCompleta());
+	}
+
+	@Test
+	void testDetectaCrucesDeHorariosNoAlineados() throws SirhaException {
+		Materia calculo = materia("CALC");
+		Materia fisica = materia("FIS");
+		Grupo calculoGrupo = grupo("C1", calculo, horario(Dia.LUNES, "07:00", "08:20"));
+		Grupo fisicaContigua = grupo("F1", fisica, horario(Dia.LUNES, "08:20", "09:50"));
+		Grupo fisicaCruzada = grupo("F2", fisica, horario(Dia.LUNES, "08:10", "09:40"));
+		when(usuarioRepository.findById("E1")).thenReturn(Optional.of(estudiante));
+		when(grupoRepository.findByMateria_AcronimoInAndEstaCompletoFalse(anyCollection()))
+				.thenReturn(List.of(calculoGrupo, fisicaContigua, fisicaCruzada));
+
+		HorariosGeneradosDTO resultado = generadorHorariosService.generarHorarios("E1",
+				new GeneracionHorarioDTO(List.of("CALC", "FIS"), 5));
+
+		assertEquals(1, resultado.getCombinaciones().size());
+		assertEquals("F1", resultado.getCombinaciones().get(0).getGrupos().get(1).getGrupoId());
+	}
+
+	@Test
+	void testCoincideConLaBusquedaExhaustiva() {
+		Random random = new Random(11);
+		for (int caso = 0; caso < 20; caso++) {
+			Map<String, List<Grupo>> gruposPorMateria = new LinkedHashMap<>();
+			for (int m = 0; m < 4; m++) {
+				Materia materia = materia("M" + m);
+				List<Grupo> grupos = new ArrayList<>();
+				for (int g = 0; g < 5; g++) {
+					grupos.add(grupo("M" + m + "G" + g, materia, horarioAleatorio(random), horarioAleatorio(random)));
+				}
+				gruposPorMateria.put(materia.getAcronimo(), grupos);
+			}
+
+			GeneradorHorariosService.ResultadoBusqueda resultado =
+					generadorHorariosService.combinar(gruposPorMateria, List.of(), 4);
+
+			List<Integer> esperados = new ArrayList<>();
+			exhaustiva(new ArrayList<>(gruposPorMateria.values()), 0, FranjasHorario.VACIA, esperados);
+			Collections.sort(esperados);
+			List<Integer> obtenidos = resultado.combinaciones().stream()
+					.map(combinacion -> combinacion.franjas().franjasEnCampus())
+					.toList();
+			assertTrue(resultado.completa());
+			assertEquals(esperados.subList(0, Math.min(4, esperados.size())), obtenidos, "caso " + caso);
+		}
+	}
+
+	@Test
+	void testSeDetieneAlAgotarElTiempo() {
+		GeneradorHorariosService sinTiempo = new GeneradorHorariosService(usuarioRepository, grupoRepository, 0);
+		// Cada materia ocupa un día distinto, así que todas las combinaciones cuestan lo mismo y ninguna se poda
+		Map<String, List<Grupo>> gruposPorMateria = new LinkedHashMap<>();
+		for (Dia dia : Dia.values()) {
+			Materia materia = materia(dia.name());
+			List<Grupo> grupos = new ArrayList<>();
+			for (int g = 0; g < 20; g++) {
+				LocalTime inicio = LocalTime.of(7, 0).plusMinutes(15L * g);
+				grupos.add(grupo(dia.name() + g, materia, horario(dia, inicio.toString(), inicio.plusMinutes(15).toString())));
+			}
+			gruposPorMateria.put(materia.getAcronimo(), grupos);
+		}
+
+		GeneradorHorariosService.ResultadoBusqueda resultado = sinTiempo.combinar(gruposPorMateria, List.of(), 5);
+
+		assertFalse(resultado.completa());
+	}
+
+	@Test
+	void testEstudianteNoEncontrado() {
+		when(usuarioRepository.findById("X")).thenReturn(Optional.empty());
+		GeneracionHorarioDTO solicitud = new GeneracionHorarioDTO(List.of("CALC"), 5);
+		assertThrows(SirhaException.class, () -> generadorHorariosService.generarHorarios("X", solicitud));
+		verifyNoInteractions(grupoRepository);
+	}
+
+	@Test
+	void testSinMateriasLanzaExcepcion() {
+		when(usuarioRepository.findById("E1")).thenReturn(Optional.of(estudiante));
+		GeneracionHorarioDTO solicitud = new GeneracionHorarioDTO(Arrays.asList(" ", null), 5);
+		SirhaException e = assertThrows(SirhaException.class,
+				() -> generadorHorariosService.generarHorarios("E1", solicitud));
+		assertTrue(e.getMessage().startsWith(SirhaException.ERROR_FALTAN_DATOS));
+	}
+
+	@Test
+	void testLimiteEfectivo() {
+		assertEquals(GeneracionHorarioDTO.LIMITE_POR_DEFECTO, new GeneracionHorarioDTO(List.of("A"), null).getLimiteEfectivo());
+		assertEquals(GeneracionHorarioDTO.LIMITE_MAXIMO, new GeneracionHorarioDTO(List.of("A"), 500).getLimiteEfectivo());
+		assertEquals(1, new GeneracionHorarioDTO(List.of("A"), 0).getLimiteEfectivo());
+	}
+
+	private static void exhaustiva(List<List<Grupo>> niveles, int nivel, FranjasHorario acumuladas, List<Integer> costos) {
+		if (nivel == niveles.size()) {
+			costos.add(acumuladas.franjasEnCampus());
+			return;
+		}
+		for (Grupo grupo : niveles.get(nivel)) {
+			if (!grupo.getFranjasHorario().seCruzaCon(acumuladas)) {
+				exhaustiva(niveles, nivel + 1, acumuladas.unir(grupo.getFranjasHorario()), costos);
+			}
+		}
+	}
+
+	private static Materia materia(String acronimo) {
+		return new Materia("Materia " + acronimo, acronimo, 3, Facultad.INGENIERIA_SISTEMAS);
+	}
+
+	private static Grupo grupo(String id, Materia materia, Horario... horarios) {
+		Grupo grupo = new Grupo(materia, 5, new ArrayList<>(List.of(horarios)));
+		grupo.setId(id);
+		return grupo;
+	}
+
+	private static Horario horarioAleatorio(Random random) {
+		int inicio = 7 * 2 + random.nextInt(12 * 2);
+		Horario horario = new Horario();
+		horario.setDia(Dia.values()[random.nextInt(3)]);
+		horario.setHoraInicio(LocalTime.of(inicio / 2, inicio % 2 * 30));
+		horario.setHoraFin(horario.getHoraInicio().plusMinutes(90));
+		return horario;
+	}
+
+	private static Horario horario(Dia dia, String inicio, String fin) {
+		Horario horario = new Horario();
+		horario.setDia(dia);
+		horario.setHoraInicio(LocalTime.parse(inicio));
+		horario.setHoraFin(LocalTime.parse(fin));
+		return horario;
+	}
+}
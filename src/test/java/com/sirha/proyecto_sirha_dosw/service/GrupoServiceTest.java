@@ -2,17 +2,20 @@ package com.sirha.proyecto_sirha_dosw.service;
 
 import com.sirha.proyecto_sirha_dosw.dto.GrupoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.CapacidadGrupoDTO;
+import com.sirha.proyecto_sirha_dosw.dto.PaginaDTO;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.*;
 import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
-import com.sirha.proyecto_sirha_dosw.repository.MateriaRepository;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepositoryCustom.CambiosGrupo;
 import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.*;
+import java.util.stream.Stream;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -54,9 +57,13 @@ class GrupoServiceTest {
 	@Mock
 	private GrupoRepository grupoRepository;
 	@Mock
-	private MateriaRepository materiaRepository;
+	private CacheCatalogo cacheCatalogo;
 	@Mock
 	private UsuarioRepository usuarioRepository;
+	@Mock
+	private ListaEsperaService listaEsperaService;
+	@Mock
+	private MetricasSirha metricasSirha;
 
 	@InjectMocks
 	private GrupoService grupoService;
@@ -91,7 +98,7 @@ class GrupoServiceTest {
 	void testCreateGrupoExitoso() throws SirhaException {
 		GrupoDTO dto = getGrupoDTO();
 		Materia materia = mock(Materia.class);
-		when(materiaRepository.findById("MAT1")).thenReturn(Optional.of(materia));
+		when(cacheCatalogo.materiaPorId("MAT1")).thenReturn(Optional.of(materia));
 		Profesor profesor = mock(Profesor.class);
 		when(usuarioRepository.findById("PROF1")).thenReturn(Optional.of(profesor));
 		Grupo grupoMock = mock(Grupo.class);
@@ -104,7 +111,7 @@ class GrupoServiceTest {
 	@Test
 	void testCreateGrupoMateriaNoEncontrada() {
 		GrupoDTO dto = getGrupoDTO();
-		when(materiaRepository.findById("MAT1")).thenReturn(Optional.empty());
+		when(cacheCatalogo.materiaPorId("MAT1")).thenReturn(Optional.empty());
 		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.createGrupo(dto));
 		assertTrue(ex.getMessage().contains(SirhaException.MATERIA_NO_ENCONTRADA));
 	}
@@ -113,7 +120,7 @@ class GrupoServiceTest {
 	void testCreateGrupoProfesorNoEncontrado() {
 		GrupoDTO dto = getGrupoDTO();
 		Materia materia = mock(Materia.class);
-		when(materiaRepository.findById("MAT1")).thenReturn(Optional.of(materia));
+		when(cacheCatalogo.materiaPorId("MAT1")).thenReturn(Optional.of(materia));
 		when(usuarioRepository.findById("PROF1")).thenReturn(Optional.of(mock(Usuario.class)));
 		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.createGrupo(dto));
 		assertTrue(ex.getMessage().contains(SirhaException.PROFESOR_NO_ENCONTRADO));
@@ -131,22 +138,44 @@ class GrupoServiceTest {
 	void testUpdateGrupoExitoso() throws SirhaException {
 		GrupoDTO dto = getGrupoDTO();
 		Grupo grupo = mock(Grupo.class);
-		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupo));
+		when(grupoRepository.existsById("G1")).thenReturn(true);
 		Materia materia = mock(Materia.class);
-		when(materiaRepository.findById("MAT1")).thenReturn(Optional.of(materia));
+		when(cacheCatalogo.materiaPorId("MAT1")).thenReturn(Optional.of(materia));
 		Profesor profesor = mock(Profesor.class);
 		when(usuarioRepository.findById("PROF1")).thenReturn(Optional.of(profesor));
-		when(grupoRepository.save(any(Grupo.class))).thenReturn(grupo);
-		when(grupo.getCantidadInscritos()).thenReturn(0);
+		when(grupoRepository.actualizarDatos(eq("G1"), any(CambiosGrupo.class))).thenReturn(Optional.of(grupo));
 		Grupo result = grupoService.updateGrupo("G1", dto);
 		assertNotNull(result);
-		verify(grupoRepository).save(any(Grupo.class));
+		ArgumentCaptor<CambiosGrupo> cambios = ArgumentCaptor.forClass(CambiosGrupo.class);
+		verify(grupoRepository).actualizarDatos(eq("G1"), cambios.capture());
+		assertSame(materia, cambios.getValue().materia());
+		assertSame(profesor, cambios.getValue().profesor());
+		assertEquals(Integer.valueOf(dto.getCapacidad()), cambios.getValue().capacidad());
+		verify(grupoRepository, never()).save(any(Grupo.class));
+	}
+
+	@Test
+	void testUpdateGrupoSinCapacidadNiHorariosNoLosModifica() throws SirhaException {
+		GrupoDTO dto = new GrupoDTO();
+		when(grupoRepository.existsById("G1")).thenReturn(true);
+		when(grupoRepository.actualizarDatos(eq("G1"), any(CambiosGrupo.class))).thenReturn(Optional.of(new Grupo()));
+		grupoService.updateGrupo("G1", dto);
+		verify(grupoRepository).actualizarDatos("G1", new CambiosGrupo(null, null, null, null));
+	}
+
+	@Test
+	void testUpdateGrupoEliminadoDuranteLaActualizacion() {
+		GrupoDTO dto = new GrupoDTO();
+		when(grupoRepository.existsById("G1")).thenReturn(true);
+		when(grupoRepository.actualizarDatos(eq("G1"), any(CambiosGrupo.class))).thenReturn(Optional.empty());
+		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.updateGrupo("G1", dto));
+		assertTrue(ex.getMessage().contains(SirhaException.GRUPO_NO_ENCONTRADO));
 	}
 
 	@Test
 	void testUpdateGrupoNoEncontrado() {
 		GrupoDTO dto = getGrupoDTO();
-		when(grupoRepository.findById("G1")).thenReturn(Optional.empty());
+		when(grupoRepository.existsById("G1")).thenReturn(false);
 		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.updateGrupo("G1", dto));
 		assertTrue(ex.getMessage().contains(SirhaException.GRUPO_NO_ENCONTRADO));
 	}
@@ -154,9 +183,8 @@ class GrupoServiceTest {
 	@Test
 	void testUpdateGrupoMateriaNoEncontrada() {
 		GrupoDTO dto = getGrupoDTO();
-		Grupo grupo = mock(Grupo.class);
-		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupo));
-		when(materiaRepository.findById("MAT1")).thenReturn(Optional.empty());
+		when(grupoRepository.existsById("G1")).thenReturn(true);
+		when(cacheCatalogo.materiaPorId("MAT1")).thenReturn(Optional.empty());
 		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.updateGrupo("G1", dto));
 		assertTrue(ex.getMessage().contains(SirhaException.MATERIA_NO_ENCONTRADA));
 	}
@@ -164,10 +192,9 @@ class GrupoServiceTest {
 	@Test
 	void testUpdateGrupoProfesorNoEncontrado() {
 		GrupoDTO dto = getGrupoDTO();
-		Grupo grupo = mock(Grupo.class);
-		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupo));
+		when(grupoRepository.existsById("G1")).thenReturn(true);
 		Materia materia = mock(Materia.class);
-		when(materiaRepository.findById("MAT1")).thenReturn(Optional.of(materia));
+		when(cacheCatalogo.materiaPorId("MAT1")).thenReturn(Optional.of(materia));
 		when(usuarioRepository.findById("PROF1")).thenReturn(Optional.of(mock(Usuario.class)));
 		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.updateGrupo("G1", dto));
 		assertTrue(ex.getMessage().contains(SirhaException.PROFESOR_NO_ENCONTRADO));
@@ -225,18 +252,19 @@ class GrupoServiceTest {
 	@Test
 	void testAddEstudianteToGrupoExitoso() throws SirhaException {
 		Grupo grupo = mock(Grupo.class);
-		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupo));
-		when(grupo.isEstaCompleto()).thenReturn(false);
-		when(grupo.getEstudiantesId()).thenReturn(new ArrayList<>());
 		when(usuarioRepository.existsById("E1")).thenReturn(true);
-		when(grupoRepository.save(any(Grupo.class))).thenReturn(grupo);
+		when(grupoRepository.reservarCupo("G1", "E1")).thenReturn(Optional.of(grupo));
 		Grupo result = grupoService.addEstudianteToGrupo("G1", "E1");
-		assertNotNull(result);
-		verify(grupoRepository).save(any(Grupo.class));
+		assertSame(grupo, result);
+		verify(grupoRepository, never()).findById(anyString());
+		verify(grupoRepository, never()).save(any(Grupo.class));
+		verify(metricasSirha).registrarInscripcion(MetricasSirha.OrigenInscripcion.DIRECTA);
 	}
 
 	@Test
 	void testAddEstudianteToGrupoGrupoNoEncontrado() {
+		when(usuarioRepository.existsById("E1")).thenReturn(true);
+		when(grupoRepository.reservarCupo("G1", "E1")).thenReturn(Optional.empty());
 		when(grupoRepository.findById("G1")).thenReturn(Optional.empty());
 		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.addEstudianteToGrupo("G1", "E1"));
 		assertTrue(ex.getMessage().contains(SirhaException.GRUPO_NO_ENCONTRADO));
@@ -245,17 +273,21 @@ class GrupoServiceTest {
 	@Test
 	void testAddEstudianteToGrupoCompleto() {
 		Grupo grupo = mock(Grupo.class);
+		when(usuarioRepository.existsById("E1")).thenReturn(true);
+		when(grupoRepository.reservarCupo("G1", "E1")).thenReturn(Optional.empty());
 		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupo));
-		when(grupo.isEstaCompleto()).thenReturn(true);
+		when(grupo.getEstudiantesId()).thenReturn(List.of("E2"));
 		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.addEstudianteToGrupo("G1", "E1"));
 		assertTrue(ex.getMessage().contains(SirhaException.GRUPO_COMPLETO));
+		verifyNoInteractions(metricasSirha);
 	}
 
 	@Test
 	void testAddEstudianteToGrupoYaInscrito() {
 		Grupo grupo = mock(Grupo.class);
+		when(usuarioRepository.existsById("E1")).thenReturn(true);
+		when(grupoRepository.reservarCupo("G1", "E1")).thenReturn(Optional.empty());
 		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupo));
-		when(grupo.isEstaCompleto()).thenReturn(false);
 		when(grupo.getEstudiantesId()).thenReturn(List.of("E1"));
 		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.addEstudianteToGrupo("G1", "E1"));
 		assertTrue(ex.getMessage().contains(SirhaException.ESTUDIANTE_YA_INSCRITO));
@@ -263,38 +295,33 @@ class GrupoServiceTest {
 
 	@Test
 	void testAddEstudianteToGrupoEstudianteNoEncontrado() {
-		Grupo grupo = mock(Grupo.class);
-		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupo));
-		when(grupo.isEstaCompleto()).thenReturn(false);
-		when(grupo.getEstudiantesId()).thenReturn(new ArrayList<>());
 		when(usuarioRepository.existsById("E1")).thenReturn(false);
 		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.addEstudianteToGrupo("G1", "E1"));
 		assertTrue(ex.getMessage().contains(SirhaException.ESTUDIANTE_NO_ENCONTRADO));
+		verify(grupoRepository, never()).reservarCupo(anyString(), anyString());
 	}
 
 	@Test
 	void testRemoveEstudianteFromGrupoExitoso() throws SirhaException {
 		Grupo grupo = mock(Grupo.class);
-		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupo));
-		when(grupo.getEstudiantesId()).thenReturn(List.of("E1"));
-		when(grupoRepository.save(any(Grupo.class))).thenReturn(grupo);
+		when(listaEsperaService.liberarCupo("G1", "E1")).thenReturn(Optional.of(grupo));
 		Grupo result = grupoService.removeEstudianteFromGrupo("G1", "E1");
-		assertNotNull(result);
-		verify(grupoRepository).save(any(Grupo.class));
+		assertSame(grupo, result);
+		verify(grupoRepository, never()).save(any(Grupo.class));
 	}
 
 	@Test
 	void testRemoveEstudianteFromGrupoGrupoNoEncontrado() {
-		when(grupoRepository.findById("G1")).thenReturn(Optional.empty());
+		when(listaEsperaService.liberarCupo("G1", "E1")).thenReturn(Optional.empty());
+		when(grupoRepository.existsById("G1")).thenReturn(false);
 		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.removeEstudianteFromGrupo("G1", "E1"));
 		assertTrue(ex.getMessage().contains(SirhaException.GRUPO_NO_ENCONTRADO));
 	}
 
 	@Test
 	void testRemoveEstudianteFromGrupoNoInscrito() {
-		Grupo grupo = mock(Grupo.class);
-		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupo));
-		when(grupo.getEstudiantesId()).thenReturn(new ArrayList<>());
+		when(listaEsperaService.liberarCupo("G1", "E1")).thenReturn(Optional.empty());
+		when(grupoRepository.existsById("G1")).thenReturn(true);
 		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.removeEstudianteFromGrupo("G1", "E1"));
 		assertTrue(ex.getMessage().contains(SirhaException.ESTUDIANTE_NO_INSCRITO));
 	}
@@ -339,6 +366,41 @@ class GrupoServiceTest {
 		assertEquals(1, result.size());
 	}
 
+	@Test
+	void testObtenerPaginaCapacidadGruposPideUnoDeMasParaElCursor() throws SirhaException {
+		Materia materia = new Materia("Matemáticas", "MAT101", 4, Facultad.INGENIERIA_SISTEMAS);
+		List<Grupo> grupos = new ArrayList<>();
+		for (String id : List.of("G1", "G2", "G3")) {
+			Grupo grupo = new Grupo(materia, 30, new ArrayList<>());
+			grupo.setId(id);
+			grupos.add(grupo);
+		}
+		when(grupoRepository.buscarPagina("G0", 3)).thenReturn(grupos);
+
+		PaginaDTO<CapacidadGrupoDTO> pagina = grupoService.obtenerPaginaCapacidadGrupos("G0", 2);
+
+		assertEquals(2, pagina.getTamano());
+		assertEquals("G2", pagina.getSiguienteCursor());
+		assertEquals("G1", pagina.getElementos().get(0).getGrupoId());
+		assertEquals("MAT101", pagina.getElementos().get(0).getMateriaAcronimo());
+		verify(grupoRepository, never()).findAll();
+	}
+
+	@Test
+	void testStreamCapacidadGruposConvierteElCursor() {
+		Grupo grupo = new Grupo(new Materia("Física", "FIS101", 3, Facultad.INGENIERIA_SISTEMAS), 20, new ArrayList<>());
+		grupo.setId("G1");
+		when(grupoRepository.streamGrupos()).thenReturn(Stream.of(grupo));
+
+		List<CapacidadGrupoDTO> capacidades;
+		try (Stream<CapacidadGrupoDTO> flujo = grupoService.streamCapacidadGrupos()) {
+			capacidades = flujo.toList();
+		}
+
+		assertEquals(1, capacidades.size());
+		assertEquals(20, capacidades.get(0).getCapacidadMaxima());
+	}
+
 	@Test
 	void testObtenerCapacidadGruposPorMateria() {
 		Grupo grupo = mock(Grupo.class);
@@ -358,26 +420,25 @@ class GrupoServiceTest {
 	@Test
 	void testAsignarProfesorAGrupoExitoso() throws SirhaException {
 		Grupo grupo = mock(Grupo.class);
-		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupo));
+		when(grupoRepository.existsById("G1")).thenReturn(true);
 		Profesor profesor = mock(Profesor.class);
 		when(usuarioRepository.findById("PROF1")).thenReturn(Optional.of(profesor));
-		when(grupoRepository.save(any(Grupo.class))).thenReturn(grupo);
+		when(grupoRepository.asignarProfesor("G1", profesor)).thenReturn(Optional.of(grupo));
 		Grupo result = grupoService.asignarProfesorAGrupo("G1", "PROF1");
-		assertNotNull(result);
-		verify(grupoRepository).save(any(Grupo.class));
+		assertSame(grupo, result);
+		verify(grupoRepository, never()).save(any(Grupo.class));
 	}
 
 	@Test
 	void testAsignarProfesorAGrupoGrupoNoEncontrado() {
-		when(grupoRepository.findById("G1")).thenReturn(Optional.empty());
+		when(grupoRepository.existsById("G1")).thenReturn(false);
 		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.asignarProfesorAGrupo("G1", "PROF1"));
 		assertTrue(ex.getMessage().contains(SirhaException.GRUPO_NO_ENCONTRADO));
 	}
 
 	@Test
 	void testAsignarProfesorAGrupoProfesorNoEncontrado() {
-		Grupo grupo = mock(Grupo.class);
-		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupo));
+		when(grupoRepository.existsById("G1")).thenReturn(true);
 		when(usuarioRepository.findById("PROF1")).thenReturn(Optional.empty());
 		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.asignarProfesorAGrupo("G1", "PROF1"));
 		assertTrue(ex.getMessage().contains(SirhaException.PROFESOR_NO_ENCONTRADO));
@@ -385,8 +446,7 @@ class GrupoServiceTest {
 
 	@Test
 	void testAsignarProfesorAGrupoUsuarioNoProfesor() {
-		Grupo grupo = mock(Grupo.class);
-		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupo));
+		when(grupoRepository.existsById("G1")).thenReturn(true);
 		Usuario usuario = mock(Usuario.class);
 		when(usuarioRepository.findById("PROF1")).thenReturn(Optional.of(usuario));
 		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.asignarProfesorAGrupo("G1", "PROF1"));
@@ -396,16 +456,15 @@ class GrupoServiceTest {
 	@Test
 	void testRemoverProfesorDeGrupoExitoso() throws SirhaException {
 		Grupo grupo = mock(Grupo.class);
-		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupo));
-		when(grupoRepository.save(any(Grupo.class))).thenReturn(grupo);
+		when(grupoRepository.asignarProfesor("G1", null)).thenReturn(Optional.of(grupo));
 		Grupo result = grupoService.removerProfesorDeGrupo("G1");
-		assertNotNull(result);
-		verify(grupoRepository).save(any(Grupo.class));
+		assertSame(grupo, result);
+		verify(grupoRepository, never()).save(any(Grupo.class));
 	}
 
 	@Test
 	void testRemoverProfesorDeGrupoNoEncontrado() {
-		when(grupoRepository.findById("G1")).thenReturn(Optional.empty());
+		when(grupoRepository.asignarProfesor("G1", null)).thenReturn(Optional.empty());
 		SirhaException ex = assertThrows(SirhaException.class, () -> grupoService.removerProfesorDeGrupo("G1"));
 		assertTrue(ex.getMessage().contains(SirhaException.GRUPO_NO_ENCONTRADO));
 	}
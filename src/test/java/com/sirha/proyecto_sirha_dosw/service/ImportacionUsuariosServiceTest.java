@@ -0,0 +1,194 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.dto.ResultadoImportacionUsuariosDTO;
+import com.sirha.proyecto_sirha_dosw.dto.ResultadoImportacionUsuariosDTO.ErrorFila;
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+import com.sirha.proyecto_sirha_dosw.model.Carrera;
+import com.sirha.proyecto_sirha_dosw.model.Decano;
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.Rol;
+import com.sirha.proyecto_sirha_dosw.model.Usuario;
+import com.sirha.proyecto_sirha_dosw.repository.CarreraRepository;
+import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
+import com.sirha.proyecto_sirha_dosw.util.GeneradorIdUsuario;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportacionUsuariosServiceTest {
+
+	private static final String ENCABEZADO = "nombre,apellido,password,rol,facultad\n";
+	private static final String CLAVE = "Password123!";
+
+	@Mock
+	private UsuarioRepository usuarioRepository;
+	@Mock
+	private CarreraRepository carreraRepository;
+	@Mock
+	private PasswordEncoder passwordEncoder;
+	@Mock
+	private GeneradorIdUsuario generadorIdUsuario;
+
+	private ImportacionUsuariosService service;
+	private List<List<Usuario>> insertados;
+
+	@BeforeEach
+	void setUp() {
+		service = new ImportacionUsuariosService(usuarioRepository, carreraRepository, passwordEncoder,
+				generadorIdUsuario, Validation.buildDefaultValidatorFactory().getValidator(), 2, 2);
+		insertados = new ArrayList<>();
+		Carrera sistemas = new Carrera();
+		sistemas.setNombre(Facultad.INGENIERIA_SISTEMAS);
+		lenient().when(carreraRepository.findAll()).thenReturn(List.of(sistemas));
+		lenient().when(passwordEncoder.encode(anyString())).thenAnswer(inv -> "hash-" + inv.getArgument(0));
+		AtomicLong ids = new AtomicLong();
+		lenient().when(generadorIdUsuario.siguiente()).thenAnswer(inv -> String.format("%010d", ids.incrementAndGet()));
+		lenient().when(usuarioRepository.insertarUsuarios(anyList())).thenAnswer(inv -> {
+			insertados.add(new ArrayList<>(inv.<List<Usuario>>getArgument(0)));
+			return Map.of();
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.cerrar();
+	}
+
+	@Test
+	void testImportaPorLotesYReportaLasFilasInvalidas() throws SirhaException {
+		String csv = ENCABEZADO
+				+ "Juan,Pérez," + CLAVE + ",ESTUDIANTE,INGENIERIA_SISTEMAS\n"
+				+ "Ana,Ruiz,corta,ESTUDIANTE,INGENIERIA_SISTEMAS\n"
+				+ "Luis,Gómez," + CLAVE + ",ESTUDIANTE,INGENIERIA_CIVIL\n"
+				+ "Eva,Díaz," + CLAVE + ",ADMINISTRADOR,\n"
+				+ "Sol,Mar," + CLAVE + ",ALUMNO,INGENIERIA_SISTEMAS\n";
+
+		ResultadoImportacionUsuariosDTO resultado = importar(csv, "text/csv");
+
+		assertEquals(5, resultado.getProcesadas());
+		assertEquals(2, resultado.getImportadas());
+		assertEquals(3, resultado.getFallidas());
+		assertEquals(List.of(3, 4, 6), resultado.getErrores().stream().map(ErrorFila::getLinea).toList());
+		assertTrue(resultado.getErrores().get(1).getError().startsWith(SirhaException.CARRERA_NO_ENCONTRADA));
+		assertTrue(resultado.getErrores().get(2).getError().startsWith(SirhaException.ROL_INVALIDO));
+
+		Usuario juan = insertados.get(0).get(0);
+		assertEquals("juan.perez-p@mail.escuelaing.edu.co", juan.getEmail());
+		assertEquals("hash-" + CLAVE, juan.getPassword());
+		assertEquals("0000000001", juan.getId());
+		assertEquals(Rol.ADMINISTRADOR, insertados.get(1).get(0).getRol());
+		verify(carreraRepository, times(1)).findAll();
+		verify(usuarioRepository, times(1)).findByRol(Rol.DECANO);
+		verify(usuarioRepository, times(3)).buscarEmailsExistentes(anyCollection());
+		verify(usuarioRepository, never()).findByEmail(anyString());
+	}
+
+	@Test
+	void testRechazaEmailsRegistradosYRepetidosEnElArchivo() throws SirhaException {
+		when(usuarioRepository.buscarEmailsExistentes(anyCollection())).thenAnswer(inv -> {
+			Collection<String> emails = inv.getArgument(0);
+			return emails.contains("ana.ruiz-r@mail.escuelaing.edu.co")
+					? Set.of("ana.ruiz-r@mail.escuelaing.edu.co") : Set.of();
+		});
+		String ndjson = fila("Juan", "Pérez") + fila("Ana", "Ruiz") + fila("Juan", "Perez");
+
+		ResultadoImportacionUsuariosDTO resultado = importar(ndjson, "application/x-ndjson");
+
+		assertEquals(1, resultado.getImportadas());
+		assertEquals(2, resultado.getErrores().get(0).getLinea());
+		assertEquals(SirhaException.EMAIL_YA_REGISTRADO, resultado.getErrores().get(0).getError());
+		assertEquals("ana.ruiz-r@mail.escuelaing.edu.co", resultado.getErrores().get(0).getEmail());
+		assertEquals(ImportacionUsuariosService.EMAIL_REPETIDO_EN_ARCHIVO, resultado.getErrores().get(1).getError());
+		verify(passwordEncoder, times(1)).encode(anyString());
+	}
+
+	@Test
+	void testSoloAdmiteUnDecanoPorFacultad() throws SirhaException {
+		Decano existente = new Decano("Laura", "Rojas", "laura@test.com", "pass", Rol.DECANO, Facultad.INGENIERIA_CIVIL);
+		when(usuarioRepository.findByRol(Rol.DECANO)).thenReturn(List.of(existente));
+		Carrera civil = new Carrera();
+		civil.setNombre(Facultad.INGENIERIA_CIVIL);
+		Carrera sistemas = new Carrera();
+		sistemas.setNombre(Facultad.INGENIERIA_SISTEMAS);
+		when(carreraRepository.findAll()).thenReturn(List.of(sistemas, civil));
+		String csv = ENCABEZADO
+				+ "Pedro,Sanz," + CLAVE + ",DECANO,INGENIERIA_SISTEMAS\n"
+				+ "Rosa,Leal," + CLAVE + ",DECANO,INGENIERIA_SISTEMAS\n"
+				+ "Iván,Mora," + CLAVE + ",DECANO,INGENIERIA_CIVIL\n";
+
+		ResultadoImportacionUsuariosDTO resultado = importar(csv, "text/csv");
+
+		assertEquals(1, resultado.getImportadas());
+		assertEquals(List.of(3, 4), resultado.getErrores().stream().map(ErrorFila::getLinea).toList());
+		assertTrue(resultado.getErrores().stream().allMatch(e -> e.getError().startsWith(SirhaException.DECANO_YA_EXISTE)));
+	}
+
+	@Test
+	void testReintentaConIdNuevoLosRechazadosCuyoEmailSigueLibre() throws SirhaException {
+		when(usuarioRepository.insertarUsuarios(anyList()))
+				.thenReturn(Map.of(0, "E11000 duplicate key error _id", 1, "E11000 duplicate key error email"))
+				.thenReturn(Map.of());
+		when(usuarioRepository.buscarEmailsExistentes(anyCollection()))
+				.thenReturn(Set.of())
+				.thenReturn(Set.of("ana.ruiz-r@mail.escuelaing.edu.co"));
+		String ndjson = fila("Juan", "Pérez") + fila("Ana", "Ruiz");
+
+		ResultadoImportacionUsuariosDTO resultado = importar(ndjson, "application/x-ndjson");
+
+		assertEquals(1, resultado.getImportadas());
+		assertEquals(1, resultado.getFallidas());
+		assertEquals(SirhaException.EMAIL_YA_REGISTRADO, resultado.getErrores().get(0).getError());
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<Usuario>> lotes = ArgumentCaptor.forClass(List.class);
+		verify(usuarioRepository, times(2)).insertarUsuarios(lotes.capture());
+		Usuario reintentado = lotes.getAllValues().get(1).get(0);
+		assertEquals("juan.perez-p@mail.escuelaing.edu.co", reintentado.getEmail());
+		assertEquals("0000000003", reintentado.getId());
+	}
+
+	@Test
+	void testAbandonaTrasElMaximoDeIdsDuplicados() throws SirhaException {
+		when(usuarioRepository.insertarUsuarios(anyList())).thenReturn(Map.of(0, "E11000 duplicate key error _id"));
+
+		ResultadoImportacionUsuariosDTO resultado = importar(fila("Juan", "Pérez"), "application/x-ndjson");
+
+		assertEquals(0, resultado.getImportadas());
+		assertEquals("E11000 duplicate key error _id", resultado.getErrores().get(0).getError());
+		verify(usuarioRepository, times(UsuarioService.MAX_INTENTOS_ID)).insertarUsuarios(anyList());
+	}
+
+	@Test
+	void testFormatoNoSoportadoNoConsultaNada() {
+		assertThrows(SirhaException.class, () -> importar("nombre;apellido", "text/plain"));
+		verify(usuarioRepository, never()).insertarUsuarios(anyList());
+	}
+
+	private ResultadoImportacionUsuariosDTO importar(String contenido, String tipo) throws SirhaException {
+		return service.importar(new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8)), tipo);
+	}
+
+	private static String fila(String nombre, String apellido) {
+		return String.format("{\"nombre\":\"%s\",\"apellido\":\"%s\",\"password\":\"%s\",\"rol\":\"ESTUDIANTE\","
+				+ "\"facultad\":\"INGENIERIA_SISTEMAS\"}%n", nombre, apellido, CLAVE);
+	}
+}
@@ -0,0 +1,315 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.dto.DisponibilidadGrupoDTO;
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+import com.sirha.proyecto_sirha_dosw.model.*;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepository;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepositoryCustom.CupoLiberado;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
+import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
+import com.sirha.proyecto_sirha_dosw.util.SolicitudUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListaEsperaServiceTest {
+
+	@Mock
+	private GrupoRepository grupoRepository;
+	@Mock
+	private UsuarioRepository usuarioRepository;
+	@Mock
+	private SolicitudRepository solicitudRepository;
+	@Mock
+	private ContadorSolicitudesRepository contadorSolicitudesRepository;
+	@Mock
+	private SolicitudUtil solicitudUtil;
+	@Mock
+	private MetricasSirha metricasSirha;
+
+	@InjectMocks
+	private ListaEsperaService listaEsperaService;
+
+	private Materia calculo;
+	private Grupo grupoLleno;
+	private Estudiante estudiante;
+
+	@BeforeEach
+	void setUp() {
+		calculo = new Materia("Cálculo", "CALC", 4, Facultad.INGENIERIA_SISTEMAS);
+		grupoLleno = grupo("G1", calculo, 2, Dia.LUNES);
+		grupoLleno.addEstudiante("A");
+		grupoLleno.addEstudiante("B");
+		estudiante = new Estudiante("Ana", "Lopez", "ana@mail.escuelaing.edu.co", "hash",
+				Rol.ESTUDIANTE, Facultad.INGENIERIA_SISTEMAS);
+		estudiante.setId("E1");
+		Semestre semestre = new Semestre();
+		semestre.setNumero(1);
+		estudiante.setSemestres(new ArrayList<>(List.of(semestre)));
+	}
+
+	@Test
+	void testUnirseConservaLaPrioridadDeLaSolicitudDeCambio() throws SirhaException {
+		Solicitud solicitud = solicitudCambio("S1", SolicitudEstado.PENDIENTE, 4);
+		when(usuarioRepository.findById("E1")).thenReturn(Optional.of(estudiante));
+		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupoLleno));
+		when(solicitudRepository.findByEstudianteId("E1")).thenReturn(List.of(solicitud));
+		when(grupoRepository.agregarAListaEspera(eq("G1"), any())).thenAnswer(invocation -> {
+			grupoLleno.getListaEspera().add(invocation.getArgument(1));
+			return Optional.of(grupoLleno);
+		});
+
+		DisponibilidadGrupoDTO disponibilidad = listaEsperaService.unirseAListaEspera("G1", "E1");
+
+		assertEquals(1, disponibilidad.getPosicionListaEspera());
+		assertEquals(1, disponibilidad.getTamanoListaEspera());
+		assertNull(disponibilidad.getListaEspera());
+		EntradaListaEspera entrada = grupoLleno.getListaEspera().get(0);
+		assertEquals("S1", entrada.getSolicitudId());
+		assertEquals(4, entrada.getPrioridad());
+		verify(solicitudUtil, never()).generarNumeroPrioridad();
+	}
+
+	@Test
+	void testUnirseSinSolicitudRecibeNuevaPrioridad() throws SirhaException {
+		when(usuarioRepository.findById("E1")).thenReturn(Optional.of(estudiante));
+		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupoLleno));
+		when(solicitudRepository.findByEstudianteId("E1")).thenReturn(List.of());
+		when(solicitudUtil.generarNumeroPrioridad()).thenReturn(9);
+		when(grupoRepository.agregarAListaEspera(eq("G1"), any())).thenReturn(Optional.of(grupoLleno));
+
+		listaEsperaService.unirseAListaEspera("G1", "E1");
+
+		ArgumentCaptor<EntradaListaEspera> captor = ArgumentCaptor.forClass(EntradaListaEspera.class);
+		verify(grupoRepository).agregarAListaEspera(eq("G1"), captor.capture());
+		assertEquals(9, captor.getValue().getPrioridad());
+		assertNull(captor.getValue().getSolicitudId());
+	}
+
+	@Test
+	void testUnirseAGrupoConCuposFalla() {
+		Grupo conCupos = grupo("G2", calculo, 5, Dia.LUNES);
+		when(usuarioRepository.findById("E1")).thenReturn(Optional.of(estudiante));
+		when(grupoRepository.findById("G2")).thenReturn(Optional.of(conCupos));
+		when(solicitudRepository.findByEstudianteId("E1")).thenReturn(List.of());
+		when(solicitudUtil.generarNumeroPrioridad()).thenReturn(1);
+		when(grupoRepository.agregarAListaEspera(eq("G2"), any())).thenReturn(Optional.empty());
+
+		SirhaException ex = assertThrows(SirhaException.class,
+				() -> listaEsperaService.unirseAListaEspera("G2", "E1"));
+		assertEquals(ListaEsperaService.GRUPO_CON_CUPOS, ex.getMessage());
+	}
+
+	@Test
+	void testUnirseConCruceDeHorarioFalla() {
+		Materia fisica = new Materia("Física", "FIS", 4, Facultad.INGENIERIA_SISTEMAS);
+		estudiante.addGrupo(grupo("F1", fisica, 30, Dia.LUNES));
+		when(usuarioRepository.findById("E1")).thenReturn(Optional.of(estudiante));
+		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupoLleno));
+
+		SirhaException ex = assertThrows(SirhaException.class,
+				() -> listaEsperaService.unirseAListaEspera("G1", "E1"));
+		assertTrue(ex.getMessage().startsWith(ListaEsperaService.CRUCE_HORARIO));
+		verify(grupoRepository, never()).agregarAListaEspera(any(), any());
+	}
+
+	@Test
+	void testUnirseEstandoInscritoFalla() {
+		grupoLleno.getEstudiantesId().set(0, "E1");
+		when(usuarioRepository.findById("E1")).thenReturn(Optional.of(estudiante));
+		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupoLleno));
+
+		SirhaException ex = assertThrows(SirhaException.class,
+				() -> listaEsperaService.unirseAListaEspera("G1", "E1"));
+		assertEquals(SirhaException.ESTUDIANTE_YA_INSCRITO, ex.getMessage());
+	}
+
+	@Test
+	void testConsultarPosicionYSalir() throws SirhaException {
+		grupoLleno.getListaEspera().add(new EntradaListaEspera("X", null, 1, LocalDateTime.now()));
+		grupoLleno.getListaEspera().add(new EntradaListaEspera("E1", null, 2, LocalDateTime.now()));
+		when(grupoRepository.findById("G1")).thenReturn(Optional.of(grupoLleno));
+		when(grupoRepository.retirarDeListaEspera("G1", "E1")).thenReturn(Optional.of(grupoLleno));
+		when(grupoRepository.retirarDeListaEspera("G1", "Z")).thenReturn(Optional.empty());
+
+		assertEquals(2, listaEsperaService.consultarPosicion("G1", "E1").getPosicionListaEspera());
+		assertThrows(SirhaException.class, () -> listaEsperaService.consultarPosicion("G1", "Z"));
+		assertDoesNotThrow(() -> listaEsperaService.salirDeListaEspera("G1", "E1"));
+		SirhaException ex = assertThrows(SirhaException.class, () -> listaEsperaService.salirDeListaEspera("G1", "Z"));
+		assertEquals(ListaEsperaService.NO_ESTA_EN_LISTA, ex.getMessage());
+	}
+
+	@Test
+	void testLiberarCupoSinListaDeEsperaNoPromueve() {
+		when(grupoRepository.liberarCupo("G1", "A")).thenReturn(Optional.of(new CupoLiberado(grupoLleno, null)));
+
+		assertEquals(Optional.of(grupoLleno), listaEsperaService.liberarCupo("G1", "A"));
+		verifyNoInteractions(usuarioRepository, solicitudRepository, contadorSolicitudesRepository);
+	}
+
+	@Test
+	void testPromocionMueveAlEstudianteYApruebaSuSolicitud() {
+		Grupo anterior = grupo("G0", calculo, 30, Dia.MARTES);
+		anterior.addEstudiante("E1");
+		estudiante.addGrupo(anterior);
+		Solicitud solicitud = solicitudCambio("S1", SolicitudEstado.EN_REVISION, 4);
+		EntradaListaEspera promovida = new EntradaListaEspera("E1", "S1", 4, LocalDateTime.now());
+		when(grupoRepository.liberarCupo("G1", "A")).thenReturn(Optional.of(new CupoLiberado(grupoLleno, promovida)));
+		when(grupoRepository.liberarCupo("G0", "E1")).thenReturn(Optional.of(new CupoLiberado(anterior, null)));
+		when(usuarioRepository.findById("E1")).thenReturn(Optional.of(estudiante));
+		when(solicitudRepository.findById("S1")).thenReturn(Optional.of(solicitud));
+		when(solicitudRepository.registrarRespuesta(solicitud, SolicitudEstado.EN_REVISION)).thenReturn(true);
+
+		listaEsperaService.liberarCupo("G1", "A");
+
+		verify(grupoRepository).liberarCupo("G0", "E1");
+		verify(usuarioRepository).save(estudiante);
+		assertEquals(List.of("G1"), estudiante.getGrupos().stream().map(Grupo::getId).toList());
+		assertEquals(SolicitudEstado.APROBADA, solicitud.getEstado());
+		assertEquals(ListaEsperaService.RESPUESTA_PROMOCION, solicitud.getRespuesta());
+		assertNotNull(solicitud.getFechaResolucion());
+		verify(solicitudRepository).registrarRespuesta(solicitud, SolicitudEstado.EN_REVISION);
+		verify(solicitudRepository, never()).save(any());
+		verify(contadorSolicitudesRepository).registrarTransicion(Facultad.INGENIERIA_SISTEMAS,
+				TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.EN_REVISION, SolicitudEstado.APROBADA);
+		verify(metricasSirha).registrarInscripciones(MetricasSirha.OrigenInscripcion.LISTA_ESPERA, 1);
+		verify(metricasSirha).registrarTransicionSolicitud(SolicitudEstado.EN_REVISION, SolicitudEstado.APROBADA);
+	}
+
+	@Test
+	void testLiberarCupoEnTransaccionDevuelveLasPromocionesEncadenadasSinRegistrarMetricas() {
+		Grupo anterior = grupo("G0", calculo, 30, Dia.MARTES);
+		anterior.addEstudiante("E1");
+		estudiante.addGrupo(anterior);
+		Solicitud solicitud = solicitudCambio("S1", SolicitudEstado.PENDIENTE, 4);
+		EntradaListaEspera promovida = new EntradaListaEspera("E1", "S1", 4, LocalDateTime.now());
+		// El cupo que E1 deja en G0 lo ocupa E2, que esperaba en ese grupo
+		EntradaListaEspera encadenada = new EntradaListaEspera("E2", null, 6, LocalDateTime.now());
+		when(grupoRepository.liberarCupo("G1", "A")).thenReturn(Optional.of(new CupoLiberado(grupoLleno, promovida)));
+		when(grupoRepository.liberarCupo("G0", "E1")).thenReturn(Optional.of(new CupoLiberado(anterior, encadenada)));
+		when(usuarioRepository.findById("E1")).thenReturn(Optional.of(estudiante));
+		when(usuarioRepository.findById("E2")).thenReturn(Optional.empty());
+		when(solicitudRepository.findById("S1")).thenReturn(Optional.of(solicitud));
+		when(solicitudRepository.registrarRespuesta(solicitud, SolicitudEstado.PENDIENTE)).thenReturn(true);
+
+		ListaEsperaService.Promociones promociones = listaEsperaService.liberarCupoEnTransaccion("G1", "A");
+
+		assertEquals(2, promociones.inscripciones());
+		assertEquals(List.of(SolicitudEstado.PENDIENTE), promociones.aprobadasDesde());
+		verify(contadorSolicitudesRepository).registrarTransicion(Facultad.INGENIERIA_SISTEMAS,
+				TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, SolicitudEstado.APROBADA);
+		verifyNoInteractions(metricasSirha);
+
+		listaEsperaService.registrarPromociones(promociones);
+
+		verify(metricasSirha).registrarInscripciones(MetricasSirha.OrigenInscripcion.LISTA_ESPERA, 2);
+		verify(metricasSirha).registrarTransicionSolicitud(SolicitudEstado.PENDIENTE, SolicitudEstado.APROBADA);
+	}
+
+	@Test
+	void testPromocionNoModificaSolicitudYaResuelta() {
+		Solicitud solicitud = solicitudCambio("S1", SolicitudEstado.RECHAZADA, 4);
+		EntradaListaEspera promovida = new EntradaListaEspera("E1", "S1", 4, LocalDateTime.now());
+		when(grupoRepository.liberarCupo("G1", "A")).thenReturn(Optional.of(new CupoLiberado(grupoLleno, promovida)));
+		when(usuarioRepository.findById("E1")).thenReturn(Optional.of(estudiante));
+		when(solicitudRepository.findById("S1")).thenReturn(Optional.of(solicitud));
+
+		listaEsperaService.liberarCupo("G1", "A");
+
+		verify(usuarioRepository).save(estudiante);
+		assertEquals(SolicitudEstado.RECHAZADA, solicitud.getEstado());
+		verify(solicitudRepository, never()).save(any());
+		verify(solicitudRepository, never()).registrarRespuesta(any(), any());
+		verifyNoInteractions(contadorSolicitudesRepository);
+	}
+
+	@Test
+	void testPromocionNoApruebaSolicitudRespondidaEntretanto() {
+		Solicitud solicitud = solicitudCambio("S1", SolicitudEstado.PENDIENTE, 4);
+		EntradaListaEspera promovida = new EntradaListaEspera("E1", "S1", 4, LocalDateTime.now());
+		when(grupoRepository.liberarCupo("G1", "A")).thenReturn(Optional.of(new CupoLiberado(grupoLleno, promovida)));
+		when(usuarioRepository.findById("E1")).thenReturn(Optional.of(estudiante));
+		when(solicitudRepository.findById("S1")).thenReturn(Optional.of(solicitud));
+		// Un decano la rechazó entre la lectura y la escritura condicionada
+		when(solicitudRepository.registrarRespuesta(solicitud, SolicitudEstado.PENDIENTE)).thenReturn(false);
+
+		listaEsperaService.liberarCupo("G1", "A");
+
+		verify(usuarioRepository).save(estudiante);
+		verifyNoInteractions(contadorSolicitudesRepository);
+		verify(metricasSirha, never()).registrarTransicionSolicitud(any(), any());
+	}
+
+	@Test
+	void testPromocionConCruceDeHorarioCedeElCupoAlSiguiente() {
+		Materia fisica = new Materia("Física", "FIS", 4, Facultad.INGENIERIA_SISTEMAS);
+		// Inscrito en Física el lunes después de entrar a la lista de espera de G1, también el lunes
+		estudiante.addGrupo(grupo("F1", fisica, 30, Dia.LUNES));
+		EntradaListaEspera promovida = new EntradaListaEspera("E1", "S1", 4, LocalDateTime.now());
+		EntradaListaEspera siguiente = new EntradaListaEspera("E2", null, 5, LocalDateTime.now());
+		when(grupoRepository.liberarCupo("G1", "A")).thenReturn(Optional.of(new CupoLiberado(grupoLleno, promovida)));
+		when(grupoRepository.liberarCupo("G1", "E1")).thenReturn(Optional.of(new CupoLiberado(grupoLleno, siguiente)));
+		when(usuarioRepository.findById("E1")).thenReturn(Optional.of(estudiante));
+		when(usuarioRepository.findById("E2")).thenReturn(Optional.empty());
+
+		listaEsperaService.liberarCupo("G1", "A");
+
+		verify(grupoRepository).liberarCupo("G1", "E1");
+		verify(usuarioRepository, never()).save(any());
+		assertEquals(List.of("F1"), estudiante.getGrupos().stream().map(Grupo::getId).toList());
+		verifyNoInteractions(solicitudRepository);
+		// Solo cuenta la inscripción del siguiente, que sí conserva el cupo
+		verify(metricasSirha).registrarInscripciones(MetricasSirha.OrigenInscripcion.LISTA_ESPERA, 1);
+	}
+
+	@Test
+	void testDisponibilidadListaLaEsperaEnOrden() {
+		LocalDateTime ahora = LocalDateTime.now();
+		grupoLleno.getListaEspera().add(new EntradaListaEspera("TARDE", null, 8, ahora));
+		grupoLleno.getListaEspera().add(new EntradaListaEspera("PRIMERO", null, 2, ahora));
+
+		DisponibilidadGrupoDTO disponibilidad = ListaEsperaService.disponibilidad(grupoLleno);
+
+		assertEquals(List.of("PRIMERO", "TARDE"), disponibilidad.getListaEspera());
+		assertEquals(2, disponibilidad.getTamanoListaEspera());
+		assertEquals("CALC", disponibilidad.getAcronimoMateria());
+		assertTrue(disponibilidad.isEstaCompleto());
+	}
+
+	private Solicitud solicitudCambio(String id, SolicitudEstado estado, int prioridad) {
+		Solicitud solicitud = new Solicitud();
+		solicitud.setId(id);
+		solicitud.setEstudianteId("E1");
+		solicitud.setTipoSolicitud(TipoSolicitud.CAMBIO_GRUPO);
+		solicitud.setEstado(estado);
+		solicitud.setPrioridad(prioridad);
+		solicitud.setFacultad(Facultad.INGENIERIA_SISTEMAS);
+		solicitud.setGrupoDestino(grupoLleno);
+		return solicitud;
+	}
+
+	private static Grupo grupo(String id, Materia materia, int capacidad, Dia dia) {
+		Horario horario = new Horario();
+		horario.setDia(dia);
+		horario.setHoraInicio(LocalTime.of(7, 0));
+		horario.setHoraFin(LocalTime.of(8, 30));
+		Grupo grupo = new Grupo(materia, capacidad, new ArrayList<>(List.of(horario)));
+		grupo.setId(id);
+		return grupo;
+	}
+}
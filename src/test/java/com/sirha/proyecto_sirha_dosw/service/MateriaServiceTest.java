@@ -19,6 +19,9 @@ class MateriaServiceTest {
 	@Mock
 	private MateriaRepository materiaRepository;
 
+	@Mock
+	private CacheCatalogo cacheCatalogo;
+
 	@InjectMocks
 	private MateriaService materiaService;
 
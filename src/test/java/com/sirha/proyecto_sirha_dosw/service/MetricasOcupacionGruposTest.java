@@ -0,0 +1,65 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepositoryCustom.OcupacionFacultad;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MetricasOcupacionGruposTest {
+
+	@Mock
+	private GrupoRepository grupoRepository;
+
+	private SimpleMeterRegistry registry;
+	private MetricasOcupacionGrupos metricas;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		metricas = new MetricasOcupacionGrupos(grupoRepository, registry);
+	}
+
+	@Test
+	void testLosMedidoresLeenLaUltimaActualizacion() {
+		when(grupoRepository.ocupacionPorFacultad())
+				.thenReturn(List.of(new OcupacionFacultad(Facultad.INGENIERIA_SISTEMAS, 2, 50, 35)))
+				.thenReturn(List.of(new OcupacionFacultad(Facultad.INGENIERIA_SISTEMAS, 2, 50, 50)));
+
+		metricas.actualizar();
+		assertEquals(0.7, medidor(MetricasOcupacionGrupos.OCUPACION, "ingenieria_sistemas"), 1e-9);
+		assertEquals(35.0, medidor(MetricasOcupacionGrupos.INSCRITOS, "ingenieria_sistemas"));
+		assertEquals(50.0, medidor(MetricasOcupacionGrupos.CAPACIDAD, "ingenieria_sistemas"));
+		assertEquals(2.0, medidor(MetricasOcupacionGrupos.GRUPOS, "ingenieria_sistemas"));
+
+		metricas.actualizar();
+		assertEquals(1.0, medidor(MetricasOcupacionGrupos.OCUPACION, "ingenieria_sistemas"), 1e-9);
+		verify(grupoRepository, times(2)).ocupacionPorFacultad();
+	}
+
+	@Test
+	void testFacultadSinGruposMarcaCero() {
+		when(grupoRepository.ocupacionPorFacultad()).thenReturn(List.of());
+
+		metricas.actualizar();
+
+		for (Facultad facultad : Facultad.values()) {
+			assertEquals(0.0, medidor(MetricasOcupacionGrupos.OCUPACION, facultad.name().toLowerCase()));
+		}
+		verifyNoMoreInteractions(grupoRepository);
+	}
+
+	private double medidor(String nombre, String facultad) {
+		return registry.get(nombre).tag("facultad", facultad).gauge().value();
+	}
+}
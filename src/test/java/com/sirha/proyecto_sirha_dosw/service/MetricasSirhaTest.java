@@ -0,0 +1,66 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import com.sirha.proyecto_sirha_dosw.service.MetricasSirha.OrigenInscripcion;
+import com.sirha.proyecto_sirha_dosw.service.MetricasSirha.ResultadoValidacionJwt;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricasSirhaTest {
+
+	private SimpleMeterRegistry registry;
+	private MetricasSirha metricas;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		metricas = new MetricasSirha(registry);
+	}
+
+	@Test
+	void testLosContadoresSeRegistranAlCrearElComponente() {
+		int estados = SolicitudEstado.values().length;
+		assertEquals(OrigenInscripcion.values().length, registry.find(MetricasSirha.INSCRIPCIONES).counters().size());
+		assertEquals(estados + estados * (estados - 1),
+				registry.find(MetricasSirha.TRANSICIONES_SOLICITUDES).counters().size());
+		assertEquals(ResultadoValidacionJwt.values().length,
+				registry.find(MetricasSirha.VALIDACIONES_JWT).counters().size());
+		assertEquals(2, registry.find(MetricasSirha.BCRYPT).timers().size());
+	}
+
+	@Test
+	void testInscripcionesPorOrigen() {
+		metricas.registrarInscripcion(OrigenInscripcion.DIRECTA);
+		metricas.registrarInscripciones(OrigenInscripcion.SOLICITUD, 3);
+		metricas.registrarInscripciones(OrigenInscripcion.SOLICITUD, 0);
+
+		assertEquals(1.0, inscripciones("directa"));
+		assertEquals(3.0, inscripciones("solicitud"));
+		assertEquals(0.0, inscripciones("lista_espera"));
+	}
+
+	@Test
+	void testTransicionesPorEstadoDeOrigenYDestino() {
+		metricas.registrarCreacionSolicitud(SolicitudEstado.PENDIENTE);
+		metricas.registrarTransicionSolicitud(null, SolicitudEstado.PENDIENTE);
+		metricas.registrarTransicionSolicitud(SolicitudEstado.PENDIENTE, SolicitudEstado.APROBADA);
+		metricas.registrarTransicionSolicitud(SolicitudEstado.APROBADA, SolicitudEstado.APROBADA);
+
+		assertEquals(2.0, transiciones(MetricasSirha.SIN_ESTADO, "pendiente"));
+		assertEquals(1.0, transiciones("pendiente", "aprobada"));
+		assertNull(registry.find(MetricasSirha.TRANSICIONES_SOLICITUDES)
+				.tag("desde", "aprobada").tag("hacia", "aprobada").counter());
+	}
+
+	private double inscripciones(String origen) {
+		return registry.get(MetricasSirha.INSCRIPCIONES).tag("origen", origen).counter().count();
+	}
+
+	private double transiciones(String desde, String hacia) {
+		return registry.get(MetricasSirha.TRANSICIONES_SOLICITUDES).tag("desde", desde).tag("hacia", hacia)
+				.counter().count();
+	}
+}
@@ -0,0 +1,140 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.model.Facultad;
+import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
+import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepositoryCustom.ConteoSolicitudes;
+import com.sirha.proyecto_sirha_dosw.service.ReconciliacionContadoresService.Desviacion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReconciliacionContadoresServiceTest {
+
+	@Mock
+	SolicitudRepository solicitudRepository;
+	@Mock
+	ContadorSolicitudesRepository contadorSolicitudesRepository;
+	@Mock
+	SecuenciaRepository secuenciaRepository;
+	ReconciliacionContadoresService reconciliacionContadoresService;
+
+	@BeforeEach
+	void setUp() {
+		reconciliacionContadoresService = new ReconciliacionContadoresService(solicitudRepository,
+			contadorSolicitudesRepository, secuenciaRepository, 50_000L, () -> 1_000L);
+	}
+
+	@Test
+	void testReconciliarSinDesviacionesNoAjusta() {
+		List<ConteoSolicitudes> conteos = List.of(
+			new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 3));
+		when(solicitudRepository.contarPorFacultadTipoYEstado(null, null)).thenReturn(conteos);
+		when(contadorSolicitudesRepository.obtenerConteos(null, null)).thenReturn(conteos);
+
+		assertTrue(reconciliacionContadoresService.reconciliar().isEmpty());
+		verify(contadorSolicitudesRepository, never()).corregir(any(), any(), any(), anyLong(), anyLong());
+	}
+
+	@Test
+	void testReconciliarReportaDesviacionesSinCorregirEnLaPrimeraEjecucion() {
+		conteosConDesviaciones();
+
+		List<Desviacion> desviaciones = reconciliacionContadoresService.reconciliar();
+
+		assertEquals(Set.of(
+			new Desviacion(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 3, 4, false),
+			new Desviacion(Facultad.ADMINISTRACION, TipoSolicitud.INSCRIPCION_GRUPO, SolicitudEstado.RECHAZADA, 0, 1, false)),
+			new HashSet<>(desviaciones));
+		verify(contadorSolicitudesRepository, never()).corregir(any(), any(), any(), anyLong(), anyLong());
+	}
+
+	@Test
+	void testReconciliarCorrigeDesviacionesRepetidasEnDosEjecuciones() {
+		conteosConDesviaciones();
+		when(contadorSolicitudesRepository.corregir(any(), any(), any(), anyLong(), anyLong())).thenReturn(true);
+		reconciliacionContadoresService.reconciliar();
+
+		List<Desviacion> desviaciones = reconciliacionContadoresService.reconciliar();
+
+		assertEquals(Set.of(
+			new Desviacion(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 3, 4, true),
+			new Desviacion(Facultad.ADMINISTRACION, TipoSolicitud.INSCRIPCION_GRUPO, SolicitudEstado.RECHAZADA, 0, 1, true)),
+			new HashSet<>(desviaciones));
+		verify(contadorSolicitudesRepository).corregir(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO,
+			SolicitudEstado.PENDIENTE, 4, 3);
+		verify(contadorSolicitudesRepository).corregir(Facultad.ADMINISTRACION, TipoSolicitud.INSCRIPCION_GRUPO,
+			SolicitudEstado.RECHAZADA, 1, 0);
+		verify(contadorSolicitudesRepository, never()).ajustar(any(), any(), any());
+	}
+
+	@Test
+	void testReconciliarNoMarcaComoCorregidoUnContadorQueYaCambio() {
+		// Otra instancia corrigió el contador, o una solicitud lo movió, después de leerlo
+		conteosConDesviaciones();
+		when(contadorSolicitudesRepository.corregir(any(), any(), any(), anyLong(), anyLong())).thenReturn(false);
+		reconciliacionContadoresService.reconciliar();
+
+		List<Desviacion> desviaciones = reconciliacionContadoresService.reconciliar();
+
+		assertEquals(2, desviaciones.size());
+		assertTrue(desviaciones.stream().noneMatch(Desviacion::corregida));
+		verify(contadorSolicitudesRepository, times(2)).corregir(any(), any(), any(), anyLong(), anyLong());
+	}
+
+	@Test
+	void testReconciliacionProgramadaSoloCorreConLaConcesion() {
+		when(secuenciaRepository.tomarConcesion(ReconciliacionContadoresService.CONCESION, 1_000L, 50_000L))
+			.thenReturn(false, true);
+
+		reconciliacionContadoresService.reconciliarProgramado();
+		verifyNoInteractions(solicitudRepository, contadorSolicitudesRepository);
+
+		reconciliacionContadoresService.reconciliarProgramado();
+		verify(solicitudRepository).contarPorFacultadTipoYEstado(null, null);
+	}
+
+	@Test
+	void testReconciliarNoCorrigeDiferenciasTransitorias() {
+		// Una solicitud creada entre el recuento y la lectura de los contadores
+		when(solicitudRepository.contarPorFacultadTipoYEstado(null, null)).thenReturn(
+			List.of(new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 3)),
+			List.of(new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 5)));
+		when(contadorSolicitudesRepository.obtenerConteos(null, null)).thenReturn(
+			List.of(new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 4)),
+			List.of(new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 5)),
+			List.of(new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 4)));
+
+		assertEquals(1, reconciliacionContadoresService.reconciliar().size());
+		assertTrue(reconciliacionContadoresService.reconciliar().isEmpty());
+		// Una diferencia nueva espera a repetirse antes de corregirse
+		assertFalse(reconciliacionContadoresService.reconciliar().get(0).corregida());
+		verify(contadorSolicitudesRepository, never()).corregir(any(), any(), any(), anyLong(), anyLong());
+	}
+
+	private void conteosConDesviaciones() {
+		when(solicitudRepository.contarPorFacultadTipoYEstado(null, null)).thenReturn(List.of(
+			new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 3),
+			new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.APROBADA, 2),
+			new ConteoSolicitudes(null, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.APROBADA, 7)));
+		when(contadorSolicitudesRepository.obtenerConteos(null, null)).thenReturn(List.of(
+			new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 4),
+			new ConteoSolicitudes(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.APROBADA, 2),
+			new ConteoSolicitudes(Facultad.ADMINISTRACION, TipoSolicitud.INSCRIPCION_GRUPO, SolicitudEstado.RECHAZADA, 1)));
+	}
+}
@@ -1,5 +1,6 @@
 package com.sirha.proyecto_sirha_dosw.service;
 
+import com.sirha.proyecto_sirha_dosw.dto.CuboSolicitudesDTO;
 import com.sirha.proyecto_sirha_dosw.dto.EstadisticasGrupoDTO;
 import com.sirha.proyecto_sirha_dosw.dto.IndicadoresAvanceDTO;
 import com.sirha.proyecto_sirha_dosw.dto.TasaAprobacionDTO;
@@ -14,10 +15,12 @@ import com.sirha.proyecto_sirha_dosw.model.Semestre;
 import com.sirha.proyecto_sirha_dosw.model.Solicitud;
 import com.sirha.proyecto_sirha_dosw.model.SolicitudEstado;
 import com.sirha.proyecto_sirha_dosw.model.TipoSolicitud;
-import com.sirha.proyecto_sirha_dosw.model.Usuario;
 import com.sirha.proyecto_sirha_dosw.repository.CarreraRepository;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepository;
 import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
 import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepositoryCustom.ConteoPorGrupo;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepositoryCustom.ConteoSolicitudes;
 import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +32,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -44,6 +48,10 @@ class ReportesServiceTest {
 	UsuarioRepository usuarioRepository;
 	@Mock
 	CarreraRepository carreraRepository;
+	@Mock
+	ContadorSolicitudesRepository contadorSolicitudesRepository;
+	@Mock
+	CacheCatalogo cacheCatalogo;
 	@InjectMocks
 	ReportesService reportesService;
 
@@ -67,19 +75,22 @@ class ReportesServiceTest {
 
 	@Test
 	void testObtenerGruposMasSolicitadosDefault() {
-		when(grupoRepository.findAll()).thenReturn(List.of(grupoA, grupoB));
-		when(solicitudRepository.countByGrupoDestino_IdAndTipoSolicitud("GRP_A", TipoSolicitud.CAMBIO_GRUPO)).thenReturn(5L);
-		when(solicitudRepository.countByGrupoDestino_IdAndTipoSolicitud("GRP_B", TipoSolicitud.CAMBIO_GRUPO)).thenReturn(2L);
+		when(solicitudRepository.contarPorGrupoDestino(TipoSolicitud.CAMBIO_GRUPO, null, 10))
+				.thenReturn(List.of(new ConteoPorGrupo("GRP_A", 5L), new ConteoPorGrupo("GRP_B", 2L)));
+		when(grupoRepository.findAllById(List.of("GRP_A", "GRP_B"))).thenReturn(List.of(grupoB, grupoA));
 
 		List<EstadisticasGrupoDTO> resultados = reportesService.obtenerGruposMasSolicitados();
 		assertEquals(2, resultados.size());
 		assertEquals("GRP_A", resultados.get(0).getGrupoId());
+		verify(solicitudRepository, never()).countByGrupoDestino_IdAndTipoSolicitud(anyString(), any());
+		verify(grupoRepository, never()).findAll();
 	}
 
 	@Test
 	void testObtenerGruposMasSolicitadosFiltrado() {
-		when(grupoRepository.findByMateria_Facultad(Facultad.INGENIERIA_SISTEMAS)).thenReturn(List.of(grupoA));
-		when(solicitudRepository.countByGrupoDestino_IdAndTipoSolicitud("GRP_A", TipoSolicitud.CAMBIO_GRUPO)).thenReturn(3L);
+		when(solicitudRepository.contarPorGrupoDestino(TipoSolicitud.CAMBIO_GRUPO, Facultad.INGENIERIA_SISTEMAS, 1))
+				.thenReturn(List.of(new ConteoPorGrupo("GRP_A", 3L)));
+		when(grupoRepository.findAllById(List.of("GRP_A"))).thenReturn(List.of(grupoA));
 		List<EstadisticasGrupoDTO> resultados = reportesService.obtenerGruposMasSolicitados(Facultad.INGENIERIA_SISTEMAS, 1);
 		assertEquals(1, resultados.size());
 		assertEquals("MAT_A", resultados.get(0).getMateriaId());
@@ -89,11 +100,20 @@ class ReportesServiceTest {
 	void testObtenerGruposMasSolicitadosIgnoraSinMateria() {
 		Grupo grupoSinMateria = new Grupo();
 		grupoSinMateria.setId("VACIO");
-		when(grupoRepository.findAll()).thenReturn(List.of(grupoSinMateria));
+		when(solicitudRepository.contarPorGrupoDestino(TipoSolicitud.CAMBIO_GRUPO, null, 10))
+				.thenReturn(List.of(new ConteoPorGrupo("VACIO", 1L), new ConteoPorGrupo("ELIMINADO", 1L)));
+		when(grupoRepository.findAllById(List.of("VACIO", "ELIMINADO"))).thenReturn(List.of(grupoSinMateria));
 		List<EstadisticasGrupoDTO> resultados = reportesService.obtenerGruposMasSolicitados();
 		assertTrue(resultados.isEmpty());
 	}
 
+	@Test
+	void testObtenerGruposMasSolicitadosSinSolicitudesNoConsultaGrupos() {
+		when(solicitudRepository.contarPorGrupoDestino(TipoSolicitud.CAMBIO_GRUPO, null, 10)).thenReturn(List.of());
+		assertTrue(reportesService.obtenerGruposMasSolicitados().isEmpty());
+		verifyNoInteractions(grupoRepository);
+	}
+
 	@Test
 	void testObtenerEstadisticasGrupoExistente() {
 		when(grupoRepository.findById("GRP_A")).thenReturn(Optional.of(grupoA));
@@ -125,8 +145,9 @@ class ReportesServiceTest {
 
 	@Test
 	void testObtenerGruposMasSolicitadosPorFacultad() {
-		when(grupoRepository.findByMateria_Facultad(Facultad.INGENIERIA_SISTEMAS)).thenReturn(List.of(grupoA));
-		when(solicitudRepository.countByGrupoDestino_IdAndTipoSolicitud("GRP_A", TipoSolicitud.CAMBIO_GRUPO)).thenReturn(6L);
+		when(solicitudRepository.contarPorGrupoDestino(TipoSolicitud.CAMBIO_GRUPO, Facultad.INGENIERIA_SISTEMAS, 5))
+				.thenReturn(List.of(new ConteoPorGrupo("GRP_A", 6L)));
+		when(grupoRepository.findAllById(List.of("GRP_A"))).thenReturn(List.of(grupoA));
 		List<EstadisticasGrupoDTO> resultados = reportesService.obtenerGruposMasSolicitadosPorFacultad(Facultad.INGENIERIA_SISTEMAS);
 		assertEquals(1, resultados.size());
 		assertEquals("SW1", resultados.get(0).getMateriaAcronimo());
@@ -134,55 +155,73 @@ class ReportesServiceTest {
 
 	@Test
 	void testObtenerTasasAprobacionGlobal() {
-		when(solicitudRepository.count()).thenReturn(10L);
-		when(solicitudRepository.countByEstado(SolicitudEstado.APROBADA)).thenReturn(4L);
-		when(solicitudRepository.countByEstado(SolicitudEstado.RECHAZADA)).thenReturn(3L);
-		when(solicitudRepository.countByEstado(SolicitudEstado.PENDIENTE)).thenReturn(2L);
-		when(solicitudRepository.countByEstado(SolicitudEstado.EN_REVISION)).thenReturn(1L);
+		when(contadorSolicitudesRepository.obtenerConteos(null, null)).thenReturn(List.of(
+			conteo(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.APROBADA, 3),
+			conteo(Facultad.INGENIERIA_CIVIL, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.APROBADA, 1),
+			conteo(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.INSCRIPCION_GRUPO, SolicitudEstado.RECHAZADA, 3),
+			conteo(Facultad.INGENIERIA_CIVIL, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 2),
+			conteo(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.EN_REVISION, 1)));
 		TasaAprobacionDTO dto = reportesService.obtenerTasasAprobacionGlobal();
 		assertEquals(10L, dto.getTotalSolicitudes());
+		assertEquals(4L, dto.getSolicitudesAprobadas());
+		assertEquals(3L, dto.getSolicitudesRechazadas());
+		assertEquals(40.0, dto.getTasaAprobacion(), 0.001);
 		assertEquals("TODAS", dto.getTipoSolicitud());
 	}
 
 	@Test
 	void testObtenerTasasAprobacionPorFacultad() {
-		when(solicitudRepository.countByFacultad(Facultad.INGENIERIA_SISTEMAS)).thenReturn(5L);
-		when(solicitudRepository.countByFacultadAndEstado(Facultad.INGENIERIA_SISTEMAS, SolicitudEstado.APROBADA)).thenReturn(2L);
-		when(solicitudRepository.countByFacultadAndEstado(Facultad.INGENIERIA_SISTEMAS, SolicitudEstado.RECHAZADA)).thenReturn(1L);
-		when(solicitudRepository.countByFacultadAndEstado(Facultad.INGENIERIA_SISTEMAS, SolicitudEstado.PENDIENTE)).thenReturn(1L);
-		when(solicitudRepository.countByFacultadAndEstado(Facultad.INGENIERIA_SISTEMAS, SolicitudEstado.EN_REVISION)).thenReturn(1L);
+		when(contadorSolicitudesRepository.obtenerConteos(Facultad.INGENIERIA_SISTEMAS, null)).thenReturn(List.of(
+			conteo(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.APROBADA, 2),
+			conteo(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CANCELACION_GRUPO, SolicitudEstado.RECHAZADA, 1),
+			conteo(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 1),
+			conteo(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.EN_REVISION, 1)));
 		TasaAprobacionDTO dto = reportesService.obtenerTasasAprobacionPorFacultad(Facultad.INGENIERIA_SISTEMAS);
 		assertEquals("INGENIERIA_SISTEMAS", dto.getFacultad());
+		assertEquals(5L, dto.getTotalSolicitudes());
+		assertEquals(2L, dto.getSolicitudesAprobadas());
 	}
 
 	@Test
 	void testObtenerTasasAprobacionPorTipo() {
-		Solicitud aprobada = new Solicitud();
-		aprobada.setEstado(SolicitudEstado.APROBADA);
-		Solicitud rechazada = new Solicitud();
-		rechazada.setEstado(SolicitudEstado.RECHAZADA);
-		Solicitud pendiente = new Solicitud();
-		pendiente.setEstado(SolicitudEstado.PENDIENTE);
-		Solicitud enRevision = new Solicitud();
-		enRevision.setEstado(SolicitudEstado.EN_REVISION);
-		when(solicitudRepository.countByTipoSolicitud(TipoSolicitud.CAMBIO_GRUPO)).thenReturn(4L);
-		when(solicitudRepository.findByTipoSolicitud(TipoSolicitud.CAMBIO_GRUPO)).thenReturn(List.of(aprobada, rechazada, pendiente, enRevision));
+		when(contadorSolicitudesRepository.obtenerConteos(null, TipoSolicitud.CAMBIO_GRUPO)).thenReturn(List.of(
+			conteo(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.APROBADA, 1),
+			conteo(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.RECHAZADA, 1),
+			conteo(Facultad.INGENIERIA_CIVIL, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.PENDIENTE, 1),
+			conteo(null, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.EN_REVISION, 1)));
 		TasaAprobacionDTO dto = reportesService.obtenerTasasAprobacionPorTipo(TipoSolicitud.CAMBIO_GRUPO);
 		assertEquals("CAMBIO_GRUPO", dto.getTipoSolicitud());
 		assertEquals(4L, dto.getTotalSolicitudes());
+		assertEquals(25.0, dto.getTasaEnRevision(), 0.001);
+		verifyNoInteractions(solicitudRepository);
 	}
 
 	@Test
 	void testObtenerTasasAprobacionPorFacultadYTipo() {
-		when(solicitudRepository.countByFacultadAndEstadoAndTipoSolicitud(Facultad.INGENIERIA_SISTEMAS, SolicitudEstado.APROBADA, TipoSolicitud.CAMBIO_GRUPO)).thenReturn(2L);
-		when(solicitudRepository.countByFacultadAndEstadoAndTipoSolicitud(Facultad.INGENIERIA_SISTEMAS, SolicitudEstado.RECHAZADA, TipoSolicitud.CAMBIO_GRUPO)).thenReturn(1L);
-		when(solicitudRepository.countByFacultadAndEstadoAndTipoSolicitud(Facultad.INGENIERIA_SISTEMAS, SolicitudEstado.PENDIENTE, TipoSolicitud.CAMBIO_GRUPO)).thenReturn(0L);
-		when(solicitudRepository.countByFacultadAndEstadoAndTipoSolicitud(Facultad.INGENIERIA_SISTEMAS, SolicitudEstado.EN_REVISION, TipoSolicitud.CAMBIO_GRUPO)).thenReturn(1L);
+		when(contadorSolicitudesRepository.obtenerConteos(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO)).thenReturn(List.of(
+			conteo(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.APROBADA, 2),
+			conteo(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.RECHAZADA, 1),
+			conteo(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.EN_REVISION, 1)));
 		TasaAprobacionDTO dto = reportesService.obtenerTasasAprobacionPorFacultadYTipo(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO);
 		assertEquals(4L, dto.getTotalSolicitudes());
+		assertEquals(0L, dto.getSolicitudesPendientes());
 		assertEquals("CAMBIO_GRUPO", dto.getTipoSolicitud());
 	}
 
+	@Test
+	void testObtenerCuboSolicitudes() {
+		when(contadorSolicitudesRepository.obtenerConteos(null, null)).thenReturn(List.of(
+			conteo(Facultad.INGENIERIA_SISTEMAS, TipoSolicitud.CAMBIO_GRUPO, SolicitudEstado.APROBADA, 6),
+			conteo(null, TipoSolicitud.INSCRIPCION_GRUPO, SolicitudEstado.PENDIENTE, 2)));
+		CuboSolicitudesDTO cubo = reportesService.obtenerCuboSolicitudes();
+		assertEquals(8L, cubo.getTotalSolicitudes());
+		assertEquals(2, cubo.getCeldas().size());
+		assertEquals("INGENIERIA_SISTEMAS", cubo.getCeldas().get(0).getFacultad());
+		assertEquals("APROBADA", cubo.getCeldas().get(0).getEstado());
+		assertNull(cubo.getCeldas().get(1).getFacultad());
+		assertEquals(2L, cubo.getCeldas().get(1).getCantidad());
+	}
+
 	// Tests para los métodos con 0% de cobertura
 	@Test
 	void testCalcularIndicadoresAvanceEstudiante() {
@@ -199,7 +238,7 @@ class ReportesServiceTest {
 
 		// Mock del repository
 		when(usuarioRepository.findById("EST123")).thenReturn(Optional.of(estudiante));
-		when(carreraRepository.findByNombre(Facultad.INGENIERIA_SISTEMAS)).thenReturn(Optional.of(carrera));
+		when(cacheCatalogo.carreraPorFacultad(Facultad.INGENIERIA_SISTEMAS)).thenReturn(Optional.of(carrera));
 
 		// Ejecutar método
 		IndicadoresAvanceDTO resultado = reportesService.calcularIndicadoresAvanceEstudiante("EST123");
@@ -214,7 +253,7 @@ class ReportesServiceTest {
 		assertEquals(0, resultado.getTotalMaterias()); // Carrera sin materias
 		
 		verify(usuarioRepository).findById("EST123");
-		verify(carreraRepository).findByNombre(Facultad.INGENIERIA_SISTEMAS);
+		verify(cacheCatalogo).carreraPorFacultad(Facultad.INGENIERIA_SISTEMAS);
 	}
 
 	@Test
@@ -229,132 +268,84 @@ class ReportesServiceTest {
 
 	@Test
 	void testCalcularIndicadoresAvanceGlobales() {
-		// Crear estudiantes mock con datos completos para ejecutar el método interno
-		Estudiante est1 = new Estudiante();
-		est1.setId("EST001");
-		est1.setNombre("Juan");
-		est1.setApellido("Pérez");
-		est1.setCarrera(Facultad.INGENIERIA_SISTEMAS);
-
-		Estudiante est2 = new Estudiante();
-		est2.setId("EST002");
-		est2.setNombre("María");
-		est2.setApellido("González");
-		est2.setCarrera(Facultad.INGENIERIA_SISTEMAS);
-
-		// Usar una lista de Usuario ya que Estudiante extiende Usuario
-		List<Usuario> usuarios = new ArrayList<>();
-		usuarios.add(est1);
-		usuarios.add(est2);
-
-		// Crear carrera mock para que el método interno funcione
-		Carrera carrera = new Carrera();
-		carrera.setCreditosTotales(160);
-
-		// Mock de repositorios
-		when(usuarioRepository.findAll()).thenReturn(usuarios);
-		// Mock para cada llamada individual del método calcularIndicadoresAvanceEstudiante
-		when(usuarioRepository.findById("EST001")).thenReturn(Optional.of(est1));
-		when(usuarioRepository.findById("EST002")).thenReturn(Optional.of(est2));
-		when(carreraRepository.findByNombre(Facultad.INGENIERIA_SISTEMAS)).thenReturn(Optional.of(carrera));
+		Estudiante est1 = estudianteConRegistros("EST001", Facultad.INGENIERIA_SISTEMAS, Semaforo.VERDE, Semaforo.AZUL);
+		Estudiante est2 = estudianteConRegistros("EST002", Facultad.INGENIERIA_SISTEMAS, Semaforo.ROJO);
+		when(carreraRepository.findAll()).thenReturn(List.of(carrera(Facultad.INGENIERIA_SISTEMAS, 160, 4)));
+		when(usuarioRepository.streamEstudiantesParaAvance(Facultad.INGENIERIA_SISTEMAS)).thenReturn(Stream.of(est1, est2));
 
-		// Ejecutar método
 		IndicadoresAvanceDTO resultado = reportesService.calcularIndicadoresAvanceGlobales(Facultad.INGENIERIA_SISTEMAS);
 
-		// Verificar resultado
 		assertNotNull(resultado);
 		assertEquals("ESTADISTICAS_GLOBALES", resultado.getTipoReporte());
 		assertEquals(Facultad.INGENIERIA_SISTEMAS, resultado.getFacultad());
-		
-		// Verificar que se llamaron los métodos necesarios
-		verify(usuarioRepository).findAll();
-		verify(usuarioRepository).findById("EST001");
-		verify(usuarioRepository).findById("EST002");
-		verify(carreraRepository, times(2)).findByNombre(Facultad.INGENIERIA_SISTEMAS);
+		assertEquals(8, resultado.getTotalMaterias());
+		assertEquals(320, resultado.getCreditosTotales());
+		assertEquals(1, resultado.getMateriasAprobadas());
+		assertEquals(3, resultado.getCreditosAprobados());
+		assertEquals(1L, resultado.getDistribucionEstados().get(Semaforo.AZUL));
+		assertEquals(1L, resultado.getDistribucionEstados().get(Semaforo.ROJO));
+		assertEquals(2.0, resultado.getPromedioGeneral(), 0.001);
+
+		// Sin consultas por estudiante: una sola lectura de carreras y un cursor de estudiantes
+		verify(carreraRepository).findAll();
+		verify(cacheCatalogo, never()).carreraPorFacultad(any());
+		verify(usuarioRepository, never()).findById(anyString());
+		verify(usuarioRepository, never()).findAll();
 	}
 
 	@Test
 	void testCalcularIndicadoresAvanceGlobalesSinFiltro() {
-		// Crear estudiantes de diferentes facultades
-		Estudiante est1 = new Estudiante();
-		est1.setId("EST003");
-		est1.setNombre("Juan");
-		est1.setApellido("Pérez");
-		est1.setCarrera(Facultad.INGENIERIA_SISTEMAS);
-
-		Estudiante est2 = new Estudiante();
-		est2.setId("EST004");
-		est2.setNombre("María");
-		est2.setApellido("González");
-		est2.setCarrera(Facultad.INGENIERIA_CIVIL);
-
-		// Usar una lista de Usuario
-		List<Usuario> usuarios = new ArrayList<>();
-		usuarios.add(est1);
-		usuarios.add(est2);
-
-		// Crear carreras mock
-		Carrera carreraSistemas = new Carrera();
-		carreraSistemas.setCreditosTotales(160);
-		
-		Carrera carreraCivil = new Carrera();
-		carreraCivil.setCreditosTotales(180);
-
-		when(usuarioRepository.findAll()).thenReturn(usuarios);
-		when(usuarioRepository.findById("EST003")).thenReturn(Optional.of(est1));
-		when(usuarioRepository.findById("EST004")).thenReturn(Optional.of(est2));
-		when(carreraRepository.findByNombre(Facultad.INGENIERIA_SISTEMAS)).thenReturn(Optional.of(carreraSistemas));
-		when(carreraRepository.findByNombre(Facultad.INGENIERIA_CIVIL)).thenReturn(Optional.of(carreraCivil));
+		Estudiante est1 = estudianteConRegistros("EST003", Facultad.INGENIERIA_SISTEMAS, Semaforo.VERDE);
+		Estudiante est2 = estudianteConRegistros("EST004", Facultad.INGENIERIA_CIVIL, Semaforo.CANCELADO);
+		when(carreraRepository.findAll()).thenReturn(List.of(
+			carrera(Facultad.INGENIERIA_SISTEMAS, 160, 1), carrera(Facultad.INGENIERIA_CIVIL, 180, 2)));
+		when(usuarioRepository.streamEstudiantesParaAvance(null)).thenReturn(Stream.of(est1, est2));
 
 		IndicadoresAvanceDTO resultado = reportesService.calcularIndicadoresAvanceGlobales(null);
 
 		assertNotNull(resultado);
 		assertEquals("ESTADISTICAS_GLOBALES", resultado.getTipoReporte());
 		assertNull(resultado.getFacultad());
-		
-		verify(usuarioRepository).findAll();
-		verify(usuarioRepository).findById("EST003");
-		verify(usuarioRepository).findById("EST004");
+		assertEquals(340, resultado.getCreditosTotales());
+		assertEquals(100.0, resultado.getAvancePorFacultad().get(Facultad.INGENIERIA_SISTEMAS), 0.001);
+		assertEquals(0.0, resultado.getAvancePorFacultad().get(Facultad.INGENIERIA_CIVIL), 0.001);
+		assertEquals(1L, resultado.getDistribucionEstados().get(Semaforo.CANCELADO));
 	}
 
 	@Test
-	void testCalcularIndicadoresAvanceGlobalesConEstudiantesCompletos() {
-		// Test adicional para cubrir más líneas del método calcularIndicadoresAvanceGlobales
-		// Crear estudiantes con más información para activar el cálculo de distribución de estados
-		Estudiante est1 = new Estudiante();
-		est1.setId("EST005");
-		est1.setNombre("Carlos");
-		est1.setApellido("Mendoza");
-		est1.setCarrera(Facultad.INGENIERIA_SISTEMAS);
-
-		Estudiante est2 = new Estudiante();
-		est2.setId("EST006");
-		est2.setNombre("Ana");
-		est2.setApellido("Rodríguez");
-		est2.setCarrera(Facultad.INGENIERIA_SISTEMAS);
-
-		List<Usuario> usuarios = new ArrayList<>();
-		usuarios.add(est1);
-		usuarios.add(est2);
+	void testCalcularIndicadoresAvanceGlobalesPromedioRealPorFacultad() {
+		// Avances de 100%, 50% y 0%: el promedio real es 50% (el promedio por pares daba 37.5%)
+		Estudiante est1 = estudianteConRegistros("EST005", Facultad.INGENIERIA_SISTEMAS, Semaforo.VERDE, Semaforo.VERDE);
+		Estudiante est2 = estudianteConRegistros("EST006", Facultad.INGENIERIA_SISTEMAS, Semaforo.VERDE, Semaforo.AZUL);
+		Estudiante est3 = estudianteConRegistros("EST007", Facultad.INGENIERIA_SISTEMAS, Semaforo.AZUL, Semaforo.AZUL);
+		when(carreraRepository.findAll()).thenReturn(List.of(carrera(Facultad.INGENIERIA_SISTEMAS, 160, 2)));
+		when(usuarioRepository.streamEstudiantesParaAvance(Facultad.INGENIERIA_SISTEMAS)).thenReturn(Stream.of(est1, est2, est3));
 
-		Carrera carrera = new Carrera();
-		carrera.setCreditosTotales(160);
+		IndicadoresAvanceDTO resultado = reportesService.calcularIndicadoresAvanceGlobales(Facultad.INGENIERIA_SISTEMAS);
 
-		when(usuarioRepository.findAll()).thenReturn(usuarios);
-		when(usuarioRepository.findById("EST005")).thenReturn(Optional.of(est1));
-		when(usuarioRepository.findById("EST006")).thenReturn(Optional.of(est2));
-		when(carreraRepository.findByNombre(Facultad.INGENIERIA_SISTEMAS)).thenReturn(Optional.of(carrera));
+		assertEquals(50.0, resultado.getAvancePorFacultad().get(Facultad.INGENIERIA_SISTEMAS), 0.001);
+	}
 
-		IndicadoresAvanceDTO resultado = reportesService.calcularIndicadoresAvanceGlobales(Facultad.INGENIERIA_SISTEMAS);
+	@Test
+	void testCalcularIndicadoresAvanceGlobalesMuchosEstudiantesEnVariosLotes() {
+		List<Estudiante> estudiantes = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			Facultad facultad = i % 2 == 0 ? Facultad.INGENIERIA_SISTEMAS : Facultad.INGENIERIA_CIVIL;
+			estudiantes.add(estudianteConRegistros("EST" + i, facultad, Semaforo.VERDE, Semaforo.ROJO, Semaforo.AZUL));
+		}
+		when(carreraRepository.findAll()).thenReturn(List.of(
+			carrera(Facultad.INGENIERIA_SISTEMAS, 160, 3), carrera(Facultad.INGENIERIA_CIVIL, 180, 6)));
+		when(usuarioRepository.streamEstudiantesParaAvance(null)).thenReturn(estudiantes.stream());
 
-		assertNotNull(resultado);
-		assertEquals("ESTADISTICAS_GLOBALES", resultado.getTipoReporte());
-		assertEquals(Facultad.INGENIERIA_SISTEMAS, resultado.getFacultad());
-		
-		verify(usuarioRepository).findAll();
-		verify(usuarioRepository).findById("EST005");
-		verify(usuarioRepository).findById("EST006");
-		verify(carreraRepository, times(2)).findByNombre(Facultad.INGENIERIA_SISTEMAS);
+		IndicadoresAvanceDTO resultado = reportesService.calcularIndicadoresAvanceGlobales(null);
+
+		assertEquals(2000, resultado.getMateriasAprobadas());
+		assertEquals(2000, resultado.getMateriasConProblemas());
+		assertEquals(6000, resultado.getCreditosAprobados());
+		assertEquals(1000 * 160 + 1000 * 180, resultado.getCreditosTotales());
+		assertEquals(2.0, resultado.getPromedioGeneral(), 0.001);
+		assertEquals(100.0 / 3, resultado.getAvancePorFacultad().get(Facultad.INGENIERIA_SISTEMAS), 0.001);
+		assertEquals(100.0 / 6, resultado.getAvancePorFacultad().get(Facultad.INGENIERIA_CIVIL), 0.001);
 	}
 
 	@Test
@@ -389,7 +380,7 @@ class ReportesServiceTest {
 		carrera.setCreditosTotales(180);
 
 		when(usuarioRepository.findById("EST007")).thenReturn(Optional.of(estudiante));
-		when(carreraRepository.findByNombre(Facultad.INGENIERIA_CIVIL)).thenReturn(Optional.of(carrera));
+		when(cacheCatalogo.carreraPorFacultad(Facultad.INGENIERIA_CIVIL)).thenReturn(Optional.of(carrera));
 
 		IndicadoresAvanceDTO resultado = reportesService.calcularIndicadoresAvanceEstudiante("EST007");
 
@@ -449,7 +440,7 @@ class ReportesServiceTest {
 		carrera.setCreditosTotales(160);
 
 		when(usuarioRepository.findById("EST008")).thenReturn(Optional.of(estudiante));
-		when(carreraRepository.findByNombre(Facultad.INGENIERIA_SISTEMAS)).thenReturn(Optional.of(carrera));
+		when(cacheCatalogo.carreraPorFacultad(Facultad.INGENIERIA_SISTEMAS)).thenReturn(Optional.of(carrera));
 
 		IndicadoresAvanceDTO resultado = reportesService.calcularIndicadoresAvanceEstudiante("EST008");
 
@@ -470,7 +461,7 @@ class ReportesServiceTest {
 		estudiante.setCarrera(Facultad.INGENIERIA_SISTEMAS);
 
 		when(usuarioRepository.findById("EST009")).thenReturn(Optional.of(estudiante));
-		when(carreraRepository.findByNombre(Facultad.INGENIERIA_SISTEMAS)).thenReturn(Optional.empty());
+		when(cacheCatalogo.carreraPorFacultad(Facultad.INGENIERIA_SISTEMAS)).thenReturn(Optional.empty());
 
 		IndicadoresAvanceDTO resultado = reportesService.calcularIndicadoresAvanceEstudiante("EST009");
 
@@ -501,10 +492,9 @@ class ReportesServiceTest {
 		grupo3.setId("GRP_C");
 		grupo3.setCantidadInscritos(22);
 
-		when(grupoRepository.findAll()).thenReturn(List.of(grupo1, grupo2, grupo3));
-		when(solicitudRepository.countByGrupoDestino_IdAndTipoSolicitud("GRP_A", TipoSolicitud.CAMBIO_GRUPO)).thenReturn(10L);
-		when(solicitudRepository.countByGrupoDestino_IdAndTipoSolicitud("GRP_B", TipoSolicitud.CAMBIO_GRUPO)).thenReturn(15L);
-		when(solicitudRepository.countByGrupoDestino_IdAndTipoSolicitud("GRP_C", TipoSolicitud.CAMBIO_GRUPO)).thenReturn(5L);
+		when(solicitudRepository.contarPorGrupoDestino(TipoSolicitud.CAMBIO_GRUPO, null, 10)).thenReturn(List.of(
+				new ConteoPorGrupo("GRP_B", 15L), new ConteoPorGrupo("GRP_A", 10L), new ConteoPorGrupo("GRP_C", 5L)));
+		when(grupoRepository.findAllById(List.of("GRP_B", "GRP_A", "GRP_C"))).thenReturn(List.of(grupo1, grupo2, grupo3));
 
 		List<EstadisticasGrupoDTO> resultados = reportesService.obtenerGruposMasSolicitados();
 
@@ -519,11 +509,7 @@ class ReportesServiceTest {
 
 	@Test
 	void testObtenerTasasAprobacionGlobalSinSolicitudes() {
-		when(solicitudRepository.count()).thenReturn(0L);
-		when(solicitudRepository.countByEstado(SolicitudEstado.APROBADA)).thenReturn(0L);
-		when(solicitudRepository.countByEstado(SolicitudEstado.RECHAZADA)).thenReturn(0L);
-		when(solicitudRepository.countByEstado(SolicitudEstado.PENDIENTE)).thenReturn(0L);
-		when(solicitudRepository.countByEstado(SolicitudEstado.EN_REVISION)).thenReturn(0L);
+		when(contadorSolicitudesRepository.obtenerConteos(null, null)).thenReturn(List.of());
 
 		TasaAprobacionDTO resultado = reportesService.obtenerTasasAprobacionGlobal();
 
@@ -535,11 +521,7 @@ class ReportesServiceTest {
 
 	@Test
 	void testObtenerTasasAprobacionPorFacultadSinSolicitudes() {
-		when(solicitudRepository.countByFacultad(Facultad.INGENIERIA_SISTEMAS)).thenReturn(0L);
-		when(solicitudRepository.countByFacultadAndEstado(Facultad.INGENIERIA_SISTEMAS, SolicitudEstado.APROBADA)).thenReturn(0L);
-		when(solicitudRepository.countByFacultadAndEstado(Facultad.INGENIERIA_SISTEMAS, SolicitudEstado.RECHAZADA)).thenReturn(0L);
-		when(solicitudRepository.countByFacultadAndEstado(Facultad.INGENIERIA_SISTEMAS, SolicitudEstado.PENDIENTE)).thenReturn(0L);
-		when(solicitudRepository.countByFacultadAndEstado(Facultad.INGENIERIA_SISTEMAS, SolicitudEstado.EN_REVISION)).thenReturn(0L);
+		when(contadorSolicitudesRepository.obtenerConteos(Facultad.INGENIERIA_SISTEMAS, null)).thenReturn(List.of());
 
 		TasaAprobacionDTO resultado = reportesService.obtenerTasasAprobacionPorFacultad(Facultad.INGENIERIA_SISTEMAS);
 
@@ -550,8 +532,7 @@ class ReportesServiceTest {
 
 	@Test
 	void testObtenerTasasAprobacionPorTipoSinSolicitudes() {
-		when(solicitudRepository.countByTipoSolicitud(TipoSolicitud.CAMBIO_GRUPO)).thenReturn(0L);
-		when(solicitudRepository.findByTipoSolicitud(TipoSolicitud.CAMBIO_GRUPO)).thenReturn(List.of());
+		when(contadorSolicitudesRepository.obtenerConteos(null, TipoSolicitud.CAMBIO_GRUPO)).thenReturn(List.of());
 
 		TasaAprobacionDTO resultado = reportesService.obtenerTasasAprobacionPorTipo(TipoSolicitud.CAMBIO_GRUPO);
 
@@ -571,10 +552,14 @@ class ReportesServiceTest {
 			grupos.add(grupo);
 		}
 
-		when(grupoRepository.findAll()).thenReturn(grupos);
-		for (int i = 0; i < 15; i++) {
-			when(solicitudRepository.countByGrupoDestino_IdAndTipoSolicitud("GRP_" + i, TipoSolicitud.CAMBIO_GRUPO)).thenReturn((long) i);
+		List<ConteoPorGrupo> top = new ArrayList<>();
+		List<String> ids = new ArrayList<>();
+		for (int i = 14; i >= 10; i--) {
+			top.add(new ConteoPorGrupo("GRP_" + i, i));
+			ids.add("GRP_" + i);
 		}
+		when(solicitudRepository.contarPorGrupoDestino(TipoSolicitud.CAMBIO_GRUPO, null, 5)).thenReturn(top);
+		when(grupoRepository.findAllById(ids)).thenReturn(grupos.subList(10, 15));
 
 		List<EstadisticasGrupoDTO> resultados = reportesService.obtenerGruposMasSolicitados(null, 5);
 
@@ -582,4 +567,36 @@ class ReportesServiceTest {
 		assertTrue(resultados.get(0).getCantidadSolicitudes() >= resultados.get(4).getCantidadSolicitudes());
 	}
 
+
+	private ConteoSolicitudes conteo(Facultad facultad, TipoSolicitud tipo, SolicitudEstado estado, long cantidad) {
+		return new ConteoSolicitudes(facultad, tipo, estado, cantidad);
+	}
+
+	private Estudiante estudianteConRegistros(String id, Facultad carrera, Semaforo... estados) {
+		Estudiante estudiante = new Estudiante();
+		estudiante.setId(id);
+		estudiante.setNombre("Nombre " + id);
+		estudiante.setApellido("Apellido " + id);
+		estudiante.setCarrera(carrera);
+		Semestre semestre = new Semestre();
+		for (Semaforo estado : estados) {
+			RegistroMaterias registro = new RegistroMaterias(new Grupo(new Materia("Materia", "MAT", 3, carrera), 30, new ArrayList<>()));
+			registro.setEstado(estado);
+			semestre.addRegistro(registro);
+		}
+		estudiante.setSemestres(new ArrayList<>(List.of(semestre)));
+		return estudiante;
+	}
+
+	private Carrera carrera(Facultad nombre, int creditosTotales, int totalMaterias) {
+		Carrera carrera = new Carrera();
+		carrera.setNombre(nombre);
+		carrera.setCreditosTotales(creditosTotales);
+		List<Materia> materias = new ArrayList<>();
+		for (int i = 0; i < totalMaterias; i++) {
+			materias.add(new Materia("Materia " + i, "M" + i, 3, nombre));
+		}
+		carrera.setMaterias(materias);
+		return carrera;
+	}
 }
@@ -0,0 +1,362 @@
+package com.sirha.proyecto_sirha_dosw.service;
+
+import com.sirha.proyecto_sirha_dosw.dto.RespuestaSolicitudDTO;
+import com.sirha.proyecto_sirha_dosw.dto.ResultadoLoteSolicitudesDTO;
+import com.sirha.proyecto_sirha_dosw.dto.ResultadoLoteSolicitudesDTO.ResultadoRespuesta;
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+import com.sirha.proyecto_sirha_dosw.model.*;
+import com.sirha.proyecto_sirha_dosw.repository.ContadorSolicitudesRepository;
+import com.sirha.proyecto_sirha_dosw.repository.GrupoRepository;
+import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
+import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RespuestaLoteSolicitudesServiceTest {
+
+	private static final Facultad FACULTAD_ENUM = Facultad.INGENIERIA_SISTEMAS;
+	private static final String FACULTAD = FACULTAD_ENUM.name();
+
+	@Mock
+	private DecanoService decanoService;
+	@Mock
+	private SolicitudRepository solicitudRepository;
+	@Mock
+	private UsuarioRepository usuarioRepository;
+	@Mock
+	private GrupoRepository grupoRepository;
+	@Mock
+	private ContadorSolicitudesRepository contadorSolicitudesRepository;
+	@Mock
+	private ListaEsperaService listaEsperaService;
+	@Mock
+	private MetricasSirha metricasSirha;
+
+	private RespuestaLoteSolicitudesService service;
+	private Materia materia;
+
+	@BeforeEach
+	void setUp() {
+		service = new RespuestaLoteSolicitudesService(decanoService, solicitudRepository, usuarioRepository,
+				grupoRepository, contadorSolicitudesRepository, listaEsperaService, metricasSirha, 4);
+		materia = new Materia("Arquitectura", "ARQ101", 3, FACULTAD_ENUM);
+	}
+
+	@Test
+	void testLoteMixtoReportaCadaRespuestaYEscribeEnLote() throws SirhaException {
+		Grupo origen = grupo("G1", 30, Dia.LUNES, "EST1");
+		Grupo destino = grupo("G2", 30, Dia.MARTES);
+		Estudiante estudiante = estudiante("EST1", origen);
+		Solicitud aprobar = solicitud("SOL1", "EST1", origen, destino);
+		Solicitud rechazar = solicitud("SOL2", "EST2", origen, null);
+		prepararConsultas(List.of(aprobar, rechazar), List.of(origen, destino), List.of(estudiante));
+		when(grupoRepository.reservarCupos(eq("G2"), anyCollection())).thenReturn(Optional.of(destino));
+		when(grupoRepository.liberarCuposSinListaEspera(eq("G1"), anyCollection())).thenReturn(Optional.of(origen));
+
+		ResultadoLoteSolicitudesDTO resultado = service.responderSolicitudes(List.of(
+				respuesta("SOL1", SolicitudEstado.APROBADA),
+				respuesta("SOL2", SolicitudEstado.RECHAZADA),
+				respuesta("NOEXISTE", SolicitudEstado.RECHAZADA),
+				respuesta("SOL1", SolicitudEstado.RECHAZADA)), FACULTAD);
+
+		assertEquals(List.of(true, true, false, false),
+				resultado.getResultados().stream().map(ResultadoRespuesta::isAplicada).toList());
+		assertEquals(2, resultado.getAplicadas());
+		assertEquals(2, resultado.getFallidas());
+		assertTrue(resultado.getResultados().get(2).getError().startsWith(RespuestaLoteSolicitudesService.SOLICITUD_NO_ENCONTRADA));
+		assertTrue(resultado.getResultados().get(3).getError().contains("Solo se pueden responder"));
+		assertEquals(SolicitudEstado.APROBADA, aprobar.getEstado());
+		assertEquals(DecanoService.RESPUESTA_APROBADA, aprobar.getRespuesta());
+		assertEquals(SolicitudEstado.RECHAZADA, rechazar.getEstado());
+		assertNotNull(rechazar.getFechaResolucion());
+		assertEquals(List.of("G2"), estudiante.getGrupos().stream().map(Grupo::getId).toList());
+
+		verify(solicitudRepository).findAllById(anyCollection());
+		verify(usuarioRepository).findAllById(anyCollection());
+		verify(grupoRepository).findAllById(anyCollection());
+		verify(grupoRepository).reservarCupos("G2", Set.of("EST1"));
+		verify(grupoRepository).liberarCuposSinListaEspera("G1", List.of("EST1"));
+		verify(usuarioRepository).guardarEstudiantes(enOrden(estudiante));
+		verify(solicitudRepository).guardarRespuestas(enOrden(aprobar, rechazar), any());
+		verify(contadorSolicitudesRepository).ajustar(FACULTAD_ENUM, TipoSolicitud.CAMBIO_GRUPO, Map.of(
+				SolicitudEstado.PENDIENTE, -2L, SolicitudEstado.APROBADA, 1L, SolicitudEstado.RECHAZADA, 1L));
+		verify(metricasSirha).registrarTransicionSolicitud(SolicitudEstado.PENDIENTE, SolicitudEstado.APROBADA);
+		verify(metricasSirha).registrarTransicionSolicitud(SolicitudEstado.PENDIENTE, SolicitudEstado.RECHAZADA);
+		verify(metricasSirha).registrarInscripciones(MetricasSirha.OrigenInscripcion.SOLICITUD, 1);
+		verify(grupoRepository, never()).reservarCupo(anyString(), anyString());
+		verify(usuarioRepository, never()).save(any());
+		verifyNoInteractions(listaEsperaService);
+	}
+
+	@Test
+	void testCadaAprobacionVeLosCuposOcupadosPorLasAnteriores() throws SirhaException {
+		Grupo origen = grupo("G1", 30, Dia.LUNES, "EST1", "EST2");
+		Grupo destino = grupo("G2", 1, Dia.MARTES);
+		Solicitud primera = solicitud("SOL1", "EST1", origen, destino);
+		Solicitud segunda = solicitud("SOL2", "EST2", origen, destino);
+		prepararConsultas(List.of(primera, segunda), List.of(origen, destino),
+				List.of(estudiante("EST1", origen), estudiante("EST2", origen)));
+		when(grupoRepository.reservarCupos(eq("G2"), anyCollection())).thenReturn(Optional.of(destino));
+		when(grupoRepository.liberarCuposSinListaEspera(eq("G1"), anyCollection())).thenReturn(Optional.of(origen));
+
+		ResultadoLoteSolicitudesDTO resultado = service.responderSolicitudes(List.of(
+				respuesta("SOL1", SolicitudEstado.APROBADA),
+				respuesta("SOL2", SolicitudEstado.APROBADA)), FACULTAD);
+
+		assertTrue(resultado.getResultados().get(0).isAplicada());
+		assertFalse(resultado.getResultados().get(1).isAplicada());
+		assertEquals(DecanoService.GRUPO_DESTINO_LLENO, resultado.getResultados().get(1).getError());
+		assertEquals(SolicitudEstado.PENDIENTE, segunda.getEstado());
+		verify(grupoRepository).reservarCupos("G2", Set.of("EST1"));
+		verify(solicitudRepository).guardarRespuestas(enOrden(primera), any());
+	}
+
+	@Test
+	void testAprobacionFueraDelCalendarioDeLaFacultadNoSeAplica() throws SirhaException {
+		Grupo origen = grupo("G1", 30, Dia.LUNES, "EST1");
+		Grupo destino = grupo("G2", 30, Dia.MARTES);
+		Solicitud solicitud = solicitud("SOL1", "EST1", origen, destino);
+		prepararConsultas(List.of(solicitud), List.of(origen, destino), List.of(estudiante("EST1", origen)));
+		doThrow(new SirhaException("No se pueden aprobar solicitudes fuera del calendario académico"))
+				.when(decanoService).validarCalendarioAcademico(FACULTAD_ENUM);
+
+		ResultadoLoteSolicitudesDTO resultado = service.responderSolicitudes(List.of(
+				respuesta("SOL1", SolicitudEstado.APROBADA)), FACULTAD);
+
+		assertFalse(resultado.getResultados().get(0).isAplicada());
+		assertTrue(resultado.getResultados().get(0).getError().contains("fuera del calendario"));
+		assertEquals(SolicitudEstado.PENDIENTE, solicitud.getEstado());
+		verify(grupoRepository, never()).reservarCupos(anyString(), anyCollection());
+	}
+
+	@Test
+	void testAprobacionUsaElCupoLiberadoPorOtraDelMismoLote() throws SirhaException {
+		Grupo origen = grupo("G1", 30, Dia.LUNES, "EST1");
+		Grupo lleno = grupo("G2", 1, Dia.MARTES, "EST9");
+		Grupo otro = grupo("G3", 30, Dia.MIERCOLES);
+		Estudiante estudiante = estudiante("EST1", origen);
+		Estudiante quienSale = estudiante("EST9", lleno);
+		Solicitud sale = solicitud("SOL1", "EST9", lleno, otro);
+		Solicitud entra = solicitud("SOL2", "EST1", origen, lleno);
+		prepararConsultas(List.of(sale, entra), List.of(origen, lleno, otro), List.of(estudiante, quienSale));
+		when(grupoRepository.reservarCupos(eq("G3"), anyCollection())).thenReturn(Optional.of(otro));
+		// La base de datos aún no ha liberado el cupo de EST9 cuando se reserva el de EST1
+		when(grupoRepository.reservarCupos(eq("G2"), anyCollection())).thenReturn(Optional.empty());
+		when(grupoRepository.reservarCupo("G2", "EST1")).thenReturn(Optional.empty(), Optional.of(lleno));
+		when(grupoRepository.liberarCuposSinListaEspera(eq("G2"), anyCollection())).thenReturn(Optional.of(lleno));
+		when(usuarioRepository.findAllById(Set.of("EST1"))).thenReturn(List.of(estudiante("EST1", origen)));
+		Estudiante recargado = estudiante("EST1", origen);
+		when(usuarioRepository.findById("EST1")).thenReturn(Optional.of(recargado));
+		when(solicitudRepository.registrarRespuesta(entra, SolicitudEstado.PENDIENTE)).thenReturn(true);
+
+		ResultadoLoteSolicitudesDTO resultado = service.responderSolicitudes(List.of(
+				respuesta("SOL1", SolicitudEstado.APROBADA),
+				respuesta("SOL2", SolicitudEstado.APROBADA)), FACULTAD);
+
+		assertEquals(2, resultado.getAplicadas());
+		assertEquals(SolicitudEstado.APROBADA, entra.getEstado());
+		verify(usuarioRepository).guardarEstudiantes(enOrden(quienSale));
+		verify(solicitudRepository).guardarRespuestas(enOrden(sale), any());
+		verify(solicitudRepository, never()).guardarRespuestas(enOrden(entra), any());
+		verify(solicitudRepository).registrarRespuesta(entra, SolicitudEstado.PENDIENTE);
+		verify(usuarioRepository).save(recargado);
+		assertEquals(List.of("G2"), recargado.getGrupos().stream().map(Grupo::getId).toList());
+		verify(contadorSolicitudesRepository).registrarTransicion(FACULTAD_ENUM, TipoSolicitud.CAMBIO_GRUPO,
+				SolicitudEstado.PENDIENTE, SolicitudEstado.APROBADA);
+		verify(listaEsperaService).liberarCupo("G1", "EST1");
+	}
+
+	@Test
+	void testRespuestaGanadaPorOtroProcesoNoSeAplica() throws SirhaException {
+		Grupo origen = grupo("G1", 30, Dia.LUNES, "EST1", "EST2");
+		Grupo destino = grupo("G2", 30, Dia.MARTES);
+		Estudiante pierde = estudiante("EST1", origen);
+		Estudiante gana = estudiante("EST2", origen);
+		Solicitud perdida = solicitud("SOL1", "EST1", origen, destino);
+		Solicitud ganada = solicitud("SOL2", "EST2", origen, destino);
+		prepararConsultas(List.of(perdida, ganada), List.of(origen, destino), List.of(pierde, gana));
+		when(grupoRepository.reservarCupos(eq("G2"), anyCollection())).thenReturn(Optional.of(destino));
+		when(grupoRepository.liberarCuposSinListaEspera(eq("G1"), anyCollection())).thenReturn(Optional.of(origen));
+		// El endpoint individual respondió SOL1 entre la lectura del lote y su escritura
+		when(solicitudRepository.guardarRespuestas(anyCollection(), eq(Map.of(
+				"SOL1", SolicitudEstado.PENDIENTE, "SOL2", SolicitudEstado.PENDIENTE)))).thenReturn(Set.of("SOL1"));
+		Estudiante recargado = estudiante("EST1", origen);
+		when(usuarioRepository.findAllById(Set.of("EST1"))).thenReturn(List.of(recargado));
+
+		ResultadoLoteSolicitudesDTO resultado = service.responderSolicitudes(List.of(
+				respuesta("SOL1", SolicitudEstado.APROBADA),
+				respuesta("SOL2", SolicitudEstado.APROBADA)), FACULTAD);
+
+		assertFalse(resultado.getResultados().get(0).isAplicada());
+		assertEquals(DecanoService.SOLO_PENDIENTES, resultado.getResultados().get(0).getError());
+		assertTrue(resultado.getResultados().get(1).isAplicada());
+		assertEquals(1, resultado.getAplicadas());
+		// El cupo reservado para EST1 se devuelve y solo se escribe el estudiante que ganó
+		verify(listaEsperaService).liberarCupo("G2", "EST1");
+		verify(usuarioRepository).guardarEstudiantes(enOrden(gana));
+		assertEquals(List.of("G1"), recargado.getGrupos().stream().map(Grupo::getId).toList());
+		verify(grupoRepository).liberarCuposSinListaEspera("G1", List.of("EST2"));
+		verify(contadorSolicitudesRepository).ajustar(FACULTAD_ENUM, TipoSolicitud.CAMBIO_GRUPO, Map.of(
+				SolicitudEstado.PENDIENTE, -1L, SolicitudEstado.APROBADA, 1L));
+		verify(metricasSirha, times(1)).registrarTransicionSolicitud(SolicitudEstado.PENDIENTE, SolicitudEstado.APROBADA);
+		verify(metricasSirha).registrarInscripciones(MetricasSirha.OrigenInscripcion.SOLICITUD, 1);
+	}
+
+	@Test
+	void testAprobacionDiferidaGanadaPorOtroProcesoDevuelveElCupo() throws SirhaException {
+		Grupo origen = grupo("G1", 30, Dia.LUNES, "EST1");
+		Grupo destino = grupo("G2", 1, Dia.MARTES);
+		Estudiante estudiante = estudiante("EST1", origen);
+		Solicitud solicitud = solicitud("SOL1", "EST1", origen, destino);
+		prepararConsultas(List.of(solicitud), List.of(origen, destino), List.of(estudiante));
+		when(grupoRepository.reservarCupos(eq("G2"), anyCollection())).thenReturn(Optional.empty());
+		when(grupoRepository.reservarCupo("G2", "EST1")).thenReturn(Optional.empty(), Optional.of(destino));
+		when(usuarioRepository.findById("EST1")).thenReturn(Optional.of(estudiante("EST1", origen)));
+		when(solicitudRepository.registrarRespuesta(solicitud, SolicitudEstado.PENDIENTE)).thenReturn(false);
+
+		ResultadoLoteSolicitudesDTO resultado = service.responderSolicitudes(List.of(
+				respuesta("SOL1", SolicitudEstado.APROBADA)), FACULTAD);
+
+		assertFalse(resultado.getResultados().get(0).isAplicada());
+		assertEquals(DecanoService.SOLO_PENDIENTES, resultado.getResultados().get(0).getError());
+		verify(listaEsperaService).liberarCupo("G2", "EST1");
+		verify(usuarioRepository, never()).save(any());
+		verify(contadorSolicitudesRepository, never()).registrarTransicion(any(), any(), any(), any());
+		verify(metricasSirha, never()).registrarInscripcion(any());
+	}
+
+	@Test
+	void testAprobacionesDelMismoEstudianteSeValidanEnCadena() throws SirhaException {
+		Materia otraMateria = new Materia("Calculo", "CAL101", 4, FACULTAD_ENUM);
+		Grupo origen = grupo("G1", 30, Dia.LUNES, "EST1");
+		Grupo destino = grupo("G2", 30, Dia.MARTES);
+		Grupo origenCalculo = grupo("C1", 30, Dia.JUEVES, "EST1");
+		origenCalculo.setMateria(otraMateria);
+		Grupo destinoCalculo = grupo("C2", 30, Dia.MARTES);
+		destinoCalculo.setMateria(otraMateria);
+		Estudiante estudiante = estudiante("EST1", origen);
+		estudiante.addGrupo(origenCalculo);
+		Solicitud primera = solicitud("SOL1", "EST1", origen, destino);
+		Solicitud segunda = solicitud("SOL2", "EST1", origenCalculo, destinoCalculo);
+		prepararConsultas(List.of(primera, segunda), List.of(origen, destino, origenCalculo, destinoCalculo),
+				List.of(estudiante));
+		when(grupoRepository.reservarCupos(eq("G2"), anyCollection())).thenReturn(Optional.of(destino));
+		when(grupoRepository.liberarCuposSinListaEspera(eq("G1"), anyCollection())).thenReturn(Optional.empty());
+
+		ResultadoLoteSolicitudesDTO resultado = service.responderSolicitudes(List.of(
+				respuesta("SOL1", SolicitudEstado.APROBADA),
+				respuesta("SOL2", SolicitudEstado.APROBADA)), FACULTAD);
+
+		assertTrue(resultado.getResultados().get(0).isAplicada());
+		assertTrue(resultado.getResultados().get(1).getError().contains("cruce de horarios"));
+		// El grupo origen tiene lista de espera: el cupo se libera promoviendo a quien espera
+		verify(listaEsperaService).liberarCupo("G1", "EST1");
+	}
+
+	@Test
+	void testLoteVacioOExcedido() {
+		SirhaException vacio = assertThrows(SirhaException.class,
+				() -> service.responderSolicitudes(List.of(), FACULTAD));
+		assertEquals(RespuestaLoteSolicitudesService.LOTE_VACIO, vacio.getMessage());
+		RespuestaSolicitudDTO respuesta = respuesta("SOL1", SolicitudEstado.RECHAZADA);
+		SirhaException excedido = assertThrows(SirhaException.class,
+				() -> service.responderSolicitudes(List.of(respuesta, respuesta, respuesta, respuesta, respuesta), FACULTAD));
+		assertTrue(excedido.getMessage().startsWith(RespuestaLoteSolicitudesService.LOTE_EXCEDIDO));
+		verifyNoInteractions(solicitudRepository, usuarioRepository, grupoRepository);
+	}
+
+	@Test
+	void testFacultadInvalidaNoProcesaElLote() throws SirhaException {
+		doThrow(new SirhaException(SirhaException.FACULTAD_INVALIDA)).when(decanoService).validarFacultad("X");
+		assertThrows(SirhaException.class,
+				() -> service.responderSolicitudes(List.of(respuesta("SOL1", SolicitudEstado.RECHAZADA)), "X"));
+		verifyNoInteractions(solicitudRepository);
+	}
+
+	@Test
+	void testGuardaSoloLasRespuestasAplicadas() throws SirhaException {
+		Grupo origen = grupo("G1", 30, Dia.LUNES, "EST1");
+		Solicitud vencida = solicitud("SOL1", "EST1", origen, null);
+		vencida.setFechaCreacion(LocalDateTime.now().minusDays(10));
+		prepararConsultas(List.of(vencida), List.of(origen), List.of(estudiante("EST1", origen)));
+
+		ResultadoLoteSolicitudesDTO resultado = service.responderSolicitudes(List.of(
+				respuesta("SOL1", SolicitudEstado.APROBADA)), FACULTAD);
+
+		assertTrue(resultado.getResultados().get(0).getError().contains("ha vencido"));
+		assertEquals(SolicitudEstado.PENDIENTE, vencida.getEstado());
+		ArgumentCaptor<Collection<Solicitud>> guardadas = ArgumentCaptor.forClass(Collection.class);
+		verify(solicitudRepository).guardarRespuestas(guardadas.capture(), any());
+		assertTrue(guardadas.getValue().isEmpty());
+		verify(usuarioRepository, never()).guardarEstudiantes(any());
+		verifyNoInteractions(contadorSolicitudesRepository);
+	}
+
+	@SafeVarargs
+	private static <T> Collection<T> enOrden(T... elementos) {
+		return argThat(coleccion -> new ArrayList<>(coleccion).equals(List.of(elementos)));
+	}
+
+	private void prepararConsultas(List<Solicitud> solicitudes, List<Grupo> grupos, List<Estudiante> estudiantes) {
+		when(solicitudRepository.findAllById(anyCollection())).thenReturn(solicitudes);
+		when(grupoRepository.findAllById(anyCollection())).thenReturn(grupos);
+		lenient().when(usuarioRepository.findAllById(anyCollection())).thenReturn(new ArrayList<>(estudiantes));
+	}
+
+	private Grupo grupo(String id, int capacidad, Dia dia, String... estudiantes) {
+		Horario horario = new Horario();
+		horario.setDia(dia);
+		horario.setHoraInicio(LocalTime.of(7, 0));
+		horario.setHoraFin(LocalTime.of(8, 30));
+		Grupo grupo = new Grupo(materia, capacidad, new ArrayList<>(List.of(horario)));
+		grupo.setId(id);
+		for (String estudiante : estudiantes) {
+			grupo.addEstudiante(estudiante);
+		}
+		return grupo;
+	}
+
+	private static Estudiante estudiante(String id, Grupo grupo) {
+		Estudiante estudiante = new Estudiante();
+		estudiante.setId(id);
+		estudiante.setCarrera(FACULTAD_ENUM);
+		Semestre semestre = new Semestre();
+		semestre.setRegistros(new ArrayList<>(List.of(new RegistroMaterias(grupo))));
+		estudiante.setSemestres(new ArrayList<>(List.of(semestre)));
+		return estudiante;
+	}
+
+	private static Solicitud solicitud(String id, String estudianteId, Grupo grupoProblema, Grupo grupoDestino) {
+		Solicitud solicitud = new Solicitud();
+		solicitud.setId(id);
+		solicitud.setEstudianteId(estudianteId);
+		solicitud.setFacultad(FACULTAD_ENUM);
+		solicitud.setTipoSolicitud(TipoSolicitud.CAMBIO_GRUPO);
+		solicitud.setEstado(SolicitudEstado.PENDIENTE);
+		solicitud.setGrupoProblema(grupoProblema);
+		solicitud.setGrupoDestino(grupoDestino);
+		solicitud.setFechaCreacion(LocalDateTime.now().minusDays(1));
+		return solicitud;
+	}
+
+	private static RespuestaSolicitudDTO respuesta(String solicitudId, SolicitudEstado estado) {
+		return new RespuestaSolicitudDTO(solicitudId, estado, "Observación", "DEC1");
+	}
+}
@@ -1,17 +1,20 @@
 package com.sirha.proyecto_sirha_dosw.service;
 
+import com.sirha.proyecto_sirha_dosw.config.CachePrincipalesJwt;
 import com.sirha.proyecto_sirha_dosw.dto.UsuarioDTO;
+import com.sirha.proyecto_sirha_dosw.dto.UsuarioResumenDTO;
 import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
 import com.sirha.proyecto_sirha_dosw.model.*;
-import com.sirha.proyecto_sirha_dosw.repository.CarreraRepository;
 import com.sirha.proyecto_sirha_dosw.repository.SolicitudRepository;
 import com.sirha.proyecto_sirha_dosw.repository.UsuarioRepository;
+import com.sirha.proyecto_sirha_dosw.util.GeneradorIdUsuario;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 import java.util.*;
@@ -41,11 +44,15 @@ class UsuarioServiceTest {
 	@Mock
 	private UsuarioRepository usuarioRepository;
 	@Mock
-	private CarreraRepository carreraRepository;
+	private CacheCatalogo cacheCatalogo;
 	@Mock
 	private SolicitudRepository solicitudRepository;
 	@Mock
 	private PasswordEncoder passwordEncoder;
+	@Mock
+	private CachePrincipalesJwt cachePrincipalesJwt;
+	@Mock
+	private GeneradorIdUsuario generadorIdUsuario;
 
 	@InjectMocks
 	private UsuarioService usuarioService;
@@ -74,7 +81,7 @@ class UsuarioServiceTest {
 		String emailEsperado = "juan.perez-p@mail.escuelaing.edu.co";
 		
 		when(usuarioRepository.findByEmail(emailEsperado)).thenReturn(Optional.empty());
-		when(carreraRepository.findByNombre(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.of(new Carrera()));
+		when(cacheCatalogo.carreraPorFacultad(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.of(new Carrera()));
 		when(passwordEncoder.encode("1234")).thenReturn("hashed");
 		when(usuarioRepository.insert(any(Usuario.class))).thenAnswer(inv -> inv.getArgument(0));
 		
@@ -88,7 +95,7 @@ class UsuarioServiceTest {
 		UsuarioDTO dto = getUsuarioDTO();
 		dto.setRol("DECANO");
 		
-		when(carreraRepository.findByNombre(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.of(new Carrera()));
+		when(cacheCatalogo.carreraPorFacultad(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.of(new Carrera()));
 		Decano decanoExistente = new Decano();
 		decanoExistente.setFacultad(Facultad.valueOf(dto.getFacultad()));
 		when(usuarioRepository.findByRol(Rol.DECANO)).thenReturn(List.of(decanoExistente));
@@ -111,7 +118,7 @@ class UsuarioServiceTest {
 		UsuarioDTO dto = getUsuarioDTO();
 		dto.setRol("DECANO");
 		
-		when(carreraRepository.findByNombre(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.empty());
+		when(cacheCatalogo.carreraPorFacultad(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.empty());
 		
 		SirhaException ex = assertThrows(SirhaException.class, () -> usuarioService.registrar(dto));
 		assertTrue(ex.getMessage().contains(SirhaException.CARRERA_NO_ENCONTRADA));
@@ -126,7 +133,7 @@ class UsuarioServiceTest {
 		String emailEsperado = "juan.perez-p@mail.escuelaing.edu.co";
 		
 		// Mock de la carrera (necesario para que el flujo llegue a la validación de email)
-		when(carreraRepository.findByNombre(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.of(new Carrera()));
+		when(cacheCatalogo.carreraPorFacultad(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.of(new Carrera()));
 		// Mock del email ya existente
 		when(usuarioRepository.findByEmail(emailEsperado)).thenReturn(Optional.of(mock(Usuario.class)));
 		
@@ -157,9 +164,11 @@ class UsuarioServiceTest {
 		UsuarioDTO dto = crearUsuarioDTOBase();
 		Estudiante usuario = crearEstudianteBase();
 		mockActualizarUsuario(usuario, dto);
+		String emailAnterior = usuario.getEmail();
 		Usuario actualizado = usuarioService.actualizarUsuario("1", dto);
 		assertEquals("Carlos", actualizado.getNombre());
 		assertEquals(Rol.PROFESOR, actualizado.getRol());
+		verify(cachePrincipalesJwt).invalidar(emailAnterior);
 	}
 
 	private void mockActualizarUsuario(Estudiante usuario, UsuarioDTO dto) {
@@ -170,17 +179,20 @@ class UsuarioServiceTest {
 
 	@Test
 	void testEliminarUsuarioExitoso(){
-		when(usuarioRepository.existsById("1")).thenReturn(true);
+		Estudiante usuario = crearEstudianteBase();
+		when(usuarioRepository.findById("1")).thenReturn(Optional.of(usuario));
 		doNothing().when(usuarioRepository).deleteById("1");
 		assertDoesNotThrow(() -> usuarioService.eliminarUsuario("1"));
 		verify(usuarioRepository).deleteById("1");
+		verify(cachePrincipalesJwt).invalidar(usuario.getEmail());
 	}
 
 	@Test
 	void testEliminarUsuarioNoEncontrado() {
-		when(usuarioRepository.existsById("1")).thenReturn(false);
+		when(usuarioRepository.findById("1")).thenReturn(Optional.empty());
 		SirhaException ex = assertThrows(SirhaException.class, () -> usuarioService.eliminarUsuario("1"));
 		assertTrue(ex.getMessage().contains(SirhaException.USUARIO_NO_ENCONTRADO));
+		verify(usuarioRepository, never()).deleteById(any());
 	}
 
 	@Test
@@ -224,33 +236,33 @@ class UsuarioServiceTest {
 
 	@Test
 	void testObtenerPorRol() {
-	List<Usuario> usuarios = List.of(mock(Usuario.class));
-		when(usuarioRepository.findByRol(Rol.ESTUDIANTE)).thenReturn(usuarios);
-		List<Usuario> result = usuarioService.obtenerPorRol(Rol.ESTUDIANTE);
+	List<UsuarioResumenDTO> usuarios = List.of(new UsuarioResumenDTO());
+		when(usuarioRepository.buscarResumenes(null, null, Rol.ESTUDIANTE, null)).thenReturn(usuarios);
+		List<UsuarioResumenDTO> result = usuarioService.obtenerPorRol(Rol.ESTUDIANTE);
 		assertEquals(1, result.size());
 	}
 
 	@Test
 	void testObtenerPorNombre() {
-	List<Usuario> usuarios = List.of(mock(Usuario.class));
-		when(usuarioRepository.findByNombre("Juan")).thenReturn(usuarios);
-		List<Usuario> result = usuarioService.obtenerPorNombre("Juan");
+	List<UsuarioResumenDTO> usuarios = List.of(new UsuarioResumenDTO());
+		when(usuarioRepository.buscarResumenes("Juan", null, null, null)).thenReturn(usuarios);
+		List<UsuarioResumenDTO> result = usuarioService.obtenerPorNombre("Juan");
 		assertEquals(1, result.size());
 	}
 
 	@Test
 	void testObtenerPorApellido() {
-	List<Usuario> usuarios = List.of(mock(Usuario.class));
-		when(usuarioRepository.findByApellido("Perez")).thenReturn(usuarios);
-		List<Usuario> result = usuarioService.obtenerPorApellido("Perez");
+	List<UsuarioResumenDTO> usuarios = List.of(new UsuarioResumenDTO());
+		when(usuarioRepository.buscarResumenes(null, "Perez", null, null)).thenReturn(usuarios);
+		List<UsuarioResumenDTO> result = usuarioService.obtenerPorApellido("Perez");
 		assertEquals(1, result.size());
 	}
 
 	@Test
 	void testObtenerPorNombreYApellido() {
-	List<Usuario> usuarios = List.of(mock(Usuario.class));
-		when(usuarioRepository.findByNombreAndApellido("Juan", "Perez")).thenReturn(usuarios);
-		List<Usuario> result = usuarioService.obtenerPorNombreYApellido("Juan", "Perez");
+	List<UsuarioResumenDTO> usuarios = List.of(new UsuarioResumenDTO());
+		when(usuarioRepository.buscarResumenes("Juan", "Perez", null, null)).thenReturn(usuarios);
+		List<UsuarioResumenDTO> result = usuarioService.obtenerPorNombreYApellido("Juan", "Perez");
 		assertEquals(1, result.size());
 	}
 
@@ -318,7 +330,7 @@ class UsuarioServiceTest {
 		
 		String emailEsperado = "juan.perez-p@mail.escuelaing.edu.co";
 		when(usuarioRepository.findByEmail(emailEsperado)).thenReturn(Optional.empty());
-		when(carreraRepository.findByNombre(Facultad.INGENIERIA_CIVIL)).thenReturn(Optional.of(new Carrera()));
+		when(cacheCatalogo.carreraPorFacultad(Facultad.INGENIERIA_CIVIL)).thenReturn(Optional.of(new Carrera()));
 		when(usuarioRepository.findByRol(Rol.DECANO)).thenReturn(Collections.emptyList());
 		when(passwordEncoder.encode("1234")).thenReturn("hashed");
 		when(usuarioRepository.insert(any(Usuario.class))).thenAnswer(inv -> inv.getArgument(0));
@@ -475,7 +487,7 @@ class UsuarioServiceTest {
 		String emailEsperado = "mariajose.perezgarcia-p@mail.escuelaing.edu.co";
 		
 		when(usuarioRepository.findByEmail(emailEsperado)).thenReturn(Optional.empty());
-		when(carreraRepository.findByNombre(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.of(new Carrera()));
+		when(cacheCatalogo.carreraPorFacultad(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.of(new Carrera()));
 		when(passwordEncoder.encode("1234")).thenReturn("hashed");
 		when(usuarioRepository.insert(any(Usuario.class))).thenAnswer(inv -> inv.getArgument(0));
 		
@@ -494,7 +506,7 @@ class UsuarioServiceTest {
 		String emailEsperado = "carlosalberto.lopezmartinez-l@mail.escuelaing.edu.co";
 		
 		when(usuarioRepository.findByEmail(emailEsperado)).thenReturn(Optional.empty());
-		when(carreraRepository.findByNombre(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.of(new Carrera()));
+		when(cacheCatalogo.carreraPorFacultad(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.of(new Carrera()));
 		when(passwordEncoder.encode("1234")).thenReturn("hashed");
 		when(usuarioRepository.insert(any(Usuario.class))).thenAnswer(inv -> inv.getArgument(0));
 		
@@ -504,25 +516,57 @@ class UsuarioServiceTest {
 
 	// Tests de generación de ID único
 	@Test
-	void testGenerarIdUnicoConColisiones() throws SirhaException {
+	void testRegistrarReintentaConOtroIdAnteLlaveDuplicada() throws SirhaException {
 		UsuarioDTO dto = getUsuarioDTO();
 		String emailEsperado = "juan.perez-p@mail.escuelaing.edu.co";
 		
 		when(usuarioRepository.findByEmail(emailEsperado)).thenReturn(Optional.empty());
-		when(carreraRepository.findByNombre(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.of(new Carrera()));
+		when(cacheCatalogo.carreraPorFacultad(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.of(new Carrera()));
 		when(passwordEncoder.encode("1234")).thenReturn("hashed");
+		when(generadorIdUsuario.siguiente()).thenReturn("0000000018", "0000000026");
 		
-		// Simular que los primeros IDs ya existen
-		when(usuarioRepository.existsById(anyString()))
-			.thenReturn(true)  // Primera llamada: ID existe
-			.thenReturn(true)  // Segunda llamada: ID existe
-			.thenReturn(false); // Tercera llamada: ID disponible
-		
-		when(usuarioRepository.insert(any(Usuario.class))).thenAnswer(inv -> inv.getArgument(0));
+		// El primer id ya lo tenía un usuario antiguo con id aleatorio
+		when(usuarioRepository.insert(any(Usuario.class)))
+			.thenThrow(new DuplicateKeyException("E11000 duplicate key error"))
+			.thenAnswer(inv -> inv.getArgument(0));
 		
 		Usuario registrado = usuarioService.registrar(dto);
-		assertNotNull(registrado.getId());
-		assertEquals(10, registrado.getId().length());
+		assertEquals("0000000026", registrado.getId());
+		verify(usuarioRepository, times(2)).insert(any(Usuario.class));
+		verify(usuarioRepository, never()).existsById(anyString());
+	}
+
+	@Test
+	void testRegistrarConEmailTomadoConcurrentementeNoReintenta() {
+		UsuarioDTO dto = getUsuarioDTO();
+		String emailEsperado = "juan.perez-p@mail.escuelaing.edu.co";
+		
+		// Otro registro toma el email entre la validación y la inserción
+		when(usuarioRepository.findByEmail(emailEsperado))
+			.thenReturn(Optional.empty())
+			.thenReturn(Optional.of(new Estudiante()));
+		when(cacheCatalogo.carreraPorFacultad(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.of(new Carrera()));
+		when(passwordEncoder.encode("1234")).thenReturn("hashed");
+		when(generadorIdUsuario.siguiente()).thenReturn("0000000018");
+		when(usuarioRepository.insert(any(Usuario.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+		
+		SirhaException ex = assertThrows(SirhaException.class, () -> usuarioService.registrar(dto));
+		assertEquals(SirhaException.EMAIL_YA_REGISTRADO, ex.getMessage());
+		verify(usuarioRepository).insert(any(Usuario.class));
+	}
+
+	@Test
+	void testRegistrarAbandonaTrasElMaximoDeIdsDuplicados() {
+		UsuarioDTO dto = getUsuarioDTO();
+		
+		when(usuarioRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+		when(cacheCatalogo.carreraPorFacultad(Facultad.valueOf(dto.getFacultad()))).thenReturn(Optional.of(new Carrera()));
+		when(passwordEncoder.encode("1234")).thenReturn("hashed");
+		when(generadorIdUsuario.siguiente()).thenReturn("0000000018");
+		when(usuarioRepository.insert(any(Usuario.class))).thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+		
+		assertThrows(DuplicateKeyException.class, () -> usuarioService.registrar(dto));
+		verify(usuarioRepository, times(UsuarioService.MAX_INTENTOS_ID)).insert(any(Usuario.class));
 	}
 
 	// Tests para casos edge de consultas
@@ -542,15 +586,15 @@ class UsuarioServiceTest {
 
 	@Test
 	void testObtenerPorRolListaVacia() {
-		when(usuarioRepository.findByRol(Rol.PROFESOR)).thenReturn(Collections.emptyList());
-		List<Usuario> result = usuarioService.obtenerPorRol(Rol.PROFESOR);
+		when(usuarioRepository.buscarResumenes(null, null, Rol.PROFESOR, null)).thenReturn(Collections.emptyList());
+		List<UsuarioResumenDTO> result = usuarioService.obtenerPorRol(Rol.PROFESOR);
 		assertTrue(result.isEmpty());
 	}
 
 	@Test
 	void testObtenerPorNombreListaVacia() {
-		when(usuarioRepository.findByNombre("NoExiste")).thenReturn(Collections.emptyList());
-		List<Usuario> result = usuarioService.obtenerPorNombre("NoExiste");
+		when(usuarioRepository.buscarResumenes("NoExiste", null, null, null)).thenReturn(Collections.emptyList());
+		List<UsuarioResumenDTO> result = usuarioService.obtenerPorNombre("NoExiste");
 		assertTrue(result.isEmpty());
 	}
 
@@ -0,0 +1,72 @@
+package com.sirha.proyecto_sirha_dosw.util;
+
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class GeneradorIdUsuarioTest {
+
+	private SecuenciaRepository secuenciaRepository;
+	private Map<String, Long> secuencias;
+
+	@BeforeEach
+	void setUp() {
+		secuencias = new HashMap<>();
+		secuenciaRepository = mock(SecuenciaRepository.class);
+		when(secuenciaRepository.reservarBloque(anyString(), anyInt())).thenAnswer(inv ->
+				secuencias.merge(inv.getArgument(0), (long) (int) inv.getArgument(1), Long::sum));
+	}
+
+	@Test
+	void testSiguienteEntregaConsecutivoConDigitoVerificador() {
+		GeneradorIdUsuario generador = new GeneradorIdUsuario(secuenciaRepository, 100);
+
+		assertEquals("0000000018", generador.siguiente());
+		assertEquals("0000000026", generador.siguiente());
+		assertEquals("0000000034", generador.siguiente());
+	}
+
+	@Test
+	void testInstanciasDistintasNoRepitenIds() {
+		GeneradorIdUsuario primera = new GeneradorIdUsuario(secuenciaRepository, 10);
+		GeneradorIdUsuario segunda = new GeneradorIdUsuario(secuenciaRepository, 10);
+		Set<String> ids = new HashSet<>();
+
+		for (int i = 0; i < 25; i++) {
+			assertTrue(ids.add(primera.siguiente()));
+			assertTrue(ids.add(segunda.siguiente()));
+		}
+		assertTrue(ids.stream().allMatch(GeneradorIdUsuario::esValido));
+		verify(secuenciaRepository, times(6)).reservarBloque(GeneradorIdUsuario.SECUENCIA_USUARIO, 10);
+	}
+
+	@Test
+	void testSiguienteFallaAlAgotarLosConsecutivos() {
+		secuencias.put(GeneradorIdUsuario.SECUENCIA_USUARIO, GeneradorIdUsuario.MAXIMO_CONSECUTIVO - 1);
+		GeneradorIdUsuario generador = new GeneradorIdUsuario(secuenciaRepository, 1);
+
+		assertEquals("9999999999", generador.siguiente());
+		assertThrows(IllegalStateException.class, generador::siguiente);
+	}
+
+	@Test
+	void testEsValidoDetectaDigitosAlterados() {
+		assertEquals(3, GeneradorIdUsuario.digitoVerificador("7992739871"));
+		assertTrue(GeneradorIdUsuario.esValido("0000000018"));
+		assertFalse(GeneradorIdUsuario.esValido("0000000019"));
+		assertFalse(GeneradorIdUsuario.esValido("0000000081"));
+		assertFalse(GeneradorIdUsuario.esValido("000000018"));
+		assertFalse(GeneradorIdUsuario.esValido("00000000a8"));
+		assertFalse(GeneradorIdUsuario.esValido(null));
+	}
+}
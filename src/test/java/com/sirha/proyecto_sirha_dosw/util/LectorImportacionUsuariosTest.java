@@ -0,0 +1,90 @@
+package com.sirha.proyecto_sirha_dosw.util;
+
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+import com.sirha.proyecto_sirha_dosw.util.LectorImportacionUsuarios.Fila;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LectorImportacionUsuariosTest {
+
+	@Test
+	void testLeeCsvConComillasYLineasEnBlanco() throws Exception {
+		String csv = "﻿Rol,Nombre,Apellido,Password,Facultad\n"
+				+ "ESTUDIANTE,Juan,\"Pérez, Gómez\",Password123!,INGENIERIA_SISTEMAS\n"
+				+ "\n"
+				+ "ADMINISTRADOR,\"Ana \"\"La Jefa\"\"\",Ruiz,Password123!,\n";
+
+		List<Fila> filas = leer(csv, "text/csv; charset=UTF-8");
+
+		assertEquals(2, filas.size());
+		Fila primera = filas.get(0);
+		assertEquals(2, primera.linea());
+		assertNull(primera.error());
+		assertEquals("Juan", primera.usuario().getNombre());
+		assertEquals("Pérez, Gómez", primera.usuario().getApellido());
+		assertEquals("ESTUDIANTE", primera.usuario().getRol());
+		assertEquals("INGENIERIA_SISTEMAS", primera.usuario().getFacultad());
+		Fila segunda = filas.get(1);
+		assertEquals(4, segunda.linea());
+		assertEquals("Ana \"La Jefa\"", segunda.usuario().getNombre());
+		assertNull(segunda.usuario().getFacultad());
+	}
+
+	@Test
+	void testFilaCsvConColumnasDeMasSeReportaSinDetenerLaLectura() throws Exception {
+		String csv = "nombre,apellido,password,rol\n"
+				+ "Juan,Pérez,Password123!,ESTUDIANTE,SOBRA\n"
+				+ "Ana,Ruiz,Password123!\n";
+
+		List<Fila> filas = leer(csv, "text/csv");
+
+		assertNull(filas.get(0).usuario());
+		assertNotNull(filas.get(0).error());
+		assertEquals("Ana", filas.get(1).usuario().getNombre());
+		assertNull(filas.get(1).usuario().getRol());
+	}
+
+	@Test
+	void testLeeNdjsonYReportaLineasInvalidas() throws Exception {
+		String ndjson = "{\"nombre\":\"Juan\",\"apellido\":\"Pérez\",\"password\":\"Password123!\",\"rol\":\"ESTUDIANTE\",\"otro\":1}\n"
+				+ "{\"nombre\":\n"
+				+ "\n"
+				+ "{\"nombre\":\"Ana\",\"apellido\":\"Ruiz\",\"password\":\"Password123!\",\"rol\":\"ADMINISTRADOR\"}\n";
+
+		List<Fila> filas = leer(ndjson, "application/x-ndjson");
+
+		assertEquals(3, filas.size());
+		assertEquals("Juan", filas.get(0).usuario().getNombre());
+		assertEquals(2, filas.get(1).linea());
+		assertTrue(filas.get(1).error().startsWith("JSON inválido"));
+		assertEquals(4, filas.get(2).linea());
+		assertEquals("ADMINISTRADOR", filas.get(2).usuario().getRol());
+	}
+
+	@Test
+	void testRechazaFormatoNoSoportadoYEncabezadoIncompleto() {
+		SirhaException formato = assertThrows(SirhaException.class, () -> leer("{}", "application/json"));
+		assertEquals(LectorImportacionUsuarios.FORMATO_NO_SOPORTADO, formato.getMessage());
+
+		SirhaException encabezado = assertThrows(SirhaException.class, () -> leer("nombre,apellido\n", "text/csv"));
+		assertEquals(LectorImportacionUsuarios.COLUMNAS_FALTANTES + "password, rol", encabezado.getMessage());
+
+		assertThrows(SirhaException.class, () -> leer("", "text/csv"));
+	}
+
+	private static List<Fila> leer(String contenido, String tipo) throws SirhaException, IOException {
+		List<Fila> filas = new ArrayList<>();
+		try (LectorImportacionUsuarios lector = LectorImportacionUsuarios.abrir(
+				new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8)), tipo)) {
+			lector.forEachRemaining(filas::add);
+		}
+		return filas;
+	}
+}
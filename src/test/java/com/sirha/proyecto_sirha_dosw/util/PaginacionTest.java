@@ -0,0 +1,69 @@
+package com.sirha.proyecto_sirha_dosw.util;
+
+import com.sirha.proyecto_sirha_dosw.dto.PaginaDTO;
+import com.sirha.proyecto_sirha_dosw.exception.SirhaException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaginacionTest {
+
+	private static final List<String> IDS = IntStream.rangeClosed(1, 7).mapToObj(i -> "ID" + i).toList();
+
+	@Test
+	void testRecorreTodasLasPaginasSinRepetirNiSaltar() throws SirhaException {
+		List<String> leidos = new ArrayList<>();
+		String cursor = null;
+		int paginas = 0;
+		do {
+			PaginaDTO<String> pagina = Paginacion.pagina(PaginacionTest::consultar, cursor, 3, Function.identity());
+			leidos.addAll(pagina.getElementos());
+			cursor = pagina.getSiguienteCursor();
+			paginas++;
+		} while (cursor != null);
+
+		assertEquals(IDS, leidos);
+		assertEquals(3, paginas);
+	}
+
+	@Test
+	void testUltimaPaginaExactaNoTieneCursor() throws SirhaException {
+		PaginaDTO<String> pagina = Paginacion.pagina(PaginacionTest::consultar, "ID4", 3, Function.identity());
+
+		assertEquals(List.of("ID5", "ID6", "ID7"), pagina.getElementos());
+		assertEquals(3, pagina.getTamano());
+		assertNull(pagina.getSiguienteCursor());
+	}
+
+	@Test
+	void testCursorEnBlancoEsLaPrimeraPaginaYTamanoPorDefecto() throws SirhaException {
+		List<Object[]> llamadas = new ArrayList<>();
+		Paginacion.pagina((cursor, limite) -> {
+			llamadas.add(new Object[]{cursor, limite});
+			return List.of();
+		}, " ", null, Function.identity());
+
+		assertNull(llamadas.get(0)[0]);
+		assertEquals(Paginacion.TAMANO_POR_DEFECTO + 1, llamadas.get(0)[1]);
+	}
+
+	@Test
+	void testRechazaTamanosFueraDelRango() throws SirhaException {
+		SirhaException cero = assertThrows(SirhaException.class, () -> Paginacion.validarTamano(0));
+		assertEquals(SirhaException.TAMANO_PAGINA_INVALIDO + Paginacion.TAMANO_MAXIMO, cero.getMessage());
+		assertThrows(SirhaException.class, () -> Paginacion.validarTamano(Paginacion.TAMANO_MAXIMO + 1));
+		assertEquals(Paginacion.TAMANO_MAXIMO, Paginacion.validarTamano(Paginacion.TAMANO_MAXIMO));
+	}
+
+	private static List<String> consultar(String despuesDe, int limite) {
+		return IDS.stream()
+				.filter(id -> despuesDe == null || id.compareTo(despuesDe) > 0)
+				.limit(limite)
+				.toList();
+	}
+}
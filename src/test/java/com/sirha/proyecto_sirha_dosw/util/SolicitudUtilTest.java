@@ -1,13 +1,36 @@
 package com.sirha.proyecto_sirha_dosw.util;
 
+import com.sirha.proyecto_sirha_dosw.repository.SecuenciaRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 class SolicitudUtilTest {
 
+	private SecuenciaRepository secuenciaRepository;
+	private Map<String, Long> secuencias;
+
+	@BeforeEach
+	void setUp() {
+		secuencias = new HashMap<>();
+		secuenciaRepository = mock(SecuenciaRepository.class);
+		when(secuenciaRepository.reservarBloque(anyString(), anyInt())).thenAnswer(inv ->
+				secuencias.merge(inv.getArgument(0), (long) (int) inv.getArgument(1), Long::sum));
+	}
+
 	@Test
 	void testGenerarNumeroRadicadoFormatoYUnicidad() {
-		SolicitudUtil util = new SolicitudUtil();
+		SolicitudUtil util = new SolicitudUtil(secuenciaRepository, 100);
 		String radicado1 = util.generarNumeroRadicado();
 		String radicado2 = util.generarNumeroRadicado();
 		assertNotNull(radicado1);
@@ -19,7 +42,7 @@ class SolicitudUtilTest {
 
 	@Test
 	void testGenerarNumeroPrioridadSecuencialidad() {
-		SolicitudUtil util = new SolicitudUtil();
+		SolicitudUtil util = new SolicitudUtil(secuenciaRepository, 100);
 		Integer prioridad1 = util.generarNumeroPrioridad();
 		Integer prioridad2 = util.generarNumeroPrioridad();
 		assertNotNull(prioridad1);
@@ -27,4 +50,39 @@ class SolicitudUtilTest {
 		assertTrue(prioridad2 > prioridad1);
 		assertEquals(prioridad1 + 1, prioridad2);
 	}
+
+	@Test
+	void testReservaUnBloquePorCadaTamanoBloqueNumeros() {
+		SolicitudUtil util = new SolicitudUtil(secuenciaRepository, 100);
+		for (int i = 1; i <= 250; i++) {
+			assertEquals(i, util.generarNumeroPrioridad());
+		}
+		verify(secuenciaRepository, times(3)).reservarBloque(SolicitudUtil.SECUENCIA_PRIORIDAD, 100);
+	}
+
+	@Test
+	void testInstanciasDistintasNoRepitenNumeros() {
+		SolicitudUtil primera = new SolicitudUtil(secuenciaRepository, 10);
+		SolicitudUtil segunda = new SolicitudUtil(secuenciaRepository, 10);
+
+		assertEquals(1, primera.generarNumeroPrioridad());
+		assertEquals(11, segunda.generarNumeroPrioridad());
+		assertEquals(2, primera.generarNumeroPrioridad());
+		assertTrue(segunda.generarNumeroRadicado().endsWith("-0001"));
+		assertTrue(primera.generarNumeroRadicado().endsWith("-0011"));
+	}
+
+	@Test
+	void testRadicadoUsaUnaSecuenciaPorDia() {
+		Instant hoy = Instant.parse("2026-03-02T23:59:59Z");
+		SolicitudUtil util = new SolicitudUtil(secuenciaRepository, 100, Clock.fixed(hoy, ZoneOffset.UTC));
+		assertEquals("RAD-20260302-0001", util.generarNumeroRadicado());
+		assertEquals("RAD-20260302-0002", util.generarNumeroRadicado());
+
+		SolicitudUtil manana = new SolicitudUtil(secuenciaRepository, 100,
+				Clock.fixed(hoy.plusSeconds(1), ZoneOffset.UTC));
+		assertEquals("RAD-20260303-0001", manana.generarNumeroRadicado());
+		verify(secuenciaRepository).reservarBloque(SolicitudUtil.SECUENCIA_RADICADO + "20260302", 100);
+		verify(secuenciaRepository).reservarBloque(SolicitudUtil.SECUENCIA_RADICADO + "20260303", 100);
+	}
 }